@@ -0,0 +1,133 @@
+package com.ynet.mgmt.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JMH 基准结果与基线对比
+ * 按（基准方法 + 参数）匹配本次结果和已提交的基线，吞吐量类模式分数越高越好，耗时类模式分数越低越好；
+ * 变化超过阈值且超出两次结果误差区间之和时判定为退化，任一基准退化时以非零状态退出，使 mvn -Pbenchmark verify 失败
+ *
+ * <p>用法：BenchmarkBaselineComparator &lt;基线json&gt; &lt;结果json&gt; [阈值，默认0.20]</p>
+ *
+ * <p>更新基线：确认性能变化符合预期后，将 target/jmh-result.json 复制为 src/jmh/resources/jmh-baseline.json 并提交</p>
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class BenchmarkBaselineComparator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkBaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: BenchmarkBaselineComparator <baseline.json> <result.json> [threshold]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.20;
+
+        if (!baselineFile.exists()) {
+            System.out.println("未找到基线文件，跳过对比: " + baselineFile);
+            return;
+        }
+        if (!resultFile.exists()) {
+            System.err.println("未找到基准结果文件: " + resultFile);
+            System.exit(2);
+        }
+
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(resultFile);
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "基准", "基线", "本次", "变化");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || before.value <= 0) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value, "新增");
+                continue;
+            }
+            double change = regression(before, now);
+            boolean regressed = change > threshold
+                    && Math.abs(now.value - before.value) > now.error + before.error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value, now.value,
+                    change * 100, regressed ? "  <-- 退化" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d 个基准退化超过 %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+        System.out.printf("所有基准均在基线 %.0f%% 范围内%n", threshold * 100);
+    }
+
+    /**
+     * 计算退化比例，正数表示变慢
+     */
+    static double regression(Score baseline, Score current) {
+        if (isThroughput(current.mode)) {
+            return (baseline.value - current.value) / baseline.value;
+        }
+        return (current.value - baseline.value) / baseline.value;
+    }
+
+    private static boolean isThroughput(String mode) {
+        return "thrpt".equals(mode);
+    }
+
+    /**
+     * 读取 JMH JSON 结果，键为基准方法名加参数
+     */
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    sorted.put(field.getKey(), field.getValue().asText());
+                }
+                key.append(sorted);
+            }
+            String mode = run.path("mode").asText();
+            JsonNode metric = run.path("primaryMetric");
+            double value = metric.path("score").asDouble();
+            double error = metric.path("scoreError").asDouble(0.0);
+            scores.put(key.toString(), new Score(mode, value, Double.isNaN(error) ? 0.0 : error));
+        }
+        return scores;
+    }
+
+    /**
+     * 单个基准的得分
+     */
+    static final class Score {
+        private final String mode;
+        private final double value;
+        private final double error;
+
+        Score(String mode, double value, double error) {
+            this.mode = mode;
+            this.value = value;
+            this.error = error;
+        }
+    }
+}
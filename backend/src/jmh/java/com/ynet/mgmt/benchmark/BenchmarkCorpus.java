@@ -0,0 +1,93 @@
+package com.ynet.mgmt.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试语料
+ * 从测试资源 benchmark/ 目录加载查询语料和敏感词样本，空行和 # 开头的注释行会被忽略
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class BenchmarkCorpus {
+
+    /**
+     * 查询语料：网点和手机银行的常见搜索
+     */
+    public static final String QUERIES = "benchmark/queries.txt";
+
+    /**
+     * 敏感词样本
+     */
+    public static final String SENSITIVE_WORDS = "benchmark/sensitive-words.txt";
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * 加载查询语料
+     *
+     * @return 查询列表
+     */
+    public static List<String> queries() {
+        return load(QUERIES);
+    }
+
+    /**
+     * 加载只包含中文字符的查询，用于拼音转换和分词基准
+     *
+     * @return 中文查询列表
+     */
+    public static List<String> chineseQueries() {
+        List<String> result = new ArrayList<>();
+        for (String query : queries()) {
+            if (query.codePoints().anyMatch(c -> c >= 0x4e00 && c <= 0x9fa5)) {
+                result.add(query);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加载敏感词样本
+     *
+     * @return 敏感词列表
+     */
+    public static List<String> sensitiveWords() {
+        return load(SENSITIVE_WORDS);
+    }
+
+    /**
+     * 按行加载语料文件
+     *
+     * @param resource 类路径资源
+     * @return 非空、非注释的行
+     */
+    public static List<String> load(String resource) {
+        InputStream input = BenchmarkCorpus.class.getClassLoader().getResourceAsStream(resource);
+        if (input == null) {
+            throw new IllegalStateException("基准语料不存在: " + resource);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取基准语料失败: " + resource, e);
+        }
+        return Collections.unmodifiableList(lines);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ynet.mgmt.common.utils;
+
+import com.ynet.mgmt.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 拼音转换基准
+ * 覆盖全拼、首字母和多音字组合生成，查询文本按顺序轮换取自中文查询语料
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PinyinUtilsBenchmark {
+
+    @Param({"10", "100"})
+    public int maxCombinations;
+
+    private List<String> queries;
+    private int cursor;
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        queries = BenchmarkCorpus.chineseQueries();
+    }
+
+    private String nextQuery() {
+        String query = queries.get(cursor);
+        cursor = (cursor + 1) % queries.size();
+        return query;
+    }
+
+    @Benchmark
+    public String toPinyin() {
+        return PinyinUtils.toPinyin(nextQuery());
+    }
+
+    @Benchmark
+    public int appendPinyin() {
+        buffer.setLength(0);
+        PinyinUtils.appendPinyin(nextQuery(), buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public String toPinyinFirstLetter() {
+        return PinyinUtils.toPinyinFirstLetter(nextQuery());
+    }
+
+    @Benchmark
+    public String[] toPinyinAllCombinations() {
+        return PinyinUtils.toPinyinAllCombinations(nextQuery(), maxCombinations);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.ynet.mgmt.benchmark.BenchmarkCorpus;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
+import com.ynet.mgmt.searchdata.config.SearchWeightProperties;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ES查询构建基准
+ * 覆盖拼音增强查询（三种拼音模式）、标准查询和混合查询（关键词 + 1024维向量）的构建开销，
+ * 查询文本按顺序轮换取自查询语料
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchQueryBuildBenchmark {
+
+    private static final List<String> SEARCHABLE_FIELDS = List.of("title", "content", "category", "tags");
+    private static final Map<String, VectorStorageProfile> VECTOR_FIELDS = Map.of(
+            "title_vector", VectorStorageProfile.FLOAT, "content_vector", VectorStorageProfile.FLOAT);
+
+    @Param({"AUTO", "STRICT", "FUZZY"})
+    public String pinyinMode;
+
+    private ElasticsearchDataService service;
+    private List<String> queries;
+    private List<Float> queryVector;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // 查询构建只依赖权重配置，不访问ES和外部服务
+        service = new ElasticsearchDataService(null, null, null, null, null,
+                new SearchWeightProperties(), null, null, null, new SearchProfileProperties(), null, null, null);
+        queries = BenchmarkCorpus.queries();
+
+        Random random = new Random(42);
+        queryVector = new ArrayList<>(1024);
+        for (int i = 0; i < 1024; i++) {
+            queryVector.add(random.nextFloat() * 2 - 1);
+        }
+    }
+
+    private String nextQuery() {
+        String query = queries.get(cursor);
+        cursor = (cursor + 1) % queries.size();
+        return query;
+    }
+
+    @Benchmark
+    public Query pinyinEnhancedQuery() {
+        return service.buildPinyinEnhancedQuery(nextQuery(), pinyinMode, SEARCHABLE_FIELDS);
+    }
+
+    @Benchmark
+    public Query keywordQuery() {
+        return service.buildQueryForFields(nextQuery(), null, 0.0, false, pinyinMode,
+                SEARCHABLE_FIELDS, VECTOR_FIELDS);
+    }
+
+    @Benchmark
+    public Query hybridQuery() {
+        return service.buildQueryForFields(nextQuery(), queryVector, 0.3, true, pinyinMode,
+                SEARCHABLE_FIELDS, VECTOR_FIELDS);
+    }
+}
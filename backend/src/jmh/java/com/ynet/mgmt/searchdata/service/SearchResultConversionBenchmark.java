@@ -0,0 +1,107 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.ynet.mgmt.benchmark.BenchmarkCorpus;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
+import com.ynet.mgmt.searchdata.config.SearchWeightProperties;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索结果处理基准
+ * 覆盖ES命中结果转换（含高亮和推荐排序值）和多索引结果的推荐优先 + 分数合并，hits 对应每页条数和重排序候选窗口大小
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResultConversionBenchmark {
+
+    @Param({"10", "100"})
+    public int hits;
+
+    private ElasticsearchDataService service;
+    private List<Hit<Map>> searchHits;
+    private List<SearchDataResponse.DocumentData> documents;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        service = new ElasticsearchDataService(null, null, null, null, null,
+                new SearchWeightProperties(), null, null, null, new SearchProfileProperties(), null, null, null);
+
+        List<String> queries = BenchmarkCorpus.chineseQueries();
+        Random random = new Random(42);
+        searchHits = new ArrayList<>(hits);
+        for (int i = 0; i < hits; i++) {
+            String title = queries.get(i % queries.size());
+            Map<String, Object> source = new HashMap<>();
+            source.put("title", title);
+            source.put("content", title + "，详细办理流程请咨询就近网点或拨打客服热线，也可通过手机银行自助办理。");
+            source.put("category", "业务指南");
+            int recommend = random.nextInt(10) == 0 ? 1 : 0;
+            source.put("recommend", recommend);
+            source.put("updateTime", "2026-10-19T08:00:00");
+
+            Map<String, List<String>> highlight = Map.of(
+                    "title", List.of("<em>" + title + "</em>"),
+                    "content", List.of("<em>" + title + "</em>，详细办理流程请咨询就近网点"));
+
+            String id = String.valueOf(i);
+            double score = random.nextDouble() * 20;
+            searchHits.add(Hit.of(h -> h
+                    .index("kb_banking")
+                    .id(id)
+                    .score(score)
+                    .source(source)
+                    .highlight(highlight)
+                    .sort(FieldValue.of(recommend), FieldValue.of(score))));
+        }
+        documents = new ArrayList<>();
+        for (Hit<Map> hit : searchHits) {
+            documents.add(service.convertHitToDocument(hit));
+        }
+    }
+
+    @Benchmark
+    public List<SearchDataResponse.DocumentData> convertHits() {
+        List<SearchDataResponse.DocumentData> result = new ArrayList<>(searchHits.size());
+        for (Hit<Map> hit : searchHits) {
+            result.add(service.convertHitToDocument(hit));
+        }
+        return result;
+    }
+
+    /**
+     * 合并会原地修改列表，每次调用先复制一份，复制开销与 hits 成线性、远小于排序本身
+     */
+    @Benchmark
+    public List<SearchDataResponse.DocumentData> mergeByRecommendAndScore() {
+        List<SearchDataResponse.DocumentData> copy = new ArrayList<>(documents);
+        ElasticsearchDataService.mergeByRecommendAndScore(copy);
+        return copy;
+    }
+}
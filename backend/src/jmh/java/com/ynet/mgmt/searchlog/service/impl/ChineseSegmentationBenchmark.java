@@ -0,0 +1,56 @@
+package com.ynet.mgmt.searchlog.service.impl;
+
+import com.ynet.mgmt.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 中文分词基准
+ * 单条查询分词以及整份中文查询语料的批量分词（热词统计的典型调用方式）
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChineseSegmentationBenchmark {
+
+    private ChineseSegmentationServiceImpl segmentationService;
+    private List<String> queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        segmentationService = new ChineseSegmentationServiceImpl();
+        segmentationService.init();
+        queries = BenchmarkCorpus.chineseQueries();
+    }
+
+    @Benchmark
+    public List<String> segmentText() {
+        String query = queries.get(cursor);
+        cursor = (cursor + 1) % queries.size();
+        return segmentationService.segmentText(query);
+    }
+
+    @Benchmark
+    public List<List<String>> segmentTexts() {
+        return segmentationService.segmentTexts(queries);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ynet.mgmt.sensitiveWord.detector;
+
+import com.ynet.mgmt.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 敏感词检测基准
+ * 词库由样本词表按序号扩展到指定规模，分别检测短查询和拼接后的长文本（约每20条查询一段）
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensitiveWordDetectorBenchmark {
+
+    @Param({"50", "5000"})
+    public int dictionarySize;
+
+    private SensitiveWordDetector detector;
+    private List<String> queries;
+    private List<String> paragraphs;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> samples = BenchmarkCorpus.sensitiveWords();
+        List<String> words = new ArrayList<>(dictionarySize);
+        for (int i = 0; words.size() < dictionarySize; i++) {
+            String word = samples.get(i % samples.size());
+            words.add(i < samples.size() ? word : word + (i / samples.size()));
+        }
+        detector = new SensitiveWordDetector(words);
+
+        // 每10条查询混入一条包含敏感词的查询，模拟线上命中比例
+        queries = new ArrayList<>();
+        List<String> corpus = BenchmarkCorpus.queries();
+        for (int i = 0; i < corpus.size(); i++) {
+            queries.add(i % 10 == 0 ? corpus.get(i) + samples.get(i % samples.size()) : corpus.get(i));
+        }
+
+        paragraphs = new ArrayList<>();
+        StringBuilder paragraph = new StringBuilder();
+        for (int i = 0; i < queries.size(); i++) {
+            paragraph.append(queries.get(i)).append('。');
+            if (i % 20 == 19) {
+                paragraphs.add(paragraph.toString());
+                paragraph.setLength(0);
+            }
+        }
+    }
+
+    @Benchmark
+    public SensitiveWordDetector.DetectionResult detectQuery() {
+        String query = queries.get(cursor);
+        cursor = (cursor + 1) % queries.size();
+        return detector.detect(query);
+    }
+
+    @Benchmark
+    public SensitiveWordDetector.DetectionResult detectParagraph() {
+        String paragraph = paragraphs.get(cursor % paragraphs.size());
+        cursor = (cursor + 1) % queries.size();
+        return detector.detect(paragraph);
+    }
+}
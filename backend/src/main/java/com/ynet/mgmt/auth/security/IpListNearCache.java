@@ -0,0 +1,163 @@
+package com.ynet.mgmt.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.config.SecurityPolicyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * IP黑白名单本地近缓存
+ *
+ * 只缓存“在名单中”的结果：白名单IP和已拉黑IP在近缓存有效期内无需访问Redis即可放行或拒绝，
+ * 不在名单中的IP仍由准入脚本在Redis中判定。名单变更时通过Redis发布订阅通知所有节点失效，
+ * 订阅不可用时依赖本地过期时间兜底
+ */
+@Component
+public class IpListNearCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpListNearCache.class);
+
+    /**
+     * 名单失效通知频道，消息内容为IP地址，"*"表示全部失效
+     */
+    static final String INVALIDATION_CHANNEL = "ip:list:invalidate";
+
+    private static final String ALL = "*";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final Cache<String, Boolean> whitelisted;
+    private final Cache<String, Boolean> blacklisted;
+
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    public IpListNearCache(SecurityPolicyProperties securityProperties,
+                           RedisConnectionFactory connectionFactory,
+                           @Qualifier("customStringRedisTemplate") RedisTemplate<String, String> stringRedisTemplate) {
+        this.connectionFactory = connectionFactory;
+        this.stringRedisTemplate = stringRedisTemplate;
+        Duration ttl = Duration.ofSeconds(securityProperties.getIpListNearCacheSeconds());
+        this.whitelisted = Caffeine.newBuilder()
+            .maximumSize(securityProperties.getIpListNearCacheMaxSize())
+            .expireAfterWrite(ttl)
+            .build();
+        this.blacklisted = Caffeine.newBuilder()
+            .maximumSize(securityProperties.getIpListNearCacheMaxSize())
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * 应用启动完成后订阅失效通知
+     * 订阅失败（如Redis暂不可用）不影响启动，近缓存按过期时间刷新
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+            onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(INVALIDATION_CHANNEL));
+        try {
+            container.afterPropertiesSet();
+            container.start();
+            this.listenerContainer = container;
+            logger.info("IP list near-cache subscribed to invalidation channel: {}", INVALIDATION_CHANNEL);
+        } catch (Exception e) {
+            logger.warn("IP list near-cache subscription failed, falling back to local expiry: {}", e.getMessage());
+            try {
+                container.destroy();
+            } catch (Exception ignored) {
+                // 订阅未建立，忽略关闭异常
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        RedisMessageListenerContainer container = this.listenerContainer;
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /**
+     * 近缓存中是否确认在白名单
+     * @param ipAddress IP地址
+     * @return true表示确认在白名单，false表示未知
+     */
+    public boolean isWhitelisted(String ipAddress) {
+        return whitelisted.getIfPresent(ipAddress) != null;
+    }
+
+    /**
+     * 近缓存中是否确认在黑名单
+     * @param ipAddress IP地址
+     * @return true表示确认在黑名单，false表示未知
+     */
+    public boolean isBlacklisted(String ipAddress) {
+        return blacklisted.getIfPresent(ipAddress) != null;
+    }
+
+    /**
+     * 记录IP在白名单中
+     * @param ipAddress IP地址
+     */
+    public void markWhitelisted(String ipAddress) {
+        whitelisted.put(ipAddress, Boolean.TRUE);
+    }
+
+    /**
+     * 记录IP在黑名单中
+     * @param ipAddress IP地址
+     */
+    public void markBlacklisted(String ipAddress) {
+        blacklisted.put(ipAddress, Boolean.TRUE);
+    }
+
+    /**
+     * 名单变更后调用：本地立即失效并通知其他节点
+     * @param ipAddress IP地址
+     */
+    public void invalidate(String ipAddress) {
+        onInvalidation(ipAddress);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, ipAddress);
+        } catch (Exception e) {
+            logger.warn("Failed to publish IP list invalidation for {}: {}", ipAddress, e.getMessage());
+        }
+    }
+
+    /**
+     * 当前缓存条数（白名单 + 黑名单）
+     * @return 缓存条数
+     */
+    public long size() {
+        return whitelisted.estimatedSize() + blacklisted.estimatedSize();
+    }
+
+    void onInvalidation(String ipAddress) {
+        if (ALL.equals(ipAddress)) {
+            whitelisted.invalidateAll();
+            blacklisted.invalidateAll();
+        } else {
+            whitelisted.invalidate(ipAddress);
+            blacklisted.invalidate(ipAddress);
+        }
+    }
+}
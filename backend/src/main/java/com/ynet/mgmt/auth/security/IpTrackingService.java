@@ -1,24 +1,36 @@
 package com.ynet.mgmt.auth.security;
 
 import com.ynet.mgmt.config.SecurityPolicyProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * IP地址跟踪和监控服务
  *
  * 提供IP级别的访问控制、速率限制和威胁检测功能
  * 基于Redis实现高性能的IP统计和黑名单管理
+ *
+ * 请求准入（黑白名单判定、分钟窗口计数、限流拉黑、用户代理记录和威胁评分）由一个Lua脚本一次往返完成；
+ * 已确认的黑白名单结果保存在本地近缓存 {@link IpListNearCache} 中，命中时无需访问Redis
  */
 @Service
 public class IpTrackingService {
@@ -38,18 +50,53 @@ public class IpTrackingService {
     private static final String HOUR_WINDOW = ":hour:";
     private static final String DAY_WINDOW = ":day:";
 
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // 准入脚本返回的判定结果
+    static final int ADMIT_ALLOWED = 0;
+    static final int ADMIT_WHITELISTED = 1;
+    static final int ADMIT_BLACKLISTED = 2;
+    static final int ADMIT_RATE_LIMITED = 3;
+    static final int ADMIT_HIGH_THREAT = 4;
+
+    // 威胁评分
+    private static final double USER_AGENT_THREAT_SCORE = 0.3;
+    private static final double OFF_HOURS_THREAT_SCORE = 0.2;
+    private static final double THREAT_SCORE_LIMIT = 1.0;
+    private static final int STATS_TTL_SECONDS = 24 * 3600;
+
+    // 清理时每批扫描/删除的键数
+    private static final int CLEANUP_BATCH_SIZE = 500;
+
+    private static final StringRedisSerializer STRING_SERIALIZER = StringRedisSerializer.UTF_8;
+
     private final SecurityPolicyProperties securityProperties;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final IpListNearCache nearCache;
+    private final MeterRegistry meterRegistry;
 
     // Lua脚本用于原子性操作
     private final DefaultRedisScript<Long> incrementScript;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> admissionScript;
 
     @Autowired
     public IpTrackingService(SecurityPolicyProperties securityProperties,
-                           RedisTemplate<String, Object> redisTemplate) {
+                           RedisTemplate<String, Object> redisTemplate,
+                           IpListNearCache nearCache,
+                           MeterRegistry meterRegistry) {
         this.securityProperties = securityProperties;
         this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.meterRegistry = meterRegistry;
         this.incrementScript = createIncrementScript();
+        this.admissionScript = createAdmissionScript();
+
+        Gauge.builder("security.ip.near_cache.size", nearCache, IpListNearCache::size)
+            .description("IP黑白名单近缓存条数")
+            .register(meterRegistry);
     }
 
     /**
@@ -63,49 +110,118 @@ public class IpTrackingService {
             return true;
         }
 
+        long startTime = System.nanoTime();
+        String decision = "error";
+        String source = "near_cache";
         try {
-            // 检查白名单
-            if (isWhitelisted(ipAddress)) {
+            // 近缓存确认的黑白名单无需访问Redis
+            if (nearCache.isWhitelisted(ipAddress)) {
+                decision = "whitelisted";
                 return true;
             }
-
-            // 检查黑名单
-            if (isBlacklisted(ipAddress)) {
+            if (nearCache.isBlacklisted(ipAddress)) {
+                decision = "blacklisted";
                 logger.warn("Request blocked from blacklisted IP: {}", ipAddress);
                 return false;
             }
 
-            // 记录请求统计
-            String currentMinute = getCurrentTimeWindow("minute");
-            String requestKey = IP_REQUEST_PREFIX + ipAddress + MINUTE_WINDOW + currentMinute;
-
-            // 使用Lua脚本原子性增加计数并检查限制
-            Long currentCount = incrementWithTTL(requestKey, 60);
-
-            // 检查是否超过速率限制
-            if (currentCount > securityProperties.getIpRateLimitPerMinute()) {
-                // 临时加入黑名单
-                addToTempBlacklist(ipAddress, "RATE_LIMIT_EXCEEDED");
-                logger.warn("IP {} exceeded rate limit: {} requests/minute", ipAddress, currentCount);
-                return false;
-            }
-
-            // 记录用户代理信息
-            recordUserAgent(ipAddress, userAgent);
-
-            // 检测可疑活动
-            if (securityProperties.isEnableSuspiciousActivityDetection()) {
-                detectSuspiciousActivity(ipAddress, userAgent);
+            source = "redis";
+            List<?> result = admit(ipAddress, userAgent);
+            int status = ((Number) result.get(0)).intValue();
+            long currentCount = ((Number) result.get(1)).longValue();
+
+            switch (status) {
+                case ADMIT_WHITELISTED -> {
+                    nearCache.markWhitelisted(ipAddress);
+                    decision = "whitelisted";
+                    return true;
+                }
+                case ADMIT_BLACKLISTED -> {
+                    nearCache.markBlacklisted(ipAddress);
+                    decision = "blacklisted";
+                    logger.warn("Request blocked from blacklisted IP: {}", ipAddress);
+                    return false;
+                }
+                case ADMIT_RATE_LIMITED -> {
+                    nearCache.markBlacklisted(ipAddress);
+                    decision = "rate_limited";
+                    logger.warn("IP {} exceeded rate limit: {} requests/minute", ipAddress, currentCount);
+                    return false;
+                }
+                case ADMIT_HIGH_THREAT -> {
+                    // 与原有行为一致：本次请求放行，此后请求被拒绝
+                    nearCache.markBlacklisted(ipAddress);
+                    decision = "high_threat";
+                    logger.warn("IP {} blocked due to high threat score", ipAddress);
+                    return true;
+                }
+                default -> {
+                    decision = "allowed";
+                    return true;
+                }
             }
 
-            return true;
-
         } catch (Exception e) {
             logger.error("Error recording request for IP: {}", ipAddress, e);
             return true; // 出错时允许请求，避免误伤
+        } finally {
+            Timer.builder("security.ip.admission")
+                .description("IP请求准入耗时")
+                .tags("decision", decision, "source", source)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
+    /**
+     * 执行准入脚本：一次往返完成黑白名单判定、窗口计数、限流拉黑、用户代理记录和威胁评分
+     * @param ipAddress IP地址
+     * @param userAgent 用户代理
+     * @return [判定结果, 当前分钟请求数, 用户代理数]
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<?> admit(String ipAddress, String userAgent) {
+        boolean recordUserAgent = securityProperties.isEnableUserAgentDetection() && userAgent != null;
+        boolean detectSuspicious = securityProperties.isEnableSuspiciousActivityDetection();
+        int userAgentThreshold = detectSuspicious && recordUserAgent
+            ? securityProperties.getSuspiciousActivityThreshold() : 0;
+        double offHoursScore = detectSuspicious && isOffHours() ? OFF_HOURS_THREAT_SCORE : 0.0;
+
+        List<String> keys = List.of(
+            IP_WHITELIST_PREFIX + ipAddress,
+            IP_BLACKLIST_PREFIX + ipAddress,
+            IP_REQUEST_PREFIX + ipAddress + MINUTE_WINDOW + getCurrentTimeWindow("minute"),
+            IP_STATS_PREFIX + ipAddress + ":ua",
+            IP_THREAT_PREFIX + ipAddress);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<?> result = redisTemplate.execute(admissionScript, STRING_SERIALIZER, (RedisSerializer) STRING_SERIALIZER, keys,
+            "60",
+            String.valueOf(securityProperties.getIpRateLimitPerMinute()),
+            String.valueOf(securityProperties.getIpBlacklistDurationMinutes() * 60L),
+            recordUserAgent ? userAgent : "",
+            String.valueOf(STATS_TTL_SECONDS),
+            String.valueOf(userAgentThreshold),
+            String.valueOf(USER_AGENT_THREAT_SCORE),
+            String.valueOf(offHoursScore),
+            String.valueOf(THREAT_SCORE_LIMIT),
+            serializeValue(new BlacklistEntry(ipAddress, "RATE_LIMIT_EXCEEDED", now)),
+            serializeValue(new BlacklistEntry(ipAddress, "HIGH_THREAT_SCORE", now)));
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected admission script result: " + result);
+        }
+        return result;
+    }
+
+    /**
+     * 按RedisTemplate的值序列化方式序列化，脚本写入的黑名单条目与 {@link #addToBlacklist} 格式一致
+     */
+    @SuppressWarnings("unchecked")
+    private String serializeValue(Object value) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        return bytes == null ? "" : new String(bytes, StandardCharsets.UTF_8);
+    }
+
     /**
      * 记录登录尝试
      * @param ipAddress IP地址
@@ -149,8 +265,15 @@ public class IpTrackingService {
      * @return 是否被黑名单
      */
     public boolean isBlacklisted(String ipAddress) {
+        if (nearCache.isBlacklisted(ipAddress)) {
+            return true;
+        }
         String key = IP_BLACKLIST_PREFIX + ipAddress;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        boolean blacklisted = Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        if (blacklisted) {
+            nearCache.markBlacklisted(ipAddress);
+        }
+        return blacklisted;
     }
 
     /**
@@ -159,8 +282,15 @@ public class IpTrackingService {
      * @return 是否在白名单
      */
     public boolean isWhitelisted(String ipAddress) {
+        if (nearCache.isWhitelisted(ipAddress)) {
+            return true;
+        }
         String key = IP_WHITELIST_PREFIX + ipAddress;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        boolean whitelisted = Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        if (whitelisted) {
+            nearCache.markWhitelisted(ipAddress);
+        }
+        return whitelisted;
     }
 
     /**
@@ -177,6 +307,7 @@ public class IpTrackingService {
         if (durationMinutes > 0) {
             redisTemplate.expire(key, durationMinutes, TimeUnit.MINUTES);
         }
+        nearCache.invalidate(ipAddress);
 
         logger.info("IP {} added to blacklist: {}, duration: {} minutes", ipAddress, reason, durationMinutes);
     }
@@ -200,6 +331,7 @@ public class IpTrackingService {
         WhitelistEntry entry = new WhitelistEntry(ipAddress, reason, LocalDateTime.now());
 
         redisTemplate.opsForValue().set(key, entry);
+        nearCache.invalidate(ipAddress);
         logger.info("IP {} added to whitelist: {}", ipAddress, reason);
     }
 
@@ -211,6 +343,7 @@ public class IpTrackingService {
     public boolean removeFromBlacklist(String ipAddress) {
         String key = IP_BLACKLIST_PREFIX + ipAddress;
         boolean removed = Boolean.TRUE.equals(redisTemplate.delete(key));
+        nearCache.invalidate(ipAddress);
         if (removed) {
             logger.info("IP {} removed from blacklist", ipAddress);
         }
@@ -225,6 +358,7 @@ public class IpTrackingService {
     public boolean removeFromWhitelist(String ipAddress) {
         String key = IP_WHITELIST_PREFIX + ipAddress;
         boolean removed = Boolean.TRUE.equals(redisTemplate.delete(key));
+        nearCache.invalidate(ipAddress);
         if (removed) {
             logger.info("IP {} removed from whitelist", ipAddress);
         }
@@ -276,21 +410,42 @@ public class IpTrackingService {
 
     /**
      * 清理过期数据
+     * 使用SCAN分批遍历并删除，避免KEYS阻塞Redis
      */
     public void cleanupExpiredData() {
         try {
-            String pattern = IP_STATS_PREFIX + "*";
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                // 批量删除过期的统计数据
-                redisTemplate.delete(keys);
-                logger.info("Cleaned up {} expired IP statistics entries", keys.size());
+            byte[] pattern = (IP_STATS_PREFIX + "*").getBytes(StandardCharsets.UTF_8);
+            Long deleted = redisTemplate.execute((RedisCallback<Long>) connection -> {
+                long count = 0;
+                ScanOptions options = ScanOptions.scanOptions().match(pattern).count(CLEANUP_BATCH_SIZE).build();
+                List<byte[]> batch = new ArrayList<>(CLEANUP_BATCH_SIZE);
+                try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                    while (cursor.hasNext()) {
+                        batch.add(cursor.next());
+                        if (batch.size() >= CLEANUP_BATCH_SIZE) {
+                            count += deleteKeys(connection, batch);
+                        }
+                    }
+                }
+                return count + deleteKeys(connection, batch);
+            });
+            if (deleted != null && deleted > 0) {
+                logger.info("Cleaned up {} expired IP statistics entries", deleted);
             }
         } catch (Exception e) {
             logger.error("Error cleaning up expired data", e);
         }
     }
 
+    private static long deleteKeys(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = connection.keyCommands().del(keys.toArray(new byte[0][]));
+        keys.clear();
+        return deleted != null ? deleted : 0;
+    }
+
     /**
      * 获取当前时间窗口标识
      * @param windowType 窗口类型 (minute/hour/day)
@@ -299,9 +454,9 @@ public class IpTrackingService {
     private String getCurrentTimeWindow(String windowType) {
         LocalDateTime now = LocalDateTime.now();
         return switch (windowType) {
-            case "minute" -> now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmm"));
-            case "hour" -> now.format(DateTimeFormatter.ofPattern("yyyyMMddHH"));
-            case "day" -> now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+            case "minute" -> now.format(MINUTE_FORMAT);
+            case "hour" -> now.format(HOUR_FORMAT);
+            case "day" -> now.format(DAY_FORMAT);
             default -> throw new IllegalArgumentException("Invalid window type: " + windowType);
         };
     }
@@ -317,21 +472,6 @@ public class IpTrackingService {
             Collections.singletonList(key), ttlSeconds);
     }
 
-    /**
-     * 记录用户代理信息
-     * @param ipAddress IP地址
-     * @param userAgent 用户代理
-     */
-    private void recordUserAgent(String ipAddress, String userAgent) {
-        if (!securityProperties.isEnableUserAgentDetection() || userAgent == null) {
-            return;
-        }
-
-        String key = IP_STATS_PREFIX + ipAddress + ":ua";
-        redisTemplate.opsForSet().add(key, userAgent);
-        redisTemplate.expire(key, 24, TimeUnit.HOURS);
-    }
-
     /**
      * 记录登录统计
      * @param ipAddress IP地址
@@ -349,35 +489,6 @@ public class IpTrackingService {
         }
     }
 
-    /**
-     * 检测可疑活动
-     * @param ipAddress IP地址
-     * @param userAgent 用户代理
-     */
-    private void detectSuspiciousActivity(String ipAddress, String userAgent) {
-        // 检测用户代理变化
-        if (securityProperties.isEnableUserAgentDetection()) {
-            detectUserAgentChanges(ipAddress, userAgent);
-        }
-
-        // 检测异常时间段活动
-        detectOffHoursActivity(ipAddress);
-    }
-
-    /**
-     * 检测用户代理变化
-     * @param ipAddress IP地址
-     * @param userAgent 用户代理
-     */
-    private void detectUserAgentChanges(String ipAddress, String userAgent) {
-        String key = IP_STATS_PREFIX + ipAddress + ":ua";
-        Set<Object> userAgents = redisTemplate.opsForSet().members(key);
-
-        if (userAgents != null && userAgents.size() > securityProperties.getSuspiciousActivityThreshold()) {
-            increaseThreatScore(ipAddress, 0.3, "MULTIPLE_USER_AGENTS");
-        }
-    }
-
     /**
      * 检测多用户登录尝试
      * @param ipAddress IP地址
@@ -393,17 +504,13 @@ public class IpTrackingService {
     }
 
     /**
-     * 检测非工作时间活动
-     * @param ipAddress IP地址
+     * 是否为非工作时间
+     * 假设工作时间是 8:00 - 22:00
+     * @return 是否为非工作时间
      */
-    private void detectOffHoursActivity(String ipAddress) {
-        LocalDateTime now = LocalDateTime.now();
-        int hour = now.getHour();
-
-        // 假设工作时间是 8:00 - 22:00
-        if (hour < 8 || hour > 22) {
-            increaseThreatScore(ipAddress, 0.2, "OFF_HOURS_ACTIVITY");
-        }
+    private boolean isOffHours() {
+        int hour = LocalDateTime.now().getHour();
+        return hour < 8 || hour > 22;
     }
 
     /**
@@ -455,6 +562,49 @@ public class IpTrackingService {
         return script;
     }
 
+    /**
+     * 创建准入Lua脚本
+     * KEYS: 白名单键、黑名单键、分钟请求计数键、用户代理集合键、威胁评分键
+     * ARGV: 计数窗口秒数、每分钟限额、拉黑秒数、用户代理（空表示不记录）、统计保留秒数、
+     *       用户代理数阈值（0表示不检测）、用户代理威胁分、非工作时间威胁分、威胁分上限、限流拉黑条目、高威胁拉黑条目
+     * 返回: {判定结果, 当前分钟请求数, 用户代理数}
+     * @return Lua脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> createAdmissionScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptText(
+            "if redis.call('exists', KEYS[1]) == 1 then return {1, 0, 0} end " +
+            "if redis.call('exists', KEYS[2]) == 1 then return {2, 0, 0} end " +
+            "local count = redis.call('incr', KEYS[3]) " +
+            "if count == 1 then redis.call('expire', KEYS[3], ARGV[1]) end " +
+            "if count > tonumber(ARGV[2]) then " +
+            "    redis.call('set', KEYS[2], ARGV[10], 'EX', ARGV[3]) " +
+            "    return {3, count, 0} " +
+            "end " +
+            "local uaCount = 0 " +
+            "if ARGV[4] ~= '' then " +
+            "    redis.call('sadd', KEYS[4], ARGV[4]) " +
+            "    redis.call('expire', KEYS[4], ARGV[5]) " +
+            "    uaCount = redis.call('scard', KEYS[4]) " +
+            "end " +
+            "local threat = tonumber(ARGV[8]) " +
+            "local uaThreshold = tonumber(ARGV[6]) " +
+            "if uaThreshold > 0 and uaCount > uaThreshold then threat = threat + tonumber(ARGV[7]) end " +
+            "if threat > 0 then " +
+            "    local score = tonumber(redis.call('incrbyfloat', KEYS[5], threat)) " +
+            "    redis.call('expire', KEYS[5], ARGV[5]) " +
+            "    if score > tonumber(ARGV[9]) then " +
+            "        redis.call('set', KEYS[2], ARGV[11], 'EX', ARGV[3]) " +
+            "        return {4, count, uaCount} " +
+            "    end " +
+            "end " +
+            "return {0, count, uaCount}"
+        );
+        script.setResultType(List.class);
+        return script;
+    }
+
     // 内部数据类
 
     /**
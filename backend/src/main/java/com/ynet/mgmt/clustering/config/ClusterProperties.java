@@ -15,6 +15,7 @@ public class ClusterProperties {
 
     private PythonConfig python = new PythonConfig();
     private SiliconFlowConfig siliconflow = new SiliconFlowConfig();
+    private LocalConfig local = new LocalConfig();
 
     public PythonConfig getPython() {
         return python;
@@ -32,6 +33,14 @@ public class ClusterProperties {
         this.siliconflow = siliconflow;
     }
 
+    public LocalConfig getLocal() {
+        return local;
+    }
+
+    public void setLocal(LocalConfig local) {
+        this.local = local;
+    }
+
     /**
      * Python 服务配置
      */
@@ -190,4 +199,115 @@ public class ClusterProperties {
             this.timeout = timeout;
         }
     }
+
+    /**
+     * 本地（JVM 内）聚类引擎配置
+     */
+    public static class LocalConfig {
+        /**
+         * 是否使用本地聚类引擎，关闭时回退到 Python 服务
+         */
+        private Boolean enabled = true;
+        private Integer maxTexts = 20000;
+        /**
+         * 文本数不超过该值时使用精确的暴力近邻查询
+         */
+        private Integer bruteForceThreshold = 2000;
+        /**
+         * 随机投影 LSH 的哈希表数量和每表位数
+         */
+        private Integer lshTables = 12;
+        private Integer lshBits = 10;
+        /**
+         * 邻域查询并行度
+         */
+        private Integer parallelism = Runtime.getRuntime().availableProcessors();
+        private Integer embeddingBatchSize = 32;
+        private Integer embeddingCacheSize = 20000;
+        /**
+         * 增量聚类状态的缓存数量和空闲过期时间（分钟）
+         */
+        private Integer stateCacheSize = 6;
+        private Long stateTtlMinutes = 60L;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getMaxTexts() {
+            return maxTexts;
+        }
+
+        public void setMaxTexts(Integer maxTexts) {
+            this.maxTexts = maxTexts;
+        }
+
+        public Integer getBruteForceThreshold() {
+            return bruteForceThreshold;
+        }
+
+        public void setBruteForceThreshold(Integer bruteForceThreshold) {
+            this.bruteForceThreshold = bruteForceThreshold;
+        }
+
+        public Integer getLshTables() {
+            return lshTables;
+        }
+
+        public void setLshTables(Integer lshTables) {
+            this.lshTables = lshTables;
+        }
+
+        public Integer getLshBits() {
+            return lshBits;
+        }
+
+        public void setLshBits(Integer lshBits) {
+            this.lshBits = lshBits;
+        }
+
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public Integer getEmbeddingBatchSize() {
+            return embeddingBatchSize;
+        }
+
+        public void setEmbeddingBatchSize(Integer embeddingBatchSize) {
+            this.embeddingBatchSize = embeddingBatchSize;
+        }
+
+        public Integer getEmbeddingCacheSize() {
+            return embeddingCacheSize;
+        }
+
+        public void setEmbeddingCacheSize(Integer embeddingCacheSize) {
+            this.embeddingCacheSize = embeddingCacheSize;
+        }
+
+        public Integer getStateCacheSize() {
+            return stateCacheSize;
+        }
+
+        public void setStateCacheSize(Integer stateCacheSize) {
+            this.stateCacheSize = stateCacheSize;
+        }
+
+        public Long getStateTtlMinutes() {
+            return stateTtlMinutes;
+        }
+
+        public void setStateTtlMinutes(Long stateTtlMinutes) {
+            this.stateTtlMinutes = stateTtlMinutes;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.ynet.mgmt.clustering.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.clustering.config.ClusterProperties;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 聚类话题生成器
+ * 调用 LLM 为每个簇生成话题名称和业务标签（提示词与原 Python 服务一致），
+ * 按簇的样本文本缓存结果，增量聚类时未变化的簇不会重复调用 LLM
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class ClusterTopicGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterTopicGenerator.class);
+
+    private static final int SAMPLE_SIZE = 10;
+    private static final String SYSTEM_PROMPT = "你是有10年经验的银行业务分析师，擅长从用户反馈中提炼具体问题和诉求";
+
+    private final ClusterProperties clusterProperties;
+    private final ModelGatewayClient modelGatewayClient;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TopicInfo> cache = Caffeine.newBuilder()
+            .maximumSize(2000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+
+    public ClusterTopicGenerator(ClusterProperties clusterProperties,
+                                 ModelGatewayClient modelGatewayClient,
+                                 ObjectMapper objectMapper) {
+        this.clusterProperties = clusterProperties;
+        this.modelGatewayClient = modelGatewayClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 生成簇的话题信息，失败时返回默认值
+     *
+     * @param clusterId 簇 ID
+     * @param clusterTexts 簇内文本
+     * @return 话题信息
+     */
+    public TopicInfo generate(int clusterId, List<String> clusterTexts) {
+        List<String> samples = clusterTexts.subList(0, Math.min(SAMPLE_SIZE, clusterTexts.size()));
+        String cacheKey = String.join("\n", samples);
+
+        TopicInfo cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            TopicInfo topic = callLlm(samples);
+            cache.put(cacheKey, topic);
+            return topic;
+        } catch (Exception e) {
+            logger.warn("簇 {} 的话题生成失败,使用默认值: {}", clusterId, e.getMessage());
+            return new TopicInfo("用户反馈簇 " + clusterId, List.of("待分析"));
+        }
+    }
+
+    private TopicInfo callLlm(List<String> samples) throws Exception {
+        ClusterProperties.LlmConfig config = clusterProperties.getSiliconflow().getLlm();
+
+        StringBuilder feedback = new StringBuilder();
+        for (String sample : samples) {
+            feedback.append("- ").append(sample).append("\n");
+        }
+        String prompt = "作为银行客户反馈分析专家，请精准提炼用户反馈的核心主题：\n\n"
+                + "【输入数据】\n以下是同一类别的用户反馈：\n" + feedback + "\n"
+                + "【输出要求】\n"
+                + "1. 生成1个简洁的类别名称（10-15字），必须包含：\n"
+                + "   - 涉及的业务领域（如转账、信用卡、APP等）\n"
+                + "   - 用户的核心诉求或问题（如额度不足、无法使用、流程复杂等）\n"
+                + "   示例：\"转账限额不足，希望提高\"、\"信用卡审批被拒，询问原因\"\n\n"
+                + "2. 提取2-3个业务标签（如\"转账限额\"、\"信用卡审批\"、\"APP故障\"）\n\n"
+                + "请用JSON格式回复，不要包含任何额外文本：\n"
+                + "{\n    \"topic\": \"类别名称\",\n    \"tags\": [\"标签1\", \"标签2\"]\n}";
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", config.getModel());
+        requestBody.put("messages", List.of(
+                Map.of("role", "system", "content", SYSTEM_PROMPT),
+                Map.of("role", "user", "content", prompt)));
+        requestBody.put("temperature", config.getTemperature());
+        requestBody.put("max_tokens", config.getMaxTokens());
+
+        JsonNode response = modelGatewayClient.postJson(config.getModel(), config.getApiUrl(), config.getApiKey(),
+                requestBody, JsonNode.class, config.getTimeout() != null ? Duration.ofMillis(config.getTimeout()) : null);
+
+        String content = response.path("choices").path(0).path("message").path("content").asText("").trim();
+        if (content.startsWith("```")) {
+            content = content.replaceFirst("^```(json)?", "").replaceFirst("```$", "").trim();
+        }
+
+        JsonNode json = objectMapper.readTree(content);
+        String topic = json.path("topic").asText("");
+        if (!StringUtils.hasText(topic)) {
+            throw new IllegalStateException("LLM 未返回话题名称");
+        }
+        List<String> tags = new ArrayList<>();
+        json.path("tags").forEach(tag -> tags.add(tag.asText()));
+        return new TopicInfo(topic, tags);
+    }
+
+    /**
+     * 话题信息
+     */
+    @Data
+    @AllArgsConstructor
+    public static class TopicInfo {
+        private String topic;
+        private List<String> tags;
+    }
+}
@@ -0,0 +1,233 @@
+package com.ynet.mgmt.clustering.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 可增量更新的 DBSCAN
+ * 维护 eps 邻域图（每个点在 eps 内的邻居集合）：新增文本只对新增点做邻域查询并对称地补边，
+ * 过期文本只删除其关联的边，不必对整个时间窗口重新计算。
+ * 标注阶段在邻域图上做一次线性扩展，语义与 sklearn DBSCAN 一致（min_samples 计入点自身，
+ * 边界点归属最先到达它的簇）。
+ *
+ * 非线程安全，调用方需对同一实例加锁。
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class IncrementalDbscan {
+
+    public static final int NOISE = -1;
+    private static final int UNVISITED = -2;
+
+    private final double eps;
+    private final boolean cosine;
+    private final int bruteForceThreshold;
+    private final int lshTables;
+    private final int lshBits;
+
+    private final List<String> texts = new ArrayList<>();
+    private final List<float[]> vectors = new ArrayList<>();
+    private final List<Set<Integer>> neighbours = new ArrayList<>();
+    private final Map<String, Integer> idByText = new HashMap<>();
+    private RandomProjectionIndex index;
+    private int liveCount;
+
+    public IncrementalDbscan(double eps, String metric, int bruteForceThreshold, int lshTables, int lshBits) {
+        this.eps = eps;
+        this.cosine = !"euclidean".equalsIgnoreCase(metric);
+        this.bruteForceThreshold = bruteForceThreshold;
+        this.lshTables = lshTables;
+        this.lshBits = lshBits;
+    }
+
+    /**
+     * 找出尚未加入邻域图的文本
+     */
+    public List<String> findNewTexts(Collection<String> currentTexts) {
+        List<String> added = new ArrayList<>();
+        for (String text : currentTexts) {
+            if (!idByText.containsKey(text)) {
+                added.add(text);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * 将邻域图同步到当前文本集合：删除不在集合中的点，加入新点并并行执行新点的邻域查询
+     *
+     * @param currentTexts 当前时间窗口内的去重文本
+     * @param addedVectors 新增文本的向量
+     * @param pool 邻域查询线程池
+     * @return 本次新增的点数
+     */
+    public int update(Collection<String> currentTexts, Map<String, float[]> addedVectors, ForkJoinPool pool)
+            throws InterruptedException, ExecutionException {
+        Set<String> current = currentTexts instanceof Set ? (Set<String>) currentTexts : new HashSet<>(currentTexts);
+
+        // 1. 删除过期的点及其关联边
+        List<String> expired = new ArrayList<>();
+        for (String text : idByText.keySet()) {
+            if (!current.contains(text)) {
+                expired.add(text);
+            }
+        }
+        for (String text : expired) {
+            int id = idByText.remove(text);
+            for (int neighbour : neighbours.get(id)) {
+                neighbours.get(neighbour).remove(id);
+            }
+            neighbours.set(id, Collections.emptySet());
+            vectors.set(id, null);
+            texts.set(id, null);
+            if (index != null) {
+                index.remove(id);
+            }
+            liveCount--;
+        }
+
+        // 2. 加入新点
+        List<Integer> addedIds = new ArrayList<>();
+        for (String text : currentTexts) {
+            if (idByText.containsKey(text)) {
+                continue;
+            }
+            float[] vector = addedVectors.get(text);
+            if (vector == null) {
+                continue;
+            }
+            float[] stored = cosine ? VectorMath.normalize(vector) : vector;
+            int id = texts.size();
+            texts.add(text);
+            vectors.add(stored);
+            neighbours.add(new HashSet<>());
+            idByText.put(text, id);
+            if (index == null) {
+                index = new RandomProjectionIndex(stored.length, lshTables, lshBits, 42L);
+            }
+            index.add(id, stored);
+            addedIds.add(id);
+            liveCount++;
+        }
+
+        // 3. 并行执行新点的邻域查询，点数较少时使用精确的暴力查询
+        boolean bruteForce = liveCount <= bruteForceThreshold;
+        List<Integer> liveIds = bruteForce ? liveIds() : null;
+        Map<Integer, Set<Integer>> found = new ConcurrentHashMap<>();
+        pool.submit(() -> addedIds.parallelStream().forEach(id ->
+                found.put(id, regionQuery(id, bruteForce ? liveIds : index.candidates(vectors.get(id))))
+        )).get();
+
+        // 4. 对称补边
+        for (Map.Entry<Integer, Set<Integer>> entry : found.entrySet()) {
+            int id = entry.getKey();
+            for (int neighbour : entry.getValue()) {
+                neighbours.get(id).add(neighbour);
+                neighbours.get(neighbour).add(id);
+            }
+        }
+
+        return addedIds.size();
+    }
+
+    /**
+     * 在邻域图上标注簇
+     *
+     * @param orderedTexts 标注顺序（决定簇编号和边界点归属）
+     * @param minSamples 核心点最小样本数（含自身）
+     * @return 与 orderedTexts 对齐的簇标签，-1 表示噪声
+     */
+    public int[] label(List<String> orderedTexts, int minSamples) {
+        Map<Integer, Integer> labels = new HashMap<>();
+        int clusterId = 0;
+
+        for (String text : orderedTexts) {
+            Integer id = idByText.get(text);
+            if (id == null || labels.getOrDefault(id, UNVISITED) != UNVISITED) {
+                continue;
+            }
+            if (!isCore(id, minSamples)) {
+                labels.put(id, NOISE);
+                continue;
+            }
+
+            labels.put(id, clusterId);
+            Deque<Integer> queue = new ArrayDeque<>(neighbours.get(id));
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                int currentLabel = labels.getOrDefault(current, UNVISITED);
+                if (currentLabel == NOISE) {
+                    labels.put(current, clusterId);
+                } else if (currentLabel == UNVISITED) {
+                    labels.put(current, clusterId);
+                    if (isCore(current, minSamples)) {
+                        queue.addAll(neighbours.get(current));
+                    }
+                }
+            }
+            clusterId++;
+        }
+
+        int[] result = new int[orderedTexts.size()];
+        for (int i = 0; i < orderedTexts.size(); i++) {
+            Integer id = idByText.get(orderedTexts.get(i));
+            result[i] = id == null ? NOISE : labels.getOrDefault(id, NOISE);
+        }
+        return result;
+    }
+
+    /**
+     * 获取文本对应的向量（cosine 度量下为归一化后的向量）
+     */
+    public float[] vectorOf(String text) {
+        Integer id = idByText.get(text);
+        return id == null ? null : vectors.get(id);
+    }
+
+    /**
+     * 已删除的槽位多于存活点时建议重建，避免长期滑动窗口下内存只增不减
+     */
+    public boolean needsCompaction() {
+        return texts.size() - liveCount > Math.max(1000, liveCount);
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    private boolean isCore(int id, int minSamples) {
+        return neighbours.get(id).size() + 1 >= minSamples;
+    }
+
+    private Set<Integer> regionQuery(int id, Collection<Integer> candidates) {
+        float[] vector = vectors.get(id);
+        Set<Integer> result = new LinkedHashSet<>();
+        for (int candidate : candidates) {
+            if (candidate == id) {
+                continue;
+            }
+            float[] other = vectors.get(candidate);
+            if (other != null && VectorMath.distance(vector, other, cosine) <= eps) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> liveIds() {
+        return new ArrayList<>(idByText.values());
+    }
+}
@@ -0,0 +1,209 @@
+package com.ynet.mgmt.clustering.engine;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.clustering.config.ClusterProperties;
+import com.ynet.mgmt.clustering.dto.ClusterAnalysisResponse;
+import com.ynet.mgmt.clustering.dto.ClusterTopicDTO;
+import com.ynet.mgmt.clustering.dto.ScatterPointDTO;
+import com.ynet.mgmt.clustering.exception.ClusterAnalysisException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 本地聚类引擎
+ * 在 JVM 内完成原 Python 服务的全部流程：查询词向量化（带缓存）→ DBSCAN（LSH 近邻索引 + 并行邻域查询，
+ * 邻域图按时间窗口增量维护）→ 二维投影 → LLM 话题生成。
+ * 参数 eps / minSamples / metric 与 Python 服务含义一致。
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class LocalClusterEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalClusterEngine.class);
+
+    private final ClusterProperties clusterProperties;
+    private final QueryEmbeddingStore embeddingStore;
+    private final ClusterTopicGenerator topicGenerator;
+    private final ForkJoinPool pool;
+
+    /**
+     * 增量聚类状态：键为 范围 + 度量 + eps（minSamples 只影响标注，不影响邻域图）
+     */
+    private final Cache<String, StateHolder> states;
+
+    public LocalClusterEngine(ClusterProperties clusterProperties,
+                              QueryEmbeddingStore embeddingStore,
+                              ClusterTopicGenerator topicGenerator) {
+        this.clusterProperties = clusterProperties;
+        this.embeddingStore = embeddingStore;
+        this.topicGenerator = topicGenerator;
+
+        ClusterProperties.LocalConfig config = clusterProperties.getLocal();
+        this.pool = new ForkJoinPool(Math.max(1, config.getParallelism()));
+        this.states = Caffeine.newBuilder()
+                .maximumSize(config.getStateCacheSize())
+                .expireAfterAccess(Duration.ofMinutes(config.getStateTtlMinutes()))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 执行聚类分析
+     *
+     * @param scope 数据范围标识（如时间范围），同一范围的多次分析共享增量状态
+     * @param texts 去重后的待聚类文本
+     * @param eps DBSCAN eps 参数
+     * @param minSamples DBSCAN min_samples 参数
+     * @param metric 距离度量方式
+     * @return 聚类分析响应
+     */
+    public ClusterAnalysisResponse performClustering(String scope, List<String> texts, Double eps,
+                                                     Integer minSamples, String metric) {
+        ClusterProperties.LocalConfig config = clusterProperties.getLocal();
+        if (texts.size() > config.getMaxTexts()) {
+            throw new ClusterAnalysisException(
+                    String.format("文本数量 %d 超过最大限制 %d", texts.size(), config.getMaxTexts()));
+        }
+        if (texts.size() < minSamples) {
+            throw new ClusterAnalysisException(
+                    String.format("文本数量(%d)少于 min_samples(%d)", texts.size(), minSamples));
+        }
+
+        String stateKey = scope + "|" + metric + "|" + eps;
+        StateHolder holder = states.get(stateKey, k -> new StateHolder(newState(eps, metric)));
+
+        int[] labels;
+        List<String> embeddedTexts = new ArrayList<>(texts.size());
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        // 以缓存中的持有者作为锁，重建状态时只替换持有者内的状态，锁对象保持不变
+        synchronized (holder) {
+            if (holder.state.needsCompaction()) {
+                logger.info("聚类状态已删除的点过多，重建: key={}", stateKey);
+                holder.state = newState(eps, metric);
+            }
+            IncrementalDbscan state = holder.state;
+
+            long start = System.currentTimeMillis();
+            List<String> added = state.findNewTexts(texts);
+            Map<String, float[]> addedVectors = embeddingStore.getEmbeddings(added, pool);
+            long embedded = System.currentTimeMillis();
+
+            int addedCount;
+            try {
+                addedCount = state.update(texts, addedVectors, pool);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ClusterAnalysisException("聚类被中断", e);
+            } catch (ExecutionException e) {
+                throw new ClusterAnalysisException("邻域查询失败: " + e.getCause().getMessage(), e.getCause());
+            }
+            long indexed = System.currentTimeMillis();
+
+            // 向量化失败的文本没有加入邻域图，不参与标注和投影
+            for (String text : texts) {
+                float[] vector = state.vectorOf(text);
+                if (vector != null) {
+                    embeddedTexts.add(text);
+                    vectors.add(vector);
+                }
+            }
+            if (embeddedTexts.size() < texts.size()) {
+                logger.warn("本地聚类: key={}, {} 条文本向量化失败，已从结果中排除",
+                        stateKey, texts.size() - embeddedTexts.size());
+            }
+            labels = state.label(embeddedTexts, minSamples);
+
+            logger.info("本地聚类: key={}, 文本数={}, 新增={}, 向量化耗时={}ms, 邻域更新耗时={}ms, 标注耗时={}ms",
+                    stateKey, texts.size(), addedCount, embedded - start, indexed - embedded,
+                    System.currentTimeMillis() - indexed);
+        }
+
+        return buildResponse(embeddedTexts, labels, vectors);
+    }
+
+    private IncrementalDbscan newState(Double eps, String metric) {
+        ClusterProperties.LocalConfig config = clusterProperties.getLocal();
+        return new IncrementalDbscan(eps, metric, config.getBruteForceThreshold(),
+                config.getLshTables(), config.getLshBits());
+    }
+
+    private ClusterAnalysisResponse buildResponse(List<String> texts, int[] labels, List<float[]> vectors) {
+        // 分组聚类文本
+        Map<Integer, List<String>> clustersMap = new LinkedHashMap<>();
+        int noiseCount = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            if (labels[i] == IncrementalDbscan.NOISE) {
+                noiseCount++;
+                continue;
+            }
+            clustersMap.computeIfAbsent(labels[i], k -> new ArrayList<>()).add(texts.get(i));
+        }
+
+        // 并行生成话题描述
+        List<CompletableFuture<ClusterTopicDTO>> futures = new ArrayList<>();
+        clustersMap.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> futures.add(CompletableFuture.supplyAsync(() -> {
+                    ClusterTopicGenerator.TopicInfo topic = topicGenerator.generate(entry.getKey(), entry.getValue());
+                    ClusterTopicDTO dto = new ClusterTopicDTO();
+                    dto.setClusterId(entry.getKey());
+                    dto.setTopic(topic.getTopic());
+                    dto.setTags(topic.getTags());
+                    // 代表性问题直接使用原始用户输入的前3条
+                    dto.setExamples(new ArrayList<>(entry.getValue().subList(0, Math.min(3, entry.getValue().size()))));
+                    dto.setSize(entry.getValue().size());
+                    return dto;
+                }, pool)));
+        List<ClusterTopicDTO> clusters = futures.stream().map(CompletableFuture::join).toList();
+
+        // 构建散点数据
+        double[][] coordinates = PcaProjector.project2d(vectors);
+        List<ScatterPointDTO> scatterData = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            ScatterPointDTO point = new ScatterPointDTO();
+            point.setX(coordinates[i][0]);
+            point.setY(coordinates[i][1]);
+            point.setCluster(labels[i]);
+            point.setText(texts.get(i));
+            scatterData.add(point);
+        }
+
+        ClusterAnalysisResponse response = new ClusterAnalysisResponse();
+        response.setClusters(clusters);
+        response.setScatterData(scatterData);
+        response.setNoiseCount(noiseCount);
+        response.setTotalTexts(texts.size());
+        response.setValidClusters(clustersMap.size());
+        return response;
+    }
+
+    /**
+     * 增量聚类状态持有者，同时作为该状态的锁
+     */
+    private static final class StateHolder {
+
+        private IncrementalDbscan state;
+
+        private StateHolder(IncrementalDbscan state) {
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ynet.mgmt.clustering.engine;
+
+import java.util.List;
+
+/**
+ * 主成分分析二维投影
+ * 用幂迭代求前两个主成分，不构造 d×d 协方差矩阵，复杂度为 O(迭代次数 × n × d)
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class PcaProjector {
+
+    private static final int ITERATIONS = 30;
+
+    private PcaProjector() {
+    }
+
+    /**
+     * 将向量投影到前两个主成分
+     *
+     * @param vectors 向量列表
+     * @return n×2 坐标
+     */
+    public static double[][] project2d(List<float[]> vectors) {
+        int n = vectors.size();
+        double[][] result = new double[n][2];
+        if (n == 0) {
+            return result;
+        }
+
+        int dimension = vectors.get(0).length;
+        double[] mean = new double[dimension];
+        for (float[] vector : vectors) {
+            for (int d = 0; d < dimension; d++) {
+                mean[d] += vector[d];
+            }
+        }
+        for (int d = 0; d < dimension; d++) {
+            mean[d] /= n;
+        }
+
+        double[] first = principalComponent(vectors, mean, null);
+        double[] second = principalComponent(vectors, mean, first);
+
+        for (int i = 0; i < n; i++) {
+            float[] vector = vectors.get(i);
+            double x = 0;
+            double y = 0;
+            for (int d = 0; d < dimension; d++) {
+                double centered = vector[d] - mean[d];
+                x += centered * first[d];
+                y += centered * second[d];
+            }
+            result[i][0] = x;
+            result[i][1] = y;
+        }
+        return result;
+    }
+
+    private static double[] principalComponent(List<float[]> vectors, double[] mean, double[] orthogonalTo) {
+        int dimension = mean.length;
+        double[] component = new double[dimension];
+        // 确定性初始化，保证同样的数据得到同样的坐标
+        for (int d = 0; d < dimension; d++) {
+            component[d] = 1.0 / Math.sqrt(dimension) * ((d % 2 == 0) ? 1 : -0.5);
+        }
+        orthogonalize(component, orthogonalTo);
+        normalize(component);
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            double[] next = new double[dimension];
+            for (float[] vector : vectors) {
+                double projection = 0;
+                for (int d = 0; d < dimension; d++) {
+                    projection += (vector[d] - mean[d]) * component[d];
+                }
+                for (int d = 0; d < dimension; d++) {
+                    next[d] += (vector[d] - mean[d]) * projection;
+                }
+            }
+            orthogonalize(next, orthogonalTo);
+            if (!normalize(next)) {
+                break;
+            }
+            component = next;
+        }
+        return component;
+    }
+
+    private static void orthogonalize(double[] vector, double[] basis) {
+        if (basis == null) {
+            return;
+        }
+        double dot = 0;
+        for (int d = 0; d < vector.length; d++) {
+            dot += vector[d] * basis[d];
+        }
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] -= dot * basis[d];
+        }
+    }
+
+    private static boolean normalize(double[] vector) {
+        double norm = 0;
+        for (double value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm < 1e-12) {
+            return false;
+        }
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] /= norm;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ynet.mgmt.clustering.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.clustering.config.ClusterProperties;
+import com.ynet.mgmt.clustering.exception.ClusterAnalysisException;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 查询词向量缓存
+ * 聚类时只对未缓存的查询词批量调用 Embedding API，同一查询词在多次分析之间只向量化一次
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class QueryEmbeddingStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryEmbeddingStore.class);
+
+    private final ClusterProperties clusterProperties;
+    private final ModelGatewayClient modelGatewayClient;
+    private final Cache<String, float[]> cache;
+
+    public QueryEmbeddingStore(ClusterProperties clusterProperties, ModelGatewayClient modelGatewayClient) {
+        this.clusterProperties = clusterProperties;
+        this.modelGatewayClient = modelGatewayClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(clusterProperties.getLocal().getEmbeddingCacheSize())
+                .build();
+    }
+
+    /**
+     * 获取文本向量，未缓存的文本按批并行请求
+     *
+     * @param texts 文本列表
+     * @param executor 并行请求使用的线程池
+     * @return 文本到向量的映射
+     */
+    public Map<String, float[]> getEmbeddings(List<String> texts, Executor executor) {
+        Map<String, float[]> result = new HashMap<>(cache.getAllPresent(texts));
+        List<String> missing = new ArrayList<>();
+        for (String text : texts) {
+            if (!result.containsKey(text)) {
+                missing.add(text);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        int batchSize = Math.max(1, clusterProperties.getLocal().getEmbeddingBatchSize());
+        List<CompletableFuture<Map<String, float[]>>> futures = new ArrayList<>();
+        for (int start = 0; start < missing.size(); start += batchSize) {
+            List<String> batch = missing.subList(start, Math.min(start + batchSize, missing.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> fetchBatch(batch), executor));
+        }
+
+        try {
+            for (CompletableFuture<Map<String, float[]>> future : futures) {
+                Map<String, float[]> fetched = future.join();
+                cache.putAll(fetched);
+                result.putAll(fetched);
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new ClusterAnalysisException("获取查询词向量失败: " + cause.getMessage(), cause);
+        }
+
+        logger.info("查询词向量: 总数={}, 缓存命中={}, 新请求={}", texts.size(), texts.size() - missing.size(), missing.size());
+        return result;
+    }
+
+    private Map<String, float[]> fetchBatch(List<String> batch) {
+        ClusterProperties.EmbeddingConfig config = clusterProperties.getSiliconflow().getEmbedding();
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", config.getModel());
+        requestBody.put("input", batch);
+        requestBody.put("encoding_format", "float");
+
+        JsonNode response = modelGatewayClient.postJson(config.getModel(), config.getApiUrl(), config.getApiKey(),
+                requestBody, JsonNode.class, config.getTimeout() != null ? Duration.ofMillis(config.getTimeout()) : null);
+
+        JsonNode dataNode = response != null ? response.get("data") : null;
+        if (dataNode == null || !dataNode.isArray() || dataNode.size() != batch.size()) {
+            throw new ClusterAnalysisException("Embedding API 返回的向量数量与请求不一致");
+        }
+
+        Map<String, float[]> vectors = new LinkedHashMap<>();
+        for (JsonNode item : dataNode) {
+            int index = item.has("index") ? item.get("index").asInt() : vectors.size();
+            JsonNode embeddingNode = item.get("embedding");
+            float[] vector = new float[embeddingNode.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) embeddingNode.get(i).asDouble();
+            }
+            vectors.put(batch.get(index), vector);
+        }
+        return vectors;
+    }
+}
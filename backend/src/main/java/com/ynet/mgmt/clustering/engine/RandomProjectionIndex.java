@@ -0,0 +1,116 @@
+package com.ynet.mgmt.clustering.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 随机投影（SimHash）近似近邻索引
+ * 每个哈希表用若干随机超平面把向量按方向分桶，查询时取各表中同桶及汉明距离为1的相邻桶作为候选，
+ * 候选集再由调用方用精确距离过滤。候选规模远小于全量，使 DBSCAN 的邻域查询不再是平方复杂度。
+ *
+ * 写操作（add/remove）须由单线程执行；没有写操作时 candidates 可并发调用。
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class RandomProjectionIndex {
+
+    private final int tables;
+    private final int bits;
+    private final float[][][] hyperplanes;
+    private final List<Map<Integer, Set<Integer>>> buckets;
+    private final Map<Integer, int[]> signatures = new HashMap<>();
+
+    public RandomProjectionIndex(int dimension, int tables, int bits, long seed) {
+        this.tables = Math.max(1, tables);
+        this.bits = Math.max(1, Math.min(bits, 30));
+        this.hyperplanes = new float[this.tables][this.bits][dimension];
+        this.buckets = new ArrayList<>(this.tables);
+
+        Random random = new Random(seed);
+        for (int t = 0; t < this.tables; t++) {
+            for (int b = 0; b < this.bits; b++) {
+                for (int d = 0; d < dimension; d++) {
+                    hyperplanes[t][b][d] = (float) random.nextGaussian();
+                }
+            }
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 加入向量
+     */
+    public void add(int id, float[] vector) {
+        int[] signature = signature(vector);
+        signatures.put(id, signature);
+        for (int t = 0; t < tables; t++) {
+            buckets.get(t).computeIfAbsent(signature[t], k -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * 移除向量
+     */
+    public void remove(int id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int t = 0; t < tables; t++) {
+            Set<Integer> bucket = buckets.get(t).get(signature[t]);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.get(t).remove(signature[t]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查询候选近邻（包含同桶和汉明距离为1的相邻桶）
+     */
+    public Set<Integer> candidates(float[] vector) {
+        int[] signature = signature(vector);
+        Set<Integer> result = new HashSet<>();
+        for (int t = 0; t < tables; t++) {
+            Map<Integer, Set<Integer>> table = buckets.get(t);
+            collect(table, signature[t], result);
+            for (int b = 0; b < bits; b++) {
+                collect(table, signature[t] ^ (1 << b), result);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    private void collect(Map<Integer, Set<Integer>> table, int key, Set<Integer> result) {
+        Set<Integer> bucket = table.get(key);
+        if (bucket != null) {
+            result.addAll(bucket);
+        }
+    }
+
+    private int[] signature(float[] vector) {
+        int[] signature = new int[tables];
+        for (int t = 0; t < tables; t++) {
+            int key = 0;
+            for (int b = 0; b < bits; b++) {
+                if (VectorMath.dot(hyperplanes[t][b], vector) >= 0) {
+                    key |= 1 << b;
+                }
+            }
+            signature[t] = key;
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ynet.mgmt.clustering.engine;
+
+/**
+ * 向量计算工具
+ *
+ * @author system
+ * @since 1.0.0
+ */
+final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        float[] result = new float[vector.length];
+        if (norm == 0f) {
+            return result;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] / norm;
+        }
+        return result;
+    }
+
+    /**
+     * 计算距离，cosine 度量要求向量已归一化
+     */
+    static double distance(float[] a, float[] b, boolean cosine) {
+        if (cosine) {
+            return 1.0 - dot(a, b);
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return Math.sqrt(sum);
+    }
+}
@@ -1,8 +1,10 @@
 package com.ynet.mgmt.clustering.service.impl;
 
 import com.ynet.mgmt.clustering.client.PythonClusterClient;
+import com.ynet.mgmt.clustering.config.ClusterProperties;
 import com.ynet.mgmt.clustering.dto.ClusterAnalysisRequest;
 import com.ynet.mgmt.clustering.dto.ClusterAnalysisResponse;
+import com.ynet.mgmt.clustering.engine.LocalClusterEngine;
 import com.ynet.mgmt.clustering.exception.ClusterAnalysisException;
 import com.ynet.mgmt.clustering.service.ClusterAnalysisService;
 import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
@@ -13,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 聚类分析服务实现
@@ -29,11 +30,17 @@ public class ClusterAnalysisServiceImpl implements ClusterAnalysisService {
 
     private final SearchLogRepository searchLogRepository;
     private final PythonClusterClient pythonClusterClient;
+    private final LocalClusterEngine localClusterEngine;
+    private final ClusterProperties clusterProperties;
 
     public ClusterAnalysisServiceImpl(SearchLogRepository searchLogRepository,
-                                      PythonClusterClient pythonClusterClient) {
+                                      PythonClusterClient pythonClusterClient,
+                                      LocalClusterEngine localClusterEngine,
+                                      ClusterProperties clusterProperties) {
         this.searchLogRepository = searchLogRepository;
         this.pythonClusterClient = pythonClusterClient;
+        this.localClusterEngine = localClusterEngine;
+        this.clusterProperties = clusterProperties;
     }
 
     @Override
@@ -47,30 +54,36 @@ public class ClusterAnalysisServiceImpl implements ClusterAnalysisService {
                     request.getTimeRange(), startTime, endTime, request.getEps(),
                     request.getMinSamples(), request.getMetric());
 
-            // 2. 从数据库查询成功搜索的查询词
-            List<String> queries = searchLogRepository.findSuccessfulSearchQueriesByTimeRange(startTime, endTime);
+            // 2. 从数据库查询成功搜索的去重查询词
+            List<String> uniqueQueries = searchLogRepository.findDistinctSuccessfulSearchQueriesByTimeRange(startTime, endTime);
 
-            if (queries.isEmpty()) {
+            if (uniqueQueries.isEmpty()) {
                 logger.warn("指定时间范围内没有搜索记录");
                 throw new ClusterAnalysisException("指定时间范围内没有搜索记录");
             }
 
-            // 3. 去重
-            List<String> uniqueQueries = queries.stream()
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            logger.info("查询到 {} 条搜索记录,去重后 {} 条", queries.size(), uniqueQueries.size());
-
-            // 4. 调用 Python 聚类服务
-            ClusterAnalysisResponse response = pythonClusterClient.performClustering(
-                    uniqueQueries,
-                    request.getEps(),
-                    request.getMinSamples(),
-                    request.getMetric()
-            );
+            logger.info("查询到去重后的搜索词 {} 条", uniqueQueries.size());
+
+            // 3. 执行聚类：默认使用本地引擎，关闭后回退到 Python 服务
+            ClusterAnalysisResponse response;
+            if (Boolean.TRUE.equals(clusterProperties.getLocal().getEnabled())) {
+                response = localClusterEngine.performClustering(
+                        request.getTimeRange(),
+                        uniqueQueries,
+                        request.getEps(),
+                        request.getMinSamples(),
+                        request.getMetric()
+                );
+            } else {
+                response = pythonClusterClient.performClustering(
+                        uniqueQueries,
+                        request.getEps(),
+                        request.getMinSamples(),
+                        request.getMetric()
+                );
+            }
 
-            // 5. 设置时间范围描述
+            // 4. 设置时间范围描述
             response.setTimeRangeDesc(getTimeRangeDescription(request.getTimeRange()));
 
             logger.info("聚类分析完成: validClusters={}, noiseCount={}, totalTexts={}",
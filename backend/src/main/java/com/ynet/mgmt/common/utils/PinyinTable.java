@@ -0,0 +1,188 @@
+package com.ynet.mgmt.common.utils;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 汉字拼音预计算表
+ * 启动时对 CJK 基本区（U+4E00 - U+9FA5）逐字调用一次 pinyin4j，把结果压缩为按码位下标访问的基本类型数组：
+ * 所有不带声调的音节去重后存入音节表，每个汉字的读音（多音字按 pinyin4j 顺序去重）以音节下标连续存放，
+ * 运行时查询只有数组访问，不再有格式化和 String[] 分配
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class PinyinTable {
+
+    /**
+     * 表覆盖的首个码位
+     */
+    public static final char FIRST = '\u4E00';
+
+    /**
+     * 表覆盖的最后一个码位
+     */
+    public static final char LAST = '\u9FA5';
+
+    private static final int SIZE = LAST - FIRST + 1;
+
+    /**
+     * 去重后的音节表
+     */
+    private final String[] syllables;
+
+    /**
+     * 第 i 个汉字的读音位于 readings[offsets[i], offsets[i + 1])
+     */
+    private final int[] offsets;
+
+    /**
+     * 读音对应的音节下标
+     */
+    private final short[] readings;
+
+    private PinyinTable(String[] syllables, int[] offsets, short[] readings) {
+        this.syllables = syllables;
+        this.offsets = offsets;
+        this.readings = readings;
+    }
+
+    /**
+     * 获取拼音表，首次调用时构建
+     *
+     * @return 拼音表
+     */
+    public static PinyinTable getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 判断字符是否在表覆盖的汉字范围内
+     *
+     * @param ch 字符
+     * @return true 如果是 CJK 基本区汉字
+     */
+    public static boolean isHanzi(char ch) {
+        return ch >= FIRST && ch <= LAST;
+    }
+
+    /**
+     * 获取汉字的读音数
+     *
+     * @param ch 汉字
+     * @return 读音数，非汉字或无读音时返回0
+     */
+    public int readingCount(char ch) {
+        if (!isHanzi(ch)) {
+            return 0;
+        }
+        int i = ch - FIRST;
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * 获取汉字的第 n 个读音
+     *
+     * @param ch 汉字
+     * @param n 读音序号，需小于 {@link #readingCount(char)}
+     * @return 不带声调的小写拼音，ü 用 v 表示
+     */
+    public String reading(char ch, int n) {
+        return syllables[readings[offsets[ch - FIRST] + n]];
+    }
+
+    /**
+     * 获取汉字的首个读音
+     *
+     * @param ch 汉字
+     * @return 首个读音，非汉字或无读音时返回null
+     */
+    public String primary(char ch) {
+        return readingCount(ch) > 0 ? reading(ch, 0) : null;
+    }
+
+    /**
+     * 音节表大小
+     *
+     * @return 去重后的音节数
+     */
+    public int syllableCount() {
+        return syllables.length;
+    }
+
+    /**
+     * 读音总数（多音字按读音数计）
+     *
+     * @return 读音总数
+     */
+    public int readingTotal() {
+        return readings.length;
+    }
+
+    private static PinyinTable build() {
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        format.setVCharType(HanyuPinyinVCharType.WITH_V);
+
+        Map<String, Short> syllableIndex = new HashMap<>();
+        List<String> syllables = new ArrayList<>();
+        int[] offsets = new int[SIZE + 1];
+        short[] readings = new short[SIZE * 2];
+        int count = 0;
+
+        for (int i = 0; i < SIZE; i++) {
+            offsets[i] = count;
+            String[] pinyinArray;
+            try {
+                pinyinArray = PinyinHelper.toHanyuPinyinStringArray((char) (FIRST + i), format);
+            } catch (BadHanyuPinyinOutputFormatCombination e) {
+                pinyinArray = null;
+            }
+            if (pinyinArray == null) {
+                continue;
+            }
+            int start = count;
+            for (String pinyin : pinyinArray) {
+                if (pinyin == null || pinyin.isEmpty()) {
+                    continue;
+                }
+                short index = syllableIndex.computeIfAbsent(pinyin, p -> {
+                    syllables.add(p);
+                    return (short) (syllables.size() - 1);
+                });
+                // 去掉声调后同一汉字会出现重复读音（如“好” hao3/hao4），只保留一次
+                boolean duplicate = false;
+                for (int j = start; j < count && !duplicate; j++) {
+                    duplicate = readings[j] == index;
+                }
+                if (!duplicate) {
+                    if (count == readings.length) {
+                        short[] grown = new short[readings.length * 2];
+                        System.arraycopy(readings, 0, grown, 0, count);
+                        readings = grown;
+                    }
+                    readings[count++] = index;
+                }
+            }
+        }
+        offsets[SIZE] = count;
+
+        short[] compact = new short[count];
+        System.arraycopy(readings, 0, compact, 0, count);
+        return new PinyinTable(syllables.toArray(new String[0]), offsets, compact);
+    }
+
+    private static final class Holder {
+        private static final PinyinTable INSTANCE = build();
+    }
+}
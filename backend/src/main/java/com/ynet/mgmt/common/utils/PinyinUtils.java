@@ -1,16 +1,16 @@
 package com.ynet.mgmt.common.utils;
 
-import net.sourceforge.pinyin4j.PinyinHelper;
-import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
-import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
-import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
-import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
-import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
 /**
  * 拼音转换工具类
  * 提供中文转拼音的功能，支持全拼、简拼和首字母提取
+ * 读音来自启动时预计算的 {@link PinyinTable}，转换过程只做数组查表
  *
  * @author system
  * @since 1.0.0
@@ -18,17 +18,17 @@ import org.springframework.util.StringUtils;
 public class PinyinUtils {
 
     /**
-     * 拼音输出格式配置
+     * 预计算拼音表
+     */
+    private static final PinyinTable TABLE = PinyinTable.getInstance();
+
+    /**
+     * 预加载拼音表，应用启动时调用，避免首个请求承担建表耗时
+     *
+     * @return 拼音表
      */
-    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
-
-    static {
-        // 设置为小写
-        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
-        // 不带声调
-        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
-        // ü 用 v 表示
-        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    public static PinyinTable preload() {
+        return TABLE;
     }
 
     /**
@@ -43,32 +43,28 @@ public class PinyinUtils {
             return "";
         }
 
-        StringBuilder pinyin = new StringBuilder();
-        char[] chars = chinese.toCharArray();
+        StringBuilder pinyin = new StringBuilder(chinese.length() * 4);
+        appendPinyin(chinese, pinyin);
+        return pinyin.toString();
+    }
 
-        for (char ch : chars) {
-            // 判断是否为汉字
-            if (Character.toString(ch).matches("[\\u4E00-\\u9FA5]+")) {
-                try {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(ch, FORMAT);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        // 取第一个读音（多音字处理）
-                        pinyin.append(pinyinArray[0]);
-                    } else {
-                        // 无法转换的汉字保留原字符
-                        pinyin.append(ch);
-                    }
-                } catch (BadHanyuPinyinOutputFormatCombination e) {
-                    // 转换失败，保留原字符
-                    pinyin.append(ch);
-                }
+    /**
+     * 将文本的拼音全拼追加到调用方提供的缓冲区，缓冲区可复用以避免分配
+     *
+     * @param text 文本
+     * @param out 输出缓冲区
+     */
+    public static void appendPinyin(CharSequence text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            // 取第一个读音（多音字处理）；非汉字和无法转换的汉字保留原字符
+            String pinyin = TABLE.primary(ch);
+            if (pinyin != null) {
+                out.append(pinyin);
             } else {
-                // 非汉字字符直接保留（包括字母、数字、符号等）
-                pinyin.append(ch);
+                out.append(ch);
             }
         }
-
-        return pinyin.toString();
     }
 
     /**
@@ -83,35 +79,41 @@ public class PinyinUtils {
             return "";
         }
 
-        StringBuilder firstLetters = new StringBuilder();
-        char[] chars = chinese.toCharArray();
-
-        for (char ch : chars) {
-            // 判断是否为汉字
-            if (Character.toString(ch).matches("[\\u4E00-\\u9FA5]+")) {
-                try {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(ch, FORMAT);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        // 取第一个读音的首字母
-                        String pinyin = pinyinArray[0];
-                        if (pinyin.length() > 0) {
-                            firstLetters.append(pinyin.charAt(0));
-                        }
-                    } else {
-                        // 无法转换的汉字保留原字符
-                        firstLetters.append(ch);
-                    }
-                } catch (BadHanyuPinyinOutputFormatCombination e) {
-                    // 转换失败，保留原字符
-                    firstLetters.append(ch);
-                }
-            } else {
-                // 非汉字字符直接保留
-                firstLetters.append(ch);
-            }
+        StringBuilder firstLetters = new StringBuilder(chinese.length());
+        appendPinyinFirstLetter(chinese, firstLetters);
+        return firstLetters.toString();
+    }
+
+    /**
+     * 将文本的拼音首字母追加到调用方提供的缓冲区
+     *
+     * @param text 文本
+     * @param out 输出缓冲区
+     */
+    public static void appendPinyinFirstLetter(CharSequence text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            String pinyin = TABLE.primary(ch);
+            out.append(pinyin != null ? pinyin.charAt(0) : ch);
         }
+    }
 
-        return firstLetters.toString();
+    /**
+     * 将文本的拼音首字母写入调用方提供的字符数组，首字母与原文一一对应
+     *
+     * @param text 文本
+     * @param dest 目标数组，剩余空间不小于文本长度
+     * @param offset 写入起始位置
+     * @return 写入的字符数
+     */
+    public static int toPinyinFirstLetter(CharSequence text, char[] dest, int offset) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            String pinyin = TABLE.primary(ch);
+            dest[offset + i] = pinyin != null ? pinyin.charAt(0) : ch;
+        }
+        return length;
     }
 
     /**
@@ -124,7 +126,12 @@ public class PinyinUtils {
         if (!StringUtils.hasText(str)) {
             return false;
         }
-        return str.matches(".*[\\u4E00-\\u9FA5]+.*");
+        for (int i = 0; i < str.length(); i++) {
+            if (PinyinTable.isHanzi(str.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -139,12 +146,18 @@ public class PinyinUtils {
             return false;
         }
         // 只包含字母（a-z, A-Z）被认为可能是拼音
-        return query.matches("^[a-zA-Z]+$");
+        for (int i = 0; i < query.length(); i++) {
+            char ch = query.charAt(i);
+            if (!((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z'))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * 获取多音字的所有可能拼音组合
-     * 注意：此方法会产生笛卡尔积，字符串过长可能导致组合数爆炸
+     * 组合数在生成前按读音数相乘计算，超过上限时不做笛卡尔积
      *
      * @param chinese 中文字符串
      * @param maxCombinations 最大组合数，超过则只返回第一个读音的组合
@@ -156,61 +169,122 @@ public class PinyinUtils {
             return new String[0];
         }
 
-        char[] chars = chinese.toCharArray();
-        java.util.List<String[]> allPinyin = new java.util.ArrayList<>();
-
-        // 获取每个字符的所有拼音
-        for (char ch : chars) {
-            if (Character.toString(ch).matches("[\\u4E00-\\u9FA5]+")) {
-                try {
-                    String[] pinyinArray = PinyinHelper.toHanyuPinyinStringArray(ch, FORMAT);
-                    if (pinyinArray != null && pinyinArray.length > 0) {
-                        allPinyin.add(pinyinArray);
-                    } else {
-                        allPinyin.add(new String[]{String.valueOf(ch)});
-                    }
-                } catch (BadHanyuPinyinOutputFormatCombination e) {
-                    allPinyin.add(new String[]{String.valueOf(ch)});
-                }
-            } else {
-                allPinyin.add(new String[]{String.valueOf(ch)});
-            }
+        long totalCombinations = countCombinations(chinese, maxCombinations);
+        if (totalCombinations > maxCombinations) {
+            // 超过最大组合数，只返回第一个读音的组合
+            return new String[]{toPinyin(chinese)};
         }
 
-        // 计算组合数
-        int totalCombinations = 1;
-        for (String[] pinyin : allPinyin) {
-            totalCombinations *= pinyin.length;
-            // 防止组合数爆炸
-            if (totalCombinations > maxCombinations) {
-                // 超过最大组合数，只返回第一个读音的组合
-                return new String[]{toPinyin(chinese)};
-            }
+        List<String> combinations = new ArrayList<>((int) totalCombinations);
+        Iterator<String> iterator = pinyinCombinations(chinese, maxCombinations);
+        while (iterator.hasNext()) {
+            combinations.add(iterator.next());
         }
+        return combinations.toArray(new String[0]);
+    }
 
-        // 生成所有组合（笛卡尔积）
-        java.util.List<String> combinations = new java.util.ArrayList<>();
-        generateCombinations(allPinyin, 0, new StringBuilder(), combinations);
+    /**
+     * 按读音顺序逐个生成拼音组合，最多生成 limit 个
+     * 与 {@link #toPinyinAllCombinations(String, int)} 不同，组合数超过上限时返回前 limit 个组合而不是只返回首读音
+     *
+     * @param text 文本
+     * @param limit 最多生成的组合数
+     * @return 组合迭代器，第一个组合总是各字首读音
+     */
+    public static Iterator<String> pinyinCombinations(CharSequence text, int limit) {
+        return new CombinationIterator(text, limit);
+    }
 
-        return combinations.toArray(new String[0]);
+    /**
+     * 计算拼音组合数，超过上限后停止累乘
+     */
+    private static long countCombinations(CharSequence text, int maxCombinations) {
+        long total = 1;
+        for (int i = 0; i < text.length() && total <= maxCombinations; i++) {
+            total *= Math.max(1, TABLE.readingCount(text.charAt(i)));
+        }
+        return total;
     }
 
     /**
-     * 递归生成拼音组合（笛卡尔积）
+     * 拼音组合迭代器
+     * 只对多音字维护读音下标（里程表方式进位），每次生成复用同一个缓冲区，不递归、不预先展开全部组合
      */
-    private static void generateCombinations(java.util.List<String[]> allPinyin, int index,
-                                            StringBuilder current, java.util.List<String> result) {
-        if (index == allPinyin.size()) {
-            result.add(current.toString());
-            return;
-        }
-
-        String[] currentPinyin = allPinyin.get(index);
-        for (String pinyin : currentPinyin) {
-            int currentLength = current.length();
-            current.append(pinyin);
-            generateCombinations(allPinyin, index + 1, current, result);
-            current.setLength(currentLength); // 回溯
+    private static final class CombinationIterator implements Iterator<String> {
+        private final CharSequence text;
+        private final int[] positions;
+        private final int[] counts;
+        private final int[] choices;
+        private final StringBuilder buffer;
+        private final int limit;
+        private int produced;
+        private boolean exhausted;
+
+        private CombinationIterator(CharSequence text, int limit) {
+            this.text = text;
+            this.limit = limit;
+            int polyphones = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (TABLE.readingCount(text.charAt(i)) > 1) {
+                    polyphones++;
+                }
+            }
+            this.positions = new int[polyphones];
+            this.counts = new int[polyphones];
+            this.choices = new int[polyphones];
+            int p = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int count = TABLE.readingCount(text.charAt(i));
+                if (count > 1) {
+                    positions[p] = i;
+                    counts[p++] = count;
+                }
+            }
+            this.buffer = new StringBuilder(text.length() * 4);
+            this.exhausted = text.length() == 0 || limit <= 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !exhausted && produced < limit;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            buffer.setLength(0);
+            int p = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (p < positions.length && positions[p] == i) {
+                    buffer.append(TABLE.reading(ch, choices[p++]));
+                } else {
+                    String pinyin = TABLE.primary(ch);
+                    if (pinyin != null) {
+                        buffer.append(pinyin);
+                    } else {
+                        buffer.append(ch);
+                    }
+                }
+            }
+            produced++;
+            advance();
+            return buffer.toString();
+        }
+
+        /**
+         * 末位多音字先进位，与按字符顺序展开的笛卡尔积顺序一致
+         */
+        private void advance() {
+            for (int p = choices.length - 1; p >= 0; p--) {
+                if (++choices[p] < counts[p]) {
+                    return;
+                }
+                choices[p] = 0;
+            }
+            exhausted = true;
         }
     }
 }
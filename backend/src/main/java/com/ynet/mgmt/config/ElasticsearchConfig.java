@@ -1,5 +1,6 @@
 package com.ynet.mgmt.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -31,10 +32,11 @@ public class ElasticsearchConfig {
     private static final Logger log = LoggerFactory.getLogger(ElasticsearchConfig.class);
 
     /**
-     * 创建ElasticsearchClient Bean
+     * 创建Elasticsearch传输层Bean
+     * 同步客户端与异步客户端共享同一个RestClient连接池
      */
-    @Bean
-    public ElasticsearchClient elasticsearchClient(ElasticsearchProperties properties) {
+    @Bean(destroyMethod = "close")
+    public ElasticsearchTransport elasticsearchTransport(ElasticsearchProperties properties) {
         log.info("正在配置Elasticsearch客户端，连接地址: {}", properties.getUris());
 
         try {
@@ -59,11 +61,8 @@ public class ElasticsearchConfig {
                 new JacksonJsonpMapper()
             );
 
-            // 创建客户端
-            ElasticsearchClient client = new ElasticsearchClient(transport);
-
             log.info("Elasticsearch客户端配置完成");
-            return client;
+            return transport;
 
         } catch (Exception e) {
             log.error("配置Elasticsearch客户端失败", e);
@@ -71,6 +70,23 @@ public class ElasticsearchConfig {
         }
     }
 
+    /**
+     * 创建ElasticsearchClient Bean
+     */
+    @Bean
+    public ElasticsearchClient elasticsearchClient(ElasticsearchTransport elasticsearchTransport) {
+        return new ElasticsearchClient(elasticsearchTransport);
+    }
+
+    /**
+     * 创建ElasticsearchAsyncClient Bean
+     * 请求在HTTP客户端的I/O线程上完成，等待响应期间不占用业务线程
+     */
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchTransport elasticsearchTransport) {
+        return new ElasticsearchAsyncClient(elasticsearchTransport);
+    }
+
     /**
      * 配置认证信息
      */
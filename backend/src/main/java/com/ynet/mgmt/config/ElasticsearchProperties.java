@@ -67,6 +67,44 @@ public class ElasticsearchProperties {
     @Valid
     private Index index = new Index();
 
+    /**
+     * 索引状态快照配置
+     */
+    private IndexStatusCache indexStatusCache = new IndexStatusCache();
+
+    /**
+     * 索引状态快照配置内部类
+     * 通过一次 _cat/indices 获取所有索引的状态，缓存在内存中供列表和统计使用
+     */
+    public static class IndexStatusCache {
+        /**
+         * 快照有效期，超过后读取会触发后台刷新并先返回旧快照
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * 后台定时刷新间隔
+         */
+        private Duration refreshInterval = Duration.ofSeconds(15);
+
+        // Getters and Setters
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
     /**
      * 索引配置内部类
      */
@@ -199,6 +237,14 @@ public class ElasticsearchProperties {
         this.sslFingerprint = sslFingerprint;
     }
 
+    public IndexStatusCache getIndexStatusCache() {
+        return indexStatusCache;
+    }
+
+    public void setIndexStatusCache(IndexStatusCache indexStatusCache) {
+        this.indexStatusCache = indexStatusCache;
+    }
+
     public Index getIndex() {
         return index;
     }
@@ -0,0 +1,33 @@
+package com.ynet.mgmt.config;
+
+import com.ynet.mgmt.common.utils.PinyinTable;
+import com.ynet.mgmt.common.utils.PinyinUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 拼音表初始化器
+ * 在应用启动时构建汉字拼音预计算表，热门话题拼音、搜索建议等首次转换时无需再等待建表
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class PinyinTableInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinyinTableInitializer.class);
+
+    @Override
+    public void run(String... args) {
+        long startTime = System.currentTimeMillis();
+        try {
+            PinyinTable table = PinyinUtils.preload();
+            logger.info("拼音表加载完成: 音节数={}, 读音数={}, 耗时={}ms",
+                    table.syllableCount(), table.readingTotal(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("拼音表加载失败", e);
+        }
+    }
+}
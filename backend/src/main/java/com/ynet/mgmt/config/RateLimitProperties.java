@@ -0,0 +1,197 @@
+package com.ynet.mgmt.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 接口访问频率限制配置属性类
+ *
+ * 从application.yml中读取限流相关配置
+ * 包括默认速率、各接口策略、本地令牌桶容量以及集群模式
+ */
+@Component
+@ConfigurationProperties(prefix = "hotword.security.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    /**
+     * 限流模式
+     * local: 每个实例独立计数；redis: 多副本共享Redis中的令牌桶
+     */
+    @NotNull(message = "限流模式不能为空")
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * 默认每分钟请求数（令牌补充速率）
+     * 未单独配置的策略使用该值
+     */
+    @Positive(message = "每分钟请求数必须为正数")
+    private int requestsPerMinute = 60;
+
+    /**
+     * 默认突发容量（令牌桶大小）
+     */
+    @Positive(message = "突发容量必须为正数")
+    private int burstCapacity = 10;
+
+    /**
+     * 本地令牌桶最大数量
+     * 超出后按最近最少使用淘汰，防止客户端数量增长导致内存无限增长
+     */
+    @Positive(message = "令牌桶最大数量必须为正数")
+    private long maxKeys = 100000;
+
+    /**
+     * 本地令牌桶空闲过期时间(秒)
+     * 应不小于令牌桶从空到满所需时间，否则过期重建会提前放行
+     */
+    @Min(value = 1, message = "令牌桶空闲过期时间必须大于0")
+    private long idleExpireSeconds = 600;
+
+    /**
+     * Redis中令牌桶键前缀
+     */
+    private String redisKeyPrefix = "rate:limit:";
+
+    /**
+     * 各策略的速率配置，键为策略名（如 hotword、suggestion、search）
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    /**
+     * 获取策略的每分钟请求数，未配置时使用默认值
+     * @param policy 策略名
+     * @return 每分钟请求数
+     */
+    public int requestsPerMinuteOf(String policy) {
+        Policy p = policies.get(policy);
+        return p != null && p.getRequestsPerMinute() != null ? p.getRequestsPerMinute() : requestsPerMinute;
+    }
+
+    /**
+     * 获取策略的突发容量，未配置时使用默认值
+     * @param policy 策略名
+     * @return 突发容量
+     */
+    public int burstCapacityOf(String policy) {
+        Policy p = policies.get(policy);
+        return p != null && p.getBurstCapacity() != null ? p.getBurstCapacity() : burstCapacity;
+    }
+
+    // Getters and Setters
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    public void setBurstCapacity(int burstCapacity) {
+        this.burstCapacity = burstCapacity;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public long getIdleExpireSeconds() {
+        return idleExpireSeconds;
+    }
+
+    public void setIdleExpireSeconds(long idleExpireSeconds) {
+        this.idleExpireSeconds = idleExpireSeconds;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public Map<String, Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(Map<String, Policy> policies) {
+        this.policies = policies;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitProperties{" +
+                "mode=" + mode +
+                ", requestsPerMinute=" + requestsPerMinute +
+                ", burstCapacity=" + burstCapacity +
+                ", maxKeys=" + maxKeys +
+                ", idleExpireSeconds=" + idleExpireSeconds +
+                ", redisKeyPrefix='" + redisKeyPrefix + '\'' +
+                ", policies=" + policies +
+                '}';
+    }
+
+    /**
+     * 限流模式
+     */
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+
+    /**
+     * 单个策略的速率配置，未设置的字段沿用默认值
+     */
+    public static class Policy {
+
+        private Integer requestsPerMinute;
+
+        private Integer burstCapacity;
+
+        public Integer getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(Integer requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public Integer getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(Integer burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        @Override
+        public String toString() {
+            return "Policy{requestsPerMinute=" + requestsPerMinute + ", burstCapacity=" + burstCapacity + '}';
+        }
+    }
+}
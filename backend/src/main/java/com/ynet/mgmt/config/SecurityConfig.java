@@ -4,6 +4,7 @@ import com.ynet.mgmt.auth.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -62,6 +63,8 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                // 缩略图通过<img>标签加载无法携带令牌，标识为服务端密钥计算的HMAC，无法由图片元数据推算
+                .requestMatchers(HttpMethod.GET, "/image/thumbnails/**").permitAll()
 
                 // 其他所有请求都需要认证
                 .anyRequest().authenticated()
@@ -68,6 +68,19 @@ public class SecurityPolicyProperties {
     @NotNull
     private boolean enableIpControl = true;
 
+    /**
+     * IP黑白名单本地近缓存时长(秒)
+     * 名单变更通过Redis发布订阅即时失效，此时长是订阅不可用时的最大滞后
+     */
+    @Positive(message = "IP名单近缓存时长必须为正数")
+    private int ipListNearCacheSeconds = 30;
+
+    /**
+     * IP黑白名单本地近缓存最大条数
+     */
+    @Positive(message = "IP名单近缓存最大条数必须为正数")
+    private int ipListNearCacheMaxSize = 100000;
+
     /**
      * 是否启用逐步延迟
      * 失败次数越多，延迟越长
@@ -231,6 +244,22 @@ public class SecurityPolicyProperties {
         this.enableIpControl = enableIpControl;
     }
 
+    public int getIpListNearCacheSeconds() {
+        return ipListNearCacheSeconds;
+    }
+
+    public void setIpListNearCacheSeconds(int ipListNearCacheSeconds) {
+        this.ipListNearCacheSeconds = ipListNearCacheSeconds;
+    }
+
+    public int getIpListNearCacheMaxSize() {
+        return ipListNearCacheMaxSize;
+    }
+
+    public void setIpListNearCacheMaxSize(int ipListNearCacheMaxSize) {
+        this.ipListNearCacheMaxSize = ipListNearCacheMaxSize;
+    }
+
     public boolean isEnableProgressiveDelay() {
         return enableProgressiveDelay;
     }
@@ -305,6 +334,8 @@ public class SecurityPolicyProperties {
                 ", ipLoginAttemptsPerHour=" + ipLoginAttemptsPerHour +
                 ", ipBlacklistDurationMinutes=" + ipBlacklistDurationMinutes +
                 ", enableIpControl=" + enableIpControl +
+                ", ipListNearCacheSeconds=" + ipListNearCacheSeconds +
+                ", ipListNearCacheMaxSize=" + ipListNearCacheMaxSize +
                 ", enableProgressiveDelay=" + enableProgressiveDelay +
                 ", baseDelaySeconds=" + baseDelaySeconds +
                 ", maxDelaySeconds=" + maxDelaySeconds +
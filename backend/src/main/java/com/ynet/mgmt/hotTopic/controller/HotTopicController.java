@@ -3,6 +3,7 @@ package com.ynet.mgmt.hotTopic.controller;
 import com.ynet.mgmt.hotTopic.dto.*;
 import com.ynet.mgmt.hotTopic.service.HotTopicService;
 import com.ynet.mgmt.hotTopic.service.HotTopicPinyinService;
+import com.ynet.mgmt.hotTopic.service.HotTopicTrendingService;
 import com.ynet.mgmt.common.dto.ApiResponse;
 import com.ynet.mgmt.common.dto.PageResult;
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,10 +45,13 @@ public class HotTopicController {
 
     private final HotTopicService hotTopicService;
     private final HotTopicPinyinService pinyinService;
+    private final HotTopicTrendingService trendingService;
 
-    public HotTopicController(HotTopicService hotTopicService, HotTopicPinyinService pinyinService) {
+    public HotTopicController(HotTopicService hotTopicService, HotTopicPinyinService pinyinService,
+                              HotTopicTrendingService trendingService) {
         this.hotTopicService = hotTopicService;
         this.pinyinService = pinyinService;
+        this.trendingService = trendingService;
     }
 
     // ========== 基础CRUD操作 ==========
@@ -296,6 +300,21 @@ public class HotTopicController {
         return ResponseEntity.ok(ApiResponse.success(result));
     }
 
+    /**
+     * 获取实时趋势话题
+     */
+    @Operation(summary = "获取实时趋势话题", description = "按搜索事件的时间衰减计数返回当前趋势词，不指定搜索空间时返回全局趋势")
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingTopicDTO>>> getTrendingTopics(
+            @Parameter(description = "搜索空间ID") @RequestParam(required = false) Long searchSpaceId,
+            @Parameter(description = "数量限制") @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("获取实时趋势话题: searchSpaceId={}, limit={}", searchSpaceId, limit);
+
+        List<TrendingTopicDTO> result = trendingService.getTrending(searchSpaceId, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     // ========== 验证接口 ==========
 
     /**
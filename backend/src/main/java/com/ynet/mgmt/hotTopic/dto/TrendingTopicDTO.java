@@ -0,0 +1,54 @@
+package com.ynet.mgmt.hotTopic.dto;
+
+/**
+ * 实时趋势话题数据传输对象
+ * 由搜索事件流的时间衰减计数得出
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class TrendingTopicDTO {
+
+    /**
+     * 规范化后的查询词
+     */
+    private String term;
+
+    /**
+     * 按半衰期衰减后的搜索次数估计
+     */
+    private double score;
+
+    // 构造函数
+    public TrendingTopicDTO() {}
+
+    public TrendingTopicDTO(String term, double score) {
+        this.term = term;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingTopicDTO{" +
+                "term='" + term + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -5,9 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -116,4 +118,15 @@ public interface HotTopicRepository extends JpaRepository<HotTopic, Long>,
      * @return 话题列表
      */
     List<HotTopic> findByVisibleTrueOrderByPopularityDesc();
+
+    /**
+     * 只更新话题热度，不覆盖同时被修改的其他字段
+     * @param id 话题ID
+     * @param popularity 热度
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE HotTopic h SET h.popularity = :popularity WHERE h.id = :id")
+    int updatePopularity(@Param("id") Long id, @Param("popularity") Integer popularity);
 }
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.ynet.mgmt.hotTopic.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.hotTopic.dto.TrendingTopicDTO;
+import com.ynet.mgmt.hotTopic.entity.HotTopic;
+import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
+import com.ynet.mgmt.hotTopic.trending.TrendingCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热门话题实时趋势服务
+ *
+ * 搜索日志写入时同步记录查询词，按搜索空间和全局分别维护时间衰减的 Count-Min Sketch 与 top-k 候选堆，
+ * 趋势数据随搜索实时更新，不需要对 search_logs 做聚合扫描。
+ * 后台定时把全局 top-k 候选堆中的分数回写到 hot_topics.popularity（按话题名称匹配），并刷新可见话题快照，
+ * 搜索建议与查询理解读取到的热度随之更新。回写遵循以下约束，避免覆盖真实或手工设置的热度：
+ * 1. 只回写候选堆中的词，且分数须超过 Sketch 噪声下限（depth · N / width），哈希碰撞带来的计数不会写入
+ * 2. 计数保存在内存中，重启后需经过预热期（默认一个半衰期）才开始回写，避免以少量新计数覆盖原热度
+ * 3. 多实例部署时通过 Redis 租约保证同一时刻只有一个实例回写，其余实例只提供本实例的趋势查询
+ * 4. 按ID只更新 popularity 字段，不以整实体保存覆盖管理员同时修改的其他字段
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+public class HotTopicTrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotTopicTrendingService.class);
+
+    /**
+     * 查询词最大长度，与话题名称长度一致
+     */
+    static final int MAX_TERM_LENGTH = 100;
+
+    /**
+     * 回写租约键，持有者为当前负责回写的实例
+     */
+    static final String WRITER_LEASE_KEY = "hot_topic:trending:writer";
+
+    private final HotTopicRepository hotTopicRepository;
+    private final VisibleHotTopicCache visibleHotTopicCache;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final int depth;
+    private final int width;
+    private final int topK;
+    private final long halfLifeMillis;
+    private final long warmupUntilMillis;
+    private final Duration leaseTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final TrendingCounter global;
+    private final Cache<Long, TrendingCounter> spaces;
+    private final ScheduledExecutorService writer;
+
+    private final Counter recordedCounter;
+    private final Counter updatedCounter;
+
+    public HotTopicTrendingService(HotTopicRepository hotTopicRepository,
+                                   VisibleHotTopicCache visibleHotTopicCache,
+                                   @Qualifier("customStringRedisTemplate") RedisTemplate<String, String> redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${hot-topic.trending.sketch-depth:4}") int depth,
+                                   @Value("${hot-topic.trending.sketch-width:1024}") int width,
+                                   @Value("${hot-topic.trending.top-k:50}") int topK,
+                                   @Value("${hot-topic.trending.half-life:PT6H}") Duration halfLife,
+                                   @Value("${hot-topic.trending.max-search-spaces:200}") long maxSearchSpaces,
+                                   @Value("${hot-topic.trending.write-back.enabled:true}") boolean writeBackEnabled,
+                                   @Value("${hot-topic.trending.write-back.interval:PT1M}") Duration writeBackInterval,
+                                   @Value("${hot-topic.trending.write-back.warmup:PT6H}") Duration writeBackWarmup) {
+        this.hotTopicRepository = hotTopicRepository;
+        this.visibleHotTopicCache = visibleHotTopicCache;
+        this.redisTemplate = redisTemplate;
+        this.depth = depth;
+        this.width = width;
+        this.topK = topK;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.warmupUntilMillis = System.currentTimeMillis() + writeBackWarmup.toMillis();
+        this.leaseTtl = writeBackInterval.multipliedBy(3);
+        this.global = newCounter();
+        this.spaces = Caffeine.newBuilder()
+            .maximumSize(maxSearchSpaces)
+            .expireAfterAccess(halfLife.multipliedBy(4))
+            .build();
+
+        this.recordedCounter = Counter.builder("hot_topic.trending.recorded")
+            .description("计入趋势统计的搜索次数")
+            .register(meterRegistry);
+        this.updatedCounter = Counter.builder("hot_topic.trending.write_back.updated")
+            .description("趋势回写更新的话题数")
+            .register(meterRegistry);
+        Gauge.builder("hot_topic.trending.search_spaces", spaces, Cache::estimatedSize)
+            .description("维护趋势计数的搜索空间数")
+            .register(meterRegistry);
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hot-topic-trending");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = writeBackInterval.toMillis();
+        if (writeBackEnabled && intervalMillis > 0) {
+            writer.scheduleWithFixedDelay(this::writeBackQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("热门话题趋势服务初始化完成: sketch={}x{}, topK={}, halfLife={}, writeBack={}, interval={}ms, warmup={}",
+            depth, width, topK, halfLife, writeBackEnabled, intervalMillis, writeBackWarmup);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * 记录一次搜索
+     *
+     * @param searchSpaceId 搜索空间ID，可为null（只计入全局）
+     * @param query 原始查询词
+     */
+    public void record(Long searchSpaceId, String query) {
+        String term = normalize(query);
+        if (term == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        global.record(term, now);
+        if (searchSpaceId != null) {
+            spaces.get(searchSpaceId, id -> newCounter()).record(term, now);
+        }
+        recordedCounter.increment();
+    }
+
+    /**
+     * 获取趋势词
+     *
+     * @param searchSpaceId 搜索空间ID，为null时返回全局趋势
+     * @param limit 返回数量
+     * @return 按衰减计数降序的趋势词
+     */
+    public List<TrendingTopicDTO> getTrending(Long searchSpaceId, int limit) {
+        TrendingCounter counter = searchSpaceId == null ? global : spaces.getIfPresent(searchSpaceId);
+        if (counter == null) {
+            return Collections.emptyList();
+        }
+        return counter.top(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * 将全局候选堆中超过噪声下限的分数回写到 hot_topics 并刷新可见话题快照
+     * 预热期内或未持有回写租约时跳过
+     *
+     * @return 更新的话题数
+     */
+    public int writeBack() {
+        long now = System.currentTimeMillis();
+        if (now < warmupUntilMillis) {
+            log.debug("趋势计数仍在预热期，跳过热度回写");
+            return 0;
+        }
+        if (!acquireWriterLease()) {
+            return 0;
+        }
+
+        Map<String, Integer> scores = reliableScores(now);
+        if (scores.isEmpty()) {
+            return 0;
+        }
+
+        int updated = 0;
+        for (HotTopic topic : hotTopicRepository.findAll()) {
+            String term = normalize(topic.getName());
+            Integer value = term != null ? scores.get(term) : null;
+            if (value != null && !value.equals(topic.getPopularity())) {
+                updated += hotTopicRepository.updatePopularity(topic.getId(), value);
+            }
+        }
+
+        if (updated > 0) {
+            visibleHotTopicCache.refresh();
+            updatedCounter.increment(updated);
+            log.debug("趋势热度回写完成: 更新 {} 个话题", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * 候选堆中分数超过噪声下限且四舍五入后为正的词
+     */
+    private Map<String, Integer> reliableScores(long now) {
+        double noiseFloor = global.noiseFloor(now);
+        Map<String, Integer> scores = new HashMap<>();
+        for (TrendingTopicDTO topic : global.top(topK, now)) {
+            long popularity = Math.round(topic.getScore());
+            if (topic.getScore() > noiseFloor && popularity > 0) {
+                scores.put(topic.getTerm(), (int) Math.min(Integer.MAX_VALUE, popularity));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 获取或续期回写租约，租约时长为回写间隔的3倍，持有实例宕机后由其他实例接管
+     * Redis 不可用时不回写，避免多个实例同时以各自的部分计数覆盖热度
+     */
+    private boolean acquireWriterLease() {
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(WRITER_LEASE_KEY, instanceId, leaseTtl);
+            if (Boolean.TRUE.equals(acquired)) {
+                return true;
+            }
+            if (instanceId.equals(redisTemplate.opsForValue().get(WRITER_LEASE_KEY))) {
+                redisTemplate.expire(WRITER_LEASE_KEY, leaseTtl);
+                return true;
+            }
+            log.debug("热度回写租约由其他实例持有，跳过回写");
+            return false;
+        } catch (Exception e) {
+            log.warn("获取热度回写租约失败，跳过回写: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeBackQuietly() {
+        try {
+            writeBack();
+        } catch (Exception e) {
+            log.warn("趋势热度回写失败: {}", e.getMessage());
+        }
+    }
+
+    private TrendingCounter newCounter() {
+        return new TrendingCounter(depth, width, topK, halfLifeMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * 规范化查询词：去除首尾空白、合并连续空白、转小写，过长的查询（多为粘贴的正文）不计入
+     *
+     * @param query 原始查询
+     * @return 规范化结果，不计入时返回null
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return null;
+        }
+        String term = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (term.isEmpty() || term.length() > MAX_TERM_LENGTH) {
+            return null;
+        }
+        return term;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ynet.mgmt.hotTopic.service;
+
+import com.ynet.mgmt.hotTopic.entity.HotTopic;
+import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 可见热门话题快照
+ *
+ * 搜索建议和查询理解每次请求都需要全部可见话题（按热度降序），这里缓存一份只读快照：
+ * 话题增删改和趋势热度回写后立即刷新，另以TTL兜底，避免每个请求都全表读取 hot_topics
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class VisibleHotTopicCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VisibleHotTopicCache.class);
+
+    private final HotTopicRepository hotTopicRepository;
+    private final long ttlMillis;
+
+    private volatile Snapshot snapshot;
+
+    public VisibleHotTopicCache(HotTopicRepository hotTopicRepository,
+                                @Value("${hot-topic.cache.ttl:PT1M}") Duration ttl) {
+        this.hotTopicRepository = hotTopicRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * 获取可见话题，按热度降序
+     *
+     * @return 只读话题列表，调用方不得修改其中的实体
+     */
+    public List<HotTopic> getVisibleTopics() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.loadedAt > ttlMillis) {
+            current = reload();
+        }
+        return current.topics;
+    }
+
+    /**
+     * 话题数据变更后调用，下次读取时重新加载
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * 立即重新加载快照
+     */
+    public void refresh() {
+        snapshot = null;
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot current = snapshot;
+        // 并发请求只加载一次
+        if (current != null && System.currentTimeMillis() - current.loadedAt <= ttlMillis) {
+            return current;
+        }
+        List<HotTopic> topics = Collections.unmodifiableList(hotTopicRepository.findByVisibleTrueOrderByPopularityDesc());
+        Snapshot loaded = new Snapshot(topics, System.currentTimeMillis());
+        snapshot = loaded;
+        log.debug("可见热门话题快照已加载: {} 个", topics.size());
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        final List<HotTopic> topics;
+        final long loadedAt;
+
+        Snapshot(List<HotTopic> topics, long loadedAt) {
+            this.topics = topics;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.ynet.mgmt.hotTopic.exception.HotTopicNotFoundException;
 import com.ynet.mgmt.hotTopic.mapper.HotTopicMapper;
 import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
 import com.ynet.mgmt.hotTopic.service.HotTopicService;
+import com.ynet.mgmt.hotTopic.service.VisibleHotTopicCache;
 import com.ynet.mgmt.common.dto.PageResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +34,14 @@ public class HotTopicServiceImpl implements HotTopicService {
 
     private final HotTopicRepository hotTopicRepository;
     private final HotTopicMapper hotTopicMapper;
+    private final VisibleHotTopicCache visibleHotTopicCache;
 
     public HotTopicServiceImpl(HotTopicRepository hotTopicRepository,
-                              HotTopicMapper hotTopicMapper) {
+                              HotTopicMapper hotTopicMapper,
+                              VisibleHotTopicCache visibleHotTopicCache) {
         this.hotTopicRepository = hotTopicRepository;
         this.hotTopicMapper = hotTopicMapper;
+        this.visibleHotTopicCache = visibleHotTopicCache;
     }
 
     @Override
@@ -54,6 +58,7 @@ public class HotTopicServiceImpl implements HotTopicService {
 
         // 保存到数据库
         hotTopic = hotTopicRepository.save(hotTopic);
+        visibleHotTopicCache.invalidate();
 
         log.info("Hot topic created successfully: {} (ID: {})", hotTopic.getName(), hotTopic.getId());
         return hotTopicMapper.toDTO(hotTopic);
@@ -97,6 +102,9 @@ public class HotTopicServiceImpl implements HotTopicService {
             }
         }
 
+        if (!response.getCreatedTopics().isEmpty()) {
+            visibleHotTopicCache.invalidate();
+        }
         response.setSuccessCount(response.getCreatedTopics().size());
         response.setSkippedCount(response.getSkippedTopics().size());
         response.setFailedCount(response.getFailedTopics().size());
@@ -115,6 +123,7 @@ public class HotTopicServiceImpl implements HotTopicService {
             .orElseThrow(() -> new HotTopicNotFoundException(id));
 
         hotTopicRepository.delete(hotTopic);
+        visibleHotTopicCache.invalidate();
 
         log.info("Hot topic deleted successfully: {} ({})", hotTopic.getName(), id);
     }
@@ -136,6 +145,7 @@ public class HotTopicServiceImpl implements HotTopicService {
 
         // 保存到数据库
         hotTopic = hotTopicRepository.save(hotTopic);
+        visibleHotTopicCache.invalidate();
 
         log.info("Hot topic updated successfully: {} (ID: {})", hotTopic.getName(), hotTopic.getId());
         return hotTopicMapper.toDTO(hotTopic);
@@ -246,6 +256,7 @@ public class HotTopicServiceImpl implements HotTopicService {
 
         hotTopic.setVisible(!hotTopic.getVisible());
         hotTopic = hotTopicRepository.save(hotTopic);
+        visibleHotTopicCache.invalidate();
 
         log.info("Hot topic visibility toggled: {} -> {}", hotTopic.getName(), hotTopic.getVisible());
         return hotTopicMapper.toDTO(hotTopic);
@@ -289,6 +300,7 @@ public class HotTopicServiceImpl implements HotTopicService {
 
         hotTopic.setPopularity(popularity);
         hotTopic = hotTopicRepository.save(hotTopic);
+        visibleHotTopicCache.invalidate();
 
         log.info("Hot topic popularity updated: {} -> {}", hotTopic.getName(), popularity);
         return hotTopicMapper.toDTO(hotTopic);
@@ -0,0 +1,181 @@
+package com.ynet.mgmt.hotTopic.trending;
+
+/**
+ * 带时间衰减的 Count-Min Sketch
+ *
+ * 采用前向衰减（forward decay）：以 landmark 时间为基准，t 时刻的一次出现按 e^(λ(t - landmark)) 计入，
+ * 查询时再乘以 e^(-λ(now - landmark))，得到按半衰期指数衰减后的计数。这样计数器只需累加，
+ * 不需要定时对全部计数器做衰减；权重增长到阈值时整体缩放一次并前移 landmark 防止溢出。
+ *
+ * 与标准 Count-Min Sketch 一样只会高估、不会低估，误差约为 总量 * e / width（概率 1 - e^-depth）。
+ * 非线程安全，由调用方同步
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class DecayingCountMinSketch {
+
+    /**
+     * 权重指数达到该值时重新设定 landmark（e^50 约 5e21，远小于 double 上限）
+     */
+    private static final double RESCALE_EXPONENT = 50.0;
+
+    private final int depth;
+    private final int width;
+    private final double[][] counters;
+
+    /**
+     * 衰减率 λ（每毫秒）
+     */
+    private final double decayPerMilli;
+
+    private long landmarkMillis;
+
+    /**
+     * 全部出现次数在前向衰减尺度下的总和
+     */
+    private double rawTotal;
+
+    /**
+     * @param depth 哈希函数个数
+     * @param width 每行计数器个数
+     * @param halfLifeMillis 半衰期（毫秒）
+     * @param nowMillis 当前时间，作为初始 landmark
+     */
+    public DecayingCountMinSketch(int depth, int width, long halfLifeMillis, long nowMillis) {
+        if (depth <= 0 || width <= 0 || halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("Count-Min Sketch 参数必须为正数");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new double[depth][width];
+        this.decayPerMilli = Math.log(2) / halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * 记录一次出现
+     *
+     * @param item 元素
+     * @param nowMillis 当前时间
+     * @return 记录后的前向衰减权重下的估计值（与 {@link #weight(long)} 同一尺度）
+     */
+    public double add(String item, long nowMillis) {
+        double weight = weight(nowMillis);
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        double estimate = Double.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int index = index(h1, h2, i);
+            counters[i][index] += weight;
+            estimate = Math.min(estimate, counters[i][index]);
+        }
+        rawTotal += weight;
+        return estimate;
+    }
+
+    /**
+     * 估计元素在当前时刻的衰减计数
+     *
+     * @param item 元素
+     * @param nowMillis 当前时间
+     * @return 衰减后的计数估计
+     */
+    public double estimate(String item, long nowMillis) {
+        return rawEstimate(item) / weight(nowMillis);
+    }
+
+    /**
+     * 前向衰减尺度下的原始估计值，除以 {@link #weight(long)} 即为衰减计数
+     */
+    double rawEstimate(String item) {
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        double estimate = Double.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            estimate = Math.min(estimate, counters[i][index(h1, h2, i)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 全部元素在当前时刻的衰减总计数 N，估计误差上界与之成正比
+     *
+     * @param nowMillis 当前时间
+     * @return 衰减总计数
+     */
+    public double total(long nowMillis) {
+        double weight = weight(nowMillis);
+        return rawTotal / weight;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 当前时刻一次出现的前向衰减权重
+     * 指数超过阈值时先整体缩放计数器，返回值始终不超过 e^50
+     *
+     * @param nowMillis 当前时间
+     * @return 权重
+     */
+    public double weight(long nowMillis) {
+        double exponent = decayPerMilli * (nowMillis - landmarkMillis);
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0.0;
+        }
+        return Math.exp(exponent);
+    }
+
+    /**
+     * 最近一次 landmark 时间，landmark 变化时调用方需同步缩放以原始尺度保存的分数
+     *
+     * @return landmark 时间
+     */
+    public long getLandmarkMillis() {
+        return landmarkMillis;
+    }
+
+    /**
+     * 从旧 landmark 移到新 landmark 时原始值需要乘以的系数
+     *
+     * @param fromLandmark 旧 landmark
+     * @return 缩放系数
+     */
+    public double scaleSince(long fromLandmark) {
+        return Math.exp(-decayPerMilli * (landmarkMillis - fromLandmark));
+    }
+
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-decayPerMilli * (nowMillis - landmarkMillis));
+        for (double[] row : counters) {
+            for (int j = 0; j < width; j++) {
+                row[j] *= factor;
+            }
+        }
+        rawTotal *= factor;
+        landmarkMillis = nowMillis;
+    }
+
+    private int index(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * 第二个哈希：对 hashCode 做 murmur3 finalizer 混合，保证为奇数以便与宽度互素的概率更高
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
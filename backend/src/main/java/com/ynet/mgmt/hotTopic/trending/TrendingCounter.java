@@ -0,0 +1,152 @@
+package com.ynet.mgmt.hotTopic.trending;
+
+import com.ynet.mgmt.hotTopic.dto.TrendingTopicDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 单个范围（某个搜索空间或全局）的趋势计数器
+ *
+ * 时间衰减的 Count-Min Sketch 负责任意查询词的计数估计，
+ * 容量为 k 的最小堆保留当前估计值最高的候选词：新词估计值超过堆顶时替换堆顶。
+ * 堆中分数与 Sketch 使用同一前向衰减尺度，未再出现的词分数不变，相当于与其他词同速衰减，
+ * 因此无需定时重算即可保持排序正确。方法均已同步，可被多个请求线程并发调用
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class TrendingCounter {
+
+    private final DecayingCountMinSketch sketch;
+    private final int capacity;
+    private final PriorityQueue<Candidate> heap;
+    private final Map<String, Candidate> candidates;
+
+    /**
+     * @param depth Sketch 哈希函数个数
+     * @param width Sketch 每行计数器个数
+     * @param capacity 保留的候选词数 k
+     * @param halfLifeMillis 半衰期（毫秒）
+     * @param nowMillis 当前时间
+     */
+    public TrendingCounter(int depth, int width, int capacity, long halfLifeMillis, long nowMillis) {
+        this.sketch = new DecayingCountMinSketch(depth, width, halfLifeMillis, nowMillis);
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity + 1, Comparator.comparingDouble(c -> c.rawScore));
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * 记录一次搜索
+     *
+     * @param term 规范化后的查询词
+     * @param nowMillis 当前时间
+     */
+    public synchronized void record(String term, long nowMillis) {
+        long landmark = sketch.getLandmarkMillis();
+        double raw = sketch.add(term, nowMillis);
+        rescaleIfMoved(landmark);
+
+        Candidate candidate = candidates.get(term);
+        if (candidate != null) {
+            heap.remove(candidate);
+            candidate.rawScore = raw;
+            heap.add(candidate);
+            return;
+        }
+        if (candidates.size() < capacity) {
+            add(term, raw);
+            return;
+        }
+        Candidate min = heap.peek();
+        if (min != null && raw > min.rawScore) {
+            heap.poll();
+            candidates.remove(min.term);
+            add(term, raw);
+        }
+    }
+
+    /**
+     * 获取当前分数最高的词
+     *
+     * @param limit 返回数量
+     * @param nowMillis 当前时间
+     * @return 按分数降序排列的趋势词
+     */
+    public synchronized List<TrendingTopicDTO> top(int limit, long nowMillis) {
+        long landmark = sketch.getLandmarkMillis();
+        double weight = sketch.weight(nowMillis);
+        rescaleIfMoved(landmark);
+
+        List<Candidate> sorted = new ArrayList<>(heap);
+        sorted.sort(Comparator.comparingDouble((Candidate c) -> c.rawScore).reversed());
+        List<TrendingTopicDTO> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) {
+            Candidate c = sorted.get(i);
+            result.add(new TrendingTopicDTO(c.term, c.rawScore / weight));
+        }
+        return result;
+    }
+
+    /**
+     * 估计任意词的衰减计数（不要求在候选堆中）
+     *
+     * @param term 规范化后的查询词
+     * @param nowMillis 当前时间
+     * @return 衰减计数估计，从未出现过时为0
+     */
+    public synchronized double estimate(String term, long nowMillis) {
+        long landmark = sketch.getLandmarkMillis();
+        double weight = sketch.weight(nowMillis);
+        rescaleIfMoved(landmark);
+        return sketch.rawEstimate(term) / weight;
+    }
+
+    /**
+     * Sketch 高估误差的噪声下限 depth · ε · N（ε = 1 / width，N 为衰减总计数），
+     * 不超过该值的分数可能主要来自哈希碰撞
+     *
+     * @param nowMillis 当前时间
+     * @return 噪声下限
+     */
+    public synchronized double noiseFloor(long nowMillis) {
+        long landmark = sketch.getLandmarkMillis();
+        double total = sketch.total(nowMillis);
+        rescaleIfMoved(landmark);
+        return sketch.getDepth() * total / sketch.getWidth();
+    }
+
+    private void add(String term, double raw) {
+        Candidate candidate = new Candidate(term, raw);
+        candidates.put(term, candidate);
+        heap.add(candidate);
+    }
+
+    /**
+     * Sketch 移动 landmark 后按同一系数缩放堆中分数，缩放不改变相对顺序，无需重建堆
+     */
+    private void rescaleIfMoved(long previousLandmark) {
+        if (sketch.getLandmarkMillis() == previousLandmark) {
+            return;
+        }
+        double factor = sketch.scaleSince(previousLandmark);
+        for (Candidate c : heap) {
+            c.rawScore *= factor;
+        }
+    }
+
+    private static final class Candidate {
+        final String term;
+        double rawScore;
+
+        Candidate(String term, double rawScore) {
+            this.term = term;
+            this.rawScore = rawScore;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ynet.mgmt.imagerecognition.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量图片识别线程池配置
+ * 解码/缩略图和 Vision 调用分属两个线程池，互不占用
+ */
+@Configuration
+public class BatchConversionExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchConversionExecutorConfig.class);
+
+    /**
+     * 图片读取和缩略图生成线程池（CPU 密集）
+     */
+    @Bean(name = "imageDecodeExecutor")
+    public ExecutorService imageDecodeExecutor(BatchConversionProperties properties) {
+        int threads = Math.max(1, properties.getDecodeThreads());
+        logger.info("图片解码线程池已创建: threads={}", threads);
+        return newFixedPool(threads, "image-decode-");
+    }
+
+    /**
+     * Vision API 调用线程池，线程数即最大并发调用数
+     */
+    @Bean(name = "visionCallExecutor")
+    public ExecutorService visionCallExecutor(BatchConversionProperties properties) {
+        int threads = Math.max(1, properties.getVisionConcurrency());
+        logger.info("Vision 调用线程池已创建: threads={}", threads);
+        return newFixedPool(threads, "vision-call-");
+    }
+
+    private ExecutorService newFixedPool(int threads, String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r);
+            thread.setName(namePrefix + threadCount.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ynet.mgmt.imagerecognition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 批量图片识别流水线配置属性
+ */
+@Configuration
+@ConfigurationProperties(prefix = "image-recognition.batch")
+public class BatchConversionProperties {
+
+    /**
+     * JDBC 游标每次从数据库拉取的行数
+     */
+    private Integer fetchSize = 500;
+
+    /**
+     * 每批处理的图片数量（存在性检查、批量索引和断点保存的粒度）
+     */
+    private Integer chunkSize = 50;
+
+    /**
+     * 读取图片和生成缩略图的并行线程数
+     */
+    private Integer decodeThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Vision API 最大并发调用数
+     */
+    private Integer visionConcurrency = 4;
+
+    /**
+     * Vision API 每秒最多发起的调用数，小于等于0表示不限速
+     */
+    private Double visionRatePerSecond = 2.0;
+
+    /**
+     * 断点保留时间（小时）
+     */
+    private Long checkpointTtlHours = 168L;
+
+    /**
+     * 批量写入索引的最大尝试次数（bulk 请求失败或条目非409错误时重试）
+     */
+    private Integer indexMaxAttempts = 3;
+
+    /**
+     * 批量写入重试的基础退避时间（毫秒），第 n 次重试等待 n 倍
+     */
+    private Long indexRetryBackoffMs = 1000L;
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(Integer fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Integer getDecodeThreads() {
+        return decodeThreads;
+    }
+
+    public void setDecodeThreads(Integer decodeThreads) {
+        this.decodeThreads = decodeThreads;
+    }
+
+    public Integer getVisionConcurrency() {
+        return visionConcurrency;
+    }
+
+    public void setVisionConcurrency(Integer visionConcurrency) {
+        this.visionConcurrency = visionConcurrency;
+    }
+
+    public Double getVisionRatePerSecond() {
+        return visionRatePerSecond;
+    }
+
+    public void setVisionRatePerSecond(Double visionRatePerSecond) {
+        this.visionRatePerSecond = visionRatePerSecond;
+    }
+
+    public Long getCheckpointTtlHours() {
+        return checkpointTtlHours;
+    }
+
+    public void setCheckpointTtlHours(Long checkpointTtlHours) {
+        this.checkpointTtlHours = checkpointTtlHours;
+    }
+
+    public Integer getIndexMaxAttempts() {
+        return indexMaxAttempts;
+    }
+
+    public void setIndexMaxAttempts(Integer indexMaxAttempts) {
+        this.indexMaxAttempts = indexMaxAttempts;
+    }
+
+    public Long getIndexRetryBackoffMs() {
+        return indexRetryBackoffMs;
+    }
+
+    public void setIndexRetryBackoffMs(Long indexRetryBackoffMs) {
+        this.indexRetryBackoffMs = indexRetryBackoffMs;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ynet.mgmt.imagerecognition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缩略图服务配置属性
+ */
+@Configuration
+@ConfigurationProperties(prefix = "image-recognition.thumbnail")
+public class ThumbnailProperties {
+
+    /**
+     * 缩略图磁盘缓存目录
+     */
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/deepsearch-thumbnails";
+
+    /**
+     * 缩略图最大宽度
+     */
+    private Integer width = 200;
+
+    /**
+     * 缩略图最大高度
+     */
+    private Integer height = 200;
+
+    /**
+     * 缓存文件保留天数，启动时清理过期文件
+     */
+    private Integer maxAgeDays = 30;
+
+    /**
+     * 缩略图标识的 HMAC 密钥，未配置时在缓存目录中生成随机密钥并持久化
+     */
+    private String keySecret;
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Integer getMaxAgeDays() {
+        return maxAgeDays;
+    }
+
+    public void setMaxAgeDays(Integer maxAgeDays) {
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    public String getKeySecret() {
+        return keySecret;
+    }
+
+    public void setKeySecret(String keySecret) {
+        this.keySecret = keySecret;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ynet.mgmt.imagerecognition.controller;
 
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionProgress;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionRequest;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionResponse;
 import com.ynet.mgmt.imagerecognition.service.BatchConversionService;
@@ -13,6 +14,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 批量数据转换控制器
  */
@@ -61,6 +64,13 @@ public class BatchConversionController {
         }
     }
 
+    @GetMapping("/progress")
+    @Operation(summary = "查询批量识别进度", description = "返回各批量识别任务的处理数量、断点和处理速度")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResponseEntity<List<BatchConversionProgress>> getProgress() {
+        return ResponseEntity.ok(batchConversionService.getProgress());
+    }
+
     @GetMapping("/health")
     @Operation(summary = "健康检查", description = "检查批量转换服务是否正常运行")
     @ApiResponse(responseCode = "200", description = "服务正常")
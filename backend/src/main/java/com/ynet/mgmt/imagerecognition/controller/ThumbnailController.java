@@ -0,0 +1,53 @@
+package com.ynet.mgmt.imagerecognition.controller;
+
+import com.ynet.mgmt.imagerecognition.service.ThumbnailService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缩略图访问控制器
+ */
+@RestController
+@RequestMapping("/image/thumbnails")
+@Tag(name = "缩略图", description = "图片识别结果缩略图访问接口")
+public class ThumbnailController {
+
+    private final ThumbnailService thumbnailService;
+
+    public ThumbnailController(ThumbnailService thumbnailService) {
+        this.thumbnailService = thumbnailService;
+    }
+
+    @GetMapping("/{key}")
+    @Operation(summary = "获取缩略图", description = "根据批量识别结果中的缩略图标识返回 JPEG 缩略图")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "获取成功"),
+        @ApiResponse(responseCode = "404", description = "缩略图不存在")
+    })
+    public ResponseEntity<Resource> getThumbnail(@PathVariable String key) {
+        Path path = thumbnailService.resolveThumbnail(key);
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 标识由原图路径和修改时间决定，内容不会变化，可长期缓存
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.DAYS).cachePublic().immutable())
+                .body(new FileSystemResource(path));
+    }
+}
@@ -0,0 +1,32 @@
+package com.ynet.mgmt.imagerecognition.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 活动数据批量写入结果
+ * 按条目区分：新插入、已存在（409，未覆盖）、写入失败（其余错误，附原因）
+ */
+public class ActivityBulkIndexResult {
+
+    private final List<String> createdIds = new ArrayList<>();
+    private final List<String> existingIds = new ArrayList<>();
+    private final Map<String, String> failures = new LinkedHashMap<>();
+
+    public List<String> getCreatedIds() {
+        return createdIds;
+    }
+
+    public List<String> getExistingIds() {
+        return existingIds;
+    }
+
+    /**
+     * 写入失败的条目：文档ID -> 失败原因
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ynet.mgmt.imagerecognition.dto;
+
+/**
+ * 待批量写入索引的活动数据
+ */
+public class ActivityIndexItem {
+
+    private final String id;
+    private final ActivityInfo activityInfo;
+    private final String imagePath;
+
+    public ActivityIndexItem(String id, ActivityInfo activityInfo, String imagePath) {
+        this.id = id;
+        this.activityInfo = activityInfo;
+        this.imagePath = imagePath;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ActivityInfo getActivityInfo() {
+        return activityInfo;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ynet.mgmt.imagerecognition.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 批量转换进度 DTO
+ */
+@Schema(description = "批量图片转换进度")
+public class BatchConversionProgress {
+
+    @Schema(description = "任务标识（数据源+目标索引）")
+    private String jobKey;
+
+    @Schema(description = "任务状态: RUNNING / COMPLETED / FAILED")
+    private String status;
+
+    @Schema(description = "已从数据库读取的记录数")
+    private long scannedCount;
+
+    @Schema(description = "已完成识别的记录数")
+    private long processedCount;
+
+    @Schema(description = "识别成功数量")
+    private long successCount;
+
+    @Schema(description = "识别失败数量")
+    private long failureCount;
+
+    @Schema(description = "插入到索引的数量")
+    private long insertedCount;
+
+    @Schema(description = "跳过的数量（已存在）")
+    private long skippedCount;
+
+    @Schema(description = "识别成功但写入索引失败的数量")
+    private long indexFailureCount;
+
+    @Schema(description = "本次运行的续传起点（上次断点的主键）")
+    private String resumedFrom;
+
+    @Schema(description = "最新断点（此前的记录均已识别并写入索引）")
+    private String checkpoint;
+
+    @Schema(description = "本次运行中第一条识别或写入失败的记录主键；存在时断点不再推进，续传从失败记录重新处理")
+    private String firstFailedId;
+
+    @Schema(description = "开始时间（毫秒时间戳）")
+    private long startTime;
+
+    @Schema(description = "已运行时间（毫秒）")
+    private long elapsedMs;
+
+    @Schema(description = "每分钟处理的记录数")
+    private double throughputPerMinute;
+
+    @Schema(description = "错误信息（任务失败时）")
+    private String errorMessage;
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public void setJobKey(String jobKey) {
+        this.jobKey = jobKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getScannedCount() {
+        return scannedCount;
+    }
+
+    public void setScannedCount(long scannedCount) {
+        this.scannedCount = scannedCount;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public long getInsertedCount() {
+        return insertedCount;
+    }
+
+    public void setInsertedCount(long insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public String getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public void setResumedFrom(String resumedFrom) {
+        this.resumedFrom = resumedFrom;
+    }
+
+    public long getIndexFailureCount() {
+        return indexFailureCount;
+    }
+
+    public void setIndexFailureCount(long indexFailureCount) {
+        this.indexFailureCount = indexFailureCount;
+    }
+
+    public String getFirstFailedId() {
+        return firstFailedId;
+    }
+
+    public void setFirstFailedId(String firstFailedId) {
+        this.firstFailedId = firstFailedId;
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public double getThroughputPerMinute() {
+        return throughputPerMinute;
+    }
+
+    public void setThroughputPerMinute(double throughputPerMinute) {
+        this.throughputPerMinute = throughputPerMinute;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -47,6 +47,9 @@ public class BatchConversionRequest {
     @Schema(description = "目标 Elasticsearch 索引名称", example = "activity")
     private String indexName;
 
+    @Schema(description = "是否从上次中断的断点继续处理", example = "true")
+    private Boolean resume = true;
+
     // Getters and Setters
 
     public String getDbHost() {
@@ -128,4 +131,12 @@ public class BatchConversionRequest {
     public void setIndexName(String indexName) {
         this.indexName = indexName;
     }
+
+    public Boolean getResume() {
+        return resume;
+    }
+
+    public void setResume(Boolean resume) {
+        this.resume = resume;
+    }
 }
@@ -32,6 +32,15 @@ public class BatchConversionResponse {
     @Schema(description = "跳过的数量（已存在）")
     private int skippedCount;
 
+    @Schema(description = "识别成功但写入索引失败的数量")
+    private int indexFailureCount;
+
+    @Schema(description = "任务标识，可用于查询进度")
+    private String jobKey;
+
+    @Schema(description = "本次运行的续传起点（上次断点的主键）")
+    private String resumedFrom;
+
     @Schema(description = "识别结果列表")
     private List<ImageRecognitionResult> results;
 
@@ -122,4 +131,28 @@ public class BatchConversionResponse {
     public void setSkippedCount(int skippedCount) {
         this.skippedCount = skippedCount;
     }
+
+    public int getIndexFailureCount() {
+        return indexFailureCount;
+    }
+
+    public void setIndexFailureCount(int indexFailureCount) {
+        this.indexFailureCount = indexFailureCount;
+    }
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public void setJobKey(String jobKey) {
+        this.jobKey = jobKey;
+    }
+
+    public String getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public void setResumedFrom(String resumedFrom) {
+        this.resumedFrom = resumedFrom;
+    }
 }
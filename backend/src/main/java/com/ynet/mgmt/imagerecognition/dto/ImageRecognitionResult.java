@@ -17,6 +17,9 @@ public class ImageRecognitionResult {
     @Schema(description = "图片缩略图 Base64（用于前端展示）")
     private String thumbnailBase64;
 
+    @Schema(description = "图片缩略图访问地址（相对于 API 根路径，批量识别使用）")
+    private String thumbnailUrl;
+
     @Schema(description = "识别的文本内容")
     private String recognizedText;
 
@@ -93,6 +96,14 @@ public class ImageRecognitionResult {
         this.thumbnailBase64 = thumbnailBase64;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
     public String getRecognizedText() {
         return recognizedText;
     }
@@ -1,7 +1,13 @@
 package com.ynet.mgmt.imagerecognition.service;
 
+import com.ynet.mgmt.imagerecognition.dto.ActivityBulkIndexResult;
+import com.ynet.mgmt.imagerecognition.dto.ActivityIndexItem;
 import com.ynet.mgmt.imagerecognition.dto.ActivityInfo;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 活动索引服务接口
  * 负责将活动信息插入到Elasticsearch索引
@@ -28,4 +34,24 @@ public interface ActivityIndexService {
      * @return true 如果文档存在
      */
     boolean documentExists(String id, String indexName);
+
+    /**
+     * 批量检查文档是否已存在（一次 mget 请求）
+     *
+     * @param ids 文档ID列表
+     * @param indexName 索引名称
+     * @return 已存在的文档ID集合
+     */
+    Set<String> findExistingIds(Collection<String> ids, String indexName);
+
+    /**
+     * 批量插入活动信息（一次 bulk 请求）
+     * 使用 create 操作，已存在的文档不会被覆盖
+     *
+     * @param items 待插入的活动数据
+     * @param indexName 索引名称
+     * @return 各条目的写入结果（新插入、已存在、失败）
+     * @throws RuntimeException bulk 请求本身失败（连接、超时、ES拒绝请求等），由调用方决定重试或中止
+     */
+    ActivityBulkIndexResult bulkInsertActivities(List<ActivityIndexItem> items, String indexName);
 }
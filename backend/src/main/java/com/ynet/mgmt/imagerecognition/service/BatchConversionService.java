@@ -1,8 +1,11 @@
 package com.ynet.mgmt.imagerecognition.service;
 
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionProgress;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionRequest;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionResponse;
 
+import java.util.List;
+
 /**
  * 批量数据转换服务接口
  */
@@ -15,4 +18,11 @@ public interface BatchConversionService {
      * @return 批量转换响应
      */
     BatchConversionResponse batchRecognizeImages(BatchConversionRequest request);
+
+    /**
+     * 获取批量识别任务的进度
+     *
+     * @return 各任务的最新进度
+     */
+    List<BatchConversionProgress> getProgress();
 }
@@ -0,0 +1,38 @@
+package com.ynet.mgmt.imagerecognition.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 缩略图服务接口
+ * 负责生成图片缩略图并缓存在磁盘上，调用方只持有缩略图标识而不持有图片数据
+ */
+public interface ThumbnailService {
+
+    /**
+     * 获取图片的缩略图，不存在时生成并写入磁盘缓存
+     * 缓存按图片路径、修改时间和大小区分，原图变化后会重新生成
+     *
+     * @param imageFile 原始图片文件
+     * @return 缩略图标识
+     * @throws IOException 读取或写入图片失败
+     */
+    String getOrCreateThumbnail(File imageFile) throws IOException;
+
+    /**
+     * 根据标识定位缩略图文件
+     *
+     * @param thumbnailKey 缩略图标识
+     * @return 缩略图文件路径，标识非法或文件不存在时返回 null
+     */
+    Path resolveThumbnail(String thumbnailKey);
+
+    /**
+     * 构建缩略图访问地址（相对于 API 根路径）
+     *
+     * @param thumbnailKey 缩略图标识
+     * @return 访问地址
+     */
+    String buildThumbnailUrl(String thumbnailKey);
+}
@@ -1,21 +1,37 @@
 package com.ynet.mgmt.imagerecognition.service.impl;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.GetRequest;
 import co.elastic.clients.elasticsearch.core.GetResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import com.ynet.mgmt.imagerecognition.dto.ActivityBulkIndexResult;
+import com.ynet.mgmt.imagerecognition.dto.ActivityIndexItem;
 import com.ynet.mgmt.imagerecognition.dto.ActivityInfo;
 import com.ynet.mgmt.imagerecognition.service.ActivityIndexService;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 活动索引服务实现
@@ -26,9 +42,11 @@ public class ActivityIndexServiceImpl implements ActivityIndexService {
     private static final Logger logger = LoggerFactory.getLogger(ActivityIndexServiceImpl.class);
 
     private final ElasticsearchClient elasticsearchClient;
+    private final SearchCacheInvalidator searchCacheInvalidator;
 
-    public ActivityIndexServiceImpl(ElasticsearchClient elasticsearchClient) {
+    public ActivityIndexServiceImpl(ElasticsearchClient elasticsearchClient, SearchCacheInvalidator searchCacheInvalidator) {
         this.elasticsearchClient = elasticsearchClient;
+        this.searchCacheInvalidator = searchCacheInvalidator;
     }
 
     @Override
@@ -51,6 +69,7 @@ public class ActivityIndexServiceImpl implements ActivityIndexService {
             );
 
             IndexResponse response = elasticsearchClient.index(request);
+            searchCacheInvalidator.invalidateIndex(indexName);
 
             logger.info("活动信息插入成功: id={}, index={}, result={}",
                     id, indexName, response.result());
@@ -83,6 +102,84 @@ public class ActivityIndexServiceImpl implements ActivityIndexService {
         }
     }
 
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Set<String> findExistingIds(Collection<String> ids, String indexName) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        try {
+            List<String> idList = new ArrayList<>(ids);
+            MgetResponse<Map> response = elasticsearchClient.mget(builder -> builder
+                    .index(indexName)
+                    .ids(idList)
+                    .source(source -> source.fetch(false)), Map.class);
+
+            Set<String> existing = new HashSet<>();
+            for (MultiGetResponseItem<Map> item : response.docs()) {
+                if (item.isResult() && item.result().found()) {
+                    existing.add(item.result().id());
+                }
+            }
+            return existing;
+
+        } catch (Exception e) {
+            // 与 documentExists 保持一致：索引不存在或其他错误时视为都不存在
+            logger.debug("批量检查文档存在性失败: count={}, index={}, error={}",
+                    ids.size(), indexName, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    @Override
+    public ActivityBulkIndexResult bulkInsertActivities(List<ActivityIndexItem> items, String indexName) {
+        ActivityBulkIndexResult result = new ActivityBulkIndexResult();
+        if (items == null || items.isEmpty()) {
+            return result;
+        }
+
+        BulkRequest.Builder builder = new BulkRequest.Builder();
+        for (ActivityIndexItem item : items) {
+            Map<String, Object> document = buildDocumentFromActivityInfo(item.getActivityInfo(), item.getImagePath());
+            builder.operations(op -> op.create(create -> create
+                    .index(indexName)
+                    .id(item.getId())
+                    .document(document)
+            ));
+        }
+
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(builder.build());
+        } catch (IOException e) {
+            logger.error("批量插入活动信息请求失败: index={}, count={}, error={}",
+                    indexName, items.size(), e.getMessage());
+            throw new UncheckedIOException("批量插入活动信息失败: " + e.getMessage(), e);
+        }
+
+        for (BulkResponseItem item : response.items()) {
+            if (item.error() == null) {
+                result.getCreatedIds().add(item.id());
+            } else if (item.status() == 409) {
+                result.getExistingIds().add(item.id());
+                logger.info("文档已存在，跳过插入: id={}, index={}", item.id(), indexName);
+            } else {
+                result.getFailures().put(item.id(), item.error().reason());
+                logger.error("批量插入活动信息失败: id={}, index={}, status={}, error={}",
+                        item.id(), indexName, item.status(), item.error().reason());
+            }
+        }
+        if (!result.getCreatedIds().isEmpty()) {
+            searchCacheInvalidator.invalidateIndex(indexName);
+        }
+
+        logger.info("批量插入活动信息完成: index={}, 提交={}, 成功={}, 已存在={}, 失败={}",
+                indexName, items.size(), result.getCreatedIds().size(), result.getExistingIds().size(),
+                result.getFailures().size());
+        return result;
+    }
+
     /**
      * 从ActivityInfo构建Elasticsearch文档
      */
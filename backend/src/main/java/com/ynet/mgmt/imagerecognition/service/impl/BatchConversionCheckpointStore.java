@@ -0,0 +1,74 @@
+package com.ynet.mgmt.imagerecognition.service.impl;
+
+import com.ynet.mgmt.imagerecognition.config.BatchConversionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量转换断点存储
+ * 以任务标识为键在 Redis 中保存最后一个已完成批次的主键，进程重启或请求中断后可从断点继续
+ */
+@Component
+public class BatchConversionCheckpointStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchConversionCheckpointStore.class);
+
+    private static final String KEY_PREFIX = "image_batch:checkpoint:";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final BatchConversionProperties properties;
+
+    public BatchConversionCheckpointStore(@Qualifier("customStringRedisTemplate") RedisTemplate<String, String> stringRedisTemplate,
+                                          BatchConversionProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * 读取断点
+     *
+     * @param jobKey 任务标识
+     * @return 断点主键，不存在或读取失败时返回 null
+     */
+    public String load(String jobKey) {
+        try {
+            return stringRedisTemplate.opsForValue().get(KEY_PREFIX + jobKey);
+        } catch (Exception e) {
+            logger.warn("读取批量转换断点失败，将从头开始: jobKey={}, error={}", jobKey, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 保存断点
+     *
+     * @param jobKey 任务标识
+     * @param lastId 最后一个已完成批次的主键
+     */
+    public void save(String jobKey, String lastId) {
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + jobKey, lastId,
+                    properties.getCheckpointTtlHours(), TimeUnit.HOURS);
+        } catch (Exception e) {
+            logger.warn("保存批量转换断点失败: jobKey={}, lastId={}, error={}", jobKey, lastId, e.getMessage());
+        }
+    }
+
+    /**
+     * 清除断点（任务全部完成后调用）
+     *
+     * @param jobKey 任务标识
+     */
+    public void clear(String jobKey) {
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + jobKey);
+        } catch (Exception e) {
+            logger.warn("清除批量转换断点失败: jobKey={}, error={}", jobKey, e.getMessage());
+        }
+    }
+}
@@ -1,29 +1,48 @@
 package com.ynet.mgmt.imagerecognition.service.impl;
 
+import com.ynet.mgmt.imagerecognition.config.BatchConversionProperties;
+import com.ynet.mgmt.imagerecognition.dto.ActivityBulkIndexResult;
+import com.ynet.mgmt.imagerecognition.dto.ActivityIndexItem;
 import com.ynet.mgmt.imagerecognition.dto.ActivityInfo;
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionProgress;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionRequest;
 import com.ynet.mgmt.imagerecognition.dto.BatchConversionResponse;
 import com.ynet.mgmt.imagerecognition.dto.ImageRecognitionResult;
 import com.ynet.mgmt.imagerecognition.service.ActivityIndexService;
 import com.ynet.mgmt.imagerecognition.service.BatchConversionService;
 import com.ynet.mgmt.imagerecognition.service.SiliconFlowVisionService;
+import com.ynet.mgmt.imagerecognition.service.ThumbnailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * 批量数据转换服务实现
+ * 分阶段流水线：JDBC 游标流式读取 → 并行读取图片并生成缩略图 → 限速并发调用 Vision API
+ * → 按批 mget 检查存在性并 bulk 写入索引，每批完成后保存断点
  */
 @Service
 public class BatchConversionServiceImpl implements BatchConversionService {
@@ -32,15 +51,41 @@ public class BatchConversionServiceImpl implements BatchConversionService {
 
     private final SiliconFlowVisionService visionService;
     private final ActivityIndexService activityIndexService;
+    private final ThumbnailService thumbnailService;
+    private final BatchConversionProperties properties;
+    private final BatchConversionCheckpointStore checkpointStore;
+    private final ExecutorService decodeExecutor;
+    private final ExecutorService visionExecutor;
 
-    // 缩略图尺寸
-    private static final int THUMBNAIL_WIDTH = 200;
-    private static final int THUMBNAIL_HEIGHT = 200;
+    /**
+     * 各任务的最新进度（按任务标识）
+     */
+    private final Map<String, BatchConversionProgress> progressByJob = new ConcurrentHashMap<>();
+
+    /**
+     * 正在运行的任务，同一数据源和索引不允许并发运行以免断点互相覆盖
+     */
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Vision 调用限速：下一个可用的调用时间点（纳秒）
+     */
+    private final AtomicLong nextVisionSlot = new AtomicLong(System.nanoTime());
 
     public BatchConversionServiceImpl(SiliconFlowVisionService visionService,
-                                     ActivityIndexService activityIndexService) {
+                                     ActivityIndexService activityIndexService,
+                                     ThumbnailService thumbnailService,
+                                     BatchConversionProperties properties,
+                                     BatchConversionCheckpointStore checkpointStore,
+                                     @Qualifier("imageDecodeExecutor") ExecutorService decodeExecutor,
+                                     @Qualifier("visionCallExecutor") ExecutorService visionExecutor) {
         this.visionService = visionService;
         this.activityIndexService = activityIndexService;
+        this.thumbnailService = thumbnailService;
+        this.properties = properties;
+        this.checkpointStore = checkpointStore;
+        this.decodeExecutor = decodeExecutor;
+        this.visionExecutor = visionExecutor;
     }
 
     @Override
@@ -49,92 +94,287 @@ public class BatchConversionServiceImpl implements BatchConversionService {
                     request.getDbHost(), request.getDbPort(), request.getDbName(),
                     request.getTableName(), request.getIndexName());
 
+        String jobKey = buildJobKey(request);
+        if (!runningJobs.add(jobKey)) {
+            return BatchConversionResponse.error("相同数据源和索引的批量识别任务正在运行中: " + jobKey);
+        }
+
+        String resumeFrom = null;
+        if (Boolean.FALSE.equals(request.getResume())) {
+            // 从头运行时清除旧断点，避免本次有失败记录时残留的旧断点越过它们
+            checkpointStore.clear(jobKey);
+        } else {
+            resumeFrom = checkpointStore.load(jobKey);
+        }
+        if (resumeFrom != null) {
+            logger.info("从断点继续批量识别: jobKey={}, 上次断点={}", jobKey, resumeFrom);
+        }
+
+        BatchConversionProgress progress = new BatchConversionProgress();
+        progress.setJobKey(jobKey);
+        progress.setStatus("RUNNING");
+        progress.setResumedFrom(resumeFrom);
+        progress.setStartTime(System.currentTimeMillis());
+        progressByJob.put(jobKey, progress);
+
         List<ImageRecognitionResult> results = new ArrayList<>();
-        Connection connection = null;
-        int insertedCount = 0;
-        int skippedCount = 0;
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int recordCount = 0;
 
-        try {
-            // 1. 连接数据库
-            connection = connectToDatabase(request);
-            logger.info("成功连接到数据库");
+        try (Connection connection = connectToDatabase(request);
+             PreparedStatement statement = prepareImageCursor(connection, request, resumeFrom);
+             ResultSet resultSet = statement.executeQuery()) {
 
-            // 2. 查询图片路径列表
-            List<ImageRecord> imageRecords = queryImagePaths(connection, request);
-            logger.info("从数据库查询到 {} 条图片记录", imageRecords.size());
+            logger.info("成功连接到数据库，开始流式读取图片记录");
 
-            if (imageRecords.isEmpty()) {
-                return BatchConversionResponse.error("未找到任何图片记录");
+            List<ImageRecord> chunk = new ArrayList<>(chunkSize);
+            while (resultSet.next()) {
+                progress.setScannedCount(progress.getScannedCount() + 1);
+                ImageRecord record = readImageRecord(resultSet, request);
+                if (record == null) {
+                    continue;
+                }
+                recordCount++;
+                chunk.add(record);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, request, progress, results);
+                    chunk = new ArrayList<>(chunkSize);
+                }
             }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, request, progress, results);
+            }
+
+        } catch (Exception e) {
+            logger.error("批量识别过程中发生错误: jobKey={}, 断点={}", jobKey, progress.getCheckpoint(), e);
+            progress.setStatus("FAILED");
+            progress.setErrorMessage(e.getMessage());
+            runningJobs.remove(jobKey);
+            return BatchConversionResponse.error("批量识别失败: " + e.getMessage());
+        }
+
+        runningJobs.remove(jobKey);
+        if (recordCount == 0 && resumeFrom == null) {
+            progress.setStatus("COMPLETED");
+            return BatchConversionResponse.error("未找到任何图片记录");
+        }
+
+        // 全部处理完成后清除断点，下次运行从头开始；有未完成的记录时保留断点，下次续传从失败记录重试
+        if (progress.getFirstFailedId() == null) {
+            checkpointStore.clear(jobKey);
+        } else {
+            logger.warn("批量识别存在未完成的记录，保留断点供续传重试: jobKey={}, 断点={}, 首个失败记录={}",
+                    jobKey, progress.getCheckpoint(), progress.getFirstFailedId());
+        }
+        progress.setStatus("COMPLETED");
+        updateElapsed(progress);
+
+        logger.info("批量识别完成: jobKey={}, 总数={}, 成功={}, 失败={}, 插入={}, 跳过={}, 写入失败={}, 耗时={}ms",
+                   jobKey,
+                   results.size(),
+                   progress.getSuccessCount(),
+                   progress.getFailureCount(),
+                   progress.getInsertedCount(),
+                   progress.getSkippedCount(),
+                   progress.getIndexFailureCount(),
+                   progress.getElapsedMs());
+
+        BatchConversionResponse response = BatchConversionResponse.success(results);
+        response.setInsertedCount((int) progress.getInsertedCount());
+        response.setSkippedCount((int) progress.getSkippedCount());
+        response.setIndexFailureCount((int) progress.getIndexFailureCount());
+        response.setJobKey(jobKey);
+        response.setResumedFrom(resumeFrom);
+        return response;
+    }
 
-            // 3. 循环处理每张图片
-            for (ImageRecord record : imageRecords) {
-                try {
-                    ProcessedImageData processedData = processImage(record);
-                    results.add(processedData.getResult());
-                    logger.info("成功处理图片: id={}, path={}", record.getId(), record.getImagePath());
-
-                    // 4. 如果指定了索引名称，则将数据插入到Elasticsearch
-                    if (StringUtils.hasText(request.getIndexName()) && processedData.getResult().isSuccess()) {
-                        boolean inserted = activityIndexService.insertActivity(
-                            record.getId(),
-                            processedData.getActivityInfo(),
-                            request.getIndexName(),
-                            record.getImagePath()
-                        );
-
-                        if (inserted) {
-                            insertedCount++;
-                            logger.info("活动信息已插入索引: id={}, index={}", record.getId(), request.getIndexName());
-                        } else {
-                            skippedCount++;
-                            logger.info("活动信息已跳过（文档已存在）: id={}, index={}", record.getId(), request.getIndexName());
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.error("处理图片失败: id={}, path={}, error={}",
-                                record.getId(), record.getImagePath(), e.getMessage());
-                    results.add(ImageRecognitionResult.failure(
-                        record.getId(),
-                        record.getImagePath(),
-                        e.getMessage()
-                    ));
+    @Override
+    public List<BatchConversionProgress> getProgress() {
+        List<BatchConversionProgress> snapshot = new ArrayList<>(progressByJob.values());
+        snapshot.forEach(progress -> {
+            if ("RUNNING".equals(progress.getStatus())) {
+                updateElapsed(progress);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * 处理一批图片记录
+     * 已存在于索引中的记录在调用 Vision API 之前即被跳过，其余记录并行生成缩略图、限速识别，
+     * 最后 bulk 写入索引（失败时按配置重试）并保存断点。
+     * 断点只推进到"之前的记录都已识别并写入"的位置：识别失败或写入失败的记录会冻结本次运行的断点，
+     * 续传时从该记录重新开始，已写入的记录由存在性检查跳过
+     */
+    private void processChunk(List<ImageRecord> chunk, BatchConversionRequest request,
+                              BatchConversionProgress progress, List<ImageRecognitionResult> results) {
+        boolean indexing = StringUtils.hasText(request.getIndexName());
+
+        // 1. 一次 mget 检查整批文档是否已存在
+        Set<String> existingIds = indexing
+                ? activityIndexService.findExistingIds(
+                        chunk.stream().map(ImageRecord::getId).collect(Collectors.toList()), request.getIndexName())
+                : Collections.emptySet();
+
+        // 2. 提交到解码线程池和 Vision 线程池
+        Set<String> completedIds = new HashSet<>(existingIds);
+        List<ImageRecord> pending = new ArrayList<>();
+        List<CompletableFuture<ProcessedImageData>> futures = new ArrayList<>();
+        for (ImageRecord record : chunk) {
+            if (existingIds.contains(record.getId())) {
+                progress.setSkippedCount(progress.getSkippedCount() + 1);
+                logger.debug("活动信息已存在，跳过识别: id={}, index={}", record.getId(), request.getIndexName());
+                continue;
+            }
+            pending.add(record);
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> prepareImage(record), decodeExecutor)
+                    .thenApplyAsync(this::recognizePreparedImage, visionExecutor));
+        }
+
+        // 3. 按读取顺序收集结果
+        List<ActivityIndexItem> toIndex = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            ImageRecord record = pending.get(i);
+            try {
+                ProcessedImageData processedData = futures.get(i).join();
+                results.add(processedData.getResult());
+                progress.setSuccessCount(progress.getSuccessCount() + 1);
+                logger.debug("成功处理图片: id={}, path={}", record.getId(), record.getImagePath());
+
+                if (indexing) {
+                    toIndex.add(new ActivityIndexItem(record.getId(), processedData.getActivityInfo(), record.getImagePath()));
+                } else {
+                    completedIds.add(record.getId());
                 }
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("处理图片失败: id={}, path={}, error={}",
+                            record.getId(), record.getImagePath(), cause.getMessage());
+                results.add(ImageRecognitionResult.failure(
+                    record.getId(),
+                    record.getImagePath(),
+                    cause.getMessage()
+                ));
+                progress.setFailureCount(progress.getFailureCount() + 1);
             }
+        }
 
-            logger.info("批量识别完成: 总数={}, 成功={}, 失败={}, 插入={}, 跳过={}",
-                       results.size(),
-                       results.stream().filter(ImageRecognitionResult::isSuccess).count(),
-                       results.stream().filter(r -> !r.isSuccess()).count(),
-                       insertedCount,
-                       skippedCount);
+        // 4. bulk 写入整批识别成功的活动信息，请求失败时重试，重试后仍失败则抛出异常中止任务（断点停在上一批）
+        if (!toIndex.isEmpty()) {
+            ActivityBulkIndexResult indexResult = bulkInsertWithRetry(toIndex, request.getIndexName());
+            completedIds.addAll(indexResult.getCreatedIds());
+            completedIds.addAll(indexResult.getExistingIds());
+            progress.setInsertedCount(progress.getInsertedCount() + indexResult.getCreatedIds().size());
+            progress.setSkippedCount(progress.getSkippedCount() + indexResult.getExistingIds().size());
+            progress.setIndexFailureCount(progress.getIndexFailureCount() + indexResult.getFailures().size());
+        }
 
-            BatchConversionResponse response = BatchConversionResponse.success(results);
-            response.setInsertedCount(insertedCount);
-            response.setSkippedCount(skippedCount);
-            return response;
+        // 5. 断点推进到本批中连续完成的最后一条记录，遇到未完成的记录后本次运行不再推进
+        String checkpoint = null;
+        if (progress.getFirstFailedId() == null) {
+            for (ImageRecord record : chunk) {
+                if (!completedIds.contains(record.getId())) {
+                    progress.setFirstFailedId(record.getId());
+                    logger.warn("记录未完成识别或写入，断点停止推进: jobKey={}, id={}, 断点={}",
+                            progress.getJobKey(), record.getId(), progress.getCheckpoint());
+                    break;
+                }
+                checkpoint = record.getId();
+            }
+        }
+        if (checkpoint != null) {
+            checkpointStore.save(progress.getJobKey(), checkpoint);
+            progress.setCheckpoint(checkpoint);
+        }
+        progress.setProcessedCount(progress.getProcessedCount() + chunk.size());
+        updateElapsed(progress);
+
+        logger.info("批量识别进度: jobKey={}, 已处理={}, 成功={}, 失败={}, 插入={}, 跳过={}, 写入失败={}, 断点={}, 速度={}/分钟",
+                   progress.getJobKey(), progress.getProcessedCount(), progress.getSuccessCount(),
+                   progress.getFailureCount(), progress.getInsertedCount(), progress.getSkippedCount(),
+                   progress.getIndexFailureCount(), progress.getCheckpoint(),
+                   String.format("%.1f", progress.getThroughputPerMinute()));
+    }
 
-        } catch (Exception e) {
-            logger.error("批量识别过程中发生错误", e);
-            return BatchConversionResponse.error("批量识别失败: " + e.getMessage());
-        } finally {
-            // 关闭数据库连接
-            if (connection != null) {
-                try {
-                    connection.close();
-                    logger.info("数据库连接已关闭");
-                } catch (SQLException e) {
-                    logger.error("关闭数据库连接失败", e);
+    /**
+     * 批量写入并重试：bulk 请求失败时整批重试，条目级非409错误只重试失败的条目。
+     * 请求在最后一次尝试仍失败时抛出异常；条目在最后一次尝试仍失败时计入结果中的失败条目
+     */
+    private ActivityBulkIndexResult bulkInsertWithRetry(List<ActivityIndexItem> items, String indexName) {
+        int maxAttempts = Math.max(1, properties.getIndexMaxAttempts());
+        ActivityBulkIndexResult merged = new ActivityBulkIndexResult();
+        List<ActivityIndexItem> remaining = items;
+        for (int attempt = 1; ; attempt++) {
+            ActivityBulkIndexResult attemptResult;
+            try {
+                attemptResult = activityIndexService.bulkInsertActivities(remaining, indexName);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
                 }
+                logger.warn("批量写入失败，准备重试: index={}, count={}, attempt={}/{}, error={}",
+                        indexName, remaining.size(), attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+                continue;
             }
+
+            merged.getCreatedIds().addAll(attemptResult.getCreatedIds());
+            merged.getExistingIds().addAll(attemptResult.getExistingIds());
+            Map<String, String> failures = attemptResult.getFailures();
+            if (failures.isEmpty()) {
+                return merged;
+            }
+            if (attempt >= maxAttempts) {
+                merged.getFailures().putAll(failures);
+                return merged;
+            }
+            logger.warn("部分条目写入失败，准备重试: index={}, failed={}, attempt={}/{}",
+                    indexName, failures.keySet(), attempt, maxAttempts);
+            remaining = remaining.stream()
+                    .filter(item -> failures.containsKey(item.getId()))
+                    .collect(Collectors.toList());
+            backoff(attempt);
         }
     }
 
+    private void backoff(int attempt) {
+        long delay = Math.max(0L, properties.getIndexRetryBackoffMs()) * attempt;
+        if (delay == 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量写入重试被中断", e);
+        }
+    }
+
+    private void updateElapsed(BatchConversionProgress progress) {
+        long elapsed = System.currentTimeMillis() - progress.getStartTime();
+        progress.setElapsedMs(elapsed);
+        progress.setThroughputPerMinute(elapsed > 0 ? progress.getProcessedCount() * 60000.0 / elapsed : 0);
+    }
+
+    /**
+     * 构建任务标识：同一数据源表和目标索引共享一个断点
+     */
+    private String buildJobKey(BatchConversionRequest request) {
+        return String.format("%s:%d/%s.%s->%s",
+                request.getDbHost(),
+                request.getDbPort(),
+                request.getDbName(),
+                request.getTableName(),
+                StringUtils.hasText(request.getIndexName()) ? request.getIndexName() : "-");
+    }
+
     /**
      * 连接到指定的数据库
+     * 开启 useCursorFetch，配合 fetchSize 使用服务端游标流式读取，避免一次性加载整张表
      */
-    private Connection connectToDatabase(BatchConversionRequest request) throws SQLException {
-        String jdbcUrl = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=Asia/Shanghai&characterEncoding=utf8",
+    Connection connectToDatabase(BatchConversionRequest request) throws SQLException {
+        String jdbcUrl = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=Asia/Shanghai&characterEncoding=utf8&useCursorFetch=true",
                                       request.getDbHost(),
                                       request.getDbPort(),
                                       request.getDbName());
@@ -149,50 +389,51 @@ public class BatchConversionServiceImpl implements BatchConversionService {
     }
 
     /**
-     * 查询图片路径列表
+     * 创建按主键有序的只读游标，从断点之后开始读取
      */
-    private List<ImageRecord> queryImagePaths(Connection connection, BatchConversionRequest request)
-            throws SQLException {
-        List<ImageRecord> records = new ArrayList<>();
-
-        // 构建查询语句
-        String sql = buildQuerySql(request);
+    private PreparedStatement prepareImageCursor(Connection connection, BatchConversionRequest request,
+                                                 String resumeFrom) throws SQLException {
+        String sql = buildQuerySql(request, resumeFrom != null);
         logger.info("执行查询: {}", sql);
 
-        try (Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(sql)) {
-
-            while (resultSet.next()) {
-                String id = resultSet.getString(request.getPrimaryKeyColumn());
-                String imagePath = resultSet.getString(request.getImagePathColumn());
-
-                // 优先使用 imageUrlColumn，如果存在的话
-                String imageUrl = null;
-                if (StringUtils.hasText(request.getImageUrlColumn())) {
-                    try {
-                        imageUrl = resultSet.getString(request.getImageUrlColumn());
-                    } catch (SQLException e) {
-                        // 忽略列不存在的错误
-                        logger.debug("列 {} 不存在或无法读取", request.getImageUrlColumn());
-                    }
-                }
+        PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(Math.max(1, properties.getFetchSize()));
+        if (resumeFrom != null) {
+            statement.setString(1, resumeFrom);
+        }
+        return statement;
+    }
 
-                // 优先使用URL，如果没有则使用path
-                String finalPath = StringUtils.hasText(imageUrl) ? imageUrl : imagePath;
+    /**
+     * 从当前游标行读取图片记录，没有有效路径时返回 null
+     */
+    private ImageRecord readImageRecord(ResultSet resultSet, BatchConversionRequest request) throws SQLException {
+        String id = resultSet.getString(request.getPrimaryKeyColumn());
+        String imagePath = resultSet.getString(request.getImagePathColumn());
 
-                if (StringUtils.hasText(finalPath)) {
-                    records.add(new ImageRecord(id, finalPath));
-                }
+        // 优先使用 imageUrlColumn，如果存在的话
+        String imageUrl = null;
+        if (StringUtils.hasText(request.getImageUrlColumn())) {
+            try {
+                imageUrl = resultSet.getString(request.getImageUrlColumn());
+            } catch (SQLException e) {
+                // 忽略列不存在的错误
+                logger.debug("列 {} 不存在或无法读取", request.getImageUrlColumn());
             }
         }
 
-        return records;
+        // 优先使用URL，如果没有则使用path
+        String finalPath = StringUtils.hasText(imageUrl) ? imageUrl : imagePath;
+
+        return StringUtils.hasText(finalPath) ? new ImageRecord(id, finalPath) : null;
     }
 
     /**
      * 构建查询 SQL
+     * 按主键排序以便断点续传
      */
-    private String buildQuerySql(BatchConversionRequest request) {
+    private String buildQuerySql(BatchConversionRequest request, boolean resume) {
         StringBuilder sql = new StringBuilder("SELECT ");
         sql.append(request.getPrimaryKeyColumn()).append(", ");
         sql.append(request.getImagePathColumn());
@@ -204,139 +445,128 @@ public class BatchConversionServiceImpl implements BatchConversionService {
         sql.append(" FROM ").append(request.getTableName());
         sql.append(" WHERE ").append(request.getImagePathColumn()).append(" IS NOT NULL");
         sql.append(" AND ").append(request.getImagePathColumn()).append(" != ''");
+        if (resume) {
+            sql.append(" AND ").append(request.getPrimaryKeyColumn()).append(" > ?");
+        }
+        sql.append(" ORDER BY ").append(request.getPrimaryKeyColumn());
 
         return sql.toString();
     }
 
     /**
-     * 处理单张图片
+     * 解码阶段：校验文件并生成缩略图（在解码线程池中执行）
+     * 缩略图写入磁盘缓存，结果中只保留访问地址
      */
-    private ProcessedImageData processImage(ImageRecord record) throws Exception {
-        // 1. 从本地磁盘读取图片
+    private PreparedImage prepareImage(ImageRecord record) {
         File imageFile = new File(record.getImagePath());
         if (!imageFile.exists()) {
-            throw new RuntimeException("图片文件不存在: " + record.getImagePath());
+            throw new CompletionException(new RuntimeException("图片文件不存在: " + record.getImagePath()));
         }
 
-        // 2. 创建缩略图
-        String thumbnailBase64 = createThumbnail(imageFile);
-
-        // 3. 将图片文件转换为 MultipartFile
-        MultipartFile multipartFile = convertFileToMultipartFile(imageFile);
-
-        // 4. 调用视觉识别服务
-        var activityInfo = visionService.recognizeImage(multipartFile);
-
-        // 5. 提取所有文本内容
-        String recognizedText = activityInfo.getAll();
-        if (!StringUtils.hasText(recognizedText)) {
-            recognizedText = String.format(
-                "名称: %s\n描述: %s\n链接: %s\n开始日期: %s\n结束日期: %s\n状态: %s",
-                activityInfo.getName(),
-                activityInfo.getDescript(),
-                activityInfo.getLink(),
-                activityInfo.getStartDate(),
-                activityInfo.getEndDate(),
-                activityInfo.getStatus()
-            );
+        try {
+            String thumbnailKey = thumbnailService.getOrCreateThumbnail(imageFile);
+            return new PreparedImage(record, imageFile, thumbnailService.buildThumbnailUrl(thumbnailKey));
+        } catch (Exception e) {
+            throw new CompletionException(e);
         }
-
-        ImageRecognitionResult result = ImageRecognitionResult.success(
-            record.getId(),
-            record.getImagePath(),
-            thumbnailBase64,
-            recognizedText
-        );
-
-        // 6. 设置结构化的活动信息字段
-        result.setName(activityInfo.getName());
-        result.setDescript(activityInfo.getDescript());
-        result.setLink(activityInfo.getLink());
-        result.setStartDate(activityInfo.getStartDate());
-        result.setEndDate(activityInfo.getEndDate());
-        result.setStatus(activityInfo.getStatus());
-
-        return new ProcessedImageData(result, activityInfo);
     }
 
     /**
-     * 创建图片缩略图并转换为 Base64
+     * 识别阶段：限速后调用视觉识别服务（在 Vision 线程池中执行，线程数即最大并发）
      */
-    private String createThumbnail(File imageFile) throws Exception {
-        BufferedImage originalImage = ImageIO.read(imageFile);
-        if (originalImage == null) {
-            throw new RuntimeException("无法读取图片文件");
-        }
-
-        // 计算缩略图尺寸，保持宽高比
-        int width = originalImage.getWidth();
-        int height = originalImage.getHeight();
-        double ratio = Math.min(
-            (double) THUMBNAIL_WIDTH / width,
-            (double) THUMBNAIL_HEIGHT / height
-        );
-
-        int newWidth = (int) (width * ratio);
-        int newHeight = (int) (height * ratio);
-
-        // 创建缩略图
-        BufferedImage thumbnail = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = thumbnail.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(originalImage, 0, 0, newWidth, newHeight, null);
-        g.dispose();
-
-        // 转换为 Base64
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(thumbnail, "jpg", baos);
-        byte[] thumbnailBytes = baos.toByteArray();
-        String base64String = Base64.getEncoder().encodeToString(thumbnailBytes);
+    private ProcessedImageData recognizePreparedImage(PreparedImage prepared) {
+        ImageRecord record = prepared.getRecord();
+        try {
+            acquireVisionPermit();
+
+            // 1. 以文件为后端包装为 MultipartFile，内容在需要时才从磁盘读取
+            MultipartFile multipartFile = new FileSystemMultipartFile(
+                prepared.getImageFile(), getContentTypeFromFileName(prepared.getImageFile().getName()));
+
+            // 2. 调用视觉识别服务
+            var activityInfo = visionService.recognizeImage(multipartFile);
+
+            // 3. 提取所有文本内容
+            String recognizedText = activityInfo.getAll();
+            if (!StringUtils.hasText(recognizedText)) {
+                recognizedText = String.format(
+                    "名称: %s\n描述: %s\n链接: %s\n开始日期: %s\n结束日期: %s\n状态: %s",
+                    activityInfo.getName(),
+                    activityInfo.getDescript(),
+                    activityInfo.getLink(),
+                    activityInfo.getStartDate(),
+                    activityInfo.getEndDate(),
+                    activityInfo.getStatus()
+                );
+            }
 
-        return "data:image/jpeg;base64," + base64String;
+            ImageRecognitionResult result = ImageRecognitionResult.success(
+                record.getId(),
+                record.getImagePath(),
+                null,
+                recognizedText
+            );
+            result.setThumbnailUrl(prepared.getThumbnailUrl());
+
+            // 4. 设置结构化的活动信息字段
+            result.setName(activityInfo.getName());
+            result.setDescript(activityInfo.getDescript());
+            result.setLink(activityInfo.getLink());
+            result.setStartDate(activityInfo.getStartDate());
+            result.setEndDate(activityInfo.getEndDate());
+            result.setStatus(activityInfo.getStatus());
+
+            return new ProcessedImageData(result, activityInfo);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (CompletionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
     }
 
     /**
-     * 将 File 转换为 MultipartFile
+     * 按配置的速率为 Vision 调用分配时间槽，不足间隔时等待
      */
-    private MultipartFile convertFileToMultipartFile(File file) throws Exception {
-        FileInputStream input = new FileInputStream(file);
-        byte[] fileBytes = input.readAllBytes();
-        input.close();
-
-        String contentType = getContentTypeFromFileName(file.getName());
-
-        return new CustomMultipartFile(
-            file.getName(),
-            file.getName(),
-            contentType,
-            fileBytes
-        );
+    private void acquireVisionPermit() throws InterruptedException {
+        Double rate = properties.getVisionRatePerSecond();
+        if (rate == null || rate <= 0) {
+            return;
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long now = System.nanoTime();
+        long previous = nextVisionSlot.getAndAccumulate(now, (slot, current) -> Math.max(slot, current) + intervalNanos);
+        long waitNanos = Math.max(previous, now) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
     }
 
     /**
-     * 自定义 MultipartFile 实现
+     * 以磁盘文件为后端的 MultipartFile 实现
+     * 不在堆中常驻整张原图，getInputStream 直接流式读取文件
      */
-    private static class CustomMultipartFile implements MultipartFile {
-        private final String name;
-        private final String originalFilename;
+    private static class FileSystemMultipartFile implements MultipartFile {
+        private final File file;
         private final String contentType;
-        private final byte[] content;
 
-        public CustomMultipartFile(String name, String originalFilename, String contentType, byte[] content) {
-            this.name = name;
-            this.originalFilename = originalFilename;
+        public FileSystemMultipartFile(File file, String contentType) {
+            this.file = file;
             this.contentType = contentType;
-            this.content = content;
         }
 
         @Override
         public String getName() {
-            return name;
+            return file.getName();
         }
 
         @Override
         public String getOriginalFilename() {
-            return originalFilename;
+            return file.getName();
         }
 
         @Override
@@ -346,29 +576,27 @@ public class BatchConversionServiceImpl implements BatchConversionService {
 
         @Override
         public boolean isEmpty() {
-            return content == null || content.length == 0;
+            return file.length() == 0;
         }
 
         @Override
         public long getSize() {
-            return content.length;
+            return file.length();
         }
 
         @Override
-        public byte[] getBytes() {
-            return content;
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(file.toPath());
         }
 
         @Override
-        public InputStream getInputStream() {
-            return new ByteArrayInputStream(content);
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file.toPath());
         }
 
         @Override
         public void transferTo(File dest) throws IOException, IllegalStateException {
-            try (FileOutputStream fos = new FileOutputStream(dest)) {
-                fos.write(content);
-            }
+            Files.copy(file.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -413,6 +641,33 @@ public class BatchConversionServiceImpl implements BatchConversionService {
         }
     }
 
+    /**
+     * 解码阶段产物：已校验的图片文件和缩略图地址
+     */
+    private static class PreparedImage {
+        private final ImageRecord record;
+        private final File imageFile;
+        private final String thumbnailUrl;
+
+        public PreparedImage(ImageRecord record, File imageFile, String thumbnailUrl) {
+            this.record = record;
+            this.imageFile = imageFile;
+            this.thumbnailUrl = thumbnailUrl;
+        }
+
+        public ImageRecord getRecord() {
+            return record;
+        }
+
+        public File getImageFile() {
+            return imageFile;
+        }
+
+        public String getThumbnailUrl() {
+            return thumbnailUrl;
+        }
+    }
+
     /**
      * 处理后的图片数据内部类
      * 包含识别结果和活动信息
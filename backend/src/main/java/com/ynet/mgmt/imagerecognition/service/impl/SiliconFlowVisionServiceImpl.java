@@ -7,22 +7,25 @@ import com.ynet.mgmt.imagerecognition.dto.VisionApiRequest;
 import com.ynet.mgmt.imagerecognition.dto.VisionApiResponse;
 import com.ynet.mgmt.imagerecognition.service.PromptConfigService;
 import com.ynet.mgmt.imagerecognition.service.SiliconFlowVisionService;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /**
  * 硅基流动 Vision API 服务实现
@@ -33,7 +36,7 @@ public class SiliconFlowVisionServiceImpl implements SiliconFlowVisionService {
     private static final Logger logger = LoggerFactory.getLogger(SiliconFlowVisionServiceImpl.class);
 
     private final SiliconFlowVisionProperties properties;
-    private RestTemplate restTemplate;
+    private final ModelGatewayClient modelGatewayClient;
     private final ObjectMapper objectMapper;
     private final PromptConfigService promptConfigService;
 
@@ -61,27 +64,16 @@ public class SiliconFlowVisionServiceImpl implements SiliconFlowVisionService {
 
     public SiliconFlowVisionServiceImpl(SiliconFlowVisionProperties properties,
                                        ObjectMapper objectMapper,
-                                       PromptConfigService promptConfigService) {
+                                       PromptConfigService promptConfigService,
+                                       ModelGatewayClient modelGatewayClient) {
         this.properties = properties;
         this.objectMapper = objectMapper;
         this.promptConfigService = promptConfigService;
+        this.modelGatewayClient = modelGatewayClient;
     }
 
     @PostConstruct
     public void init() {
-        // 初始化RestTemplate并配置超时
-        try {
-            // 使用SimpleClientHttpRequestFactory配置超时
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(properties.getTimeout().intValue());
-            factory.setReadTimeout(properties.getTimeout().intValue());
-            this.restTemplate = new RestTemplate(factory);
-        } catch (Exception e) {
-            logger.warn("无法配置RestTemplate超时，将使用默认RestTemplate", e);
-            this.restTemplate = new RestTemplate();
-        }
-
         logger.info("初始化硅基流动Vision服务: model={}, url={}, timeout={}ms",
                 properties.getModel(), properties.getApiUrl(), properties.getTimeout());
     }
@@ -110,24 +102,17 @@ public class SiliconFlowVisionServiceImpl implements SiliconFlowVisionService {
     public VisionApiResponse callVisionApi(VisionApiRequest request) throws Exception {
         logger.info("调用硅基流动 Vision API");
 
-        // 构建请求头
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(properties.getApiKey());
-
-        // 构建请求实体
-        HttpEntity<VisionApiRequest> requestEntity = new HttpEntity<>(request, headers);
-
         try {
-            // 发送请求
-            ResponseEntity<VisionApiResponse> responseEntity = restTemplate.exchange(
+            // 通过模型网关发送请求
+            VisionApiResponse response = modelGatewayClient.postJson(
+                properties.getModel(),
                 properties.getApiUrl(),
-                HttpMethod.POST,
-                requestEntity,
-                VisionApiResponse.class
+                properties.getApiKey(),
+                request,
+                VisionApiResponse.class,
+                Duration.ofMillis(properties.getTimeout())
             );
 
-            VisionApiResponse response = responseEntity.getBody();
             if (response == null) {
                 throw new RuntimeException("Vision API 返回空响应");
             }
@@ -185,12 +170,22 @@ public class SiliconFlowVisionServiceImpl implements SiliconFlowVisionService {
             );
         }
 
-        // 检查图片尺寸
-        try {
-            BufferedImage image = ImageIO.read(new ByteArrayInputStream(file.getBytes()));
-            if (image != null) {
-                int width = image.getWidth();
-                int height = image.getHeight();
+        // 检查图片尺寸（只读取图片头信息，不解码整张图片）
+        try (InputStream inputStream = file.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageInput != null
+                ? ImageIO.getImageReaders(imageInput) : Collections.emptyIterator();
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                int width;
+                int height;
+                try {
+                    reader.setInput(imageInput, true, true);
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
 
                 SiliconFlowVisionProperties.ImageConfig imageConfig = properties.getImage();
                 if (width < imageConfig.getMinWidth() || height < imageConfig.getMinHeight() ||
@@ -0,0 +1,235 @@
+package com.ynet.mgmt.imagerecognition.service.impl;
+
+import com.ynet.mgmt.imagerecognition.config.ThumbnailProperties;
+import com.ynet.mgmt.imagerecognition.service.ThumbnailService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 缩略图服务实现
+ * 通过 ImageInputStream 流式读取原图，并使用 ImageReadParam 源采样在解码阶段直接缩小，
+ * 不再把整张大图解码到堆内存；生成的缩略图以 JPEG 文件缓存在磁盘上。
+ * 缩略图标识是以服务端密钥计算的 HMAC，不知道密钥无法由图片路径等元数据推算，可用于匿名访问的地址
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailServiceImpl.class);
+
+    private static final String THUMBNAIL_URL_PREFIX = "/image/thumbnails/";
+    private static final String THUMBNAIL_SUFFIX = ".jpg";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SECRET_FILE = ".key-secret";
+
+    private final ThumbnailProperties properties;
+    private Path cacheDir;
+    private SecretKeySpec keySpec;
+
+    public ThumbnailServiceImpl(ThumbnailProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDir = Paths.get(properties.getCacheDir()).toAbsolutePath();
+        Files.createDirectories(cacheDir);
+        keySpec = new SecretKeySpec(loadKeySecret(), HMAC_ALGORITHM);
+        purgeExpired();
+        logger.info("缩略图缓存目录: {}, 尺寸: {}x{}", cacheDir, properties.getWidth(), properties.getHeight());
+    }
+
+    @Override
+    public String getOrCreateThumbnail(File imageFile) throws IOException {
+        String key = buildCacheKey(imageFile);
+        Path target = cacheDir.resolve(key + THUMBNAIL_SUFFIX);
+        if (Files.exists(target)) {
+            logger.debug("缩略图缓存命中: path={}, key={}", imageFile.getPath(), key);
+            return key;
+        }
+
+        BufferedImage thumbnail = createThumbnail(imageFile);
+
+        // 先写临时文件再原子替换，避免并发生成或读取到写了一半的文件
+        Path temp = Files.createTempFile(cacheDir, key, ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                ImageIO.write(thumbnail, "jpg", output);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        logger.debug("缩略图已生成: path={}, key={}", imageFile.getPath(), key);
+        return key;
+    }
+
+    @Override
+    public Path resolveThumbnail(String thumbnailKey) {
+        if (thumbnailKey == null || !KEY_PATTERN.matcher(thumbnailKey).matches()) {
+            return null;
+        }
+        Path path = cacheDir.resolve(thumbnailKey + THUMBNAIL_SUFFIX);
+        return Files.exists(path) ? path : null;
+    }
+
+    @Override
+    public String buildThumbnailUrl(String thumbnailKey) {
+        return THUMBNAIL_URL_PREFIX + thumbnailKey;
+    }
+
+    /**
+     * 以源采样方式解码并缩放为缩略图
+     * 采样因子取整数倍缩小后仍不小于目标尺寸的最大值，剩余的缩放再用双线性插值完成
+     */
+    private BufferedImage createThumbnail(File imageFile) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(imageFile)) {
+            if (input == null) {
+                throw new IOException("无法读取图片文件");
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("无法读取图片文件");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int subsampling = Math.max(1, (int) Math.min(
+                    (double) width / properties.getWidth(),
+                    (double) height / properties.getHeight()
+                ));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                return scale(decoded);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 保持宽高比缩放到目标尺寸以内
+     */
+    private BufferedImage scale(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(
+            (double) properties.getWidth() / width,
+            (double) properties.getHeight() / height
+        );
+
+        int newWidth = Math.max(1, (int) (width * ratio));
+        int newHeight = Math.max(1, (int) (height * ratio));
+
+        BufferedImage thumbnail = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, newWidth, newHeight, null);
+        g.dispose();
+        return thumbnail;
+    }
+
+    /**
+     * 缓存键：以服务端密钥对 图片绝对路径 + 修改时间 + 文件大小 + 缩略图尺寸 计算 HMAC-SHA256
+     */
+    private String buildCacheKey(File imageFile) {
+        String source = imageFile.getAbsolutePath()
+                + "|" + imageFile.lastModified()
+                + "|" + imageFile.length()
+                + "|" + properties.getWidth() + "x" + properties.getHeight();
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            return HexFormat.of().formatHex(mac.doFinal(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 不可用", e);
+        }
+    }
+
+    /**
+     * 读取 HMAC 密钥：优先使用配置的密钥；未配置时读取缓存目录中的密钥文件，不存在则生成随机密钥写入，
+     * 使重启后缩略图标识保持不变、已缓存的文件仍可复用
+     */
+    private byte[] loadKeySecret() throws IOException {
+        if (StringUtils.hasText(properties.getKeySecret())) {
+            return properties.getKeySecret().getBytes(StandardCharsets.UTF_8);
+        }
+
+        Path secretFile = cacheDir.resolve(SECRET_FILE);
+        if (Files.exists(secretFile)) {
+            return HexFormat.of().parseHex(Files.readString(secretFile).trim());
+        }
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        Files.writeString(secretFile, HexFormat.of().formatHex(secret));
+        try {
+            Files.setPosixFilePermissions(secretFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            logger.debug("文件系统不支持POSIX权限，缩略图密钥文件保持默认权限");
+        }
+        logger.info("未配置缩略图密钥，已生成随机密钥: {}", secretFile);
+        return secret;
+    }
+
+    /**
+     * 清理超过保留天数的缓存文件
+     */
+    private void purgeExpired() {
+        if (properties.getMaxAgeDays() == null || properties.getMaxAgeDays() <= 0) {
+            return;
+        }
+
+        long expireBefore = System.currentTimeMillis() - Duration.ofDays(properties.getMaxAgeDays()).toMillis();
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            long removed = files.filter(path -> !path.getFileName().toString().equals(SECRET_FILE)).filter(path -> {
+                try {
+                    return Files.getLastModifiedTime(path).toMillis() < expireBefore && Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    return false;
+                }
+            }).count();
+            if (removed > 0) {
+                logger.info("已清理过期缩略图缓存: {} 个", removed);
+            }
+        } catch (IOException e) {
+            logger.warn("清理缩略图缓存失败: {}", e.getMessage());
+        }
+    }
+}
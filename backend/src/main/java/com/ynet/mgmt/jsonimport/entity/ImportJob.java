@@ -0,0 +1,369 @@
+package com.ynet.mgmt.jsonimport.entity;
+
+import com.ynet.mgmt.common.BaseEntity;
+import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
+import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务实体
+ * 持久化的导入任务队列：各节点的工作线程通过租约认领任务，按批次记录检查点，
+ * 节点重启或宕机后任务由其他节点从检查点继续执行
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_job_state_created", columnList = "state, created_at"),
+    @Index(name = "idx_import_job_space_created", columnList = "search_space_id, created_at")
+})
+public class ImportJob extends BaseEntity {
+
+    /**
+     * 任务ID（即导入任务的taskId）
+     */
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    /**
+     * 搜索空间ID
+     */
+    @Column(name = "search_space_id", nullable = false)
+    private Long searchSpaceId;
+
+    /**
+     * 任务状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 32)
+    private ImportTaskState state;
+
+    /**
+     * 导入模式
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 16)
+    private ImportExecuteRequest.ImportMode mode;
+
+    /**
+     * 批处理大小
+     */
+    @Column(name = "batch_size", nullable = false)
+    private Integer batchSize;
+
+    /**
+     * 错误处理策略
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "error_handling", nullable = false, length = 16)
+    private ImportExecuteRequest.ErrorHandlingStrategy errorHandling;
+
+    /**
+     * 是否在导入完成后优化索引
+     */
+    @Column(name = "enable_index_optimization", nullable = false)
+    private Boolean enableIndexOptimization;
+
+    /**
+     * 数据文件路径（多节点部署时需位于共享存储）
+     */
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    /**
+     * 原始文件名
+     */
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    /**
+     * 索引是否已按导入模式创建，续传时不再重复创建（避免替换模式删除已导入的数据）
+     */
+    @Column(name = "index_prepared", nullable = false)
+    private Boolean indexPrepared;
+
+    /**
+     * 总记录数
+     */
+    @Column(name = "total_records", nullable = false)
+    private Integer totalRecords;
+
+    /**
+     * 检查点：已提交的记录数，续传时从该偏移量继续
+     */
+    @Column(name = "processed_records", nullable = false)
+    private Integer processedRecords;
+
+    /**
+     * 成功记录数
+     */
+    @Column(name = "success_count", nullable = false)
+    private Integer successCount;
+
+    /**
+     * 失败记录数
+     */
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount;
+
+    /**
+     * 已完成批次数
+     */
+    @Column(name = "current_batch", nullable = false)
+    private Integer currentBatch;
+
+    /**
+     * 总批次数
+     */
+    @Column(name = "total_batches", nullable = false)
+    private Integer totalBatches;
+
+    /**
+     * 状态描述
+     */
+    @Column(name = "status_message", length = 500)
+    private String statusMessage;
+
+    /**
+     * 错误信息
+     */
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /**
+     * 租约持有节点，为空表示未被认领
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间，过期后其他节点可重新认领
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * 认领次数
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    /**
+     * 首次开始执行时间
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // 构造函数
+
+    public ImportJob() {}
+
+    // Getters and Setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getSearchSpaceId() {
+        return searchSpaceId;
+    }
+
+    public void setSearchSpaceId(Long searchSpaceId) {
+        this.searchSpaceId = searchSpaceId;
+    }
+
+    public ImportTaskState getState() {
+        return state;
+    }
+
+    public void setState(ImportTaskState state) {
+        this.state = state;
+    }
+
+    public ImportExecuteRequest.ImportMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ImportExecuteRequest.ImportMode mode) {
+        this.mode = mode;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public ImportExecuteRequest.ErrorHandlingStrategy getErrorHandling() {
+        return errorHandling;
+    }
+
+    public void setErrorHandling(ImportExecuteRequest.ErrorHandlingStrategy errorHandling) {
+        this.errorHandling = errorHandling;
+    }
+
+    public Boolean getEnableIndexOptimization() {
+        return enableIndexOptimization;
+    }
+
+    public void setEnableIndexOptimization(Boolean enableIndexOptimization) {
+        this.enableIndexOptimization = enableIndexOptimization;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Boolean getIndexPrepared() {
+        return indexPrepared;
+    }
+
+    public void setIndexPrepared(Boolean indexPrepared) {
+        this.indexPrepared = indexPrepared;
+    }
+
+    public Integer getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Integer totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public Integer getProcessedRecords() {
+        return processedRecords;
+    }
+
+    public void setProcessedRecords(Integer processedRecords) {
+        this.processedRecords = processedRecords;
+    }
+
+    public Integer getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(Integer successCount) {
+        this.successCount = successCount;
+    }
+
+    public Integer getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(Integer errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public Integer getCurrentBatch() {
+        return currentBatch;
+    }
+
+    public void setCurrentBatch(Integer currentBatch) {
+        this.currentBatch = currentBatch;
+    }
+
+    public Integer getTotalBatches() {
+        return totalBatches;
+    }
+
+    public void setTotalBatches(Integer totalBatches) {
+        this.totalBatches = totalBatches;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public void setStatusMessage(String statusMessage) {
+        this.statusMessage = statusMessage;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob{" +
+                "id='" + id + '\'' +
+                ", searchSpaceId=" + searchSpaceId +
+                ", state=" + state +
+                ", processedRecords=" + processedRecords +
+                ", totalRecords=" + totalRecords +
+                ", leaseOwner='" + leaseOwner + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.ynet.mgmt.jsonimport.exception;
+
+/**
+ * 导入被中断
+ * 任务被取消或执行节点丢失了任务租约时抛出，导入在当前批次结束后停止，
+ * 已提交的检查点保留，由任务的新持有者继续执行
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class ImportInterruptedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImportInterruptedException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ynet.mgmt.jsonimport.model;
 
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -153,6 +154,12 @@ public class IndexMappingConfig {
          */
         private Boolean ignoreMalformed;
 
+        /**
+         * 倒排索引记录的信息（docs/freqs/positions/offsets），
+         * 高亮字段使用 offsets 使高亮器无需重新分析原文
+         */
+        private String indexOptions;
+
         /**
          * 文本字段的特殊配置
          */
@@ -241,10 +248,16 @@ public class IndexMappingConfig {
 
         /**
          * 向量索引类型
-         * 支持 "hnsw", "flat"
+         * 支持 "hnsw", "int8_hnsw", "flat"
          */
         private String indexType;
 
+        /**
+         * 向量存储档位，决定 element_type 以及写入文档、查询时的向量编码方式
+         */
+        @Builder.Default
+        private VectorStorageProfile storageProfile = VectorStorageProfile.FLOAT;
+
         /**
          * HNSW算法参数 - 构建时的最大连接数
          */
@@ -347,6 +360,10 @@ public class IndexMappingConfig {
             fieldMap.put("null_value", fieldMapping.getNullValue());
         }
 
+        if (fieldMapping.getIndexOptions() != null) {
+            fieldMap.put("index_options", fieldMapping.getIndexOptions());
+        }
+
         // 处理文本字段的特殊配置
         if (fieldMapping.getTextConfig() != null) {
             TextFieldConfig textConfig = fieldMapping.getTextConfig();
@@ -385,10 +402,15 @@ public class IndexMappingConfig {
                 fieldMap.put("index", vectorConfig.getIndex());
             }
 
+            if (vectorConfig.getStorageProfile() != null) {
+                fieldMap.put("element_type", vectorConfig.getStorageProfile().getElementType());
+                fieldMap.put("meta", Map.of(VectorStorageProfile.META_KEY, vectorConfig.getStorageProfile().name()));
+            }
+
             // HNSW索引参数
-            if ("hnsw".equals(vectorConfig.getIndexType())) {
+            if (vectorConfig.getIndexType() != null && vectorConfig.getIndexType().endsWith("hnsw")) {
                 Map<String, Object> indexOptions = new HashMap<>();
-                indexOptions.put("type", "hnsw");
+                indexOptions.put("type", vectorConfig.getIndexType());
                 if (vectorConfig.getM() != null) {
                     indexOptions.put("m", vectorConfig.getM());
                 }
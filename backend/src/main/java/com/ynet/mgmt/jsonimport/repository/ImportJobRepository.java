@@ -0,0 +1,151 @@
+package com.ynet.mgmt.jsonimport.repository;
+
+import com.ynet.mgmt.jsonimport.entity.ImportJob;
+import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 导入任务数据访问接口
+ * 认领、心跳、检查点均为带条件的单条UPDATE，由数据库保证同一任务同一时刻只被一个节点持有
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * 查询指定状态之外的任务（即未结束的任务），按创建时间和ID升序
+     *
+     * @param states 排除的状态（终态）
+     * @return 任务列表
+     */
+    List<ImportJob> findByStateNotInOrderByCreatedAtAscIdAsc(Collection<ImportTaskState> states);
+
+    /**
+     * 查询搜索空间的任务，按创建时间倒序
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param pageable 分页参数
+     * @return 任务列表
+     */
+    List<ImportJob> findBySearchSpaceIdOrderByCreatedAtDesc(Long searchSpaceId, Pageable pageable);
+
+    /**
+     * 认领任务：任务未结束且没有有效租约时写入租约
+     *
+     * @return 更新行数，1表示认领成功
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt, j.attempts = j.attempts + 1, " +
+           "j.state = CASE WHEN j.state = :pending THEN :running ELSE j.state END, " +
+           "j.startedAt = COALESCE(j.startedAt, :now) " +
+           "WHERE j.id = :id AND j.state NOT IN :terminal AND (j.leaseOwner IS NULL OR j.leaseExpiresAt < :now)")
+    int claim(@Param("id") String id,
+              @Param("owner") String owner,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now,
+              @Param("pending") ImportTaskState pending,
+              @Param("running") ImportTaskState running,
+              @Param("terminal") Collection<ImportTaskState> terminal);
+
+    /**
+     * 续约
+     *
+     * @return 更新行数，0表示租约已丢失或任务已结束（如被取消）
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.leaseExpiresAt = :expiresAt " +
+           "WHERE j.id = :id AND j.leaseOwner = :owner AND j.state NOT IN :terminal")
+    int renewLease(@Param("id") String id,
+                   @Param("owner") String owner,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("terminal") Collection<ImportTaskState> terminal);
+
+    /**
+     * 保存检查点并续约
+     *
+     * @return 更新行数，0表示租约已丢失或任务已结束
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.state = :state, j.statusMessage = :statusMessage, j.indexPrepared = :indexPrepared, " +
+           "j.totalRecords = :totalRecords, j.totalBatches = :totalBatches, j.processedRecords = :processedRecords, " +
+           "j.successCount = :successCount, j.errorCount = :errorCount, j.currentBatch = :currentBatch, " +
+           "j.leaseExpiresAt = :expiresAt, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.leaseOwner = :owner AND j.state NOT IN :terminal")
+    int checkpoint(@Param("id") String id,
+                   @Param("owner") String owner,
+                   @Param("state") ImportTaskState state,
+                   @Param("statusMessage") String statusMessage,
+                   @Param("indexPrepared") Boolean indexPrepared,
+                   @Param("totalRecords") Integer totalRecords,
+                   @Param("totalBatches") Integer totalBatches,
+                   @Param("processedRecords") Integer processedRecords,
+                   @Param("successCount") Integer successCount,
+                   @Param("errorCount") Integer errorCount,
+                   @Param("currentBatch") Integer currentBatch,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now,
+                   @Param("terminal") Collection<ImportTaskState> terminal);
+
+    /**
+     * 结束任务并释放租约
+     *
+     * @return 更新行数，0表示租约已丢失或任务已结束
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.state = :state, j.statusMessage = :statusMessage, j.errorMessage = :errorMessage, " +
+           "j.processedRecords = :processedRecords, j.successCount = :successCount, j.errorCount = :errorCount, " +
+           "j.finishedAt = :now, j.updatedAt = :now, j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.leaseOwner = :owner AND j.state NOT IN :terminal")
+    int finish(@Param("id") String id,
+               @Param("owner") String owner,
+               @Param("state") ImportTaskState state,
+               @Param("statusMessage") String statusMessage,
+               @Param("errorMessage") String errorMessage,
+               @Param("processedRecords") Integer processedRecords,
+               @Param("successCount") Integer successCount,
+               @Param("errorCount") Integer errorCount,
+               @Param("now") LocalDateTime now,
+               @Param("terminal") Collection<ImportTaskState> terminal);
+
+    /**
+     * 释放租约（任务保留当前检查点，等待重新认领）
+     *
+     * @return 更新行数
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.leaseOwner = NULL, j.leaseExpiresAt = NULL WHERE j.id = :id AND j.leaseOwner = :owner")
+    int releaseLease(@Param("id") String id, @Param("owner") String owner);
+
+    /**
+     * 取消未结束的任务，执行中的节点在下一个检查点发现后停止
+     *
+     * @return 更新行数，0表示任务不存在或已结束
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.state = :cancelled, j.statusMessage = :statusMessage, j.finishedAt = :now, " +
+           "j.updatedAt = :now, j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.state NOT IN :terminal")
+    int cancel(@Param("id") String id,
+               @Param("cancelled") ImportTaskState cancelled,
+               @Param("statusMessage") String statusMessage,
+               @Param("now") LocalDateTime now,
+               @Param("terminal") Collection<ImportTaskState> terminal);
+}
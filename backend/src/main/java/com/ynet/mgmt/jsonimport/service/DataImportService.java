@@ -10,21 +10,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
 import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
 import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import com.ynet.mgmt.jsonimport.exception.ImportInterruptedException;
 import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
 import com.ynet.mgmt.jsonimport.model.JsonSchemaAnalysis;
+import com.ynet.mgmt.jsonimport.util.DenseVectorMappings;
+import com.ynet.mgmt.jsonimport.util.JsonRecordReader;
 import com.ynet.mgmt.searchspace.entity.SearchSpace;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import com.ynet.mgmt.searchspace.service.ElasticsearchManager;
 import com.ynet.mgmt.searchspace.service.FileStorageService;
 import com.ynet.mgmt.searchspace.service.SearchSpaceService;
 import com.ynet.mgmt.searchdata.service.EmbeddingService;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -49,6 +55,13 @@ public class DataImportService {
     private final FileStorageService fileStorageService;
     private final ObjectMapper objectMapper;
     private final EmbeddingService embeddingService;
+    private final SearchCacheInvalidator searchCacheInvalidator;
+
+    /**
+     * 结构分析使用的样本记录数，超出部分只计数不参与分析
+     */
+    @Value("${app.import.analysis-sample-size:10000}")
+    private int analysisSampleSize = 10000;
 
     // 任务状态缓存
     private final Map<String, ImportTaskStatus> taskStatusCache = new ConcurrentHashMap<>();
@@ -58,7 +71,7 @@ public class DataImportService {
 
     /**
      * 同步执行JSON数据导入
-     * 复用异步导入的所有逻辑，但直接返回结果而不是使用CompletableFuture
+     * 在当前线程执行完整的导入流程，进度保存在本节点内存中
      *
      * @param searchSpaceId 搜索空间ID
      * @param request       导入请求
@@ -75,80 +88,22 @@ public class DataImportService {
         updateTaskStatus(status);
 
         try {
-            // 验证搜索空间
-            SearchSpace searchSpace = validateSearchSpace(searchSpaceId);
-
-            // 第1步：分析JSON数据
-            status.setState(ImportTaskState.ANALYZING_DATA);
-            status.setStatusMessage("正在分析JSON数据结构...");
-            updateTaskStatus(status);
-
-            JsonSchemaAnalysis analysis = analyzeJsonData(taskId, searchSpaceId);
-            status.setTotalRecords(analysis.getTotalRecords());
-            status.setTotalBatches((int) Math.ceil((double) analysis.getTotalRecords() / request.getBatchSize()));
-
-            // 检查是否被取消
-            checkCancellation(taskId);
-
-            // 第2步：生成索引配置
-            status.setState(ImportTaskState.CREATING_INDEX);
-            status.setStatusMessage("正在生成索引配置和创建索引...");
+            Path filePath = resolveTaskFile(taskId, searchSpaceId);
+            runImport(searchSpaceId, request, filePath, status, new InMemoryProgressTracker(taskId));
             updateTaskStatus(status);
 
-            IndexMappingConfig indexConfig = generateIndexConfig(searchSpace.getCode(), analysis);
-            createElasticsearchIndex(indexConfig, request.getMode());
-
-            // 检查是否被取消
-            checkCancellation(taskId);
-
-            // 第3步：导入数据
-            status.setState(ImportTaskState.PROCESSING_DATA);
-            status.setStatusMessage("正在批量导入数据...");
-            updateTaskStatus(status);
-
-            ImportTaskStatus.ImportResultSummary resultSummary = importData(
-                    taskId, searchSpaceId, indexConfig, analysis, request, status);
-
-            // 第4步：优化索引（可选）
-            if (Boolean.TRUE.equals(request.getEnableIndexOptimization())) {
-                status.setState(ImportTaskState.OPTIMIZING_INDEX);
-                status.setStatusMessage("正在优化索引...");
-                updateTaskStatus(status);
-                optimizeIndex(indexConfig.getIndexName());
-            }
-
-            // 完成导入
-            status.setState(ImportTaskState.COMPLETED);
-            status.setEndTime(LocalDateTime.now());
-            status.setStatusMessage("数据导入完成");
-            status.setResultSummary(resultSummary);
-            status.updateProgressPercentage();
-            updateTaskStatus(status);
-            
             // 更新搜索空间的文档统计
-            if (status.getSuccessCount() != null && status.getSuccessCount() > 0) {
-                try {
-                    searchSpaceService.updateImportStats(searchSpaceId, status.getSuccessCount());
-                    log.info("更新搜索空间文档统计: searchSpaceId={}, successCount={}", 
-                            searchSpaceId, status.getSuccessCount());
-                } catch (Exception e) {
-                    log.warn("更新搜索空间文档统计失败: searchSpaceId={}, error={}", 
-                            searchSpaceId, e.getMessage());
-                }
-            }
+            updateSearchSpaceStats(searchSpaceId, status.getSuccessCount());
 
             log.info("同步数据导入完成: taskId={}, totalRecords={}, successCount={}",
-                    taskId, analysis.getTotalRecords(), status.getSuccessCount());
+                    taskId, status.getTotalRecords(), status.getSuccessCount());
 
             return status;
 
         } catch (Exception e) {
             log.error("同步数据导入失败: taskId={}, error={}", taskId, e.getMessage(), e);
 
-            status.setState(ImportTaskState.FAILED);
-            status.setEndTime(LocalDateTime.now());
-            status.setErrorMessage(e.getMessage());
-            status.setStatusMessage("导入失败: " + e.getMessage());
+            markFailed(status, e);
             updateTaskStatus(status);
 
             throw new RuntimeException("数据导入失败: " + e.getMessage(), e);
@@ -162,6 +117,126 @@ public class DataImportService {
         }
     }
 
+    /**
+     * 执行持久化导入任务
+     * 由导入任务工作线程调用：从检查点（tracker.committedRecords()）继续导入，每个批次结束后由 tracker 保存检查点。
+     * 文档ID由任务ID和记录偏移量确定，中断前最后一个未提交检查点的批次重新导入时覆盖而不是重复写入
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param request       导入请求
+     * @param filePath      数据文件
+     * @param status        任务状态（已按检查点恢复计数）
+     * @param tracker       进度跟踪
+     * @return 结束后的任务状态（COMPLETED 或 FAILED）
+     * @throws ImportInterruptedException 任务被取消或租约丢失，任务保持未结束状态
+     */
+    public ImportTaskStatus executeQueuedImport(Long searchSpaceId, ImportExecuteRequest request, Path filePath,
+            ImportTaskStatus status, ImportProgressTracker tracker) {
+        String taskId = request.getTaskId();
+
+        log.info("开始执行导入任务: searchSpaceId={}, taskId={}, mode={}, resumeFrom={}",
+                searchSpaceId, taskId, request.getMode(), tracker.committedRecords());
+
+        try {
+            runImport(searchSpaceId, request, filePath, status, tracker);
+            updateSearchSpaceStats(searchSpaceId, status.getSuccessCount());
+
+            log.info("导入任务完成: taskId={}, totalRecords={}, successCount={}",
+                    taskId, status.getTotalRecords(), status.getSuccessCount());
+        } catch (ImportInterruptedException e) {
+            log.info("导入任务中断: taskId={}, reason={}, processedRecords={}",
+                    taskId, e.getMessage(), status.getProcessedRecords());
+            throw e;
+        } catch (Exception e) {
+            log.error("导入任务失败: taskId={}, error={}", taskId, e.getMessage(), e);
+            markFailed(status, e);
+        }
+        return status;
+    }
+
+    /**
+     * 执行导入流程：分析数据、创建索引、批量导入、优化索引
+     */
+    private void runImport(Long searchSpaceId, ImportExecuteRequest request, Path filePath,
+            ImportTaskStatus status, ImportProgressTracker tracker) throws IOException {
+        // 验证搜索空间
+        SearchSpace searchSpace = validateSearchSpace(searchSpaceId);
+
+        // 第1步：分析JSON数据
+        status.setState(ImportTaskState.ANALYZING_DATA);
+        status.setStatusMessage("正在分析JSON数据结构...");
+        tracker.report(status);
+
+        JsonSchemaAnalysis analysis = analyzeJsonData(filePath);
+        status.setTotalRecords(analysis.getTotalRecords());
+        status.setTotalBatches((int) Math.ceil((double) analysis.getTotalRecords() / request.getBatchSize()));
+
+        // 第2步：生成索引配置
+        status.setState(ImportTaskState.CREATING_INDEX);
+        status.setStatusMessage("正在生成索引配置和创建索引...");
+        tracker.report(status);
+
+        IndexMappingConfig indexConfig = generateIndexConfig(searchSpace.getCode(), analysis,
+                searchSpace.getVectorStorageProfile());
+        if (tracker.isIndexPrepared()) {
+            log.info("索引已在之前的执行中创建，跳过: indexName={}", indexConfig.getIndexName());
+        } else {
+            createElasticsearchIndex(indexConfig, request.getMode());
+            tracker.markIndexPrepared(status);
+        }
+        if (request.getMode() == ImportExecuteRequest.ImportMode.APPEND) {
+            alignVectorStorageProfiles(indexConfig);
+        }
+
+        // 第3步：导入数据
+        status.setState(ImportTaskState.PROCESSING_DATA);
+        status.setStatusMessage("正在批量导入数据...");
+        tracker.report(status);
+
+        ImportTaskStatus.ImportResultSummary resultSummary = importData(
+                request.getTaskId(), searchSpaceId, filePath, indexConfig, analysis, request, status, tracker);
+
+        // 第4步：优化索引（可选）
+        if (Boolean.TRUE.equals(request.getEnableIndexOptimization())) {
+            status.setState(ImportTaskState.OPTIMIZING_INDEX);
+            status.setStatusMessage("正在优化索引...");
+            tracker.report(status);
+            optimizeIndex(indexConfig.getIndexName());
+        }
+
+        // 完成导入
+        status.setState(ImportTaskState.COMPLETED);
+        status.setEndTime(LocalDateTime.now());
+        status.setStatusMessage("数据导入完成");
+        status.setResultSummary(resultSummary);
+        status.updateProgressPercentage();
+    }
+
+    /**
+     * 标记任务失败
+     */
+    private void markFailed(ImportTaskStatus status, Exception e) {
+        status.setState(ImportTaskState.FAILED);
+        status.setEndTime(LocalDateTime.now());
+        status.setErrorMessage(e.getMessage());
+        status.setStatusMessage("导入失败: " + e.getMessage());
+    }
+
+    /**
+     * 更新搜索空间的文档统计，失败只记录日志
+     */
+    private void updateSearchSpaceStats(Long searchSpaceId, Integer successCount) {
+        if (successCount == null || successCount <= 0) {
+            return;
+        }
+        try {
+            searchSpaceService.updateImportStats(searchSpaceId, successCount);
+            log.info("更新搜索空间文档统计: searchSpaceId={}, successCount={}", searchSpaceId, successCount);
+        } catch (Exception e) {
+            log.warn("更新搜索空间文档统计失败: searchSpaceId={}, error={}", searchSpaceId, e.getMessage());
+        }
+    }
+
     /**
      * 基于JSON内容创建临时文件并执行同步导入
      * 为SearchSpaceController的同步导入提供便捷方法
@@ -174,29 +249,13 @@ public class DataImportService {
         Path tempFilePath = null;
 
         try {
-            // 创建临时文件
-            String fileName = "sync-import-" + taskId + ".json";
-            tempFilePath = fileStorageService.getTemporaryFilePath(fileName);
-
-            // 确保临时目录存在
-            if (!Files.exists(tempFilePath.getParent())) {
-                Files.createDirectories(tempFilePath.getParent());
-            }
+            tempFilePath = prepareTaskFile(taskId);
 
             // 写入文件内容
             Files.write(tempFilePath, jsonContent.getBytes(java.nio.charset.StandardCharsets.UTF_8));
             log.debug("创建临时文件用于同步导入: {}", tempFilePath);
 
-            // 构建导入请求
-            ImportExecuteRequest request = ImportExecuteRequest.builder()
-                    .taskId(taskId)
-                    .mode(ImportExecuteRequest.ImportMode.valueOf(mode.toUpperCase()))
-                    .batchSize(batchSize)
-                    .errorHandling(ImportExecuteRequest.ErrorHandlingStrategy.valueOf(errorHandling.toUpperCase()))
-                    .enableIndexOptimization(false) // 同步导入默认不开启索引优化
-                    .build();
-
-            return executeImportSync(searchSpaceId, request);
+            return executeImportSync(searchSpaceId, buildSyncImportRequest(taskId, mode, batchSize, errorHandling));
 
         } finally {
             // 确保清理临时文件 - 直接清理，不依赖cleanupTemporaryFiles方法
@@ -205,96 +264,70 @@ public class DataImportService {
     }
 
     /**
-     * 执行JSON数据导入
+     * 基于已落盘的JSON文件执行同步导入
+     * 文件被移动为任务临时文件，导入过程流式读取，不会整体加载到内存；导入结束后文件被删除
      *
      * @param searchSpaceId 搜索空间ID
-     * @param request       导入请求
-     * @return 任务状态
+     * @param jsonFile      JSON文件路径（应位于导入临时目录下，以便直接重命名）
      */
-    @Async("dataImportTaskExecutor")
-    public CompletableFuture<ImportTaskStatus> executeImport(Long searchSpaceId, ImportExecuteRequest request) {
-        String taskId = request.getTaskId();
-
-        log.info("开始执行数据导入: searchSpaceId={}, taskId={}, mode={}",
-                searchSpaceId, taskId, request.getMode());
+    public ImportTaskStatus executeImportFromFile(Long searchSpaceId, Path jsonFile,
+            String mode, Integer batchSize, String errorHandling) throws IOException {
 
-        // 初始化任务状态
-        ImportTaskStatus status = initializeTaskStatus(searchSpaceId, taskId);
-        updateTaskStatus(status);
+        String taskId = UUID.randomUUID().toString();
+        Path tempFilePath = null;
 
         try {
-            // 验证搜索空间
-            SearchSpace searchSpace = validateSearchSpace(searchSpaceId);
-
-            // 第1步：分析JSON数据
-            status.setState(ImportTaskState.ANALYZING_DATA);
-            status.setStatusMessage("正在分析JSON数据结构...");
-            updateTaskStatus(status);
-
-            JsonSchemaAnalysis analysis = analyzeJsonData(taskId, searchSpaceId);
-            status.setTotalRecords(analysis.getTotalRecords());
-            status.setTotalBatches((int) Math.ceil((double) analysis.getTotalRecords() / request.getBatchSize()));
-
-            // 检查是否被取消
-            checkCancellation(taskId);
-
-            // 第2步：生成索引配置
-            status.setState(ImportTaskState.CREATING_INDEX);
-            status.setStatusMessage("正在生成索引配置和创建索引...");
-            updateTaskStatus(status);
-
-            IndexMappingConfig indexConfig = generateIndexConfig(searchSpace.getCode(), analysis);
-            createElasticsearchIndex(indexConfig, request.getMode());
-
-            // 检查是否被取消
-            checkCancellation(taskId);
-
-            // 第3步：导入数据
-            status.setState(ImportTaskState.PROCESSING_DATA);
-            status.setStatusMessage("正在批量导入数据...");
-            updateTaskStatus(status);
+            tempFilePath = prepareTaskFile(taskId);
+            Files.move(jsonFile, tempFilePath, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("使用已上传文件进行同步导入: source={}, taskFile={}", jsonFile, tempFilePath);
 
-            ImportTaskStatus.ImportResultSummary resultSummary = importData(
-                    taskId, searchSpaceId, indexConfig, analysis, request, status);
+            return executeImportSync(searchSpaceId, buildSyncImportRequest(taskId, mode, batchSize, errorHandling));
 
-            // 第4步：优化索引（可选）
-            if (Boolean.TRUE.equals(request.getEnableIndexOptimization())) {
-                status.setState(ImportTaskState.OPTIMIZING_INDEX);
-                status.setStatusMessage("正在优化索引...");
-                updateTaskStatus(status);
-                optimizeIndex(indexConfig.getIndexName());
-            }
-
-            // 完成导入
-            status.setState(ImportTaskState.COMPLETED);
-            status.setEndTime(LocalDateTime.now());
-            status.setStatusMessage("数据导入完成");
-            status.setResultSummary(resultSummary);
-            status.updateProgressPercentage();
-            updateTaskStatus(status);
+        } finally {
+            safeCleanupFile(tempFilePath);
+            safeCleanupFile(jsonFile);
+        }
+    }
 
-            log.info("数据导入完成: taskId={}, totalRecords={}, successCount={}",
-                    taskId, analysis.getTotalRecords(), status.getSuccessCount());
+    /**
+     * 获取同步导入任务的临时文件路径，并确保临时目录存在
+     */
+    private Path prepareTaskFile(String taskId) throws IOException {
+        Path tempFilePath = fileStorageService.getTemporaryFilePath("sync-import-" + taskId + ".json");
+        if (!Files.exists(tempFilePath.getParent())) {
+            Files.createDirectories(tempFilePath.getParent());
+        }
+        return tempFilePath;
+    }
 
-            return CompletableFuture.completedFuture(status);
+    /**
+     * 构建同步导入请求
+     */
+    private ImportExecuteRequest buildSyncImportRequest(String taskId, String mode, Integer batchSize, String errorHandling) {
+        return ImportExecuteRequest.builder()
+                .taskId(taskId)
+                .mode(ImportExecuteRequest.ImportMode.valueOf(mode.toUpperCase()))
+                .batchSize(batchSize)
+                .errorHandling(ImportExecuteRequest.ErrorHandlingStrategy.valueOf(errorHandling.toUpperCase()))
+                .enableIndexOptimization(false) // 同步导入默认不开启索引优化
+                .build();
+    }
 
+    /**
+     * 执行JSON数据导入
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param request       导入请求
+     * @return 任务状态
+     * @deprecated 进程内异步导入在节点重启后会丢失任务，请通过 {@link ImportJobService#submit} 提交持久化导入任务；
+     *             本方法保留为同步执行的兼容入口
+     */
+    @Deprecated
+    public CompletableFuture<ImportTaskStatus> executeImport(Long searchSpaceId, ImportExecuteRequest request) {
+        try {
+            return CompletableFuture.completedFuture(executeImportSync(searchSpaceId, request));
         } catch (Exception e) {
-            log.error("数据导入失败: taskId={}, error={}", taskId, e.getMessage(), e);
-
-            status.setState(ImportTaskState.FAILED);
-            status.setEndTime(LocalDateTime.now());
-            status.setErrorMessage(e.getMessage());
-            status.setStatusMessage("导入失败: " + e.getMessage());
-            updateTaskStatus(status);
-
             return CompletableFuture.failedFuture(e);
-        } finally {
-            // 清理临时文件 - 不抛出异常，只记录日志
-            try {
-                cleanupTemporaryFiles(taskId, searchSpaceId);
-            } catch (Exception cleanupError) {
-                log.warn("清理临时文件时发生错误，但不影响导入结果: {}", cleanupError.getMessage());
-            }
         }
     }
 
@@ -383,6 +416,7 @@ public class DataImportService {
             searchSpace.setId(searchSpaceDTO.getId());
             searchSpace.setCode(searchSpaceDTO.getCode());
             searchSpace.setName(searchSpaceDTO.getName());
+            searchSpace.setVectorStorageProfile(searchSpaceDTO.getVectorStorageProfile());
             return searchSpace;
 
         } catch (Exception e) {
@@ -391,57 +425,61 @@ public class DataImportService {
     }
 
     /**
-     * 分析JSON数据 - 重载方法支持直接文件名
+     * 分析JSON数据
+     * 流式读取数据文件：前 analysisSampleSize 条记录用于结构分析，其余记录只校验语法并计数
      */
-    private JsonSchemaAnalysis analyzeJsonData(String taskId, Long searchSpaceId) throws IOException {
+    private JsonSchemaAnalysis analyzeJsonData(Path filePath) throws IOException {
+        List<Map<String, Object>> sample = new ArrayList<>();
+        int totalRecords = 0;
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, filePath)) {
+            while (true) {
+                if (sample.size() < analysisSampleSize) {
+                    Map<String, Object> record = reader.next();
+                    if (record == null) {
+                        break;
+                    }
+                    sample.add(record);
+                } else if (!reader.skip()) {
+                    break;
+                }
+                totalRecords++;
+            }
+        }
+
+        JsonSchemaAnalysis analysis = jsonAnalysisService.analyzeJsonArray(sample);
+        if (totalRecords == sample.size()) {
+            return analysis;
+        }
+        log.info("JSON数据按样本分析: sampleSize={}, totalRecords={}", sample.size(), totalRecords);
+        // 分析结果可能来自缓存，复制后再修改总记录数
+        return analysis.toBuilder().totalRecords(totalRecords).build();
+    }
+
+    /**
+     * 查找任务对应的临时文件
+     */
+    private Path resolveTaskFile(String taskId, Long searchSpaceId) {
         // 尝试通过taskId构建文件名
         String fileName = "sync-import-" + taskId + ".json";
         Path filePath = fileStorageService.getTemporaryFilePath(fileName);
-        
+
         // 如果文件不存在，尝试旧的方式
         if (!Files.exists(filePath)) {
             filePath = fileStorageService.getTemporaryFilePath(taskId, searchSpaceId);
         }
-        
-        if (!Files.exists(filePath)) {
-            throw new RuntimeException("临时文件不存在: " + filePath);
-        }
 
-        String jsonContent = Files.readString(filePath);
-        List<Map<String, Object>> jsonData = parseJsonData(jsonContent);
-
-        return jsonAnalysisService.analyzeJsonArray(jsonData);
-    }
-
-    /**
-     * 解析JSON数据
-     */
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> parseJsonData(String jsonContent) throws IOException {
-        Object parsed = objectMapper.readValue(jsonContent, Object.class);
-
-        if (parsed instanceof List) {
-            return (List<Map<String, Object>>) parsed;
-        } else if (parsed instanceof Map) {
-            Map<String, Object> dataMap = (Map<String, Object>) parsed;
-            // 尝试找到数组字段
-            for (Object value : dataMap.values()) {
-                if (value instanceof List) {
-                    return (List<Map<String, Object>>) value;
-                }
-            }
-            // 如果没有找到数组，将单个对象包装成数组
-            return List.of(dataMap);
-        } else {
-            throw new RuntimeException("不支持的JSON数据格式");
+        if (!Files.exists(filePath)) {
+            throw new RuntimeException("未找到任务对应的临时文件: " + filePath);
         }
+        return filePath;
     }
 
     /**
      * 生成索引配置
      */
-    private IndexMappingConfig generateIndexConfig(String searchSpaceCode, JsonSchemaAnalysis analysis) {
-        IndexMappingConfig config = indexConfigService.generateIndexConfig(searchSpaceCode, analysis);
+    private IndexMappingConfig generateIndexConfig(String searchSpaceCode, JsonSchemaAnalysis analysis,
+                                                   VectorStorageProfile vectorProfile) {
+        IndexMappingConfig config = indexConfigService.generateIndexConfig(searchSpaceCode, analysis, vectorProfile);
 
         if (!indexConfigService.validateIndexConfig(config)) {
             throw new RuntimeException("生成的索引配置无效");
@@ -450,6 +488,34 @@ public class DataImportService {
         return config;
     }
 
+    /**
+     * 追加模式下以现有索引的向量存储档位为准
+     * 搜索空间的档位修改后只在重建索引时生效，追加写入的向量必须与现有映射的 element_type 一致
+     */
+    private void alignVectorStorageProfiles(IndexMappingConfig config) {
+        try {
+            var response = elasticsearchClient.indices().getMapping(m -> m.index(config.getIndexName()));
+            response.result().values().forEach(record -> {
+                if (record.mappings() == null || record.mappings().properties() == null) {
+                    return;
+                }
+                record.mappings().properties().forEach((fieldName, property) -> {
+                    IndexMappingConfig.FieldMapping mapping = config.getFieldMappings().get(fieldName);
+                    if (property.isDenseVector() && mapping != null && mapping.getVectorConfig() != null) {
+                        VectorStorageProfile existing = DenseVectorMappings.profileOf(property);
+                        if (existing != mapping.getVectorConfig().getStorageProfile()) {
+                            log.info("追加模式沿用现有索引的向量存储档位: field={}, profile={}", fieldName, existing);
+                            mapping.getVectorConfig().setStorageProfile(existing);
+                        }
+                    }
+                });
+            });
+        } catch (Exception e) {
+            log.warn("读取现有索引的向量存储档位失败，按搜索空间配置写入: index={}, error={}",
+                    config.getIndexName(), e.getMessage());
+        }
+    }
+
     /**
      * 创建Elasticsearch索引
      */
@@ -558,6 +624,16 @@ public class DataImportService {
                             t.searchAnalyzer(mapping.getSearchAnalyzer());
                         }
 
+                        // 高亮字段记录偏移量
+                        if (mapping.getIndexOptions() != null) {
+                            for (co.elastic.clients.elasticsearch._types.mapping.IndexOptions option :
+                                    co.elastic.clients.elasticsearch._types.mapping.IndexOptions.values()) {
+                                if (option.jsonValue().equals(mapping.getIndexOptions())) {
+                                    t.indexOptions(option);
+                                }
+                            }
+                        }
+
                         if (mapping.getFields() != null) {
                             Map<String, co.elastic.clients.elasticsearch._types.mapping.Property> fields = new HashMap<>();
                             for (Map.Entry<String, IndexMappingConfig.FieldMapping> fieldEntry : mapping.getFields().entrySet()) {
@@ -589,38 +665,9 @@ public class DataImportService {
             case "completion" -> co.elastic.clients.elasticsearch._types.mapping.Property.of(p -> p
                     .completion(c -> c)
             );
-            case "dense_vector" -> co.elastic.clients.elasticsearch._types.mapping.Property.of(p -> p
-                    .denseVector(dv -> {
-                        if (mapping.getVectorConfig() != null) {
-                            IndexMappingConfig.VectorFieldConfig vectorConfig = mapping.getVectorConfig();
-                            dv.dims(vectorConfig.getDims());
-
-                            if (vectorConfig.getSimilarity() != null) {
-                                // 设置相似度算法
-                                dv.similarity(vectorConfig.getSimilarity());
-                            }
-
-                            if (vectorConfig.getIndex() != null) {
-                                dv.index(vectorConfig.getIndex());
-                            }
-
-                            // 如果是HNSW索引，添加索引选项
-                            if ("hnsw".equals(vectorConfig.getIndexType()) && vectorConfig.getIndex() != null && vectorConfig.getIndex()) {
-                                dv.indexOptions(indexOpts -> {
-                                    indexOpts.type("hnsw");
-                                    if (vectorConfig.getM() != null) {
-                                        indexOpts.m(vectorConfig.getM());
-                                    }
-                                    if (vectorConfig.getEfConstruction() != null) {
-                                        indexOpts.efConstruction(vectorConfig.getEfConstruction());
-                                    }
-                                    return indexOpts;
-                                });
-                            }
-                        }
-                        return dv;
-                    })
-            );
+            case "dense_vector" -> mapping.getVectorConfig() != null
+                    ? DenseVectorMappings.toProperty(mapping.getVectorConfig())
+                    : co.elastic.clients.elasticsearch._types.mapping.Property.of(p -> p.denseVector(dv -> dv));
             default -> co.elastic.clients.elasticsearch._types.mapping.Property.of(p -> p
                     .text(t -> t.analyzer("standard"))
             );
@@ -629,119 +676,121 @@ public class DataImportService {
 
     /**
      * 导入数据
+     * 跳过检查点之前已提交的记录，每个批次结束后报告进度（即保存检查点）
      */
     private ImportTaskStatus.ImportResultSummary importData(
-            String taskId, Long searchSpaceId, IndexMappingConfig indexConfig,
-            JsonSchemaAnalysis analysis, ImportExecuteRequest request, ImportTaskStatus status) throws IOException {
+            String taskId, Long searchSpaceId, Path filePath, IndexMappingConfig indexConfig,
+            JsonSchemaAnalysis analysis, ImportExecuteRequest request, ImportTaskStatus status,
+            ImportProgressTracker tracker) throws IOException {
 
         long startTime = System.currentTimeMillis();
         String indexName = indexConfig.getIndexName();
         int batchSize = request.getBatchSize();
         List<String> errorDetails = new ArrayList<>();
 
-        // 读取JSON数据 - 修复临时文件路径
-        String fileName = "sync-import-" + taskId + ".json";
-        Path filePath = fileStorageService.getTemporaryFilePath(fileName);
-        
-        // 如果新格式文件不存在，尝试旧格式
-        if (!Files.exists(filePath)) {
-            filePath = fileStorageService.getTemporaryFilePath(taskId, searchSpaceId);
-        }
-        
-        if (!Files.exists(filePath)) {
-            throw new RuntimeException("未找到任务对应的临时文件: " + filePath);
-        }
-
-        String jsonContent = Files.readString(filePath);
-        List<Map<String, Object>> jsonData = parseJsonData(jsonContent);
-
-        // 分批导入
-        int totalRecords = jsonData.size();
+        // 分批导入，从检查点继续
+        int totalRecords = analysis.getTotalRecords();
         int totalBatches = (int) Math.ceil((double) totalRecords / batchSize);
-        int successCount = 0;
-        int errorCount = 0;
-
-        for (int batchIndex = 0; batchIndex < totalBatches; batchIndex++) {
-            // 检查是否被取消
-            checkCancellation(taskId);
+        int processedRecords = tracker.committedRecords();
+        int successCount = status.getSuccessCount() != null ? status.getSuccessCount() : 0;
+        int errorCount = status.getErrorCount() != null ? status.getErrorCount() : 0;
+        int batchIndex = status.getCurrentBatch() != null ? status.getCurrentBatch() : 0;
+
+        // 流式读取JSON数据，内存中只保留当前批次
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, filePath)) {
+            for (int skipped = 0; skipped < processedRecords; skipped++) {
+                if (!reader.skip()) {
+                    throw new IOException("检查点超出数据文件记录数: " + processedRecords);
+                }
+            }
+            if (processedRecords > 0) {
+                log.info("从检查点继续导入: taskId={}, committedRecords={}, batch={}", taskId, processedRecords, batchIndex);
+            }
 
-            int startIndex = batchIndex * batchSize;
-            int endIndex = Math.min(startIndex + batchSize, totalRecords);
-            List<Map<String, Object>> batchData = jsonData.subList(startIndex, endIndex);
+            while (true) {
+                List<Map<String, Object>> batchData = reader.nextBatch(batchSize);
+                if (batchData.isEmpty()) {
+                    break;
+                }
+                int startOffset = processedRecords;
+                processedRecords += batchData.size();
 
-            try {
-                // 执行批量导入
-                BulkResponse response = performBulkIndex(indexName, batchData, searchSpaceId, indexConfig);
+                try {
+                    // 执行批量导入
+                    BulkResponse response = performBulkIndex(indexName, batchData, searchSpaceId, indexConfig,
+                            taskId, startOffset);
 
-                // 处理响应结果
-                if (response.errors()) {
-                    log.warn("批次 {} 存在错误，详细分析批量响应", batchIndex + 1);
+                    // 处理响应结果
+                    if (response.errors()) {
+                        log.warn("批次 {} 存在错误，详细分析批量响应", batchIndex + 1);
                     
-                    // 详细分析每个响应项
-                    int batchSuccessCount = 0;
-                    int batchErrorCount = 0;
+                        // 详细分析每个响应项
+                        int batchSuccessCount = 0;
+                        int batchErrorCount = 0;
                     
-                    for (int itemIndex = 0; itemIndex < response.items().size(); itemIndex++) {
-                        var item = response.items().get(itemIndex);
+                        for (int itemIndex = 0; itemIndex < response.items().size(); itemIndex++) {
+                            var item = response.items().get(itemIndex);
                         
-                        if (item.error() != null) {
-                            batchErrorCount++;
-                            var error = item.error();
-                            if (error != null) {
-                                log.error("文档 {} 导入失败: 错误类型={}, 错误原因={}, 错误详情={}",
-                                    itemIndex,
-                                    error.type() != null ? error.type() : "unknown",
-                                    error.reason() != null ? error.reason() : "unknown",
-                                    error.toString());
+                            if (item.error() != null) {
+                                batchErrorCount++;
+                                var error = item.error();
+                                if (error != null) {
+                                    log.error("文档 {} 导入失败: 错误类型={}, 错误原因={}, 错误详情={}",
+                                        itemIndex,
+                                        error.type() != null ? error.type() : "unknown",
+                                        error.reason() != null ? error.reason() : "unknown",
+                                        error.toString());
+                                } else {
+                                    log.error("文档 {} 导入失败: 未知错误", itemIndex);
+                                }
                             } else {
-                                log.error("文档 {} 导入失败: 未知错误", itemIndex);
+                                batchSuccessCount++;
+                                log.debug("文档 {} 导入成功", itemIndex);
                             }
-                        } else {
-                            batchSuccessCount++;
-                            log.debug("文档 {} 导入成功", itemIndex);
                         }
-                    }
                     
-                    log.info("批次 {} 详细结果: 成功={}, 失败={}", batchIndex + 1, batchSuccessCount, batchErrorCount);
+                        log.info("批次 {} 详细结果: 成功={}, 失败={}", batchIndex + 1, batchSuccessCount, batchErrorCount);
                     
-                    errorCount += batchErrorCount;
-                    successCount += batchSuccessCount;
+                        errorCount += batchErrorCount;
+                        successCount += batchSuccessCount;
                     
-                    // 记录详细错误信息
-                    if (batchErrorCount > 0) {
-                        String errorMsg = String.format("批次 %d 有 %d 个文档导入失败", batchIndex + 1, batchErrorCount);
-                        errorDetails.add(errorMsg);
-                    }
+                        // 记录详细错误信息
+                        if (batchErrorCount > 0) {
+                            String errorMsg = String.format("批次 %d 有 %d 个文档导入失败", batchIndex + 1, batchErrorCount);
+                            errorDetails.add(errorMsg);
+                        }
                     
-                    if (request.getErrorHandling() == ImportExecuteRequest.ErrorHandlingStrategy.STOP_ON_ERROR) {
-                        throw new RuntimeException("遇到错误停止导入，批次: " + (batchIndex + 1));
+                        if (request.getErrorHandling() == ImportExecuteRequest.ErrorHandlingStrategy.STOP_ON_ERROR) {
+                            throw new RuntimeException("遇到错误停止导入，批次: " + (batchIndex + 1));
+                        }
+                    } else {
+                        successCount += batchData.size();
+                        log.info("批次 {} 全部成功: 导入 {} 个文档", batchIndex + 1, batchData.size());
                     }
-                } else {
-                    successCount += batchData.size();
-                    log.info("批次 {} 全部成功: 导入 {} 个文档", batchIndex + 1, batchData.size());
-                }
 
-                // 更新进度
-                status.setCurrentBatch(batchIndex + 1);
-                status.setProcessedRecords(endIndex);
-                status.setSuccessCount(successCount);
-                status.setErrorCount(errorCount);
-                status.updateProgressPercentage();
-                status.setStatusMessage(String.format("正在导入数据... (%d/%d 批次)", batchIndex + 1, totalBatches));
-                updateTaskStatus(status);
+                    log.debug("批次 {}/{} 导入完成: 成功={}, 失败={}", batchIndex + 1, totalBatches, batchData.size() - errorCount, errorCount);
 
-                log.debug("批次 {}/{} 导入完成: 成功={}, 失败={}", batchIndex + 1, totalBatches, batchData.size() - errorCount, errorCount);
+                } catch (Exception e) {
+                    String error = "批次 " + (batchIndex + 1) + " 导入失败: " + e.getMessage();
+                    errorDetails.add(error);
+                    errorCount += batchData.size();
 
-            } catch (Exception e) {
-                String error = "批次 " + (batchIndex + 1) + " 导入失败: " + e.getMessage();
-                errorDetails.add(error);
-                errorCount += batchData.size();
+                    if (request.getErrorHandling() == ImportExecuteRequest.ErrorHandlingStrategy.STOP_ON_ERROR) {
+                        throw new RuntimeException(error, e);
+                    }
 
-                if (request.getErrorHandling() == ImportExecuteRequest.ErrorHandlingStrategy.STOP_ON_ERROR) {
-                    throw new RuntimeException(error, e);
+                    log.error("批次 {} 导入失败", batchIndex + 1, e);
                 }
+                batchIndex++;
 
-                log.error("批次 {} 导入失败", batchIndex + 1, e);
+                // 更新进度并保存检查点
+                status.setCurrentBatch(batchIndex);
+                status.setProcessedRecords(processedRecords);
+                status.setSuccessCount(successCount);
+                status.setErrorCount(errorCount);
+                status.updateProgressPercentage();
+                status.setStatusMessage(String.format("正在导入数据... (%d/%d 批次)", batchIndex, totalBatches));
+                tracker.report(status);
             }
         }
 
@@ -763,57 +812,34 @@ public class DataImportService {
 
     /**
      * 执行批量索引操作
+     * 文档ID为“任务ID-记录偏移量”，同一任务重复导入同一记录时覆盖原文档
      */
-    private BulkResponse performBulkIndex(String indexName, List<Map<String, Object>> batchData, Long searchSpaceId, IndexMappingConfig indexConfig) throws IOException {
+    private BulkResponse performBulkIndex(String indexName, List<Map<String, Object>> batchData, Long searchSpaceId,
+                                          IndexMappingConfig indexConfig, String taskId, int startOffset) throws IOException {
         // 动态调整批次大小以避免内存溢出
         int maxBatchSize = calculateOptimalBatchSize(batchData);
         if (batchData.size() > maxBatchSize) {
             log.warn("批次大小 {} 过大，将拆分为多个子批次进行处理，最大子批次大小: {}", batchData.size(), maxBatchSize);
-            return performBulkIndexInChunks(indexName, batchData, searchSpaceId, indexConfig, maxBatchSize);
+            return performBulkIndexInChunks(indexName, batchData, searchSpaceId, indexConfig, maxBatchSize,
+                    taskId, startOffset);
         }
 
-        List<BulkOperation> operations = new ArrayList<>();
-
-        for (int i = 0; i < batchData.size(); i++) {
-            Map<String, Object> document = new HashMap<>(batchData.get(i));
-
-            // 添加系统字段
-            document.put("_searchSpaceId", searchSpaceId);
-            document.put("_documentId", UUID.randomUUID().toString());
-            // 修复：使用符合Elasticsearch strict_date_time格式的时间戳
-            document.put("_importTimestamp", LocalDateTime.now().atZone(java.time.ZoneId.systemDefault()).format(DateTimeFormatter.ISO_INSTANT));
-            document.put("_dataVersion", 1);
-            // 设置默认审核状态为可用
-            document.put("audit_status", "available");
-
-            // 生成向量字段
-            generateVectorFields(document, indexConfig);
-
-            // 清洗日期字段：将空字符串转换为null,避免Elasticsearch解析错误
-            sanitizeDateFields(document, indexConfig);
-
-            IndexOperation<Map<String, Object>> indexOp = IndexOperation.of(io -> io
-                    .index(indexName)
-                    .id(UUID.randomUUID().toString())
-                    .document(document)
-            );
-
-            operations.add(BulkOperation.of(bo -> bo.index(indexOp)));
-        }
-
-        BulkRequest request = BulkRequest.of(br -> br
-                .index(indexName)
-                .operations(operations)
-        );
+        return performBulkIndexSingle(indexName, batchData, searchSpaceId, indexConfig, taskId, startOffset);
+    }
 
-        return executeWithRetry(() -> elasticsearchClient.bulk(request));
+    /**
+     * 生成文档ID
+     */
+    private static String documentId(String taskId, int offset) {
+        return taskId + "-" + offset;
     }
 
     /**
      * 分块执行批量索引操作
      */
     private BulkResponse performBulkIndexInChunks(String indexName, List<Map<String, Object>> batchData,
-                                                   Long searchSpaceId, IndexMappingConfig indexConfig, int chunkSize) throws IOException {
+                                                   Long searchSpaceId, IndexMappingConfig indexConfig, int chunkSize,
+                                                   String taskId, int startOffset) throws IOException {
         int totalItems = batchData.size();
         int successCount = 0;
         int errorCount = 0;
@@ -829,7 +855,8 @@ public class DataImportService {
             log.debug("处理子批次 {}-{} / {}", i + 1, endIndex, totalItems);
 
             try {
-                BulkResponse chunkResponse = performBulkIndexSingle(indexName, chunk, searchSpaceId, indexConfig);
+                BulkResponse chunkResponse = performBulkIndexSingle(indexName, chunk, searchSpaceId, indexConfig,
+                        taskId, startOffset + i);
                 allItems.addAll(chunkResponse.items());
 
                 if (chunkResponse.errors()) {
@@ -880,15 +907,17 @@ public class DataImportService {
      * 执行单个子批次的批量索引操作
      */
     private BulkResponse performBulkIndexSingle(String indexName, List<Map<String, Object>> chunk,
-                                                Long searchSpaceId, IndexMappingConfig indexConfig) throws IOException {
+                                                Long searchSpaceId, IndexMappingConfig indexConfig,
+                                                String taskId, int startOffset) throws IOException {
         List<BulkOperation> operations = new ArrayList<>();
 
-        for (Map<String, Object> originalDocument : chunk) {
-            Map<String, Object> document = new HashMap<>(originalDocument);
+        for (int i = 0; i < chunk.size(); i++) {
+            Map<String, Object> document = new HashMap<>(chunk.get(i));
+            String documentId = documentId(taskId, startOffset + i);
 
             // 添加系统字段
             document.put("_searchSpaceId", searchSpaceId);
-            document.put("_documentId", UUID.randomUUID().toString());
+            document.put("_documentId", documentId);
             document.put("_importTimestamp", LocalDateTime.now().atZone(java.time.ZoneId.systemDefault()).format(DateTimeFormatter.ISO_INSTANT));
             document.put("_dataVersion", 1);
             // 设置默认审核状态为可用
@@ -902,7 +931,7 @@ public class DataImportService {
 
             IndexOperation<Map<String, Object>> indexOp = IndexOperation.of(io -> io
                     .index(indexName)
-                    .id(UUID.randomUUID().toString())
+                    .id(documentId)
                     .document(document)
             );
 
@@ -914,7 +943,9 @@ public class DataImportService {
                 .operations(operations)
         );
 
-        return executeWithRetry(() -> elasticsearchClient.bulk(request));
+        BulkResponse response = executeWithRetry(() -> elasticsearchClient.bulk(request));
+        searchCacheInvalidator.invalidateIndex(indexName);
+        return response;
     }
 
     /**
@@ -1069,7 +1100,30 @@ public class DataImportService {
     private void checkCancellation(String taskId) {
         if (cancelledTasks.contains(taskId)) {
             cancelledTasks.remove(taskId);
-            throw new RuntimeException("任务已被取消");
+            throw new ImportInterruptedException("任务已被取消");
+        }
+    }
+
+    /**
+     * 同步导入的进度跟踪：更新本节点内存中的任务状态，并响应 {@link #cancelImport(String)}
+     */
+    private class InMemoryProgressTracker implements ImportProgressTracker {
+
+        private final String taskId;
+
+        InMemoryProgressTracker(String taskId) {
+            this.taskId = taskId;
+        }
+
+        @Override
+        public void markIndexPrepared(ImportTaskStatus status) {
+            // 同步导入不续传，无需记录
+        }
+
+        @Override
+        public void report(ImportTaskStatus status) {
+            updateTaskStatus(status);
+            checkCancellation(taskId);
         }
     }
 
@@ -1103,12 +1157,16 @@ public class DataImportService {
                                 // 生成嵌入向量
                                 List<Float> embedding = embeddingService.getTextEmbedding(text);
                                 if (embedding != null && !embedding.isEmpty()) {
-                                    // 转换为double数组以符合Elasticsearch要求
-                                    double[] embeddingArray = embedding.stream()
-                                            .mapToDouble(Float::doubleValue)
-                                            .toArray();
-                                    document.put(vectorFieldName, embeddingArray);
-                                    log.debug("为字段 {} 生成向量: {} 维", fieldName, embeddingArray.length);
+                                    // 按向量字段的存储档位编码：float档位写double数组，byte档位归一化后量化
+                                    VectorStorageProfile profile = vectorStorageProfile(
+                                            indexConfig.getFieldMappings().get(vectorFieldName));
+                                    Object encoded = profile.encode(embedding);
+                                    if (encoded != null) {
+                                        document.put(vectorFieldName, encoded);
+                                        log.debug("为字段 {} 生成向量: {} 维, profile={}", fieldName, embedding.size(), profile);
+                                    } else {
+                                        log.warn("字段 {} 向量为零向量，跳过写入", fieldName);
+                                    }
                                 } else {
                                     log.warn("字段 {} 向量生成失败：返回空向量", fieldName);
                                 }
@@ -1127,6 +1185,17 @@ public class DataImportService {
         }
     }
 
+    /**
+     * 向量字段的存储档位
+     */
+    private static VectorStorageProfile vectorStorageProfile(IndexMappingConfig.FieldMapping vectorMapping) {
+        if (vectorMapping == null || vectorMapping.getVectorConfig() == null
+                || vectorMapping.getVectorConfig().getStorageProfile() == null) {
+            return VectorStorageProfile.FLOAT;
+        }
+        return vectorMapping.getVectorConfig().getStorageProfile();
+    }
+
     /**
      * 判断是否应该为该字段生成向量
      */
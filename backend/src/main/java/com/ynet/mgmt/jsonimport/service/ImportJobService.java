@@ -0,0 +1,330 @@
+package com.ynet.mgmt.jsonimport.service;
+
+import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.entity.ImportJob;
+import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import com.ynet.mgmt.jsonimport.repository.ImportJobRepository;
+import com.ynet.mgmt.searchspace.service.FileStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 导入任务队列服务
+ *
+ * 导入任务持久化在 import_jobs 表中，任一节点都可以提交、查询和取消任务；
+ * 各节点的 {@link ImportJobWorker} 通过租约认领任务执行：
+ * 1. 认领是带条件的单条UPDATE，同一任务同一时刻只有一个持有者
+ * 2. 持有者定期续约并按批次保存检查点，租约过期（节点宕机）后其他节点从检查点继续
+ * 3. 同一搜索空间的任务按提交顺序串行执行，只有最早的未结束任务可被认领
+ *
+ * 数据文件保存在导入临时目录（app.import.temp-dir），多节点部署时该目录需位于共享存储
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+
+    /**
+     * 终态：不再被认领
+     */
+    static final Set<ImportTaskState> TERMINAL_STATES =
+            EnumSet.of(ImportTaskState.COMPLETED, ImportTaskState.FAILED, ImportTaskState.CANCELLED);
+
+    private final ImportJobRepository importJobRepository;
+    private final FileStorageService fileStorageService;
+    private final String nodeId;
+    private final Duration leaseDuration;
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            FileStorageService fileStorageService,
+                            @Value("${app.import.queue.node-id:}") String nodeId,
+                            @Value("${app.import.queue.lease-duration:PT2M}") Duration leaseDuration) {
+        this.importJobRepository = importJobRepository;
+        this.fileStorageService = fileStorageService;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseDuration = leaseDuration;
+        log.info("导入任务队列初始化: nodeId={}, leaseDuration={}", this.nodeId, leaseDuration);
+    }
+
+    /**
+     * 提交导入任务
+     * 数据文件被移动为任务文件，任务进入等待队列，由任一节点的工作线程执行
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param jsonFile      已校验的JSON文件（应位于导入临时目录下，以便直接重命名）
+     * @param fileName      原始文件名
+     * @param request       导入参数，taskId为空时自动生成
+     * @return 任务状态
+     */
+    public ImportTaskStatus submit(Long searchSpaceId, Path jsonFile, String fileName,
+                                   ImportExecuteRequest request) throws IOException {
+        String taskId = request.getTaskId() != null ? request.getTaskId() : UUID.randomUUID().toString();
+        Path jobFile = fileStorageService.getTemporaryFilePath("import-job-" + taskId + ".json");
+        Files.move(jsonFile, jobFile, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = new ImportJob();
+        job.setId(taskId);
+        job.setSearchSpaceId(searchSpaceId);
+        job.setState(ImportTaskState.PENDING);
+        job.setMode(request.getMode());
+        job.setBatchSize(request.getBatchSize());
+        job.setErrorHandling(request.getErrorHandling());
+        job.setEnableIndexOptimization(Boolean.TRUE.equals(request.getEnableIndexOptimization()));
+        job.setFilePath(jobFile.toString());
+        job.setFileName(fileName);
+        job.setIndexPrepared(false);
+        job.setTotalRecords(0);
+        job.setProcessedRecords(0);
+        job.setSuccessCount(0);
+        job.setErrorCount(0);
+        job.setCurrentBatch(0);
+        job.setTotalBatches(0);
+        job.setAttempts(0);
+        job.setStatusMessage("任务已提交，等待执行...");
+
+        try {
+            job = importJobRepository.save(job);
+        } catch (RuntimeException e) {
+            fileStorageService.deleteTemporaryFile(jobFile);
+            throw e;
+        }
+
+        log.info("导入任务已提交: taskId={}, searchSpaceId={}, mode={}, file={}",
+                taskId, searchSpaceId, request.getMode(), fileName);
+        return toStatus(job);
+    }
+
+    /**
+     * 查询任务状态（任一节点均可查询）
+     *
+     * @param taskId 任务ID
+     * @return 任务状态，不存在时返回null
+     */
+    public ImportTaskStatus getStatus(String taskId) {
+        return importJobRepository.findById(taskId).map(this::toStatus).orElse(null);
+    }
+
+    /**
+     * 查询搜索空间最近的导入任务
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param limit         返回数量
+     * @return 按提交时间倒序的任务状态
+     */
+    public List<ImportTaskStatus> listJobs(Long searchSpaceId, int limit) {
+        return importJobRepository.findBySearchSpaceIdOrderByCreatedAtDesc(searchSpaceId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toStatus)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 取消任务
+     * 等待中的任务直接结束；执行中的任务由持有节点在下一个检查点发现后停止
+     *
+     * @param taskId 任务ID
+     * @return 是否取消成功，任务不存在或已结束时返回false
+     */
+    public boolean cancel(String taskId) {
+        Optional<ImportJob> job = importJobRepository.findById(taskId);
+        if (job.isEmpty()) {
+            return false;
+        }
+        int updated = importJobRepository.cancel(taskId, ImportTaskState.CANCELLED, "任务已被取消",
+                LocalDateTime.now(), TERMINAL_STATES);
+        if (updated == 0) {
+            log.warn("任务不能取消: taskId={}, state={}", taskId, job.get().getState());
+            return false;
+        }
+        log.info("取消导入任务: taskId={}, leaseOwner={}", taskId, job.get().getLeaseOwner());
+        if (job.get().getLeaseOwner() == null) {
+            deleteJobFile(job.get());
+        }
+        return true;
+    }
+
+    /**
+     * 查找当前可认领的任务：每个搜索空间最早的未结束任务，且没有有效租约
+     *
+     * @return 可认领的任务，按提交时间升序
+     */
+    public List<ImportJob> findClaimable() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ImportJob> heads = new LinkedHashMap<>();
+        for (ImportJob job : importJobRepository.findByStateNotInOrderByCreatedAtAscIdAsc(TERMINAL_STATES)) {
+            heads.putIfAbsent(job.getSearchSpaceId(), job);
+        }
+        return heads.values().stream()
+                .filter(job -> job.getLeaseOwner() == null
+                        || job.getLeaseExpiresAt() == null
+                        || job.getLeaseExpiresAt().isBefore(now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 认领任务
+     *
+     * @param taskId 任务ID
+     * @return 认领成功后的任务，已被其他节点认领或已结束时返回空
+     */
+    public Optional<ImportJob> claim(String taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = importJobRepository.claim(taskId, nodeId, now.plus(leaseDuration), now,
+                ImportTaskState.PENDING, ImportTaskState.RUNNING, TERMINAL_STATES);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return importJobRepository.findById(taskId);
+    }
+
+    /**
+     * 续约
+     *
+     * @param taskId 任务ID
+     * @return 是否仍持有租约
+     */
+    public boolean renewLease(String taskId) {
+        return importJobRepository.renewLease(taskId, nodeId, LocalDateTime.now().plus(leaseDuration),
+                TERMINAL_STATES) > 0;
+    }
+
+    /**
+     * 保存检查点并续约
+     *
+     * @param taskId        任务ID
+     * @param status        当前任务状态
+     * @param indexPrepared 索引是否已创建
+     * @return 是否仍持有租约，false表示任务已被取消或租约已被其他节点接管
+     */
+    public boolean checkpoint(String taskId, ImportTaskStatus status, boolean indexPrepared) {
+        LocalDateTime now = LocalDateTime.now();
+        return importJobRepository.checkpoint(taskId, nodeId, status.getState(), status.getStatusMessage(),
+                indexPrepared, zeroIfNull(status.getTotalRecords()), zeroIfNull(status.getTotalBatches()),
+                zeroIfNull(status.getProcessedRecords()), zeroIfNull(status.getSuccessCount()),
+                zeroIfNull(status.getErrorCount()), zeroIfNull(status.getCurrentBatch()),
+                now.plus(leaseDuration), now, TERMINAL_STATES) > 0;
+    }
+
+    /**
+     * 结束任务并释放租约
+     *
+     * @param taskId 任务ID
+     * @param status 结束时的任务状态（COMPLETED 或 FAILED）
+     * @return 是否更新成功，false表示任务已被取消或租约已丢失
+     */
+    public boolean finish(String taskId, ImportTaskStatus status) {
+        return importJobRepository.finish(taskId, nodeId, status.getState(), status.getStatusMessage(),
+                status.getErrorMessage(), zeroIfNull(status.getProcessedRecords()),
+                zeroIfNull(status.getSuccessCount()), zeroIfNull(status.getErrorCount()),
+                LocalDateTime.now(), TERMINAL_STATES) > 0;
+    }
+
+    /**
+     * 释放租约，任务保留检查点等待重新认领
+     *
+     * @param taskId 任务ID
+     */
+    public void release(String taskId) {
+        importJobRepository.releaseLease(taskId, nodeId);
+    }
+
+    /**
+     * 删除任务数据文件
+     *
+     * @param job 任务
+     */
+    public void deleteJobFile(ImportJob job) {
+        fileStorageService.deleteTemporaryFile(Path.of(job.getFilePath()));
+    }
+
+    /**
+     * 任务是否已结束
+     *
+     * @param taskId 任务ID
+     * @return 是否已结束，任务不存在时视为已结束
+     */
+    public boolean isTerminal(String taskId) {
+        return importJobRepository.findById(taskId)
+                .map(job -> TERMINAL_STATES.contains(job.getState()))
+                .orElse(true);
+    }
+
+    /**
+     * 本节点标识
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 构建任务对应的导入请求
+     *
+     * @param job 任务
+     * @return 导入请求
+     */
+    public ImportExecuteRequest toRequest(ImportJob job) {
+        return ImportExecuteRequest.builder()
+                .taskId(job.getId())
+                .mode(job.getMode())
+                .batchSize(job.getBatchSize())
+                .errorHandling(job.getErrorHandling())
+                .enableIndexOptimization(job.getEnableIndexOptimization())
+                .build();
+    }
+
+    /**
+     * 转换为任务状态
+     *
+     * @param job 任务
+     * @return 任务状态
+     */
+    public ImportTaskStatus toStatus(ImportJob job) {
+        ImportTaskStatus status = ImportTaskStatus.builder()
+                .taskId(job.getId())
+                .searchSpaceId(job.getSearchSpaceId())
+                .state(job.getState())
+                .totalRecords(zeroIfNull(job.getTotalRecords()))
+                .processedRecords(zeroIfNull(job.getProcessedRecords()))
+                .successCount(zeroIfNull(job.getSuccessCount()))
+                .errorCount(zeroIfNull(job.getErrorCount()))
+                .currentBatch(zeroIfNull(job.getCurrentBatch()))
+                .totalBatches(zeroIfNull(job.getTotalBatches()))
+                .startTime(job.getStartedAt() != null ? job.getStartedAt() : job.getCreatedAt())
+                .endTime(job.getFinishedAt())
+                .statusMessage(job.getStatusMessage())
+                .errorMessage(job.getErrorMessage())
+                .errorDetails(new ArrayList<>())
+                .build();
+        status.updateProgressPercentage();
+        return status;
+    }
+
+    private static int zeroIfNull(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
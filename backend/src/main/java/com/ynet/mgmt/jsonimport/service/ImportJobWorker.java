@@ -0,0 +1,247 @@
+package com.ynet.mgmt.jsonimport.service;
+
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.entity.ImportJob;
+import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import com.ynet.mgmt.jsonimport.exception.ImportInterruptedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入任务工作线程
+ *
+ * 每个节点都运行一个工作线程池：定时查询可认领的任务，认领成功后在本节点执行，
+ * 执行期间按 租约时长/3 的间隔续约，每个批次结束后保存检查点。
+ * 任务被取消或租约被其他节点接管时在下一个检查点停止；节点停止时未完成的任务释放租约，
+ * 由其他节点从检查点继续。超过最大认领次数的任务（如每次执行都导致节点崩溃）标记为失败
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class ImportJobWorker {
+
+    private final ImportJobService importJobService;
+    private final DataImportService dataImportService;
+    private final int workerThreads;
+    private final int maxAttempts;
+    private final long heartbeatMillis;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+    private final Map<String, Future<?>> running = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    public ImportJobWorker(ImportJobService importJobService,
+                           DataImportService dataImportService,
+                           @Value("${app.import.queue.enabled:true}") boolean enabled,
+                           @Value("${app.import.queue.worker-threads:2}") int workerThreads,
+                           @Value("${app.import.queue.poll-interval:PT5S}") Duration pollInterval,
+                           @Value("${app.import.queue.lease-duration:PT2M}") Duration leaseDuration,
+                           @Value("${app.import.queue.max-attempts:3}") int maxAttempts) {
+        this.importJobService = importJobService;
+        this.dataImportService = dataImportService;
+        this.workerThreads = Math.max(1, workerThreads);
+        this.maxAttempts = maxAttempts;
+        this.heartbeatMillis = Math.max(1000L, leaseDuration.toMillis() / 3);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "import-job-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerThreads, r -> {
+            Thread thread = new Thread(r, "import-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long pollMillis = pollInterval.toMillis();
+        if (enabled && pollMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::pollQuietly, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("导入任务工作线程初始化完成: enabled={}, workerThreads={}, pollInterval={}ms, heartbeat={}ms, maxAttempts={}",
+                enabled, this.workerThreads, pollMillis, heartbeatMillis, maxAttempts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        scheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("导入任务未在停止期限内结束，租约到期后由其他节点接管: {}", running.keySet());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 认领并启动可执行的任务
+     *
+     * @return 本次启动的任务数
+     */
+    public int poll() {
+        int started = 0;
+        for (ImportJob candidate : importJobService.findClaimable()) {
+            if (stopping || running.size() >= workerThreads) {
+                break;
+            }
+            if (running.containsKey(candidate.getId())) {
+                continue;
+            }
+            // 数据文件不在本节点可见的存储上时留给其他节点
+            if (!Files.exists(Path.of(candidate.getFilePath()))) {
+                log.debug("任务数据文件在本节点不可见，跳过: taskId={}, file={}", candidate.getId(), candidate.getFilePath());
+                continue;
+            }
+
+            ImportJob job = importJobService.claim(candidate.getId()).orElse(null);
+            if (job == null) {
+                continue;
+            }
+            if (job.getAttempts() > maxAttempts) {
+                abandon(job);
+                continue;
+            }
+
+            log.info("认领导入任务: taskId={}, searchSpaceId={}, attempt={}, resumeFrom={}",
+                    job.getId(), job.getSearchSpaceId(), job.getAttempts(), job.getProcessedRecords());
+            running.put(job.getId(), workers.submit(() -> run(job)));
+            started++;
+        }
+        return started;
+    }
+
+    /**
+     * 本节点正在执行的任务数
+     */
+    public int runningCount() {
+        return running.size();
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("导入任务轮询失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 执行任务
+     */
+    private void run(ImportJob job) {
+        String taskId = job.getId();
+        JobProgressTracker tracker = new JobProgressTracker(job);
+        ScheduledFuture<?> heartbeat = scheduler.scheduleWithFixedDelay(tracker::heartbeat,
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            ImportTaskStatus status = importJobService.toStatus(job);
+            ImportTaskStatus result = dataImportService.executeQueuedImport(job.getSearchSpaceId(),
+                    importJobService.toRequest(job), Path.of(job.getFilePath()), status, tracker);
+
+            if (importJobService.finish(taskId, result)) {
+                importJobService.deleteJobFile(job);
+            } else {
+                log.warn("导入任务结束时租约已丢失，结果未写入: taskId={}, state={}", taskId, result.getState());
+            }
+        } catch (ImportInterruptedException e) {
+            if (importJobService.isTerminal(taskId)) {
+                importJobService.deleteJobFile(job);
+            } else if (stopping) {
+                importJobService.release(taskId);
+            }
+        } catch (Exception e) {
+            // 非导入错误（如数据库不可用）：释放租约，稍后重试
+            log.error("导入任务执行异常，释放租约等待重试: taskId={}", taskId, e);
+            importJobService.release(taskId);
+        } finally {
+            heartbeat.cancel(false);
+            running.remove(taskId);
+        }
+    }
+
+    /**
+     * 超过最大认领次数的任务标记为失败
+     */
+    private void abandon(ImportJob job) {
+        log.error("导入任务超过最大执行次数，标记为失败: taskId={}, attempts={}", job.getId(), job.getAttempts());
+        ImportTaskStatus status = importJobService.toStatus(job);
+        status.setState(ImportTaskState.FAILED);
+        status.setEndTime(LocalDateTime.now());
+        status.setErrorMessage("超过最大执行次数: " + maxAttempts);
+        status.setStatusMessage("导入失败: 超过最大执行次数");
+        if (importJobService.finish(job.getId(), status)) {
+            importJobService.deleteJobFile(job);
+        }
+    }
+
+    /**
+     * 持久化任务的进度跟踪：每次报告都把检查点写入数据库并续约，
+     * 写入失败（任务被取消或租约被接管）或节点正在停止时中断导入
+     */
+    private class JobProgressTracker implements ImportProgressTracker {
+
+        private final ImportJob job;
+        private volatile boolean indexPrepared;
+        private volatile boolean leaseLost;
+
+        JobProgressTracker(ImportJob job) {
+            this.job = job;
+            this.indexPrepared = Boolean.TRUE.equals(job.getIndexPrepared());
+        }
+
+        @Override
+        public int committedRecords() {
+            return job.getProcessedRecords() != null ? job.getProcessedRecords() : 0;
+        }
+
+        @Override
+        public boolean isIndexPrepared() {
+            return indexPrepared;
+        }
+
+        @Override
+        public void markIndexPrepared(ImportTaskStatus status) {
+            indexPrepared = true;
+            report(status);
+        }
+
+        @Override
+        public void report(ImportTaskStatus status) {
+            if (leaseLost || !importJobService.checkpoint(job.getId(), status, indexPrepared)) {
+                leaseLost = true;
+                throw new ImportInterruptedException("任务已被取消或租约已失效");
+            }
+            if (stopping) {
+                throw new ImportInterruptedException("节点正在停止");
+            }
+        }
+
+        void heartbeat() {
+            try {
+                if (!leaseLost && !importJobService.renewLease(job.getId())) {
+                    leaseLost = true;
+                    log.warn("导入任务租约已失效: taskId={}", job.getId());
+                }
+            } catch (Exception e) {
+                log.warn("导入任务续约失败: taskId={}, error={}", job.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ynet.mgmt.jsonimport.service;
+
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.exception.ImportInterruptedException;
+
+/**
+ * 导入进度跟踪
+ * 导入流程在每个阶段切换和每个批次结束时报告进度，由实现决定把进度保存到哪里：
+ * 同步导入只更新本节点的内存状态，持久化任务把检查点写入数据库以便中断后续传
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public interface ImportProgressTracker {
+
+    /**
+     * 续传起点：之前已提交的记录数，导入从该偏移量之后的记录开始
+     *
+     * @return 已提交记录数
+     */
+    default int committedRecords() {
+        return 0;
+    }
+
+    /**
+     * 索引是否已按导入模式创建
+     * 续传时不再重复创建，避免替换模式删除已经导入的数据
+     *
+     * @return 是否已创建
+     */
+    default boolean isIndexPrepared() {
+        return false;
+    }
+
+    /**
+     * 标记索引已创建
+     *
+     * @param status 当前任务状态
+     */
+    void markIndexPrepared(ImportTaskStatus status);
+
+    /**
+     * 报告进度
+     *
+     * @param status 当前任务状态
+     * @throws ImportInterruptedException 任务已被取消或不应继续执行
+     */
+    void report(ImportTaskStatus status);
+}
@@ -5,6 +5,7 @@ import com.ynet.mgmt.jsonimport.model.FieldAnalysisResult;
 import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
 import com.ynet.mgmt.jsonimport.model.JsonSchemaAnalysis;
 import com.ynet.mgmt.searchdata.service.EmbeddingService;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -68,8 +69,21 @@ public class IndexConfigService {
      * @return 索引映射配置
      */
     public IndexMappingConfig generateIndexConfig(String searchSpaceCode, JsonSchemaAnalysis analysis) {
-        log.info("开始生成索引配置: searchSpaceCode={}, totalRecords={}",
-                searchSpaceCode, analysis.getTotalRecords());
+        return generateIndexConfig(searchSpaceCode, analysis, VectorStorageProfile.FLOAT);
+    }
+
+    /**
+     * 根据JSON分析结果和向量存储档位生成索引映射配置
+     *
+     * @param searchSpaceCode 搜索空间代码
+     * @param analysis        JSON分析结果
+     * @param vectorProfile   向量存储档位
+     * @return 索引映射配置
+     */
+    public IndexMappingConfig generateIndexConfig(String searchSpaceCode, JsonSchemaAnalysis analysis,
+                                                  VectorStorageProfile vectorProfile) {
+        log.info("开始生成索引配置: searchSpaceCode={}, totalRecords={}, vectorProfile={}",
+                searchSpaceCode, analysis.getTotalRecords(), vectorProfile);
 
         String indexName = generateIndexName(searchSpaceCode);
 
@@ -77,7 +91,7 @@ public class IndexConfigService {
         IndexMappingConfig.IndexSettings settings = generateIndexSettings(analysis);
 
         // 生成字段映射
-        Map<String, IndexMappingConfig.FieldMapping> fieldMappings = generateFieldMappings(analysis);
+        Map<String, IndexMappingConfig.FieldMapping> fieldMappings = generateFieldMappings(analysis, vectorProfile);
 
         // 生成分析器配置
         Map<String, Object> analyzers = generateAnalyzers();
@@ -136,7 +150,8 @@ public class IndexConfigService {
     /**
      * 生成字段映射配置
      */
-    private Map<String, IndexMappingConfig.FieldMapping> generateFieldMappings(JsonSchemaAnalysis analysis) {
+    private Map<String, IndexMappingConfig.FieldMapping> generateFieldMappings(JsonSchemaAnalysis analysis,
+                                                                             VectorStorageProfile vectorProfile) {
         Map<String, IndexMappingConfig.FieldMapping> mappings = new HashMap<>();
 
         for (FieldAnalysisResult fieldResult : analysis.getFieldAnalysis().values()) {
@@ -155,7 +170,8 @@ public class IndexConfigService {
                                 .dims(embeddingService.getVectorDimension())
                                 .similarity("cosine")
                                 .index(true)
-                                .indexType("hnsw")
+                                .indexType(vectorProfile.getIndexOptionsType())
+                                .storageProfile(vectorProfile)
                                 .m(16)
                                 .efConstruction(200)
                                 .build())
@@ -245,6 +261,9 @@ public class IndexConfigService {
         String analyzer = determineAnalyzer(fieldResult);
         builder.analyzer(analyzer);
 
+        // 索引中记录词项偏移量，unified高亮器可直接定位片段，无需重新分析大字段
+        builder.indexOptions("offsets");
+
         // 构建子字段映射
         Map<String, IndexMappingConfig.FieldMapping> fields = new HashMap<>();
 
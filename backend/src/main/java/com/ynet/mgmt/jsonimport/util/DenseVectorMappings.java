@@ -0,0 +1,104 @@
+package com.ynet.mgmt.jsonimport.util;
+
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * dense_vector 字段映射工具
+ *
+ * 按向量存储档位生成 dense_vector 属性，并把档位写入字段 meta，搜索时通过 {@link #profileOf(Property)} 读回。
+ * 当前 Java 客户端的 DenseVectorProperty 没有 element_type 参数，BYTE 档位以自定义属性的形式直接写出完整定义；
+ * 读取映射时未知的 element_type 会被忽略，字段仍解析为 dense_vector，meta 保留
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class DenseVectorMappings {
+
+    private DenseVectorMappings() {
+    }
+
+    /**
+     * 根据向量字段配置构建 dense_vector 属性
+     *
+     * @param config 向量字段配置
+     * @return ES映射属性
+     */
+    public static Property toProperty(IndexMappingConfig.VectorFieldConfig config) {
+        VectorStorageProfile profile = config.getStorageProfile() != null
+                ? config.getStorageProfile() : VectorStorageProfile.FLOAT;
+        boolean indexed = Boolean.TRUE.equals(config.getIndex());
+        boolean hnsw = indexed && config.getIndexType() != null && config.getIndexType().endsWith("hnsw");
+
+        if (profile.isClientQuantized()) {
+            Map<String, Object> definition = new LinkedHashMap<>();
+            definition.put("type", "dense_vector");
+            definition.put("element_type", profile.getElementType());
+            if (config.getDims() != null) {
+                definition.put("dims", config.getDims());
+            }
+            if (config.getSimilarity() != null) {
+                definition.put("similarity", config.getSimilarity());
+            }
+            if (config.getIndex() != null) {
+                definition.put("index", config.getIndex());
+            }
+            if (hnsw) {
+                Map<String, Object> indexOptions = new LinkedHashMap<>();
+                indexOptions.put("type", config.getIndexType());
+                if (config.getM() != null) {
+                    indexOptions.put("m", config.getM());
+                }
+                if (config.getEfConstruction() != null) {
+                    indexOptions.put("ef_construction", config.getEfConstruction());
+                }
+                definition.put("index_options", indexOptions);
+            }
+            definition.put("meta", Map.of(VectorStorageProfile.META_KEY, profile.name()));
+            return Property.of(p -> p._custom("dense_vector", definition));
+        }
+
+        return Property.of(p -> p.denseVector(dv -> {
+            if (config.getDims() != null) {
+                dv.dims(config.getDims());
+            }
+            if (config.getSimilarity() != null) {
+                dv.similarity(config.getSimilarity());
+            }
+            if (config.getIndex() != null) {
+                dv.index(config.getIndex());
+            }
+            if (hnsw) {
+                dv.indexOptions(indexOpts -> {
+                    indexOpts.type(config.getIndexType());
+                    if (config.getM() != null) {
+                        indexOpts.m(config.getM());
+                    }
+                    if (config.getEfConstruction() != null) {
+                        indexOpts.efConstruction(config.getEfConstruction());
+                    }
+                    return indexOpts;
+                });
+            }
+            dv.meta(VectorStorageProfile.META_KEY, profile.name());
+            return dv;
+        }));
+    }
+
+    /**
+     * 读取 dense_vector 字段的向量存储档位
+     *
+     * @param property 从索引映射读取的属性
+     * @return 存储档位，非向量字段或未记录档位时为FLOAT
+     */
+    public static VectorStorageProfile profileOf(Property property) {
+        if (property != null && property.isDenseVector()) {
+            return VectorStorageProfile.fromMeta(property.denseVector().meta());
+        }
+        return VectorStorageProfile.FLOAT;
+    }
+}
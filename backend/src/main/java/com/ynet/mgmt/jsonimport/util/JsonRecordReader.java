@@ -0,0 +1,157 @@
+package com.ynet.mgmt.jsonimport.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON记录流式读取器
+ *
+ * 基于 Jackson 流式解析逐条读取导入文件中的记录，内存中只保留当前记录（或当前批次），
+ * 不会把整个文件读成字符串或树。支持的格式与原导入逻辑一致：
+ * 1. 根节点为数组：逐个读取数组元素
+ * 2. 根节点为对象：读取第一个数组类型的字段；没有数组字段时把整个对象作为一条记录
+ *
+ * 非线程安全，使用完毕需关闭
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class JsonRecordReader implements Closeable {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+
+    private final JsonParser parser;
+
+    /**
+     * 是否正在读取数组元素
+     */
+    private boolean inArray;
+
+    /**
+     * 根对象中没有数组字段时，整个对象作为唯一记录
+     */
+    private Map<String, Object> singleRecord;
+
+    public JsonRecordReader(ObjectMapper objectMapper, Path file) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(file.toFile());
+        try {
+            JsonToken root = parser.nextToken();
+            if (root == JsonToken.START_ARRAY) {
+                inArray = true;
+            } else if (root == JsonToken.START_OBJECT) {
+                locateArrayField();
+            } else {
+                throw new IOException("不支持的JSON数据格式");
+            }
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录，没有更多记录时返回null
+     * @throws IOException JSON格式错误或数组元素不是对象
+     */
+    public Map<String, Object> next() throws IOException {
+        if (singleRecord != null) {
+            Map<String, Object> record = singleRecord;
+            singleRecord = null;
+            return record;
+        }
+        if (!nextElement()) {
+            return null;
+        }
+        return parser.readValueAs(RECORD_TYPE);
+    }
+
+    /**
+     * 跳过下一条记录（仍会完整校验其JSON语法）
+     *
+     * @return 是否跳过了一条记录，没有更多记录时返回false
+     * @throws IOException JSON格式错误或数组元素不是对象
+     */
+    public boolean skip() throws IOException {
+        if (singleRecord != null) {
+            singleRecord = null;
+            return true;
+        }
+        if (!nextElement()) {
+            return false;
+        }
+        parser.skipChildren();
+        return true;
+    }
+
+    /**
+     * 读取下一批记录
+     *
+     * @param batchSize 批次大小
+     * @return 记录列表，没有更多记录时返回空列表
+     * @throws IOException JSON格式错误或数组元素不是对象
+     */
+    public List<Map<String, Object>> nextBatch(int batchSize) throws IOException {
+        List<Map<String, Object>> batch = null;
+        Map<String, Object> record;
+        while ((batch == null || batch.size() < batchSize) && (record = next()) != null) {
+            if (batch == null) {
+                batch = new ArrayList<>(Math.min(batchSize, 1024));
+            }
+            batch.add(record);
+        }
+        return batch != null ? batch : Collections.emptyList();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * 移动到下一个数组元素的起始位置
+     */
+    private boolean nextElement() throws IOException {
+        if (!inArray) {
+            return false;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            inArray = false;
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("数组元素必须是JSON对象: 行 " + parser.currentLocation().getLineNr()
+                    + ", 列 " + parser.currentLocation().getColumnNr());
+        }
+        return true;
+    }
+
+    /**
+     * 在根对象中查找第一个数组字段，找不到时把已读取的字段组成单条记录
+     */
+    private void locateArrayField() throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                inArray = true;
+                return;
+            }
+            fields.put(name, parser.readValueAs(Object.class));
+        }
+        singleRecord = fields;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ynet.mgmt.modelgateway.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 单个模型端点的熔断器
+ * 连续失败达到阈值后打开，冷却时间结束后进入半开状态只放行一次试探请求，
+ * 试探成功则关闭，失败则重新打开。替代原先每5分钟一次的健康检查轮询
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class EndpointCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    public EndpointCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 判断是否允许发起请求，半开状态下只有一个调用方能拿到试探机会
+     *
+     * @return 是否允许
+     */
+    public boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt.get() < openDurationNanos) {
+                return false;
+            }
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    /**
+     * 判断端点当前是否可用（不占用试探机会）
+     *
+     * @return 是否可用
+     */
+    public boolean isCallPermitted() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            return System.nanoTime() - openedAt.get() >= openDurationNanos;
+        }
+        return !trialInFlight.get();
+    }
+
+    /**
+     * 记录一次成功调用
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        trialInFlight.set(false);
+        state.set(State.CLOSED);
+    }
+
+    /**
+     * 记录一次失败调用
+     */
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        boolean trial = trialInFlight.getAndSet(false);
+        if (trial || failures >= failureThreshold) {
+            openedAt.set(System.nanoTime());
+            state.set(State.OPEN);
+        }
+    }
+
+    /**
+     * 释放试探机会但不计入成功或失败（如请求被舱壁拒绝）
+     */
+    public void releasePermission() {
+        trialInFlight.set(false);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+}
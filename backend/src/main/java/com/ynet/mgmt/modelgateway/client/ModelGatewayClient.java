@@ -0,0 +1,221 @@
+package com.ynet.mgmt.modelgateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.modelgateway.config.ModelGatewayProperties;
+import com.ynet.mgmt.modelgateway.exception.ModelGatewayException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模型网关客户端
+ * 所有模型服务（Embedding、Rerank、LLM、Vision）共享的HTTP客户端：
+ * - 基于JDK HttpClient，连接池化并保持长连接，优先协商HTTP/2多路复用
+ * - 按模型隔离的并发舱壁，避免单个慢模型拖垮其他调用
+ * - 按模型的熔断器，替代各服务自行轮询的健康检查
+ * - 按模型记录调用延迟直方图
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ModelGatewayClient {
+
+    private static final String LATENCY_METRIC = "model.gateway.requests";
+
+    private final ModelGatewayProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, EndpointCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public ModelGatewayClient(ModelGatewayProperties properties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        log.info("初始化模型网关客户端: http2={}, connectTimeout={}, defaultMaxConcurrent={}, failureThreshold={}",
+                properties.isHttp2Enabled(), properties.getConnectTimeout(),
+                properties.getBulkhead().getMaxConcurrent(), properties.getCircuitBreaker().getFailureThreshold());
+    }
+
+    /**
+     * 以JSON方式POST调用模型服务
+     *
+     * @param model 模型名称（用于舱壁、熔断和指标隔离）
+     * @param url 接口地址
+     * @param apiKey Bearer认证密钥
+     * @param body 请求体，会序列化为JSON
+     * @param responseType 响应类型
+     * @param timeout 请求超时，为null时使用默认值
+     * @return 反序列化后的响应
+     */
+    public <T> T postJson(String model, String url, String apiKey, Object body,
+                          Class<T> responseType, Duration timeout) {
+        EndpointCircuitBreaker breaker = circuitBreaker(model);
+        if (!breaker.tryAcquirePermission()) {
+            recordLatency(model, "rejected", 0);
+            throw new ModelGatewayException(model, "模型服务熔断中: " + model);
+        }
+
+        Semaphore bulkhead = bulkhead(model);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.getBulkhead().getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.releasePermission();
+            throw new ModelGatewayException(model, "等待模型服务并发许可被中断: " + model, e);
+        }
+        if (!acquired) {
+            breaker.releasePermission();
+            recordLatency(model, "rejected", 0);
+            throw new ModelGatewayException(model, "模型服务并发已满: " + model);
+        }
+
+        long start = System.nanoTime();
+        boolean outcomeRecorded = false;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout != null ? timeout : properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+
+            if (status >= 200 && status < 300) {
+                T result = objectMapper.readValue(response.body(), responseType);
+                breaker.onSuccess();
+                outcomeRecorded = true;
+                recordLatency(model, "success", System.nanoTime() - start);
+                return result;
+            }
+
+            // 5xx、429以及401/403（密钥失效或无权限，后续请求同样会失败）计入熔断；
+            // 其他4xx属于单个请求的问题，既不计为成功也不计为失败
+            if (status >= 500 || status == 429 || status == 401 || status == 403) {
+                breaker.onFailure();
+                outcomeRecorded = true;
+            }
+            recordLatency(model, "http_" + status, System.nanoTime() - start);
+            throw new ModelGatewayException(model, "模型服务调用失败: model=" + model + ", status=" + status);
+
+        } catch (IOException e) {
+            breaker.onFailure();
+            outcomeRecorded = true;
+            recordLatency(model, "error", System.nanoTime() - start);
+            throw new ModelGatewayException(model, "模型服务调用异常: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelGatewayException(model, "模型服务调用被中断: " + model, e);
+        } finally {
+            // 未记录结果的调用（中断、非预期异常、普通4xx）释放半开状态的试探机会，避免熔断器停留在半开
+            if (!outcomeRecorded) {
+                breaker.releasePermission();
+            }
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 判断模型服务当前是否可用（熔断器未打开）
+     *
+     * @param model 模型名称
+     * @return 是否可用
+     */
+    public boolean isAvailable(String model) {
+        return circuitBreaker(model).isCallPermitted();
+    }
+
+    /**
+     * 获取所有模型端点的状态
+     *
+     * @return 端点状态列表
+     */
+    public List<EndpointStatus> getEndpointStatuses() {
+        List<EndpointStatus> statuses = new ArrayList<>();
+        circuitBreakers.forEach((model, breaker) -> {
+            Semaphore bulkhead = bulkhead(model);
+            int maxConcurrent = properties.maxConcurrentFor(model);
+
+            EndpointStatus status = new EndpointStatus();
+            status.setModel(model);
+            status.setCircuitState(breaker.getState().name());
+            status.setConsecutiveFailures(breaker.getConsecutiveFailures());
+            status.setMaxConcurrent(maxConcurrent);
+            status.setInFlight(maxConcurrent - bulkhead.availablePermits());
+
+            Timer timer = meterRegistry.find(LATENCY_METRIC).tag("model", model).tag("outcome", "success").timer();
+            if (timer != null) {
+                status.setSuccessCount(timer.count());
+                status.setMeanLatencyMs(timer.mean(TimeUnit.MILLISECONDS));
+                status.setMaxLatencyMs(timer.max(TimeUnit.MILLISECONDS));
+            }
+            statuses.add(status);
+        });
+        return statuses;
+    }
+
+    private EndpointCircuitBreaker circuitBreaker(String model) {
+        return circuitBreakers.computeIfAbsent(model, k -> new EndpointCircuitBreaker(
+                properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration()));
+    }
+
+    private Semaphore bulkhead(String model) {
+        return bulkheads.computeIfAbsent(model, k -> new Semaphore(properties.maxConcurrentFor(k)));
+    }
+
+    private void recordLatency(String model, String outcome, long nanos) {
+        Timer.builder(LATENCY_METRIC)
+                .description("模型服务调用延迟")
+                .tags("model", model, "outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 模型端点状态
+     */
+    @Data
+    public static class EndpointStatus {
+        private String model;
+        private String circuitState;
+        private int consecutiveFailures;
+        private int maxConcurrent;
+        private int inFlight;
+        private long successCount;
+        private double meanLatencyMs;
+        private double maxLatencyMs;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ynet.mgmt.modelgateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 模型网关配置属性
+ * 所有模型服务调用（Embedding、Rerank、LLM、Vision）共享的HTTP客户端配置
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "model-gateway")
+public class ModelGatewayProperties {
+
+    /**
+     * 建立连接超时时间
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 默认请求超时时间（调用方未指定时使用）
+     */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 是否优先使用HTTP/2（服务端不支持时自动降级为HTTP/1.1）
+     */
+    private boolean http2Enabled = true;
+
+    /**
+     * 舱壁配置
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * 熔断器配置
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Bulkhead {
+        /**
+         * 每个模型的默认最大并发请求数
+         */
+        private int maxConcurrent = 16;
+
+        /**
+         * 获取并发许可的最长等待时间
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * 按模型名称覆盖最大并发数，如 "[BAAI/bge-reranker-v2-m3]": 8
+         */
+        private Map<String, Integer> perModel = new HashMap<>();
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        /**
+         * 连续失败多少次后打开熔断器
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 熔断器打开后的冷却时间，冷却结束后放行一次试探请求
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 获取指定模型的最大并发数
+     *
+     * @param model 模型名称
+     * @return 最大并发数
+     */
+    public int maxConcurrentFor(String model) {
+        return bulkhead.getPerModel().getOrDefault(model, bulkhead.getMaxConcurrent());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ynet.mgmt.modelgateway.controller;
+
+import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 模型网关状态Controller
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/model-gateway")
+public class ModelGatewayController {
+
+    private final ModelGatewayClient modelGatewayClient;
+
+    public ModelGatewayController(ModelGatewayClient modelGatewayClient) {
+        this.modelGatewayClient = modelGatewayClient;
+    }
+
+    /**
+     * 获取各模型端点的熔断状态、并发占用和调用延迟
+     *
+     * @return 端点状态列表
+     */
+    @GetMapping("/endpoints")
+    public ApiResponse<List<ModelGatewayClient.EndpointStatus>> getEndpoints() {
+        try {
+            return ApiResponse.success(modelGatewayClient.getEndpointStatuses());
+        } catch (Exception e) {
+            log.error("获取模型端点状态失败", e);
+            return ApiResponse.error("获取模型端点状态失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ynet.mgmt.modelgateway.exception;
+
+/**
+ * 模型网关调用异常
+ * 包括熔断拒绝、并发超限、远程服务返回错误等情况
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class ModelGatewayException extends RuntimeException {
+
+    private final String model;
+
+    public ModelGatewayException(String model, String message) {
+        super(message);
+        this.model = model;
+    }
+
+    public ModelGatewayException(String model, String message, Throwable cause) {
+        super(message, cause);
+        this.model = model;
+    }
+
+    public String getModel() {
+        return model;
+    }
+}
@@ -1,7 +1,7 @@
 package com.ynet.mgmt.queryunderstanding.processor.expansion;
 
 import com.ynet.mgmt.hotTopic.entity.HotTopic;
-import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
+import com.ynet.mgmt.hotTopic.service.VisibleHotTopicCache;
 import com.ynet.mgmt.queryunderstanding.context.QueryContext;
 import com.ynet.mgmt.queryunderstanding.processor.AbstractQueryProcessor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +23,7 @@ import java.util.List;
 public class HotTopicIntegrationProcessor extends AbstractQueryProcessor {
 
     @Autowired
-    private HotTopicRepository hotTopicRepository;
+    private VisibleHotTopicCache visibleHotTopicCache;
 
     @Override
     public String getName() {
@@ -41,7 +41,7 @@ public class HotTopicIntegrationProcessor extends AbstractQueryProcessor {
 
         try {
             // 查询所有可见的热门话题
-            List<HotTopic> hotTopics = hotTopicRepository.findByVisibleTrueOrderByPopularityDesc();
+            List<HotTopic> hotTopics = visibleHotTopicCache.getVisibleTopics();
 
             // 查找与查询相关的热门话题
             List<String> relatedHotTopics = new ArrayList<>();
@@ -6,15 +6,14 @@ import com.ynet.mgmt.queryunderstanding.dto.EmbeddingApiRequest;
 import com.ynet.mgmt.queryunderstanding.dto.EmbeddingApiResponse;
 import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingCacheService;
 import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingEmbeddingService;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -29,42 +28,21 @@ public class QueryUnderstandingEmbeddingServiceImpl implements QueryUnderstandin
 
     private final QueryUnderstandingLlmProperties properties;
     private final ObjectMapper objectMapper;
-    private RestTemplate restTemplate;
+    private final ModelGatewayClient modelGatewayClient;
 
     @Autowired(required = false)
     private QueryUnderstandingCacheService cacheService;
 
     public QueryUnderstandingEmbeddingServiceImpl(QueryUnderstandingLlmProperties properties,
-                                                  ObjectMapper objectMapper) {
+                                                  ObjectMapper objectMapper,
+                                                  ModelGatewayClient modelGatewayClient) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.modelGatewayClient = modelGatewayClient;
     }
 
     @PostConstruct
     public void init() {
-        try {
-            // 使用HttpComponents连接池提升性能 (如果可用)
-            try {
-                Class.forName("org.apache.http.client.HttpClient");
-                HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-                factory.setConnectTimeout(properties.getEmbedding().getTimeout().intValue());
-                factory.setConnectionRequestTimeout(properties.getEmbedding().getTimeout().intValue());
-                this.restTemplate = new RestTemplate(factory);
-                log.info("使用HttpComponents连接池配置Embedding RestTemplate");
-            } catch (Throwable e) {
-                // 如果HttpComponents不可用，回退到SimpleClientHttpRequestFactory
-                log.info("HttpComponents不可用({}), 使用SimpleClientHttpRequestFactory", e.getClass().getSimpleName());
-                org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                    new org.springframework.http.client.SimpleClientHttpRequestFactory();
-                factory.setConnectTimeout(properties.getEmbedding().getTimeout().intValue());
-                factory.setReadTimeout(properties.getEmbedding().getTimeout().intValue());
-                this.restTemplate = new RestTemplate(factory);
-            }
-        } catch (Exception e) {
-            log.warn("无法配置Embedding RestTemplate超时，将使用默认RestTemplate", e);
-            this.restTemplate = new RestTemplate();
-        }
-
         log.info("初始化查询理解Embedding服务: enabled={}, model={}",
             properties.getEnabled(), properties.getEmbedding().getModel());
     }
@@ -176,7 +154,8 @@ public class QueryUnderstandingEmbeddingServiceImpl implements QueryUnderstandin
     @Override
     public boolean isServiceAvailable() {
         return properties.getEnabled() != null && properties.getEnabled() &&
-            StringUtils.hasText(getApiKey());
+            StringUtils.hasText(getApiKey()) &&
+            modelGatewayClient.isAvailable(properties.getEmbedding().getModel());
     }
 
     /**
@@ -192,21 +171,16 @@ public class QueryUnderstandingEmbeddingServiceImpl implements QueryUnderstandin
         request.setInput(text);
         request.setEncodingFormat(properties.getEmbedding().getEncodingFormat());
 
-        // 构建请求头
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(getApiKey());
-
-        // 发送请求
-        HttpEntity<EmbeddingApiRequest> requestEntity = new HttpEntity<>(request, headers);
-        ResponseEntity<EmbeddingApiResponse> responseEntity = restTemplate.exchange(
+        // 通过模型网关发送请求
+        EmbeddingApiResponse response = modelGatewayClient.postJson(
+            properties.getEmbedding().getModel(),
             properties.getEmbedding().getApiUrl(),
-            HttpMethod.POST,
-            requestEntity,
-            EmbeddingApiResponse.class
+            getApiKey(),
+            request,
+            EmbeddingApiResponse.class,
+            Duration.ofMillis(properties.getEmbedding().getTimeout())
         );
 
-        EmbeddingApiResponse response = responseEntity.getBody();
         if (response == null || response.getData() == null || response.getData().isEmpty()) {
             throw new RuntimeException("Embedding API 返回空响应");
         }
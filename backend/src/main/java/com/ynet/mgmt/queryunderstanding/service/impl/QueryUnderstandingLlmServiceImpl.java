@@ -9,15 +9,14 @@ import com.ynet.mgmt.queryunderstanding.dto.LlmApiRequest;
 import com.ynet.mgmt.queryunderstanding.dto.LlmApiResponse;
 import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingCacheService;
 import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingLlmService;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -36,7 +35,7 @@ public class QueryUnderstandingLlmServiceImpl implements QueryUnderstandingLlmSe
 
     private final QueryUnderstandingLlmProperties properties;
     private final ObjectMapper objectMapper;
-    private RestTemplate restTemplate;
+    private final ModelGatewayClient modelGatewayClient;
 
     @Autowired(required = false)
     private QueryUnderstandingCacheService cacheService;
@@ -92,36 +91,15 @@ public class QueryUnderstandingLlmServiceImpl implements QueryUnderstandingLlmSe
         "- 返回的查询应该简短精炼,不超过30个字";
 
     public QueryUnderstandingLlmServiceImpl(QueryUnderstandingLlmProperties properties,
-                                           ObjectMapper objectMapper) {
+                                           ObjectMapper objectMapper,
+                                           ModelGatewayClient modelGatewayClient) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.modelGatewayClient = modelGatewayClient;
     }
 
     @PostConstruct
     public void init() {
-        try {
-            // 使用HttpComponents连接池提升性能 (如果可用)
-            try {
-                Class.forName("org.apache.http.client.HttpClient");
-                HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-                factory.setConnectTimeout(properties.getSiliconflow().getTimeout().intValue());
-                factory.setConnectionRequestTimeout(properties.getSiliconflow().getTimeout().intValue());
-                this.restTemplate = new RestTemplate(factory);
-                log.info("使用HttpComponents连接池配置RestTemplate");
-            } catch (Throwable e) {
-                // 如果HttpComponents不可用，回退到SimpleClientHttpRequestFactory
-                log.info("HttpComponents不可用({}), 使用SimpleClientHttpRequestFactory", e.getClass().getSimpleName());
-                org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                    new org.springframework.http.client.SimpleClientHttpRequestFactory();
-                factory.setConnectTimeout(properties.getSiliconflow().getTimeout().intValue());
-                factory.setReadTimeout(properties.getSiliconflow().getTimeout().intValue());
-                this.restTemplate = new RestTemplate(factory);
-            }
-        } catch (Exception e) {
-            log.warn("无法配置RestTemplate超时，将使用默认RestTemplate", e);
-            this.restTemplate = new RestTemplate();
-        }
-
         log.info("初始化查询理解LLM服务: enabled={}, model={}",
             properties.getEnabled(), properties.getSiliconflow().getModel());
     }
@@ -274,7 +252,8 @@ public class QueryUnderstandingLlmServiceImpl implements QueryUnderstandingLlmSe
     @Override
     public boolean isServiceAvailable() {
         return properties.getEnabled() != null && properties.getEnabled()
-            && StringUtils.hasText(properties.getSiliconflow().getApiKey());
+            && StringUtils.hasText(properties.getSiliconflow().getApiKey())
+            && modelGatewayClient.isAvailable(properties.getSiliconflow().getModel());
     }
 
     /**
@@ -296,21 +275,16 @@ public class QueryUnderstandingLlmServiceImpl implements QueryUnderstandingLlmSe
         messages.add(new LlmApiRequest.Message("user", prompt));
         request.setMessages(messages);
 
-        // 构建请求头
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(properties.getSiliconflow().getApiKey());
-
-        // 发送请求
-        HttpEntity<LlmApiRequest> requestEntity = new HttpEntity<>(request, headers);
-        ResponseEntity<LlmApiResponse> responseEntity = restTemplate.exchange(
+        // 通过模型网关发送请求
+        LlmApiResponse response = modelGatewayClient.postJson(
+            properties.getSiliconflow().getModel(),
             properties.getSiliconflow().getApiUrl(),
-            HttpMethod.POST,
-            requestEntity,
-            LlmApiResponse.class
+            properties.getSiliconflow().getApiKey(),
+            request,
+            LlmApiResponse.class,
+            Duration.ofMillis(properties.getSiliconflow().getTimeout())
         );
 
-        LlmApiResponse response = responseEntity.getBody();
         if (response == null || response.getChoices() == null || response.getChoices().isEmpty()) {
             throw new RuntimeException("LLM API 返回空响应");
         }
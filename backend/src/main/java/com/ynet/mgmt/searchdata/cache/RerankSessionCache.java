@@ -0,0 +1,278 @@
+package com.ynet.mgmt.searchdata.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 重排序会话缓存
+ * 第一页时对候选窗口（如前100条）整体重排序，并按（索引代数、标准化查询与过滤条件指纹）缓存重排后的顺序，
+ * 后续翻页直接从缓存中切片，避免每次翻页都调用远程Rerank API，同时保证跨页的排序一致
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RerankSessionCache {
+
+    /**
+     * 是否启用重排序会话
+     */
+    @Value("${rerank.session.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 重排序候选窗口大小
+     */
+    @Value("${rerank.session.candidate-window:100}")
+    private int candidateWindow;
+
+    /**
+     * 会话缓存过期时间
+     */
+    @Value("${rerank.session.ttl:PT5M}")
+    private Duration ttl;
+
+    /**
+     * 会话缓存最大条数
+     */
+    @Value("${rerank.session.max-size:1000}")
+    private long maxSize;
+
+    private Cache<String, RerankSession> sessions;
+
+    /**
+     * 索引代数：索引每发生一次写入递增一次
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rerankCalls = new LongAdder();
+    private final LongAdder rerankTotalTime = new LongAdder();
+    private final AtomicLong rerankMaxTime = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("初始化重排序会话缓存: enabled={}, candidateWindow={}, ttl={}, maxSize={}",
+                enabled, candidateWindow, ttl, maxSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getCandidateWindow() {
+        return candidateWindow;
+    }
+
+    /**
+     * 判断指定页是否落在候选窗口内，窗口外的深分页仍按页内重排序处理
+     *
+     * @param from 起始偏移
+     * @param size 每页大小
+     * @return 是否可由会话提供
+     */
+    public boolean covers(int from, int size) {
+        return enabled && from + size <= candidateWindow;
+    }
+
+    /**
+     * 构建会话缓存键：索引及其当前代数 + 标准化查询与过滤条件的 SHA-256 指纹
+     * 指纹基于完整的规范化字符串计算，避免不同角色、渠道的请求因哈希碰撞共用同一会话；
+     * 键在搜索开始前生成，搜索期间发生的写入会使本次会话写入旧代数的键，不会被后续翻页读到
+     *
+     * @param query 用于重排序的查询文本
+     * @param indexName 索引名称
+     * @param request 搜索请求
+     * @param userRole 用户角色
+     * @return 缓存键
+     */
+    public String buildKey(String query, String indexName, SearchDataRequest request, String userRole) {
+        String normalizedQuery = query == null ? "" :
+                query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+
+        String canonical = String.join("\u0001",
+                normalizedQuery,
+                String.valueOf(request.getChannel()),
+                String.valueOf(userRole),
+                String.valueOf(request.getFilters()),
+                String.valueOf(request.getSort()),
+                String.valueOf(request.getEnablePinyinSearch()),
+                String.valueOf(request.getPinyinMode()),
+                String.valueOf(request.getEnableSemanticSearch()),
+                String.valueOf(request.getSemanticWeight()),
+                String.valueOf(request.getEnableQueryUnderstanding()),
+                String.valueOf(request.getProfile()));
+
+        return indexName + "|" + generation(indexName) + "|" + sha256(canonical);
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return canonical;
+        }
+    }
+
+    /**
+     * 获取重排序会话，同时记录命中率
+     *
+     * @param key 缓存键
+     * @return 会话，不存在时返回null
+     */
+    public RerankSession get(String key) {
+        RerankSession session = sessions.getIfPresent(key);
+        if (session != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return session;
+    }
+
+    /**
+     * 缓存重排序会话
+     *
+     * @param key 缓存键
+     * @param documents 重排序后的候选文档
+     * @param totalHits 原始命中总数
+     */
+    public void put(String key, List<SearchDataResponse.DocumentData> documents, long totalHits) {
+        sessions.put(key, new RerankSession(Collections.unmodifiableList(documents), totalHits));
+    }
+
+    /**
+     * 记录一次Rerank API调用耗时
+     *
+     * @param duration 耗时（毫秒）
+     */
+    public void recordRerankLatency(long duration) {
+        rerankCalls.increment();
+        rerankTotalTime.add(duration);
+        rerankMaxTime.accumulateAndGet(duration, Math::max);
+    }
+
+    /**
+     * 索引发生写入后调用，移除该索引的全部会话，避免翻页继续使用写入前的排序
+     *
+     * @param indexName 索引名称
+     */
+    public void invalidateIndex(String indexName) {
+        if (indexName == null) {
+            return;
+        }
+        generations.computeIfAbsent(indexName, k -> new AtomicLong()).incrementAndGet();
+        String prefix = indexName + "|";
+        sessions.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        log.debug("重排序会话失效: index={}, generation={}", indexName, generation(indexName));
+    }
+
+    /**
+     * 清空所有会话
+     */
+    public void invalidateAll() {
+        sessions.invalidateAll();
+    }
+
+    long generation(String indexName) {
+        AtomicLong generation = generations.get(indexName);
+        return generation == null ? 0L : generation.get();
+    }
+
+    /**
+     * 获取缓存命中率
+     *
+     * @return 命中率（0-1）
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * 获取指标摘要
+     *
+     * @return 指标摘要
+     */
+    public MetricsSummary getSummary() {
+        MetricsSummary summary = new MetricsSummary();
+        long calls = rerankCalls.sum();
+        summary.setEnabled(enabled);
+        summary.setCandidateWindow(candidateWindow);
+        summary.setSessionCount(sessions.estimatedSize());
+        summary.setHits(hits.sum());
+        summary.setMisses(misses.sum());
+        summary.setHitRate(getHitRate());
+        summary.setRerankCalls(calls);
+        summary.setAverageRerankTime(calls == 0 ? 0.0 : (double) rerankTotalTime.sum() / calls);
+        summary.setMaxRerankTime(rerankMaxTime.get());
+        return summary;
+    }
+
+    /**
+     * 重排序会话：重排后的候选文档及原始命中总数
+     */
+    @Data
+    public static class RerankSession {
+        private final List<SearchDataResponse.DocumentData> documents;
+        private final long totalHits;
+
+        /**
+         * 从会话中截取指定页
+         *
+         * @param from 起始偏移
+         * @param size 每页大小
+         * @return 当前页文档
+         */
+        public List<SearchDataResponse.DocumentData> page(int from, int size) {
+            int start = Math.min(from, documents.size());
+            int end = Math.min(from + size, documents.size());
+            return new ArrayList<>(documents.subList(start, end));
+        }
+    }
+
+    /**
+     * 指标摘要
+     */
+    @Data
+    public static class MetricsSummary {
+        private boolean enabled;
+        private int candidateWindow;
+        private long sessionCount;
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long rerankCalls;
+        private double averageRerankTime;
+        private long maxRerankTime;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ynet.mgmt.searchdata.cache;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索缓存失效入口
+ * 索引发生写入时同时失效搜索结果缓存与重排序会话缓存，写入方统一调用此处，避免只失效其中一种缓存
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class SearchCacheInvalidator {
+
+    private final SearchResultCache searchResultCache;
+    private final RerankSessionCache rerankSessionCache;
+
+    public SearchCacheInvalidator(SearchResultCache searchResultCache, RerankSessionCache rerankSessionCache) {
+        this.searchResultCache = searchResultCache;
+        this.rerankSessionCache = rerankSessionCache;
+    }
+
+    /**
+     * 索引发生写入后调用
+     *
+     * @param indexName 索引名称
+     */
+    public void invalidateIndex(String indexName) {
+        searchResultCache.invalidateIndex(indexName);
+        rerankSessionCache.invalidateIndex(indexName);
+    }
+
+    /**
+     * 清空全部搜索缓存
+     */
+    public void invalidateAll() {
+        searchResultCache.invalidateAll();
+        rerankSessionCache.invalidateAll();
+    }
+}
@@ -0,0 +1,312 @@
+package com.ynet.mgmt.searchdata.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 搜索结果缓存
+ * 按（请求规范化指纹、用户角色、渠道、各索引代数）缓存完整搜索响应，热门查询直接从内存返回；
+ * 索引发生写入（文档更新/删除、批量操作、数据导入）时递增该索引的代数，旧缓存键随即失效
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    /**
+     * 是否启用搜索结果缓存
+     */
+    @Value("${search.result-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 缓存过期时间
+     */
+    @Value("${search.result-cache.ttl:PT1M}")
+    private Duration ttl;
+
+    /**
+     * 缓存最大条数
+     */
+    @Value("${search.result-cache.max-size:2000}")
+    private long maxSize;
+
+    private Cache<String, SearchDataResponse> results;
+
+    /**
+     * 索引代数：索引每发生一次写入递增一次
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("初始化搜索结果缓存: enabled={}, ttl={}, maxSize={}", enabled, ttl, maxSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 构建缓存键：索引及其当前代数 + 用户角色 + 请求规范化指纹
+     * 键在搜索开始前生成，搜索期间发生的写入会使本次结果写入旧代数的键，不会被后续请求读到
+     *
+     * @param indexNames 参与搜索的索引
+     * @param request 搜索请求
+     * @param userRole 用户角色
+     * @return 缓存键
+     */
+    public String buildKey(Collection<String> indexNames, SearchDataRequest request, String userRole) {
+        StringBuilder key = new StringBuilder();
+        for (String indexName : new TreeSet<>(indexNames)) {
+            key.append(indexName).append('#').append(generation(indexName)).append(',');
+        }
+        key.append('|').append(userRole == null ? "" : userRole);
+        key.append('|').append(fingerprint(request));
+        return key.toString();
+    }
+
+    /**
+     * 计算请求的规范化指纹
+     * 查询文本去除首尾空白、合并连续空白并转小写；多空间ID排序，顺序不同的同一组空间视为相同请求
+     *
+     * @param request 搜索请求
+     * @return SHA-256 指纹
+     */
+    static String fingerprint(SearchDataRequest request) {
+        String normalizedQuery = request.getQuery() == null ? "" :
+                request.getQuery().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        String spaceIds = request.getSearchSpaceIds() == null ? "" :
+                String.join(",", new TreeSet<>(request.getSearchSpaceIds()));
+
+        String canonical = String.join("\u0001",
+                normalizedQuery,
+                String.valueOf(request.getSearchSpaceId()),
+                spaceIds,
+                String.valueOf(request.getPage()),
+                String.valueOf(request.getSize()),
+                String.valueOf(request.getSort()),
+                String.valueOf(request.getFilters()),
+                String.valueOf(request.getChannel()),
+                String.valueOf(request.getEnablePinyinSearch()),
+                String.valueOf(request.getPinyinMode()),
+                String.valueOf(request.getEnableSemanticSearch()),
+                String.valueOf(request.getSemanticMode()),
+                String.valueOf(request.getSemanticWeight()),
+                String.valueOf(request.getEnableRerank()),
+                String.valueOf(request.getRerankTopN()),
+                String.valueOf(request.getEnableQueryUnderstanding()),
+                String.valueOf(request.getProfile()));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return canonical;
+        }
+    }
+
+    /**
+     * 获取缓存的搜索结果，同时记录命中率
+     *
+     * @param key 缓存键
+     * @return 结果副本，不存在时返回null
+     */
+    public SearchDataResponse get(String key) {
+        SearchDataResponse cached = results.getIfPresent(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copyOf(cached);
+    }
+
+    /**
+     * 缓存搜索结果
+     *
+     * @param key 缓存键
+     * @param response 搜索响应
+     */
+    public void put(String key, SearchDataResponse response) {
+        results.put(key, copyOf(response));
+    }
+
+    /**
+     * 索引发生写入后调用，递增索引代数使该索引相关的缓存失效
+     *
+     * @param indexName 索引名称
+     */
+    public void invalidateIndex(String indexName) {
+        if (indexName == null) {
+            return;
+        }
+        generations.computeIfAbsent(indexName, k -> new AtomicLong()).incrementAndGet();
+        invalidations.increment();
+        log.debug("搜索结果缓存失效: index={}, generation={}", indexName, generation(indexName));
+    }
+
+    /**
+     * 清空所有缓存
+     */
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    long generation(String indexName) {
+        AtomicLong generation = generations.get(indexName);
+        return generation == null ? 0L : generation.get();
+    }
+
+    /**
+     * 获取缓存命中率
+     *
+     * @return 命中率（0-1）
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * 获取指标摘要
+     *
+     * @return 指标摘要
+     */
+    public MetricsSummary getSummary() {
+        MetricsSummary summary = new MetricsSummary();
+        summary.setEnabled(enabled);
+        summary.setSize(results.estimatedSize());
+        summary.setHits(hits.sum());
+        summary.setMisses(misses.sum());
+        summary.setHitRate(getHitRate());
+        summary.setInvalidations(invalidations.sum());
+        return summary;
+    }
+
+    /**
+     * 复制响应，避免调用方（如搜索日志切面回填searchLogId、缓存命中时刷新耗时）修改缓存中的对象
+     * 文档、高亮、映射与元数据逐层复制；_source 只复制顶层，嵌套对象与缓存共享
+     */
+    static SearchDataResponse copyOf(SearchDataResponse response) {
+        List<SearchDataResponse.DocumentData> data = null;
+        if (response.getData() != null) {
+            data = new ArrayList<>(response.getData().size());
+            for (SearchDataResponse.DocumentData document : response.getData()) {
+                data.add(copyOf(document));
+            }
+        }
+        SearchDataResponse.IndexMappingInfo mapping = response.getMapping() == null ? null :
+                new SearchDataResponse.IndexMappingInfo(copyMap(response.getMapping().getMappings()));
+
+        return SearchDataResponse.builder()
+                .data(data)
+                .total(response.getTotal())
+                .totalRelation(response.getTotalRelation())
+                .totalDisplay(response.getTotalDisplay())
+                .page(response.getPage())
+                .size(response.getSize())
+                .mapping(mapping)
+                .searchMetadata(copyOf(response.getSearchMetadata()))
+                .build();
+    }
+
+    private static SearchDataResponse.DocumentData copyOf(SearchDataResponse.DocumentData document) {
+        if (document == null) {
+            return null;
+        }
+        Map<String, List<String>> highlight = null;
+        if (document.getHighlight() != null) {
+            highlight = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : document.getHighlight().entrySet()) {
+                highlight.put(entry.getKey(), entry.getValue() == null ? null : new ArrayList<>(entry.getValue()));
+            }
+        }
+        return SearchDataResponse.DocumentData.builder()
+                ._id(document.get_id())
+                ._score(document.get_score())
+                ._source(copyMap(document.get_source()))
+                ._index(document.get_index())
+                ._type(document.get_type())
+                ._version(document.get_version())
+                .highlight(highlight)
+                .recommended(document.isRecommended())
+                .build();
+    }
+
+    private static SearchDataResponse.SearchMetadata copyOf(SearchDataResponse.SearchMetadata metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        return SearchDataResponse.SearchMetadata.builder()
+                .searchMode(metadata.getSearchMode())
+                .semanticEnabled(metadata.getSemanticEnabled())
+                .semanticWeight(metadata.getSemanticWeight())
+                .pinyinEnabled(metadata.getPinyinEnabled())
+                .pinyinMode(metadata.getPinyinMode())
+                .queryBuildTime(metadata.getQueryBuildTime())
+                .vectorGenerationTime(metadata.getVectorGenerationTime())
+                .elasticsearchTime(metadata.getElasticsearchTime())
+                .elasticsearchTook(metadata.getElasticsearchTook())
+                .stageTimings(copyMap(metadata.getStageTimings()))
+                .totalTime(metadata.getTotalTime())
+                .vectorServiceStatus(metadata.getVectorServiceStatus())
+                .actualQueryType(metadata.getActualQueryType())
+                .queryLength(metadata.getQueryLength())
+                .adjustmentReason(metadata.getAdjustmentReason())
+                .indexLatencies(copyMap(metadata.getIndexLatencies()))
+                .cached(metadata.getCached())
+                .build();
+    }
+
+    private static <V> Map<String, V> copyMap(Map<String, V> map) {
+        return map == null ? null : new LinkedHashMap<>(map);
+    }
+
+    /**
+     * 指标摘要
+     */
+    @Data
+    public static class MetricsSummary {
+        private boolean enabled;
+        private long size;
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long invalidations;
+    }
+}
@@ -1,14 +1,20 @@
 package com.ynet.mgmt.searchdata.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 搜索执行器配置
- * 为多索引并发搜索提供专用线程池
+ * 为搜索链路中剩余的阻塞调用（JDBC查询、ES同步降级路径）提供专用的有界线程池。
+ * ES请求本身通过异步客户端发出，等待响应时不占用该线程池
  *
  * @author system
  * @since 1.0.0
@@ -19,39 +25,40 @@ public class SearchExecutorConfig {
 
     /**
      * 创建搜索专用线程池
-     * 核心线程数：10，最大线程数：50
-     * 空闲线程存活时间：60秒
-     * 队列容量：100
-     * 拒绝策略：CallerRunsPolicy（调用者线程执行）
+     * 线程数与队列容量均有上限，满载时拒绝新任务（由调用方降级），
+     * 不再使用 CallerRunsPolicy 把阻塞任务退回到请求线程
      *
      * @return ExecutorService 搜索执行器
      */
-    @Bean(name = "searchExecutor")
-    public ExecutorService searchExecutor() {
-        int corePoolSize = 10;
-        int maxPoolSize = 50;
-        long keepAliveTime = 60L;
-        int queueCapacity = 100;
-
+    @Bean(name = "searchExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService searchExecutor(MeterRegistry meterRegistry,
+                                          @Value("${search.executor.core-size:8}") int corePoolSize,
+                                          @Value("${search.executor.max-size:32}") int maxPoolSize,
+                                          @Value("${search.executor.queue-capacity:200}") int queueCapacity,
+                                          @Value("${search.executor.keep-alive:PT60S}") Duration keepAlive) {
+        AtomicInteger threadCount = new AtomicInteger();
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
             corePoolSize,
             maxPoolSize,
-            keepAliveTime,
-            TimeUnit.SECONDS,
+            keepAlive.toMillis(),
+            TimeUnit.MILLISECONDS,
             new LinkedBlockingQueue<>(queueCapacity),
-            new ThreadFactory() {
-                private int threadCount = 0;
-                @Override
-                public Thread newThread(Runnable r) {
-                    Thread thread = new Thread(r);
-                    thread.setName("search-executor-" + threadCount++);
-                    thread.setDaemon(false);
-                    return thread;
-                }
+            r -> {
+                Thread thread = new Thread(r);
+                thread.setName("search-executor-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
             },
-            new ThreadPoolExecutor.CallerRunsPolicy()
+            new ThreadPoolExecutor.AbortPolicy()
         );
 
+        Gauge.builder("search.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("搜索执行器正在执行的任务数")
+            .register(meterRegistry);
+        Gauge.builder("search.executor.queued", executor, e -> e.getQueue().size())
+            .description("搜索执行器排队的任务数")
+            .register(meterRegistry);
+
         log.info("搜索执行器线程池已创建: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
             corePoolSize, maxPoolSize, queueCapacity);
 
@@ -0,0 +1,69 @@
+package com.ynet.mgmt.searchdata.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索执行档位配置
+ * full：精确统计总数并返回完整字段高亮（原有行为，默认档位，前端按完整字段展示高亮）；
+ * fast：总数只统计到阈值、高亮只返回命中字段的有限片段，允许ES提前终止，需请求或配置显式选择
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search.profile")
+public class SearchProfileProperties {
+
+    public static final String FAST = "fast";
+    public static final String FULL = "full";
+
+    /**
+     * 默认档位（fast/full），请求未指定时使用
+     */
+    private String defaultProfile = FULL;
+
+    /**
+     * fast档位下精确统计总数的上限，超过后返回下界（如 10,000+）
+     */
+    private int trackTotalHitsUpTo = 10000;
+
+    /**
+     * fast档位高亮配置
+     */
+    private Highlight highlight = new Highlight();
+
+    /**
+     * 高亮配置
+     */
+    @Data
+    public static class Highlight {
+        /**
+         * 每个片段的字符数
+         */
+        private int fragmentSize = 150;
+
+        /**
+         * 每个字段最多返回的片段数
+         */
+        private int numberOfFragments = 3;
+
+        /**
+         * 高亮时最多分析的字符数，超长字段只在前部截取片段
+         */
+        private int maxAnalyzedOffset = 100000;
+    }
+
+    /**
+     * 解析请求档位，未指定时使用默认档位；只有显式的fast才启用fast档位，无法识别的值按full处理
+     *
+     * @param requested 请求中的档位
+     * @return 是否为fast档位
+     */
+    public boolean isFast(String requested) {
+        String profile = requested != null && !requested.isBlank() ? requested.trim() : defaultProfile;
+        return FAST.equalsIgnoreCase(profile);
+    }
+}
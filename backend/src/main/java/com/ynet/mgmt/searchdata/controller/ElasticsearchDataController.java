@@ -1,8 +1,14 @@
 package com.ynet.mgmt.searchdata.controller;
 
 import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.searchdata.cache.RerankSessionCache;
+import com.ynet.mgmt.searchdata.cache.SearchResultCache;
+import com.ynet.mgmt.searchdata.metrics.SearchLatencyRecorder;
 import com.ynet.mgmt.searchdata.dto.*;
 import com.ynet.mgmt.searchdata.service.ElasticsearchDataService;
+import com.ynet.mgmt.searchdata.service.SearchExportService;
+import com.ynet.mgmt.searchdata.service.VectorProfileComparisonService;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import com.ynet.mgmt.searchspace.service.SearchSpaceService;
 import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,11 +21,17 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,12 +52,18 @@ public class ElasticsearchDataController {
 
     private final ElasticsearchDataService elasticsearchDataService;
     private final SearchSpaceService searchSpaceService;
+    private final SearchExportService searchExportService;
+    private final VectorProfileComparisonService vectorProfileComparisonService;
 
     @Autowired
     public ElasticsearchDataController(ElasticsearchDataService elasticsearchDataService,
-                                     SearchSpaceService searchSpaceService) {
+                                     SearchSpaceService searchSpaceService,
+                                     SearchExportService searchExportService,
+                                     VectorProfileComparisonService vectorProfileComparisonService) {
         this.elasticsearchDataService = elasticsearchDataService;
         this.searchSpaceService = searchSpaceService;
+        this.searchExportService = searchExportService;
+        this.vectorProfileComparisonService = vectorProfileComparisonService;
     }
 
     /**
@@ -150,6 +168,70 @@ public class ElasticsearchDataController {
         }
     }
 
+    /**
+     * 流式导出搜索结果
+     * 按查询条件（不传查询时导出全部内容）逐批读取并写出 NDJSON 或 CSV，内存中只保留一批文档；
+     * 每批之后输出续传游标，连接中断后携带 cursor 重新请求即可从最后一个检查点继续
+     *
+     * @param request 导出请求
+     * @return 导出文件流
+     */
+    @Operation(summary = "流式导出搜索结果", description = "使用PIT + search_after导出搜索空间内容，支持NDJSON/CSV、字段投影、渠道/角色/等值过滤及游标续传")
+    @PostMapping("/export")
+    public ResponseEntity<?> exportData(
+            @Parameter(description = "导出请求参数", required = true)
+            @Valid @RequestBody SearchExportRequest request) {
+
+        logger.info("导出ES数据: searchSpaceId={}, query={}, format={}, fields={}, limit={}, resume={}",
+                request.getSearchSpaceId(), request.getQuery(), request.getFormat(), request.getFields(),
+                request.getLimit(), request.getCursor() != null);
+
+        try {
+            String userRole = getCurrentUserRole();
+            SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(Long.valueOf(request.getSearchSpaceId()));
+            SearchExportService.ExportPlan plan = searchExportService.prepare(request, searchSpace, userRole);
+
+            MediaType contentType = plan.isCsv()
+                    ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                    : MediaType.parseMediaType("application/x-ndjson");
+            StreamingResponseBody body = output -> searchExportService.write(plan, output);
+
+            return ResponseEntity.ok()
+                    .contentType(contentType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(plan.getFileName(), StandardCharsets.UTF_8)
+                            .build()
+                            .toString())
+                    .body(body);
+
+        } catch (NumberFormatException e) {
+            logger.warn("搜索空间ID格式无效: searchSpaceId={}", request.getSearchSpaceId());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("搜索空间ID格式无效"));
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("导出参数无效: searchSpaceId={}, error={}", request.getSearchSpaceId(), e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest(e.getMessage()));
+
+        } catch (RuntimeException e) {
+            String message = e.getMessage();
+            if (message != null && (message.contains("不存在") || message.contains("未找到"))) {
+                logger.warn("搜索空间不存在: searchSpaceId={}", request.getSearchSpaceId());
+                return ResponseEntity.notFound().build();
+            }
+
+            logger.error("导出数据失败: searchSpaceId={}", request.getSearchSpaceId(), e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("导出失败: " + message));
+
+        } catch (Exception e) {
+            logger.error("导出数据异常: searchSpaceId={}", request.getSearchSpaceId(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("系统异常，请稍后重试"));
+        }
+    }
+
     /**
      * 获取索引映射
      *
@@ -487,6 +569,153 @@ public class ElasticsearchDataController {
         }
     }
 
+    /**
+     * 获取重排序会话缓存指标
+     *
+     * @return 缓存命中率与重排序延迟
+     */
+    @Operation(summary = "获取重排序指标", description = "获取重排序会话缓存的命中率、会话数及Rerank API调用延迟")
+    @GetMapping("/rerank/metrics")
+    public ResponseEntity<ApiResponse<RerankSessionCache.MetricsSummary>> getRerankMetrics() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(elasticsearchDataService.getRerankSessionMetrics()));
+        } catch (Exception e) {
+            logger.error("获取重排序指标失败", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("获取重排序指标失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 获取搜索结果缓存指标
+     *
+     * @return 缓存命中率与失效次数
+     */
+    @Operation(summary = "获取搜索结果缓存指标", description = "获取搜索结果缓存的命中/未命中次数、命中率、缓存条数及索引写入导致的失效次数")
+    @GetMapping("/search-cache/metrics")
+    public ResponseEntity<ApiResponse<SearchResultCache.MetricsSummary>> getSearchCacheMetrics() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(elasticsearchDataService.getSearchResultCacheMetrics()));
+        } catch (Exception e) {
+            logger.error("获取搜索结果缓存指标失败", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("获取搜索结果缓存指标失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 获取最近的慢查询
+     *
+     * @param limit 最多返回条数
+     * @return 慢查询及其分阶段耗时
+     */
+    @Operation(summary = "获取慢查询", description = "获取最近超过慢查询阈值的搜索请求，包含各阶段耗时明细和ES took，最新的在前")
+    @GetMapping("/search-latency/slow-queries")
+    public ResponseEntity<ApiResponse<List<SearchLatencyRecorder.SlowSearchRecord>>> getSlowQueries(
+            @Parameter(description = "最多返回条数") @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(elasticsearchDataService.getSlowSearches(limit)));
+        } catch (Exception e) {
+            logger.error("获取慢查询失败", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("获取慢查询失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 按候选向量存储档位创建影子索引
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位
+     * @return 影子索引信息及后台reindex任务ID
+     */
+    @Operation(summary = "创建向量档位影子索引",
+               description = "只复制当前索引的向量字段到按候选存储档位映射的影子索引（后台reindex），用于切换档位前对比召回率和延迟")
+    @PostMapping("/vector-profile/{searchSpaceId}/shadow")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<VectorProfileShadowResponse>> createVectorProfileShadow(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long searchSpaceId,
+            @Parameter(description = "候选向量存储档位", required = true) @RequestParam VectorStorageProfile profile) {
+
+        logger.info("创建向量档位影子索引: searchSpaceId={}, profile={}", searchSpaceId, profile);
+
+        try {
+            VectorProfileShadowResponse response = vectorProfileComparisonService.createShadowIndex(searchSpaceId, profile);
+            return ResponseEntity.ok(ApiResponse.success("影子索引已创建，正在复制向量数据", response));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("创建向量档位影子索引失败: searchSpaceId={}, profile={}", searchSpaceId, profile, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("创建影子索引失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 对比当前索引与影子索引的召回率和延迟
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位
+     * @param field 向量字段
+     * @param method 检索方式
+     * @param sampleSize 抽样查询数
+     * @param k 每个查询取前K条
+     * @return 对比报告
+     */
+    @Operation(summary = "对比向量存储档位",
+               description = "取搜索空间近期热门查询，以当前索引的精确检索结果为标准答案，对比当前索引与影子索引的召回率@K和延迟")
+    @GetMapping("/vector-profile/{searchSpaceId}/compare")
+    public ResponseEntity<ApiResponse<VectorProfileComparisonReport>> compareVectorProfile(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long searchSpaceId,
+            @Parameter(description = "候选向量存储档位", required = true) @RequestParam VectorStorageProfile profile,
+            @Parameter(description = "向量字段，为空时取第一个向量字段") @RequestParam(required = false) String field,
+            @Parameter(description = "检索方式：EXACT（与线上一致）或 KNN")
+            @RequestParam(defaultValue = "EXACT") VectorProfileComparisonService.Method method,
+            @Parameter(description = "抽样查询数") @RequestParam(defaultValue = "50") int sampleSize,
+            @Parameter(description = "每个查询取前K条") @RequestParam(defaultValue = "10") int k) {
+
+        logger.info("对比向量存储档位: searchSpaceId={}, profile={}, field={}, method={}, sampleSize={}, k={}",
+                searchSpaceId, profile, field, method, sampleSize, k);
+
+        try {
+            VectorProfileComparisonReport report = vectorProfileComparisonService.compare(
+                    searchSpaceId, profile, field, method, sampleSize, k);
+            return ResponseEntity.ok(ApiResponse.success(report));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("对比向量存储档位失败: searchSpaceId={}, profile={}", searchSpaceId, profile, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("对比失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 删除影子索引
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位
+     * @return 操作结果
+     */
+    @Operation(summary = "删除向量档位影子索引", description = "对比结束后删除影子索引")
+    @DeleteMapping("/vector-profile/{searchSpaceId}/shadow")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Boolean>> deleteVectorProfileShadow(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long searchSpaceId,
+            @Parameter(description = "候选向量存储档位", required = true) @RequestParam VectorStorageProfile profile) {
+
+        logger.info("删除向量档位影子索引: searchSpaceId={}, profile={}", searchSpaceId, profile);
+
+        try {
+            boolean deleted = vectorProfileComparisonService.deleteShadowIndex(searchSpaceId, profile);
+            return ResponseEntity.ok(ApiResponse.success(deleted ? "影子索引已删除" : "影子索引不存在", deleted));
+        } catch (Exception e) {
+            logger.error("删除向量档位影子索引失败: searchSpaceId={}, profile={}", searchSpaceId, profile, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("删除影子索引失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 设置文档为推荐
      *
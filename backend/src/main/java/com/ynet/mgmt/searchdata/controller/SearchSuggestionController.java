@@ -18,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 搜索建议控制器
@@ -69,23 +70,23 @@ public class SearchSuggestionController {
         )
     })
     @PostMapping("/search-suggestions")
-    public ResponseEntity<ApiResponse<List<SearchSuggestionDTO>>> getSuggestions(
+    public CompletableFuture<ResponseEntity<ApiResponse<List<SearchSuggestionDTO>>>> getSuggestions(
         @Parameter(description = "搜索建议请求参数", required = true)
         @Valid @RequestBody SearchSuggestionRequest request) {
 
         logger.info("获取搜索建议: query={}, userId={}, searchSpaceId={}, size={}",
             request.getQuery(), request.getUserId(), request.getSearchSpaceId(), request.getSize());
 
-        try {
-            List<SearchSuggestionDTO> suggestions = searchSuggestionService.getSuggestions(request);
+        // 异步返回，等待各数据源期间不占用请求线程
+        return searchSuggestionService.getSuggestionsAsync(request)
+            .thenApply(suggestions -> {
+                logger.info("搜索建议返回成功: query={}, count={}", request.getQuery(), suggestions.size());
 
-            logger.info("搜索建议返回成功: query={}, count={}", request.getQuery(), suggestions.size());
-
-            return ResponseEntity.ok(ApiResponse.success(suggestions));
-
-        } catch (Exception e) {
-            logger.error("获取搜索建议失败: query={}", request.getQuery(), e);
-            return ResponseEntity.ok(ApiResponse.error("获取搜索建议失败: " + e.getMessage()));
-        }
+                return ResponseEntity.ok(ApiResponse.success(suggestions));
+            })
+            .exceptionally(e -> {
+                logger.error("获取搜索建议失败: query={}", request.getQuery(), e);
+                return ResponseEntity.ok(ApiResponse.error("获取搜索建议失败: " + e.getMessage()));
+            });
     }
 }
@@ -74,6 +74,10 @@ public class SearchDataRequest {
     @Schema(description = "启用查询理解", example = "true", defaultValue = "false")
     private Boolean enableQueryUnderstanding = false;
 
+    @Schema(description = "搜索档位：full 精确总数和完整高亮，fast 总数统计到阈值并返回有限高亮片段；为空时使用配置的默认档位（full）",
+            example = "full", allowableValues = {"fast", "full"})
+    private String profile;
+
     /**
      * 排序配置
      */
@@ -1,5 +1,6 @@
 package com.ynet.mgmt.searchdata.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,6 +29,12 @@ public class SearchDataResponse {
     @Schema(description = "总记录数", example = "100")
     private Long total;
 
+    @Schema(description = "总数关系：eq 精确值，gte 下界（超过统计阈值）", example = "eq")
+    private String totalRelation;
+
+    @Schema(description = "总数展示文本", example = "10,000+")
+    private String totalDisplay;
+
     @Schema(description = "当前页码", example = "1")
     private Integer page;
 
@@ -73,6 +80,13 @@ public class SearchDataResponse {
 
         @Schema(description = "高亮信息")
         private Map<String, List<String>> highlight;
+
+        /**
+         * 是否为推荐文档，取自ES返回的排序值，仅用于服务端合并排序，不输出
+         */
+        @JsonIgnore
+        @Schema(hidden = true)
+        private boolean recommended;
     }
 
     /**
@@ -120,9 +134,15 @@ public class SearchDataResponse {
         @Schema(description = "向量生成耗时(毫秒)", example = "50")
         private Long vectorGenerationTime;
 
-        @Schema(description = "ES查询耗时(毫秒)", example = "120")
+        @Schema(description = "ES查询耗时(毫秒)，客户端观察到的请求往返时间", example = "120")
         private Long elasticsearchTime;
 
+        @Schema(description = "ES服务端执行耗时(毫秒)，即响应中的took", example = "95")
+        private Long elasticsearchTook;
+
+        @Schema(description = "各阶段耗时(毫秒)，如 sensitive_check、embedding、mapping、es_took、es_network、rerank、sort")
+        private Map<String, Long> stageTimings;
+
         @Schema(description = "总耗时(毫秒)", example = "185")
         private Long totalTime;
 
@@ -138,5 +158,11 @@ public class SearchDataResponse {
 
         @Schema(description = "搜索策略自动调整说明")
         private String adjustmentReason;
+
+        @Schema(description = "各索引ES耗时(毫秒)，多空间搜索时返回")
+        private Map<String, Long> indexLatencies;
+
+        @Schema(description = "是否命中搜索结果缓存，命中时ES耗时为空，阶段耗时与总耗时为本次请求的实际耗时", example = "false")
+        private Boolean cached;
     }
 }
\ No newline at end of file
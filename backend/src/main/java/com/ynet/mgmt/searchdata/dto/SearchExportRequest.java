@@ -0,0 +1,63 @@
+package com.ynet.mgmt.searchdata.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 搜索结果流式导出请求
+ */
+@Data
+@Schema(description = "搜索结果流式导出请求")
+public class SearchExportRequest {
+
+    @NotBlank(message = "搜索空间ID不能为空")
+    @Schema(description = "搜索空间ID", example = "1", required = true)
+    private String searchSpaceId;
+
+    @Schema(description = "查询文本，与搜索接口使用相同的关键词查询，为空时导出整个索引", example = "信用卡")
+    private String query;
+
+    @Schema(description = "启用拼音搜索", example = "true", defaultValue = "true")
+    private Boolean enablePinyinSearch = true;
+
+    @Schema(description = "拼音搜索模式", example = "AUTO",
+            allowableValues = {"AUTO", "STRICT", "FUZZY"},
+            defaultValue = "AUTO")
+    private String pinyinMode = "AUTO";
+
+    @Schema(description = "渠道代码，与搜索接口相同的渠道白名单过滤", example = "mobile")
+    private String channel;
+
+    @Valid
+    @Schema(description = "等值过滤条件（operator=eq）")
+    private List<SearchDataRequest.FilterConfig> filters;
+
+    @Schema(description = "导出字段，为空时导出全部非向量字段", example = "[\"title\", \"content\"]")
+    private List<String> fields;
+
+    @Pattern(regexp = "ndjson|csv", message = "导出格式只支持 ndjson 或 csv")
+    @Schema(description = "导出格式", example = "ndjson", allowableValues = {"ndjson", "csv"})
+    private String format = "ndjson";
+
+    @Min(value = 1, message = "批次大小不能小于1")
+    @Max(value = 10000, message = "批次大小不能超过10000")
+    @Schema(description = "每批从ES读取的文档数，为空时使用配置的默认值", example = "1000")
+    private Integer batchSize;
+
+    @Min(value = 1, message = "导出上限不能小于1")
+    @Schema(description = "最多导出文档数，为空时导出全部", example = "100000")
+    private Long limit;
+
+    @Schema(description = "续传游标，取自上一次导出中最后一个检查点")
+    private String cursor;
+
+    @Schema(description = "是否在每批之后写入续传检查点（NDJSON 为 {\"_cursor\":...} 行，CSV 为 # 开头的注释行）", example = "true")
+    private Boolean includeCursor = true;
+}
@@ -0,0 +1,82 @@
+package com.ynet.mgmt.searchdata.dto;
+
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 向量存储档位对比报告DTO
+ * 以基准索引的精确检索结果为标准答案，对比基准索引与影子索引的召回率和延迟
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "向量存储档位对比报告")
+public class VectorProfileComparisonReport {
+
+    @Schema(description = "搜索空间ID", example = "1")
+    private Long searchSpaceId;
+
+    @Schema(description = "对比的向量字段", example = "title_vector")
+    private String field;
+
+    @Schema(description = "检索方式", example = "EXACT", allowableValues = {"EXACT", "KNN"})
+    private String method;
+
+    @Schema(description = "每个查询取前K条结果计算召回率", example = "10")
+    private Integer k;
+
+    @Schema(description = "参与对比的查询数", example = "50")
+    private Integer sampledQueries;
+
+    @Schema(description = "因无法生成向量或检索失败而跳过的查询数", example = "0")
+    private Integer skippedQueries;
+
+    @Schema(description = "基准索引统计")
+    private SideStats baseline;
+
+    @Schema(description = "影子索引统计")
+    private SideStats candidate;
+
+    /**
+     * 单个索引的统计
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "单个索引的召回率与延迟统计")
+    public static class SideStats {
+
+        @Schema(description = "索引名称", example = "user_data_vp_byte")
+        private String index;
+
+        @Schema(description = "向量存储档位", example = "BYTE")
+        private VectorStorageProfile profile;
+
+        @Schema(description = "索引文档数，影子索引少于基准索引时说明reindex尚未完成", example = "12000")
+        private Long documents;
+
+        @Schema(description = "平均召回率@K", example = "0.97")
+        private Double meanRecall;
+
+        @Schema(description = "平均延迟（毫秒，含网络）", example = "12.5")
+        private Double avgLatencyMs;
+
+        @Schema(description = "P50延迟（毫秒）", example = "11.2")
+        private Double p50LatencyMs;
+
+        @Schema(description = "P95延迟（毫秒）", example = "20.8")
+        private Double p95LatencyMs;
+
+        @Schema(description = "ES服务端平均耗时（毫秒）", example = "8.3")
+        private Double avgTookMs;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ynet.mgmt.searchdata.dto;
+
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 向量存储档位影子索引创建响应DTO
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "向量存储档位影子索引创建响应")
+public class VectorProfileShadowResponse {
+
+    @Schema(description = "基准索引名称", example = "user_data")
+    private String baseIndex;
+
+    @Schema(description = "影子索引名称", example = "user_data_vp_byte")
+    private String shadowIndex;
+
+    @Schema(description = "影子索引使用的向量存储档位", example = "BYTE")
+    private VectorStorageProfile profile;
+
+    @Schema(description = "复制到影子索引的向量字段")
+    private List<String> vectorFields;
+
+    @Schema(description = "基准索引文档数", example = "12000")
+    private Long baseDocuments;
+
+    @Schema(description = "后台reindex任务ID，可通过 _tasks 接口查看进度")
+    private String taskId;
+}
@@ -0,0 +1,148 @@
+package com.ynet.mgmt.searchdata.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 搜索延迟记录器
+ * 将每次搜索的总耗时和各阶段耗时写入 Micrometer 计时器（含 p50/p95/p99 和直方图），
+ * 超过慢查询阈值的请求连同完整阶段明细保存在固定容量的环形缓冲区中，最新的记录覆盖最旧的记录
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SearchLatencyRecorder {
+
+    static final String REQUEST_METRIC = "search.request.latency";
+    static final String STAGE_METRIC = "search.stage.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMillis;
+    private final int capacity;
+
+    private final AtomicReferenceArray<SlowSearchRecord> slowSearches;
+    private final AtomicLong slowSequence = new AtomicLong();
+
+    public SearchLatencyRecorder(MeterRegistry meterRegistry,
+                                 @Value("${search.latency.slow-threshold:PT1S}") Duration slowThreshold,
+                                 @Value("${search.latency.slow-query-capacity:200}") int capacity) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.capacity = Math.max(1, capacity);
+        this.slowSearches = new AtomicReferenceArray<>(this.capacity);
+        log.info("初始化搜索延迟记录器: slowThreshold={}ms, capacity={}", slowThresholdMillis, this.capacity);
+    }
+
+    /**
+     * 记录一次搜索的耗时
+     *
+     * @param timer 已结束的分阶段计时器
+     * @param indices 参与搜索的索引
+     * @param query 查询文本
+     * @param page 页码
+     * @param size 每页大小
+     */
+    public void record(SearchStageTimer timer, List<String> indices, String query, Integer page, Integer size) {
+        timer.stop();
+        String outcome = timer.isFailed() ? "error" : "success";
+        String cache = timer.isCacheHit() ? "hit" : "miss";
+
+        Timer.builder(REQUEST_METRIC)
+                .description("搜索请求总耗时")
+                .tags("type", timer.getSearchType(), "outcome", outcome, "cache", cache)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(timer.getTotalNanos(), TimeUnit.NANOSECONDS);
+
+        for (Map.Entry<SearchStage, Long> entry : timer.getStageNanos().entrySet()) {
+            Timer.builder(STAGE_METRIC)
+                    .description("搜索各阶段耗时")
+                    .tags("type", timer.getSearchType(), "stage", entry.getKey().getTag())
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(entry.getValue(), TimeUnit.NANOSECONDS);
+        }
+
+        long totalMillis = timer.getTotalMillis();
+        if (totalMillis >= slowThresholdMillis) {
+            SlowSearchRecord record = new SlowSearchRecord();
+            record.setTimestamp(LocalDateTime.now());
+            record.setSearchType(timer.getSearchType());
+            record.setIndices(indices);
+            record.setQuery(query);
+            record.setPage(page);
+            record.setSize(size);
+            record.setOutcome(outcome);
+            record.setCacheHit(timer.isCacheHit());
+            record.setTotalTimeMs(totalMillis);
+            record.setElasticsearchTookMs(timer.getEsTookMillis());
+            record.setStageTimings(timer.getStageMillis());
+
+            long sequence = slowSequence.getAndIncrement();
+            slowSearches.set((int) (sequence % capacity), record);
+            log.warn("慢查询: indices={}, query={}, total={}ms, esTook={}ms, stages={}",
+                    indices, query, totalMillis, timer.getEsTookMillis(), record.getStageTimings());
+        }
+    }
+
+    /**
+     * 获取最近的慢查询，最新的在前
+     *
+     * @param limit 最多返回条数
+     * @return 慢查询列表
+     */
+    public List<SlowSearchRecord> getSlowSearches(int limit) {
+        long end = slowSequence.get();
+        long start = Math.max(0, end - Math.min(capacity, Math.max(0, limit)));
+        List<SlowSearchRecord> result = new ArrayList<>();
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            SlowSearchRecord record = slowSearches.get((int) (sequence % capacity));
+            if (record != null) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return 慢查询阈值（毫秒）
+     */
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    /**
+     * 慢查询记录
+     */
+    @Data
+    public static class SlowSearchRecord {
+        private LocalDateTime timestamp;
+        private String searchType;
+        private List<String> indices;
+        private String query;
+        private Integer page;
+        private Integer size;
+        private String outcome;
+        private boolean cacheHit;
+        private long totalTimeMs;
+        private Long elasticsearchTookMs;
+        private Map<String, Long> stageTimings;
+    }
+}
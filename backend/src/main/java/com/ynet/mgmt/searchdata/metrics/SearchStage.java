@@ -0,0 +1,76 @@
+package com.ynet.mgmt.searchdata.metrics;
+
+/**
+ * 搜索请求的处理阶段
+ * tag 作为 Micrometer 指标标签和慢查询明细中的阶段名称
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public enum SearchStage {
+
+    /**
+     * 敏感词检测
+     */
+    SENSITIVE_CHECK("sensitive_check"),
+
+    /**
+     * 查询理解（纠错、同义词、意图识别）
+     */
+    QUERY_UNDERSTANDING("query_understanding"),
+
+    /**
+     * 多空间查询规划（含查询理解与映射解析，不含向量生成）
+     */
+    PLAN("plan"),
+
+    /**
+     * 查询向量生成
+     */
+    EMBEDDING("embedding"),
+
+    /**
+     * 索引映射获取（可搜索字段、向量字段、映射信息）
+     */
+    MAPPING("mapping"),
+
+    /**
+     * ES查询构建
+     */
+    QUERY_BUILD("query_build"),
+
+    /**
+     * ES服务端执行耗时（响应中的 took）
+     */
+    ES_TOOK("es_took"),
+
+    /**
+     * ES请求往返耗时中 took 之外的部分（网络传输、序列化、客户端排队）
+     */
+    ES_NETWORK("es_network"),
+
+    /**
+     * 命中结果转换
+     */
+    RESULT_CONVERT("result_convert"),
+
+    /**
+     * 语义重排序
+     */
+    RERANK("rerank"),
+
+    /**
+     * 推荐优先排序
+     */
+    SORT("sort");
+
+    private final String tag;
+
+    SearchStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
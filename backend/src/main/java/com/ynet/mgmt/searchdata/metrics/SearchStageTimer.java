@@ -0,0 +1,150 @@
+package com.ynet.mgmt.searchdata.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单次搜索请求的分阶段计时器
+ * 同一阶段多次执行时耗时累加；只在处理请求的线程内使用，不是线程安全的
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class SearchStageTimer {
+
+    private final String searchType;
+    private final long startNanos;
+    private final Map<SearchStage, Long> stageNanos = new EnumMap<>(SearchStage.class);
+
+    private Long esTookMillis;
+    private boolean cacheHit;
+    private boolean failed;
+    private long totalNanos = -1;
+
+    private SearchStageTimer(String searchType, long startNanos) {
+        this.searchType = searchType;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 开始计时
+     *
+     * @param searchType 搜索类型（single/multi）
+     * @return 计时器
+     */
+    public static SearchStageTimer start(String searchType) {
+        return new SearchStageTimer(searchType, System.nanoTime());
+    }
+
+    /**
+     * 记录从 stageStartNanos 到当前的阶段耗时
+     *
+     * @param stage 阶段
+     * @param stageStartNanos 阶段开始时的 System.nanoTime()
+     */
+    public void recordSince(SearchStage stage, long stageStartNanos) {
+        record(stage, System.nanoTime() - stageStartNanos);
+    }
+
+    /**
+     * 累加阶段耗时
+     *
+     * @param stage 阶段
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(SearchStage stage, long nanos) {
+        if (nanos >= 0) {
+            stageNanos.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * 记录一次ES请求：took 计入服务端耗时，往返耗时中超出 took 的部分计入网络耗时
+     *
+     * @param requestStartNanos 请求开始时的 System.nanoTime()
+     * @param tookMillis ES响应中的 took（毫秒）
+     */
+    public void recordElasticsearch(long requestStartNanos, long tookMillis) {
+        long requestNanos = System.nanoTime() - requestStartNanos;
+        long tookNanos = Math.min(tookMillis * 1_000_000L, requestNanos);
+        record(SearchStage.ES_TOOK, tookNanos);
+        record(SearchStage.ES_NETWORK, requestNanos - tookNanos);
+        esTookMillis = (esTookMillis != null ? esTookMillis : 0L) + tookMillis;
+    }
+
+    /**
+     * 结束计时，重复调用时保留第一次的总耗时
+     */
+    public void stop() {
+        if (totalNanos < 0) {
+            totalNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public void markCacheHit() {
+        this.cacheHit = true;
+    }
+
+    public void markFailed() {
+        this.failed = true;
+    }
+
+    public String getSearchType() {
+        return searchType;
+    }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return ES响应中的 took 之和（毫秒），未访问ES时返回null
+     */
+    public Long getEsTookMillis() {
+        return esTookMillis;
+    }
+
+    /**
+     * @return ES请求往返耗时之和（毫秒）
+     */
+    public long getEsRequestMillis() {
+        return toMillis(stageNanos.getOrDefault(SearchStage.ES_TOOK, 0L)
+                + stageNanos.getOrDefault(SearchStage.ES_NETWORK, 0L));
+    }
+
+    /**
+     * @return 总耗时（纳秒），未结束时返回已经过的时间
+     */
+    public long getTotalNanos() {
+        return totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos;
+    }
+
+    public long getTotalMillis() {
+        return toMillis(getTotalNanos());
+    }
+
+    /**
+     * @return 各阶段耗时（纳秒），按阶段定义顺序
+     */
+    public Map<SearchStage, Long> getStageNanos() {
+        return new EnumMap<>(stageNanos);
+    }
+
+    /**
+     * @return 各阶段耗时（毫秒），键为阶段标签，按阶段定义顺序
+     */
+    public Map<String, Long> getStageMillis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        stageNanos.forEach((stage, nanos) -> result.put(stage.getTag(), toMillis(nanos)));
+        return result;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
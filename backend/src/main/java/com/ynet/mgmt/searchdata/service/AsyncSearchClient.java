@@ -0,0 +1,104 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 非阻塞搜索执行层
+ *
+ * ES请求通过 {@link ElasticsearchAsyncClient} 发出，返回可组合的 CompletableFuture，
+ * 等待响应期间不占用任何业务线程，并发度不再受线程数限制。
+ * 异步结果在HTTP客户端的I/O线程上完成，后续回调只做轻量的结果转换；
+ * 仍然阻塞的调用（JDBC查询、同步降级路径）通过 {@link #supplyBlocking(Supplier)} 提交到有界的搜索执行器，
+ * 执行器满载时返回失败的 future，由调用方降级，而不是占用调用线程
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class AsyncSearchClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncSearchClient.class);
+
+    private final ElasticsearchAsyncClient asyncClient;
+    private final ExecutorService blockingExecutor;
+
+    public AsyncSearchClient(ElasticsearchAsyncClient asyncClient,
+                             @Qualifier("searchExecutor") ExecutorService blockingExecutor) {
+        this.asyncClient = asyncClient;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * 异步执行搜索
+     *
+     * @param request 搜索请求
+     * @param documentClass 文档类型
+     * @return 搜索响应
+     */
+    public <T> CompletableFuture<SearchResponse<T>> search(SearchRequest request, Class<T> documentClass) {
+        try {
+            return asyncClient.search(request, documentClass);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步执行多索引搜索（_msearch）
+     *
+     * @param request 多搜索请求
+     * @param documentClass 文档类型
+     * @return 多搜索响应
+     */
+    public <T> CompletableFuture<MsearchResponse<T>> msearch(MsearchRequest request, Class<T> documentClass) {
+        try {
+            return asyncClient.msearch(request, documentClass);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步获取索引映射
+     *
+     * @param request 映射请求
+     * @return 映射响应
+     */
+    public CompletableFuture<GetMappingResponse> getMapping(GetMappingRequest request) {
+        try {
+            return asyncClient.indices().getMapping(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 在有界搜索执行器中执行阻塞调用
+     *
+     * @param supplier 阻塞调用
+     * @return 调用结果，执行器满载时为失败的 future（{@link RejectedExecutionException}）
+     */
+    public <T> CompletableFuture<T> supplyBlocking(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, blockingExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("搜索执行器已满载，拒绝阻塞任务");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -1,22 +1,41 @@
 package com.ynet.mgmt.searchdata.service;
 
+import com.ynet.mgmt.searchdata.cache.RerankSessionCache;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
+import com.ynet.mgmt.searchdata.cache.SearchResultCache;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
 import com.ynet.mgmt.searchdata.config.SearchWeightProperties;
 import com.ynet.mgmt.searchdata.dto.*;
+import com.ynet.mgmt.searchdata.metrics.SearchLatencyRecorder;
+import com.ynet.mgmt.searchdata.metrics.SearchStage;
+import com.ynet.mgmt.searchdata.metrics.SearchStageTimer;
+import com.ynet.mgmt.jsonimport.util.DenseVectorMappings;
 import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import com.ynet.mgmt.searchdata.service.EmbeddingService;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import co.elastic.clients.elasticsearch._types.InlineScript;
 import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.Highlight;
 import co.elastic.clients.elasticsearch.core.search.HighlightField;
 import co.elastic.clients.elasticsearch.core.search.HighlighterType;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.core.search.TrackHits;
 import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
 import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
 import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
 import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.mapping.ObjectProperty;
 import co.elastic.clients.json.JsonData;
@@ -29,7 +48,6 @@ import org.springframework.util.StringUtils;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -44,14 +62,24 @@ import java.util.stream.Collectors;
 @Service
 public class ElasticsearchDataService {
 
+    /**
+     * 推荐标记字段，值为1的文档排在搜索结果最前面
+     */
+    static final String RECOMMEND_FIELD = "recommend";
+
     private final ElasticsearchClient elasticsearchClient;
     private final EmbeddingService embeddingService;
     private final com.ynet.mgmt.sensitiveWord.service.SensitiveWordCheckService sensitiveWordCheckService;
     private final com.ynet.mgmt.searchspace.service.SearchSpaceService searchSpaceService;
     private final RerankService rerankService;
     private final SearchWeightProperties weightProperties;
-    private final ExecutorService searchExecutor;
+    private final AsyncSearchClient asyncSearchClient;
     private final com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService queryUnderstandingService;
+    private final RerankSessionCache rerankSessionCache;
+    private final SearchProfileProperties profileProperties;
+    private final SearchResultCache searchResultCache;
+    private final SearchCacheInvalidator searchCacheInvalidator;
+    private final SearchLatencyRecorder latencyRecorder;
 
     /**
      * 是否启用语义搜索功能
@@ -72,16 +100,26 @@ public class ElasticsearchDataService {
                                   com.ynet.mgmt.searchspace.service.SearchSpaceService searchSpaceService,
                                   RerankService rerankService,
                                   SearchWeightProperties weightProperties,
-                                  ExecutorService searchExecutor,
-                                  com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService queryUnderstandingService) {
+                                  AsyncSearchClient asyncSearchClient,
+                                  com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService queryUnderstandingService,
+                                  RerankSessionCache rerankSessionCache,
+                                  SearchProfileProperties profileProperties,
+                                  SearchResultCache searchResultCache,
+                                  SearchLatencyRecorder latencyRecorder,
+                                  SearchCacheInvalidator searchCacheInvalidator) {
         this.elasticsearchClient = elasticsearchClient;
         this.embeddingService = embeddingService;
         this.sensitiveWordCheckService = sensitiveWordCheckService;
         this.searchSpaceService = searchSpaceService;
         this.rerankService = rerankService;
         this.weightProperties = weightProperties;
-        this.searchExecutor = searchExecutor;
+        this.asyncSearchClient = asyncSearchClient;
         this.queryUnderstandingService = queryUnderstandingService;
+        this.rerankSessionCache = rerankSessionCache;
+        this.profileProperties = profileProperties;
+        this.searchResultCache = searchResultCache;
+        this.latencyRecorder = latencyRecorder;
+        this.searchCacheInvalidator = searchCacheInvalidator;
     }
 
     /**
@@ -93,15 +131,73 @@ public class ElasticsearchDataService {
      * @return 搜索结果
      */
     public SearchDataResponse searchData(SearchDataRequest request, SearchSpaceDTO searchSpace, String userRole) {
-        long startTime = System.currentTimeMillis();
-        String indexName = searchSpace.getIndexName();
-
+        SearchStageTimer timer = SearchStageTimer.start("single");
         try {
-            // 敏感词检测（在搜索前进行）
+            // 敏感词检测在读取结果缓存之前进行，新增的敏感词对已缓存的查询同样生效
             if (request.getQuery() != null && !request.getQuery().trim().isEmpty()) {
+                long sensitiveStart = System.nanoTime();
                 sensitiveWordCheckService.checkAndThrow(request.getQuery());
+                timer.recordSince(SearchStage.SENSITIVE_CHECK, sensitiveStart);
+            }
+
+            if (!searchResultCache.isEnabled()) {
+                return executeSearchData(request, searchSpace, userRole, timer);
             }
 
+            String cacheKey = searchResultCache.buildKey(List.of(searchSpace.getIndexName()), request, userRole);
+            SearchDataResponse cached = searchResultCache.get(cacheKey);
+            if (cached != null) {
+                log.info("命中搜索结果缓存: index={}, query={}, page={}",
+                        searchSpace.getIndexName(), request.getQuery(), request.getPage());
+                return asCacheHit(cached, timer);
+            }
+
+            SearchDataResponse response = executeSearchData(request, searchSpace, userRole, timer);
+            searchResultCache.put(cacheKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            timer.markFailed();
+            throw e;
+        } finally {
+            latencyRecorder.record(timer, List.of(searchSpace.getIndexName()), request.getQuery(),
+                    request.getPage(), request.getSize());
+        }
+    }
+
+    /**
+     * 将缓存中的响应标记为缓存命中，并以本次请求的实际耗时替换缓存时记录的耗时，
+     * 避免搜索日志把首次搜索的ES耗时记到缓存命中的请求上
+     *
+     * @param cached 缓存响应副本
+     * @param timer 本次请求的计时器
+     * @return 缓存命中响应
+     */
+    private SearchDataResponse asCacheHit(SearchDataResponse cached, SearchStageTimer timer) {
+        timer.markCacheHit();
+        SearchDataResponse.SearchMetadata metadata = cached.getSearchMetadata() != null
+                ? cached.getSearchMetadata() : new SearchDataResponse.SearchMetadata();
+        metadata.setCached(true);
+        metadata.setQueryBuildTime(null);
+        metadata.setVectorGenerationTime(null);
+        metadata.setElasticsearchTime(null);
+        metadata.setElasticsearchTook(null);
+        metadata.setIndexLatencies(null);
+        metadata.setStageTimings(timer.getStageMillis());
+        metadata.setTotalTime(timer.getTotalMillis());
+        cached.setSearchMetadata(metadata);
+        return cached;
+    }
+
+    /**
+     * 执行单空间搜索（不经过结果缓存，敏感词检测由调用方完成）
+     */
+    private SearchDataResponse executeSearchData(SearchDataRequest request, SearchSpaceDTO searchSpace, String userRole,
+                                                 SearchStageTimer timer) {
+        long startTime = System.currentTimeMillis();
+        String indexName = searchSpace.getIndexName();
+        boolean fastProfile = profileProperties.isFast(request.getProfile());
+
+        try {
             log.info("开始搜索ES数据: index={}, query={}, page={}, size={}, pinyin={}, mode={}, channel={}",
                     indexName, request.getQuery(), request.getPage(), request.getSize(),
                     request.getEnablePinyinSearch(), request.getPinyinMode(), request.getChannel());
@@ -113,6 +209,7 @@ public class ElasticsearchDataService {
             // 如果启用查询理解,先通过管道处理查询获取增强查询
             if (request.getEnableQueryUnderstanding() != null && request.getEnableQueryUnderstanding()
                 && StringUtils.hasText(originalQuery)) {
+                long understandingStart = System.nanoTime();
                 try {
                     com.ynet.mgmt.queryunderstanding.context.QueryContext context =
                         queryUnderstandingService.understandQuery(originalQuery);
@@ -124,10 +221,11 @@ public class ElasticsearchDataService {
                     log.warn("查询理解处理失败,使用原始查询: query={}, error={}", originalQuery, e.getMessage());
                     enhancedQuery = originalQuery;
                 }
+                timer.recordSince(SearchStage.QUERY_UNDERSTANDING, understandingStart);
             }
 
             // 构建查询 - 使用增强查询进行实际搜索,传false给enableQueryUnderstanding因为查询理解已经在上面处理了
-            Query query = buildQuery(enhancedQuery, request.getEnablePinyinSearch(), request.getPinyinMode(), indexName, request.getEnableSemanticSearch(), request.getSemanticWeight(), false);
+            Query query = buildQuery(enhancedQuery, request.getEnablePinyinSearch(), request.getPinyinMode(), indexName, request.getEnableSemanticSearch(), request.getSemanticWeight(), false, timer);
 
             // 如果指定了渠道，添加渠道过滤
             if (request.getChannel() != null && !request.getChannel().trim().isEmpty()) {
@@ -142,99 +240,109 @@ public class ElasticsearchDataService {
             // 计算分页参数
             int from = (request.getPage() - 1) * request.getSize();
 
-            // 构建搜索请求
+            // 构建搜索请求（分页参数在确定是否使用重排序会话后再设置）
             SearchRequest.Builder searchBuilder = new SearchRequest.Builder()
                     .index(indexName)
                     .query(query)
-                    .from(from)
-                    .size(request.getSize())
-                    .trackTotalHits(t -> t.enabled(true))
+                    .trackTotalHits(buildTrackTotalHits(fastProfile))
                     // 排除向量字段,减少网络传输
                     .source(s -> s.filter(f -> f.excludes("*_vector")));
 
-            // 添加排序
+            // 添加排序：推荐文档(recommend=1)由ES排在最前，跨分页保持一致
+            searchBuilder.sort(buildSortOptions(request.getSort())).trackScores(true);
             if (request.getSort() != null) {
-                String sortField = request.getSort().getField();
-                String sortOrder = request.getSort().getOrder();
-                searchBuilder.sort(s -> s.field(f -> f
-                        .field(sortField)
-                        .order("desc".equalsIgnoreCase(sortOrder) ?
-                                co.elastic.clients.elasticsearch._types.SortOrder.Desc :
-                                co.elastic.clients.elasticsearch._types.SortOrder.Asc)));
-                log.debug("添加排序: field={}, order={}", sortField, sortOrder);
+                log.debug("添加排序: field={}, order={}", request.getSort().getField(), request.getSort().getOrder());
             }
 
             // 添加高亮配置
             if (StringUtils.hasText(request.getQuery())) {
-                searchBuilder.highlight(h -> h
-                    .type(HighlighterType.Unified)  // 使用unified highlighter获得最佳性能
-                    .fragmentSize(0)  // 设置为0显示完整字段内容
-                    .numberOfFragments(0)  // 设置为0忽略fragment限制
-                    .fields(buildHighlightFields(indexName))  // 动态配置高亮字段
-                );
-                log.debug("添加高亮配置: index={}", indexName);
+                long mappingStart = System.nanoTime();
+                List<String> highlightFields = getSearchableFields(indexName);
+                timer.recordSince(SearchStage.MAPPING, mappingStart);
+                searchBuilder.highlight(buildHighlight(fastProfile, indexName, highlightFields));
+                log.debug("添加高亮配置: index={}, profile={}", indexName, fastProfile ? "fast" : "full");
             }
 
-            // 执行搜索
-            SearchResponse<Map> searchResponse = elasticsearchClient.search(searchBuilder.build(), Map.class);
+            boolean rerankRequested = request.getEnableRerank() != null && request.getEnableRerank() &&
+                    StringUtils.hasText(enhancedQuery);
 
-            // 转换结果
-            List<SearchDataResponse.DocumentData> documents = searchResponse.hits().hits().stream()
-                    .map(this::convertHitToDocument)
-                    .collect(Collectors.toList());
+            List<SearchDataResponse.DocumentData> documents;
+            long totalHits;
+            boolean totalLowerBound;
 
-            // 语义重排序（在推荐排序之前） - 使用增强查询
-            if (request.getEnableRerank() != null && request.getEnableRerank() &&
-                StringUtils.hasText(enhancedQuery)) {
-                try {
-                    log.info("执行语义重排序: 原始query={}, 增强query={}, documentsCount={}, topN={}",
-                            originalQuery, enhancedQuery, documents.size(), request.getRerankTopN());
-                    documents = rerankService.rerankDocuments(
-                            enhancedQuery,  // 使用增强查询进行重排序
-                            documents,
-                            request.getRerankTopN()
-                    );
-                    log.info("重排序完成: newDocumentsCount={}", documents.size());
-                } catch (Exception e) {
-                    log.error("重排序失败，使用原始结果: enhancedQuery={}", enhancedQuery, e);
+            if (rerankRequested && rerankSessionCache.covers(from, request.getSize())) {
+                // 重排序会话：第一页对候选窗口整体重排序并缓存，后续翻页直接从缓存切片
+                String sessionKey = rerankSessionCache.buildKey(enhancedQuery, indexName, request, userRole);
+                RerankSessionCache.RerankSession session = rerankSessionCache.get(sessionKey);
+                if (session == null) {
+                    session = createRerankSession(sessionKey, searchBuilder, originalQuery, enhancedQuery, timer);
+                } else {
+                    log.info("命中重排序会话缓存: query={}, page={}", enhancedQuery, request.getPage());
                 }
-            }
-
-            // 排序：推荐文档(recommend=1)永远排在最前面
-            documents.sort((d1, d2) -> {
-                Integer r1 = getRecommendValue(d1);
-                Integer r2 = getRecommendValue(d2);
-                if (!r1.equals(r2)) {
-                    return r2.compareTo(r1); // 推荐的(1)排在前面
+                documents = session.page(from, request.getSize());
+                totalHits = session.getTotalHits();
+                totalLowerBound = fastProfile && totalHits >= profileProperties.getTrackTotalHitsUpTo();
+            } else {
+                searchBuilder.from(from).size(request.getSize());
+
+                // 执行搜索
+                long esStart = System.nanoTime();
+                SearchResponse<Map> searchResponse = elasticsearchClient.search(searchBuilder.build(), Map.class);
+                timer.recordElasticsearch(esStart, searchResponse.took());
+
+                // 转换结果
+                long convertStart = System.nanoTime();
+                documents = searchResponse.hits().hits().stream()
+                        .map(this::convertHitToDocument)
+                        .collect(Collectors.toList());
+                timer.recordSince(SearchStage.RESULT_CONVERT, convertStart);
+
+                // 语义重排序 - 候选窗口之外的深分页只在页内重排序，重排序后推荐文档仍排在最前面
+                if (rerankRequested) {
+                    long rerankStart = System.nanoTime();
+                    documents = rerankWithinPage(originalQuery, enhancedQuery, documents, request.getRerankTopN());
+                    timer.recordSince(SearchStage.RERANK, rerankStart);
+
+                    long sortStart = System.nanoTime();
+                    documents = keepRecommendedFirst(documents);
+                    timer.recordSince(SearchStage.SORT, sortStart);
                 }
-                // 推荐优先级相同时,按分数排序
-                Double score1 = d1.get_score() != null ? d1.get_score() : 0.0;
-                Double score2 = d2.get_score() != null ? d2.get_score() : 0.0;
-                return Double.compare(score2, score1);
-            });
 
-            // 获取总数
-            long totalHits = 0L;
-            if (searchResponse.hits().total() != null) {
-                totalHits = searchResponse.hits().total().value();
+                // 获取总数
+                totalHits = 0L;
+                totalLowerBound = false;
+                if (searchResponse.hits().total() != null) {
+                    totalHits = searchResponse.hits().total().value();
+                    totalLowerBound = searchResponse.hits().total().relation() == TotalHitsRelation.Gte;
+                }
             }
 
             // 获取映射信息（如果需要）
             SearchDataResponse.IndexMappingInfo mappingInfo = null;
             if (request.getPage() == 1) { // 只在第一页获取映射信息
+                long mappingStart = System.nanoTime();
                 mappingInfo = getSimpleMappingInfo(indexName);
+                timer.recordSince(SearchStage.MAPPING, mappingStart);
             }
 
             long duration = System.currentTimeMillis() - startTime;
-            log.info("搜索完成: index={}, total={}, returned={}, took={}ms",
-                    indexName, totalHits, documents.size(), duration);
+            log.info("搜索完成: index={}, total={}, returned={}, took={}ms, esTook={}ms, stages={}",
+                    indexName, totalHits, documents.size(), duration, timer.getEsTookMillis(), timer.getStageMillis());
 
             return SearchDataResponse.builder()
                     .data(documents)
                     .total(totalHits)
+                    .totalRelation(totalLowerBound ? "gte" : "eq")
+                    .totalDisplay(formatTotalDisplay(totalHits, totalLowerBound))
                     .page(request.getPage())
                     .size(request.getSize())
                     .mapping(mappingInfo)
+                    .searchMetadata(SearchDataResponse.SearchMetadata.builder()
+                            .elasticsearchTime(timer.getEsRequestMillis())
+                            .elasticsearchTook(timer.getEsTookMillis())
+                            .stageTimings(timer.getStageMillis())
+                            .totalTime(duration)
+                            .build())
                     .build();
 
         } catch (IOException e) {
@@ -268,6 +376,8 @@ public class ElasticsearchDataService {
      */
     public SearchDataResponse searchMultipleSpaces(SearchDataRequest request, String userRole) {
         long startTime = System.currentTimeMillis();
+        SearchStageTimer timer = SearchStageTimer.start("multi");
+        List<String> indexNames = new ArrayList<>();
 
         try {
             log.info("开始多空间并发搜索: searchSpaceIds={}, query={}, page={}, size={}",
@@ -275,11 +385,12 @@ public class ElasticsearchDataService {
 
             // 敏感词检测
             if (request.getQuery() != null && !request.getQuery().trim().isEmpty()) {
+                long sensitiveStart = System.nanoTime();
                 sensitiveWordCheckService.checkAndThrow(request.getQuery());
+                timer.recordSince(SearchStage.SENSITIVE_CHECK, sensitiveStart);
             }
 
             // 获取所有搜索空间的索引名称
-            List<String> indexNames = new ArrayList<>();
             for (String spaceId : request.getSearchSpaceIds()) {
                 try {
                     SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(Long.valueOf(spaceId));
@@ -297,89 +408,108 @@ public class ElasticsearchDataService {
                 throw new RuntimeException("没有有效的搜索空间");
             }
 
-            log.info("搜索索引列表: {}, 使用并发策略", indexNames);
+            // 搜索结果缓存：键包含各索引当前代数，索引写入后自动失效
+            String cacheKey = null;
+            if (searchResultCache.isEnabled()) {
+                cacheKey = searchResultCache.buildKey(indexNames, request, userRole);
+                SearchDataResponse cached = searchResultCache.get(cacheKey);
+                if (cached != null) {
+                    log.info("命中搜索结果缓存: indices={}, query={}, page={}",
+                            indexNames, request.getQuery(), request.getPage());
+                    return asCacheHit(cached, timer);
+                }
+            }
+
+            log.info("搜索索引列表: {}, 使用查询计划 + _msearch 策略", indexNames);
 
             // 计算每个索引应该返回的结果数
             int perIndexSize = Math.max(1, request.getSize() / indexNames.size());
             log.info("每个索引返回结果数: {}", perIndexSize);
 
-            // 使用 CompletableFuture 并发搜索所有索引
-            List<CompletableFuture<List<SearchDataResponse.DocumentData>>> futures = indexNames.stream()
-                    .map(indexName -> CompletableFuture.supplyAsync(
-                            () -> searchSingleIndex(indexName, request, userRole, perIndexSize),
-                            searchExecutor
-                    ))
-                    .collect(Collectors.toList());
-
-            // 等待所有搜索完成，设置超时时间为30秒
-            CompletableFuture<Void> allOf = CompletableFuture.allOf(
-                    futures.toArray(new CompletableFuture[0])
-            );
-
-            try {
-                // 等待所有任务完成，最多等待30秒
-                allOf.get(30, TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                log.warn("部分索引搜索超时，使用已完成的结果");
-                // 继续处理已完成的结果
-            } catch (Exception e) {
-                log.error("并发搜索过程中发生异常", e);
+            // 查询规划：查询理解、向量生成和映射解析只执行一次
+            SearchQueryPlan plan = planQuery(request, userRole, indexNames, perIndexSize);
+            timer.record(SearchStage.PLAN, TimeUnit.MILLISECONDS.toNanos(plan.getPlanTime()));
+            timer.record(SearchStage.EMBEDDING, TimeUnit.MILLISECONDS.toNanos(plan.getVectorGenerationTime()));
+
+            // 按索引特化查询后合并为一个 _msearch 请求发送
+            long esStart = System.currentTimeMillis();
+            long buildStart = System.nanoTime();
+            MsearchRequest.Builder msearchBuilder = new MsearchRequest.Builder();
+            for (String indexName : indexNames) {
+                msearchBuilder.searches(buildPlannedSearchItem(plan, indexName));
             }
+            MsearchRequest msearchRequest = msearchBuilder.build();
+            timer.recordSince(SearchStage.QUERY_BUILD, buildStart);
 
-            // 收集所有成功的搜索结果
+            long msearchStart = System.nanoTime();
+            MsearchResponse<Map> msearchResponse = elasticsearchClient.msearch(msearchRequest, Map.class);
+            timer.recordElasticsearch(msearchStart, msearchResponse.took());
+            long esDuration = System.currentTimeMillis() - esStart;
+
+            // 收集所有成功的搜索结果，_msearch 响应顺序与请求顺序一致
             List<SearchDataResponse.DocumentData> allDocuments = new ArrayList<>();
+            Map<String, Long> indexLatencies = new LinkedHashMap<>();
             int successCount = 0;
             int failureCount = 0;
 
-            for (CompletableFuture<List<SearchDataResponse.DocumentData>> future : futures) {
-                try {
-                    if (future.isDone() && !future.isCompletedExceptionally()) {
-                        List<SearchDataResponse.DocumentData> documents = future.get();
-                        allDocuments.addAll(documents);
-                        successCount++;
-                    } else {
-                        failureCount++;
-                    }
-                } catch (Exception e) {
-                    log.warn("获取索引搜索结果失败: {}", e.getMessage());
+            long convertStart = System.nanoTime();
+            List<MultiSearchResponseItem<Map>> items = msearchResponse.responses();
+            for (int i = 0; i < indexNames.size(); i++) {
+                String indexName = indexNames.get(i);
+                MultiSearchResponseItem<Map> item = i < items.size() ? items.get(i) : null;
+                if (item == null || item.isFailure()) {
+                    // 单个索引失败不影响其他索引的搜索
+                    String reason = item != null && item.failure().error() != null ? item.failure().error().reason() : "无响应";
+                    log.warn("索引 {} 搜索失败: {}", indexName, reason);
                     failureCount++;
+                    continue;
                 }
+
+                MultiSearchItem<Map> result = item.result();
+                List<SearchDataResponse.DocumentData> documents = result.hits().hits().stream()
+                        .map(this::convertHitToDocument)
+                        .collect(Collectors.toList());
+                allDocuments.addAll(documents);
+                indexLatencies.put(indexName, result.took());
+                successCount++;
+
+                long indexTotal = result.hits().total() != null ? result.hits().total().value() : 0;
+                log.info("索引 {} 搜索完成: 返回 {} 条结果, 总计 {} 条, 耗时 {}ms",
+                        indexName, documents.size(), indexTotal, result.took());
             }
 
+            timer.recordSince(SearchStage.RESULT_CONVERT, convertStart);
+
+            // 合并各索引结果：各索引内已由ES按推荐优先排好，合并时保持推荐文档在前、其余按分数降序
+            long sortStart = System.nanoTime();
+            mergeByRecommendAndScore(allDocuments);
+            timer.recordSince(SearchStage.SORT, sortStart);
+
             long totalHits = allDocuments.size();
-            log.info("并发搜索统计: 成功 {} 个索引, 失败 {} 个索引, 总结果数 {}",
-                    successCount, failureCount, totalHits);
+            log.info("多索引搜索统计: 成功 {} 个索引, 失败 {} 个索引, 总结果数 {}, _msearch耗时 {}ms",
+                    successCount, failureCount, totalHits, esDuration);
 
-            // 语义重排序（在推荐排序之前）
+            // 语义重排序，重排序后推荐文档仍排在最前面
             if (request.getEnableRerank() != null && request.getEnableRerank() &&
                 StringUtils.hasText(request.getQuery()) && !allDocuments.isEmpty()) {
                 try {
                     log.info("多空间搜索-执行语义重排序: query={}, documentsCount={}, topN={}",
                             request.getQuery(), allDocuments.size(), request.getRerankTopN());
-                    allDocuments = rerankService.rerankDocuments(
+                    long rerankStart = System.currentTimeMillis();
+                    long rerankStartNanos = System.nanoTime();
+                    allDocuments = keepRecommendedFirst(rerankService.rerankDocuments(
                             request.getQuery(),
                             allDocuments,
                             request.getRerankTopN()
-                    );
+                    ));
+                    rerankSessionCache.recordRerankLatency(System.currentTimeMillis() - rerankStart);
+                    timer.recordSince(SearchStage.RERANK, rerankStartNanos);
                     log.info("多空间搜索-重排序完成: newDocumentsCount={}", allDocuments.size());
                 } catch (Exception e) {
                     log.error("多空间搜索-重排序失败，使用原始结果: query={}", request.getQuery(), e);
                 }
             }
 
-            // 排序：推荐文档(recommend=1)永远排在最前面
-            allDocuments.sort((d1, d2) -> {
-                Integer r1 = getRecommendValue(d1);
-                Integer r2 = getRecommendValue(d2);
-                if (!r1.equals(r2)) {
-                    return r2.compareTo(r1); // 推荐的(1)排在前面
-                }
-                // 推荐优先级相同时,按分数排序
-                Double score1 = d1.get_score() != null ? d1.get_score() : 0.0;
-                Double score2 = d2.get_score() != null ? d2.get_score() : 0.0;
-                return Double.compare(score2, score1);
-            });
-
             // 应用分页：跳过前面的页，只取当前页
             int from = (request.getPage() - 1) * request.getSize();
             int to = Math.min(from + request.getSize(), allDocuments.size());
@@ -389,29 +519,77 @@ public class ElasticsearchDataService {
             );
 
             long duration = System.currentTimeMillis() - startTime;
-            long parallelSpeedup = indexNames.size() > 0 ?
-                    (long)(duration / indexNames.size()) : 0;
-
-            log.info("多空间并发搜索完成: indices={}, total={}, returned={}, took={}ms, 平均每索引~{}ms (理论串行耗时~{}ms)",
+            log.info("多空间搜索完成: indices={}, total={}, returned={}, took={}ms, 规划耗时={}ms, 向量耗时={}ms, _msearch耗时={}ms, 各索引耗时={}",
                     indexNames, totalHits, pagedDocuments.size(), duration,
-                    duration / Math.max(successCount, 1),
-                    duration * indexNames.size());
+                    plan.getPlanTime(), plan.getVectorGenerationTime(), esDuration, indexLatencies);
 
-            return SearchDataResponse.builder()
+            SearchDataResponse response = SearchDataResponse.builder()
                     .data(pagedDocuments)
                     .total(totalHits)
+                    .totalRelation("eq")
+                    .totalDisplay(formatTotalDisplay(totalHits, false))
                     .page(request.getPage())
                     .size(request.getSize())
+                    .searchMetadata(SearchDataResponse.SearchMetadata.builder()
+                            .semanticEnabled(plan.isSemantic())
+                            .semanticWeight(plan.isSemantic() ? plan.getSemanticWeight() : null)
+                            .pinyinEnabled(plan.isPinyinEnabled())
+                            .pinyinMode(plan.getPinyinMode())
+                            .actualQueryType(plan.isSemantic() ? "hybrid" : "keyword")
+                            .queryBuildTime(plan.getPlanTime())
+                            .vectorGenerationTime(plan.getVectorGenerationTime())
+                            .elasticsearchTime(esDuration)
+                            .elasticsearchTook(timer.getEsTookMillis())
+                            .stageTimings(timer.getStageMillis())
+                            .indexLatencies(indexLatencies)
+                            .totalTime(duration)
+                            .build())
                     .build();
 
+            if (cacheKey != null) {
+                searchResultCache.put(cacheKey, response);
+            }
+            return response;
+
         } catch (Exception e) {
+            timer.markFailed();
             long duration = System.currentTimeMillis() - startTime;
             log.error("多空间搜索过程中出现未预期异常: searchSpaceIds={}, query={}, took={}ms",
                     request.getSearchSpaceIds(), request.getQuery(), duration, e);
             throw new RuntimeException("搜索失败: " + e.getMessage(), e);
+        } finally {
+            latencyRecorder.record(timer, indexNames, request.getQuery(), request.getPage(), request.getSize());
         }
     }
 
+    /**
+     * 获取重排序会话缓存指标（命中率、重排序延迟）
+     *
+     * @return 指标摘要
+     */
+    public RerankSessionCache.MetricsSummary getRerankSessionMetrics() {
+        return rerankSessionCache.getSummary();
+    }
+
+    /**
+     * 获取搜索结果缓存指标（命中率、失效次数）
+     *
+     * @return 指标摘要
+     */
+    public SearchResultCache.MetricsSummary getSearchResultCacheMetrics() {
+        return searchResultCache.getSummary();
+    }
+
+    /**
+     * 获取最近的慢查询及其分阶段耗时
+     *
+     * @param limit 最多返回条数
+     * @return 慢查询列表，最新的在前
+     */
+    public List<SearchLatencyRecorder.SlowSearchRecord> getSlowSearches(int limit) {
+        return latencyRecorder.getSlowSearches(limit);
+    }
+
     /**
      * 获取索引映射
      *
@@ -498,6 +676,7 @@ public class ElasticsearchDataService {
 
             // 执行更新
             IndexResponse response = elasticsearchClient.index(updateBuilder.build());
+            searchCacheInvalidator.invalidateIndex(request.getIndex());
 
             log.info("文档更新成功: id={}, index={}, version={}, result={}",
                     id, request.getIndex(), response.version(), response.result());
@@ -545,6 +724,7 @@ public class ElasticsearchDataService {
             // 执行更新
             co.elastic.clients.elasticsearch.core.UpdateResponse<Map<String, Object>> response =
                     elasticsearchClient.update(updateRequest, Map.class);
+            searchCacheInvalidator.invalidateIndex(index);
 
             log.info("文档字段更新成功: id={}, index={}, version={}, result={}",
                     id, index, response.version(), response.result());
@@ -593,6 +773,7 @@ public class ElasticsearchDataService {
 
             // 执行删除
             DeleteResponse response = elasticsearchClient.delete(deleteBuilder.build());
+            searchCacheInvalidator.invalidateIndex(request.getIndex());
 
             log.info("文档删除成功: id={}, index={}, result={}", id, request.getIndex(), response.result());
 
@@ -688,6 +869,10 @@ public class ElasticsearchDataService {
 
             BulkRequest bulkRequest = BulkRequest.of(builder -> builder.operations(operations));
             BulkResponse bulkResponse = elasticsearchClient.bulk(bulkRequest);
+            request.getOperations().stream()
+                    .map(BulkOperationRequest.BulkOperation::getIndex)
+                    .distinct()
+                    .forEach(searchCacheInvalidator::invalidateIndex);
 
             // 转换结果
             List<Map<String, Object>> items = bulkResponse.items().stream()
@@ -711,21 +896,61 @@ public class ElasticsearchDataService {
     // 私有辅助方法
 
     /**
-     * 构建高亮字段配置
-     * 基于可搜索字段动态生成高亮字段配置，确保与查询字段匹配
+     * 按搜索档位构建总数统计方式
+     * fast档位只精确统计到阈值，超过后ES可以提前终止计数
+     */
+    private TrackHits buildTrackTotalHits(boolean fastProfile) {
+        return fastProfile
+                ? TrackHits.of(t -> t.count(profileProperties.getTrackTotalHitsUpTo()))
+                : TrackHits.of(t -> t.enabled(true));
+    }
+
+    /**
+     * 按搜索档位构建高亮配置
+     * fast档位只高亮实际命中的字段，返回有限长度的片段并限制分析字符数；
+     * full档位保持完整字段高亮
      */
-    private Map<String, HighlightField> buildHighlightFields(String indexName) {
-        List<String> searchableFields = getSearchableFields(indexName);
+    private Highlight buildHighlight(boolean fastProfile, String indexName, List<String> searchableFields) {
+        if (!fastProfile) {
+            return Highlight.of(h -> h
+                    .type(HighlighterType.Unified)  // 使用unified highlighter获得最佳性能
+                    .fragmentSize(0)  // 设置为0显示完整字段内容
+                    .numberOfFragments(0)  // 设置为0忽略fragment限制
+                    .fields(buildHighlightFields(indexName, searchableFields, false, 0, 0)));
+        }
+
+        SearchProfileProperties.Highlight config = profileProperties.getHighlight();
+        return Highlight.of(h -> h
+                .type(HighlighterType.Unified)
+                .requireFieldMatch(true)  // 只高亮查询实际命中的字段
+                .fragmentSize(config.getFragmentSize())
+                .numberOfFragments(config.getNumberOfFragments())
+                .maxAnalyzedOffset(config.getMaxAnalyzedOffset())
+                .fields(buildHighlightFields(indexName, searchableFields, true,
+                        config.getFragmentSize(), config.getNumberOfFragments())));
+    }
+
+    /**
+     * 基于已解析的可搜索字段构建高亮字段配置
+     *
+     * @param skipKeywordSubFields 是否跳过 .keyword 子字段（其命中已由父字段高亮覆盖）
+     */
+    private Map<String, HighlightField> buildHighlightFields(String indexName, List<String> searchableFields,
+                                                             boolean skipKeywordSubFields,
+                                                             int fragmentSize, int numberOfFragments) {
         Map<String, HighlightField> highlightFields = new HashMap<>();
 
         for (String field : searchableFields) {
             // 移除字段权重标记（如 ^2.0）以适配高亮字段格式
             String cleanField = field.split("\\^")[0];
+            if (skipKeywordSubFields && cleanField.endsWith(".keyword")) {
+                continue;
+            }
 
             // 为每个字段创建高亮配置
             HighlightField highlightField = HighlightField.of(hf -> hf
-                .fragmentSize(0)  // 显示完整字段内容
-                .numberOfFragments(0)  // 不分片
+                .fragmentSize(fragmentSize)
+                .numberOfFragments(numberOfFragments)
                 .preTags("<em>")  // 高亮开始标签
                 .postTags("</em>")  // 高亮结束标签
             );
@@ -736,6 +961,14 @@ public class ElasticsearchDataService {
         return highlightFields;
     }
 
+    /**
+     * 格式化总数展示文本，下界总数追加“+”（如 10,000+）
+     */
+    static String formatTotalDisplay(long total, boolean lowerBound) {
+        String formatted = String.format(Locale.ROOT, "%,d", total);
+        return lowerBound ? formatted + "+" : formatted;
+    }
+
     /**
      * 添加渠道过滤
      * 当指定渠道时，只返回以下三种文档：
@@ -747,7 +980,7 @@ public class ElasticsearchDataService {
      * @param channel 渠道代码
      * @return 添加渠道过滤后的查询
      */
-    private Query addChannelFilter(Query originalQuery, String channel) {
+    static Query addChannelFilter(Query originalQuery, String channel) {
         log.debug("添加渠道过滤: channel={}", channel);
 
         return BoolQuery.of(b -> b
@@ -782,6 +1015,43 @@ public class ElasticsearchDataService {
         )._toQuery();
     }
 
+    /**
+     * 添加等值过滤条件（operator=eq），支持字符串和数值类型的值，其他操作符忽略
+     *
+     * @param originalQuery 原始查询
+     * @param filters 过滤条件
+     * @return 添加过滤后的查询
+     */
+    static Query addEqualityFilters(Query originalQuery, List<SearchDataRequest.FilterConfig> filters) {
+        BoolQuery.Builder boolBuilder = new BoolQuery.Builder()
+            .must(originalQuery);
+
+        for (SearchDataRequest.FilterConfig filter : filters) {
+            if ("eq".equals(filter.getOperator())) {
+                // 等值过滤 - 支持字符串和数值类型
+                Object filterValue = filter.getValue();
+                if (filterValue instanceof String) {
+                    // 字符串类型过滤（如 audit_status）
+                    boolBuilder.filter(f -> f.term(t -> t
+                        .field(filter.getField())
+                        .value((String) filterValue)
+                    ));
+                } else if (filterValue instanceof Number) {
+                    // 数值类型过滤（如 recommend）
+                    boolBuilder.filter(f -> f.term(t -> t
+                        .field(filter.getField())
+                        .value(v -> v.longValue(((Number) filterValue).longValue()))
+                    ));
+                } else {
+                    log.warn("不支持的过滤值类型: field={}, valueType={}",
+                        filter.getField(), filterValue != null ? filterValue.getClass() : null);
+                }
+            }
+        }
+
+        return boolBuilder.build()._toQuery();
+    }
+
     /**
      * 添加角色过滤
      * 当指定角色时，只返回以下两种文档：
@@ -792,7 +1062,7 @@ public class ElasticsearchDataService {
      * @param userRole 用户角色
      * @return 添加角色过滤后的查询
      */
-    private Query addRoleFilter(Query originalQuery, String userRole) {
+    static Query addRoleFilter(Query originalQuery, String userRole) {
         log.debug("添加角色过滤: userRole={}", userRole);
 
         return BoolQuery.of(b -> b
@@ -830,41 +1100,124 @@ public class ElasticsearchDataService {
     /**
      * 构建查询 - 支持拼音搜索、语义搜索增强和查询理解
      */
-    private Query buildQuery(String queryString, Boolean enablePinyinSearch, String pinyinMode, String indexName, Boolean enableSemanticSearch, Double requestSemanticWeight, Boolean enableQueryUnderstanding) {
+    private Query buildQuery(String queryString, Boolean enablePinyinSearch, String pinyinMode, String indexName, Boolean enableSemanticSearch, Double requestSemanticWeight, Boolean enableQueryUnderstanding,
+                             SearchStageTimer timer) {
         if (!StringUtils.hasText(queryString)) {
             return MatchAllQuery.of(m -> m)._toQuery();
         }
 
         // 如果启用查询理解，先通过管道处理查询
-        String processedQuery = queryString;
-        if (enableQueryUnderstanding != null && enableQueryUnderstanding) {
-            try {
-                com.ynet.mgmt.queryunderstanding.context.QueryContext context = queryUnderstandingService.understandQuery(queryString);
-                // 使用查询理解管道处理后的查询(优先级: 纠正后查询 > 标准化查询 > 原始查询)
-                processedQuery = context.getCurrentQuery();
-                log.info("查询理解处理: \"{}\" -> \"{}\"", queryString, processedQuery);
-                log.debug("查询理解详情: 同义词={}, 意图={}, 置信度={}",
-                    context.getSynonyms(), context.getIntent(), context.getIntentConfidence());
-            } catch (Exception e) {
-                log.warn("查询理解处理失败，使用原始查询: query={}, error={}", queryString, e.getMessage());
-                // 失败时继续使用原始查询
-            }
+        String processedQuery = applyQueryUnderstanding(queryString, enableQueryUnderstanding);
+
+        // 如果启用语义搜索，获取查询向量用于构建混合查询（关键词 + 向量）
+        List<Float> queryVector = null;
+        if (isSemanticSearchActive(enableSemanticSearch)) {
+            long embeddingStart = System.nanoTime();
+            queryVector = resolveQueryVector(processedQuery);
+            timer.recordSince(SearchStage.EMBEDDING, embeddingStart);
         }
 
-        // 使用处理后的查询继续构建ES查询 - 使用final变量以便在lambda中使用
-        final String finalQueryString = processedQuery;
+        // 只有拼音增强查询和混合查询需要索引字段列表
+        long mappingStart = System.nanoTime();
+        boolean needsFields = queryVector != null || (enablePinyinSearch != null && enablePinyinSearch);
+        List<String> searchableFields = needsFields ? getSearchableFields(indexName) : Collections.emptyList();
+        Map<String, VectorStorageProfile> vectorFields = queryVector != null ? getVectorFields(indexName) : Collections.emptyMap();
+        timer.recordSince(SearchStage.MAPPING, mappingStart);
+
+        long buildStart = System.nanoTime();
+        double actualSemanticWeight = requestSemanticWeight != null ? requestSemanticWeight : this.semanticWeight;
+        Query query = buildQueryForFields(processedQuery, queryVector, actualSemanticWeight, enablePinyinSearch, pinyinMode,
+                searchableFields, vectorFields);
+        timer.recordSince(SearchStage.QUERY_BUILD, buildStart);
+        return query;
+    }
 
-        // 检查是否启用语义搜索：请求参数、全局配置和服务可用性
+    /**
+     * 构建与搜索接口相同的关键词查询（拼音增强、多字段匹配），不包含语义向量部分，
+     * 供导出等需要遍历全部匹配文档的场景复用，查询文本按匹配查询解析，不支持查询字符串语法
+     *
+     * @param queryString 查询文本，为空时匹配全部文档
+     * @param enablePinyinSearch 是否启用拼音搜索
+     * @param pinyinMode 拼音搜索模式
+     * @param indexName 索引名称
+     * @return ES查询
+     */
+    public Query buildKeywordQuery(String queryString, Boolean enablePinyinSearch, String pinyinMode, String indexName) {
+        return buildQuery(queryString, enablePinyinSearch, pinyinMode, indexName, false, null, false,
+                SearchStageTimer.start("keyword"));
+    }
+
+    /**
+     * 执行查询理解管道，失败或未启用时返回原始查询
+     */
+    private String applyQueryUnderstanding(String queryString, Boolean enableQueryUnderstanding) {
+        if (enableQueryUnderstanding == null || !enableQueryUnderstanding || !StringUtils.hasText(queryString)) {
+            return queryString;
+        }
+        try {
+            com.ynet.mgmt.queryunderstanding.context.QueryContext context = queryUnderstandingService.understandQuery(queryString);
+            // 使用查询理解管道处理后的查询(优先级: 纠正后查询 > 标准化查询 > 原始查询)
+            String processedQuery = context.getCurrentQuery();
+            log.info("查询理解处理: \"{}\" -> \"{}\"", queryString, processedQuery);
+            log.debug("查询理解详情: 同义词={}, 意图={}, 置信度={}",
+                context.getSynonyms(), context.getIntent(), context.getIntentConfidence());
+            return processedQuery;
+        } catch (Exception e) {
+            log.warn("查询理解处理失败，使用原始查询: query={}, error={}", queryString, e.getMessage());
+            // 失败时继续使用原始查询
+            return queryString;
+        }
+    }
+
+    /**
+     * 检查是否启用语义搜索：请求参数、全局配置和服务可用性
+     */
+    private boolean isSemanticSearchActive(Boolean enableSemanticSearch) {
+        boolean serviceAvailable = embeddingService.isServiceAvailable();
         boolean actualEnableSemanticSearch = (enableSemanticSearch != null ? enableSemanticSearch : true)
-            && semanticEnabled && embeddingService.isServiceAvailable();
+            && semanticEnabled && serviceAvailable;
 
         log.debug("语义搜索状态检查: requestParam={}, globalEnabled={}, serviceAvailable={}, actualEnable={}",
-                enableSemanticSearch, semanticEnabled, embeddingService.isServiceAvailable(), actualEnableSemanticSearch);
+                enableSemanticSearch, semanticEnabled, serviceAvailable, actualEnableSemanticSearch);
+        return actualEnableSemanticSearch;
+    }
+
+    /**
+     * 获取查询文本的向量表示，失败时返回null以降级为关键词查询
+     */
+    private List<Float> resolveQueryVector(String queryString) {
+        try {
+            List<Float> queryVector = embeddingService.getTextEmbedding(queryString);
+            if (queryVector == null || queryVector.isEmpty()) {
+                log.warn("无法获取查询文本的向量表示，降级为关键词查询: query={}", queryString);
+                return null;
+            }
+            return queryVector;
+        } catch (Exception e) {
+            log.warn("查询向量生成失败，降级为关键词查询: query={}, error={}", queryString, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 基于已处理的查询、查询向量和索引字段列表构建ES查询
+     * 不再访问查询理解、向量服务或索引映射，可在多个索引间复用同一份分析结果
+     */
+    Query buildQueryForFields(String queryString, List<Float> queryVector, double semanticWeight,
+                              Boolean enablePinyinSearch, String pinyinMode,
+                              List<String> searchableFields, Map<String, VectorStorageProfile> vectorFields) {
+        if (!StringUtils.hasText(queryString)) {
+            return MatchAllQuery.of(m -> m)._toQuery();
+        }
+
+        // 使用处理后的查询继续构建ES查询 - 使用final变量以便在lambda中使用
+        final String finalQueryString = queryString;
 
-        // 如果启用语义搜索，构建混合查询（关键词 + 向量）
-        if (actualEnableSemanticSearch) {
+        // 如果有查询向量，构建混合查询（关键词 + 向量）
+        if (queryVector != null) {
             try {
-                Query hybridQuery = buildHybridQuery(finalQueryString, enablePinyinSearch, pinyinMode, indexName, requestSemanticWeight);
+                Query hybridQuery = buildHybridQuery(finalQueryString, queryVector, enablePinyinSearch, pinyinMode,
+                        searchableFields, vectorFields, semanticWeight);
                 if (hybridQuery != null) {
                     log.debug("使用混合查询（关键词+语义）: query={}", finalQueryString);
                     return hybridQuery;
@@ -888,7 +1241,7 @@ public class ElasticsearchDataService {
 
         try {
             // 尝试构建拼音增强查询
-            Query pinyinQuery = buildPinyinEnhancedQuery(finalQueryString, pinyinMode, indexName);
+            Query pinyinQuery = buildPinyinEnhancedQuery(finalQueryString, pinyinMode, searchableFields);
             if (pinyinQuery != null) {
                 log.debug("使用拼音增强查询: query={}, mode={}", finalQueryString, pinyinMode);
                 return pinyinQuery;
@@ -913,39 +1266,31 @@ public class ElasticsearchDataService {
     /**
      * 构建拼音增强查询
      */
-    private Query buildPinyinEnhancedQuery(String queryString, String pinyinMode, String indexName) {
+    Query buildPinyinEnhancedQuery(String queryString, String pinyinMode, List<String> searchableFields) {
         String mode = pinyinMode != null ? pinyinMode.toUpperCase() : "AUTO";
         boolean containsChinese = queryString.matches(".*[\\u4e00-\\u9fa5].*");
         boolean isShortChinese = containsChinese && queryString.length() <= 2;
 
-        // 添加调试日志
-        System.out.println("=== 拼音查询构建调试 ===");
-        System.out.println("查询字符串: " + queryString);
-        System.out.println("包含中文: " + containsChinese);
-        System.out.println("是否短中文: " + isShortChinese);
-        System.out.println("拼音模式: " + mode);
+        log.debug("构建拼音查询: query={}, containsChinese={}, shortChinese={}, mode={}",
+                queryString, containsChinese, isShortChinese, mode);
 
         switch (mode) {
             case "STRICT":
                 // 严格模式：关键字匹配权重最高，拼音作为辅助，降低权重以平衡语义搜索
                 BoolQuery.Builder strictBuilder = new BoolQuery.Builder()
-                    .should(buildMultiFieldQuery(queryString, indexName, weightProperties.getPinyin().getStrictKeyword()))
+                    .should(buildMultiFieldQuery(queryString, searchableFields, weightProperties.getPinyin().getStrictKeyword()))
                     .should(buildPinyinQuery(queryString, weightProperties.getPinyin().getStrictPinyin()))
                     .minimumShouldMatch("1");
                 // 短中文查询避免使用首字母匹配
                 if (!isShortChinese) {
-                    System.out.println("STRICT模式: 添加首字母匹配 (非短中文)");
                     strictBuilder.should(buildFirstLetterQuery(queryString, weightProperties.getPinyin().getStrictFirstLetter()));
-                } else {
-                    System.out.println("STRICT模式: 跳过首字母匹配 (短中文)");
                 }
                 return strictBuilder.build()._toQuery();
 
             case "FUZZY":
                 // 模糊模式：降低权重以平衡语义搜索
-                System.out.println("FUZZY模式: 使用所有匹配方式，降低权重以平衡语义搜索");
                 return BoolQuery.of(b -> b
-                    .should(buildMultiFieldQuery(queryString, indexName, weightProperties.getPinyin().getFuzzyKeyword()))
+                    .should(buildMultiFieldQuery(queryString, searchableFields, weightProperties.getPinyin().getFuzzyKeyword()))
                     .should(buildPinyinQuery(queryString, weightProperties.getPinyin().getFuzzyPinyin()))
                     .should(buildFirstLetterQuery(queryString, weightProperties.getPinyin().getFuzzyFirstLetter()))
                     .minimumShouldMatch("1")
@@ -955,20 +1300,15 @@ public class ElasticsearchDataService {
             default:
                 // 自动模式：降低权重以平衡语义搜索
                 BoolQuery.Builder autoBuilder = new BoolQuery.Builder()
-                    .should(buildMultiFieldQuery(queryString, indexName, weightProperties.getPinyin().getAutoKeyword()))
+                    .should(buildMultiFieldQuery(queryString, searchableFields, weightProperties.getPinyin().getAutoKeyword()))
                     .minimumShouldMatch("1"); // 至少匹配一个should条件
 
                 // 对于短中文查询，只使用原字段匹配，避免拼音分析器导致的过度匹配
                 if (!isShortChinese) {
-                    System.out.println("AUTO模式: 添加拼音和首字母匹配 (非短中文)");
                     autoBuilder.should(buildPinyinQuery(queryString, weightProperties.getPinyin().getAutoPinyin()));
                     autoBuilder.should(buildFirstLetterQuery(queryString, weightProperties.getPinyin().getAutoFirstLetter()));
-                } else {
-                    System.out.println("AUTO模式: 跳过拼音和首字母匹配 (短中文，避免过度匹配)");
                 }
-                Query finalQuery = autoBuilder.build()._toQuery();
-                System.out.println("=== 查询构建完成 ===");
-                return finalQuery;
+                return autoBuilder.build()._toQuery();
         }
     }
 
@@ -976,7 +1316,7 @@ public class ElasticsearchDataService {
      * 构建多字段搜索查询 - 支持渐进式匹配
      * 优先级：完全匹配 > 全词匹配 > 部分匹配
      */
-    private Query buildMultiFieldQuery(String queryString, String indexName, float boost) {
+    private Query buildMultiFieldQuery(String queryString, List<String> searchableFields, float boost) {
         // 原始实现（备份）：
         // return MultiMatchQuery.of(m -> m
         //     .query(queryString)
@@ -987,7 +1327,6 @@ public class ElasticsearchDataService {
         // )._toQuery();
 
         BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
-        List<String> searchableFields = getSearchableFields(indexName);
 
         // 1. 完全短语匹配（最高权重：boost * phraseMatch）
         // 用于匹配"取钱"这样的完整短语，降低权重以平衡语义搜索
@@ -1054,14 +1393,11 @@ public class ElasticsearchDataService {
      * 构建混合查询（关键词搜索 + 语义向量搜索）
      * 实现混合搜索策略：关键词搜索权重 + 语义搜索权重 = 1.0
      */
-    private Query buildHybridQuery(String queryString, Boolean enablePinyinSearch, String pinyinMode, String indexName, Double requestSemanticWeight) {
-        // 使用请求中的权重值，如果没有则使用配置文件的默认值
-        double actualSemanticWeight = requestSemanticWeight != null ? requestSemanticWeight : this.semanticWeight;
-        log.debug("构建混合查询: query={}, requestSemanticWeight={}, actualSemanticWeight={}",
-                queryString, requestSemanticWeight, actualSemanticWeight);
+    private Query buildHybridQuery(String queryString, List<Float> queryVector, Boolean enablePinyinSearch, String pinyinMode,
+                                   List<String> searchableFields, Map<String, VectorStorageProfile> vectorFields,
+                                   double actualSemanticWeight) {
+        log.debug("构建混合查询: query={}, actualSemanticWeight={}", queryString, actualSemanticWeight);
 
-        // 获取查询文本的向量表示
-        List<Float> queryVector = embeddingService.getTextEmbedding(queryString);
         if (queryVector == null || queryVector.isEmpty()) {
             log.warn("无法获取查询文本的向量表示，降级为关键词查询: query={}", queryString);
             return null;
@@ -1076,9 +1412,9 @@ public class ElasticsearchDataService {
         if (keywordWeight > 0) {
             Query keywordQuery;
             if (enablePinyinSearch != null && enablePinyinSearch) {
-                keywordQuery = buildPinyinEnhancedQuery(queryString, pinyinMode, indexName);
+                keywordQuery = buildPinyinEnhancedQuery(queryString, pinyinMode, searchableFields);
             } else {
-                keywordQuery = buildMultiFieldQuery(queryString, indexName, 1.0f);
+                keywordQuery = buildMultiFieldQuery(queryString, searchableFields, 1.0f);
             }
 
             if (keywordQuery != null) {
@@ -1092,7 +1428,7 @@ public class ElasticsearchDataService {
 
         // 2. 语义向量查询部分
         if (actualSemanticWeight > 0) {
-            Query vectorQuery = buildVectorQuery(queryVector, (float) actualSemanticWeight, indexName);
+            Query vectorQuery = buildVectorQuery(queryVector, (float) actualSemanticWeight, vectorFields);
             if (vectorQuery != null) {
                 hybridBuilder.should(vectorQuery);
                 log.debug("添加向量查询，权重: {}", actualSemanticWeight);
@@ -1110,24 +1446,37 @@ public class ElasticsearchDataService {
 
     /**
      * 构建向量查询
-     * 搜索所有包含向量子字段的字段
+     * 搜索所有包含向量子字段的字段；byte存储的字段使用归一化量化后的查询向量
      */
-    private Query buildVectorQuery(List<Float> queryVector, float boost, String indexName) {
+    private Query buildVectorQuery(List<Float> queryVector, float boost, Map<String, VectorStorageProfile> vectorFields) {
         if (queryVector == null || queryVector.isEmpty()) {
             return null;
         }
 
         BoolQuery.Builder vectorBuilder = new BoolQuery.Builder();
 
-        // 构建对所有向量子字段的 KNN 查询
-        // 动态获取索引中的向量字段
-        List<String> vectorFields = getVectorFields(indexName);
+        // 构建对所有向量子字段的 KNN 查询（向量字段由调用方从索引映射中解析）
 
         // 跟踪是否有成功的向量查询
         boolean hasValidVectorQueries = false;
 
-        for (String vectorField : vectorFields) {
+        int[] quantizedVector = null;
+        for (Map.Entry<String, VectorStorageProfile> entry : vectorFields.entrySet()) {
+            String vectorField = entry.getKey();
             try {
+                // byte向量字段只接受[-128, 127]的整数查询向量，量化结果在各字段间复用
+                Object queryParam = queryVector;
+                if (entry.getValue().isClientQuantized()) {
+                    if (quantizedVector == null) {
+                        quantizedVector = VectorStorageProfile.quantize(queryVector);
+                    }
+                    if (quantizedVector == null) {
+                        continue;
+                    }
+                    queryParam = quantizedVector;
+                }
+                JsonData queryVectorParam = JsonData.of(queryParam);
+
                 // 使用 script_score 查询实现向量相似度搜索
                 // 根据官方文档使用正确的 cosineSimilarity 语法
                 Query vectorFieldQuery = ScriptScoreQuery.of(s -> s
@@ -1135,7 +1484,7 @@ public class ElasticsearchDataService {
                     .script(sc -> sc
                         .inline(InlineScript.of(is -> is
                             .source("cosineSimilarity(params.query_vector, '" + vectorField + "') + 1.0")
-                            .params("query_vector", JsonData.of(queryVector))
+                            .params("query_vector", queryVectorParam)
                         ))
                     )
                     .boost(boost)
@@ -1345,11 +1694,11 @@ public class ElasticsearchDataService {
     }
 
     /**
-     * 获取向量字段列表
+     * 获取向量字段及其存储档位
      * 使用通配符搜索所有向量子字段，用于语义搜索
      * 支持单个索引或逗号分隔的多个索引
      */
-    private List<String> getVectorFields(String indexName) {
+    private Map<String, VectorStorageProfile> getVectorFields(String indexName) {
         try {
             // 处理多索引情况：将逗号分隔的索引名转换为数组
             String[] indexNames = indexName.split(",");
@@ -1358,7 +1707,7 @@ public class ElasticsearchDataService {
             GetMappingRequest request = GetMappingRequest.of(builder -> builder.index(Arrays.asList(indexNames)));
             GetMappingResponse response = elasticsearchClient.indices().getMapping(request);
 
-            List<String> vectorFields = new ArrayList<>();
+            Map<String, VectorStorageProfile> vectorFields = new LinkedHashMap<>();
 
             // 获取映射信息
             Map<String, IndexMappingRecord> mappings = response.result();
@@ -1367,38 +1716,40 @@ public class ElasticsearchDataService {
                 return vectorFields;
             }
 
-            // 合并所有索引的向量字段（去重）
-            Set<String> uniqueVectorFields = new HashSet<>();
+            // 合并所有索引的向量字段（去重，同名字段以先出现的存储档位为准）
             for (Map.Entry<String, IndexMappingRecord> entry : mappings.entrySet()) {
-                List<String> indexVectorFields = new ArrayList<>();
+                Map<String, VectorStorageProfile> indexVectorFields = new LinkedHashMap<>();
                 extractVectorFields(entry.getValue().mappings().properties(), "", indexVectorFields);
-                uniqueVectorFields.addAll(indexVectorFields);
+                indexVectorFields.forEach(vectorFields::putIfAbsent);
                 log.debug("从索引 {} 中找到向量字段: {}", entry.getKey(), indexVectorFields);
             }
 
-            vectorFields.addAll(uniqueVectorFields);
             log.debug("从所有索引 {} 中找到的向量字段（去重后）: {}", indexName, vectorFields);
             return vectorFields;
 
         } catch (Exception e) {
             log.warn("获取索引 {} 的向量字段失败: {}", indexName, e.getMessage());
-            // 降级：返回常见的向量字段名称作为备选
-            return Arrays.asList(
+            // 降级：返回常见的向量字段名称作为备选（映射不可用时按float档位处理）
+            Map<String, VectorStorageProfile> fallback = new LinkedHashMap<>();
+            for (String field : List.of(
                 "content_vector",           // 内容向量字段
                 "title_vector",            // 标题向量字段
                 "description_vector",      // 描述向量字段
                 "text_vector",             // 文本向量字段
                 "name_vector",             // 名称向量字段
                 "body_vector"              // 正文向量字段
-            );
+            )) {
+                fallback.put(field, VectorStorageProfile.FLOAT);
+            }
+            return fallback;
         }
     }
 
     /**
-     * 递归提取索引映射中的向量字段
+     * 递归提取索引映射中的向量字段及其存储档位（记录在字段meta中）
      */
     private void extractVectorFields(Map<String, co.elastic.clients.elasticsearch._types.mapping.Property> properties,
-                                   String parentPath, List<String> vectorFields) {
+                                   String parentPath, Map<String, VectorStorageProfile> vectorFields) {
         if (properties == null) {
             return;
         }
@@ -1412,8 +1763,9 @@ public class ElasticsearchDataService {
 
             // 检查是否为dense_vector类型
             if (property.isDenseVector()) {
-                vectorFields.add(fullPath);
-                log.debug("找到向量字段: {}", fullPath);
+                VectorStorageProfile profile = DenseVectorMappings.profileOf(property);
+                vectorFields.put(fullPath, profile);
+                log.debug("找到向量字段: {}, profile={}", fullPath, profile);
             }
 
             // 只递归检查object类型的子字段，不再检查text/keyword的multifields
@@ -1459,7 +1811,7 @@ public class ElasticsearchDataService {
     /**
      * 转换搜索结果
      */
-    private SearchDataResponse.DocumentData convertHitToDocument(Hit<Map> hit) {
+    SearchDataResponse.DocumentData convertHitToDocument(Hit<Map> hit) {
         // 提取高亮信息
         Map<String, List<String>> highlight = null;
         if (hit.highlight() != null && !hit.highlight().isEmpty()) {
@@ -1474,24 +1826,140 @@ public class ElasticsearchDataService {
                 ._index(hit.index())
                 ._version(null) // Hit对象中通常不包含version信息
                 .highlight(highlight)
+                .recommended(isRecommended(hit))
                 .build();
     }
 
     /**
-     * 获取文档的推荐值
-     * 从文档的_source中提取recommend字段的值
-     *
-     * @param document 文档数据
-     * @return 推荐值(1表示推荐,0表示不推荐)
+     * 创建重排序会话
+     * 从ES取出候选窗口内的文档，整体重排序并按推荐优先级排好后写入会话缓存
      */
-    private Integer getRecommendValue(SearchDataResponse.DocumentData document) {
-        if (document.get_source() != null && document.get_source().containsKey("recommend")) {
-            Object value = document.get_source().get("recommend");
-            if (value instanceof Number) {
-                return ((Number) value).intValue();
+    private RerankSessionCache.RerankSession createRerankSession(String sessionKey,
+                                                                 SearchRequest.Builder searchBuilder,
+                                                                 String originalQuery,
+                                                                 String enhancedQuery,
+                                                                 SearchStageTimer timer) throws IOException {
+        int window = rerankSessionCache.getCandidateWindow();
+        searchBuilder.from(0).size(window);
+        long esStart = System.nanoTime();
+        SearchResponse<Map> searchResponse = elasticsearchClient.search(searchBuilder.build(), Map.class);
+        timer.recordElasticsearch(esStart, searchResponse.took());
+
+        long convertStart = System.nanoTime();
+        List<SearchDataResponse.DocumentData> candidates = searchResponse.hits().hits().stream()
+                .map(this::convertHitToDocument)
+                .collect(Collectors.toList());
+        timer.recordSince(SearchStage.RESULT_CONVERT, convertStart);
+        long totalHits = searchResponse.hits().total() != null ? searchResponse.hits().total().value() : 0L;
+
+        List<SearchDataResponse.DocumentData> reranked = candidates;
+        if (!candidates.isEmpty()) {
+            log.info("创建重排序会话: 原始query={}, 增强query={}, candidateWindow={}, candidates={}",
+                    originalQuery, enhancedQuery, window, candidates.size());
+            long rerankStart = System.currentTimeMillis();
+            long rerankStartNanos = System.nanoTime();
+            try {
+                reranked = rerankService.rerankDocuments(enhancedQuery, candidates, candidates.size());
+            } catch (Exception e) {
+                log.error("重排序失败，使用原始结果: enhancedQuery={}", enhancedQuery, e);
             }
+            rerankSessionCache.recordRerankLatency(System.currentTimeMillis() - rerankStart);
+            timer.recordSince(SearchStage.RERANK, rerankStartNanos);
+        }
+
+        // 重排序失败或服务不可用时返回的是原始列表，不写入缓存，避免在TTL内固化未重排的结果
+        boolean rerankApplied = reranked != candidates;
+        long sortStart = System.nanoTime();
+        List<SearchDataResponse.DocumentData> ordered = keepRecommendedFirst(reranked);
+        timer.recordSince(SearchStage.SORT, sortStart);
+        if (rerankApplied) {
+            rerankSessionCache.put(sessionKey, ordered, totalHits);
         }
-        return 0; // 默认不推荐
+        return new RerankSessionCache.RerankSession(ordered, totalHits);
+    }
+
+    /**
+     * 对当前页文档进行语义重排序
+     */
+    private List<SearchDataResponse.DocumentData> rerankWithinPage(String originalQuery,
+                                                                   String enhancedQuery,
+                                                                   List<SearchDataResponse.DocumentData> documents,
+                                                                   Integer rerankTopN) {
+        try {
+            log.info("执行语义重排序: 原始query={}, 增强query={}, documentsCount={}, topN={}",
+                    originalQuery, enhancedQuery, documents.size(), rerankTopN);
+            long rerankStart = System.currentTimeMillis();
+            List<SearchDataResponse.DocumentData> reranked = rerankService.rerankDocuments(
+                    enhancedQuery,  // 使用增强查询进行重排序
+                    documents,
+                    rerankTopN
+            );
+            rerankSessionCache.recordRerankLatency(System.currentTimeMillis() - rerankStart);
+            log.info("重排序完成: newDocumentsCount={}", reranked.size());
+            return reranked;
+        } catch (Exception e) {
+            log.error("重排序失败，使用原始结果: enhancedQuery={}", enhancedQuery, e);
+            return documents;
+        }
+    }
+
+    /**
+     * 构建排序：推荐文档(recommend=1)优先，其次是请求指定的排序字段，最后按相关性分数
+     * recommend 在导入时映射为带 doc values 的整数字段，缺失或未映射时按0处理；
+     * 第一个排序值即推荐值，转换结果时直接读取，不需要解析_source
+     */
+    private List<SortOptions> buildSortOptions(SearchDataRequest.SortConfig sort) {
+        List<SortOptions> sortOptions = new ArrayList<>();
+        sortOptions.add(SortOptions.of(s -> s.field(f -> f
+                .field(RECOMMEND_FIELD)
+                .order(SortOrder.Desc)
+                .missing(0L)
+                .unmappedType(FieldType.Integer))));
+        if (sort != null) {
+            String sortField = sort.getField();
+            String sortOrder = sort.getOrder();
+            sortOptions.add(SortOptions.of(s -> s.field(f -> f
+                    .field(sortField)
+                    .order("desc".equalsIgnoreCase(sortOrder) ? SortOrder.Desc : SortOrder.Asc))));
+        }
+        sortOptions.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
+        return sortOptions;
+    }
+
+    /**
+     * 命中是否为推荐文档（第一个排序值为推荐值，见 {@link #buildSortOptions}）
+     */
+    private static boolean isRecommended(Hit<Map> hit) {
+        List<FieldValue> sortValues = hit.sort();
+        return !sortValues.isEmpty() && sortValues.get(0).isLong() && sortValues.get(0).longValue() > 0;
+    }
+
+    /**
+     * 合并多个索引的结果：推荐文档在前，推荐优先级相同时按分数降序
+     */
+    static void mergeByRecommendAndScore(List<SearchDataResponse.DocumentData> documents) {
+        documents.sort(Comparator
+                .comparing(SearchDataResponse.DocumentData::isRecommended).reversed()
+                .thenComparing(d -> d.get_score() != null ? d.get_score() : 0.0, Comparator.reverseOrder()));
+    }
+
+    /**
+     * 重排序按语义分数打乱了ES的推荐优先顺序，把推荐文档稳定地移回最前面，
+     * 推荐文档之间、普通文档之间保持重排序后的顺序
+     */
+    static List<SearchDataResponse.DocumentData> keepRecommendedFirst(List<SearchDataResponse.DocumentData> documents) {
+        List<SearchDataResponse.DocumentData> ordered = new ArrayList<>(documents.size());
+        for (SearchDataResponse.DocumentData document : documents) {
+            if (document.isRecommended()) {
+                ordered.add(document);
+            }
+        }
+        for (SearchDataResponse.DocumentData document : documents) {
+            if (!document.isRecommended()) {
+                ordered.add(document);
+            }
+        }
+        return ordered;
     }
 
     /**
@@ -1600,7 +2068,7 @@ public class ElasticsearchDataService {
             log.debug("开始检测text字段变化并生成向量: index={}", indexName);
 
             // 获取索引映射，找出所有text字段
-            Map<String, String> textFieldToVectorField = getTextFieldsWithVectors(indexName);
+            Map<String, TextVectorField> textFieldToVectorField = getTextFieldsWithVectors(indexName);
 
             if (textFieldToVectorField.isEmpty()) {
                 log.debug("索引中没有定义向量字段，跳过向量生成: index={}", indexName);
@@ -1612,9 +2080,9 @@ public class ElasticsearchDataService {
             int generatedCount = 0;
 
             // 检查每个text字段是否发生变化
-            for (Map.Entry<String, String> entry : textFieldToVectorField.entrySet()) {
+            for (Map.Entry<String, TextVectorField> entry : textFieldToVectorField.entrySet()) {
                 String textField = entry.getKey();
-                String vectorField = entry.getValue();
+                String vectorField = entry.getValue().vectorField();
 
                 // 检查新文档中是否包含该text字段
                 if (!newSource.containsKey(textField)) {
@@ -1635,7 +2103,13 @@ public class ElasticsearchDataService {
                         if (vector != null && !vector.isEmpty()) {
                             // 验证向量值的有效性
                             if (isValidVector(vector)) {
-                                result.put(vectorField, vector);
+                                // 按向量字段的存储档位编码（byte字段需归一化量化），与导入时一致
+                                Object encoded = entry.getValue().profile().encode(vector);
+                                if (encoded == null) {
+                                    log.warn("零向量无法按byte档位编码，跳过: field={}", textField);
+                                    continue;
+                                }
+                                result.put(vectorField, encoded);
                                 generatedCount++;
                                 log.info("为变化的字段生成向量: field={}, textLength={}, vectorDim={}",
                                     textField, text.length(), vector.size());
@@ -1671,7 +2145,7 @@ public class ElasticsearchDataService {
             log.debug("为所有text字段生成向量: index={}", indexName);
 
             // 获取索引映射，找出所有text字段
-            Map<String, String> textFieldToVectorField = getTextFieldsWithVectors(indexName);
+            Map<String, TextVectorField> textFieldToVectorField = getTextFieldsWithVectors(indexName);
 
             if (textFieldToVectorField.isEmpty()) {
                 log.debug("索引中没有定义向量字段，跳过向量生成: index={}", indexName);
@@ -1683,9 +2157,9 @@ public class ElasticsearchDataService {
             int generatedCount = 0;
 
             // 为所有text字段生成向量
-            for (Map.Entry<String, String> entry : textFieldToVectorField.entrySet()) {
+            for (Map.Entry<String, TextVectorField> entry : textFieldToVectorField.entrySet()) {
                 String textField = entry.getKey();
-                String vectorField = entry.getValue();
+                String vectorField = entry.getValue().vectorField();
 
                 // 检查文档中是否包含该text字段
                 if (!source.containsKey(textField)) {
@@ -1701,7 +2175,13 @@ public class ElasticsearchDataService {
                         if (vector != null && !vector.isEmpty()) {
                             // 验证向量值的有效性
                             if (isValidVector(vector)) {
-                                result.put(vectorField, vector);
+                                // 按向量字段的存储档位编码（byte字段需归一化量化），与导入时一致
+                                Object encoded = entry.getValue().profile().encode(vector);
+                                if (encoded == null) {
+                                    log.warn("零向量无法按byte档位编码，跳过: field={}", textField);
+                                    continue;
+                                }
+                                result.put(vectorField, encoded);
                                 generatedCount++;
                                 log.info("为字段生成向量: field={}, textLength={}, vectorDim={}",
                                     textField, text.length(), vector.size());
@@ -1729,10 +2209,10 @@ public class ElasticsearchDataService {
      * 约定：text字段对应的向量字段名称为 {textField}_vector
      *
      * @param indexName 索引名称
-     * @return text字段名 -> 向量字段名 的映射
+     * @return text字段名 -> 向量字段名及其存储档位 的映射
      */
-    private Map<String, String> getTextFieldsWithVectors(String indexName) {
-        Map<String, String> result = new HashMap<>();
+    private Map<String, TextVectorField> getTextFieldsWithVectors(String indexName) {
+        Map<String, TextVectorField> result = new HashMap<>();
 
         try {
             // 获取索引映射
@@ -1765,8 +2245,9 @@ public class ElasticsearchDataService {
                     if (properties.containsKey(vectorFieldName)) {
                         Property vectorProperty = properties.get(vectorFieldName);
                         if (vectorProperty.isDenseVector()) {
-                            result.put(fieldName, vectorFieldName);
-                            log.debug("找到text-vector映射: {} -> {}", fieldName, vectorFieldName);
+                            VectorStorageProfile profile = DenseVectorMappings.profileOf(vectorProperty);
+                            result.put(fieldName, new TextVectorField(vectorFieldName, profile));
+                            log.debug("找到text-vector映射: {} -> {}, profile={}", fieldName, vectorFieldName, profile);
                         }
                     }
                 }
@@ -1781,6 +2262,12 @@ public class ElasticsearchDataService {
         return result;
     }
 
+    /**
+     * text字段对应的向量字段及其存储档位
+     */
+    private record TextVectorField(String vectorField, VectorStorageProfile profile) {
+    }
+
     /**
      * 验证向量是否包含有效的数值
      * 检查向量中是否包含 null、NaN 或 Infinity
@@ -1803,92 +2290,217 @@ public class ElasticsearchDataService {
     }
 
     /**
-     * 搜索单个索引（内部方法，用于并发执行）
+     * 构建多空间搜索的查询计划
+     * 查询理解和向量生成在调用线程上执行一次，索引映射通过 asyncSearchClient.getMapping 异步批量获取，
+     * 与查询分析并发进行，结果供所有索引复用
      *
-     * @param indexName 索引名称
      * @param request 搜索请求
      * @param userRole 用户角色
+     * @param indexNames 参与搜索的索引
      * @param perIndexSize 每个索引返回的结果数
-     * @return 单个索引的搜索结果列表
+     * @return 查询计划
      */
-    private List<SearchDataResponse.DocumentData> searchSingleIndex(
-            String indexName,
-            SearchDataRequest request,
-            String userRole,
-            int perIndexSize) {
+    SearchQueryPlan planQuery(SearchDataRequest request, String userRole, List<String> indexNames, int perIndexSize) {
+        long planStart = System.currentTimeMillis();
+        String originalQuery = request.getQuery();
+        boolean hasText = StringUtils.hasText(originalQuery);
+        boolean pinyinEnabled = request.getEnablePinyinSearch() != null && request.getEnablePinyinSearch();
+        boolean semanticActive = hasText && isSemanticSearchActive(request.getEnableSemanticSearch());
+
+        // 映射解析与查询分析互不依赖，映射请求异步发出，等待期间不占用线程
+        CompletableFuture<IndexFields> fieldsFuture = hasText
+                ? resolveIndexFields(indexNames, semanticActive)
+                : CompletableFuture.completedFuture(new IndexFields(Collections.emptyMap(), Collections.emptyMap()));
+
+        String processedQuery = hasText
+                ? applyQueryUnderstanding(originalQuery, request.getEnableQueryUnderstanding())
+                : originalQuery;
+
+        long vectorStart = System.currentTimeMillis();
+        List<Float> queryVector = semanticActive ? resolveQueryVector(processedQuery) : null;
+        long vectorGenerationTime = semanticActive ? System.currentTimeMillis() - vectorStart : 0;
+
+        IndexFields indexFields;
+        try {
+            indexFields = fieldsFuture.get(30, TimeUnit.SECONDS);
+            if (hasText) {
+                indexFields = fillMissingIndexFields(indexFields, indexNames, semanticActive);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("索引映射解析被中断", e);
+        } catch (Exception e) {
+            log.warn("批量解析索引映射失败，逐个索引解析: indices={}, error={}", indexNames, e.getMessage());
+            indexFields = resolveIndexFieldsIndividually(indexNames, semanticActive);
+        }
 
-        long indexStartTime = System.currentTimeMillis();
+        double actualSemanticWeight = request.getSemanticWeight() != null ? request.getSemanticWeight() : this.semanticWeight;
+        SearchQueryPlan plan = SearchQueryPlan.builder()
+                .originalQuery(originalQuery)
+                .processedQuery(processedQuery)
+                .queryVector(queryVector)
+                .semanticWeight(actualSemanticWeight)
+                .pinyinEnabled(pinyinEnabled)
+                .pinyinMode(request.getPinyinMode())
+                .channel(request.getChannel())
+                .userRole(userRole)
+                .sort(request.getSort())
+                .perIndexSize(perIndexSize)
+                .fastProfile(profileProperties.isFast(request.getProfile()))
+                .searchableFields(indexFields.searchableFields)
+                .vectorFields(indexFields.vectorFields)
+                .vectorGenerationTime(vectorGenerationTime)
+                .planTime(System.currentTimeMillis() - planStart - vectorGenerationTime)
+                .build();
 
-        try {
-            // 构建查询
-            Query query = buildQuery(request.getQuery(), request.getEnablePinyinSearch(),
-                    request.getPinyinMode(), indexName,
-                    request.getEnableSemanticSearch(), request.getSemanticWeight(),
-                    request.getEnableQueryUnderstanding());
+        log.debug("查询计划构建完成: query=\"{}\" -> \"{}\", semantic={}, pinyin={}, indices={}, planTime={}ms, vectorTime={}ms",
+                originalQuery, processedQuery, plan.isSemantic(), pinyinEnabled, indexNames,
+                plan.getPlanTime(), vectorGenerationTime);
+        return plan;
+    }
 
-            // 添加渠道过滤
-            if (request.getChannel() != null && !request.getChannel().trim().isEmpty()) {
-                query = addChannelFilter(query, request.getChannel());
-            }
+    /**
+     * 按索引特化查询计划，生成 _msearch 中的一条搜索
+     *
+     * @param plan 查询计划
+     * @param indexName 索引名称
+     * @return _msearch 请求项
+     */
+    RequestItem buildPlannedSearchItem(SearchQueryPlan plan, String indexName) {
+        List<String> searchableFields = plan.getSearchableFields().getOrDefault(indexName, getDefaultSearchableFields());
+        Map<String, VectorStorageProfile> vectorFields = plan.getVectorFields().getOrDefault(indexName, Collections.emptyMap());
 
-            // 添加角色过滤
-            if (userRole != null && !userRole.trim().isEmpty()) {
-                query = addRoleFilter(query, userRole);
-            }
+        // 构建查询 - 只使用本索引的字段列表，不再重复查询理解和向量生成
+        Query query = buildQueryForFields(plan.getProcessedQuery(), plan.getQueryVector(), plan.getSemanticWeight(),
+                plan.isPinyinEnabled(), plan.getPinyinMode(), searchableFields, vectorFields);
 
-            // 构建搜索请求 - 每个索引单独搜索
-            SearchRequest.Builder searchBuilder = new SearchRequest.Builder()
-                    .index(indexName)
-                    .query(query)
-                    .from(0)  // 总是从第一条开始，因为我们要按分数合并
-                    .size(perIndexSize)  // 每个索引返回固定数量
-                    .trackTotalHits(t -> t.enabled(true))
-                    // 排除向量字段,减少网络传输
-                    .source(s -> s.filter(f -> f.excludes("*_vector")));
+        // 添加渠道过滤
+        if (plan.getChannel() != null && !plan.getChannel().trim().isEmpty()) {
+            query = addChannelFilter(query, plan.getChannel());
+        }
 
-            // 添加排序
-            if (request.getSort() != null) {
-                String sortField = request.getSort().getField();
-                String sortOrder = request.getSort().getOrder();
-                searchBuilder.sort(s -> s.field(f -> f
-                        .field(sortField)
-                        .order("desc".equalsIgnoreCase(sortOrder) ?
-                                co.elastic.clients.elasticsearch._types.SortOrder.Desc :
-                                co.elastic.clients.elasticsearch._types.SortOrder.Asc)));
-            }
+        // 添加角色过滤
+        if (plan.getUserRole() != null && !plan.getUserRole().trim().isEmpty()) {
+            query = addRoleFilter(query, plan.getUserRole());
+        }
 
-            // 添加高亮配置
-            if (StringUtils.hasText(request.getQuery())) {
-                searchBuilder.highlight(h -> h
-                    .type(HighlighterType.Unified)
-                    .fragmentSize(0)
-                    .numberOfFragments(0)
-                    .fields(buildHighlightFields(indexName))
-                );
-            }
+        final Query finalQuery = query;
+        return RequestItem.of(r -> r
+                .header(h -> h.index(indexName))
+                .body(b -> {
+                    b.query(finalQuery)
+                            .from(0)  // 总是从第一条开始，因为我们要按分数合并
+                            .size(plan.getPerIndexSize())  // 每个索引返回固定数量
+                            .trackTotalHits(buildTrackTotalHits(plan.isFastProfile()))
+                            .timeout("30s")
+                            // 排除向量字段,减少网络传输
+                            .source(s -> s.filter(f -> f.excludes("*_vector")));
+
+                    // 添加排序：推荐文档优先
+                    b.sort(buildSortOptions(plan.getSort())).trackScores(true);
+
+                    // 添加高亮配置
+                    if (StringUtils.hasText(plan.getOriginalQuery())) {
+                        b.highlight(buildHighlight(plan.isFastProfile(), indexName, searchableFields));
+                    }
+                    return b;
+                }));
+    }
 
-            // 执行搜索
-            SearchResponse<Map> searchResponse = elasticsearchClient.search(searchBuilder.build(), Map.class);
+    /**
+     * 一次异步映射请求解析所有索引的可搜索字段和向量字段
+     * 映射响应按实际索引名返回：请求名为别名时键是其指向的实际索引，因此遍历响应条目归属到请求名。
+     * 未直接命中的条目只在恰好一个请求名未命中时归属于它（合并别名下的多个索引），
+     * 其余情况无法确定归属，由 {@link #fillMissingIndexFields} 在调用线程逐个回退解析
+     */
+    private CompletableFuture<IndexFields> resolveIndexFields(List<String> indexNames, boolean includeVectorFields) {
+        return asyncSearchClient.getMapping(GetMappingRequest.of(builder -> builder.index(indexNames)))
+                .thenApply(response -> {
+                    Map<String, List<IndexMappingRecord>> recordsByName = new HashMap<>();
+                    List<IndexMappingRecord> unmatched = new ArrayList<>();
+                    for (Map.Entry<String, IndexMappingRecord> entry : response.result().entrySet()) {
+                        if (entry.getValue() == null || entry.getValue().mappings() == null) {
+                            continue;
+                        }
+                        if (indexNames.contains(entry.getKey())) {
+                            recordsByName.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+                        } else {
+                            unmatched.add(entry.getValue());
+                        }
+                    }
+                    List<String> unresolved = indexNames.stream()
+                            .filter(name -> !recordsByName.containsKey(name))
+                            .toList();
+                    if (!unmatched.isEmpty() && unresolved.size() == 1) {
+                        recordsByName.put(unresolved.get(0), unmatched);
+                    }
 
-            // 转换结果
-            List<SearchDataResponse.DocumentData> documents = searchResponse.hits().hits().stream()
-                    .map(this::convertHitToDocument)
-                    .collect(Collectors.toList());
+                    Map<String, List<String>> searchableFields = new HashMap<>();
+                    Map<String, Map<String, VectorStorageProfile>> vectorFields = new HashMap<>();
+                    for (Map.Entry<String, List<IndexMappingRecord>> entry : recordsByName.entrySet()) {
+                        Set<String> fields = new LinkedHashSet<>();
+                        Map<String, VectorStorageProfile> vectors = new LinkedHashMap<>();
+                        for (IndexMappingRecord record : entry.getValue()) {
+                            List<String> recordFields = new ArrayList<>();
+                            extractSearchableFields(record.mappings().properties(), "", recordFields);
+                            fields.addAll(recordFields);
+                            if (includeVectorFields) {
+                                extractVectorFields(record.mappings().properties(), "", vectors);
+                            }
+                        }
+                        searchableFields.put(entry.getKey(), fields.isEmpty() ? getDefaultSearchableFields() : new ArrayList<>(fields));
+                        if (includeVectorFields) {
+                            vectorFields.put(entry.getKey(), vectors);
+                        }
+                    }
+                    return new IndexFields(searchableFields, vectorFields);
+                })
+                .exceptionally(e -> {
+                    log.warn("批量获取索引映射失败，逐个索引解析: indices={}, error={}", indexNames, e.getMessage());
+                    return new IndexFields(new HashMap<>(), new HashMap<>());
+                });
+    }
 
-            long indexDuration = System.currentTimeMillis() - indexStartTime;
-            long totalHits = searchResponse.hits().total() != null ?
-                    searchResponse.hits().total().value() : 0;
+    /**
+     * 补全批量映射中缺失的索引字段（同步调用，在请求线程执行）
+     */
+    private IndexFields fillMissingIndexFields(IndexFields indexFields, List<String> indexNames, boolean includeVectorFields) {
+        Map<String, List<String>> searchableFields = new HashMap<>(indexFields.searchableFields);
+        Map<String, Map<String, VectorStorageProfile>> vectorFields = new HashMap<>(indexFields.vectorFields);
+        for (String indexName : indexNames) {
+            searchableFields.computeIfAbsent(indexName, this::getSearchableFields);
+            if (includeVectorFields) {
+                vectorFields.computeIfAbsent(indexName, this::getVectorFields);
+            }
+        }
+        return new IndexFields(searchableFields, vectorFields);
+    }
 
-            log.info("索引 {} 搜索完成: 返回 {} 条结果, 总计 {} 条, 耗时 {}ms",
-                    indexName, documents.size(), totalHits, indexDuration);
+    /**
+     * 逐个索引解析字段（批量解析超时或失败时的降级路径）
+     */
+    private IndexFields resolveIndexFieldsIndividually(List<String> indexNames, boolean includeVectorFields) {
+        Map<String, List<String>> searchableFields = new HashMap<>();
+        Map<String, Map<String, VectorStorageProfile>> vectorFields = new HashMap<>();
+        for (String indexName : indexNames) {
+            searchableFields.put(indexName, getSearchableFields(indexName));
+            if (includeVectorFields) {
+                vectorFields.put(indexName, getVectorFields(indexName));
+            }
+        }
+        return new IndexFields(searchableFields, vectorFields);
+    }
 
-            return documents;
+    /**
+     * 按索引解析出的字段列表
+     */
+    private static class IndexFields {
+        private final Map<String, List<String>> searchableFields;
+        private final Map<String, Map<String, VectorStorageProfile>> vectorFields;
 
-        } catch (Exception e) {
-            long indexDuration = System.currentTimeMillis() - indexStartTime;
-            log.warn("索引 {} 搜索失败: {}, 耗时 {}ms", indexName, e.getMessage(), indexDuration);
-            // 返回空列表，不影响其他索引的搜索
-            return new ArrayList<>();
+        private IndexFields(Map<String, List<String>> searchableFields, Map<String, Map<String, VectorStorageProfile>> vectorFields) {
+            this.searchableFields = searchableFields;
+            this.vectorFields = vectorFields;
         }
     }
 
@@ -1931,33 +2543,7 @@ public class ElasticsearchDataService {
 
             // 添加过滤条件
             if (request.getFilters() != null && !request.getFilters().isEmpty()) {
-                BoolQuery.Builder boolBuilder = new BoolQuery.Builder()
-                    .must(query);
-
-                for (SearchDataRequest.FilterConfig filter : request.getFilters()) {
-                    if ("eq".equals(filter.getOperator())) {
-                        // 等值过滤 - 支持字符串和数值类型
-                        Object filterValue = filter.getValue();
-                        if (filterValue instanceof String) {
-                            // 字符串类型过滤（如 audit_status）
-                            boolBuilder.filter(f -> f.term(t -> t
-                                .field(filter.getField())
-                                .value((String) filterValue)
-                            ));
-                        } else if (filterValue instanceof Number) {
-                            // 数值类型过滤（如 recommend）
-                            boolBuilder.filter(f -> f.term(t -> t
-                                .field(filter.getField())
-                                .value(v -> v.longValue(((Number) filterValue).longValue()))
-                            ));
-                        } else {
-                            log.warn("不支持的过滤值类型: field={}, valueType={}",
-                                filter.getField(), filterValue != null ? filterValue.getClass() : null);
-                        }
-                    }
-                }
-
-                query = boolBuilder.build()._toQuery();
+                query = addEqualityFilters(query, request.getFilters());
                 log.info("添加了过滤条件: {}", request.getFilters());
             }
 
@@ -1967,7 +2553,7 @@ public class ElasticsearchDataService {
                 .query(query)
                 .from((request.getPage() - 1) * request.getSize())
                 .size(request.getSize())
-                .trackTotalHits(t -> t.enabled(true))
+                .trackTotalHits(buildTrackTotalHits(profileProperties.isFast(null)))
                 // 排除向量字段,减少网络传输
                 .source(s -> s.filter(f -> f.excludes("*_vector")))
                 .build();
@@ -0,0 +1,587 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.ClosePointInTimeRequest;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.searchdata.dto.SearchExportRequest;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 搜索结果流式导出服务
+ * 使用 PIT（Point in Time）+ search_after 按 _shard_doc 顺序遍历索引，每次只在内存中保留一批文档，
+ * 逐批写入 NDJSON 或 CSV 输出流；每批写完后输出续传检查点，连接中断后可携带游标从检查点继续导出
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class SearchExportService {
+
+    static final String FORMAT_CSV = "csv";
+    static final String FORMAT_NDJSON = "ndjson";
+
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    /**
+     * 表格软件会按公式解析的单元格首字符
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    private static final Pattern NUMERIC_VALUE = Pattern.compile("[-+]?\\d+(\\.\\d+)?([eE][-+]?\\d+)?");
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ObjectMapper objectMapper;
+    private final ElasticsearchDataService elasticsearchDataService;
+
+    /**
+     * 默认每批读取的文档数
+     */
+    @Value("${search.export.batch-size:1000}")
+    private int defaultBatchSize;
+
+    /**
+     * PIT 保活时间，也是中断后可续传的时间窗口
+     */
+    @Value("${search.export.keep-alive:5m}")
+    private String keepAlive;
+
+    public SearchExportService(ElasticsearchClient elasticsearchClient, ObjectMapper objectMapper,
+                               ElasticsearchDataService elasticsearchDataService) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.objectMapper = objectMapper;
+        this.elasticsearchDataService = elasticsearchDataService;
+    }
+
+    /**
+     * 校验导出请求并生成导出计划，在开始写响应之前调用，参数错误时可以直接返回错误响应
+     *
+     * @param request 导出请求
+     * @param searchSpace 搜索空间
+     * @param userRole 当前用户角色（可为空，为空时不进行角色过滤）
+     * @return 导出计划
+     * @throws IllegalArgumentException 游标无效时抛出
+     */
+    public ExportPlan prepare(SearchExportRequest request, SearchSpaceDTO searchSpace, String userRole) throws IOException {
+        ExportPlan plan = new ExportPlan();
+        plan.indexName = searchSpace.getIndexName();
+        plan.format = FORMAT_CSV.equalsIgnoreCase(request.getFormat()) ? FORMAT_CSV : FORMAT_NDJSON;
+        plan.batchSize = request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize;
+        plan.limit = request.getLimit();
+        plan.includeCursor = request.getIncludeCursor() == null || request.getIncludeCursor();
+        plan.cursor = StringUtils.hasText(request.getCursor()) ? decodeCursor(request.getCursor()) : null;
+        plan.query = buildExportQuery(request, plan.indexName, userRole);
+        plan.fields = request.getFields() != null && !request.getFields().isEmpty()
+                ? new ArrayList<>(request.getFields())
+                : Collections.emptyList();
+        plan.columns = FORMAT_CSV.equals(plan.format) && plan.fields.isEmpty()
+                ? resolveColumns(plan.indexName)
+                : plan.fields;
+        plan.fileName = searchSpace.getCode() + "-" + LocalDateTime.now().format(FILE_TIME_FORMAT)
+                + (FORMAT_CSV.equals(plan.format) ? ".csv" : ".ndjson");
+        return plan;
+    }
+
+    /**
+     * 按导出计划把文档逐批写入输出流
+     * 正常结束时关闭 PIT；写出失败（如客户端断开）时保留 PIT，游标在保活时间内仍可续传
+     *
+     * @param plan 导出计划
+     * @param output 输出流
+     * @throws IOException 写出失败时抛出
+     */
+    public void write(ExportPlan plan, OutputStream output) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rows = FORMAT_CSV.equals(plan.format) ? new CsvRowWriter(plan.columns) : new NdjsonRowWriter(objectMapper);
+
+        ExportCursor cursor = plan.cursor;
+        String pitId = cursor != null ? cursor.pit : openPointInTime(plan.indexName);
+        List<FieldValue> searchAfter = cursor != null ? toFieldValues(cursor.after) : null;
+        long exported = cursor != null ? cursor.exported : 0L;
+        boolean completed = false;
+
+        log.info("开始导出: index={}, format={}, batchSize={}, limit={}, resume={}",
+                plan.indexName, plan.format, plan.batchSize, plan.limit, cursor != null);
+
+        try {
+            if (cursor == null) {
+                rows.writeHeader(writer);
+            }
+
+            while (plan.limit == null || exported < plan.limit) {
+                int size = plan.limit == null ? plan.batchSize : (int) Math.min(plan.batchSize, plan.limit - exported);
+                SearchResponse<ExportDocument> response = elasticsearchClient.search(
+                        buildBatchRequest(plan, pitId, searchAfter, size), ExportDocument.class);
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+
+                List<Hit<ExportDocument>> hits = response.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+                for (Hit<ExportDocument> hit : hits) {
+                    rows.writeRow(writer, hit.id(), project(hit.source(), plan.fields));
+                }
+                exported += hits.size();
+                searchAfter = hits.get(hits.size() - 1).sort();
+
+                // 检查点在整批写出之后输出，客户端收到检查点即表示之前的文档已完整送达
+                if (plan.includeCursor) {
+                    rows.writeCheckpoint(writer, encodeCursor(new ExportCursor(pitId, fromFieldValues(searchAfter), exported)), exported);
+                }
+                writer.flush();
+
+                if (hits.size() < size) {
+                    break;
+                }
+            }
+
+            completed = true;
+            if (plan.includeCursor) {
+                rows.writeCompleted(writer, exported);
+            }
+            writer.flush();
+            log.info("导出完成: index={}, format={}, exported={}, took={}ms",
+                    plan.indexName, plan.format, exported, System.currentTimeMillis() - startTime);
+        } catch (ElasticsearchException e) {
+            String message = e.status() == 404 && plan.cursor != null
+                    ? "导出游标已过期，请重新导出"
+                    : "ES查询失败: " + e.getMessage();
+            log.error("导出失败: index={}, exported={}, status={}", plan.indexName, exported, e.status(), e);
+            rows.writeError(writer, message, exported);
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("导出中断，保留PIT以便续传: index={}, exported={}, keepAlive={}, error={}",
+                    plan.indexName, exported, keepAlive, e.getMessage());
+            throw e;
+        } finally {
+            if (completed) {
+                closePointInTime(pitId);
+            }
+        }
+    }
+
+    /**
+     * 构建一批文档的搜索请求：PIT 内按 _shard_doc 排序，不统计总数，只返回需要的字段
+     */
+    SearchRequest buildBatchRequest(ExportPlan plan, String pitId, List<FieldValue> searchAfter, int size) {
+        SearchRequest.Builder builder = new SearchRequest.Builder()
+                .pit(p -> p.id(pitId).keepAlive(t -> t.time(keepAlive)))
+                .query(plan.query)
+                .size(size)
+                .sort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                .trackTotalHits(t -> t.enabled(false))
+                .source(s -> s.filter(f -> {
+                    if (!plan.fields.isEmpty()) {
+                        f.includes(plan.fields);
+                    }
+                    return f.excludes("*_vector");
+                }));
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            builder.searchAfter(searchAfter);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 构建导出查询：与搜索接口相同的关键词查询、渠道和角色过滤 + 等值过滤
+     * 查询文本不按查询字符串语法解析，避免通配符、正则等开销不可控的查询
+     */
+    Query buildExportQuery(SearchExportRequest request, String indexName, String userRole) {
+        Query query = elasticsearchDataService.buildKeywordQuery(request.getQuery(),
+                request.getEnablePinyinSearch(), request.getPinyinMode(), indexName);
+
+        if (StringUtils.hasText(request.getChannel())) {
+            query = ElasticsearchDataService.addChannelFilter(query, request.getChannel());
+        }
+        if (StringUtils.hasText(userRole)) {
+            query = ElasticsearchDataService.addRoleFilter(query, userRole);
+        }
+        if (request.getFilters() != null && !request.getFilters().isEmpty()) {
+            query = ElasticsearchDataService.addEqualityFilters(query, request.getFilters());
+        }
+        return query;
+    }
+
+    /**
+     * 未指定导出字段时，CSV 列取索引映射中的所有非向量字段
+     */
+    private List<String> resolveColumns(String indexName) throws IOException {
+        GetMappingResponse response = elasticsearchClient.indices().getMapping(GetMappingRequest.of(m -> m.index(indexName)));
+        List<String> columns = new ArrayList<>();
+        for (IndexMappingRecord record : response.result().values()) {
+            Map<String, Property> properties = record.mappings().properties();
+            properties.forEach((name, property) -> {
+                if (!property.isDenseVector() && !name.endsWith("_vector") && !columns.contains(name)) {
+                    columns.add(name);
+                }
+            });
+        }
+        return columns;
+    }
+
+    private String openPointInTime(String indexName) throws IOException {
+        String pitId = elasticsearchClient.openPointInTime(OpenPointInTimeRequest.of(o -> o
+                .index(indexName)
+                .keepAlive(t -> t.time(keepAlive)))).id();
+        log.debug("打开PIT: index={}, keepAlive={}", indexName, keepAlive);
+        return pitId;
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(ClosePointInTimeRequest.of(c -> c.id(pitId)));
+        } catch (Exception e) {
+            log.warn("关闭PIT失败，将在保活时间后自动释放: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按导出字段投影文档，字段支持 a.b 形式的嵌套路径；未指定字段时返回原文档
+     */
+    static Map<String, Object> project(Map<String, Object> source, List<String> fields) {
+        if (source == null) {
+            return Collections.emptyMap();
+        }
+        if (fields.isEmpty()) {
+            return source;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            projected.put(field, extractValue(source, field));
+        }
+        return projected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object extractValue(Map<String, Object> source, String path) {
+        if (source.containsKey(path)) {
+            return source.get(path);
+        }
+        Object current = source;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<String, Object>) current).get(part);
+        }
+        return current;
+    }
+
+    // ========== 续传游标 ==========
+
+    String encodeCursor(ExportCursor cursor) throws IOException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("pit", cursor.pit);
+        payload.put("after", cursor.after);
+        payload.put("exported", cursor.exported);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(payload));
+    }
+
+    @SuppressWarnings("unchecked")
+    ExportCursor decodeCursor(String token) {
+        try {
+            Map<String, Object> payload = objectMapper.readValue(Base64.getUrlDecoder().decode(token),
+                    new TypeReference<Map<String, Object>>() {});
+            Object pit = payload.get("pit");
+            Object after = payload.get("after");
+            Object exported = payload.get("exported");
+            if (!(pit instanceof String) || !(after instanceof List) || !(exported instanceof Number)) {
+                throw new IllegalArgumentException("无效的导出游标");
+            }
+            return new ExportCursor((String) pit, (List<Object>) after, ((Number) exported).longValue());
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("无效的导出游标", e);
+        }
+    }
+
+    private static List<Object> fromFieldValues(List<FieldValue> values) {
+        List<Object> result = new ArrayList<>(values.size());
+        for (FieldValue value : values) {
+            if (value.isLong()) {
+                result.add(value.longValue());
+            } else if (value.isDouble()) {
+                result.add(value.doubleValue());
+            } else if (value.isBoolean()) {
+                result.add(value.booleanValue());
+            } else if (value.isString()) {
+                result.add(value.stringValue());
+            } else {
+                result.add(null);
+            }
+        }
+        return result;
+    }
+
+    private static List<FieldValue> toFieldValues(List<Object> values) {
+        List<FieldValue> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof Double || value instanceof Float) {
+                result.add(FieldValue.of(((Number) value).doubleValue()));
+            } else if (value instanceof Number) {
+                result.add(FieldValue.of(((Number) value).longValue()));
+            } else if (value instanceof Boolean) {
+                result.add(FieldValue.of((Boolean) value));
+            } else if (value instanceof String) {
+                result.add(FieldValue.of((String) value));
+            } else {
+                result.add(FieldValue.NULL);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 续传游标：PIT ID + 最后一个已输出文档的排序值 + 已导出条数
+     */
+    static final class ExportCursor {
+        private final String pit;
+        private final List<Object> after;
+        private final long exported;
+
+        ExportCursor(String pit, List<Object> after, long exported) {
+            this.pit = pit;
+            this.after = after;
+            this.exported = exported;
+        }
+
+        String getPit() {
+            return pit;
+        }
+
+        List<Object> getAfter() {
+            return after;
+        }
+
+        long getExported() {
+            return exported;
+        }
+    }
+
+    /**
+     * 导出计划
+     */
+    public static final class ExportPlan {
+        private String indexName;
+        private String format;
+        private Query query;
+        private List<String> fields;
+        private List<String> columns;
+        private int batchSize;
+        private Long limit;
+        private boolean includeCursor;
+        private ExportCursor cursor;
+        private String fileName;
+
+        public String getFormat() {
+            return format;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public boolean isCsv() {
+            return FORMAT_CSV.equals(format);
+        }
+    }
+
+    /**
+     * 导出文档的 _source，按 JSON 对象反序列化为有序的键值对
+     */
+    public static final class ExportDocument extends LinkedHashMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    // ========== 行输出 ==========
+
+    private interface RowWriter {
+        void writeHeader(Writer writer) throws IOException;
+
+        void writeRow(Writer writer, String id, Map<String, Object> source) throws IOException;
+
+        void writeCheckpoint(Writer writer, String cursor, long exported) throws IOException;
+
+        void writeCompleted(Writer writer, long exported) throws IOException;
+
+        void writeError(Writer writer, String message, long exported) throws IOException;
+    }
+
+    /**
+     * NDJSON：每行一个文档 {"_id":..., 字段...}；控制行以 _cursor/_error 为键
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final ObjectMapper objectMapper;
+
+        private NdjsonRowWriter(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void writeHeader(Writer writer) {
+        }
+
+        @Override
+        public void writeRow(Writer writer, String id, Map<String, Object> source) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("_id", id);
+            row.putAll(source);
+            writeLine(writer, row);
+        }
+
+        @Override
+        public void writeCheckpoint(Writer writer, String cursor, long exported) throws IOException {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("_cursor", cursor);
+            line.put("_exported", exported);
+            writeLine(writer, line);
+        }
+
+        @Override
+        public void writeCompleted(Writer writer, long exported) throws IOException {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("_cursor", null);
+            line.put("_exported", exported);
+            line.put("_completed", true);
+            writeLine(writer, line);
+        }
+
+        @Override
+        public void writeError(Writer writer, String message, long exported) throws IOException {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("_error", message);
+            line.put("_exported", exported);
+            writeLine(writer, line);
+        }
+
+        private void writeLine(Writer writer, Map<String, Object> line) throws IOException {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * CSV：首行为列名（_id + 导出字段），带 UTF-8 BOM 便于 Excel 识别中文；控制行以 # 开头
+     */
+    private final class CsvRowWriter implements RowWriter {
+        private final List<String> columns;
+
+        private CsvRowWriter(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader(Writer writer) throws IOException {
+            writer.write('\uFEFF');
+            List<Object> header = new ArrayList<>();
+            header.add("_id");
+            header.addAll(columns);
+            writeRecord(writer, header);
+        }
+
+        @Override
+        public void writeRow(Writer writer, String id, Map<String, Object> source) throws IOException {
+            List<Object> record = new ArrayList<>(columns.size() + 1);
+            record.add(id);
+            for (String column : columns) {
+                record.add(extractValue(source, column));
+            }
+            writeRecord(writer, record);
+        }
+
+        @Override
+        public void writeCheckpoint(Writer writer, String cursor, long exported) throws IOException {
+            writer.write("# cursor=" + cursor + " exported=" + exported + "\n");
+        }
+
+        @Override
+        public void writeCompleted(Writer writer, long exported) throws IOException {
+            writer.write("# completed exported=" + exported + "\n");
+        }
+
+        @Override
+        public void writeError(Writer writer, String message, long exported) throws IOException {
+            writer.write("# error=" + message.replace('\n', ' ') + " exported=" + exported + "\n");
+        }
+
+        private void writeRecord(Writer writer, List<Object> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escapeCsv(formatCsvValue(values.get(i))));
+            }
+            writer.write("\r\n");
+        }
+
+        private String formatCsvValue(Object value) throws IOException {
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof Collection) {
+                List<String> parts = new ArrayList<>();
+                for (Object item : (Collection<?>) value) {
+                    parts.add(item instanceof Map ? objectMapper.writeValueAsString(item) : String.valueOf(item));
+                }
+                return String.join("|", parts);
+            }
+            if (value instanceof Map) {
+                return objectMapper.writeValueAsString(value);
+            }
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * CSV 字段转义：
+     * 以 =、+、-、@、制表符开头的非数字内容前加单引号，避免在表格软件中被当作公式执行；
+     * 包含逗号、引号、换行或以 # 开头（避免被当作控制行）时加引号，引号写两次
+     */
+    static String escapeCsv(String value) {
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0
+                && !NUMERIC_VALUE.matcher(value).matches()) {
+            value = "'" + value;
+        }
+        boolean needsQuote = value.startsWith("#");
+        for (int i = 0; i < value.length() && !needsQuote; i++) {
+            char c = value.charAt(i);
+            needsQuote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return needsQuote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ynet.mgmt.searchdata.service;
+
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多空间搜索的查询计划
+ * 查询理解、向量生成和索引映射解析只在规划阶段执行一次，
+ * 之后各索引只按自身的字段列表特化出具体的ES查询
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Getter
+@Builder
+public class SearchQueryPlan {
+
+    /**
+     * 用户输入的原始查询
+     */
+    private final String originalQuery;
+
+    /**
+     * 查询理解处理后的查询（未启用时与原始查询相同）
+     */
+    private final String processedQuery;
+
+    /**
+     * 查询向量，为null表示本次搜索不使用语义检索
+     */
+    private final List<Float> queryVector;
+
+    /**
+     * 实际生效的语义权重
+     */
+    private final double semanticWeight;
+
+    private final boolean pinyinEnabled;
+
+    private final String pinyinMode;
+
+    private final String channel;
+
+    private final String userRole;
+
+    private final SearchDataRequest.SortConfig sort;
+
+    private final int perIndexSize;
+
+    /**
+     * 是否使用fast搜索档位（总数统计到阈值、有限高亮片段）
+     */
+    private final boolean fastProfile;
+
+    /**
+     * 各索引的可搜索字段（含权重标记）
+     */
+    @Builder.Default
+    private final Map<String, List<String>> searchableFields = Collections.emptyMap();
+
+    /**
+     * 各索引的向量字段及其存储档位
+     */
+    @Builder.Default
+    private final Map<String, Map<String, VectorStorageProfile>> vectorFields = Collections.emptyMap();
+
+    /**
+     * 规划耗时（查询理解 + 映射解析）
+     */
+    private final long planTime;
+
+    /**
+     * 向量生成耗时
+     */
+    private final long vectorGenerationTime;
+
+    public boolean hasQueryText() {
+        return processedQuery != null && !processedQuery.isBlank();
+    }
+
+    public boolean isSemantic() {
+        return queryVector != null && !queryVector.isEmpty();
+    }
+}
@@ -4,6 +4,7 @@ import com.ynet.mgmt.searchdata.dto.SearchSuggestionDTO;
 import com.ynet.mgmt.searchdata.dto.SearchSuggestionRequest;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 搜索建议服务接口
@@ -31,4 +32,14 @@ public interface SearchSuggestionService {
      * @return 搜索建议列表,按得分降序排列
      */
     List<SearchSuggestionDTO> getSuggestions(SearchSuggestionRequest request);
+
+    /**
+     * 异步获取搜索建议
+     * <p>
+     * 各数据源并行查询，ES请求不占用线程；单个数据源超时或失败时以空结果参与合并，返回部分结果
+     *
+     * @param request 搜索建议请求
+     * @return 搜索建议列表的 future，总是正常完成
+     */
+    CompletableFuture<List<SearchSuggestionDTO>> getSuggestionsAsync(SearchSuggestionRequest request);
 }
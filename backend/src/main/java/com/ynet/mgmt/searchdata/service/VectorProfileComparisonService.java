@@ -0,0 +1,439 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.DenseVectorIndexOptions;
+import co.elastic.clients.elasticsearch._types.mapping.DenseVectorProperty;
+import co.elastic.clients.elasticsearch._types.mapping.DynamicMapping;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.query_dsl.ExistsQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.ScriptScoreQuery;
+import co.elastic.clients.elasticsearch.core.ReindexResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.json.JsonData;
+import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
+import com.ynet.mgmt.jsonimport.util.DenseVectorMappings;
+import com.ynet.mgmt.searchdata.dto.VectorProfileComparisonReport;
+import com.ynet.mgmt.searchdata.dto.VectorProfileShadowResponse;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 向量存储档位对比服务
+ *
+ * 切换搜索空间的向量存储档位需要重新导入，切换前可先用本服务评估召回率和延迟的变化：
+ * 1. 创建影子索引：只包含当前索引的向量字段，按候选档位生成映射，通过后台reindex复制文档（BYTE档位在reindex脚本中归一化并量化）
+ * 2. 对比：取该搜索空间近期的热门查询批量生成向量，分别在当前索引和影子索引上检索前K条，
+ *    以当前索引的精确检索（script_score）结果为标准答案计算召回率@K，并统计各自的延迟
+ * 影子索引的文档ID与当前索引一致，因此召回率可以直接按文档ID计算
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+public class VectorProfileComparisonService {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorProfileComparisonService.class);
+
+    /**
+     * 影子索引名称中的档位分隔符
+     */
+    private static final String SHADOW_SUFFIX = "_vp_";
+
+    /**
+     * 抽样查询的时间范围（天）
+     */
+    private static final int QUERY_LOOKBACK_DAYS = 30;
+
+    private static final int MAX_SAMPLE_SIZE = 500;
+    private static final int MAX_K = 100;
+
+    /**
+     * reindex时把向量归一化并量化到[-127, 127]，与 {@link VectorStorageProfile#quantize} 一致
+     */
+    private static final String QUANTIZE_SCRIPT =
+            "for (String f : params.fields) {" +
+            "  def v = ctx._source[f];" +
+            "  if (v == null) { continue; }" +
+            "  double n = 0;" +
+            "  for (def x : v) { n += x * x; }" +
+            "  if (n == 0) { ctx._source.remove(f); continue; }" +
+            "  double s = params.scale / Math.sqrt(n);" +
+            "  List q = new ArrayList();" +
+            "  for (def x : v) { q.add((int) Math.max(-params.scale, Math.min(params.scale, Math.round(x * s)))); }" +
+            "  ctx._source[f] = q;" +
+            "}";
+
+    /**
+     * 检索方式
+     */
+    public enum Method {
+        /**
+         * script_score 精确检索，与线上语义搜索一致
+         */
+        EXACT,
+        /**
+         * HNSW 近似检索（kNN）
+         */
+        KNN
+    }
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final SearchSpaceService searchSpaceService;
+    private final SearchLogRepository searchLogRepository;
+    private final EmbeddingService embeddingService;
+
+    public VectorProfileComparisonService(ElasticsearchClient elasticsearchClient,
+                                          SearchSpaceService searchSpaceService,
+                                          SearchLogRepository searchLogRepository,
+                                          EmbeddingService embeddingService) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.searchSpaceService = searchSpaceService;
+        this.searchLogRepository = searchLogRepository;
+        this.embeddingService = embeddingService;
+    }
+
+    /**
+     * 影子索引名称
+     *
+     * @param baseIndex 当前索引名称
+     * @param profile 候选档位
+     * @return 影子索引名称
+     */
+    public static String shadowIndexName(String baseIndex, VectorStorageProfile profile) {
+        return baseIndex + SHADOW_SUFFIX + profile.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 按候选档位创建影子索引并启动后台reindex，已存在的同名影子索引会先删除
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位
+     * @return 影子索引信息及reindex任务ID
+     */
+    public VectorProfileShadowResponse createShadowIndex(Long searchSpaceId, VectorStorageProfile profile) throws IOException {
+        SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(searchSpaceId);
+        String baseIndex = searchSpace.getIndexName();
+        String shadowIndex = shadowIndexName(baseIndex, profile);
+
+        Map<String, DenseVectorProperty> baseVectorFields = readVectorFields(baseIndex);
+        if (baseVectorFields.isEmpty()) {
+            throw new IllegalStateException("索引没有向量字段: " + baseIndex);
+        }
+
+        Map<String, Property> properties = new LinkedHashMap<>();
+        baseVectorFields.forEach((field, property) -> properties.put(field, shadowProperty(property, profile)));
+
+        if (elasticsearchClient.indices().exists(e -> e.index(shadowIndex)).value()) {
+            elasticsearchClient.indices().delete(d -> d.index(shadowIndex));
+            log.info("删除已有影子索引: {}", shadowIndex);
+        }
+        // 影子索引只用于评估，不需要副本；dynamic=false 使reindex过来的其余字段不进入映射
+        elasticsearchClient.indices().create(c -> c
+                .index(shadowIndex)
+                .settings(s -> s.numberOfReplicas("0"))
+                .mappings(m -> m.dynamic(DynamicMapping.False).properties(properties)));
+
+        List<String> fields = new ArrayList<>(baseVectorFields.keySet());
+        ReindexResponse reindex = elasticsearchClient.reindex(r -> {
+            r.source(s -> s.index(baseIndex).sourceFields(fields))
+                    .dest(d -> d.index(shadowIndex))
+                    .refresh(true)
+                    .waitForCompletion(false);
+            if (profile.isClientQuantized()) {
+                r.script(sc -> sc.inline(is -> is
+                        .source(QUANTIZE_SCRIPT)
+                        .params("fields", JsonData.of(fields))
+                        .params("scale", JsonData.of(127))));
+            }
+            return r;
+        });
+
+        long documents = elasticsearchClient.count(c -> c.index(baseIndex)).count();
+        log.info("影子索引已创建: base={}, shadow={}, profile={}, fields={}, documents={}, task={}",
+                baseIndex, shadowIndex, profile, fields, documents, reindex.task());
+
+        return VectorProfileShadowResponse.builder()
+                .baseIndex(baseIndex)
+                .shadowIndex(shadowIndex)
+                .profile(profile)
+                .vectorFields(fields)
+                .baseDocuments(documents)
+                .taskId(reindex.task())
+                .build();
+    }
+
+    /**
+     * 删除影子索引
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位
+     * @return true if 影子索引存在并已删除
+     */
+    public boolean deleteShadowIndex(Long searchSpaceId, VectorStorageProfile profile) throws IOException {
+        SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(searchSpaceId);
+        String shadowIndex = shadowIndexName(searchSpace.getIndexName(), profile);
+        if (!elasticsearchClient.indices().exists(e -> e.index(shadowIndex)).value()) {
+            return false;
+        }
+        elasticsearchClient.indices().delete(d -> d.index(shadowIndex));
+        log.info("影子索引已删除: {}", shadowIndex);
+        return true;
+    }
+
+    /**
+     * 对比当前索引与影子索引的召回率和延迟
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param profile 候选档位（影子索引须已创建）
+     * @param field 向量字段，为空时取第一个向量字段
+     * @param method 检索方式
+     * @param sampleSize 抽样查询数
+     * @param k 每个查询取前K条
+     * @return 对比报告
+     */
+    public VectorProfileComparisonReport compare(Long searchSpaceId, VectorStorageProfile profile, String field,
+                                                 Method method, int sampleSize, int k) throws IOException {
+        SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(searchSpaceId);
+        String baseIndex = searchSpace.getIndexName();
+        String shadowIndex = shadowIndexName(baseIndex, profile);
+        if (!elasticsearchClient.indices().exists(e -> e.index(shadowIndex)).value()) {
+            throw new IllegalStateException("影子索引不存在，请先创建: " + shadowIndex);
+        }
+        if (!embeddingService.isServiceAvailable()) {
+            throw new IllegalStateException("向量服务不可用");
+        }
+
+        Map<String, DenseVectorProperty> baseVectorFields = readVectorFields(baseIndex);
+        String vectorField = StringUtils.hasText(field) ? field
+                : baseVectorFields.keySet().stream().findFirst().orElse(null);
+        if (vectorField == null || !baseVectorFields.containsKey(vectorField)) {
+            throw new IllegalArgumentException("向量字段不存在: " + (vectorField != null ? vectorField : baseIndex));
+        }
+        VectorStorageProfile baseProfile = VectorStorageProfile.fromMeta(baseVectorFields.get(vectorField).meta());
+        int size = Math.max(1, Math.min(k, MAX_K));
+
+        List<String> queries = new ArrayList<>();
+        for (Object[] row : searchLogRepository.findTopSuccessfulQueriesBySearchSpace(searchSpaceId,
+                LocalDateTime.now().minusDays(QUERY_LOOKBACK_DAYS),
+                PageRequest.of(0, Math.max(1, Math.min(sampleSize, MAX_SAMPLE_SIZE))))) {
+            queries.add(((String) row[0]).trim());
+        }
+        Map<String, List<Float>> vectors = queries.isEmpty() ? Collections.emptyMap()
+                : embeddingService.getBatchTextEmbeddings(queries);
+
+        SideSamples baseline = new SideSamples();
+        SideSamples candidate = new SideSamples();
+        int skipped = queries.size() - (vectors != null ? vectors.size() : 0);
+        if (vectors != null) {
+            for (Map.Entry<String, List<Float>> entry : vectors.entrySet()) {
+                List<Float> vector = entry.getValue();
+                try {
+                    TimedResult truth = search(baseIndex, vectorField, baseProfile, vector, Method.EXACT, size);
+                    if (truth == null) {
+                        skipped++;
+                        continue;
+                    }
+                    TimedResult base = method == Method.EXACT ? truth
+                            : search(baseIndex, vectorField, baseProfile, vector, method, size);
+                    TimedResult shadow = search(shadowIndex, vectorField, profile, vector, method, size);
+                    if (base == null || shadow == null) {
+                        skipped++;
+                        continue;
+                    }
+                    baseline.add(recall(truth.ids, base.ids), base);
+                    candidate.add(recall(truth.ids, shadow.ids), shadow);
+                } catch (IOException | RuntimeException e) {
+                    skipped++;
+                    log.debug("对比查询失败: query={}, error={}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+
+        log.info("向量存储档位对比完成: base={}, shadow={}, field={}, method={}, k={}, sampled={}, skipped={}",
+                baseIndex, shadowIndex, vectorField, method, size, baseline.recalls.size(), skipped);
+
+        return VectorProfileComparisonReport.builder()
+                .searchSpaceId(searchSpaceId)
+                .field(vectorField)
+                .method(method.name())
+                .k(size)
+                .sampledQueries(baseline.recalls.size())
+                .skippedQueries(skipped)
+                .baseline(baseline.toStats(baseIndex, baseProfile, countDocuments(baseIndex)))
+                .candidate(candidate.toStats(shadowIndex, profile, countDocuments(shadowIndex)))
+                .build();
+    }
+
+    /**
+     * 读取索引的顶级向量字段（导入生成的向量字段均为顶级字段）
+     */
+    private Map<String, DenseVectorProperty> readVectorFields(String index) throws IOException {
+        GetMappingResponse response = elasticsearchClient.indices().getMapping(m -> m.index(index));
+        Map<String, DenseVectorProperty> vectorFields = new LinkedHashMap<>();
+        response.result().values().forEach(record -> {
+            if (record.mappings() != null && record.mappings().properties() != null) {
+                record.mappings().properties().forEach((name, property) -> {
+                    if (property.isDenseVector()) {
+                        vectorFields.putIfAbsent(name, property.denseVector());
+                    }
+                });
+            }
+        });
+        return vectorFields;
+    }
+
+    /**
+     * 沿用当前字段的维度、相似度和HNSW参数，按候选档位生成影子索引的字段映射
+     */
+    static Property shadowProperty(DenseVectorProperty base, VectorStorageProfile profile) {
+        DenseVectorIndexOptions indexOptions = base.indexOptions();
+        return DenseVectorMappings.toProperty(IndexMappingConfig.VectorFieldConfig.builder()
+                .dims(base.dims())
+                .similarity(base.similarity() != null ? base.similarity() : "cosine")
+                .index(true)
+                .indexType(profile.getIndexOptionsType())
+                .m(indexOptions != null ? indexOptions.m() : null)
+                .efConstruction(indexOptions != null ? indexOptions.efConstruction() : null)
+                .storageProfile(profile)
+                .build());
+    }
+
+    /**
+     * 执行一次向量检索并计时，只取文档ID
+     *
+     * @return 检索结果，向量无法按档位编码（零向量）时为null
+     */
+    private TimedResult search(String index, String field, VectorStorageProfile profile, List<Float> vector,
+                               Method method, int k) throws IOException {
+        Object encoded = profile.encode(vector);
+        if (encoded == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        SearchResponse<Void> response;
+        if (method == Method.KNN) {
+            List<Float> queryVector = toFloatList(encoded);
+            response = elasticsearchClient.search(s -> s
+                    .index(index)
+                    .size(k)
+                    .source(src -> src.fetch(false))
+                    .knn(kn -> kn.field(field).queryVector(queryVector).k(k).numCandidates(Math.max(k * 10, 100))),
+                    Void.class);
+        } else {
+            Query query = ScriptScoreQuery.of(s -> s
+                    .query(ExistsQuery.of(e -> e.field(field))._toQuery())
+                    .script(sc -> sc.inline(is -> is
+                            .source("cosineSimilarity(params.query_vector, '" + field + "') + 1.0")
+                            .params("query_vector", JsonData.of(encoded)))))._toQuery();
+            response = elasticsearchClient.search(s -> s
+                    .index(index)
+                    .size(k)
+                    .source(src -> src.fetch(false))
+                    .query(query), Void.class);
+        }
+        double latencyMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        List<String> ids = new ArrayList<>(k);
+        for (Hit<Void> hit : response.hits().hits()) {
+            ids.add(hit.id());
+        }
+        return new TimedResult(ids, latencyMs, response.took());
+    }
+
+    private long countDocuments(String index) throws IOException {
+        return elasticsearchClient.count(c -> c.index(index)).count();
+    }
+
+    private static List<Float> toFloatList(Object encoded) {
+        List<Float> values = new ArrayList<>();
+        if (encoded instanceof int[] ints) {
+            for (int value : ints) {
+                values.add((float) value);
+            }
+        } else {
+            for (double value : (double[]) encoded) {
+                values.add((float) value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 召回率@K：结果中命中标准答案的比例
+     */
+    static double recall(List<String> truth, List<String> results) {
+        if (truth.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> expected = new HashSet<>(truth);
+        long hits = results.stream().filter(expected::contains).count();
+        return (double) hits / truth.size();
+    }
+
+    /**
+     * 最近秩百分位
+     */
+    static double percentile(List<Double> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0.0;
+        }
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+
+    private record TimedResult(List<String> ids, double latencyMs, long tookMs) {
+    }
+
+    /**
+     * 单个索引的逐查询样本
+     */
+    private static class SideSamples {
+        private final List<Double> recalls = new ArrayList<>();
+        private final List<Double> latencies = new ArrayList<>();
+        private long tookTotal;
+
+        void add(double recall, TimedResult result) {
+            recalls.add(recall);
+            latencies.add(result.latencyMs());
+            tookTotal += result.tookMs();
+        }
+
+        VectorProfileComparisonReport.SideStats toStats(String index, VectorStorageProfile profile, long documents) {
+            int n = recalls.size();
+            return VectorProfileComparisonReport.SideStats.builder()
+                    .index(index)
+                    .profile(profile)
+                    .documents(documents)
+                    .meanRecall(n == 0 ? null : recalls.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
+                    .avgLatencyMs(n == 0 ? null : latencies.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
+                    .p50LatencyMs(n == 0 ? null : percentile(latencies, 0.50))
+                    .p95LatencyMs(n == 0 ? null : percentile(latencies, 0.95))
+                    .avgTookMs(n == 0 ? null : (double) tookTotal / n)
+                    .build();
+        }
+    }
+}
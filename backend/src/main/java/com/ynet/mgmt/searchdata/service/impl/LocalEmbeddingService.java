@@ -170,17 +170,44 @@ public class LocalEmbeddingService implements EmbeddingService {
             return null;
         }
 
+        // 先从缓存获取，只为未命中的文本调用服务
+        Duration expireDuration = Duration.ofHours(cacheExpireHours);
+        Map<String, List<Float>> result = new HashMap<>();
+        List<String> missingTexts = new ArrayList<>();
+        for (String normalizedText : normalizedTexts) {
+            CachedVector cached = vectorCache.get(normalizedText);
+            if (cached != null && !cached.isExpired(expireDuration)) {
+                result.put(normalizedText, cached.getVector());
+            } else {
+                missingTexts.add(normalizedText);
+            }
+        }
+        if (missingTexts.isEmpty()) {
+            return result;
+        }
+
         // 检查服务可用性
         if (!isServiceAvailable()) {
             log.warn("本地向量服务不可用，跳过批量向量生成");
-            return null;
+            return result.isEmpty() ? null : result;
         }
 
         try {
-            return callLocalBatchEmbeddingService(normalizedTexts);
+            Map<String, List<Float>> generated = callLocalBatchEmbeddingService(missingTexts);
+            generated.forEach((text, vector) -> {
+                if (vector != null && vector.size() == VECTOR_DIMENSION) {
+                    // 批量结果同样写入缓存，供后续单条查询命中
+                    if (vectorCache.size() >= maxCacheSize) {
+                        clearOldCache();
+                    }
+                    vectorCache.put(text, new CachedVector(vector));
+                    result.put(text, vector);
+                }
+            });
+            return result;
         } catch (Exception e) {
             log.error("批量向量生成失败", e);
-            return null;
+            return result.isEmpty() ? null : result;
         }
     }
 
@@ -1,18 +1,16 @@
 package com.ynet.mgmt.searchdata.service.impl;
 
-import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
-import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
 import co.elastic.clients.elasticsearch.core.search.Suggestion;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ynet.mgmt.hotTopic.entity.HotTopic;
-import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
+import com.ynet.mgmt.hotTopic.service.VisibleHotTopicCache;
 import com.ynet.mgmt.searchdata.dto.SearchSuggestionDTO;
 import com.ynet.mgmt.searchdata.dto.SearchSuggestionRequest;
 import com.ynet.mgmt.searchdata.enums.SuggestionType;
+import com.ynet.mgmt.searchdata.service.AsyncSearchClient;
 import com.ynet.mgmt.searchdata.service.SearchSuggestionService;
 import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
 import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
@@ -20,15 +18,19 @@ import com.ynet.mgmt.searchspace.service.SearchSpaceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -46,14 +48,20 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
     private SearchLogRepository searchLogRepository;
 
     @Autowired
-    private HotTopicRepository hotTopicRepository;
+    private VisibleHotTopicCache visibleHotTopicCache;
 
     @Autowired
-    private ElasticsearchClient elasticsearchClient;
+    private AsyncSearchClient asyncSearchClient;
 
     @Autowired
     private SearchSpaceService searchSpaceService;
 
+    /**
+     * 单个数据源的超时时间，超时的数据源以空结果参与合并
+     */
+    @Value("${search.suggestion.timeout:PT0.3S}")
+    private Duration timeout;
+
     // Caffeine 本地缓存，用于缓存 completion 字段映射
     private final Cache<String, List<String>> completionFieldsCache = Caffeine.newBuilder()
         .maximumSize(100)
@@ -62,53 +70,72 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
 
     @Override
     public List<SearchSuggestionDTO> getSuggestions(SearchSuggestionRequest request) {
+        return getSuggestionsAsync(request).join();
+    }
+
+    @Override
+    public CompletableFuture<List<SearchSuggestionDTO>> getSuggestionsAsync(SearchSuggestionRequest request) {
         logger.info("获取搜索建议: query={}, userId={}, searchSpaceId={}",
             request.getQuery(), request.getUserId(), request.getSearchSpaceId());
 
         try {
-            // 使用 CompletableFuture 并行执行4个数据源查询
-            java.util.concurrent.CompletableFuture<List<SearchSuggestionDTO>> personalHistoryFuture =
-                java.util.concurrent.CompletableFuture.supplyAsync(() -> getPersonalHistorySuggestions(request));
-
-            java.util.concurrent.CompletableFuture<List<SearchSuggestionDTO>> globalHistoryFuture =
-                java.util.concurrent.CompletableFuture.supplyAsync(() -> getGlobalHistorySuggestions(request));
+            // 搜索历史为JDBC查询，在有界搜索执行器中执行；ES建议走异步客户端，不占用线程
+            CompletableFuture<List<SearchSuggestionDTO>> personalHistoryFuture = withTimeout(
+                asyncSearchClient.supplyBlocking(() -> getPersonalHistorySuggestions(request)), "personal", request);
 
-            java.util.concurrent.CompletableFuture<List<SearchSuggestionDTO>> hotTopicsFuture =
-                java.util.concurrent.CompletableFuture.supplyAsync(() -> getHotTopicSuggestions(request));
+            CompletableFuture<List<SearchSuggestionDTO>> globalHistoryFuture = withTimeout(
+                asyncSearchClient.supplyBlocking(() -> getGlobalHistorySuggestions(request)), "global", request);
 
-            java.util.concurrent.CompletableFuture<List<SearchSuggestionDTO>> esCompletionsFuture =
-                java.util.concurrent.CompletableFuture.supplyAsync(() -> getESCompletionSuggestions(request));
+            CompletableFuture<List<SearchSuggestionDTO>> esCompletionsFuture = withTimeout(
+                getESCompletionSuggestions(request), "es", request);
 
-            // 等待所有查询完成，设置300ms超时
-            java.util.concurrent.CompletableFuture<Void> allFutures = java.util.concurrent.CompletableFuture.allOf(
-                personalHistoryFuture, globalHistoryFuture, hotTopicsFuture, esCompletionsFuture
-            );
-
-            try {
-                allFutures.get(300, java.util.concurrent.TimeUnit.MILLISECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                logger.warn("搜索建议查询超时: query={}, 使用部分结果", request.getQuery());
-            }
+            // 热门话题读取内存快照，直接计算
+            List<SearchSuggestionDTO> hotTopics = getHotTopicSuggestions(request);
 
-            // 合并结果（即使超时也返回已完成的结果）
-            List<SearchSuggestionDTO> suggestions = new ArrayList<>();
-            suggestions.addAll(personalHistoryFuture.getNow(Collections.emptyList()));
-            suggestions.addAll(globalHistoryFuture.getNow(Collections.emptyList()));
-            suggestions.addAll(hotTopicsFuture.getNow(Collections.emptyList()));
-            suggestions.addAll(esCompletionsFuture.getNow(Collections.emptyList()));
+            // 合并结果（超时或失败的数据源为空列表，即返回部分结果）
+            return CompletableFuture.allOf(personalHistoryFuture, globalHistoryFuture, esCompletionsFuture)
+                .thenApply(v -> {
+                    List<SearchSuggestionDTO> suggestions = new ArrayList<>();
+                    suggestions.addAll(personalHistoryFuture.join());
+                    suggestions.addAll(globalHistoryFuture.join());
+                    suggestions.addAll(hotTopics);
+                    suggestions.addAll(esCompletionsFuture.join());
 
-            // 去重、排序、限制数量
-            List<SearchSuggestionDTO> result = mergeSuggestions(suggestions, request.getQuery(), request.getSize());
+                    // 去重、排序、限制数量
+                    List<SearchSuggestionDTO> result = mergeSuggestions(suggestions, request.getQuery(), request.getSize());
 
-            logger.info("搜索建议生成成功: query={}, count={}", request.getQuery(), result.size());
-            return result;
+                    logger.info("搜索建议生成成功: query={}, count={}", request.getQuery(), result.size());
+                    return result;
+                })
+                .exceptionally(e -> {
+                    logger.error("获取搜索建议失败: query={}", request.getQuery(), e);
+                    return Collections.emptyList();
+                });
 
         } catch (Exception e) {
             logger.error("获取搜索建议失败: query={}", request.getQuery(), e);
-            return Collections.emptyList();
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
     }
 
+    /**
+     * 为数据源设置超时，超时或失败时以空列表参与合并
+     */
+    private CompletableFuture<List<SearchSuggestionDTO>> withTimeout(
+            CompletableFuture<List<SearchSuggestionDTO>> future, String source, SearchSuggestionRequest request) {
+        return future
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    logger.warn("搜索建议数据源超时: source={}, query={}, 使用部分结果", source, request.getQuery());
+                } else {
+                    logger.warn("搜索建议数据源失败: source={}, query={}, error={}", source, request.getQuery(), cause.toString());
+                }
+                return Collections.emptyList();
+            });
+    }
+
     /**
      * 获取个人搜索历史建议
      */
@@ -250,8 +277,8 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
      */
     private List<SearchSuggestionDTO> getHotTopicSuggestions(SearchSuggestionRequest request) {
         try {
-            // 查询可见的热门话题
-            List<HotTopic> hotTopics = hotTopicRepository.findByVisibleTrueOrderByPopularityDesc();
+            // 可见的热门话题（快照随话题变更和趋势热度回写刷新）
+            List<HotTopic> hotTopics = visibleHotTopicCache.getVisibleTopics();
 
             String query = request.getQuery().toLowerCase();
 
@@ -317,126 +344,124 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
 
     /**
      * 获取ES Completion建议
-     * 混合策略：使用completion suggester（中文）+ prefix query（拼音）
+     * 混合策略：使用completion suggester（中文）+ prefix query（拼音），各索引的请求并发发出
      */
-    private List<SearchSuggestionDTO> getESCompletionSuggestions(SearchSuggestionRequest request) {
-        try {
-            // 获取索引名称列表
-            List<String> indexNames = getIndexNames(request);
-            if (indexNames == null || indexNames.isEmpty()) {
-                logger.debug("未指定搜索空间，跳过ES Completion建议");
-                return Collections.emptyList();
-            }
-
-            logger.debug("查询ES建议: indices={}, query={}", indexNames, request.getQuery());
+    private CompletableFuture<List<SearchSuggestionDTO>> getESCompletionSuggestions(SearchSuggestionRequest request) {
+        // 搜索空间查询可能访问数据库，在搜索执行器中解析索引名称
+        return asyncSearchClient.supplyBlocking(() -> getIndexNames(request))
+            .thenCompose(indexNames -> {
+                if (indexNames == null || indexNames.isEmpty()) {
+                    logger.debug("未指定搜索空间，跳过ES Completion建议");
+                    return CompletableFuture.completedFuture(Collections.<SearchSuggestionDTO>emptyList());
+                }
 
-            List<SearchSuggestionDTO> allSuggestions = new ArrayList<>();
+                logger.debug("查询ES建议: indices={}, query={}", indexNames, request.getQuery());
 
-            for (String indexName : indexNames) {
-                try {
+                List<CompletableFuture<List<SearchSuggestionDTO>>> futures = new ArrayList<>();
+                for (String indexName : indexNames) {
                     // 策略1：使用completion suggester（支持中文前缀匹配）
-                    allSuggestions.addAll(getCompletionSuggesterResults(indexName, request));
+                    futures.add(getCompletionSuggesterResults(indexName, request));
 
                     // 策略2：使用prefix query在chinese_pinyin字段上查询（支持拼音匹配）
-                    allSuggestions.addAll(getPinyinPrefixResults(indexName, request));
-
-                } catch (Exception e) {
-                    logger.warn("索引 {} 的建议查询失败: {}", indexName, e.getMessage());
+                    futures.add(getPinyinPrefixResults(indexName, request));
                 }
-            }
-
-            logger.debug("ES建议查询完成: indices={}, count={}", indexNames, allSuggestions.size());
-            return allSuggestions;
 
-        } catch (Exception e) {
-            logger.error("ES建议查询失败（未知异常）", e);
-            return Collections.emptyList();
-        }
+                return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(v -> {
+                        List<SearchSuggestionDTO> allSuggestions = new ArrayList<>();
+                        futures.forEach(future -> allSuggestions.addAll(future.join()));
+                        logger.debug("ES建议查询完成: indices={}, count={}", indexNames, allSuggestions.size());
+                        return allSuggestions;
+                    });
+            });
     }
 
     /**
      * 使用completion suggester获取建议
      */
     @SuppressWarnings("unchecked")
-    private List<SearchSuggestionDTO> getCompletionSuggesterResults(String indexName, SearchSuggestionRequest request) {
-        List<SearchSuggestionDTO> suggestions = new ArrayList<>();
-
-        try {
-            // 获取该索引的 completion 字段
-            List<String> completionFields = getCompletionFields(indexName);
-            if (completionFields.isEmpty()) {
-                logger.debug("索引 {} 中没有找到 completion 字段", indexName);
-                return suggestions;
-            }
+    private CompletableFuture<List<SearchSuggestionDTO>> getCompletionSuggesterResults(String indexName, SearchSuggestionRequest request) {
+        // 获取该索引的 completion 字段
+        return getCompletionFields(indexName)
+            .thenCompose(completionFields -> {
+                if (completionFields.isEmpty()) {
+                    logger.debug("索引 {} 中没有找到 completion 字段", indexName);
+                    return CompletableFuture.completedFuture(Collections.<SearchSuggestionDTO>emptyList());
+                }
 
-            logger.debug("索引 {} 使用 completion 字段: {}", indexName, completionFields);
-
-            // 构建 completion suggest 查询
-            SearchRequest searchRequest = SearchRequest.of(s -> {
-                var requestBuilder = s.index(indexName).size(0);
-
-                // 为每个 completion 字段创建一个 suggester
-                requestBuilder.suggest(suggester -> {
-                    for (String field : completionFields) {
-                        suggester.suggesters(field.replace(".", "_"), suggest -> suggest
-                            .prefix(request.getQuery())
-                            .completion(completion -> {
-                                var builder = completion
-                                    .field(field)
-                                    .size(request.getSize())
-                                    .skipDuplicates(true);
-
-                                if (request.getEnableFuzzy() != null && request.getEnableFuzzy()) {
-                                    builder.fuzzy(f -> f
-                                        .fuzziness("AUTO")
-                                        .transpositions(true)
-                                        .minLength(3)
-                                    );
-                                }
+                logger.debug("索引 {} 使用 completion 字段: {}", indexName, completionFields);
+
+                // 构建 completion suggest 查询
+                SearchRequest searchRequest = SearchRequest.of(s -> {
+                    var requestBuilder = s.index(indexName).size(0);
+
+                    // 为每个 completion 字段创建一个 suggester
+                    requestBuilder.suggest(suggester -> {
+                        for (String field : completionFields) {
+                            suggester.suggesters(field.replace(".", "_"), suggest -> suggest
+                                .prefix(request.getQuery())
+                                .completion(completion -> {
+                                    var builder = completion
+                                        .field(field)
+                                        .size(request.getSize())
+                                        .skipDuplicates(true);
+
+                                    if (request.getEnableFuzzy() != null && request.getEnableFuzzy()) {
+                                        builder.fuzzy(f -> f
+                                            .fuzziness("AUTO")
+                                            .transpositions(true)
+                                            .minLength(3)
+                                        );
+                                    }
+
+                                    return builder;
+                                })
+                            );
+                        }
+                        return suggester;
+                    });
 
-                                return builder;
-                            })
-                        );
-                    }
-                    return suggester;
+                    return requestBuilder;
                 });
 
-                return requestBuilder;
-            });
-
-            // 执行查询
-            SearchResponse<Map> response = elasticsearchClient.search(searchRequest, Map.class);
-
-            // 处理建议结果
-            if (response.suggest() != null) {
-                for (Map.Entry<String, List<Suggestion<Map>>> entry : response.suggest().entrySet()) {
-                    for (Suggestion<Map> suggestion : entry.getValue()) {
-                        if (suggestion.isCompletion() && suggestion.completion() != null) {
-                            for (CompletionSuggestOption<Map> option : suggestion.completion().options()) {
-                                Double optionScore = option.score();
-                                double score = (optionScore != null ? optionScore.doubleValue() : 1.0) * 40.0;
-
-                                SearchSuggestionDTO dto = new SearchSuggestionDTO(
-                                    option.text(),
-                                    score,
-                                    SuggestionType.ES_COMPLETION
-                                );
-                                dto.addMetadata("esScore", optionScore);
-                                dto.addMetadata("method", "completion");
-                                dto.addMetadata("index", indexName);
-                                suggestions.add(dto);
-
-                                logger.debug("Completion建议: text={}, score={}", option.text(), score);
+                // 执行查询
+                return asyncSearchClient.search(searchRequest, Map.class)
+                    .thenApply(response -> {
+                        List<SearchSuggestionDTO> suggestions = new ArrayList<>();
+
+                        // 处理建议结果
+                        if (response.suggest() != null) {
+                            for (Map.Entry<String, List<Suggestion<Map>>> entry : response.suggest().entrySet()) {
+                                for (Suggestion<Map> suggestion : entry.getValue()) {
+                                    if (suggestion.isCompletion() && suggestion.completion() != null) {
+                                        for (CompletionSuggestOption<Map> option : suggestion.completion().options()) {
+                                            Double optionScore = option.score();
+                                            double score = (optionScore != null ? optionScore.doubleValue() : 1.0) * 40.0;
+
+                                            SearchSuggestionDTO dto = new SearchSuggestionDTO(
+                                                option.text(),
+                                                score,
+                                                SuggestionType.ES_COMPLETION
+                                            );
+                                            dto.addMetadata("esScore", optionScore);
+                                            dto.addMetadata("method", "completion");
+                                            dto.addMetadata("index", indexName);
+                                            suggestions.add(dto);
+
+                                            logger.debug("Completion建议: text={}, score={}", option.text(), score);
+                                        }
+                                    }
+                                }
                             }
                         }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("Completion suggester查询失败: index={}, error={}", indexName, e.getMessage());
-        }
 
-        return suggestions;
+                        return suggestions;
+                    });
+            })
+            .exceptionally(e -> {
+                logger.warn("Completion suggester查询失败: index={}, error={}", indexName, e.getMessage());
+                return Collections.emptyList();
+            });
     }
 
     /**
@@ -444,81 +469,82 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
      * 注意:拼音分析器是按字分词的,所以使用match query + operator:and来匹配多个拼音tokens
      */
     @SuppressWarnings("unchecked")
-    private List<SearchSuggestionDTO> getPinyinPrefixResults(String indexName, SearchSuggestionRequest request) {
-        List<SearchSuggestionDTO> suggestions = new ArrayList<>();
-
-        try {
-            // 构建match query查询拼音字段
-            SearchRequest searchRequest = SearchRequest.of(s -> s
-                .index(indexName)
-                .size(request.getSize())
-                .query(q -> q
-                    .bool(b -> b
-                        .should(sh -> sh
-                            .match(m -> m
-                                .field("name.chinese_pinyin")
-                                .query(request.getQuery().toLowerCase())
-                                .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
-                                .boost(2.0f)
-                            )
+    private CompletableFuture<List<SearchSuggestionDTO>> getPinyinPrefixResults(String indexName, SearchSuggestionRequest request) {
+        // 构建match query查询拼音字段
+        SearchRequest searchRequest = SearchRequest.of(s -> s
+            .index(indexName)
+            .size(request.getSize())
+            .query(q -> q
+                .bool(b -> b
+                    .should(sh -> sh
+                        .match(m -> m
+                            .field("name.chinese_pinyin")
+                            .query(request.getQuery().toLowerCase())
+                            .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
+                            .boost(2.0f)
                         )
-                        .should(sh -> sh
-                            .match(m -> m
-                                .field("descript.chinese_pinyin")
-                                .query(request.getQuery().toLowerCase())
-                                .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
-                                .boost(1.0f)
-                            )
+                    )
+                    .should(sh -> sh
+                        .match(m -> m
+                            .field("descript.chinese_pinyin")
+                            .query(request.getQuery().toLowerCase())
+                            .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
+                            .boost(1.0f)
                         )
-                        .should(sh -> sh
-                            .match(m -> m
-                                .field("category.chinese_pinyin")
-                                .query(request.getQuery().toLowerCase())
-                                .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
-                                .boost(1.5f)
-                            )
+                    )
+                    .should(sh -> sh
+                        .match(m -> m
+                            .field("category.chinese_pinyin")
+                            .query(request.getQuery().toLowerCase())
+                            .operator(co.elastic.clients.elasticsearch._types.query_dsl.Operator.And)
+                            .boost(1.5f)
                         )
-                        .minimumShouldMatch("1")
                     )
+                    .minimumShouldMatch("1")
                 )
-                .source(src -> src
-                    .filter(f -> f
-                        .includes("name", "descript", "category")
-                    )
+            )
+            .source(src -> src
+                .filter(f -> f
+                    .includes("name", "descript", "category")
                 )
-            );
-
-            // 执行查询
-            SearchResponse<Map> response = elasticsearchClient.search(searchRequest, Map.class);
-
-            // 处理查询结果
-            if (response.hits() != null && response.hits().hits() != null) {
-                for (var hit : response.hits().hits()) {
-                    Map source = hit.source();
-                    if (source != null && source.containsKey("name")) {
-                        String text = source.get("name").toString();
-                        Double hitScore = hit.score();
-                        double score = (hitScore != null ? hitScore : 1.0) * 40.0;
-
-                        SearchSuggestionDTO dto = new SearchSuggestionDTO(
-                            text,
-                            score,
-                            SuggestionType.ES_COMPLETION
-                        );
-                        dto.addMetadata("esScore", hitScore);
-                        dto.addMetadata("method", "pinyin_match");
-                        dto.addMetadata("index", indexName);
-                        suggestions.add(dto);
-
-                        logger.debug("拼音匹配建议: text={}, score={}", text, score);
+            )
+        );
+
+        // 执行查询
+        return asyncSearchClient.search(searchRequest, Map.class)
+            .thenApply(response -> {
+                List<SearchSuggestionDTO> suggestions = new ArrayList<>();
+
+                // 处理查询结果
+                if (response.hits() != null && response.hits().hits() != null) {
+                    for (var hit : response.hits().hits()) {
+                        Map source = hit.source();
+                        if (source != null && source.containsKey("name")) {
+                            String text = source.get("name").toString();
+                            Double hitScore = hit.score();
+                            double score = (hitScore != null ? hitScore : 1.0) * 40.0;
+
+                            SearchSuggestionDTO dto = new SearchSuggestionDTO(
+                                text,
+                                score,
+                                SuggestionType.ES_COMPLETION
+                            );
+                            dto.addMetadata("esScore", hitScore);
+                            dto.addMetadata("method", "pinyin_match");
+                            dto.addMetadata("index", indexName);
+                            suggestions.add(dto);
+
+                            logger.debug("拼音匹配建议: text={}, score={}", text, score);
+                        }
                     }
                 }
-            }
-        } catch (Exception e) {
-            logger.warn("拼音match查询失败: index={}, error={}", indexName, e.getMessage());
-        }
 
-        return suggestions;
+                return suggestions;
+            })
+            .exceptionally(e -> {
+                logger.warn("拼音match查询失败: index={}, error={}", indexName, e.getMessage());
+                return Collections.emptyList();
+            });
     }
 
     /**
@@ -558,45 +584,46 @@ public class SearchSuggestionServiceImpl implements SearchSuggestionService {
      * @param indexName 索引名称
      * @return completion 字段路径列表
      */
-    private List<String> getCompletionFields(String indexName) {
+    private CompletableFuture<List<String>> getCompletionFields(String indexName) {
         // 尝试从缓存获取
         List<String> cached = completionFieldsCache.getIfPresent(indexName);
         if (cached != null) {
             logger.debug("从缓存获取 completion 字段: {}", cached);
-            return cached;
+            return CompletableFuture.completedFuture(cached);
         }
 
         // 缓存未命中，查询 ES
-        Set<String> completionFields = new HashSet<>();
+        var getMappingRequest = co.elastic.clients.elasticsearch.indices.GetMappingRequest.of(r -> r
+            .index(indexName)
+        );
 
-        try {
-            // 获取索引的 mapping
-            var getMappingRequest = co.elastic.clients.elasticsearch.indices.GetMappingRequest.of(r -> r
-                .index(indexName)
-            );
-
-            var mappingResponse = elasticsearchClient.indices().getMapping(getMappingRequest);
-
-            // 遍历索引的 mapping
-            mappingResponse.result().forEach((index, indexMappingRecord) -> {
-                var properties = indexMappingRecord.mappings().properties();
-
-                // 递归查找 completion 类型的字段
-                findCompletionFields(properties, "", completionFields);
-            });
+        return asyncSearchClient.getMapping(getMappingRequest)
+            .thenApply(mappingResponse -> {
+                Set<String> completionFields = new HashSet<>();
 
-            logger.debug("从索引 {} 中找到 completion 字段: {}", indexName, completionFields);
+                // 遍历索引的 mapping
+                mappingResponse.result().forEach((index, indexMappingRecord) -> {
+                    var properties = indexMappingRecord.mappings().properties();
 
-        } catch (Exception e) {
-            logger.warn("获取索引 {} 的 mapping 失败: {}", indexName, e.getMessage());
-        }
+                    // 递归查找 completion 类型的字段
+                    findCompletionFields(properties, "", completionFields);
+                });
 
-        List<String> result = new ArrayList<>(completionFields);
+                logger.debug("从索引 {} 中找到 completion 字段: {}", indexName, completionFields);
+                return completionFields;
+            })
+            .exceptionally(e -> {
+                logger.warn("获取索引 {} 的 mapping 失败: {}", indexName, e.getMessage());
+                return Collections.emptySet();
+            })
+            .thenApply(completionFields -> {
+                List<String> result = new ArrayList<>(completionFields);
 
-        // 存入缓存
-        completionFieldsCache.put(indexName, result);
+                // 存入缓存
+                completionFieldsCache.put(indexName, result);
 
-        return result;
+                return result;
+            });
     }
 
     /**
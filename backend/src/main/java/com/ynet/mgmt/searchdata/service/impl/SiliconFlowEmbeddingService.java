@@ -1,16 +1,13 @@
 package com.ynet.mgmt.searchdata.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
 import com.ynet.mgmt.searchdata.service.EmbeddingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.StringUtils;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
@@ -60,21 +57,13 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
     @Value("${semantic.embedding.timeout:60000}")
     private int connectionTimeout;
 
-    private RestTemplate restTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelGatewayClient modelGatewayClient;
 
     /**
      * 向量缓存，避免重复计算相同文本的向量
      */
     private final Map<String, CachedVector> vectorCache = new ConcurrentHashMap<>();
 
-    /**
-     * 服务可用性状态缓存
-     */
-    private Boolean serviceAvailable = null;
-    private LocalDateTime lastHealthCheck = null;
-    private final Duration healthCheckInterval = Duration.ofMinutes(5);
-
     /**
      * 缓存的向量数据
      */
@@ -95,28 +84,14 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
         }
     }
 
+    public SiliconFlowEmbeddingService(ModelGatewayClient modelGatewayClient) {
+        this.modelGatewayClient = modelGatewayClient;
+    }
+
     @PostConstruct
     public void init() {
-        // 初始化RestTemplate并配置超时
-        try {
-            // 使用SimpleClientHttpRequestFactory配置超时
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(connectionTimeout);
-            factory.setReadTimeout(connectionTimeout);
-            this.restTemplate = new RestTemplate(factory);
-        } catch (Exception e) {
-            log.warn("无法配置RestTemplate超时，将使用默认RestTemplate", e);
-            this.restTemplate = new RestTemplate();
-        }
-
         log.info("初始化硅基流动嵌入服务: model={}, dimension={}, enabled={}, timeout={}ms",
                 MODEL_NAME, VECTOR_DIMENSION, semanticEnabled, connectionTimeout);
-
-        if (semanticEnabled) {
-            // 异步检查服务可用性
-            checkServiceAvailabilityAsync();
-        }
     }
 
     @Override
@@ -189,17 +164,44 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
             return null;
         }
 
+        // 先从缓存获取，只为未命中的文本调用服务
+        Duration expireDuration = Duration.ofHours(cacheExpireHours);
+        Map<String, List<Float>> result = new HashMap<>();
+        List<String> missingTexts = new ArrayList<>();
+        for (String normalizedText : normalizedTexts) {
+            CachedVector cached = vectorCache.get(normalizedText);
+            if (cached != null && !cached.isExpired(expireDuration)) {
+                result.put(normalizedText, cached.getVector());
+            } else {
+                missingTexts.add(normalizedText);
+            }
+        }
+        if (missingTexts.isEmpty()) {
+            return result;
+        }
+
         // 检查服务可用性
         if (!isServiceAvailable()) {
             log.warn("硅基流动服务不可用，跳过批量向量生成");
-            return null;
+            return result.isEmpty() ? null : result;
         }
 
         try {
-            return callSiliconFlowAPI(normalizedTexts);
+            Map<String, List<Float>> generated = callSiliconFlowAPI(missingTexts);
+            generated.forEach((text, vector) -> {
+                if (vector != null && vector.size() == VECTOR_DIMENSION) {
+                    // 批量结果同样写入缓存，供后续单条查询命中
+                    if (vectorCache.size() >= maxCacheSize) {
+                        clearOldCache();
+                    }
+                    vectorCache.put(text, new CachedVector(vector));
+                    result.put(text, vector);
+                }
+            });
+            return result;
         } catch (Exception e) {
             log.error("批量向量生成失败", e);
-            return null;
+            return result.isEmpty() ? null : result;
         }
     }
 
@@ -230,28 +232,8 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
 
     @Override
     public boolean isServiceAvailable() {
-        // 如果最近检查过且在缓存时间内，返回缓存结果
-        if (serviceAvailable != null && lastHealthCheck != null &&
-            LocalDateTime.now().isBefore(lastHealthCheck.plus(healthCheckInterval))) {
-            return serviceAvailable;
-        }
-
-        // 执行健康检查
-        try {
-            // 使用简单的单字测试
-            List<Float> testVector = callSiliconFlowAPI(Collections.singletonList("测试")).get("测试");
-            serviceAvailable = testVector != null && testVector.size() == VECTOR_DIMENSION;
-            lastHealthCheck = LocalDateTime.now();
-
-            log.info("硅基流动服务健康检查: available={}", serviceAvailable);
-            return serviceAvailable;
-
-        } catch (Exception e) {
-            serviceAvailable = false;
-            lastHealthCheck = LocalDateTime.now();
-            log.warn("硅基流动服务健康检查失败", e);
-            return false;
-        }
+        // 未配置API密钥时调用必然失败，直接视为不可用；其余由模型网关的熔断器决定，不再单独轮询健康检查
+        return semanticEnabled && StringUtils.hasText(apiKey) && modelGatewayClient.isAvailable(MODEL_NAME);
     }
 
     @Override
@@ -272,32 +254,21 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
     /**
      * 调用硅基流动API
      */
-    private Map<String, List<Float>> callSiliconFlowAPI(List<String> texts) throws Exception {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + apiKey);
-        headers.set("Content-Type", "application/json");
-
+    private Map<String, List<Float>> callSiliconFlowAPI(List<String> texts) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", MODEL_NAME);
         requestBody.put("input", texts);
         requestBody.put("encoding_format", "float");
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-        ResponseEntity<String> response = restTemplate.postForEntity(API_ENDPOINT, request, String.class);
-
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            return parseEmbeddingResponse(response.getBody(), texts);
-        } else {
-            throw new RuntimeException("硅基流动API调用失败: " + response.getStatusCode());
-        }
+        JsonNode response = modelGatewayClient.postJson(MODEL_NAME, API_ENDPOINT, apiKey, requestBody,
+                JsonNode.class, Duration.ofMillis(connectionTimeout));
+        return parseEmbeddingResponse(response, texts);
     }
 
     /**
      * 解析嵌入响应
      */
-    private Map<String, List<Float>> parseEmbeddingResponse(String responseBody, List<String> texts) throws Exception {
-        JsonNode rootNode = objectMapper.readTree(responseBody);
+    private Map<String, List<Float>> parseEmbeddingResponse(JsonNode rootNode, List<String> texts) {
         JsonNode dataNode = rootNode.get("data");
 
         if (dataNode == null || !dataNode.isArray()) {
@@ -344,18 +315,4 @@ public class SiliconFlowEmbeddingService implements EmbeddingService {
             }
         }
     }
-
-    /**
-     * 异步检查服务可用性
-     */
-    private void checkServiceAvailabilityAsync() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(1000); // 延迟1秒再检查
-                isServiceAvailable();
-            } catch (Exception e) {
-                log.warn("异步健康检查失败", e);
-            }
-        }).start();
-    }
-}
\ No newline at end of file
+}
@@ -1,21 +1,16 @@
 package com.ynet.mgmt.searchdata.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.modelgateway.client.ModelGatewayClient;
 import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
 import com.ynet.mgmt.searchdata.service.RerankService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -56,37 +51,16 @@ public class SiliconFlowRerankService implements RerankService {
     @Value("${rerank.siliconflow.return-documents:true}")
     private boolean returnDocuments;
 
-    private RestTemplate restTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelGatewayClient modelGatewayClient;
 
-    /**
-     * 服务可用性状态缓存
-     */
-    private Boolean serviceAvailable = null;
-    private LocalDateTime lastHealthCheck = null;
-    private final Duration healthCheckInterval = Duration.ofMinutes(5);
+    public SiliconFlowRerankService(ModelGatewayClient modelGatewayClient) {
+        this.modelGatewayClient = modelGatewayClient;
+    }
 
     @PostConstruct
     public void init() {
-        // 初始化RestTemplate并配置超时
-        try {
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory =
-                    new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(connectionTimeout);
-            factory.setReadTimeout(connectionTimeout);
-            this.restTemplate = new RestTemplate(factory);
-        } catch (Exception e) {
-            log.warn("无法配置RestTemplate超时，将使用默认RestTemplate", e);
-            this.restTemplate = new RestTemplate();
-        }
-
         log.info("初始化硅基流动重排序服务: model={}, enabled={}, timeout={}ms, defaultTopN={}",
                 MODEL_NAME, rerankEnabled, connectionTimeout, defaultTopN);
-
-        if (rerankEnabled) {
-            // 异步检查服务可用性
-            checkServiceAvailabilityAsync();
-        }
     }
 
     @Override
@@ -171,29 +145,8 @@ public class SiliconFlowRerankService implements RerankService {
 
     @Override
     public boolean isServiceAvailable() {
-        // 如果最近检查过且在缓存时间内，返回缓存结果
-        if (serviceAvailable != null && lastHealthCheck != null &&
-                LocalDateTime.now().isBefore(lastHealthCheck.plus(healthCheckInterval))) {
-            return serviceAvailable;
-        }
-
-        // 执行健康检查
-        try {
-            // 使用简单的测试查询
-            List<String> testDocs = Arrays.asList("测试文档1", "测试文档2");
-            List<RerankResult> results = callSiliconFlowRerankAPI("测试", testDocs, 2);
-            serviceAvailable = results != null && !results.isEmpty();
-            lastHealthCheck = LocalDateTime.now();
-
-            log.info("硅基流动重排序服务健康检查: available={}", serviceAvailable);
-            return serviceAvailable;
-
-        } catch (Exception e) {
-            serviceAvailable = false;
-            lastHealthCheck = LocalDateTime.now();
-            log.warn("硅基流动重排序服务健康检查失败", e);
-            return false;
-        }
+        // 可用性由模型网关的熔断器决定，不再单独轮询健康检查
+        return rerankEnabled && modelGatewayClient.isAvailable(MODEL_NAME);
     }
 
     @Override
@@ -214,11 +167,7 @@ public class SiliconFlowRerankService implements RerankService {
      * @param topN 返回前N条
      * @return 重排序结果列表
      */
-    private <T> List<RerankResult> callSiliconFlowRerankAPI(String query, List<T> documents, int topN) throws Exception {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + apiKey);
-        headers.set("Content-Type", "application/json");
-
+    private <T> List<RerankResult> callSiliconFlowRerankAPI(String query, List<T> documents, int topN) {
         // 提取文档文本
         List<String> documentTexts = documents.stream()
                 .map(this::extractDocumentText)
@@ -231,15 +180,9 @@ public class SiliconFlowRerankService implements RerankService {
         requestBody.put("top_n", topN);
         requestBody.put("return_documents", returnDocuments);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-        ResponseEntity<String> response = restTemplate.postForEntity(API_ENDPOINT, request, String.class);
-
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            return parseRerankResponse(response.getBody());
-        } else {
-            throw new RuntimeException("硅基流动Rerank API调用失败: " + response.getStatusCode());
-        }
+        JsonNode response = modelGatewayClient.postJson(MODEL_NAME, API_ENDPOINT, apiKey, requestBody,
+                JsonNode.class, Duration.ofMillis(connectionTimeout));
+        return parseRerankResponse(response);
     }
 
     /**
@@ -289,8 +232,7 @@ public class SiliconFlowRerankService implements RerankService {
     /**
      * 解析重排序响应
      */
-    private List<RerankResult> parseRerankResponse(String responseBody) throws Exception {
-        JsonNode rootNode = objectMapper.readTree(responseBody);
+    private List<RerankResult> parseRerankResponse(JsonNode rootNode) {
         JsonNode resultsNode = rootNode.get("results");
 
         if (resultsNode == null || !resultsNode.isArray()) {
@@ -309,20 +251,6 @@ public class SiliconFlowRerankService implements RerankService {
         return results;
     }
 
-    /**
-     * 异步检查服务可用性
-     */
-    private void checkServiceAvailabilityAsync() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(1000); // 延迟1秒再检查
-                isServiceAvailable();
-            } catch (Exception e) {
-                log.warn("异步健康检查失败", e);
-            }
-        }).start();
-    }
-
     /**
      * 重排序结果
      */
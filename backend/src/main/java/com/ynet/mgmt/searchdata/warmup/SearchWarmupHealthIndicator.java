@@ -0,0 +1,30 @@
+package com.ynet.mgmt.searchdata.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索预热健康检查（actuator 名称 searchWarmup）
+ * 预热结束前报告 OUT_OF_SERVICE，加入 readiness 分组后就绪探针在预热完成前不会接入流量；
+ * 预热超时或失败同样视为结束，避免实例一直无法就绪。明细中展示当前阶段和进度
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class SearchWarmupHealthIndicator implements HealthIndicator {
+
+    private final SearchWarmupService searchWarmupService;
+
+    public SearchWarmupHealthIndicator(SearchWarmupService searchWarmupService) {
+        this.searchWarmupService = searchWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        SearchWarmupProgress progress = searchWarmupService.getProgress();
+        Health.Builder builder = progress.isFinished() ? Health.up() : Health.outOfService();
+        return builder.withDetails(progress.toDetails()).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ynet.mgmt.searchdata.warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 搜索预热进度
+ * 由预热线程写入、健康检查读取，只保存计数和阶段，不持有查询内容
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class SearchWarmupProgress {
+
+    /**
+     * 预热阶段
+     */
+    public enum Phase {
+        /** 等待应用启动完成 */
+        PENDING,
+        /** 从搜索日志读取热门查询 */
+        LOADING_QUERIES,
+        /** 执行查询理解 */
+        QUERY_UNDERSTANDING,
+        /** 批量生成查询向量 */
+        EMBEDDING,
+        /** 发出预热搜索 */
+        SEARCHING,
+        /** 预热完成 */
+        COMPLETED,
+        /** 超过预热时限，未完成的任务已取消 */
+        TIMED_OUT,
+        /** 预热异常中止 */
+        FAILED,
+        /** 预热已关闭 */
+        DISABLED;
+
+        /**
+         * 是否已结束（结束后不再阻塞就绪探针）
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == TIMED_OUT || this == FAILED || this == DISABLED;
+        }
+    }
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int searchSpaces;
+    private volatile int queries;
+    private volatile int embeddings;
+    private final AtomicInteger searchesTotal = new AtomicInteger();
+    private final AtomicInteger searchesDone = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    void start() {
+        startedAt = Instant.now();
+        phase = Phase.LOADING_QUERIES;
+    }
+
+    void enterPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    void finish(Phase phase) {
+        finishedAt = Instant.now();
+        this.phase = phase;
+    }
+
+    void setLoaded(int searchSpaces, int queries) {
+        this.searchSpaces = searchSpaces;
+        this.queries = queries;
+    }
+
+    void setEmbeddings(int embeddings) {
+        this.embeddings = embeddings;
+    }
+
+    void setSearchesTotal(int total) {
+        searchesTotal.set(total);
+    }
+
+    void searchDone() {
+        searchesDone.incrementAndGet();
+    }
+
+    void failure() {
+        failures.incrementAndGet();
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isFinished() {
+        return phase.isFinished();
+    }
+
+    public int getSearchesDone() {
+        return searchesDone.get();
+    }
+
+    public int getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * 进度明细，用于健康检查展示
+     */
+    public Map<String, Object> toDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("phase", phase);
+        details.put("searchSpaces", searchSpaces);
+        details.put("queries", queries);
+        details.put("embeddings", embeddings);
+        details.put("searches", searchesDone.get() + "/" + searchesTotal.get());
+        details.put("failures", failures.get());
+        Instant start = startedAt;
+        if (start != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            details.put("elapsed", Duration.between(start, end).toString());
+        }
+        return details;
+    }
+}
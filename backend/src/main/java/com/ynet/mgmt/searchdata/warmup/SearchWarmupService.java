@@ -0,0 +1,292 @@
+package com.ynet.mgmt.searchdata.warmup;
+
+import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.service.ElasticsearchDataService;
+import com.ynet.mgmt.searchdata.service.EmbeddingService;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 搜索预热服务
+ *
+ * 部署后各级缓存均为空（查询向量缓存、查询理解缓存、索引映射、ES段缓存），最初几分钟的请求延迟明显偏高。
+ * 应用启动完成后，按搜索日志中最近一段时间各搜索空间的热门查询依次执行：
+ * 1. 查询理解：写入查询理解缓存
+ * 2. 批量生成原始查询和处理后查询的向量：写入向量缓存
+ * 3. 对每个搜索空间发出预热搜索：加载索引映射、敏感词检测、结果缓存以及ES侧缓存
+ *
+ * 各阶段任务在固定大小的线程池中执行，整体受预热时限约束，超时后取消剩余任务。
+ * 预热结束前 {@link SearchWarmupHealthIndicator} 报告 OUT_OF_SERVICE，就绪探针据此推迟接入流量
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class SearchWarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchWarmupService.class);
+
+    private final SearchLogRepository searchLogRepository;
+    private final SearchSpaceService searchSpaceService;
+    private final QueryUnderstandingService queryUnderstandingService;
+    private final EmbeddingService embeddingService;
+    private final ElasticsearchDataService elasticsearchDataService;
+
+    private final boolean enabled;
+    private final Duration lookback;
+    private final int maxSearchSpaces;
+    private final int topQueries;
+    private final int concurrency;
+    private final int batchSize;
+    private final Duration timeout;
+
+    private final SearchWarmupProgress progress = new SearchWarmupProgress();
+
+    private volatile Thread warmupThread;
+
+    public SearchWarmupService(SearchLogRepository searchLogRepository,
+                               SearchSpaceService searchSpaceService,
+                               QueryUnderstandingService queryUnderstandingService,
+                               EmbeddingService embeddingService,
+                               ElasticsearchDataService elasticsearchDataService,
+                               @Value("${search.warmup.enabled:true}") boolean enabled,
+                               @Value("${search.warmup.lookback:P7D}") Duration lookback,
+                               @Value("${search.warmup.max-search-spaces:20}") int maxSearchSpaces,
+                               @Value("${search.warmup.top-queries:50}") int topQueries,
+                               @Value("${search.warmup.concurrency:4}") int concurrency,
+                               @Value("${search.warmup.batch-size:32}") int batchSize,
+                               @Value("${search.warmup.timeout:PT2M}") Duration timeout) {
+        this.searchLogRepository = searchLogRepository;
+        this.searchSpaceService = searchSpaceService;
+        this.queryUnderstandingService = queryUnderstandingService;
+        this.embeddingService = embeddingService;
+        this.elasticsearchDataService = elasticsearchDataService;
+        this.enabled = enabled;
+        this.lookback = lookback;
+        this.maxSearchSpaces = maxSearchSpaces;
+        this.topQueries = topQueries;
+        this.concurrency = Math.max(1, concurrency);
+        this.batchSize = Math.max(1, batchSize);
+        this.timeout = timeout;
+    }
+
+    /**
+     * 应用启动完成后在后台线程执行预热，不阻塞启动流程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            progress.finish(SearchWarmupProgress.Phase.DISABLED);
+            log.info("搜索预热已关闭");
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "search-warmup");
+        thread.setDaemon(true);
+        warmupThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = warmupThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 当前预热进度
+     */
+    public SearchWarmupProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * 执行预热
+     */
+    void warmUp() {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        progress.start();
+        log.info("开始搜索预热: lookback={}, maxSearchSpaces={}, topQueries={}, concurrency={}, timeout={}",
+                lookback, maxSearchSpaces, topQueries, concurrency, timeout);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r);
+            thread.setName("search-warmup-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<SearchSpaceDTO, List<String>> queriesBySpace = loadTopQueries();
+            Set<String> queries = new LinkedHashSet<>();
+            queriesBySpace.values().forEach(queries::addAll);
+            progress.setLoaded(queriesBySpace.size(), queries.size());
+            if (queries.isEmpty()) {
+                finish(SearchWarmupProgress.Phase.COMPLETED);
+                return;
+            }
+
+            // 查询理解：结果写入查询理解缓存，处理后的查询一并生成向量
+            progress.enterPhase(SearchWarmupProgress.Phase.QUERY_UNDERSTANDING);
+            List<Callable<String>> understandingTasks = new ArrayList<>();
+            for (String query : queries) {
+                understandingTasks.add(() -> queryUnderstandingService.understandQuery(query).getCurrentQuery());
+            }
+            Set<String> texts = new LinkedHashSet<>(queries);
+            for (String processed : runAll(workers, understandingTasks, deadline)) {
+                if (StringUtils.hasText(processed)) {
+                    texts.add(processed);
+                }
+            }
+            if (isExpired(deadline)) {
+                finish(SearchWarmupProgress.Phase.TIMED_OUT);
+                return;
+            }
+
+            // 批量生成向量：结果写入向量缓存
+            if (embeddingService.isServiceAvailable()) {
+                progress.enterPhase(SearchWarmupProgress.Phase.EMBEDDING);
+                List<String> textList = new ArrayList<>(texts);
+                List<Callable<Integer>> embeddingTasks = new ArrayList<>();
+                for (int from = 0; from < textList.size(); from += batchSize) {
+                    List<String> batch = textList.subList(from, Math.min(from + batchSize, textList.size()));
+                    embeddingTasks.add(() -> {
+                        Map<String, List<Float>> vectors = embeddingService.getBatchTextEmbeddings(batch);
+                        return vectors != null ? vectors.size() : 0;
+                    });
+                }
+                progress.setEmbeddings(runAll(workers, embeddingTasks, deadline).stream().mapToInt(Integer::intValue).sum());
+                if (isExpired(deadline)) {
+                    finish(SearchWarmupProgress.Phase.TIMED_OUT);
+                    return;
+                }
+            }
+
+            // 预热搜索：加载索引映射和各级缓存
+            progress.enterPhase(SearchWarmupProgress.Phase.SEARCHING);
+            List<Callable<Void>> searchTasks = new ArrayList<>();
+            queriesBySpace.forEach((space, spaceQueries) -> {
+                for (String query : spaceQueries) {
+                    searchTasks.add(() -> {
+                        elasticsearchDataService.searchData(buildRequest(space, query), space, null);
+                        progress.searchDone();
+                        return null;
+                    });
+                }
+            });
+            progress.setSearchesTotal(searchTasks.size());
+            runAll(workers, searchTasks, deadline);
+            finish(isExpired(deadline) ? SearchWarmupProgress.Phase.TIMED_OUT : SearchWarmupProgress.Phase.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(SearchWarmupProgress.Phase.FAILED);
+        } catch (RuntimeException e) {
+            log.error("搜索预热失败", e);
+            finish(SearchWarmupProgress.Phase.FAILED);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 读取最近一段时间内各热门搜索空间的热门查询
+     */
+    private Map<SearchSpaceDTO, List<String>> loadTopQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = now.minus(lookback);
+        Map<SearchSpaceDTO, List<String>> queriesBySpace = new LinkedHashMap<>();
+        List<Object[]> spaces = searchLogRepository.findTopSearchSpacesByPeriod(start, now,
+                PageRequest.of(0, maxSearchSpaces));
+        for (Object[] row : spaces) {
+            Long searchSpaceId = (Long) row[0];
+            if (searchSpaceId == null) {
+                continue;
+            }
+            SearchSpaceDTO space;
+            try {
+                space = searchSpaceService.getSearchSpace(searchSpaceId);
+            } catch (RuntimeException e) {
+                log.debug("搜索空间不可用，跳过预热: id={}, error={}", searchSpaceId, e.getMessage());
+                continue;
+            }
+            List<String> queries = new ArrayList<>();
+            for (Object[] queryRow : searchLogRepository.findTopSuccessfulQueriesBySearchSpace(searchSpaceId, start,
+                    PageRequest.of(0, topQueries))) {
+                queries.add(((String) queryRow[0]).trim());
+            }
+            if (!queries.isEmpty()) {
+                queriesBySpace.put(space, queries);
+            }
+        }
+        return queriesBySpace;
+    }
+
+    /**
+     * 在预热线程池中执行一组任务，返回成功任务的结果
+     * 超过预热时限时 invokeAll 取消未完成的任务，单个任务失败只计数不中断预热
+     */
+    private <T> List<T> runAll(ExecutorService workers, List<Callable<T>> tasks, long deadline)
+            throws InterruptedException {
+        List<T> results = new ArrayList<>(tasks.size());
+        long remaining = deadline - System.nanoTime();
+        if (tasks.isEmpty() || remaining <= 0) {
+            return results;
+        }
+        for (Future<T> future : workers.invokeAll(tasks, remaining, TimeUnit.NANOSECONDS)) {
+            try {
+                results.add(future.get());
+            } catch (CancellationException e) {
+                // 超时取消，由调用方按时限判断
+            } catch (ExecutionException e) {
+                progress.failure();
+                log.debug("预热任务失败: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private SearchDataRequest buildRequest(SearchSpaceDTO space, String query) {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setSearchSpaceId(String.valueOf(space.getId()));
+        request.setQuery(query);
+        return request;
+    }
+
+    private boolean isExpired(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    private void finish(SearchWarmupProgress.Phase phase) {
+        progress.finish(phase);
+        log.info("搜索预热结束: {}", progress.toDetails());
+    }
+}
@@ -266,6 +266,13 @@ public class SearchLogAspect {
                         searchLog.setTotalResults(searchResponse.getTotal());
                         searchLog.setReturnedResults(searchResponse.getData() != null ? searchResponse.getData().size() : 0);
                         searchLog.setStatus(SearchLogStatus.SUCCESS);
+
+                        // ES服务端耗时（took），与总处理时间一起保存便于区分ES耗时和其他阶段耗时
+                        SearchDataResponse.SearchMetadata metadata = searchResponse.getSearchMetadata();
+                        if (metadata != null) {
+                            searchLog.setElasticsearchTimeMs(metadata.getElasticsearchTook() != null
+                                    ? metadata.getElasticsearchTook() : metadata.getElasticsearchTime());
+                        }
                     } else {
                         searchLog.setStatus(SearchLogStatus.ERROR);
                         searchLog.setErrorMessage("API响应失败: " + apiResponse.getMessage());
@@ -105,6 +105,37 @@ public class SearchLogCleanupController {
         }
     }
 
+    /**
+     * 将日志表转换为时间分区表
+     * 会重建主键并拷贝整表数据，期间日志写入被阻塞，应在维护窗口执行
+     *
+     * @return 转换结果
+     */
+    @PostMapping("/partition/convert")
+    @Operation(summary = "转换为分区表", description = "在维护窗口将搜索日志和点击日志表转换为按时间分区的表")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> convertToPartitioned() {
+        try {
+            logger.info("管理员手动触发搜索日志分区转换");
+
+            Map<String, Object> result = cleanupService.convertToPartitioned();
+
+            if ((Boolean) result.get("success")) {
+                logger.info("分区转换成功: {}", result);
+                return ResponseEntity.ok(ApiResponse.success("分区转换完成", result));
+            } else {
+                logger.error("分区转换失败: {}", result);
+                return ResponseEntity.status(500)
+                        .body(ApiResponse.error("分区转换失败: " + result.get("error")));
+            }
+
+        } catch (Exception e) {
+            logger.error("触发分区转换失败", e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("触发分区转换失败: " + e.getMessage()));
+        }
+    }
+
     /**
      * 预览清理影响
      *
@@ -1,6 +1,7 @@
 package com.ynet.mgmt.searchlog.controller;
 
 import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.common.exception.BusinessException;
 import com.ynet.mgmt.common.dto.PageResult;
 import com.ynet.mgmt.searchlog.dto.*;
 import com.ynet.mgmt.searchlog.entity.SearchLog;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -153,6 +155,7 @@ public class SearchLogController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "记录成功"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "请求参数错误"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "搜索日志不存在"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "点击事件缓冲区已满，点击未记录"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     public ResponseEntity<ApiResponse<Void>> recordClickAction(
@@ -176,6 +179,14 @@ public class SearchLogController {
         } catch (IllegalArgumentException e) {
             log.warn("记录点击行为参数错误: {}", e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.badRequest("请求参数错误: " + e.getMessage()));
+        } catch (BusinessException e) {
+            if (SearchLogService.CLICK_BUFFER_FULL.equals(e.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(ApiResponse.error(e.getMessage(), e.getErrorCode()));
+            }
+            log.error("记录点击行为失败", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("记录点击行为失败: " + e.getMessage()));
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found") || e.getMessage().contains("不存在")) {
                 log.warn("搜索日志不存在，无法记录点击行为，ID: {}", request.getSearchLogId());
@@ -39,9 +39,10 @@ public class SearchClickLog extends BaseEntity {
 
     /**
      * 关联的搜索日志
+     * 日志表按时间分区，MySQL分区表不支持外键，因此不生成数据库外键约束
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "search_log_id", nullable = false, foreignKey = @ForeignKey(name = "fk_search_click_logs_search_log"))
+    @JoinColumn(name = "search_log_id", nullable = false, foreignKey = @ForeignKey(value = ConstraintMode.NO_CONSTRAINT))
     @Comment("关联搜索日志ID")
     @NotNull(message = "关联搜索日志不能为空")
     @JsonIgnore
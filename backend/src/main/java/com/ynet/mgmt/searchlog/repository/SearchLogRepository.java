@@ -198,6 +198,21 @@ public interface SearchLogRepository extends JpaRepository<SearchLog, Long>, Jpa
     List<String> findSuccessfulSearchQueriesByTimeRange(@Param("startTime") LocalDateTime startTime,
                                                        @Param("endTime") LocalDateTime endTime);
 
+    /**
+     * 查询时间范围内成功搜索的去重查询词，按首次出现时间排序
+     *
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @return 去重后的查询词列表
+     */
+    @Query("SELECT s.searchQuery FROM SearchLog s WHERE s.status = 'SUCCESS' " +
+           "AND (:startTime IS NULL OR s.createdAt >= :startTime) " +
+           "AND (:endTime IS NULL OR s.createdAt <= :endTime) " +
+           "AND s.searchQuery IS NOT NULL AND LENGTH(TRIM(s.searchQuery)) > 0 " +
+           "GROUP BY s.searchQuery ORDER BY MIN(s.createdAt)")
+    List<String> findDistinctSuccessfulSearchQueriesByTimeRange(@Param("startTime") LocalDateTime startTime,
+                                                               @Param("endTime") LocalDateTime endTime);
+
     /**
      * 统计指定时间范围内成功搜索的总数
      * 用于计算热词百分比
@@ -224,6 +239,23 @@ public interface SearchLogRepository extends JpaRepository<SearchLog, Long>, Jpa
     @Query("SELECT s.searchSpaceId, COUNT(s) FROM SearchLog s WHERE s.createdAt BETWEEN :startTime AND :endTime GROUP BY s.searchSpaceId ORDER BY COUNT(s) DESC")
     List<Object[]> findTopSearchSpacesByPeriod(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime, Pageable pageable);
 
+    /**
+     * 查找指定搜索空间在某时间之后成功搜索的热门查询词
+     * 用于启动预热时按真实流量挑选查询
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param startTime     开始时间
+     * @param pageable      分页参数
+     * @return 热门查询列表（查询词，搜索次数）
+     */
+    @Query("SELECT s.searchQuery, COUNT(s) FROM SearchLog s WHERE s.searchSpaceId = :searchSpaceId " +
+           "AND s.status = 'SUCCESS' AND s.createdAt >= :startTime " +
+           "AND s.searchQuery IS NOT NULL AND LENGTH(TRIM(s.searchQuery)) > 0 " +
+           "GROUP BY s.searchQuery ORDER BY COUNT(s) DESC")
+    List<Object[]> findTopSuccessfulQueriesBySearchSpace(@Param("searchSpaceId") Long searchSpaceId,
+                                                         @Param("startTime") LocalDateTime startTime,
+                                                         Pageable pageable);
+
     // ========== 存在性查询方法 ==========
 
     /**
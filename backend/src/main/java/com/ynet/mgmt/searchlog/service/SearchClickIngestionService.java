@@ -0,0 +1,375 @@
+package com.ynet.mgmt.searchlog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.common.util.SecurityUtils;
+import com.ynet.mgmt.searchlog.dto.SearchClickRequest;
+import com.ynet.mgmt.searchlog.repository.SearchClickLogRepository;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 搜索点击批量写入服务
+ *
+ * 点击接口与搜索接口同样繁忙，逐条 findById + countBySearchLogId + save 会产生三次数据库访问。
+ * 这里改为：
+ * 1. 搜索日志ID首次出现时只做一次存在性检查，之后由本地缓存判定存在
+ * 2. 点击事件进入有界缓冲区，由后台线程按批次分配点击顺序并以 JDBC 批量插入写入 search_click_logs。
+ *    顺序只在写入时分配，被拒绝或写入失败的点击不占用序号；写入串行执行，
+ *    顺序计数被缓存淘汰后按已写入的点击数重新加载，不会重复
+ * 3. 缓冲区满时拒绝新事件并计数，不阻塞请求线程，由调用方向客户端返回拒绝
+ * 4. 审计字段 created_by/updated_by 记录请求线程中的当前登录用户，未登录时记为 system
+ *
+ * 点击顺序在单实例内严格递增；多实例部署时同一搜索日志的点击落在不同实例上可能出现重复顺序号
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+public class SearchClickIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchClickIngestionService.class);
+
+    static final String INSERT_SQL = "INSERT INTO search_click_logs " +
+        "(search_log_id, document_id, document_title, click_position, click_sequence, click_time, " +
+        "user_id, ip_address, created_at, updated_at, created_by, updated_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DEFAULT_AUDITOR = "system";
+
+    private static final int MAX_DOCUMENT_ID_LENGTH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchLogRepository searchLogRepository;
+    private final SearchClickLogRepository searchClickLogRepository;
+
+    private final int batchSize;
+    private final BlockingQueue<ClickEvent> buffer;
+    private final Cache<Long, Boolean> knownSearchLogs;
+    /**
+     * 各搜索日志已写入的最大点击顺序，只在持有 flush 锁时读写
+     */
+    private final Cache<Long, Integer> clickSequences;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter acceptedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedBufferFullCounter;
+    private final Counter droppedWriteFailedCounter;
+    private final Timer ingestLagTimer;
+    private final Timer batchTimer;
+
+    public SearchClickIngestionService(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       SearchLogRepository searchLogRepository,
+                                       SearchClickLogRepository searchClickLogRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${search.log.click-ingest.buffer-capacity:10000}") int bufferCapacity,
+                                       @Value("${search.log.click-ingest.batch-size:200}") int batchSize,
+                                       @Value("${search.log.click-ingest.flush-interval:PT0.5S}") Duration flushInterval,
+                                       @Value("${search.log.click-ingest.known-ids-max-size:100000}") long knownIdsMaxSize,
+                                       @Value("${search.log.click-ingest.known-ids-ttl:PT30M}") Duration knownIdsTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchLogRepository = searchLogRepository;
+        this.searchClickLogRepository = searchClickLogRepository;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.knownSearchLogs = Caffeine.newBuilder()
+            .maximumSize(knownIdsMaxSize)
+            .expireAfterAccess(knownIdsTtl)
+            .build();
+        this.clickSequences = Caffeine.newBuilder()
+            .maximumSize(knownIdsMaxSize)
+            .expireAfterAccess(knownIdsTtl)
+            .build();
+
+        this.acceptedCounter = Counter.builder("search.click.ingest.accepted")
+            .description("进入缓冲区的点击事件数")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("search.click.ingest.written")
+            .description("已写入数据库的点击事件数")
+            .register(meterRegistry);
+        this.droppedBufferFullCounter = Counter.builder("search.click.ingest.dropped")
+            .description("丢弃的点击事件数")
+            .tag("reason", "buffer_full")
+            .register(meterRegistry);
+        this.droppedWriteFailedCounter = Counter.builder("search.click.ingest.dropped")
+            .description("丢弃的点击事件数")
+            .tag("reason", "write_failed")
+            .register(meterRegistry);
+        this.ingestLagTimer = Timer.builder("search.click.ingest.lag")
+            .description("点击事件从接收到写入数据库的延迟")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("search.click.ingest.batch")
+            .description("单批点击事件写入耗时")
+            .register(meterRegistry);
+        Gauge.builder("search.click.ingest.pending", buffer, BlockingQueue::size)
+            .description("缓冲区中待写入的点击事件数")
+            .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-click-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("点击批量写入服务初始化完成: bufferCapacity={}, batchSize={}, flushInterval={}ms",
+            bufferCapacity, batchSize, intervalMillis);
+    }
+
+    /**
+     * 接收一次点击
+     *
+     * @param request 点击请求
+     * @return true 如果已进入缓冲区，false 表示缓冲区已满被拒绝
+     * @throws EntityNotFoundException 搜索日志不存在
+     */
+    public boolean ingest(SearchClickRequest request) {
+        // 批量写入时单条非法数据会导致整批失败，入队前先校验非空约束
+        if (request.getDocumentId() == null || request.getDocumentId().isBlank()) {
+            throw new IllegalArgumentException("文档ID不能为空");
+        }
+        if (request.getDocumentId().length() > MAX_DOCUMENT_ID_LENGTH) {
+            throw new IllegalArgumentException("文档ID长度不能超过" + MAX_DOCUMENT_ID_LENGTH);
+        }
+
+        Long searchLogId = request.getSearchLogId();
+        // 不存在时映射为null，不缓存，日志写入后即可点击
+        if (knownSearchLogs.get(searchLogId, id -> searchLogRepository.existsById(id) ? Boolean.TRUE : null) == null) {
+            throw new EntityNotFoundException("搜索日志不存在: " + searchLogId);
+        }
+
+        ClickEvent event = new ClickEvent(searchLogId, request.getDocumentId(), request.getDocumentTitle(),
+            request.getClickPosition(), LocalDateTime.now(),
+            parseUserId(request.getUserId()), request.getUserIp(), currentAuditor(), System.nanoTime());
+
+        if (!buffer.offer(event)) {
+            droppedBufferFullCounter.increment();
+            logger.warn("点击事件缓冲区已满，拒绝点击: searchLogId={}, documentId={}", searchLogId, request.getDocumentId());
+            return false;
+        }
+        acceptedCounter.increment();
+        if (buffer.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+        return true;
+    }
+
+    /**
+     * 将缓冲区中的点击全部写入数据库
+     *
+     * @return 写入条数
+     */
+    public synchronized int flush() {
+        flushScheduled.set(false);
+        int written = 0;
+        List<ClickEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            written += writeBatch(batch);
+            batch.clear();
+        }
+        return written;
+    }
+
+    /**
+     * 缓冲区中待写入的点击数
+     *
+     * @return 待写入数
+     */
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int written = flush();
+        logger.info("点击批量写入服务关闭，写入剩余点击 {} 条", written);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("点击事件批量写入失败", e);
+        }
+    }
+
+    private int writeBatch(List<ClickEvent> batch) {
+        long start = System.nanoTime();
+        Map<Long, Integer> lastSequences = new HashMap<>();
+        for (ClickEvent event : batch) {
+            lastSequences.computeIfAbsent(event.searchLogId, this::lastClickSequence);
+        }
+
+        int written;
+        Map<Long, Integer> assigned = new HashMap<>(lastSequences);
+        for (ClickEvent event : batch) {
+            event.clickSequence = assigned.merge(event.searchLogId, 1, Integer::sum);
+        }
+        try {
+            // 整批在一个事务中写入，失败时整体回滚后再逐条重试，避免部分写入的点击重复
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), SearchClickIngestionService::bind));
+            written = batch.size();
+        } catch (Exception e) {
+            logger.warn("点击事件批量写入失败，改为逐条写入: {}", e.getMessage());
+            assigned = new HashMap<>(lastSequences);
+            written = writeOneByOne(batch, assigned);
+        }
+        clickSequences.putAll(assigned);
+
+        long now = System.nanoTime();
+        batchTimer.record(now - start, TimeUnit.NANOSECONDS);
+        for (ClickEvent event : batch) {
+            ingestLagTimer.record(now - event.receivedNanos, TimeUnit.NANOSECONDS);
+        }
+        writtenCounter.increment(written);
+        logger.debug("点击事件批量写入完成: {}/{} 条", written, batch.size());
+        return written;
+    }
+
+    /**
+     * 批量写入失败时逐条写入，只丢弃本身写入失败的点击，失败的点击不占用顺序号
+     *
+     * @param lastSequences 各搜索日志已写入的最大顺序，写入成功后更新
+     */
+    private int writeOneByOne(List<ClickEvent> batch, Map<Long, Integer> lastSequences) {
+        int written = 0;
+        for (ClickEvent event : batch) {
+            event.clickSequence = lastSequences.get(event.searchLogId) + 1;
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event));
+                lastSequences.put(event.searchLogId, event.clickSequence);
+                written++;
+            } catch (Exception e) {
+                droppedWriteFailedCounter.increment();
+                logger.error("点击事件写入失败，丢弃: searchLogId={}, documentId={}, error={}",
+                    event.searchLogId, event.documentId, e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private static void bind(PreparedStatement ps, ClickEvent event) throws SQLException {
+        Timestamp clickTime = Timestamp.valueOf(event.clickTime);
+        ps.setLong(1, event.searchLogId);
+        ps.setString(2, event.documentId);
+        ps.setString(3, event.documentTitle);
+        ps.setInt(4, event.clickPosition);
+        ps.setInt(5, event.clickSequence);
+        ps.setTimestamp(6, clickTime);
+        if (event.userId != null) {
+            ps.setLong(7, event.userId);
+        } else {
+            ps.setNull(7, Types.BIGINT);
+        }
+        ps.setString(8, event.ipAddress);
+        ps.setTimestamp(9, clickTime);
+        ps.setTimestamp(10, clickTime);
+        ps.setString(11, event.auditor);
+        ps.setString(12, event.auditor);
+    }
+
+    /**
+     * 后台线程中没有安全上下文，审计用户需在请求线程中取得
+     */
+    private static String currentAuditor() {
+        String username = SecurityUtils.getCurrentUsername();
+        return username != null ? username : DEFAULT_AUDITOR;
+    }
+
+    /**
+     * 搜索日志已写入的最大点击顺序，缓存未命中时以已写入的点击数为准
+     * 只在 flush 锁内调用，此前的批次均已提交，重新加载不会与已分配的顺序重复
+     */
+    private int lastClickSequence(Long searchLogId) {
+        Integer cached = clickSequences.getIfPresent(searchLogId);
+        if (cached != null) {
+            return cached;
+        }
+        return (int) searchClickLogRepository.countBySearchLogId(searchLogId);
+    }
+
+    private Long parseUserId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            logger.debug("用户ID格式错误: {}", userId);
+            return null;
+        }
+    }
+
+    /**
+     * 待写入的点击事件
+     */
+    static final class ClickEvent {
+        final long searchLogId;
+        final String documentId;
+        final String documentTitle;
+        final int clickPosition;
+        /**
+         * 写入时由 flush 线程分配
+         */
+        int clickSequence;
+        final LocalDateTime clickTime;
+        final Long userId;
+        final String ipAddress;
+        final String auditor;
+        final long receivedNanos;
+
+        ClickEvent(long searchLogId, String documentId, String documentTitle, int clickPosition,
+                   LocalDateTime clickTime, Long userId, String ipAddress, String auditor, long receivedNanos) {
+            this.searchLogId = searchLogId;
+            this.documentId = documentId;
+            this.documentTitle = documentTitle;
+            this.clickPosition = clickPosition;
+            this.clickTime = clickTime;
+            this.userId = userId;
+            this.ipAddress = ipAddress;
+            this.auditor = auditor;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+}
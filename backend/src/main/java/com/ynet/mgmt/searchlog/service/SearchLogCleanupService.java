@@ -39,6 +39,9 @@ public class SearchLogCleanupService {
     @Autowired
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired(required = false)
+    private SearchLogPartitionManager partitionManager;
+
     @Value("${search.log.retention.days:30}")
     private int retentionDays;
 
@@ -65,12 +68,10 @@ public class SearchLogCleanupService {
         try {
             long startTime = System.currentTimeMillis();
 
-            // 先删除关联的点击日志
-            int deletedClicks = deleteExpiredClickLogs(cutoffDate);
+            int[] deleted = deleteExpired(cutoffDate);
+            int deletedClicks = deleted[0];
+            int deletedLogs = deleted[1];
             logger.info("清理过期点击日志: {} 条", deletedClicks);
-
-            // 再删除搜索日志
-            int deletedLogs = deleteExpiredSearchLogs(cutoffDate);
             logger.info("清理过期搜索日志: {} 条", deletedLogs);
 
             long endTime = System.currentTimeMillis();
@@ -88,6 +89,29 @@ public class SearchLogCleanupService {
         }
     }
 
+    /**
+     * 删除过期日志
+     * 日志表已按时间分区时先预建后续分区，再整分区删除过期数据；否则回退为逐批删除
+     *
+     * @param cutoffDate 截止日期
+     * @return [删除的点击日志数, 删除的搜索日志数]
+     */
+    private int[] deleteExpired(LocalDateTime cutoffDate) {
+        if (partitionManager != null && partitionManager.isActive()) {
+            partitionManager.ensurePartitions();
+            Map<String, Long> dropped = partitionManager.dropExpiredPartitions(cutoffDate);
+            return new int[]{
+                    dropped.getOrDefault("search_click_logs", 0L).intValue(),
+                    dropped.getOrDefault("search_logs", 0L).intValue()
+            };
+        }
+
+        // 先删除关联的点击日志，再删除搜索日志
+        int deletedClicks = deleteExpiredClickLogs(cutoffDate);
+        int deletedLogs = deleteExpiredSearchLogs(cutoffDate);
+        return new int[]{deletedClicks, deletedLogs};
+    }
+
     /**
      * 批量删除过期点击日志
      *
@@ -228,11 +252,9 @@ public class SearchLogCleanupService {
         long startTime = System.currentTimeMillis();
 
         try {
-            // 先删除关联的点击日志
-            int deletedClicks = deleteExpiredClickLogs(cutoffDate);
-
-            // 再删除搜索日志
-            int deletedLogs = deleteExpiredSearchLogs(cutoffDate);
+            int[] deleted = deleteExpired(cutoffDate);
+            int deletedClicks = deleted[0];
+            int deletedLogs = deleted[1];
 
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
@@ -260,6 +282,43 @@ public class SearchLogCleanupService {
         }
     }
 
+    /**
+     * 将日志表转换为时间分区表（管理员在维护窗口显式触发）
+     * 保留期内的数据按周期分区，早于保留起点的数据进入历史分区并在下次清理时整体删除
+     *
+     * @return 转换结果
+     */
+    public Map<String, Object> convertToPartitioned() {
+        if (partitionManager == null) {
+            throw new ServiceException("搜索日志分区管理不可用");
+        }
+
+        LocalDateTime retainFrom = LocalDateTime.now().minusDays(retentionDays);
+        logger.info("管理员触发搜索日志分区转换，保留起点: {}", retainFrom);
+        long startTime = System.currentTimeMillis();
+
+        try {
+            Map<String, Integer> converted = partitionManager.convertToPartitioned(retainFrom);
+            partitionManager.ensurePartitions();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("createdPartitions", converted);
+            result.put("retainFrom", retainFrom.toString());
+            result.put("duration", System.currentTimeMillis() - startTime);
+            result.put("timestamp", LocalDateTime.now().toString());
+            return result;
+
+        } catch (Exception e) {
+            logger.error("搜索日志分区转换失败", e);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            result.put("timestamp", LocalDateTime.now().toString());
+            return result;
+        }
+    }
+
     /**
      * 获取清理配置信息
      *
@@ -271,6 +330,9 @@ public class SearchLogCleanupService {
         config.put("retentionDays", retentionDays);
         config.put("batchSize", batchSize);
         config.put("nextCleanupDate", calculateNextCleanupDate());
+        if (partitionManager != null) {
+            config.put("partition", partitionManager.getPartitionStatus());
+        }
 
         return config;
     }
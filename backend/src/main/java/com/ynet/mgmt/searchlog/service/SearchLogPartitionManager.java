@@ -0,0 +1,427 @@
+package com.ynet.mgmt.searchlog.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 搜索日志分区管理服务
+ * search_logs 按 created_at、search_click_logs 按 click_time 做 RANGE COLUMNS 分区（按天或按月），
+ * 负责预建未来分区，并以整分区删除的方式执行数据保留，替代逐批 DELETE
+ *
+ * 仅在 MySQL 上生效；其他数据库（如测试用 H2）或表尚未分区时，清理服务回退到批量删除。
+ * 未分区表的转换需要重建主键和整表数据，不在启动或定时任务中自动执行，
+ * 由管理员在维护窗口通过清理管理接口或迁移脚本显式触发
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+public class SearchLogPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchLogPartitionManager.class);
+
+    static final String FUTURE_PARTITION = "p_future";
+    static final String HISTORY_PARTITION = "p_history";
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 分区表及其分区列
+     */
+    static final Map<String, String> PARTITIONED_TABLES = new LinkedHashMap<>();
+
+    static {
+        PARTITIONED_TABLES.put("search_click_logs", "click_time");
+        PARTITIONED_TABLES.put("search_logs", "created_at");
+    }
+
+    /**
+     * 分区粒度
+     */
+    public enum Granularity {
+        DAILY(DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTHLY(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final DateTimeFormatter nameFormat;
+
+        Granularity(DateTimeFormatter nameFormat) {
+            this.nameFormat = nameFormat;
+        }
+
+        /**
+         * 包含指定日期的分区起始日
+         */
+        public LocalDate periodStart(LocalDate date) {
+            return this == DAILY ? date : date.withDayOfMonth(1);
+        }
+
+        /**
+         * 下一个分区的起始日
+         */
+        public LocalDate next(LocalDate periodStart) {
+            return this == DAILY ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+        }
+
+        public String partitionName(LocalDate periodStart) {
+            return "p" + periodStart.format(nameFormat);
+        }
+    }
+
+    /**
+     * 单个分区的信息
+     */
+    public static class PartitionInfo {
+        private final String name;
+        /**
+         * 分区上界（不含），MAXVALUE 分区为 null
+         */
+        private final LocalDateTime upperBound;
+        private final long rows;
+
+        public PartitionInfo(String name, LocalDateTime upperBound, long rows) {
+            this.name = name;
+            this.upperBound = upperBound;
+            this.rows = rows;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDateTime getUpperBound() {
+            return upperBound;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${search.log.partition.enabled:true}")
+    private boolean partitionEnabled;
+
+    @Value("${search.log.partition.granularity:DAILY}")
+    private Granularity granularity;
+
+    @Value("${search.log.partition.precreate-periods:7}")
+    private int precreatePeriods;
+
+    private volatile Boolean mysql;
+
+    public SearchLogPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 应用启动后为已分区的表预建分区
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensurePartitions();
+        } catch (Exception e) {
+            logger.warn("搜索日志分区初始化失败，清理任务将回退为批量删除: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 分区保留是否可用：已启用、数据库为 MySQL 且两张日志表均已分区
+     */
+    public boolean isActive() {
+        if (!partitionEnabled || !isMysql()) {
+            return false;
+        }
+        for (String table : PARTITIONED_TABLES.keySet()) {
+            if (!isPartitioned(table)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 为已分区的日志表预建到未来 precreatePeriods 个周期的分区
+     * 未分区的表只记录告警，需显式执行 {@link #convertToPartitioned(LocalDateTime)} 或迁移脚本
+     */
+    public synchronized void ensurePartitions() {
+        if (!partitionEnabled || !isMysql()) {
+            logger.debug("搜索日志分区未启用或数据库不是MySQL，跳过分区维护");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        for (String table : PARTITIONED_TABLES.keySet()) {
+
+            if (!tableExists(table)) {
+                logger.debug("表 {} 尚未创建，跳过分区维护", table);
+                continue;
+            }
+
+            if (!isPartitioned(table)) {
+                logger.warn("表 {} 尚未分区，清理任务使用批量删除；如需分区请在维护窗口调用 " +
+                        "POST /search-logs/cleanup/partition/convert 或执行 " +
+                        "db/migration/V20261019_001__partition_search_logs_tables.sql", table);
+                continue;
+            }
+
+            List<PartitionInfo> partitions = listPartitions(table);
+            List<LocalDate> missing = planNewPartitions(partitions, today, precreatePeriods, granularity);
+            if (!missing.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION +
+                        " INTO (" + partitionDefinitions(missing) + ")");
+                logger.info("表 {} 新建分区 {} 个: {} ~ {}", table, missing.size(),
+                        granularity.partitionName(missing.get(0)), granularity.partitionName(missing.get(missing.size() - 1)));
+            }
+        }
+    }
+
+    /**
+     * 将尚未分区的日志表转换为分区表（管理操作，会重建主键并整表拷贝，应在维护窗口执行）
+     * 保留期内的数据按周期落入各自分区，只有早于保留起点的数据进入 p_history，随下次清理整体删除
+     *
+     * @param retainFrom 保留起点（当前时间减去保留天数）
+     * @return 各表新建的分区数，已分区或不存在的表为 0
+     */
+    public synchronized Map<String, Integer> convertToPartitioned(LocalDateTime retainFrom) {
+        if (!partitionEnabled || !isMysql()) {
+            throw new IllegalStateException("搜索日志分区未启用或数据库不是MySQL");
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<String, Integer> converted = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : PARTITIONED_TABLES.entrySet()) {
+            String table = entry.getKey();
+            if (!tableExists(table) || isPartitioned(table)) {
+                converted.put(table, 0);
+                continue;
+            }
+            converted.put(table, convertTable(table, entry.getValue(), retainFrom.toLocalDate(), today));
+        }
+        return converted;
+    }
+
+    /**
+     * 删除上界不晚于截止时间的所有分区（分区内数据均已过期）
+     * 先删点击日志再删搜索日志，与原批量删除的顺序保持一致
+     *
+     * @param cutoffDate 截止时间
+     * @return 各表删除的行数（按分区统计的估算值）
+     */
+    public Map<String, Long> dropExpiredPartitions(LocalDateTime cutoffDate) {
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        for (String table : PARTITIONED_TABLES.keySet()) {
+            List<PartitionInfo> expired = selectExpiredPartitions(listPartitions(table), cutoffDate);
+            long rows = 0;
+            if (!expired.isEmpty()) {
+                StringJoiner names = new StringJoiner(", ");
+                for (PartitionInfo partition : expired) {
+                    names.add(partition.getName());
+                    rows += partition.getRows();
+                }
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + names);
+                logger.info("表 {} 删除过期分区 {} 个: {}，约 {} 行", table, expired.size(), names, rows);
+            }
+            dropped.put(table, rows);
+        }
+
+        // 没有外键级联后，搜索日志所在分区先被删除的点击日志需要单独清理（仅涉及截止时间后一天内的点击分区）
+        int orphans = jdbcTemplate.update(
+                "DELETE FROM search_click_logs WHERE click_time >= ? AND click_time < ? " +
+                        "AND search_log_id < (SELECT COALESCE(MIN(id), 0) FROM search_logs)",
+                cutoffDate, cutoffDate.plusDays(1));
+        if (orphans > 0) {
+            logger.info("清理关联搜索日志已删除的点击日志: {} 条", orphans);
+            dropped.merge("search_click_logs", (long) orphans, Long::sum);
+        }
+        return dropped;
+    }
+
+    /**
+     * 获取分区状态（用于清理配置展示）
+     */
+    public Map<String, Object> getPartitionStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", partitionEnabled);
+        status.put("granularity", granularity.name());
+        status.put("precreatePeriods", precreatePeriods);
+        boolean supported = partitionEnabled && isMysql();
+        status.put("supported", supported);
+        if (supported) {
+            for (String table : PARTITIONED_TABLES.keySet()) {
+                status.put(table, isPartitioned(table) ? listPartitions(table).size() : 0);
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 计算需要新建的分区起始日（从最后一个有界分区之后到今天 + precreate 个周期）
+     */
+    static List<LocalDate> planNewPartitions(List<PartitionInfo> partitions, LocalDate today,
+                                             int precreatePeriods, Granularity granularity) {
+        LocalDateTime lastBound = null;
+        for (PartitionInfo partition : partitions) {
+            if (partition.getUpperBound() != null
+                    && (lastBound == null || partition.getUpperBound().isAfter(lastBound))) {
+                lastBound = partition.getUpperBound();
+            }
+        }
+
+        // 上界即下一个分区的起始时间，从这里开始补齐（包括停机期间漏建的周期）
+        LocalDate start = lastBound != null
+                ? granularity.periodStart(lastBound.toLocalDate())
+                : granularity.periodStart(today);
+
+        LocalDate horizon = granularity.periodStart(today);
+        for (int i = 0; i < precreatePeriods; i++) {
+            horizon = granularity.next(horizon);
+        }
+
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate period = start; !period.isAfter(horizon); period = granularity.next(period)) {
+            missing.add(period);
+        }
+        return missing;
+    }
+
+    /**
+     * 计算分区转换时的周期：从最早数据与保留起点中较晚者所在周期开始，到今天 + precreate 个周期
+     * 更早的数据已超出保留期，由 p_history 承接
+     */
+    static List<LocalDate> planConversionPartitions(LocalDate earliestData, LocalDate retainFrom, LocalDate today,
+                                                    int precreatePeriods, Granularity granularity) {
+        LocalDate first = earliestData != null && earliestData.isAfter(retainFrom) ? earliestData : retainFrom;
+        if (first.isAfter(today)) {
+            first = today;
+        }
+        LocalDate start = granularity.periodStart(first);
+        return planNewPartitions(List.of(new PartitionInfo(HISTORY_PARTITION, start.atStartOfDay(), 0)),
+                today, precreatePeriods, granularity);
+    }
+
+    /**
+     * 选出上界不晚于截止时间的分区，MAXVALUE 分区永不删除
+     */
+    static List<PartitionInfo> selectExpiredPartitions(List<PartitionInfo> partitions, LocalDateTime cutoffDate) {
+        List<PartitionInfo> expired = new ArrayList<>();
+        for (PartitionInfo partition : partitions) {
+            if (partition.getUpperBound() != null && !partition.getUpperBound().isAfter(cutoffDate)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 解析 information_schema.PARTITIONS.PARTITION_DESCRIPTION，如 '2025-10-20 00:00:00' 或 MAXVALUE
+     */
+    static LocalDateTime parseUpperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        return LocalDateTime.parse(value.substring(0, 19), BOUND_FORMAT);
+    }
+
+    private int convertTable(String table, String column, LocalDate retainFrom, LocalDate today) {
+        logger.info("开始将表 {} 转换为按 {} 的 {} 分区表", table, column, granularity);
+        long start = System.currentTimeMillis();
+
+        // 分区表不支持外键，也不能被外键引用
+        for (String[] foreignKey : findForeignKeys(table)) {
+            jdbcTemplate.execute("ALTER TABLE " + foreignKey[0] + " DROP FOREIGN KEY " + foreignKey[1]);
+            logger.info("删除外键 {}.{}（分区表不支持外键）", foreignKey[0], foreignKey[1]);
+        }
+
+        // 分区列必须包含在主键中
+        jdbcTemplate.update("UPDATE " + table + " SET " + column + " = '1970-01-01 00:00:00' WHERE " + column + " IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, " + column + ")");
+
+        // 保留期内的数据按周期分区，早于保留起点的数据落入 p_history
+        LocalDateTime earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + column + ") FROM " + table + " WHERE " + column + " > '1970-01-01 00:00:00'",
+                LocalDateTime.class);
+        List<LocalDate> periods = planConversionPartitions(
+                earliest != null ? earliest.toLocalDate() : null, retainFrom, today, precreatePeriods, granularity);
+        jdbcTemplate.execute("ALTER TABLE " + table + " PARTITION BY RANGE COLUMNS(" + column + ") (" +
+                "PARTITION " + HISTORY_PARTITION + " VALUES LESS THAN ('" + periods.get(0).atStartOfDay().format(BOUND_FORMAT) + "'), " +
+                partitionDefinitions(periods) + ")");
+
+        logger.info("表 {} 分区转换完成，新建分区 {} 个，耗时 {}ms", table, periods.size(), System.currentTimeMillis() - start);
+        return periods.size();
+    }
+
+    private String partitionDefinitions(List<LocalDate> periods) {
+        StringJoiner definitions = new StringJoiner(", ");
+        for (LocalDate period : periods) {
+            definitions.add("PARTITION " + granularity.partitionName(period) + " VALUES LESS THAN ('" +
+                    granularity.next(period).atStartOfDay().format(BOUND_FORMAT) + "')");
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return definitions.toString();
+    }
+
+    private List<PartitionInfo> listPartitions(String table) {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new PartitionInfo(rs.getString(1), parseUpperBound(rs.getString(2)), rs.getLong(3)),
+                table);
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 查找表自身声明的外键以及引用该表的外键，返回 [表名, 约束名]
+     */
+    private List<String[]> findForeignKeys(String table) {
+        return jdbcTemplate.query(
+                "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+                        "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = ? OR REFERENCED_TABLE_NAME = ?)",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)},
+                table, table);
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase().contains("mysql");
+        }
+        return mysql;
+    }
+}
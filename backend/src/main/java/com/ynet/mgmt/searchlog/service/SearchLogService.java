@@ -39,10 +39,16 @@ public interface SearchLogService {
      */
     SearchLogDetailResponse getSearchLogDetail(Long id);
 
+    /**
+     * 点击事件缓冲区已满、点击被拒绝时的错误码
+     */
+    String CLICK_BUFFER_FULL = "SEARCH_CLICK_BUFFER_FULL";
+
     /**
      * 记录点击行为
      *
      * @param request 点击记录请求
+     * @throws com.ynet.mgmt.common.exception.BusinessException 点击事件缓冲区已满（错误码 {@link #CLICK_BUFFER_FULL}）
      */
     void recordClickAction(SearchClickRequest request);
 
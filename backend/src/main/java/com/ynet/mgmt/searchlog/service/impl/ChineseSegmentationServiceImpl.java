@@ -1,20 +1,38 @@
 package com.ynet.mgmt.searchlog.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.huaban.analysis.jieba.JiebaSegmenter;
 import com.ynet.mgmt.searchlog.service.ChineseSegmentationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * 中文分词服务实现类
  * 基于jieba-analysis实现中文分词功能
  * 采用单例模式和懒加载优化性能
+ * 分词结果按规范化文本缓存（热词统计、错配分析等会反复对相同查询分词），
+ * 词元经有界字典复用同一实例；批量分词超过阈值时在专用线程池中并行处理
  *
  * @author system
  * @since 1.0.0
@@ -23,24 +41,116 @@ import java.util.stream.Collectors;
 @Service
 public class ChineseSegmentationServiceImpl implements ChineseSegmentationService {
 
+    private static final String[] NO_TOKENS = new String[0];
+
     private JiebaSegmenter segmenter;
     private volatile boolean serviceAvailable = false;
     private static final String JIEBA_VERSION = "1.0.2";
 
+    /**
+     * 分词结果缓存最大条数
+     */
+    @Value("${segmentation.cache.max-size:20000}")
+    private long cacheMaxSize = 20000;
+
+    /**
+     * 参与缓存的最大文本长度，更长的文本（多为正文而非查询）直接分词
+     */
+    @Value("${segmentation.cache.max-text-length:256}")
+    private int cacheMaxTextLength = 256;
+
+    /**
+     * 词元字典最大条数
+     */
+    @Value("${segmentation.token-dictionary.max-size:100000}")
+    private long dictionaryMaxSize = 100000;
+
+    /**
+     * 批量分词达到该条数时并行处理
+     */
+    @Value("${segmentation.parallel.threshold:64}")
+    private int parallelThreshold = 64;
+
+    /**
+     * 并行分词线程数，0表示使用CPU核数
+     */
+    @Value("${segmentation.parallel.parallelism:0}")
+    private int parallelism = 0;
+
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, String[]> segmentCache;
+    private Cache<String, String> tokenDictionary;
+    private ForkJoinPool segmentationPool;
+    private Timer batchTimer;
+
+    private final LongAdder segmentedTexts = new LongAdder();
+    private final LongAdder producedTokens = new LongAdder();
+    private final LongAdder segmentNanos = new LongAdder();
+
+    public ChineseSegmentationServiceImpl() {
+    }
+
+    @Autowired
+    public ChineseSegmentationServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @PostConstruct
     public void init() {
         try {
             log.info("Initializing Chinese segmentation service...");
             // 使用搜索引擎模式，适合搜索引擎建立倒排索引的分词
             this.segmenter = new JiebaSegmenter();
+            this.segmentCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .recordStats()
+                    .build();
+            this.tokenDictionary = Caffeine.newBuilder()
+                    .maximumSize(dictionaryMaxSize)
+                    .build();
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            this.segmentationPool = new ForkJoinPool(threads);
+            registerMetrics();
             this.serviceAvailable = true;
-            log.info("Chinese segmentation service initialized successfully");
+            log.info("Chinese segmentation service initialized successfully: cacheMaxSize={}, dictionaryMaxSize={}, parallelism={}",
+                    cacheMaxSize, dictionaryMaxSize, threads);
         } catch (Exception e) {
             log.error("Failed to initialize Chinese segmentation service", e);
             this.serviceAvailable = false;
         }
     }
 
+    @PreDestroy
+    public void destroy() {
+        if (segmentationPool != null) {
+            segmentationPool.shutdown();
+        }
+    }
+
+    private void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, segmentCache, "segmentation");
+        FunctionCounter.builder("segmentation.texts", segmentedTexts, LongAdder::sum)
+                .description("实际调用分词器处理的文本数（不含缓存命中）")
+                .register(meterRegistry);
+        FunctionCounter.builder("segmentation.tokens", producedTokens, LongAdder::sum)
+                .description("分词器产出的词元数")
+                .register(meterRegistry);
+        FunctionCounter.builder("segmentation.time", segmentNanos, adder -> adder.sum() / 1_000_000_000.0)
+                .description("分词器累计耗时（秒）")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("segmentation.token.dictionary.size", tokenDictionary, Cache::estimatedSize)
+                .description("词元字典大小")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("segmentation.batch.latency")
+                .description("批量分词耗时")
+                .register(meterRegistry);
+    }
+
     @Override
     public List<String> segmentText(String text) {
         // 参数验证
@@ -55,14 +165,11 @@ public class ChineseSegmentationServiceImpl implements ChineseSegmentationServic
         }
 
         try {
-            // 使用搜索引擎模式进行分词
-            List<String> segments = segmenter.sentenceProcess(text.trim());
-
-            // 过滤空白和单字符结果（可选）
-            return segments.stream()
-                    .filter(segment -> segment != null && segment.trim().length() > 0)
-                    .map(String::trim)
-                    .collect(Collectors.toList());
+            String normalized = normalize(text);
+            String[] tokens = normalized.length() <= cacheMaxTextLength
+                    ? segmentCache.get(normalized, this::segment)
+                    : segment(normalized);
+            return Collections.unmodifiableList(Arrays.asList(tokens));
 
         } catch (Exception e) {
             log.error("Error during text segmentation for text: {}", text, e);
@@ -76,13 +183,99 @@ public class ChineseSegmentationServiceImpl implements ChineseSegmentationServic
             return Collections.emptyList();
         }
 
-        List<List<String>> results = new ArrayList<>();
+        long startTime = System.nanoTime();
+        List<List<String>> results;
+        if (texts.size() < parallelThreshold || segmentationPool == null) {
+            results = new ArrayList<>(texts.size());
+            for (String text : texts) {
+                results.add(segmentText(text));
+            }
+        } else {
+            results = segmentInParallel(texts);
+        }
+
+        if (batchTimer != null) {
+            batchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+        return results;
+    }
+
+    /**
+     * 在专用线程池中并行分词，不占用公共ForkJoinPool；结果顺序与输入一致
+     */
+    private List<List<String>> segmentInParallel(List<String> texts) {
+        try {
+            return segmentationPool.submit(() -> texts.parallelStream()
+                    .map(this::segmentText)
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Parallel segmentation interrupted, falling back to serial segmentation");
+        } catch (ExecutionException e) {
+            log.error("Parallel segmentation failed, falling back to serial segmentation", e.getCause());
+        }
+
+        List<List<String>> results = new ArrayList<>(texts.size());
         for (String text : texts) {
             results.add(segmentText(text));
         }
         return results;
     }
 
+    /**
+     * 调用jieba分词，过滤空白结果，词元经字典复用
+     */
+    private String[] segment(String text) {
+        long startTime = System.nanoTime();
+        // 使用搜索引擎模式进行分词
+        List<String> segments = segmenter.sentenceProcess(text);
+
+        // 过滤空白和单字符结果（可选）
+        List<String> tokens = new ArrayList<>(segments.size());
+        for (String segment : segments) {
+            if (segment == null) {
+                continue;
+            }
+            String token = segment.trim();
+            if (!token.isEmpty()) {
+                tokens.add(tokenDictionary.get(token, k -> k));
+            }
+        }
+
+        segmentedTexts.increment();
+        producedTokens.add(tokens.size());
+        segmentNanos.add(System.nanoTime() - startTime);
+        return tokens.isEmpty() ? NO_TOKENS : tokens.toArray(NO_TOKENS);
+    }
+
+    /**
+     * 规范化文本作为缓存键：去除首尾空白、合并连续空白
+     * 空白本身会在分词后被过滤，规范化不改变分词结果
+     */
+    static String normalize(String text) {
+        String trimmed = text.trim();
+        StringBuilder builder = null;
+        boolean previousWhitespace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            boolean whitespace = Character.isWhitespace(c);
+            if (whitespace && (previousWhitespace || c != ' ')) {
+                if (builder == null) {
+                    builder = new StringBuilder(trimmed.length());
+                    builder.append(trimmed, 0, i);
+                }
+                if (!previousWhitespace) {
+                    builder.append(' ');
+                }
+            } else if (builder != null) {
+                builder.append(c);
+            }
+            previousWhitespace = whitespace;
+        }
+        return builder == null ? trimmed : builder.toString();
+    }
+
     @Override
     public boolean isServiceAvailable() {
         return serviceAvailable && segmenter != null;
@@ -92,4 +285,37 @@ public class ChineseSegmentationServiceImpl implements ChineseSegmentationServic
     public String getSegmenterVersion() {
         return "jieba-analysis-" + JIEBA_VERSION;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取分词指标摘要
+     *
+     * @return 指标摘要
+     */
+    public MetricsSummary getMetricsSummary() {
+        MetricsSummary summary = new MetricsSummary();
+        long texts = segmentedTexts.sum();
+        long nanos = segmentNanos.sum();
+        summary.setSegmentedTexts(texts);
+        summary.setProducedTokens(producedTokens.sum());
+        summary.setTextsPerSecond(nanos == 0 ? 0.0 : texts * 1_000_000_000.0 / nanos);
+        if (segmentCache != null) {
+            summary.setCacheSize(segmentCache.estimatedSize());
+            summary.setCacheHitRate(segmentCache.stats().hitRate());
+            summary.setDictionarySize(tokenDictionary.estimatedSize());
+        }
+        return summary;
+    }
+
+    /**
+     * 分词指标摘要
+     */
+    @Data
+    public static class MetricsSummary {
+        private long segmentedTexts;
+        private long producedTokens;
+        private double textsPerSecond;
+        private long cacheSize;
+        private double cacheHitRate;
+        private long dictionarySize;
+    }
+}
@@ -2,6 +2,7 @@ package com.ynet.mgmt.searchlog.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ynet.mgmt.common.exception.BusinessException;
+import com.ynet.mgmt.hotTopic.service.HotTopicTrendingService;
 import com.ynet.mgmt.searchlog.dto.*;
 import com.ynet.mgmt.searchlog.entity.SearchClickLog;
 import com.ynet.mgmt.searchlog.entity.SearchLog;
@@ -9,6 +10,7 @@ import com.ynet.mgmt.searchlog.entity.SearchLogStatus;
 import com.ynet.mgmt.searchlog.repository.SearchClickLogRepository;
 import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
 import com.ynet.mgmt.searchlog.service.ChineseSegmentationService;
+import com.ynet.mgmt.searchlog.service.SearchClickIngestionService;
 import com.ynet.mgmt.searchlog.service.SearchLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +41,8 @@ public class SearchLogServiceImpl implements SearchLogService {
 
     private final SearchLogRepository searchLogRepository;
     private final SearchClickLogRepository searchClickLogRepository;
+    private final SearchClickIngestionService clickIngestionService;
+    private final HotTopicTrendingService trendingService;
     private final ChineseSegmentationService segmentationService;
     private final ObjectMapper objectMapper;
 
@@ -53,8 +57,15 @@ public class SearchLogServiceImpl implements SearchLogService {
                 searchLog.setTotalTimeMs(0L);
             }
 
+            boolean isNew = searchLog.getId() == null;
+
             // 保存日志
             SearchLog saved = searchLogRepository.save(searchLog);
+
+            // 成功的搜索计入热门话题实时趋势
+            if (isNew && saved.getStatus() == SearchLogStatus.SUCCESS) {
+                trendingService.record(saved.getSearchSpaceId(), saved.getSearchQuery());
+            }
             log.debug("保存搜索日志成功: id={}, userId={}, query={}",
                     saved.getId(), saved.getUserId(), saved.getSearchQuery());
 
@@ -141,41 +152,21 @@ public class SearchLogServiceImpl implements SearchLogService {
     @Override
     public void recordClickAction(SearchClickRequest request) {
         try {
-            // 验证搜索日志是否存在
-            SearchLog searchLog = searchLogRepository.findById(request.getSearchLogId())
-                    .orElseThrow(() -> new EntityNotFoundException("搜索日志不存在: " + request.getSearchLogId()));
-
-            // 创建点击记录
-            SearchClickLog clickLog = new SearchClickLog();
-            clickLog.setSearchLog(searchLog);
-            clickLog.setDocumentId(request.getDocumentId());
-            clickLog.setDocumentTitle(request.getDocumentTitle());
-            clickLog.setClickPosition(request.getClickPosition());
-            clickLog.setClickTime(LocalDateTime.now());
-
-            // 设置用户信息
-            if (request.getUserId() != null) {
-                try {
-                    clickLog.setUserId(Long.valueOf(request.getUserId()));
-                } catch (NumberFormatException e) {
-                    log.debug("用户ID格式错误: {}", request.getUserId());
-                }
+            // 存在性校验、点击顺序分配在内存中完成，点击记录由后台批量写入
+            if (!clickIngestionService.ingest(request)) {
+                throw new BusinessException(SearchLogService.CLICK_BUFFER_FULL, "点击事件缓冲区已满，请稍后重试");
             }
-            clickLog.setIpAddress(request.getUserIp());
-
-            // 自动计算点击顺序
-            int clickSequence = (int) (searchClickLogRepository.countBySearchLogId(searchLog.getId()) + 1);
-            clickLog.setClickSequence(clickSequence);
-
-            // 保存点击记录
-            searchClickLogRepository.save(clickLog);
-
-            log.debug("记录点击行为成功: searchLogId={}, documentId={}, position={}",
+            log.debug("点击行为已接收: searchLogId={}, documentId={}, position={}",
                     request.getSearchLogId(), request.getDocumentId(), request.getClickPosition());
 
+        } catch (BusinessException e) {
+            throw e;
         } catch (EntityNotFoundException e) {
             log.warn("记录点击行为失败 - 搜索日志不存在: {}", request.getSearchLogId());
             throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("记录点击行为参数错误: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("记录点击行为失败: request={}", request, e);
             throw new BusinessException("SEARCH_CLICK_RECORD_ERROR", "记录点击行为失败: " + e.getMessage());
@@ -0,0 +1,212 @@
+package com.ynet.mgmt.searchspace.controller;
+
+import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.service.DataImportService;
+import com.ynet.mgmt.jsonimport.service.ImportJobService;
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadInitRequest;
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadStatus;
+import com.ynet.mgmt.searchspace.dto.FileValidationResult;
+import com.ynet.mgmt.searchspace.dto.ImportSyncResponse;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.exception.UploadOffsetMismatchException;
+import com.ynet.mgmt.searchspace.service.ChunkedUploadService;
+import com.ynet.mgmt.searchspace.service.FileStorageService;
+import com.ynet.mgmt.searchspace.service.FileValidationService;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * 分片上传控制器
+ * 大文件按顺序分片上传，连接中断后查询已接收字节数续传，上传完成后按文件路径流式导入
+ *
+ * 使用流程：
+ * 1. POST /search-spaces/{id}/uploads 创建上传，获得 uploadId
+ * 2. PUT /search-spaces/{id}/uploads/{uploadId}?offset=N 以原始请求体上传分片，offset 为已接收字节数
+ * 3. 中断后 GET /search-spaces/{id}/uploads/{uploadId} 查询 receivedSize，从该位置继续上传
+ * 4. POST /search-spaces/{id}/uploads/{uploadId}/import-sync 校验并同步导入，
+ *    或 POST /search-spaces/{id}/uploads/{uploadId}/import 校验后提交导入任务，在 /search-spaces/{id}/import-jobs 查询进度
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Tag(name = "搜索空间分片上传", description = "大文件可续传分片上传与导入API")
+@RestController
+@RequestMapping("/search-spaces/{id}/uploads")
+public class ChunkedUploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadController.class);
+
+    private final SearchSpaceService searchSpaceService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final FileValidationService fileValidationService;
+    private final FileStorageService fileStorageService;
+    private final DataImportService dataImportService;
+    private final ImportJobService importJobService;
+
+    public ChunkedUploadController(SearchSpaceService searchSpaceService,
+                                   ChunkedUploadService chunkedUploadService,
+                                   FileValidationService fileValidationService,
+                                   FileStorageService fileStorageService,
+                                   DataImportService dataImportService,
+                                   ImportJobService importJobService) {
+        this.searchSpaceService = searchSpaceService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.fileValidationService = fileValidationService;
+        this.fileStorageService = fileStorageService;
+        this.dataImportService = dataImportService;
+        this.importJobService = importJobService;
+    }
+
+    @Operation(summary = "创建分片上传", description = "声明文件名和总大小，返回上传ID")
+    @PostMapping
+    public ResponseEntity<ApiResponse<ChunkedUploadStatus>> initUpload(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Valid @RequestBody ChunkedUploadInitRequest request) {
+
+        searchSpaceService.getSearchSpace(id);
+        ChunkedUploadStatus status = chunkedUploadService.initUpload(id, request.getFileName(), request.getTotalSize());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.created(status));
+    }
+
+    @Operation(summary = "上传分片", description = "请求体为分片原始字节，offset必须等于已接收字节数；偏移量不一致时返回409及当前状态")
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatus>> uploadChunk(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "上传ID", required = true) @PathVariable String uploadId,
+            @Parameter(description = "分片起始偏移量", required = true) @RequestParam("offset") long offset,
+            HttpServletRequest request) throws IOException {
+
+        try (InputStream inputStream = request.getInputStream()) {
+            ChunkedUploadStatus status = chunkedUploadService.appendChunk(id, uploadId, offset, inputStream);
+            return ResponseEntity.ok(ApiResponse.success(status));
+        } catch (UploadOffsetMismatchException e) {
+            logger.warn("分片偏移量不一致: uploadId={}, {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage(), e.getUploadStatus(), "409"));
+        }
+    }
+
+    @Operation(summary = "查询上传状态", description = "返回已接收字节数，用于断点续传")
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatus>> getUploadStatus(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "上传ID", required = true) @PathVariable String uploadId) {
+
+        return ResponseEntity.ok(ApiResponse.success(chunkedUploadService.getStatus(id, uploadId)));
+    }
+
+    @Operation(summary = "取消上传", description = "删除已接收的数据")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abortUpload(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "上传ID", required = true) @PathVariable String uploadId) {
+
+        if (!chunkedUploadService.abortUpload(id, uploadId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.notFound("上传任务不存在: " + uploadId));
+        }
+        return ResponseEntity.ok(ApiResponse.deleted());
+    }
+
+    @Operation(summary = "完成上传并同步导入", description = "校验已接收的完整文件并同步导入到搜索空间索引")
+    @PostMapping("/{uploadId}/import-sync")
+    public ResponseEntity<ApiResponse<ImportSyncResponse>> importUploadSync(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "上传ID", required = true) @PathVariable String uploadId,
+            @Parameter(description = "导入模式：APPEND(追加) 或 REPLACE(替换)")
+            @RequestParam(value = "mode", defaultValue = "APPEND") String mode,
+            @Parameter(description = "批处理大小")
+            @RequestParam(value = "batchSize", defaultValue = "1000") Integer batchSize,
+            @Parameter(description = "错误处理：STOP_ON_ERROR 或 SKIP_ERROR")
+            @RequestParam(value = "errorHandling", defaultValue = "SKIP_ERROR") String errorHandling) {
+
+        LocalDateTime startTime = LocalDateTime.now();
+        SearchSpaceDTO searchSpace = searchSpaceService.getSearchSpace(id);
+        Path uploadedFile = chunkedUploadService.completeUpload(id, uploadId);
+
+        FileValidationResult validationResult = fileValidationService.validateStoredJsonFile(uploadedFile);
+        if (!validationResult.isValid()) {
+            logger.warn("分片上传文件验证失败: searchSpaceId={}, uploadId={}, error={}",
+                    id, uploadId, validationResult.getErrorMessage());
+            fileStorageService.deleteTemporaryFile(uploadedFile);
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(validationResult.getErrorMessage()));
+        }
+
+        logger.info("开始导入分片上传文件: searchSpaceId={}, uploadId={}, recordCount={}, fileSize={}",
+                id, uploadId, validationResult.getRecordCount(), validationResult.getFileSize());
+
+        ImportSyncResponse response;
+        try {
+            ImportTaskStatus taskStatus = dataImportService.executeImportFromFile(
+                    searchSpace.getId(), uploadedFile, mode, batchSize, errorHandling);
+            response = SearchSpaceController.convertTaskStatusToSyncResponse(taskStatus, startTime);
+        } catch (Exception e) {
+            logger.error("分片上传文件导入失败: searchSpaceId={}, uploadId={}", id, uploadId, e);
+            response = ImportSyncResponse.failure("导入失败: " + e.getMessage());
+        }
+
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(ApiResponse.success("导入完成", response));
+        }
+        return ResponseEntity.badRequest().body(ApiResponse.badRequest(response.getMessage()));
+    }
+
+    @Operation(summary = "完成上传并提交导入任务", description = "校验已接收的完整文件后提交持久化导入任务，立即返回任务ID")
+    @PostMapping("/{uploadId}/import")
+    public ResponseEntity<ApiResponse<ImportTaskStatus>> importUpload(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "上传ID", required = true) @PathVariable String uploadId,
+            @Parameter(description = "导入模式：APPEND(追加) 或 REPLACE(替换)")
+            @RequestParam(value = "mode", defaultValue = "APPEND") String mode,
+            @Parameter(description = "批处理大小")
+            @RequestParam(value = "batchSize", defaultValue = "1000") Integer batchSize,
+            @Parameter(description = "错误处理：STOP_ON_ERROR 或 SKIP_ERROR")
+            @RequestParam(value = "errorHandling", defaultValue = "SKIP_ERROR") String errorHandling,
+            @Parameter(description = "导入完成后是否优化索引")
+            @RequestParam(value = "enableIndexOptimization", defaultValue = "false") Boolean enableIndexOptimization)
+            throws IOException {
+
+        searchSpaceService.getSearchSpace(id);
+
+        ImportExecuteRequest request;
+        try {
+            request = ImportJobController.buildRequest(mode, batchSize, errorHandling, enableIndexOptimization);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+
+        ChunkedUploadStatus uploadStatus = chunkedUploadService.getStatus(id, uploadId);
+        Path uploadedFile = chunkedUploadService.completeUpload(id, uploadId);
+
+        FileValidationResult validationResult = fileValidationService.validateStoredJsonFile(uploadedFile);
+        if (!validationResult.isValid()) {
+            logger.warn("分片上传文件验证失败: searchSpaceId={}, uploadId={}, error={}",
+                    id, uploadId, validationResult.getErrorMessage());
+            fileStorageService.deleteTemporaryFile(uploadedFile);
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(validationResult.getErrorMessage()));
+        }
+
+        try {
+            ImportTaskStatus status = importJobService.submit(id, uploadedFile, uploadStatus.getFileName(), request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("导入任务已提交", status));
+        } catch (IOException | RuntimeException e) {
+            fileStorageService.deleteTemporaryFile(uploadedFile);
+            throw e;
+        }
+    }
+}
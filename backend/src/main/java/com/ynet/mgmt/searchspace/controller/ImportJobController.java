@@ -0,0 +1,171 @@
+package com.ynet.mgmt.searchspace.controller;
+
+import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.service.DataImportService;
+import com.ynet.mgmt.jsonimport.service.ImportJobService;
+import com.ynet.mgmt.searchspace.dto.FileValidationResult;
+import com.ynet.mgmt.searchspace.service.FileStorageService;
+import com.ynet.mgmt.searchspace.service.FileValidationService;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * 导入任务控制器
+ * 提交异步导入任务并查询进度。任务持久化在数据库中，由集群中任一节点执行，
+ * 查询和取消可以发往任一节点
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Tag(name = "搜索空间导入任务", description = "持久化异步导入任务API")
+@RestController
+@RequestMapping("/search-spaces/{id}/import-jobs")
+public class ImportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobController.class);
+
+    private static final int MAX_LIST_SIZE = 100;
+
+    private final SearchSpaceService searchSpaceService;
+    private final FileValidationService fileValidationService;
+    private final FileStorageService fileStorageService;
+    private final ImportJobService importJobService;
+    private final DataImportService dataImportService;
+
+    public ImportJobController(SearchSpaceService searchSpaceService,
+                               FileValidationService fileValidationService,
+                               FileStorageService fileStorageService,
+                               ImportJobService importJobService,
+                               DataImportService dataImportService) {
+        this.searchSpaceService = searchSpaceService;
+        this.fileValidationService = fileValidationService;
+        this.fileStorageService = fileStorageService;
+        this.importJobService = importJobService;
+        this.dataImportService = dataImportService;
+    }
+
+    @Operation(summary = "提交导入任务", description = "校验并保存JSON文件后立即返回任务ID，导入在后台执行，中断后从检查点继续")
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImportTaskStatus>> submitImportJob(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "JSON文件", required = true) @RequestParam("file") MultipartFile file,
+            @Parameter(description = "导入模式：APPEND(追加) 或 REPLACE(替换)")
+            @RequestParam(value = "mode", defaultValue = "APPEND") String mode,
+            @Parameter(description = "批处理大小")
+            @RequestParam(value = "batchSize", defaultValue = "1000") Integer batchSize,
+            @Parameter(description = "错误处理：STOP_ON_ERROR 或 SKIP_ERROR")
+            @RequestParam(value = "errorHandling", defaultValue = "SKIP_ERROR") String errorHandling,
+            @Parameter(description = "导入完成后是否优化索引")
+            @RequestParam(value = "enableIndexOptimization", defaultValue = "false") Boolean enableIndexOptimization)
+            throws IOException {
+
+        searchSpaceService.getSearchSpace(id);
+
+        ImportExecuteRequest request;
+        try {
+            request = buildRequest(mode, batchSize, errorHandling, enableIndexOptimization);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(e.getMessage()));
+        }
+
+        FileValidationResult validationResult = fileValidationService.validateJsonFile(file);
+        if (!validationResult.isValid()) {
+            logger.warn("导入任务文件验证失败: searchSpaceId={}, fileName={}, error={}",
+                    id, file.getOriginalFilename(), validationResult.getErrorMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(validationResult.getErrorMessage()));
+        }
+
+        Path uploadedFile = fileStorageService.saveToTemporaryFile(file, "upload-" + UUID.randomUUID() + ".json");
+        try {
+            ImportTaskStatus status = importJobService.submit(id, uploadedFile, file.getOriginalFilename(), request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("导入任务已提交", status));
+        } catch (IOException | RuntimeException e) {
+            fileStorageService.deleteTemporaryFile(uploadedFile);
+            throw e;
+        }
+    }
+
+    @Operation(summary = "查询搜索空间的导入任务", description = "按提交时间倒序返回最近的导入任务")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ImportTaskStatus>>> listImportJobs(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "返回数量") @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        int size = Math.max(1, Math.min(limit, MAX_LIST_SIZE));
+        return ResponseEntity.ok(ApiResponse.success(importJobService.listJobs(id, size)));
+    }
+
+    @Operation(summary = "查询导入任务进度", description = "返回任务状态和检查点进度；同步导入任务只能在执行节点查询")
+    @GetMapping("/{taskId}")
+    public ResponseEntity<ApiResponse<ImportTaskStatus>> getImportJob(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "任务ID", required = true) @PathVariable String taskId) {
+
+        ImportTaskStatus status = importJobService.getStatus(taskId);
+        if (status == null) {
+            status = dataImportService.getImportStatus(taskId);
+        }
+        if (status == null || !id.equals(status.getSearchSpaceId())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.notFound("导入任务不存在: " + taskId));
+        }
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+
+    @Operation(summary = "取消导入任务", description = "等待中的任务立即结束，执行中的任务在当前批次完成后停止")
+    @DeleteMapping("/{taskId}")
+    public ResponseEntity<ApiResponse<ImportTaskStatus>> cancelImportJob(
+            @Parameter(description = "搜索空间ID", required = true) @PathVariable Long id,
+            @Parameter(description = "任务ID", required = true) @PathVariable String taskId) {
+
+        ImportTaskStatus status = importJobService.getStatus(taskId);
+        if (status == null || !id.equals(status.getSearchSpaceId())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.notFound("导入任务不存在: " + taskId));
+        }
+        if (!importJobService.cancel(taskId)) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest("任务已结束，不能取消: " + status.getState()));
+        }
+        return ResponseEntity.ok(ApiResponse.success("任务已取消", importJobService.getStatus(taskId)));
+    }
+
+    /**
+     * 解析导入参数
+     *
+     * @throws IllegalArgumentException 参数取值不合法
+     */
+    static ImportExecuteRequest buildRequest(String mode, Integer batchSize, String errorHandling,
+                                             Boolean enableIndexOptimization) {
+        if (batchSize == null || batchSize < 100 || batchSize > 5000) {
+            throw new IllegalArgumentException("批处理大小必须在100-5000之间");
+        }
+        ImportExecuteRequest.ImportMode importMode;
+        ImportExecuteRequest.ErrorHandlingStrategy strategy;
+        try {
+            importMode = ImportExecuteRequest.ImportMode.valueOf(mode.toUpperCase(Locale.ROOT));
+            strategy = ImportExecuteRequest.ErrorHandlingStrategy.valueOf(errorHandling.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("导入模式或错误处理策略不合法: mode=" + mode + ", errorHandling=" + errorHandling);
+        }
+        return ImportExecuteRequest.builder()
+                .mode(importMode)
+                .batchSize(batchSize)
+                .errorHandling(strategy)
+                .enableIndexOptimization(enableIndexOptimization)
+                .build();
+    }
+}
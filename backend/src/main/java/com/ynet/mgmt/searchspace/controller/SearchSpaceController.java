@@ -362,10 +362,10 @@ public class SearchSpaceController {
                         .body(com.ynet.mgmt.common.dto.ApiResponse.badRequest(validationResult.getErrorMessage()));
             }
 
-            // 3. 解析JSON文件内容
-            String jsonContent;
+            // 3. 将上传文件流式写入临时文件，导入时按记录流式读取
+            Path uploadedFile;
             try {
-                jsonContent = new String(file.getBytes(), "UTF-8");
+                uploadedFile = fileStorageService.saveToTemporaryFile(file, "upload-" + UUID.randomUUID() + ".json");
             } catch (IOException e) {
                 logger.error("读取文件内容失败: searchSpaceId={}, fileName={}", id, file.getOriginalFilename(), e);
                 return ResponseEntity.badRequest()
@@ -374,7 +374,7 @@ public class SearchSpaceController {
 
             // 4. 同步执行导入处理
             ImportSyncResponse response = performSyncImport(
-                    searchSpace, jsonContent, validationResult, mode, batchSize, errorHandling, startTime);
+                    searchSpace, uploadedFile, validationResult, mode, batchSize, errorHandling, startTime);
 
             long duration = System.currentTimeMillis() - startTimeMs;
             logger.info("同步JSON导入完成: searchSpaceId={}, fileName={}, duration={}ms, success={}, imported={}, errors={}", 
@@ -414,7 +414,7 @@ public class SearchSpaceController {
      */
     private ImportSyncResponse performSyncImport(
             SearchSpaceDTO searchSpace, 
-            String jsonContent, 
+            Path jsonFile, 
             FileValidationResult validationResult,
             String mode,
             Integer batchSize, 
@@ -425,9 +425,9 @@ public class SearchSpaceController {
             logger.info("开始执行DataImportService同步导入: searchSpace={}, mode={}", searchSpace.getCode(), mode);
             
             // 调用DataImportService的同步导入方法
-            ImportTaskStatus taskStatus = dataImportService.executeImportFromJsonContent(
+            ImportTaskStatus taskStatus = dataImportService.executeImportFromFile(
                     searchSpace.getId(), 
-                    jsonContent, 
+                    jsonFile, 
                     mode, 
                     batchSize, 
                     errorHandling
@@ -445,7 +445,7 @@ public class SearchSpaceController {
     /**
      * 将ImportTaskStatus转换为ImportSyncResponse
      */
-    private ImportSyncResponse convertTaskStatusToSyncResponse(ImportTaskStatus taskStatus, LocalDateTime startTime) {
+    static ImportSyncResponse convertTaskStatusToSyncResponse(ImportTaskStatus taskStatus, LocalDateTime startTime) {
         LocalDateTime endTime = taskStatus.getEndTime() != null ? taskStatus.getEndTime() : LocalDateTime.now();
         long processingTime = java.time.Duration.between(startTime, endTime).toMillis();
         
@@ -0,0 +1,50 @@
+package com.ynet.mgmt.searchspace.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 分片上传初始化请求
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Schema(description = "分片上传初始化请求")
+public class ChunkedUploadInitRequest {
+
+    @Schema(description = "原始文件名", example = "data.json")
+    @NotBlank(message = "文件名不能为空")
+    @Size(max = 255, message = "文件名长度不能超过255字符")
+    private String fileName;
+
+    @Schema(description = "文件总大小（字节）", example = "1073741824")
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long totalSize;
+
+    public ChunkedUploadInitRequest() {}
+
+    public ChunkedUploadInitRequest(String fileName, Long totalSize) {
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
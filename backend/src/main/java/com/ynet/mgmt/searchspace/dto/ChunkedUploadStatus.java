@@ -0,0 +1,117 @@
+package com.ynet.mgmt.searchspace.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * 分片上传状态
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Schema(description = "分片上传状态")
+public class ChunkedUploadStatus {
+
+    @Schema(description = "上传ID", example = "3f2b8c0d9e6a4b1c8d7e6f5a4b3c2d1e")
+    private String uploadId;
+
+    @Schema(description = "搜索空间ID", example = "1")
+    private Long searchSpaceId;
+
+    @Schema(description = "原始文件名", example = "data.json")
+    private String fileName;
+
+    @Schema(description = "文件总大小（字节）", example = "1073741824")
+    private Long totalSize;
+
+    @Schema(description = "已接收字节数，下一个分片应从该偏移量开始", example = "8388608")
+    private Long receivedSize;
+
+    @Schema(description = "是否已接收全部数据", example = "false")
+    private boolean complete;
+
+    @Schema(description = "创建时间", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    public ChunkedUploadStatus() {}
+
+    public ChunkedUploadStatus(String uploadId, Long searchSpaceId, String fileName, Long totalSize,
+                               Long receivedSize, LocalDateTime createdAt) {
+        this.uploadId = uploadId;
+        this.searchSpaceId = searchSpaceId;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.receivedSize = receivedSize;
+        this.complete = receivedSize != null && receivedSize.equals(totalSize);
+        this.createdAt = createdAt;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getSearchSpaceId() {
+        return searchSpaceId;
+    }
+
+    public void setSearchSpaceId(Long searchSpaceId) {
+        this.searchSpaceId = searchSpaceId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Long getReceivedSize() {
+        return receivedSize;
+    }
+
+    public void setReceivedSize(Long receivedSize) {
+        this.receivedSize = receivedSize;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedUploadStatus{" +
+                "uploadId='" + uploadId + '\'' +
+                ", searchSpaceId=" + searchSpaceId +
+                ", fileName='" + fileName + '\'' +
+                ", totalSize=" + totalSize +
+                ", receivedSize=" + receivedSize +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.ynet.mgmt.searchspace.dto;
 
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import jakarta.validation.constraints.*;
 
 /**
@@ -22,6 +23,10 @@ public class CreateSearchSpaceRequest {
     @Size(max = 500, message = "描述长度不能超过500字符")
     private String description;
 
+    /**
+     * 向量存储档位，为空时使用FLOAT
+     */
+    private VectorStorageProfile vectorStorageProfile;
 
     // 构造函数
     public CreateSearchSpaceRequest() {}
@@ -63,6 +68,14 @@ public class CreateSearchSpaceRequest {
         this.description = description;
     }
 
+    public VectorStorageProfile getVectorStorageProfile() {
+        return vectorStorageProfile;
+    }
+
+    public void setVectorStorageProfile(VectorStorageProfile vectorStorageProfile) {
+        this.vectorStorageProfile = vectorStorageProfile;
+    }
+
 
     @Override
     public String toString() {
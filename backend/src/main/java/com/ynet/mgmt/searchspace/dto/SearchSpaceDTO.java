@@ -1,6 +1,7 @@
 package com.ynet.mgmt.searchspace.dto;
 
 import com.ynet.mgmt.searchspace.entity.SearchSpaceStatus;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import com.ynet.mgmt.searchspace.model.IndexStatus;
 
 import java.time.LocalDateTime;
@@ -22,6 +23,7 @@ public class SearchSpaceDTO {
     private Long documentCount;
     private LocalDateTime lastImportTime;
     private SearchSpaceStatus status;
+    private VectorStorageProfile vectorStorageProfile;
     private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -162,6 +164,14 @@ public class SearchSpaceDTO {
         this.updatedAt = updatedAt;
     }
 
+    public VectorStorageProfile getVectorStorageProfile() {
+        return vectorStorageProfile;
+    }
+
+    public void setVectorStorageProfile(VectorStorageProfile vectorStorageProfile) {
+        this.vectorStorageProfile = vectorStorageProfile;
+    }
+
     public IndexStatus getIndexStatus() {
         return indexStatus;
     }
@@ -13,6 +13,10 @@ public class SearchSpaceStatistics {
     private long inactiveSpaces;
     private long maintenanceSpaces;
     private long deletedSpaces;
+    private long totalDocuments;
+    private long totalStoreBytes;
+    private int unhealthyIndices;
+    private int missingIndices;
 
     // 构造函数
     public SearchSpaceStatistics() {}
@@ -56,6 +60,26 @@ public class SearchSpaceStatistics {
             return this;
         }
 
+        public Builder totalDocuments(long totalDocuments) {
+            statistics.totalDocuments = totalDocuments;
+            return this;
+        }
+
+        public Builder totalStoreBytes(long totalStoreBytes) {
+            statistics.totalStoreBytes = totalStoreBytes;
+            return this;
+        }
+
+        public Builder unhealthyIndices(int unhealthyIndices) {
+            statistics.unhealthyIndices = unhealthyIndices;
+            return this;
+        }
+
+        public Builder missingIndices(int missingIndices) {
+            statistics.missingIndices = missingIndices;
+            return this;
+        }
+
         public SearchSpaceStatistics build() {
             return statistics;
         }
@@ -109,6 +133,38 @@ public class SearchSpaceStatistics {
         this.inactiveSpaces = inactiveSpaces;
     }
 
+    public long getTotalDocuments() {
+        return totalDocuments;
+    }
+
+    public void setTotalDocuments(long totalDocuments) {
+        this.totalDocuments = totalDocuments;
+    }
+
+    public long getTotalStoreBytes() {
+        return totalStoreBytes;
+    }
+
+    public void setTotalStoreBytes(long totalStoreBytes) {
+        this.totalStoreBytes = totalStoreBytes;
+    }
+
+    public int getUnhealthyIndices() {
+        return unhealthyIndices;
+    }
+
+    public void setUnhealthyIndices(int unhealthyIndices) {
+        this.unhealthyIndices = unhealthyIndices;
+    }
+
+    public int getMissingIndices() {
+        return missingIndices;
+    }
+
+    public void setMissingIndices(int missingIndices) {
+        this.missingIndices = missingIndices;
+    }
+
     @Override
     public String toString() {
         return "SearchSpaceStatistics{" +
@@ -117,6 +173,10 @@ public class SearchSpaceStatistics {
                 ", deletedSpaces=" + deletedSpaces +
                 ", activeSpaces=" + activeSpaces +
                 ", inactiveSpaces=" + inactiveSpaces +
+                ", totalDocuments=" + totalDocuments +
+                ", totalStoreBytes=" + totalStoreBytes +
+                ", unhealthyIndices=" + unhealthyIndices +
+                ", missingIndices=" + missingIndices +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ynet.mgmt.searchspace.dto;
 
 import com.ynet.mgmt.searchspace.entity.SearchSpaceStatus;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -19,6 +20,11 @@ public class UpdateSearchSpaceRequest {
 
     private SearchSpaceStatus status;
 
+    /**
+     * 向量存储档位，下次以替换模式导入（重建索引）时生效
+     */
+    private VectorStorageProfile vectorStorageProfile;
+
     // 构造函数
     public UpdateSearchSpaceRequest() {}
 
@@ -62,11 +68,20 @@ public class UpdateSearchSpaceRequest {
         this.status = status;
     }
 
+    public VectorStorageProfile getVectorStorageProfile() {
+        return vectorStorageProfile;
+    }
+
+    public void setVectorStorageProfile(VectorStorageProfile vectorStorageProfile) {
+        this.vectorStorageProfile = vectorStorageProfile;
+    }
+
     @Override
     public String toString() {
         return "UpdateSearchSpaceRequest{" +
                 "name='" + name + '\'' +
                 ", status=" + status +
+                ", vectorStorageProfile=" + vectorStorageProfile +
                 '}';
     }
 }
\ No newline at end of file
@@ -69,6 +69,14 @@ public class SearchSpace extends BaseEntity {
     @Column(name = "status", columnDefinition = "VARCHAR(20) DEFAULT 'ACTIVE'")
     private SearchSpaceStatus status = SearchSpaceStatus.ACTIVE;
 
+    /**
+     * 向量存储档位
+     * 在生成索引映射时生效，修改后需以替换模式重新导入（重建索引）才会应用到已有索引
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vector_storage_profile", columnDefinition = "VARCHAR(20) DEFAULT 'FLOAT'")
+    private VectorStorageProfile vectorStorageProfile = VectorStorageProfile.FLOAT;
+
     @Version
     private Long version;
 
@@ -239,6 +247,14 @@ public class SearchSpace extends BaseEntity {
         this.status = status;
     }
 
+    public VectorStorageProfile getVectorStorageProfile() {
+        return vectorStorageProfile != null ? vectorStorageProfile : VectorStorageProfile.FLOAT;
+    }
+
+    public void setVectorStorageProfile(VectorStorageProfile vectorStorageProfile) {
+        this.vectorStorageProfile = vectorStorageProfile;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -0,0 +1,156 @@
+package com.ynet.mgmt.searchspace.entity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 向量存储档位枚举
+ * 决定搜索空间生成索引映射时 dense_vector 字段的存储方式，
+ * 档位写入向量字段的 meta，搜索时据此决定查询向量的编码方式
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public enum VectorStorageProfile {
+    /**
+     * 全精度浮点向量 + HNSW（默认）
+     */
+    FLOAT("浮点", "全精度float向量，HNSW索引", "float", "hnsw"),
+
+    /**
+     * 浮点向量 + int8量化HNSW
+     * 原始float向量仍保存在磁盘上，ES在HNSW图中使用int8量化向量，kNN检索的堆内存约为FLOAT的1/4。
+     * 需要 Elasticsearch 8.12 及以上版本
+     */
+    INT8_HNSW("int8量化HNSW", "float向量，HNSW图使用int8量化（需ES 8.12+）", "float", "int8_hnsw"),
+
+    /**
+     * 字节向量
+     * 客户端先归一化再量化到[-127, 127]，磁盘和内存占用约为FLOAT的1/4，查询向量同样需要量化
+     */
+    BYTE("字节向量", "客户端归一化并量化为byte向量，HNSW索引", "byte", "hnsw");
+
+    /**
+     * 向量字段 meta 中记录存储档位的键
+     */
+    public static final String META_KEY = "vector_storage";
+
+    /**
+     * 字节向量的量化范围
+     */
+    private static final int BYTE_SCALE = 127;
+
+    private final String displayName;
+    private final String description;
+    private final String elementType;
+    private final String indexOptionsType;
+
+    VectorStorageProfile(String displayName, String description, String elementType, String indexOptionsType) {
+        this.displayName = displayName;
+        this.description = description;
+        this.elementType = elementType;
+        this.indexOptionsType = indexOptionsType;
+    }
+
+    /**
+     * 获取档位显示名称
+     * @return 档位的中文显示名称
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 获取档位描述
+     * @return 档位的详细描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 获取 dense_vector 的 element_type
+     * @return float 或 byte
+     */
+    public String getElementType() {
+        return elementType;
+    }
+
+    /**
+     * 获取 dense_vector 的 index_options.type
+     * @return hnsw 或 int8_hnsw
+     */
+    public String getIndexOptionsType() {
+        return indexOptionsType;
+    }
+
+    /**
+     * 是否需要在客户端量化向量（写入文档和查询时均需要）
+     * @return true if 档位为BYTE
+     */
+    public boolean isClientQuantized() {
+        return this == BYTE;
+    }
+
+    /**
+     * 将嵌入向量编码为写入ES或作为查询参数的形式
+     *
+     * @param vector 嵌入向量
+     * @return FLOAT/INT8_HNSW 返回 double[]，BYTE 返回量化后的 int[]；零向量在BYTE档位下返回null
+     */
+    public Object encode(List<Float> vector) {
+        if (isClientQuantized()) {
+            return quantize(vector);
+        }
+        double[] values = new double[vector.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = vector.get(i);
+        }
+        return values;
+    }
+
+    /**
+     * 归一化后量化为字节向量
+     * cosine 相似度与向量长度无关，先归一化到单位长度再按127缩放，使每个分量充分利用字节范围
+     *
+     * @param vector 嵌入向量
+     * @return 量化后的向量，分量取值[-127, 127]；零向量返回null（ES不接受零向量的cosine）
+     */
+    public static int[] quantize(List<Float> vector) {
+        double norm = 0.0;
+        for (Float value : vector) {
+            norm += (double) value * value;
+        }
+        if (norm == 0.0) {
+            return null;
+        }
+        double scale = BYTE_SCALE / Math.sqrt(norm);
+        int[] quantized = new int[vector.size()];
+        for (int i = 0; i < quantized.length; i++) {
+            long value = Math.round(vector.get(i) * scale);
+            quantized[i] = (int) Math.max(-BYTE_SCALE, Math.min(BYTE_SCALE, value));
+        }
+        return quantized;
+    }
+
+    /**
+     * 从向量字段的 meta 解析存储档位
+     *
+     * @param meta 字段meta，可为null
+     * @return 存储档位，未记录或无法识别时为FLOAT（档位引入前创建的索引）
+     */
+    public static VectorStorageProfile fromMeta(Map<String, String> meta) {
+        if (meta == null) {
+            return FLOAT;
+        }
+        String value = meta.get(META_KEY);
+        if (value != null) {
+            for (VectorStorageProfile profile : values()) {
+                if (profile.name().equalsIgnoreCase(value)) {
+                    return profile;
+                }
+            }
+        }
+        return FLOAT;
+    }
+}
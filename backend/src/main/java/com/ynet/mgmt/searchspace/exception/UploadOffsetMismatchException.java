@@ -0,0 +1,26 @@
+package com.ynet.mgmt.searchspace.exception;
+
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadStatus;
+
+/**
+ * 分片偏移量与已接收字节数不一致
+ * 携带当前上传状态，客户端据此从 receivedSize 处续传
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public class UploadOffsetMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ChunkedUploadStatus uploadStatus;
+
+    public UploadOffsetMismatchException(String message, ChunkedUploadStatus uploadStatus) {
+        super(message);
+        this.uploadStatus = uploadStatus;
+    }
+
+    public ChunkedUploadStatus getUploadStatus() {
+        return uploadStatus;
+    }
+}
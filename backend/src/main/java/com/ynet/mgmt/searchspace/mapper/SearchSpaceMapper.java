@@ -37,6 +37,7 @@ public class SearchSpaceMapper {
         dto.setDocumentCount(entity.getDocumentCount());
         dto.setLastImportTime(entity.getLastImportTime());
         dto.setStatus(entity.getStatus());
+        dto.setVectorStorageProfile(entity.getVectorStorageProfile());
         dto.setVersion(entity.getVersion());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
@@ -90,6 +91,9 @@ public class SearchSpaceMapper {
         entity.setName(request.getName());
         entity.setCode(request.getCode());
         entity.setDescription(request.getDescription());
+        if (request.getVectorStorageProfile() != null) {
+            entity.setVectorStorageProfile(request.getVectorStorageProfile());
+        }
         // 新字段在创建时保持默认值
         // indexMapping = null
         // documentCount = 0L (实体中已设置默认值)
@@ -118,6 +122,7 @@ public class SearchSpaceMapper {
         entity.setDocumentCount(dto.getDocumentCount());
         entity.setLastImportTime(dto.getLastImportTime());
         entity.setStatus(dto.getStatus());
+        entity.setVectorStorageProfile(dto.getVectorStorageProfile());
         entity.setVersion(dto.getVersion());
 
         return entity;
@@ -169,6 +174,7 @@ public class SearchSpaceMapper {
         target.setDocumentCount(source.getDocumentCount());
         target.setLastImportTime(source.getLastImportTime());
         target.setStatus(source.getStatus());
+        target.setVectorStorageProfile(source.getVectorStorageProfile());
         target.setVersion(source.getVersion());
 
         return target;
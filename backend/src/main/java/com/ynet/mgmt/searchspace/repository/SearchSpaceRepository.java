@@ -126,6 +126,13 @@ public interface SearchSpaceRepository extends JpaRepository<SearchSpace, Long>
      */
     long countByStatus(SearchSpaceStatus status);
 
+    /**
+     * 查询所有搜索空间代码
+     * @return 搜索空间代码列表
+     */
+    @Query("SELECT s.code FROM SearchSpace s")
+    List<String> findAllCodes();
+
 
     /**
      * 根据名称或代码模糊查询（排除指定ID）
@@ -0,0 +1,70 @@
+package com.ynet.mgmt.searchspace.service;
+
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 可续传的分片上传服务接口
+ *
+ * 大文件按顺序分片上传到导入临时目录，连接中断后客户端查询已接收字节数并从该位置续传，
+ * 全部接收后交给导入流程按文件路径流式处理
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public interface ChunkedUploadService {
+
+    /**
+     * 创建分片上传
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param fileName 原始文件名
+     * @param totalSize 文件总大小（字节）
+     * @return 上传状态
+     */
+    ChunkedUploadStatus initUpload(Long searchSpaceId, String fileName, long totalSize);
+
+    /**
+     * 查询上传状态
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param uploadId 上传ID
+     * @return 上传状态
+     */
+    ChunkedUploadStatus getStatus(Long searchSpaceId, String uploadId);
+
+    /**
+     * 追加一个分片
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param uploadId 上传ID
+     * @param offset 分片起始偏移量，必须等于已接收字节数
+     * @param data 分片数据
+     * @return 写入后的上传状态
+     * @throws IOException 写入失败（已写入的部分保留，可从新的已接收字节数续传）
+     * @throws com.ynet.mgmt.searchspace.exception.UploadOffsetMismatchException 偏移量与已接收字节数不一致
+     */
+    ChunkedUploadStatus appendChunk(Long searchSpaceId, String uploadId, long offset, InputStream data) throws IOException;
+
+    /**
+     * 完成上传，返回已接收的完整文件
+     * 调用后上传记录失效，文件由调用方负责删除
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param uploadId 上传ID
+     * @return 文件路径
+     */
+    Path completeUpload(Long searchSpaceId, String uploadId);
+
+    /**
+     * 取消上传并删除已接收的数据
+     *
+     * @param searchSpaceId 搜索空间ID
+     * @param uploadId 上传ID
+     * @return 上传是否存在
+     */
+    boolean abortUpload(Long searchSpaceId, String uploadId);
+}
@@ -3,6 +3,7 @@ package com.ynet.mgmt.searchspace.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 
 /**
@@ -23,6 +24,27 @@ public interface FileStorageService {
      */
     Path saveTemporaryFile(MultipartFile file, Long searchSpaceId) throws IOException;
 
+    /**
+     * 将上传文件流式写入临时目录下的指定文件，不在内存中缓存文件内容
+     *
+     * @param file 上传的文件
+     * @param fileName 临时目录下的文件名
+     * @return 保存的文件路径
+     * @throws IOException 文件保存异常
+     */
+    Path saveToTemporaryFile(MultipartFile file, String fileName) throws IOException;
+
+    /**
+     * 将输入流写入文件的指定位置，位置之后的原有内容被截断
+     *
+     * @param inputStream 输入流
+     * @param target 目标文件，不存在时创建
+     * @param position 写入起始位置，不能超过文件当前大小
+     * @return 写入的字节数
+     * @throws IOException 写入异常
+     */
+    long writeToFile(InputStream inputStream, Path target, long position) throws IOException;
+
     /**
      * 生成文件名
      *
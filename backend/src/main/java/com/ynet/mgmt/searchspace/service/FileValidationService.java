@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.ynet.mgmt.searchspace.dto.FileValidationResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * 文件验证服务接口
@@ -22,6 +24,23 @@ public interface FileValidationService {
      */
     FileValidationResult validateJsonFile(MultipartFile file);
 
+    /**
+     * 验证已落盘的JSON文件内容（不检查文件名、MIME类型和大小上限）
+     *
+     * @param file 文件路径
+     * @return 验证结果
+     */
+    FileValidationResult validateStoredJsonFile(Path file);
+
+    /**
+     * 流式扫描JSON数组并统计记录数量，不构建JSON树
+     *
+     * @param inputStream 输入流
+     * @return 记录数量，根节点不是数组时返回null
+     * @throws IOException 读取失败或JSON格式错误（{@link com.fasterxml.jackson.core.JsonProcessingException}）
+     */
+    Integer scanJsonArray(InputStream inputStream) throws IOException;
+
     /**
      * 解析JSON数组
      *
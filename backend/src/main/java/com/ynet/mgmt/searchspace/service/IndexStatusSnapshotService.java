@@ -0,0 +1,295 @@
+package com.ynet.mgmt.searchspace.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Bytes;
+import co.elastic.clients.elasticsearch.cat.aliases.AliasesRecord;
+import co.elastic.clients.elasticsearch.cat.indices.IndicesRecord;
+import com.ynet.mgmt.config.ElasticsearchProperties;
+import com.ynet.mgmt.searchspace.model.IndexStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 索引状态快照服务
+ * 通过一次 _cat/indices 和一次 _cat/aliases 请求获取所有索引的健康状态、文档数和存储大小，
+ * 缓存在内存中并在后台定时刷新，搜索空间列表和统计直接从快照读取，不再逐个索引访问ES
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Component
+public class IndexStatusSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexStatusSnapshotService.class);
+
+    private final ElasticsearchClient client;
+    private final long ttlMillis;
+    private final ScheduledExecutorService refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public IndexStatusSnapshotService(ElasticsearchClient client, ElasticsearchProperties properties) {
+        this.client = client;
+        ElasticsearchProperties.IndexStatusCache config = properties.getIndexStatusCache();
+        this.ttlMillis = config.getTtl().toMillis();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "index-status-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = config.getRefreshInterval().toMillis();
+        if (intervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("索引状态快照服务初始化完成: ttl={}ms, refreshInterval={}ms", ttlMillis, intervalMillis);
+    }
+
+    /**
+     * 获取单个索引（或别名）的状态
+     *
+     * @param indexName 索引名称或别名
+     * @return 索引状态，快照中不存在时返回 not_exists
+     */
+    public IndexStatus getIndexStatus(String indexName) {
+        Snapshot current = currentSnapshot();
+        if (current.error != null) {
+            return IndexStatus.builder()
+                .name(indexName)
+                .exists(false)
+                .health("error")
+                .error(current.error)
+                .build();
+        }
+
+        IndexStatus status = current.indices.get(indexName);
+        if (status == null) {
+            String target = current.aliases.get(indexName);
+            status = target != null ? current.indices.get(target) : null;
+        }
+        if (status == null) {
+            return IndexStatus.builder()
+                .name(indexName)
+                .exists(false)
+                .health("not_exists")
+                .build();
+        }
+        return status;
+    }
+
+    /**
+     * 获取快照中的全部索引状态
+     *
+     * @return 索引名称到状态的映射
+     */
+    public Map<String, IndexStatus> getAllIndexStatuses() {
+        return currentSnapshot().indices;
+    }
+
+    /**
+     * 汇总指定索引的文档数、存储大小和健康状况
+     *
+     * @param indexNames 索引名称或别名
+     * @return 汇总结果
+     */
+    public Summary summarize(Collection<String> indexNames) {
+        Summary summary = new Summary();
+        Snapshot current = currentSnapshot();
+        for (String indexName : indexNames) {
+            IndexStatus status = getIndexStatus(indexName);
+            if (!status.isExists()) {
+                summary.missingIndices++;
+                continue;
+            }
+            summary.totalDocuments += status.getDocsCount();
+            summary.totalStoreBytes += current.storeBytes.getOrDefault(status.getName(), 0L);
+            if (!"green".equals(status.getHealth())) {
+                summary.unhealthyIndices++;
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * 使快照失效（索引创建、删除后调用），下次读取时同步刷新
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * 同步刷新快照
+     */
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, IndexStatus> indices = new HashMap<>();
+            Map<String, Long> storeBytes = new HashMap<>();
+            for (IndicesRecord record : client.cat().indices(r -> r.bytes(Bytes.Bytes)).valueBody()) {
+                if (record.index() == null) {
+                    continue;
+                }
+                long bytes = parseLong(record.storeSize());
+                indices.put(record.index(), IndexStatus.builder()
+                    .name(record.index())
+                    .exists(true)
+                    .health(record.health() != null ? record.health() : "unknown")
+                    .docsCount(parseLong(record.docsCount()))
+                    .storeSize(formatBytes(bytes))
+                    .primaryShards(parseInteger(record.pri()))
+                    .replicas(parseInteger(record.rep()))
+                    .build());
+                storeBytes.put(record.index(), bytes);
+            }
+
+            Map<String, String> aliases = new HashMap<>();
+            for (AliasesRecord record : client.cat().aliases().valueBody()) {
+                if (record.alias() != null && record.index() != null) {
+                    aliases.putIfAbsent(record.alias(), record.index());
+                }
+            }
+
+            snapshot = new Snapshot(indices, aliases, storeBytes, null, System.currentTimeMillis());
+            log.debug("索引状态快照已刷新: indices={}, aliases={}, took={}ms",
+                    indices.size(), aliases.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("刷新索引状态快照失败: {}", e.getMessage());
+            Snapshot previous = snapshot;
+            if (previous == null || previous.error != null) {
+                // 没有可用的旧快照时记录错误，避免每次读取都同步请求ES
+                snapshot = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                        e.getMessage(), System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * 读取当前快照：没有快照时同步刷新，过期时触发后台刷新并先返回旧快照
+     */
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    refresh();
+                    current = snapshot;
+                }
+            }
+            return current;
+        }
+        if (System.currentTimeMillis() - current.fetchedAt > ttlMillis && refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    private void refreshQuietly() {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "b";
+        }
+        String[] units = {"kb", "mb", "gb", "tb"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f%s", value, units[unit]);
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value.trim()) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static Integer parseInteger(String value) {
+        try {
+            return value != null ? Integer.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 不可变的索引状态快照
+     */
+    private static final class Snapshot {
+        private final Map<String, IndexStatus> indices;
+        private final Map<String, String> aliases;
+        private final Map<String, Long> storeBytes;
+        private final String error;
+        private final long fetchedAt;
+
+        private Snapshot(Map<String, IndexStatus> indices, Map<String, String> aliases,
+                         Map<String, Long> storeBytes, String error, long fetchedAt) {
+            this.indices = Collections.unmodifiableMap(indices);
+            this.aliases = aliases;
+            this.storeBytes = storeBytes;
+            this.error = error;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * 索引汇总信息
+     */
+    public static class Summary {
+        private long totalDocuments;
+        private long totalStoreBytes;
+        private int unhealthyIndices;
+        private int missingIndices;
+
+        public long getTotalDocuments() {
+            return totalDocuments;
+        }
+
+        public long getTotalStoreBytes() {
+            return totalStoreBytes;
+        }
+
+        public int getUnhealthyIndices() {
+            return unhealthyIndices;
+        }
+
+        public int getMissingIndices() {
+            return missingIndices;
+        }
+    }
+}
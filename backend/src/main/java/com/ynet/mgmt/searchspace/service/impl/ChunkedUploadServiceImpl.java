@@ -0,0 +1,279 @@
+package com.ynet.mgmt.searchspace.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadStatus;
+import com.ynet.mgmt.searchspace.exception.UploadOffsetMismatchException;
+import com.ynet.mgmt.searchspace.service.ChunkedUploadService;
+import com.ynet.mgmt.searchspace.service.FileStorageService;
+import com.ynet.mgmt.searchspace.service.FileValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 可续传的分片上传服务实现
+ *
+ * 每个上传在导入临时目录下对应两个文件：
+ * 1. chunked-{uploadId}.part：已接收的数据，文件大小即已接收字节数，分片通过 FileChannel.transferFrom 直接写入
+ * 2. chunked-{uploadId}.meta.json：搜索空间、文件名、总大小等元数据，服务重启后上传仍可续传
+ *
+ * 分片必须按顺序追加，同一上传的分片写入互斥；长期未活动的上传文件由临时文件过期清理删除
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    private static final String FILE_PREFIX = "chunked-";
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("^[0-9a-f]{32}$");
+
+    private final FileStorageService fileStorageService;
+    private final FileValidationService fileValidationService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 上传ID -> 写入锁
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    @Value("${app.import.chunked-upload.max-file-size:1073741824}")
+    private long maxFileSize = 1073741824L;
+
+    public ChunkedUploadServiceImpl(FileStorageService fileStorageService,
+                                    FileValidationService fileValidationService,
+                                    ObjectMapper objectMapper) {
+        this.fileStorageService = fileStorageService;
+        this.fileValidationService = fileValidationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ChunkedUploadStatus initUpload(Long searchSpaceId, String fileName, long totalSize) {
+        if (searchSpaceId == null) {
+            throw new IllegalArgumentException("搜索空间ID不能为空");
+        }
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new IllegalArgumentException("文件大小不能超过 " + (maxFileSize / 1024 / 1024) + "MB");
+        }
+        if (!fileValidationService.validateFileExtension(fileName)) {
+            throw new IllegalArgumentException("只支持JSON文件格式");
+        }
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        UploadMeta meta = new UploadMeta(searchSpaceId, fileName, totalSize, System.currentTimeMillis());
+        try {
+            objectMapper.writeValue(metaPath(uploadId).toFile(), meta);
+            Files.createFile(partPath(uploadId));
+        } catch (IOException e) {
+            deleteFiles(uploadId);
+            throw new UncheckedIOException("创建分片上传失败: " + e.getMessage(), e);
+        }
+
+        logger.info("创建分片上传: uploadId={}, searchSpaceId={}, fileName={}, totalSize={}",
+                uploadId, searchSpaceId, fileName, totalSize);
+        return toStatus(uploadId, meta, 0L);
+    }
+
+    @Override
+    public ChunkedUploadStatus getStatus(Long searchSpaceId, String uploadId) {
+        UploadMeta meta = readMeta(searchSpaceId, uploadId);
+        return toStatus(uploadId, meta, receivedSize(uploadId));
+    }
+
+    @Override
+    public ChunkedUploadStatus appendChunk(Long searchSpaceId, String uploadId, long offset, InputStream data) throws IOException {
+        UploadMeta meta = readMeta(searchSpaceId, uploadId);
+        synchronized (lockFor(uploadId)) {
+            long received = receivedSize(uploadId);
+            if (offset != received) {
+                throw new UploadOffsetMismatchException(
+                        "分片偏移量不正确: offset=" + offset + ", 已接收=" + received,
+                        toStatus(uploadId, meta, received));
+            }
+
+            Path partFile = partPath(uploadId);
+            long limit = meta.totalSize() - offset;
+            try {
+                long written = fileStorageService.writeToFile(new BoundedInputStream(data, limit), partFile, offset);
+                logger.debug("接收分片: uploadId={}, offset={}, size={}", uploadId, offset, written);
+            } catch (ChunkTooLargeException e) {
+                // 丢弃整个超长分片，保持已接收数据不变
+                truncate(partFile, offset);
+                throw new IllegalArgumentException("分片超出文件总大小: totalSize=" + meta.totalSize());
+            } finally {
+                // 刷新元数据修改时间，避免进行中的上传被过期清理
+                touch(metaPath(uploadId));
+            }
+
+            return toStatus(uploadId, meta, receivedSize(uploadId));
+        }
+    }
+
+    @Override
+    public Path completeUpload(Long searchSpaceId, String uploadId) {
+        UploadMeta meta = readMeta(searchSpaceId, uploadId);
+        synchronized (lockFor(uploadId)) {
+            long received = receivedSize(uploadId);
+            if (received != meta.totalSize()) {
+                throw new IllegalArgumentException("文件尚未上传完成: 已接收 " + received + " / " + meta.totalSize() + " 字节");
+            }
+            fileStorageService.deleteTemporaryFile(metaPath(uploadId));
+            locks.remove(uploadId);
+        }
+
+        logger.info("分片上传完成: uploadId={}, searchSpaceId={}, totalSize={}", uploadId, searchSpaceId, meta.totalSize());
+        return partPath(uploadId);
+    }
+
+    @Override
+    public boolean abortUpload(Long searchSpaceId, String uploadId) {
+        try {
+            readMeta(searchSpaceId, uploadId);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        synchronized (lockFor(uploadId)) {
+            deleteFiles(uploadId);
+            locks.remove(uploadId);
+        }
+        logger.info("取消分片上传: uploadId={}, searchSpaceId={}", uploadId, searchSpaceId);
+        return true;
+    }
+
+    private UploadMeta readMeta(Long searchSpaceId, String uploadId) {
+        if (uploadId == null || !UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("上传ID格式不正确");
+        }
+        Path metaFile = metaPath(uploadId);
+        if (!Files.exists(metaFile) || !Files.exists(partPath(uploadId))) {
+            throw new RuntimeException("上传任务不存在: " + uploadId);
+        }
+        UploadMeta meta;
+        try {
+            meta = objectMapper.readValue(metaFile.toFile(), UploadMeta.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取上传信息失败: " + e.getMessage(), e);
+        }
+        if (!meta.searchSpaceId().equals(searchSpaceId)) {
+            throw new RuntimeException("上传任务不存在: " + uploadId);
+        }
+        return meta;
+    }
+
+    private long receivedSize(String uploadId) {
+        try {
+            return Files.size(partPath(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取上传进度失败: " + e.getMessage(), e);
+        }
+    }
+
+    private ChunkedUploadStatus toStatus(String uploadId, UploadMeta meta, long receivedSize) {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(meta.createdAt()), ZoneId.systemDefault());
+        return new ChunkedUploadStatus(uploadId, meta.searchSpaceId(), meta.fileName(), meta.totalSize(),
+                receivedSize, createdAt);
+    }
+
+    private Object lockFor(String uploadId) {
+        return locks.computeIfAbsent(uploadId, id -> new Object());
+    }
+
+    private Path partPath(String uploadId) {
+        return fileStorageService.getTemporaryFilePath(FILE_PREFIX + uploadId + ".part");
+    }
+
+    private Path metaPath(String uploadId) {
+        return fileStorageService.getTemporaryFilePath(FILE_PREFIX + uploadId + ".meta.json");
+    }
+
+    private void deleteFiles(String uploadId) {
+        fileStorageService.deleteTemporaryFile(partPath(uploadId));
+        fileStorageService.deleteTemporaryFile(metaPath(uploadId));
+    }
+
+    private void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.debug("更新上传信息修改时间失败: {}, error={}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 上传元数据
+     */
+    record UploadMeta(Long searchSpaceId, String fileName, long totalSize, long createdAt) {
+    }
+
+    /**
+     * 分片超出剩余大小
+     */
+    private static final class ChunkTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ChunkTooLargeException() {
+            super("分片超出文件总大小");
+        }
+    }
+
+    /**
+     * 限制可读取字节数的输入流，超出时抛出 {@link ChunkTooLargeException}
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new ChunkTooLargeException();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw new ChunkTooLargeException();
+                }
+            }
+            return n;
+        }
+    }
+}
@@ -10,9 +10,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -30,6 +35,11 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileStorageServiceImpl.class);
 
+    /**
+     * 单次 transferFrom 的最大字节数
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
 
     @Value("${app.import.temp-dir:${java.io.tmpdir}/deepsearch/imports}")
@@ -95,6 +105,49 @@ public class FileStorageServiceImpl implements FileStorageService {
         }
     }
 
+    @Override
+    public Path saveToTemporaryFile(MultipartFile file, String fileName) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("文件不能为空");
+        }
+
+        Path filePath = getTemporaryFilePath(fileName);
+        try (InputStream inputStream = file.getInputStream()) {
+            long written = writeToFile(inputStream, filePath, 0L);
+            logger.info("文件保存成功: originalName={}, savedPath={}, size={}",
+                    file.getOriginalFilename(), filePath.toAbsolutePath(), written);
+            return filePath;
+        } catch (IOException e) {
+            deleteTemporaryFile(filePath);
+            logger.error("文件保存失败: originalName={}, targetPath={}, error={}",
+                    file.getOriginalFilename(), filePath.toAbsolutePath(), e.getMessage(), e);
+            throw new IOException("文件保存失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long writeToFile(InputStream inputStream, Path target, long position) throws IOException {
+        Path parentDir = target.getParent();
+        if (parentDir != null && !Files.exists(parentDir)) {
+            Files.createDirectories(parentDir);
+        }
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(inputStream)) {
+            if (position > channel.size()) {
+                throw new IOException("写入位置超出文件大小: position=" + position + ", size=" + channel.size());
+            }
+            channel.truncate(position);
+            // transferFrom 由文件通道直接从源通道读取，每次最多 TRANSFER_CHUNK_SIZE 字节，读到流末尾时返回0
+            long offset = position;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, offset, TRANSFER_CHUNK_SIZE)) > 0) {
+                offset += transferred;
+            }
+            return offset - position;
+        }
+    }
+
     @Override
     public String generateFileName(Long searchSpaceId, String originalName) {
         if (searchSpaceId == null) {
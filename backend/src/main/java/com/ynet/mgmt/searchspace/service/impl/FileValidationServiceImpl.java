@@ -1,5 +1,9 @@
 package com.ynet.mgmt.searchspace.service.impl;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ynet.mgmt.searchspace.dto.FileValidationResult;
@@ -13,6 +17,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
@@ -68,37 +74,96 @@ public class FileValidationServiceImpl implements FileValidationService {
             return FileValidationResult.failure("文件格式必须为JSON", file.getSize());
         }
 
+        try (InputStream inputStream = file.getInputStream()) {
+            return validateJsonContent(inputStream, file.getOriginalFilename(), file.getSize());
+        } catch (IOException e) {
+            logger.error("文件读取失败: fileName={}, error={}", file.getOriginalFilename(), e.getMessage(), e);
+            return FileValidationResult.failure("文件读取失败: " + e.getMessage(), file.getSize());
+        }
+    }
+
+    @Override
+    public FileValidationResult validateStoredJsonFile(Path file) {
+        long fileSize;
         try {
-            // 解析JSON内容
-            JsonNode jsonNode;
-            try (InputStream inputStream = file.getInputStream()) {
-                jsonNode = parseJsonArray(inputStream);
-            }
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            logger.error("文件读取失败: path={}, error={}", file, e.getMessage(), e);
+            return FileValidationResult.failure("文件读取失败: " + e.getMessage());
+        }
+
+        if (fileSize == 0) {
+            logger.warn("文件为空: path={}", file);
+            return FileValidationResult.failure("文件不能为空");
+        }
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return validateJsonContent(inputStream, file.getFileName().toString(), fileSize);
+        } catch (IOException e) {
+            logger.error("文件读取失败: path={}, error={}", file, e.getMessage(), e);
+            return FileValidationResult.failure("文件读取失败: " + e.getMessage(), fileSize);
+        }
+    }
+
+    /**
+     * 流式校验JSON内容并统计记录数
+     */
+    private FileValidationResult validateJsonContent(InputStream inputStream, String fileName, long fileSize) {
+        try {
+            Integer recordCount = scanJsonArray(inputStream);
 
             // 验证是否为数组
-            if (!jsonNode.isArray()) {
-                logger.warn("JSON根节点不是数组: fileName={}", file.getOriginalFilename());
-                return FileValidationResult.failure("JSON文件的根节点必须是数组格式", file.getSize());
+            if (recordCount == null) {
+                logger.warn("JSON根节点不是数组: fileName={}", fileName);
+                return FileValidationResult.failure("JSON文件的根节点必须是数组格式", fileSize);
             }
 
-            // 统计记录数量
-            Integer recordCount = countRecords(jsonNode);
             if (recordCount == 0) {
-                logger.warn("JSON数组为空: fileName={}", file.getOriginalFilename());
-                return FileValidationResult.failure("JSON数组不能为空，至少包含1个对象", file.getSize());
+                logger.warn("JSON数组为空: fileName={}", fileName);
+                return FileValidationResult.failure("JSON数组不能为空，至少包含1个对象", fileSize);
             }
 
             logger.info("JSON文件验证成功: fileName={}, recordCount={}, fileSize={}",
-                    file.getOriginalFilename(), recordCount, file.getSize());
+                    fileName, recordCount, fileSize);
 
-            return FileValidationResult.success(recordCount, file.getSize());
+            return FileValidationResult.success(recordCount, fileSize);
 
+        } catch (JsonProcessingException e) {
+            logger.warn("JSON解析失败: fileName={}, error={}", fileName, e.getOriginalMessage());
+            return FileValidationResult.failure("JSON格式不正确: " + e.getOriginalMessage(), fileSize);
         } catch (IOException e) {
-            logger.error("文件读取失败: fileName={}, error={}", file.getOriginalFilename(), e.getMessage(), e);
-            return FileValidationResult.failure("文件读取失败: " + e.getMessage(), file.getSize());
-        } catch (Exception e) {
-            logger.error("JSON解析失败: fileName={}, error={}", file.getOriginalFilename(), e.getMessage(), e);
-            return FileValidationResult.failure("JSON格式不正确: " + e.getMessage(), file.getSize());
+            logger.error("文件读取失败: fileName={}, error={}", fileName, e.getMessage(), e);
+            return FileValidationResult.failure("文件读取失败: " + e.getMessage(), fileSize);
+        }
+    }
+
+    @Override
+    public Integer scanJsonArray(InputStream inputStream) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                // 根节点不是数组时仍完整扫描一遍，语法错误优先按格式错误报告
+                parser.skipChildren();
+                while (parser.nextToken() != null) {
+                    parser.skipChildren();
+                }
+                return null;
+            }
+
+            int count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "数组元素必须是JSON对象");
+                }
+                // 跳过对象内容，仍会逐个校验其中的token
+                parser.skipChildren();
+                count++;
+            }
+
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "JSON数组之后存在多余内容");
+            }
+            return count;
         }
     }
 
@@ -28,6 +28,8 @@ import com.ynet.mgmt.searchspace.mapper.SearchSpaceMapper;
 import com.ynet.mgmt.searchspace.model.IndexStatus;
 import com.ynet.mgmt.searchspace.repository.SearchSpaceRepository;
 import com.ynet.mgmt.searchspace.service.ElasticsearchManager;
+import com.ynet.mgmt.searchspace.service.IndexStatusSnapshotService;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
 import com.ynet.mgmt.searchspace.service.SearchSpaceService;
 import com.ynet.mgmt.searchspace.validator.SearchSpaceValidator;
 import com.ynet.mgmt.searchspace.exception.SearchSpaceException;
@@ -66,6 +68,8 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
     private final ElasticsearchClient elasticsearchClient;
     private final UserRepository userRepository;
     private final com.ynet.mgmt.role.repository.RoleSearchSpaceRepository roleSearchSpaceRepository;
+    private final IndexStatusSnapshotService indexStatusSnapshotService;
+    private final SearchCacheInvalidator searchCacheInvalidator;
 
     public SearchSpaceServiceImpl(SearchSpaceRepository searchSpaceRepository,
                                  ElasticsearchManager elasticsearchManager,
@@ -73,7 +77,9 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
                                  SearchSpaceValidator validator,
                                  ElasticsearchClient elasticsearchClient,
                                  UserRepository userRepository,
-                                 com.ynet.mgmt.role.repository.RoleSearchSpaceRepository roleSearchSpaceRepository) {
+                                 com.ynet.mgmt.role.repository.RoleSearchSpaceRepository roleSearchSpaceRepository,
+                                 IndexStatusSnapshotService indexStatusSnapshotService,
+                                 SearchCacheInvalidator searchCacheInvalidator) {
         this.searchSpaceRepository = searchSpaceRepository;
         this.elasticsearchManager = elasticsearchManager;
         this.mapper = mapper;
@@ -81,6 +87,8 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         this.elasticsearchClient = elasticsearchClient;
         this.userRepository = userRepository;
         this.roleSearchSpaceRepository = roleSearchSpaceRepository;
+        this.indexStatusSnapshotService = indexStatusSnapshotService;
+        this.searchCacheInvalidator = searchCacheInvalidator;
     }
 
     @Override
@@ -164,7 +172,15 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
             searchSpace.setStatus(request.getStatus());
         }
 
-        // 6. 保存更新
+        // 6. 向量存储档位只影响之后生成的索引映射
+        if (request.getVectorStorageProfile() != null
+                && searchSpace.getVectorStorageProfile() != request.getVectorStorageProfile()) {
+            log.info("搜索空间向量存储档位变更: {} -> {}，以替换模式重新导入后生效",
+                searchSpace.getVectorStorageProfile(), request.getVectorStorageProfile());
+            searchSpace.setVectorStorageProfile(request.getVectorStorageProfile());
+        }
+
+        // 7. 保存更新
         searchSpace = searchSpaceRepository.save(searchSpace);
 
         log.info("搜索空间更新成功: {} ({})", searchSpace.getCode(), id);
@@ -255,11 +271,8 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         if (roleIdToUse == null && SecurityUtils.isAuthenticated()) {
             String username = SecurityUtils.getCurrentUsername();
             if (username != null) {
-                User currentUser = userRepository.findByUsername(username).orElse(null);
-                if (currentUser != null && currentUser.getCustomRole() != null) {
-                    roleIdToUse = currentUser.getCustomRole().getId();
-                    log.debug("从当前用户获取角色ID: username={}, roleId={}", username, roleIdToUse);
-                }
+                roleIdToUse = resolveUserRoleId(username);
+                log.debug("从当前用户获取角色ID: username={}, roleId={}", username, roleIdToUse);
             }
         }
 
@@ -279,9 +292,9 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
             page = searchSpaceRepository.findByKeyword(request.getKeyword(), pageable);
         }
 
-        // 转换结果
+        // 转换结果（索引状态从内存快照读取，不再逐个请求ES）
         List<SearchSpaceDTO> dtos = page.getContent().stream()
-            .map(space -> mapper.toDTO(space, getElasticsearchIndexStatus(space.getCode())))
+            .map(space -> mapper.toDTO(space, indexStatusSnapshotService.getIndexStatus(space.getCode())))
             .collect(Collectors.toList());
 
         return PageResult.<SearchSpaceDTO>builder()
@@ -304,12 +317,19 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         long maintenanceSpaces = searchSpaceRepository.countByStatus(SearchSpaceStatus.MAINTENANCE);
         long deletedSpaces = searchSpaceRepository.countByStatus(SearchSpaceStatus.DELETED);
 
+        IndexStatusSnapshotService.Summary indexSummary =
+            indexStatusSnapshotService.summarize(searchSpaceRepository.findAllCodes());
+
         return SearchSpaceStatistics.builder()
             .totalSpaces(totalSpaces)
             .activeSpaces(activeSpaces)
             .inactiveSpaces(inactiveSpaces)
             .maintenanceSpaces(maintenanceSpaces)
             .deletedSpaces(deletedSpaces)
+            .totalDocuments(indexSummary.getTotalDocuments())
+            .totalStoreBytes(indexSummary.getTotalStoreBytes())
+            .unhealthyIndices(indexSummary.getUnhealthyIndices())
+            .missingIndices(indexSummary.getMissingIndices())
             .build();
     }
 
@@ -321,6 +341,20 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
 
     // ========== 私有辅助方法 ==========
 
+    /**
+     * 获取用户的角色ID
+     * 每次按用户名实时查询，角色调整后立即生效
+     *
+     * @param username 用户名
+     * @return 角色ID，用户不存在或未关联角色时返回null
+     */
+    private Long resolveUserRoleId(String username) {
+        return userRepository.findByUsername(username)
+            .filter(user -> user.getCustomRole() != null)
+            .map(user -> user.getCustomRole().getId())
+            .orElse(null);
+    }
+
     /**
      * 将新创建的搜索空间自动关联到当前用户的角色
      * 使得创建者能立即在搜索空间列表中看到新创建的搜索空间
@@ -393,6 +427,8 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         } catch (Exception e) {
             log.error("ES索引创建失败: {}", searchSpace.getCode(), e);
             // 在实际应用中，这里可以考虑重试机制或者通知机制
+        } finally {
+            indexStatusSnapshotService.invalidate();
         }
     }
 
@@ -407,6 +443,9 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         } catch (Exception e) {
             log.error("ES索引删除失败: {}", searchSpace.getCode(), e);
             // 在实际应用中，这里可以考虑重试机制或者通知机制
+        } finally {
+            indexStatusSnapshotService.invalidate();
+            searchCacheInvalidator.invalidateIndex(searchSpace.getIndexName());
         }
     }
 
@@ -750,7 +789,7 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         
         List<SearchSpace> searchSpaces = searchSpaceRepository.findAllWithIndexMapping();
         return searchSpaces.stream()
-            .map(space -> mapper.toDTO(space, getElasticsearchIndexStatus(space.getCode())))
+            .map(space -> mapper.toDTO(space, indexStatusSnapshotService.getIndexStatus(space.getCode())))
             .collect(Collectors.toList());
     }
 
@@ -761,7 +800,7 @@ public class SearchSpaceServiceImpl implements SearchSpaceService {
         
         List<SearchSpace> searchSpaces = searchSpaceRepository.findAllWithImportedDocuments();
         return searchSpaces.stream()
-            .map(space -> mapper.toDTO(space, getElasticsearchIndexStatus(space.getCode())))
+            .map(space -> mapper.toDTO(space, indexStatusSnapshotService.getIndexStatus(space.getCode())))
             .collect(Collectors.toList());
     }
 
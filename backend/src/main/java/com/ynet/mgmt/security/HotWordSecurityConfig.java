@@ -10,8 +10,6 @@ import org.springframework.stereotype.Component;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 /**
@@ -35,16 +33,16 @@ public class HotWordSecurityConfig {
 
     /**
      * API访问频率限制器
+     * 热词接口的限流入口，令牌桶由 {@link RequestRateLimiter} 统一维护
      */
     @Component
     public static class RateLimiter {
-        private final ConcurrentHashMap<String, UserRateLimit> userLimits = new ConcurrentHashMap<>();
 
-        @Value("${hotword.security.rate-limit.requests-per-minute:60}")
-        private int requestsPerMinute;
+        private final RequestRateLimiter requestRateLimiter;
 
-        @Value("${hotword.security.rate-limit.burst-capacity:10}")
-        private int burstCapacity;
+        public RateLimiter(RequestRateLimiter requestRateLimiter) {
+            this.requestRateLimiter = requestRateLimiter;
+        }
 
         /**
          * 检查用户是否超过访问频率限制
@@ -54,57 +52,8 @@ public class HotWordSecurityConfig {
          * @return 是否允许访问
          */
         public boolean isAllowed(String userId, String clientIp) {
-            String key = userId != null ? "user:" + userId : "ip:" + clientIp;
-            UserRateLimit limit = userLimits.computeIfAbsent(key, k -> new UserRateLimit());
-
-            LocalDateTime now = LocalDateTime.now();
-
-            // 清理过期的计数
-            if (limit.windowStart.isBefore(now.minusMinutes(1))) {
-                limit.reset(now);
-            }
-
-            // 检查是否超过限制
-            if (limit.requestCount.get() >= requestsPerMinute) {
-                // 记录超限事件
-                logRateLimitViolation(key, limit.requestCount.get());
-                return false;
-            }
-
-            // 检查突发流量限制
-            if (limit.burstCount.get() >= burstCapacity) {
-                if (limit.lastBurstReset.isBefore(now.minusSeconds(10))) {
-                    limit.burstCount.set(0);
-                    limit.lastBurstReset = now;
-                } else {
-                    logBurstLimitViolation(key, limit.burstCount.get());
-                    return false;
-                }
-            }
-
-            limit.requestCount.incrementAndGet();
-            limit.burstCount.incrementAndGet();
-            return true;
-        }
-
-        private void logRateLimitViolation(String key, int requestCount) {
-            System.err.printf("[SECURITY] Rate limit exceeded for %s: %d requests/minute%n", key, requestCount);
-        }
-
-        private void logBurstLimitViolation(String key, int burstCount) {
-            System.err.printf("[SECURITY] Burst limit exceeded for %s: %d requests in 10 seconds%n", key, burstCount);
-        }
-
-        private static class UserRateLimit {
-            AtomicInteger requestCount = new AtomicInteger(0);
-            AtomicInteger burstCount = new AtomicInteger(0);
-            LocalDateTime windowStart = LocalDateTime.now();
-            LocalDateTime lastBurstReset = LocalDateTime.now();
-
-            void reset(LocalDateTime now) {
-                requestCount.set(0);
-                windowStart = now;
-            }
+            return requestRateLimiter.tryAcquire(RateLimitWebConfig.POLICY_HOTWORD,
+                RequestRateLimiter.clientKey(userId, clientIp));
         }
     }
 
@@ -0,0 +1,68 @@
+package com.ynet.mgmt.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.common.dto.ApiResponse;
+import com.ynet.mgmt.common.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 接口限流拦截器
+ *
+ * 按配置的策略对请求限流，超限时直接返回429和统一的ApiResponse错误体，不进入控制器
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RequestRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String policy;
+
+    public RateLimitInterceptor(RequestRateLimiter rateLimiter, ObjectMapper objectMapper, String policy) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.policy = policy;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String userId = SecurityUtils.isAuthenticated() ? SecurityUtils.getCurrentUsername() : null;
+        String clientKey = RequestRateLimiter.clientKey(userId, getClientIpAddress(request));
+        if (rateLimiter.tryAcquire(policy, clientKey)) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rateLimiter.retryAfterSeconds(policy)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("请求过于频繁，请稍后再试", "429"));
+        return false;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 获取客户端真实IP地址
+     */
+    static String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+}
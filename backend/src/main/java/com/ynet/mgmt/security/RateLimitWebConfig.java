@@ -0,0 +1,46 @@
+package com.ynet.mgmt.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 接口限流注册
+ *
+ * 策略与接口的对应关系：
+ * - hotword: 热词与搜索统计等分析类接口
+ * - suggestion: 搜索建议
+ * - search: 搜索与导出
+ */
+@Configuration
+public class RateLimitWebConfig implements WebMvcConfigurer {
+
+    public static final String POLICY_HOTWORD = "hotword";
+    public static final String POLICY_SUGGESTION = "suggestion";
+    public static final String POLICY_SEARCH = "search";
+
+    private final ObjectProvider<RequestRateLimiter> rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitWebConfig(ObjectProvider<RequestRateLimiter> rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 切片测试等未装配限流器的上下文中不启用
+        RequestRateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter == null) {
+            return;
+        }
+        registry.addInterceptor(new RateLimitInterceptor(limiter, objectMapper, POLICY_HOTWORD))
+            .addPathPatterns("/search-logs/hot-words", "/search-logs/statistics");
+        registry.addInterceptor(new RateLimitInterceptor(limiter, objectMapper, POLICY_SUGGESTION))
+            .addPathPatterns("/elasticsearch/search-suggestions");
+        registry.addInterceptor(new RateLimitInterceptor(limiter, objectMapper, POLICY_SEARCH))
+            .addPathPatterns("/elasticsearch/search", "/elasticsearch/simple-search", "/elasticsearch/export");
+    }
+}
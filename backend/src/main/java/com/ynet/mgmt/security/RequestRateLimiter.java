@@ -0,0 +1,184 @@
+package com.ynet.mgmt.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ynet.mgmt.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 接口访问频率限制器
+ *
+ * 按“策略 + 客户端”维护令牌桶，供热词、搜索建议、搜索等接口复用：
+ * 1. local 模式：令牌桶保存在有界、按空闲过期的本地缓存中，客户端数量再多内存也有上限
+ * 2. redis 模式：令牌桶状态保存在Redis中，由Lua脚本原子地判定，多副本共享同一额度；
+ *    Redis不可用时退回本地令牌桶，避免限流故障导致接口不可用
+ *
+ * 放行和拒绝次数按策略记录到 rate_limit.requests 指标
+ */
+@Component
+public class RequestRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestRateLimiter.class);
+
+    static final String METRIC_REQUESTS = "rate_limit.requests";
+
+    /**
+     * GCRA令牌桶脚本，时间取Redis服务器时间（微秒）避免各副本时钟偏差
+     * KEYS[1]: 令牌桶键；ARGV[1]: 令牌间隔（微秒）；ARGV[2]: 桶容量对应时长（微秒）
+     * 返回1放行，0拒绝
+     */
+    private static final String TOKEN_BUCKET_SCRIPT =
+        "local t = redis.call('TIME') " +
+        "local now = tonumber(t[1]) * 1000000 + tonumber(t[2]) " +
+        "local interval = tonumber(ARGV[1]) " +
+        "local capacity = tonumber(ARGV[2]) " +
+        "local tat = tonumber(redis.call('GET', KEYS[1]) or now) " +
+        "if tat < now then tat = now end " +
+        "local nextTat = tat + interval " +
+        "if nextTat - now > capacity then return 0 end " +
+        "redis.call('SET', KEYS[1], string.format('%.0f', nextTat), 'PX', math.ceil((nextTat - now) / 1000) + 1) " +
+        "return 1";
+
+    private final RateLimitProperties properties;
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RedisScript<Long> tokenBucketScript;
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicBoolean redisAvailable = new AtomicBoolean(true);
+
+    @Autowired
+    public RequestRateLimiter(RateLimitProperties properties,
+                              @Qualifier("customStringRedisTemplate") RedisTemplate<String, String> stringRedisTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tokenBucketScript = new DefaultRedisScript<>(TOKEN_BUCKET_SCRIPT, Long.class);
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxKeys())
+            .expireAfterAccess(Duration.ofSeconds(properties.getIdleExpireSeconds()))
+            .build();
+        Gauge.builder("rate_limit.buckets", buckets, Cache::estimatedSize)
+            .description("本地令牌桶数量")
+            .register(meterRegistry);
+        logger.info("Request rate limiter initialized: {}", properties);
+    }
+
+    /**
+     * 生成客户端标识：已登录用户按用户限流，否则按IP限流
+     * @param userId 用户ID，可为null
+     * @param clientIp 客户端IP
+     * @return 客户端标识
+     */
+    public static String clientKey(String userId, String clientIp) {
+        return userId != null ? "user:" + userId : "ip:" + clientIp;
+    }
+
+    /**
+     * 尝试为客户端获取一次访问许可
+     * @param policy 策略名
+     * @param clientKey 客户端标识，见 {@link #clientKey(String, String)}
+     * @return true 如果允许访问
+     */
+    public boolean tryAcquire(String policy, String clientKey) {
+        String key = policy + ":" + clientKey;
+        boolean allowed;
+        String source;
+        if (properties.getMode() == RateLimitProperties.Mode.REDIS) {
+            Boolean redisResult = tryAcquireRemote(policy, key);
+            if (redisResult != null) {
+                allowed = redisResult;
+                source = "redis";
+            } else {
+                allowed = tryAcquireLocal(policy, key);
+                source = "local_fallback";
+            }
+        } else {
+            allowed = tryAcquireLocal(policy, key);
+            source = "local";
+        }
+
+        counter(policy, allowed, source).increment();
+        if (!allowed) {
+            logger.warn("[SECURITY] Rate limit exceeded: policy={}, client={}", policy, clientKey);
+        }
+        return allowed;
+    }
+
+    /**
+     * 被拒绝后建议的重试等待秒数（一个令牌的补充间隔）
+     * @param policy 策略名
+     * @return 秒数，至少为1
+     */
+    public long retryAfterSeconds(String policy) {
+        return Math.max(1L, (long) Math.ceil(60.0 / properties.requestsPerMinuteOf(policy)));
+    }
+
+    /**
+     * 本地令牌桶数量（先执行缓存的待处理淘汰，结果不含已超出上限的令牌桶）
+     * @return 令牌桶数量
+     */
+    public long localBucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private boolean tryAcquireLocal(String policy, String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(
+            properties.requestsPerMinuteOf(policy), properties.burstCapacityOf(policy), now));
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * 在Redis中判定
+     * @return 判定结果，Redis不可用时返回null
+     */
+    private Boolean tryAcquireRemote(String policy, String key) {
+        long intervalMicros = Math.max(1L, 60_000_000L / properties.requestsPerMinuteOf(policy));
+        long capacityMicros = intervalMicros * properties.burstCapacityOf(policy);
+        try {
+            Long result = stringRedisTemplate.execute(tokenBucketScript,
+                Collections.singletonList(properties.getRedisKeyPrefix() + key),
+                String.valueOf(intervalMicros), String.valueOf(capacityMicros));
+            if (redisAvailable.compareAndSet(false, true)) {
+                logger.info("Redis rate limiting recovered");
+            }
+            return result != null && result == 1L;
+        } catch (Exception e) {
+            if (redisAvailable.compareAndSet(true, false)) {
+                logger.warn("Redis rate limiting unavailable, falling back to local buckets: {}", e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private Counter counter(String policy, boolean allowed, String source) {
+        String decision = allowed ? "allowed" : "throttled";
+        return counters.computeIfAbsent(policy + '|' + decision + '|' + source, k ->
+            Counter.builder(METRIC_REQUESTS)
+                .description("限流判定次数")
+                .tag("policy", policy)
+                .tag("decision", decision)
+                .tag("source", source)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ynet.mgmt.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ *
+ * 以“理论到达时间”（GCRA）形式实现令牌桶：只保存一个纳秒时间戳 tat，
+ * 每次放行把 tat 向后推一个令牌间隔，tat 超前当前时间不超过桶容量对应的时长即有令牌可用。
+ * 令牌随 System.nanoTime() 推移自然补充，无需定时任务；状态更新只有一次 CAS，没有锁
+ *
+ * @author system
+ * @since 1.0.0
+ */
+public final class TokenBucket {
+
+    /**
+     * 每个令牌的补充间隔（纳秒）
+     */
+    private final long intervalNanos;
+
+    /**
+     * 桶容量对应的时长（纳秒），即 capacity * intervalNanos
+     */
+    private final long capacityNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * 创建满桶
+     *
+     * @param requestsPerMinute 每分钟补充的令牌数
+     * @param capacity 桶容量（允许的突发请求数）
+     * @param nowNanos 当前纳秒时间
+     */
+    public TokenBucket(int requestsPerMinute, int capacity, long nowNanos) {
+        if (requestsPerMinute <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("令牌桶速率和容量必须为正数");
+        }
+        this.intervalNanos = Math.max(1L, 60_000_000_000L / requestsPerMinute);
+        this.capacityNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param nowNanos 当前纳秒时间（System.nanoTime()）
+     * @return true 如果获取成功
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            // nanoTime 可能为负且会回绕，只比较差值
+            long base = tat - nowNanos > 0 ? tat : nowNanos;
+            long next = base + intervalNanos;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 当前可用令牌数
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 可用令牌数
+     */
+    public long availableTokens(long nowNanos) {
+        long ahead = theoreticalArrival.get() - nowNanos;
+        if (ahead <= 0) {
+            return capacityNanos / intervalNanos;
+        }
+        return (capacityNanos - ahead) / intervalNanos;
+    }
+
+    /**
+     * 距下一个令牌可用的等待时间
+     *
+     * @param nowNanos 当前纳秒时间
+     * @return 等待纳秒数，有令牌可用时返回0
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        long wait = theoreticalArrival.get() + intervalNanos - nowNanos - capacityNanos;
+        return Math.max(0L, wait);
+    }
+}
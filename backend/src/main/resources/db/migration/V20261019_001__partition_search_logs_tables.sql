@@ -0,0 +1,49 @@
+-- =============================================
+-- 搜索日志表时间分区改造脚本（MySQL）
+-- Version: V20261019_001
+-- Description: search_logs 按 created_at、search_click_logs 按 click_time 做 RANGE COLUMNS 分区
+--
+-- 应用不会在启动时自动改造未分区的表。本脚本与管理接口 POST /search-logs/cleanup/partition/convert
+-- 二选一，均会重建主键并拷贝整表数据，请在维护窗口执行。
+-- 早于保留起点（@retention_days 需与 search.log.retention.days 一致）的数据落入 p_history，
+-- 随下次清理整体删除；保留期内的数据按天落入各自分区（对应默认的 DAILY 粒度），
+-- 并预建未来 7 天的分区，之后由应用继续预建、逐日过期删除。
+-- =============================================
+
+-- 1. 删除外键（MySQL 分区表不支持外键，也不能被外键引用）
+ALTER TABLE search_click_logs DROP FOREIGN KEY fk_search_click_logs_search_log;
+
+-- 2. 分区列必须包含在主键中
+UPDATE search_logs SET created_at = '1970-01-01 00:00:00' WHERE created_at IS NULL;
+ALTER TABLE search_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+ALTER TABLE search_click_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, click_time);
+
+-- 3. 以保留起点零点为界：之前的数据进入 p_history，之后每天一个分区，预建到 7 天后
+SET @retention_days = 30;
+SET @precreate_days = 7;
+SET @cutover = DATE_SUB(CURDATE(), INTERVAL @retention_days DAY);
+SET SESSION group_concat_max_len = 65535;
+
+SET @partitions = (
+    WITH RECURSIVE periods(day) AS (
+        SELECT CAST(@cutover AS DATE)
+        UNION ALL
+        SELECT day + INTERVAL 1 DAY FROM periods WHERE day < CURDATE() + INTERVAL @precreate_days DAY
+    )
+    SELECT CONCAT('PARTITION p_history VALUES LESS THAN (''', DATE_FORMAT(@cutover, '%Y-%m-%d 00:00:00'), '''), ',
+                  GROUP_CONCAT(CONCAT('PARTITION p', DATE_FORMAT(day, '%Y%m%d'), ' VALUES LESS THAN (''',
+                                      DATE_FORMAT(day + INTERVAL 1 DAY, '%Y-%m-%d 00:00:00'), ''')')
+                               ORDER BY day SEPARATOR ', '),
+                  ', PARTITION p_future VALUES LESS THAN (MAXVALUE)')
+    FROM periods
+);
+
+SET @ddl = CONCAT('ALTER TABLE search_logs PARTITION BY RANGE COLUMNS(created_at) (', @partitions, ')');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = CONCAT('ALTER TABLE search_click_logs PARTITION BY RANGE COLUMNS(click_time) (', @partitions, ')');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,39 @@
+-- =============================================
+-- 持久化导入任务队列表
+-- Version: V20261019_002
+-- Description: 创建import_jobs表，各节点按租约认领导入任务并按批次保存检查点
+-- Date: 2026-10-19
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id VARCHAR(36) NOT NULL COMMENT '任务ID',
+    search_space_id BIGINT NOT NULL COMMENT '搜索空间ID',
+    state VARCHAR(32) NOT NULL COMMENT '任务状态',
+    mode VARCHAR(16) NOT NULL COMMENT '导入模式',
+    batch_size INT NOT NULL COMMENT '批处理大小',
+    error_handling VARCHAR(16) NOT NULL COMMENT '错误处理策略',
+    enable_index_optimization BIT NOT NULL COMMENT '是否优化索引',
+    file_path VARCHAR(500) NOT NULL COMMENT '数据文件路径（共享存储）',
+    file_name VARCHAR(255) COMMENT '原始文件名',
+    index_prepared BIT NOT NULL COMMENT '索引是否已创建',
+    total_records INT NOT NULL COMMENT '总记录数',
+    processed_records INT NOT NULL COMMENT '检查点：已提交记录数',
+    success_count INT NOT NULL COMMENT '成功记录数',
+    error_count INT NOT NULL COMMENT '失败记录数',
+    current_batch INT NOT NULL COMMENT '已完成批次数',
+    total_batches INT NOT NULL COMMENT '总批次数',
+    status_message VARCHAR(500) COMMENT '状态描述',
+    error_message TEXT COMMENT '错误信息',
+    lease_owner VARCHAR(100) COMMENT '租约持有节点',
+    lease_expires_at DATETIME(6) COMMENT '租约到期时间',
+    attempts INT NOT NULL COMMENT '认领次数',
+    started_at DATETIME(6) COMMENT '首次开始执行时间',
+    finished_at DATETIME(6) COMMENT '结束时间',
+    created_at DATETIME(6) NOT NULL COMMENT '创建时间',
+    updated_at DATETIME(6) COMMENT '更新时间',
+    created_by VARCHAR(50) COMMENT '创建者',
+    updated_by VARCHAR(50) COMMENT '更新者',
+    PRIMARY KEY (id),
+    INDEX idx_import_job_state_created (state, created_at),
+    INDEX idx_import_job_space_created (search_space_id, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='导入任务队列';
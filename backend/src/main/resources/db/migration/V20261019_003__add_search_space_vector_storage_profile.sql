@@ -0,0 +1,10 @@
+-- =============================================
+-- 搜索空间向量存储档位
+-- Version: V20261019_003
+-- Description: search_spaces表增加vector_storage_profile列（FLOAT / INT8_HNSW / BYTE），
+--              在生成索引映射时决定dense_vector字段的存储方式
+-- Date: 2026-10-19
+-- =============================================
+
+ALTER TABLE search_spaces
+    ADD COLUMN vector_storage_profile VARCHAR(20) DEFAULT 'FLOAT' COMMENT '向量存储档位';
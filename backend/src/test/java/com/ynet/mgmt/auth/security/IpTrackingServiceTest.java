@@ -0,0 +1,122 @@
+package com.ynet.mgmt.auth.security;
+
+import com.ynet.mgmt.config.RedisConfig;
+import com.ynet.mgmt.config.SecurityPolicyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * IP请求准入测试
+ * 验证每个请求只执行一次准入脚本，以及黑白名单近缓存的命中与失效
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("IP请求准入测试")
+class IpTrackingServiceTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, String> stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private IpTrackingService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        stringRedisTemplate = mock(RedisTemplate.class);
+        doReturn(new GenericJackson2JsonRedisSerializer(new RedisConfig().objectMapper()))
+            .when(redisTemplate).getValueSerializer();
+        meterRegistry = new SimpleMeterRegistry();
+
+        SecurityPolicyProperties properties = new SecurityPolicyProperties();
+        properties.setEnableSuspiciousActivityDetection(false);
+        IpListNearCache nearCache = new IpListNearCache(properties, mock(RedisConnectionFactory.class), stringRedisTemplate);
+        service = new IpTrackingService(properties, redisTemplate, nearCache, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("普通请求只执行一次准入脚本")
+    void testRecordRequest_SingleRoundTrip() {
+        stubAdmission(0L, 1L, 1L);
+
+        assertTrue(service.recordRequest("10.0.0.1", "Mozilla/5.0"));
+
+        verifyAdmissionCalls(1);
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(redisTemplate, never()).opsForSet();
+        assertEquals(1, meterRegistry.get("security.ip.admission")
+            .tags("decision", "allowed", "source", "redis").timer().count());
+    }
+
+    @Test
+    @DisplayName("超过限流后拉黑，后续请求由近缓存直接拒绝")
+    void testRecordRequest_RateLimitedThenServedFromNearCache() {
+        stubAdmission(3L, 101L, 0L);
+
+        assertFalse(service.recordRequest("10.0.0.2", "curl"));
+        assertFalse(service.recordRequest("10.0.0.2", "curl"));
+        assertTrue(service.isBlacklisted("10.0.0.2"));
+
+        verifyAdmissionCalls(1);
+        verify(redisTemplate, never()).hasKey(anyString());
+        assertEquals(1, meterRegistry.get("security.ip.admission")
+            .tags("decision", "blacklisted", "source", "near_cache").timer().count());
+    }
+
+    @Test
+    @DisplayName("白名单结果进入近缓存，移出白名单时失效并通知其他节点")
+    void testWhitelistNearCacheInvalidation() {
+        stubAdmission(1L, 0L, 0L);
+
+        assertTrue(service.recordRequest("10.0.0.3", null));
+        assertTrue(service.recordRequest("10.0.0.3", null));
+        verifyAdmissionCalls(1);
+
+        service.removeFromWhitelist("10.0.0.3");
+        verify(stringRedisTemplate).convertAndSend(IpListNearCache.INVALIDATION_CHANNEL, "10.0.0.3");
+
+        stubAdmission(0L, 1L, 0L);
+        assertTrue(service.recordRequest("10.0.0.3", null));
+        verifyAdmissionCalls(2);
+    }
+
+    @Test
+    @DisplayName("Redis异常时放行请求")
+    @SuppressWarnings("unchecked")
+    void testRecordRequest_FailsOpen() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+            anyList(), any(Object[].class))).thenThrow(new IllegalStateException("redis down"));
+
+        assertTrue(service.recordRequest("10.0.0.4", "curl"));
+        assertEquals(1, meterRegistry.get("security.ip.admission").tags("decision", "error").timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubAdmission(long status, long count, long userAgents) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+            anyList(), any(Object[].class))).thenReturn(List.of(status, count, userAgents));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyAdmissionCalls(int times) {
+        verify(redisTemplate, times(times)).execute(any(RedisScript.class), any(RedisSerializer.class),
+            any(RedisSerializer.class), anyList(), any(Object[].class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ynet.mgmt.clustering.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalDbscan 测试
+ * 使用合成向量：3 个紧密的簇加若干离散噪声点
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("增量DBSCAN测试")
+class IncrementalDbscanTest {
+
+    private static final int DIMENSION = 64;
+
+    private ForkJoinPool pool;
+    private List<String> texts;
+    private Map<String, float[]> vectors;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        texts = new ArrayList<>();
+        vectors = new HashMap<>();
+
+        Random random = new Random(7);
+        for (int c = 0; c < 3; c++) {
+            float[] center = randomUnit(random);
+            for (int i = 0; i < 10; i++) {
+                float[] point = new float[DIMENSION];
+                for (int d = 0; d < DIMENSION; d++) {
+                    point[d] = center[d] + (float) random.nextGaussian() * 0.02f;
+                }
+                add("簇" + c + "-" + i, point);
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            add("噪声-" + i, randomUnit(random));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("精确邻域查询应识别出3个簇和3个噪声点")
+    void testBruteForceClustering() throws Exception {
+        IncrementalDbscan dbscan = new IncrementalDbscan(0.2, "cosine", 10000, 12, 10);
+        dbscan.update(texts, vectors, pool);
+
+        int[] labels = dbscan.label(texts, 3);
+
+        assertEquals(3, Arrays.stream(labels).filter(l -> l >= 0).distinct().count());
+        assertEquals(3, Arrays.stream(labels).filter(l -> l == IncrementalDbscan.NOISE).count());
+        assertEquals(0, labels[0]);
+        assertEquals(1, labels[10]);
+        assertEquals(2, labels[20]);
+    }
+
+    @Test
+    @DisplayName("LSH近邻索引的结果应与精确查询一致")
+    void testLshMatchesBruteForce() throws Exception {
+        IncrementalDbscan exact = new IncrementalDbscan(0.2, "cosine", 10000, 12, 10);
+        exact.update(texts, vectors, pool);
+        IncrementalDbscan approximate = new IncrementalDbscan(0.2, "cosine", 0, 12, 10);
+        approximate.update(texts, vectors, pool);
+
+        assertArrayEquals(exact.label(texts, 3), approximate.label(texts, 3));
+    }
+
+    @Test
+    @DisplayName("增量新增和过期文本后的结果应与全量重算一致")
+    void testIncrementalUpdateMatchesFullRebuild() throws Exception {
+        IncrementalDbscan incremental = new IncrementalDbscan(0.2, "cosine", 0, 12, 10);
+        incremental.update(texts.subList(0, 15), vectors, pool);
+
+        // 窗口滑动：前5条过期，其余新增
+        List<String> window = texts.subList(5, texts.size());
+        List<String> added = incremental.findNewTexts(window);
+        assertEquals(texts.size() - 15, added.size());
+        assertEquals(added.size(), incremental.update(window, vectors, pool));
+
+        IncrementalDbscan rebuilt = new IncrementalDbscan(0.2, "cosine", 0, 12, 10);
+        rebuilt.update(window, vectors, pool);
+
+        assertEquals(window.size(), incremental.size());
+        assertArrayEquals(rebuilt.label(window, 3), incremental.label(window, 3));
+    }
+
+    @Test
+    @DisplayName("minSamples过大时所有点均为噪声")
+    void testMinSamplesControlsCorePoints() throws Exception {
+        IncrementalDbscan dbscan = new IncrementalDbscan(0.2, "euclidean", 10000, 12, 10);
+        dbscan.update(texts, vectors, pool);
+
+        assertTrue(Arrays.stream(dbscan.label(texts, 11)).allMatch(l -> l == IncrementalDbscan.NOISE));
+    }
+
+    private void add(String text, float[] vector) {
+        texts.add(text);
+        vectors.put(text, vector);
+    }
+
+    private float[] randomUnit(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return VectorMath.normalize(vector);
+    }
+}
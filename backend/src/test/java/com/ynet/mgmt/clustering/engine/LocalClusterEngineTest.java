@@ -0,0 +1,67 @@
+package com.ynet.mgmt.clustering.engine;
+
+import com.ynet.mgmt.clustering.config.ClusterProperties;
+import com.ynet.mgmt.clustering.dto.ClusterAnalysisResponse;
+import com.ynet.mgmt.clustering.dto.ScatterPointDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * LocalClusterEngine 测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("本地聚类引擎测试")
+class LocalClusterEngineTest {
+
+    private QueryEmbeddingStore embeddingStore;
+    private LocalClusterEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ClusterProperties properties = new ClusterProperties();
+        properties.getLocal().setParallelism(2);
+        embeddingStore = mock(QueryEmbeddingStore.class);
+        ClusterTopicGenerator topicGenerator = mock(ClusterTopicGenerator.class);
+        when(topicGenerator.generate(anyInt(), any()))
+                .thenReturn(new ClusterTopicGenerator.TopicInfo("话题", List.of("标签")));
+        engine = new LocalClusterEngine(properties, embeddingStore, topicGenerator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("向量化失败的文本从结果中排除，不影响其余文本的聚类和投影")
+    void testPerformClustering_SkipsTextsWithoutEmbedding() {
+        List<String> texts = List.of("信用卡办理", "信用卡申请", "信用卡开通", "向量化失败的文本");
+        Map<String, float[]> embeddings = new HashMap<>();
+        embeddings.put("信用卡办理", new float[]{1.0f, 0.0f, 0.01f});
+        embeddings.put("信用卡申请", new float[]{1.0f, 0.02f, 0.0f});
+        embeddings.put("信用卡开通", new float[]{0.99f, 0.0f, 0.02f});
+        when(embeddingStore.getEmbeddings(any(), any())).thenReturn(embeddings);
+
+        ClusterAnalysisResponse response = engine.performClustering("test", texts, 0.2, 2, "cosine");
+
+        assertEquals(3, response.getTotalTexts());
+        assertEquals(1, response.getValidClusters());
+        assertEquals(3, response.getScatterData().size());
+        assertTrue(response.getScatterData().stream()
+                .map(ScatterPointDTO::getText)
+                .noneMatch("向量化失败的文本"::equals));
+    }
+}
@@ -1,6 +1,18 @@
 package com.ynet.mgmt.common.utils;
 
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -83,4 +95,63 @@ class PinyinUtilsTest {
         String[] result3 = PinyinUtils.toPinyinAllCombinations("", 10);
         assertEquals(0, result3.length);
     }
+
+    @Test
+    void testToPinyinAllCombinationsPolyphone() {
+        // 多音字去掉声调后的重复读音只保留一次
+        String[] result = PinyinUtils.toPinyinAllCombinations("快乐", 10);
+        assertEquals(List.of("kuaile", "kuaiyue"), Arrays.asList(result));
+        assertEquals(1, PinyinUtils.toPinyinAllCombinations("好", 10).length);
+
+        // 超过最大组合数时只返回首读音组合
+        String[] limited = PinyinUtils.toPinyinAllCombinations("乐乐乐乐", 4);
+        assertArrayEquals(new String[]{PinyinUtils.toPinyin("乐乐乐乐")}, limited);
+    }
+
+    @Test
+    void testPinyinCombinationsIsBounded() {
+        Iterator<String> iterator = PinyinUtils.pinyinCombinations("乐行长重", 3);
+        List<String> combinations = new ArrayList<>();
+        iterator.forEachRemaining(combinations::add);
+
+        assertEquals(3, combinations.size());
+        assertEquals(PinyinUtils.toPinyin("乐行长重"), combinations.get(0));
+        assertEquals(3, new LinkedHashSet<>(combinations).size());
+    }
+
+    @Test
+    void testAppendToCallerBuffer() {
+        StringBuilder buffer = new StringBuilder("q:");
+        PinyinUtils.appendPinyin("取现", buffer);
+        buffer.append('/');
+        PinyinUtils.appendPinyinFirstLetter("转账a", buffer);
+        assertEquals("q:quxian/zza", buffer.toString());
+
+        char[] dest = new char[6];
+        assertEquals(3, PinyinUtils.toPinyinFirstLetter("余额1", dest, 2));
+        assertEquals("ye1", new String(dest, 2, 3));
+    }
+
+    @Test
+    void testTableMatchesPinyin4j() throws Exception {
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        format.setVCharType(HanyuPinyinVCharType.WITH_V);
+        PinyinTable table = PinyinTable.getInstance();
+
+        for (char ch = PinyinTable.FIRST; ch <= PinyinTable.LAST; ch++) {
+            String[] expected = PinyinHelper.toHanyuPinyinStringArray(ch, format);
+            if (expected == null || expected.length == 0) {
+                assertNull(table.primary(ch));
+                continue;
+            }
+            List<String> readings = new ArrayList<>();
+            for (int i = 0; i < table.readingCount(ch); i++) {
+                readings.add(table.reading(ch, i));
+            }
+            assertEquals(new ArrayList<>(new LinkedHashSet<>(Arrays.asList(expected))), readings, "char " + ch);
+        }
+        assertNull(table.primary('a'));
+    }
 }
@@ -0,0 +1,147 @@
+package com.ynet.mgmt.hotTopic.service;
+
+import com.ynet.mgmt.hotTopic.entity.HotTopic;
+import com.ynet.mgmt.hotTopic.repository.HotTopicRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 热门话题趋势服务测试
+ * 验证搜索事件计入、按搜索空间隔离以及热度回写的噪声下限、预热期与租约
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("热门话题趋势服务测试")
+class HotTopicTrendingServiceTest {
+
+    private HotTopicRepository hotTopicRepository;
+    private VisibleHotTopicCache visibleHotTopicCache;
+    private ValueOperations<String, String> valueOperations;
+    private RedisTemplate<String, String> redisTemplate;
+    private HotTopicTrendingService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        hotTopicRepository = mock(HotTopicRepository.class);
+        visibleHotTopicCache = mock(VisibleHotTopicCache.class);
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(HotTopicTrendingService.WRITER_LEASE_KEY), any(), any(Duration.class)))
+                .thenReturn(true);
+        service = newService(Duration.ZERO);
+    }
+
+    private HotTopicTrendingService newService(Duration warmup) {
+        return new HotTopicTrendingService(hotTopicRepository, visibleHotTopicCache, redisTemplate,
+                new SimpleMeterRegistry(), 4, 1024, 10, Duration.ofHours(6), 10, false, Duration.ofMinutes(1), warmup);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("查询词规范化后计入全局和所属搜索空间")
+    void testRecord_GlobalAndPerSpace() {
+        service.record(1L, "  Spring   Boot ");
+        service.record(1L, "spring boot");
+        service.record(2L, "淘宝");
+        service.record(null, "   ");
+
+        assertThat(service.getTrending(null, 10)).extracting("term").containsExactly("spring boot", "淘宝");
+        assertThat(service.getTrending(1L, 10)).extracting("term").containsExactly("spring boot");
+        assertThat(service.getTrending(2L, 10)).extracting("term").containsExactly("淘宝");
+        assertThat(service.getTrending(3L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("回写只按ID更新候选堆中热度变化的话题并刷新快照")
+    void testWriteBack_UpdatesSearchedTopics() {
+        HotTopic searched = topic(1L, "Spring Boot", 1);
+        HotTopic unchanged = topic(2L, "淘宝", 3);
+        HotTopic manual = topic(3L, "无人搜索", 99);
+        when(hotTopicRepository.findAll()).thenReturn(List.of(searched, unchanged, manual));
+        when(hotTopicRepository.updatePopularity(anyLong(), anyInt())).thenReturn(1);
+
+        for (int i = 0; i < 5; i++) {
+            service.record(1L, "spring boot");
+        }
+        for (int i = 0; i < 3; i++) {
+            service.record(1L, "淘宝");
+        }
+
+        assertThat(service.writeBack()).isEqualTo(1);
+
+        verify(hotTopicRepository).updatePopularity(1L, 5);
+        verify(hotTopicRepository, never()).updatePopularity(eq(2L), anyInt());
+        verify(hotTopicRepository, never()).updatePopularity(eq(3L), anyInt());
+        verify(hotTopicRepository, never()).saveAll(any());
+        verify(visibleHotTopicCache).refresh();
+    }
+
+    @Test
+    @DisplayName("分数不超过Sketch噪声下限的话题不回写")
+    void testWriteBack_SkipsScoresBelowNoiseFloor() {
+        HotTopic heavy = topic(1L, "热门", 0);
+        HotTopic rare = topic(2L, "冷门", 50);
+        when(hotTopicRepository.findAll()).thenReturn(List.of(heavy, rare));
+        when(hotTopicRepository.updatePopularity(anyLong(), anyInt())).thenReturn(1);
+
+        for (int i = 0; i < 2000; i++) {
+            service.record(null, "热门");
+        }
+        service.record(null, "冷门");
+
+        assertThat(service.writeBack()).isEqualTo(1);
+        verify(hotTopicRepository).updatePopularity(1L, 2000);
+        verify(hotTopicRepository, never()).updatePopularity(eq(2L), anyInt());
+    }
+
+    @Test
+    @DisplayName("预热期内不回写，避免重启后以少量计数覆盖原热度")
+    void testWriteBack_SkippedDuringWarmup() {
+        service.shutdown();
+        service = newService(Duration.ofHours(1));
+        service.record(null, "spring boot");
+
+        assertThat(service.writeBack()).isZero();
+        verifyNoInteractions(hotTopicRepository);
+    }
+
+    @Test
+    @DisplayName("回写租约由其他实例持有时不回写")
+    void testWriteBack_SkippedWithoutLease() {
+        when(valueOperations.setIfAbsent(eq(HotTopicTrendingService.WRITER_LEASE_KEY), any(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(HotTopicTrendingService.WRITER_LEASE_KEY)).thenReturn("other-instance");
+        service.record(null, "spring boot");
+
+        assertThat(service.writeBack()).isZero();
+        verifyNoInteractions(hotTopicRepository);
+    }
+
+    private static HotTopic topic(Long id, String name, int popularity) {
+        HotTopic topic = new HotTopic(name, popularity, true);
+        topic.setId(id);
+        return topic;
+    }
+}
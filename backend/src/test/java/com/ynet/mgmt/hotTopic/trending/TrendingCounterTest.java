@@ -0,0 +1,87 @@
+package com.ynet.mgmt.hotTopic.trending;
+
+import com.ynet.mgmt.hotTopic.dto.TrendingTopicDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 趋势计数器测试
+ * 验证衰减计数、top-k 替换以及 landmark 前移后的分数一致性
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("趋势计数器测试")
+class TrendingCounterTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    @DisplayName("计数按半衰期衰减")
+    void testSketch_DecaysByHalfLife() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, HOUR, 0L);
+        for (int i = 0; i < 8; i++) {
+            sketch.add("天气", 0L);
+        }
+
+        assertThat(sketch.estimate("天气", 0L)).isCloseTo(8.0, within(1e-9));
+        assertThat(sketch.estimate("天气", HOUR)).isCloseTo(4.0, within(1e-9));
+        assertThat(sketch.estimate("天气", 3 * HOUR)).isCloseTo(1.0, within(1e-9));
+        assertThat(sketch.estimate("未出现", 0L)).isZero();
+    }
+
+    @Test
+    @DisplayName("top-k 保留估计值最高的词，新热词替换堆顶")
+    void testTop_KeepsHeavyHitters() {
+        TrendingCounter counter = new TrendingCounter(4, 1024, 2, HOUR, 0L);
+        record(counter, "a", 5, 0L);
+        record(counter, "b", 3, 0L);
+        record(counter, "c", 1, 0L);
+
+        assertThat(counter.top(10, 0L)).extracting(TrendingTopicDTO::getTerm).containsExactly("a", "b");
+
+        record(counter, "c", 4, 0L);
+        List<TrendingTopicDTO> top = counter.top(10, 0L);
+        assertThat(top).extracting(TrendingTopicDTO::getTerm).containsExactly("a", "c");
+        assertThat(top.get(1).getScore()).isCloseTo(5.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("近期搜索胜过早期搜索")
+    void testTop_RecentOutranksOld() {
+        TrendingCounter counter = new TrendingCounter(4, 1024, 10, HOUR, 0L);
+        record(counter, "旧话题", 10, 0L);
+        record(counter, "新话题", 4, 4 * HOUR);
+
+        List<TrendingTopicDTO> top = counter.top(10, 4 * HOUR);
+        assertThat(top).extracting(TrendingTopicDTO::getTerm).containsExactly("新话题", "旧话题");
+        assertThat(top.get(1).getScore()).isCloseTo(10.0 / 16, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("长时间运行后 landmark 前移不影响分数")
+    void testTop_RescaleKeepsScores() {
+        TrendingCounter counter = new TrendingCounter(4, 1024, 10, HOUR, 0L);
+        record(counter, "x", 2, 0L);
+        // 100 个半衰期后权重指数约 69，超过重设阈值
+        long later = 100 * HOUR;
+        record(counter, "y", 3, later);
+
+        List<TrendingTopicDTO> top = counter.top(10, later);
+        assertThat(top.get(0).getTerm()).isEqualTo("y");
+        assertThat(top.get(0).getScore()).isCloseTo(3.0, within(1e-9));
+        assertThat(counter.estimate("y", later + HOUR)).isCloseTo(1.5, within(1e-9));
+        assertThat(top.get(1).getScore()).isLessThan(1e-20);
+    }
+
+    private void record(TrendingCounter counter, String term, int times, long now) {
+        for (int i = 0; i < times; i++) {
+            counter.record(term, now);
+        }
+    }
+}
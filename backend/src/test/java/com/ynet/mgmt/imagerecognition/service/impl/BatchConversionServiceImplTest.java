@@ -0,0 +1,287 @@
+package com.ynet.mgmt.imagerecognition.service.impl;
+
+import com.ynet.mgmt.imagerecognition.config.BatchConversionProperties;
+import com.ynet.mgmt.imagerecognition.config.ThumbnailProperties;
+import com.ynet.mgmt.imagerecognition.dto.ActivityBulkIndexResult;
+import com.ynet.mgmt.imagerecognition.dto.ActivityIndexItem;
+import com.ynet.mgmt.imagerecognition.dto.ActivityInfo;
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionProgress;
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionRequest;
+import com.ynet.mgmt.imagerecognition.dto.BatchConversionResponse;
+import com.ynet.mgmt.imagerecognition.service.ActivityIndexService;
+import com.ynet.mgmt.imagerecognition.service.SiliconFlowVisionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchConversionServiceImpl 测试
+ * 使用 H2 内存库模拟源数据表
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("批量图片识别流水线测试")
+class BatchConversionServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String jdbcUrl;
+    private Connection keepAlive;
+    private SiliconFlowVisionService visionService;
+    private ActivityIndexService activityIndexService;
+    private BatchConversionCheckpointStore checkpointStore;
+    private ExecutorService decodeExecutor;
+    private ExecutorService visionExecutor;
+    private BatchConversionServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcUrl = "jdbc:h2:mem:batch_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1";
+        keepAlive = DriverManager.getConnection(jdbcUrl, "sa", "");
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE posters (id INT PRIMARY KEY, image_path VARCHAR(500))");
+        }
+        try (PreparedStatement insert = keepAlive.prepareStatement("INSERT INTO posters VALUES (?, ?)")) {
+            for (int i = 1; i <= 5; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, createImage("poster" + i + ".png"));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        visionService = mock(SiliconFlowVisionService.class);
+        activityIndexService = mock(ActivityIndexService.class);
+        checkpointStore = mock(BatchConversionCheckpointStore.class);
+        when(visionService.recognizeImage(any())).thenAnswer(invocation -> {
+            ActivityInfo info = new ActivityInfo();
+            info.setName("活动");
+            info.setAll("活动内容");
+            return info;
+        });
+        when(activityIndexService.bulkInsertActivities(anyList(), anyString())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        ThumbnailProperties thumbnailProperties = new ThumbnailProperties();
+        thumbnailProperties.setCacheDir(tempDir.resolve("thumbnails").toString());
+        ThumbnailServiceImpl thumbnailService = new ThumbnailServiceImpl(thumbnailProperties);
+        thumbnailService.init();
+
+        BatchConversionProperties properties = new BatchConversionProperties();
+        properties.setChunkSize(2);
+        properties.setFetchSize(2);
+        properties.setVisionRatePerSecond(0.0);
+        properties.setIndexRetryBackoffMs(0L);
+
+        decodeExecutor = Executors.newFixedThreadPool(2);
+        visionExecutor = Executors.newFixedThreadPool(2);
+        service = new BatchConversionServiceImpl(visionService, activityIndexService, thumbnailService, properties,
+                checkpointStore, decodeExecutor, visionExecutor) {
+            @Override
+            Connection connectToDatabase(BatchConversionRequest request) throws java.sql.SQLException {
+                return DriverManager.getConnection(jdbcUrl, "sa", "");
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        decodeExecutor.shutdownNow();
+        visionExecutor.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("已存在的文档应在调用Vision之前跳过，其余按批bulk写入并保存断点")
+    void testSkipsExistingBeforeVisionAndBulkIndexes() throws Exception {
+        when(activityIndexService.findExistingIds(anyCollection(), eq("activity"))).thenReturn(Set.of("2"));
+
+        BatchConversionResponse response = service.batchRecognizeImages(request());
+
+        assertTrue(response.isSuccess());
+        assertEquals(4, response.getSuccessCount());
+        assertEquals(4, response.getInsertedCount());
+        assertEquals(1, response.getSkippedCount());
+        verify(visionService, times(4)).recognizeImage(any());
+        verify(activityIndexService, times(3)).bulkInsertActivities(anyList(), eq("activity"));
+        verify(activityIndexService, never()).insertActivity(any(), any(), any(), any());
+
+        ArgumentCaptor<String> checkpoints = ArgumentCaptor.forClass(String.class);
+        verify(checkpointStore, times(3)).save(anyString(), checkpoints.capture());
+        assertEquals(List.of("2", "4", "5"), checkpoints.getAllValues());
+        verify(checkpointStore).clear(response.getJobKey());
+        assertTrue(response.getResults().stream()
+                .allMatch(r -> r.getThumbnailUrl().startsWith("/image/thumbnails/") && r.getThumbnailBase64() == null),
+                "结果中应只包含缩略图地址");
+
+        List<BatchConversionProgress> progress = service.getProgress();
+        assertEquals(1, progress.size());
+        assertEquals("COMPLETED", progress.get(0).getStatus());
+        assertEquals(5, progress.get(0).getProcessedCount());
+    }
+
+    @Test
+    @DisplayName("存在断点时应只处理断点之后的记录")
+    void testResumesFromCheckpoint() throws Exception {
+        when(checkpointStore.load(anyString())).thenReturn("3");
+
+        BatchConversionResponse response = service.batchRecognizeImages(request());
+
+        assertTrue(response.isSuccess());
+        assertEquals("3", response.getResumedFrom());
+        assertEquals(2, response.getTotalCount());
+        assertEquals(List.of("4", "5"), response.getResults().stream()
+                .map(r -> r.getId()).collect(Collectors.toList()));
+        verify(visionService, times(2)).recognizeImage(any());
+    }
+
+    @Test
+    @DisplayName("单张图片失败不影响同批其他图片")
+    void testFailureIsolatedPerImage() throws Exception {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("UPDATE posters SET image_path = '/not/exists.png' WHERE id = 3");
+        }
+        BatchConversionRequest request = request();
+        request.setResume(false);
+
+        BatchConversionResponse response = service.batchRecognizeImages(request);
+
+        assertTrue(response.isSuccess());
+        assertEquals(5, response.getTotalCount());
+        assertEquals(4, response.getSuccessCount());
+        assertEquals(1, response.getFailureCount());
+        assertFalse(response.getResults().get(2).isSuccess());
+        verify(checkpointStore, never()).load(anyString());
+
+        // 识别失败的记录冻结断点，任务结束时保留断点供续传重试
+        ArgumentCaptor<String> checkpoints = ArgumentCaptor.forClass(String.class);
+        verify(checkpointStore, times(1)).save(anyString(), checkpoints.capture());
+        assertEquals(List.of("2"), checkpoints.getAllValues());
+        verify(checkpointStore, times(1)).clear(anyString());
+        assertEquals("3", service.getProgress().get(0).getFirstFailedId());
+    }
+
+    @Test
+    @DisplayName("bulk请求失败时重试，重试成功后正常推进断点")
+    void testBulkFailureRetried() throws Exception {
+        when(activityIndexService.bulkInsertActivities(anyList(), eq("activity")))
+                .thenThrow(new IllegalStateException("es unavailable"))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        BatchConversionResponse response = service.batchRecognizeImages(request());
+
+        assertTrue(response.isSuccess());
+        assertEquals(5, response.getInsertedCount());
+        verify(activityIndexService, times(4)).bulkInsertActivities(anyList(), eq("activity"));
+        verify(checkpointStore).clear(response.getJobKey());
+    }
+
+    @Test
+    @DisplayName("bulk请求重试后仍失败时任务失败，断点停在上一批，已识别的数据不计为跳过")
+    void testBulkFailureAbortsWithoutAdvancingCheckpoint() throws Exception {
+        when(activityIndexService.bulkInsertActivities(anyList(), eq("activity")))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("es unavailable"));
+
+        BatchConversionResponse response = service.batchRecognizeImages(request());
+
+        assertFalse(response.isSuccess());
+        verify(activityIndexService, times(4)).bulkInsertActivities(anyList(), eq("activity"));
+        ArgumentCaptor<String> checkpoints = ArgumentCaptor.forClass(String.class);
+        verify(checkpointStore).save(anyString(), checkpoints.capture());
+        assertEquals(List.of("2"), checkpoints.getAllValues());
+        verify(checkpointStore, never()).clear(anyString());
+
+        BatchConversionProgress progress = service.getProgress().get(0);
+        assertEquals("FAILED", progress.getStatus());
+        assertEquals("2", progress.getCheckpoint());
+        assertEquals(0, progress.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("非409条目错误只重试失败条目，仍失败时计入写入失败并冻结断点")
+    @SuppressWarnings("unchecked")
+    void testItemFailureRetriedThenFreezesCheckpoint() throws Exception {
+        when(activityIndexService.bulkInsertActivities(anyList(), eq("activity"))).thenAnswer(invocation -> {
+            List<ActivityIndexItem> items = invocation.getArgument(0);
+            ActivityBulkIndexResult result = new ActivityBulkIndexResult();
+            for (ActivityIndexItem item : items) {
+                if ("4".equals(item.getId())) {
+                    result.getFailures().put(item.getId(), "mapper_parsing_exception");
+                } else if ("1".equals(item.getId())) {
+                    result.getExistingIds().add(item.getId());
+                } else {
+                    result.getCreatedIds().add(item.getId());
+                }
+            }
+            return result;
+        });
+
+        BatchConversionResponse response = service.batchRecognizeImages(request());
+
+        assertTrue(response.isSuccess());
+        assertEquals(3, response.getInsertedCount());
+        assertEquals(1, response.getSkippedCount());
+        assertEquals(1, response.getIndexFailureCount());
+        // 第二批：首次写入 + 两次只含失败条目的重试
+        ArgumentCaptor<List<ActivityIndexItem>> batches = ArgumentCaptor.forClass(List.class);
+        verify(activityIndexService, times(5)).bulkInsertActivities(batches.capture(), eq("activity"));
+        assertEquals(List.of("4"), batches.getAllValues().get(2).stream()
+                .map(ActivityIndexItem::getId).collect(Collectors.toList()));
+
+        ArgumentCaptor<String> checkpoints = ArgumentCaptor.forClass(String.class);
+        verify(checkpointStore, times(2)).save(anyString(), checkpoints.capture());
+        assertEquals(List.of("2", "3"), checkpoints.getAllValues());
+        verify(checkpointStore, never()).clear(anyString());
+        assertEquals("4", service.getProgress().get(0).getFirstFailedId());
+    }
+
+    private static ActivityBulkIndexResult created(List<ActivityIndexItem> items) {
+        ActivityBulkIndexResult result = new ActivityBulkIndexResult();
+        items.forEach(item -> result.getCreatedIds().add(item.getId()));
+        return result;
+    }
+
+    private BatchConversionRequest request() {
+        BatchConversionRequest request = new BatchConversionRequest();
+        request.setDbHost("localhost");
+        request.setDbPort(3306);
+        request.setDbName("test");
+        request.setDbUsername("sa");
+        request.setDbPassword("");
+        request.setTableName("posters");
+        request.setImagePathColumn("image_path");
+        request.setIndexName("activity");
+        return request;
+    }
+
+    private String createImage(String name) throws Exception {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        File file = tempDir.resolve(name).toFile();
+        ImageIO.write(image, "png", file);
+        return file.getAbsolutePath();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ynet.mgmt.imagerecognition.service.impl;
+
+import com.ynet.mgmt.imagerecognition.config.ThumbnailProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ThumbnailServiceImpl 测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("缩略图服务测试")
+class ThumbnailServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        thumbnailService = newService(null);
+    }
+
+    private ThumbnailServiceImpl newService(String keySecret) throws Exception {
+        ThumbnailProperties properties = new ThumbnailProperties();
+        properties.setCacheDir(tempDir.resolve("cache").toString());
+        properties.setKeySecret(keySecret);
+        ThumbnailServiceImpl service = new ThumbnailServiceImpl(properties);
+        service.init();
+        return service;
+    }
+
+    @Test
+    @DisplayName("大图应采样解码为不超过目标尺寸的缩略图并保持宽高比")
+    void testCreatesSubsampledThumbnail() throws Exception {
+        File image = createImage("large.png", 2400, 1200);
+
+        String key = thumbnailService.getOrCreateThumbnail(image);
+
+        Path thumbnail = thumbnailService.resolveThumbnail(key);
+        assertNotNull(thumbnail);
+        BufferedImage result = ImageIO.read(thumbnail.toFile());
+        assertEquals(200, result.getWidth());
+        assertEquals(100, result.getHeight());
+        assertEquals("/image/thumbnails/" + key, thumbnailService.buildThumbnailUrl(key));
+    }
+
+    @Test
+    @DisplayName("原图未变化时复用缓存，修改后生成新缩略图")
+    void testCacheKeyedByPathAndModificationTime() throws Exception {
+        File image = createImage("poster.png", 800, 600);
+
+        String first = thumbnailService.getOrCreateThumbnail(image);
+        long cachedAt = Files.getLastModifiedTime(thumbnailService.resolveThumbnail(first)).toMillis();
+        assertEquals(first, thumbnailService.getOrCreateThumbnail(image));
+        assertEquals(cachedAt, Files.getLastModifiedTime(thumbnailService.resolveThumbnail(first)).toMillis());
+
+        ImageIO.write(new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB), "png", image);
+        assertTrue(image.setLastModified(image.lastModified() + 5000));
+        String second = thumbnailService.getOrCreateThumbnail(image);
+
+        assertNotEquals(first, second);
+        assertNotNull(thumbnailService.resolveThumbnail(second));
+    }
+
+    @Test
+    @DisplayName("标识依赖服务端密钥：未配置时生成的密钥重启后保持不变，不同密钥得到不同标识")
+    void testCacheKeyDependsOnServerSecret() throws Exception {
+        File image = createImage("secret.png", 400, 300);
+        String key = thumbnailService.getOrCreateThumbnail(image);
+
+        ThumbnailServiceImpl restarted = newService(null);
+        assertEquals(key, restarted.getOrCreateThumbnail(image));
+
+        ThumbnailServiceImpl configured = newService("another-secret");
+        assertNotEquals(key, configured.getOrCreateThumbnail(image));
+    }
+
+    @Test
+    @DisplayName("非法标识不应解析为缓存文件")
+    void testRejectsInvalidKey() {
+        assertNull(thumbnailService.resolveThumbnail("../../etc/passwd"));
+        assertNull(thumbnailService.resolveThumbnail("a".repeat(64)));
+        assertNull(thumbnailService.resolveThumbnail(null));
+    }
+
+    private File createImage(String name, int width, int height) throws Exception {
+        File file = tempDir.resolve(name).toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+        return file;
+    }
+}
@@ -8,6 +8,7 @@ import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
 import com.ynet.mgmt.searchspace.service.ElasticsearchManager;
 import com.ynet.mgmt.searchspace.service.FileStorageService;
 import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +51,9 @@ class DataImportServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private SearchCacheInvalidator searchCacheInvalidator;
+
     @InjectMocks
     private DataImportService dataImportService;
 
@@ -0,0 +1,152 @@
+package com.ynet.mgmt.jsonimport.service;
+
+import com.ynet.mgmt.config.JpaConfig;
+import com.ynet.mgmt.jsonimport.dto.ImportExecuteRequest;
+import com.ynet.mgmt.jsonimport.dto.ImportTaskStatus;
+import com.ynet.mgmt.jsonimport.entity.ImportJob;
+import com.ynet.mgmt.jsonimport.enums.ImportTaskState;
+import com.ynet.mgmt.jsonimport.repository.ImportJobRepository;
+import com.ynet.mgmt.searchspace.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ImportJobService测试
+ * 验证租约认领、同一搜索空间串行执行、检查点与取消
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DataJpaTest
+@Import(JpaConfig.class)
+@ActiveProfiles("test")
+@DisplayName("ImportJobService测试")
+class ImportJobServiceTest {
+
+    @Autowired
+    private ImportJobRepository repository;
+
+    @TempDir
+    Path tempDir;
+
+    private ImportJobService nodeA;
+    private ImportJobService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.getTemporaryFilePath(anyString()))
+                .thenAnswer(invocation -> tempDir.resolve(invocation.<String>getArgument(0)));
+        nodeA = new ImportJobService(repository, fileStorageService, "node-a", Duration.ofMinutes(2));
+        nodeB = new ImportJobService(repository, fileStorageService, "node-b", Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("任务同一时刻只能被一个节点认领，租约过期后由其他节点接管")
+    void testClaimIsExclusiveUntilLeaseExpires() throws IOException {
+        String taskId = submit(1L).getTaskId();
+
+        ImportJob claimed = nodeA.claim(taskId).orElseThrow();
+        assertEquals("node-a", claimed.getLeaseOwner());
+        assertEquals(ImportTaskState.RUNNING, claimed.getState());
+        assertEquals(1, claimed.getAttempts());
+        assertTrue(nodeB.claim(taskId).isEmpty());
+        assertTrue(nodeB.findClaimable().isEmpty());
+
+        // 模拟节点A宕机：租约过期
+        ImportJob job = repository.findById(taskId).orElseThrow();
+        job.setLeaseExpiresAt(job.getLeaseExpiresAt().minusMinutes(5));
+        repository.saveAndFlush(job);
+
+        ImportJob takenOver = nodeB.claim(taskId).orElseThrow();
+        assertEquals("node-b", takenOver.getLeaseOwner());
+        assertEquals(2, takenOver.getAttempts());
+        assertFalse(nodeA.renewLease(taskId));
+        assertTrue(nodeB.renewLease(taskId));
+    }
+
+    @Test
+    @DisplayName("同一搜索空间只有最早的未结束任务可被认领")
+    void testJobsOfSameSearchSpaceRunSerially() throws IOException {
+        String first = submit(1L).getTaskId();
+        String second = submit(1L).getTaskId();
+        String otherSpace = submit(2L).getTaskId();
+
+        assertEquals(List.of(first, otherSpace), ids(nodeA.findClaimable()));
+
+        nodeA.claim(first).orElseThrow();
+        assertEquals(List.of(otherSpace), ids(nodeB.findClaimable()));
+
+        ImportTaskStatus status = nodeA.getStatus(first);
+        status.setState(ImportTaskState.COMPLETED);
+        assertTrue(nodeA.finish(first, status));
+        assertEquals(List.of(second, otherSpace), ids(nodeB.findClaimable()));
+    }
+
+    @Test
+    @DisplayName("检查点保存进度，取消后持有节点的检查点失败")
+    void testCheckpointAndCancel() throws IOException {
+        String taskId = submit(1L).getTaskId();
+        nodeA.claim(taskId).orElseThrow();
+
+        ImportTaskStatus status = nodeA.getStatus(taskId);
+        status.setState(ImportTaskState.PROCESSING_DATA);
+        status.setTotalRecords(3000);
+        status.setTotalBatches(3);
+        status.setProcessedRecords(2000);
+        status.setSuccessCount(1990);
+        status.setErrorCount(10);
+        status.setCurrentBatch(2);
+        assertTrue(nodeA.checkpoint(taskId, status, true));
+        assertFalse(nodeB.checkpoint(taskId, status, true));
+
+        ImportJob saved = repository.findById(taskId).orElseThrow();
+        assertEquals(2000, saved.getProcessedRecords());
+        assertEquals(2, saved.getCurrentBatch());
+        assertTrue(saved.getIndexPrepared());
+
+        // 任一节点都可以查询和取消
+        assertEquals(2000, nodeB.getStatus(taskId).getProcessedRecords());
+        assertTrue(nodeB.cancel(taskId));
+        assertFalse(nodeB.cancel(taskId));
+        assertFalse(nodeA.checkpoint(taskId, status, true));
+        assertEquals(ImportTaskState.CANCELLED, nodeA.getStatus(taskId).getState());
+        assertTrue(nodeA.isTerminal(taskId));
+    }
+
+    private ImportTaskStatus submit(Long searchSpaceId) throws IOException {
+        Path upload = Files.createTempFile(tempDir, "upload-", ".json");
+        Files.writeString(upload, "[{\"id\":1}]");
+        ImportExecuteRequest request = ImportExecuteRequest.builder()
+                .mode(ImportExecuteRequest.ImportMode.APPEND)
+                .batchSize(1000)
+                .errorHandling(ImportExecuteRequest.ErrorHandlingStrategy.SKIP_ERROR)
+                .build();
+        ImportTaskStatus status = nodeA.submit(searchSpaceId, upload, "data.json", request);
+        assertEquals(ImportTaskState.PENDING, status.getState());
+        assertFalse(Files.exists(upload));
+        assertTrue(Files.exists(tempDir.resolve("import-job-" + status.getTaskId() + ".json")));
+        return status;
+    }
+
+    private static List<String> ids(List<ImportJob> jobs) {
+        return jobs.stream().map(ImportJob::getId).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ynet.mgmt.jsonimport.util;
+
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * dense_vector 字段映射工具测试
+ * 验证各存储档位生成的映射，以及从ES读回映射后能识别档位
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("dense_vector字段映射工具测试")
+class DenseVectorMappingsTest {
+
+    private final JacksonJsonpMapper mapper = new JacksonJsonpMapper();
+
+    @Test
+    @DisplayName("BYTE档位写出element_type=byte和档位meta，读回后识别为BYTE")
+    void testByteProfileRoundTrip() {
+        Property property = DenseVectorMappings.toProperty(config(VectorStorageProfile.BYTE));
+
+        String json = JsonpUtils.toJsonString(property, mapper);
+        assertTrue(json.contains("\"type\":\"dense_vector\""), json);
+        assertTrue(json.contains("\"element_type\":\"byte\""), json);
+        assertTrue(json.contains("\"vector_storage\":\"BYTE\""), json);
+        assertTrue(json.contains("\"ef_construction\":100"), json);
+
+        Property readBack = parse(json);
+        assertTrue(readBack.isDenseVector());
+        assertEquals(VectorStorageProfile.BYTE, DenseVectorMappings.profileOf(readBack));
+    }
+
+    @Test
+    @DisplayName("INT8_HNSW档位使用int8_hnsw索引选项，浮点存储")
+    void testInt8HnswProfile() {
+        IndexMappingConfig.VectorFieldConfig config = config(VectorStorageProfile.INT8_HNSW);
+        config.setIndexType(VectorStorageProfile.INT8_HNSW.getIndexOptionsType());
+
+        Property property = DenseVectorMappings.toProperty(config);
+
+        String json = JsonpUtils.toJsonString(property, mapper);
+        assertTrue(json.contains("\"type\":\"int8_hnsw\""), json);
+        assertFalse(json.contains("element_type"), json);
+        assertEquals(VectorStorageProfile.INT8_HNSW, DenseVectorMappings.profileOf(parse(json)));
+    }
+
+    @Test
+    @DisplayName("未记录档位的旧索引和非向量字段按FLOAT处理")
+    void testProfileOf_DefaultsToFloat() {
+        Property legacy = parse("{\"type\":\"dense_vector\",\"dims\":3,\"index\":true,\"similarity\":\"cosine\"}");
+        Property keyword = parse("{\"type\":\"keyword\"}");
+
+        assertEquals(VectorStorageProfile.FLOAT, DenseVectorMappings.profileOf(legacy));
+        assertEquals(VectorStorageProfile.FLOAT, DenseVectorMappings.profileOf(keyword));
+        assertEquals(VectorStorageProfile.FLOAT, DenseVectorMappings.profileOf(null));
+    }
+
+    @Test
+    @DisplayName("字节量化先归一化再缩放到[-127, 127]，零向量返回null")
+    void testQuantize() {
+        int[] quantized = VectorStorageProfile.quantize(List.of(3.0f, -4.0f, 0.0f));
+
+        assertArrayEquals(new int[]{76, -102, 0}, quantized);
+        assertArrayEquals(new int[]{127, 0}, VectorStorageProfile.quantize(List.of(0.5f, 0.0f)));
+        assertNull(VectorStorageProfile.quantize(List.of(0.0f, 0.0f)));
+        assertNull(VectorStorageProfile.BYTE.encode(List.of(0.0f)));
+        assertArrayEquals(new double[]{0.5, 0.25}, (double[]) VectorStorageProfile.FLOAT.encode(List.of(0.5f, 0.25f)));
+        assertEquals(VectorStorageProfile.BYTE, VectorStorageProfile.fromMeta(Map.of("vector_storage", "byte")));
+        assertEquals(VectorStorageProfile.FLOAT, VectorStorageProfile.fromMeta(Map.of("vector_storage", "unknown")));
+    }
+
+    private IndexMappingConfig.VectorFieldConfig config(VectorStorageProfile profile) {
+        return IndexMappingConfig.VectorFieldConfig.builder()
+                .dims(3)
+                .similarity("cosine")
+                .index(true)
+                .indexType(profile.getIndexOptionsType())
+                .m(16)
+                .efConstruction(100)
+                .storageProfile(profile)
+                .build();
+    }
+
+    private Property parse(String json) {
+        JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json));
+        return Property._DESERIALIZER.deserialize(parser, mapper);
+    }
+}
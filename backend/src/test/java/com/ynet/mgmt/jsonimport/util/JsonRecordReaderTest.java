@@ -0,0 +1,81 @@
+package com.ynet.mgmt.jsonimport.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON记录流式读取器测试")
+class JsonRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("根节点为数组时按批次读取")
+    void testReadArrayInBatches() throws IOException {
+        Path file = write("[{\"id\":1},{\"id\":2},{\"id\":3,\"tags\":[\"a\"]}]");
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, file)) {
+            List<Map<String, Object>> first = reader.nextBatch(2);
+            List<Map<String, Object>> second = reader.nextBatch(2);
+
+            assertEquals(2, first.size());
+            assertEquals(1, first.get(0).get("id"));
+            assertEquals(1, second.size());
+            assertEquals(List.of("a"), second.get(0).get("tags"));
+            assertTrue(reader.nextBatch(2).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("根节点为对象时读取第一个数组字段")
+    void testReadFirstArrayField() throws IOException {
+        Path file = write("{\"total\":2,\"data\":[{\"id\":1},{\"id\":2}],\"other\":[{\"id\":9}]}");
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, file)) {
+            assertEquals(1, reader.next().get("id"));
+            assertTrue(reader.skip());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("根对象没有数组字段时作为单条记录")
+    void testSingleObject() throws IOException {
+        Path file = write("{\"id\":1,\"name\":\"测试\"}");
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, file)) {
+            assertEquals(Map.of("id", 1, "name", "测试"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("数组元素不是对象时报错")
+    void testNonObjectElement() throws IOException {
+        Path file = write("[{\"id\":1}, \"text\"]");
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, file)) {
+            assertNotNull(reader.next());
+            assertThrows(IOException.class, reader::next);
+        }
+        assertThrows(IOException.class, () -> new JsonRecordReader(objectMapper, write("42")));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "records", ".json");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,160 @@
+package com.ynet.mgmt.modelgateway.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.ynet.mgmt.modelgateway.config.ModelGatewayProperties;
+import com.ynet.mgmt.modelgateway.exception.ModelGatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelGatewayClient 测试
+ * 使用本地HttpServer模拟模型服务
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("模型网关客户端测试")
+class ModelGatewayClientTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger failingCalls = new AtomicInteger();
+    private ModelGatewayClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"result\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            failingCalls.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/unauthorized", exchange -> {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+        });
+        server.createContext("/bad-request", exchange -> {
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        ModelGatewayProperties properties = new ModelGatewayProperties();
+        properties.setHttp2Enabled(false);
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        client = new ModelGatewayClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("成功调用应返回反序列化结果并记录延迟")
+    void testPostJson_Success() {
+        JsonNode response = client.postJson("model-a", baseUrl + "/ok", "key", Map.of("input", "测试"),
+                JsonNode.class, Duration.ofSeconds(5));
+
+        assertEquals("ok", response.get("result").asText());
+        assertTrue(client.isAvailable("model-a"));
+
+        List<ModelGatewayClient.EndpointStatus> statuses = client.getEndpointStatuses();
+        assertEquals(1, statuses.size());
+        assertEquals("CLOSED", statuses.get(0).getCircuitState());
+        assertEquals(1, statuses.get(0).getSuccessCount());
+        assertEquals(0, statuses.get(0).getInFlight());
+    }
+
+    @Test
+    @DisplayName("连续失败达到阈值后应打开熔断并拒绝后续请求")
+    void testCircuitOpensAfterFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ModelGatewayException.class, () -> client.postJson("model-b", baseUrl + "/fail", "key",
+                    Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        }
+
+        assertFalse(client.isAvailable("model-b"), "熔断打开后服务应不可用");
+        assertThrows(ModelGatewayException.class, () -> client.postJson("model-b", baseUrl + "/fail", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        assertEquals(2, failingCalls.get(), "熔断打开后不应再请求远程服务");
+
+        assertTrue(client.isAvailable("model-a"), "其他模型不受影响");
+    }
+
+    @Test
+    @DisplayName("401认证失败计入熔断，普通4xx不影响熔断状态")
+    void testAuthErrorsCountAsFailures() {
+        assertThrows(ModelGatewayException.class, () -> client.postJson("model-c", baseUrl + "/unauthorized", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        assertThrows(ModelGatewayException.class, () -> client.postJson("model-c", baseUrl + "/bad-request", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        assertTrue(client.isAvailable("model-c"), "400不应重置也不应累加连续失败");
+        assertEquals(1, client.getEndpointStatuses().stream()
+                .filter(status -> "model-c".equals(status.getModel()))
+                .findFirst().orElseThrow().getConsecutiveFailures());
+
+        assertThrows(ModelGatewayException.class, () -> client.postJson("model-c", baseUrl + "/unauthorized", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        assertFalse(client.isAvailable("model-c"), "连续认证失败应打开熔断");
+    }
+
+    @Test
+    @DisplayName("半开试探请求出现非预期异常时应释放试探机会")
+    void testHalfOpenTrialReleasedOnUnexpectedException() {
+        ModelGatewayProperties properties = new ModelGatewayProperties();
+        properties.setHttp2Enabled(false);
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ZERO);
+        ModelGatewayClient halfOpenClient = new ModelGatewayClient(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        assertThrows(ModelGatewayException.class, () -> halfOpenClient.postJson("model-d", baseUrl + "/fail", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+        assertThrows(IllegalArgumentException.class, () -> halfOpenClient.postJson("model-d", "http://[invalid", "key",
+                Map.of(), JsonNode.class, Duration.ofSeconds(5)));
+
+        assertTrue(halfOpenClient.isAvailable("model-d"), "试探机会应已释放，熔断器不应停留在半开");
+        JsonNode response = halfOpenClient.postJson("model-d", baseUrl + "/ok", "key", Map.of(),
+                JsonNode.class, Duration.ofSeconds(5));
+        assertEquals("ok", response.get("result").asText());
+        assertEquals("CLOSED", halfOpenClient.getEndpointStatuses().get(0).getCircuitState());
+    }
+
+    @Test
+    @DisplayName("熔断冷却结束后半开状态只放行一次试探请求")
+    void testHalfOpenAllowsSingleTrial() {
+        EndpointCircuitBreaker breaker = new EndpointCircuitBreaker(1, Duration.ZERO);
+        breaker.onFailure();
+        assertEquals(EndpointCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission(), "冷却结束后应放行一次试探");
+        assertFalse(breaker.tryAcquirePermission(), "试探进行中不应再放行");
+
+        breaker.onSuccess();
+        assertEquals(EndpointCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+}
@@ -0,0 +1,148 @@
+package com.ynet.mgmt.searchdata.cache;
+
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RerankSessionCache 测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("重排序会话缓存测试")
+class RerankSessionCacheTest {
+
+    private RerankSessionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RerankSessionCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "candidateWindow", 100);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("查询标准化后相同的请求应生成相同的键")
+    void testBuildKey_NormalizesQuery() {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setChannel("mobile_app");
+
+        String key1 = cache.buildKey("  信用卡   申请 ", "idx", request, "USER");
+        String key2 = cache.buildKey("信用卡 申请", "idx", request, "USER");
+
+        assertEquals(key1, key2, "标准化后的查询应生成相同的键");
+    }
+
+    @Test
+    @DisplayName("过滤条件不同的请求应生成不同的键")
+    void testBuildKey_DiffersByFilters() {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setChannel("mobile_app");
+        SearchDataRequest otherChannel = new SearchDataRequest();
+        otherChannel.setChannel("web");
+
+        assertNotEquals(cache.buildKey("信用卡", "idx", request, "USER"),
+                cache.buildKey("信用卡", "idx", otherChannel, "USER"), "渠道不同应生成不同的键");
+        assertNotEquals(cache.buildKey("信用卡", "idx", request, "USER"),
+                cache.buildKey("信用卡", "idx", request, "ADMIN"), "角色不同应生成不同的键");
+        assertNotEquals(cache.buildKey("信用卡", "idx", request, "USER"),
+                cache.buildKey("信用卡", "idx2", request, "USER"), "索引不同应生成不同的键");
+    }
+
+    @Test
+    @DisplayName("会话应按页切片并记录命中率")
+    void testSessionPagingAndHitRate() {
+        List<SearchDataResponse.DocumentData> documents = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            documents.add(SearchDataResponse.DocumentData.builder()._id("doc" + i)._score(25.0 - i).build());
+        }
+
+        assertNull(cache.get("key"), "首次获取应未命中");
+        cache.put("key", documents, 300L);
+
+        RerankSessionCache.RerankSession session = cache.get("key");
+        assertNotNull(session, "写入后应命中");
+        assertEquals(300L, session.getTotalHits());
+
+        List<SearchDataResponse.DocumentData> page2 = session.page(10, 10);
+        assertEquals(10, page2.size());
+        assertEquals("doc10", page2.get(0).get_id());
+
+        List<SearchDataResponse.DocumentData> page3 = session.page(20, 10);
+        assertEquals(5, page3.size(), "最后一页只返回剩余文档");
+        assertTrue(session.page(40, 10).isEmpty(), "超出候选范围应返回空列表");
+
+        assertEquals(0.5, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("索引写入后只移除该索引的会话")
+    void testInvalidateIndex() {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setChannel("mobile_app");
+        String keyA = cache.buildKey("信用卡", "idx_a", request, "USER");
+        String keyB = cache.buildKey("信用卡", "idx_b", request, "USER");
+        String keyPrefix = cache.buildKey("信用卡", "idx_a_archive", request, "USER");
+        cache.put(keyA, new ArrayList<>(), 1L);
+        cache.put(keyB, new ArrayList<>(), 2L);
+        cache.put(keyPrefix, new ArrayList<>(), 3L);
+
+        cache.invalidateIndex("idx_a");
+
+        assertNull(cache.get(keyA), "写入索引的会话应失效");
+        assertNotNull(cache.get(keyB), "其他索引的会话不受影响");
+        assertNotNull(cache.get(keyPrefix), "名称以该索引为前缀的其他索引不受影响");
+    }
+
+    @Test
+    @DisplayName("键使用完整请求的SHA-256指纹，写入后生成新代数的键")
+    void testBuildKey_DigestAndGeneration() {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setChannel("mobile_app");
+
+        String key = cache.buildKey("信用卡", "idx", request, "USER");
+        assertTrue(key.matches("idx\\|0\\|[0-9a-f]{64}"), "键应为索引、代数与SHA-256指纹");
+
+        cache.invalidateIndex("idx");
+        String afterWrite = cache.buildKey("信用卡", "idx", request, "USER");
+        assertNotEquals(key, afterWrite, "写入前生成的键不应被写入后的请求读到");
+        cache.put(key, new ArrayList<>(), 1L);
+        assertNull(cache.get(afterWrite), "写入期间完成的旧会话不应被后续翻页使用");
+    }
+
+    @Test
+    @DisplayName("候选窗口之外的页不应由会话提供")
+    void testCovers() {
+        assertTrue(cache.covers(0, 20));
+        assertTrue(cache.covers(80, 20));
+        assertFalse(cache.covers(90, 20), "超出候选窗口的页应回退为页内重排序");
+
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        assertFalse(cache.covers(0, 20), "禁用时不使用会话");
+    }
+
+    @Test
+    @DisplayName("应统计重排序延迟")
+    void testRerankLatencyMetrics() {
+        cache.recordRerankLatency(100);
+        cache.recordRerankLatency(300);
+
+        RerankSessionCache.MetricsSummary summary = cache.getSummary();
+        assertEquals(2, summary.getRerankCalls());
+        assertEquals(200.0, summary.getAverageRerankTime(), 0.0001);
+        assertEquals(300, summary.getMaxRerankTime());
+    }
+}
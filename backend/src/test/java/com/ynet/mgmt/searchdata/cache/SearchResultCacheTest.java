@@ -0,0 +1,158 @@
+package com.ynet.mgmt.searchdata.cache;
+
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchResultCache 测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索结果缓存测试")
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("查询标准化、空间顺序不同的请求生成相同的键")
+    void testBuildKey_Canonical() {
+        SearchDataRequest request = request("  信用卡   申请 ");
+        request.setSearchSpaceIds(List.of("2", "1"));
+        SearchDataRequest same = request("信用卡 申请");
+        same.setSearchSpaceIds(List.of("1", "2"));
+
+        assertEquals(cache.buildKey(List.of("idx_b", "idx_a"), request, "USER"),
+                cache.buildKey(List.of("idx_a", "idx_b"), same, "USER"));
+    }
+
+    @Test
+    @DisplayName("页码、渠道、角色不同的请求生成不同的键")
+    void testBuildKey_DiffersByPageChannelAndRole() {
+        SearchDataRequest request = request("信用卡");
+        String key = cache.buildKey(List.of("idx"), request, "USER");
+
+        SearchDataRequest nextPage = request("信用卡");
+        nextPage.setPage(2);
+        SearchDataRequest otherChannel = request("信用卡");
+        otherChannel.setChannel("web");
+
+        assertNotEquals(key, cache.buildKey(List.of("idx"), nextPage, "USER"));
+        assertNotEquals(key, cache.buildKey(List.of("idx"), otherChannel, "USER"));
+        assertNotEquals(key, cache.buildKey(List.of("idx"), request, "ADMIN"));
+    }
+
+    @Test
+    @DisplayName("索引写入后相关缓存失效，其他索引不受影响")
+    void testInvalidateIndex_BumpsGeneration() {
+        SearchDataRequest request = request("信用卡");
+        String keyA = cache.buildKey(List.of("idx_a"), request, null);
+        String keyB = cache.buildKey(List.of("idx_b"), request, null);
+        String keyAB = cache.buildKey(List.of("idx_a", "idx_b"), request, null);
+        cache.put(keyA, response(1));
+        cache.put(keyB, response(2));
+        cache.put(keyAB, response(3));
+
+        cache.invalidateIndex("idx_a");
+
+        assertNull(cache.get(cache.buildKey(List.of("idx_a"), request, null)));
+        assertNull(cache.get(cache.buildKey(List.of("idx_a", "idx_b"), request, null)));
+        assertNotNull(cache.get(cache.buildKey(List.of("idx_b"), request, null)));
+        assertEquals(1, cache.getSummary().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("返回副本，调用方修改不影响缓存内容")
+    void testGet_ReturnsCopy() {
+        String key = cache.buildKey(List.of("idx"), request("信用卡"), null);
+        cache.put(key, response(5));
+
+        SearchDataResponse first = cache.get(key);
+        first.setSearchLogId(99L);
+        first.getData().clear();
+
+        SearchDataResponse second = cache.get(key);
+        assertNull(second.getSearchLogId());
+        assertEquals(1, second.getData().size());
+        assertEquals(5L, second.getTotal());
+    }
+
+    @Test
+    @DisplayName("副本逐层复制文档、高亮与元数据")
+    void testGet_ReturnsDeepCopy() {
+        String key = cache.buildKey(List.of("idx"), request("信用卡"), null);
+        SearchDataResponse response = response(1);
+        response.getData().get(0).set_source(new HashMap<>(Map.of("title", "信用卡")));
+        response.getData().get(0).setHighlight(new HashMap<>(Map.of("title", new ArrayList<>(List.of("<em>信用卡</em>")))));
+        response.setSearchMetadata(SearchDataResponse.SearchMetadata.builder()
+                .elasticsearchTook(30L)
+                .stageTimings(new HashMap<>(Map.of("es_took", 30L)))
+                .build());
+        cache.put(key, response);
+
+        SearchDataResponse first = cache.get(key);
+        first.getData().get(0).set_score(9.0);
+        first.getData().get(0).get_source().put("title", "改写");
+        first.getData().get(0).getHighlight().get("title").clear();
+        first.getSearchMetadata().setElasticsearchTook(null);
+        first.getSearchMetadata().getStageTimings().clear();
+
+        SearchDataResponse second = cache.get(key);
+        SearchDataResponse.DocumentData document = second.getData().get(0);
+        assertNull(document.get_score());
+        assertEquals("信用卡", document.get_source().get("title"));
+        assertEquals(List.of("<em>信用卡</em>"), document.getHighlight().get("title"));
+        assertEquals(30L, second.getSearchMetadata().getElasticsearchTook());
+        assertEquals(Map.of("es_took", 30L), second.getSearchMetadata().getStageTimings());
+    }
+
+    @Test
+    @DisplayName("统计命中率")
+    void testSummary_HitRate() {
+        String key = cache.buildKey(List.of("idx"), request("信用卡"), null);
+        assertNull(cache.get(key));
+        cache.put(key, response(1));
+        cache.get(key);
+        cache.get(key);
+
+        SearchResultCache.MetricsSummary summary = cache.getSummary();
+        assertEquals(2, summary.getHits());
+        assertEquals(1, summary.getMisses());
+        assertEquals(2.0 / 3, summary.getHitRate(), 1e-9);
+        assertEquals(1, summary.getSize());
+    }
+
+    private static SearchDataRequest request(String query) {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setQuery(query);
+        request.setChannel("mobile_app");
+        return request;
+    }
+
+    private static SearchDataResponse response(long total) {
+        List<SearchDataResponse.DocumentData> data = new ArrayList<>();
+        data.add(SearchDataResponse.DocumentData.builder()._id("1").build());
+        return SearchDataResponse.builder().data(data).total(total).page(1).size(20).build();
+    }
+}
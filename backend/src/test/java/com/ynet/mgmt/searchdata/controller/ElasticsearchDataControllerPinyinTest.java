@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
 import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
 import com.ynet.mgmt.searchdata.service.ElasticsearchDataService;
+import com.ynet.mgmt.searchdata.service.SearchExportService;
+import com.ynet.mgmt.searchdata.service.VectorProfileComparisonService;
 import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
 import com.ynet.mgmt.searchspace.service.SearchSpaceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +61,12 @@ public class ElasticsearchDataControllerPinyinTest {
     @MockBean
     private SearchSpaceService searchSpaceService;
 
+    @MockBean
+    private SearchExportService searchExportService;
+
+    @MockBean
+    private VectorProfileComparisonService vectorProfileComparisonService;
+
     private SearchSpaceDTO mockSearchSpace;
     private SearchDataResponse mockSearchResponse;
 
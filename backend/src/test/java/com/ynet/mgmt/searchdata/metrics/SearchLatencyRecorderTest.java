@@ -0,0 +1,82 @@
+package com.ynet.mgmt.searchdata.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchLatencyRecorder 指标与慢查询环形缓冲区测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索延迟记录器测试")
+class SearchLatencyRecorderTest {
+
+    @Test
+    @DisplayName("总耗时和各阶段耗时写入计时器")
+    void testRecord_RegistersStageTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchLatencyRecorder recorder = new SearchLatencyRecorder(registry, Duration.ofHours(1), 10);
+
+        SearchStageTimer timer = SearchStageTimer.start("single");
+        timer.record(SearchStage.EMBEDDING, TimeUnit.MILLISECONDS.toNanos(40));
+        timer.record(SearchStage.MAPPING, TimeUnit.MILLISECONDS.toNanos(5));
+        timer.record(SearchStage.MAPPING, TimeUnit.MILLISECONDS.toNanos(7));
+        recorder.record(timer, List.of("kb"), "信用卡", 1, 10);
+
+        Timer request = registry.find(SearchLatencyRecorder.REQUEST_METRIC)
+                .tags("type", "single", "outcome", "success", "cache", "miss").timer();
+        assertThat(request).isNotNull();
+        assertThat(request.count()).isEqualTo(1);
+
+        Timer mapping = registry.find(SearchLatencyRecorder.STAGE_METRIC).tags("stage", "mapping").timer();
+        assertThat(mapping.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12.0);
+        assertThat(registry.find(SearchLatencyRecorder.STAGE_METRIC).tags("stage", "rerank").timer()).isNull();
+
+        // 未超过阈值不进入慢查询缓冲区
+        assertThat(recorder.getSlowSearches(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ES往返耗时拆分为took和网络耗时")
+    void testRecordElasticsearch_SplitsTookAndNetwork() throws InterruptedException {
+        SearchStageTimer timer = SearchStageTimer.start("single");
+        long requestStart = System.nanoTime();
+        Thread.sleep(20);
+        timer.recordElasticsearch(requestStart, 5);
+
+        assertThat(timer.getEsTookMillis()).isEqualTo(5L);
+        assertThat(timer.getStageMillis()).containsEntry("es_took", 5L);
+        assertThat(timer.getStageMillis().get("es_network")).isGreaterThanOrEqualTo(14L);
+        assertThat(timer.getEsRequestMillis()).isGreaterThanOrEqualTo(19L);
+    }
+
+    @Test
+    @DisplayName("慢查询环形缓冲区只保留最新的记录，最新的在前")
+    void testSlowSearches_RingBufferKeepsLatest() {
+        SearchLatencyRecorder recorder = new SearchLatencyRecorder(new SimpleMeterRegistry(), Duration.ZERO, 3);
+
+        for (int i = 1; i <= 5; i++) {
+            SearchStageTimer timer = SearchStageTimer.start("multi");
+            if (i == 5) {
+                timer.markFailed();
+            }
+            recorder.record(timer, List.of("kb"), "query" + i, 1, 10);
+        }
+
+        List<SearchLatencyRecorder.SlowSearchRecord> slow = recorder.getSlowSearches(10);
+        assertThat(slow).extracting(SearchLatencyRecorder.SlowSearchRecord::getQuery)
+                .containsExactly("query5", "query4", "query3");
+        assertThat(slow.get(0).getOutcome()).isEqualTo("error");
+        assertThat(recorder.getSlowSearches(2)).hasSize(2);
+        assertThat(recorder.getSlowSearches(0)).isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService;
+import com.ynet.mgmt.searchdata.cache.RerankSessionCache;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
+import com.ynet.mgmt.searchdata.cache.SearchResultCache;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
+import com.ynet.mgmt.searchdata.config.SearchWeightProperties;
+import com.ynet.mgmt.searchdata.metrics.SearchLatencyRecorder;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import com.ynet.mgmt.sensitiveWord.service.SensitiveWordCheckService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ElasticsearchDataService 单元测试夹具
+ * 以mock依赖创建服务实例：索引映射默认不可用（同步、异步读取均失败，按无向量字段处理），语义搜索关闭。
+ * 需要映射或语义搜索的用例可在创建后对暴露的mock重新打桩
+ *
+ * @author system
+ * @since 1.0.0
+ */
+final class ElasticsearchDataServiceFixture {
+
+    final ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+    final ElasticsearchIndicesClient indicesClient = mock(ElasticsearchIndicesClient.class);
+    final AsyncSearchClient asyncSearchClient = mock(AsyncSearchClient.class);
+    final EmbeddingService embeddingService = mock(EmbeddingService.class);
+    final SensitiveWordCheckService sensitiveWordCheckService = mock(SensitiveWordCheckService.class);
+    final SearchResultCache searchResultCache = mock(SearchResultCache.class);
+    final RerankSessionCache rerankSessionCache = mock(RerankSessionCache.class);
+    final ElasticsearchDataService service;
+
+    ElasticsearchDataServiceFixture() throws IOException {
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.getMapping(any(GetMappingRequest.class))).thenThrow(new IOException("no mapping"));
+        when(asyncSearchClient.getMapping(any(GetMappingRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("no mapping")));
+
+        service = new ElasticsearchDataService(elasticsearchClient, embeddingService,
+                sensitiveWordCheckService, mock(SearchSpaceService.class), mock(RerankService.class),
+                new SearchWeightProperties(), asyncSearchClient, mock(QueryUnderstandingService.class),
+                rerankSessionCache, new SearchProfileProperties(), searchResultCache,
+                mock(SearchLatencyRecorder.class), new SearchCacheInvalidator(searchResultCache, rerankSessionCache));
+        ReflectionTestUtils.setField(service, "semanticEnabled", false);
+    }
+}
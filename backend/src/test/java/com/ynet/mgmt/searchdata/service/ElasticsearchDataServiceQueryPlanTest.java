@@ -0,0 +1,241 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesAsyncClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import com.ynet.mgmt.queryunderstanding.context.QueryContext;
+import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService;
+import com.ynet.mgmt.searchdata.cache.RerankSessionCache;
+import com.ynet.mgmt.searchdata.cache.SearchCacheInvalidator;
+import com.ynet.mgmt.searchdata.cache.SearchResultCache;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
+import com.ynet.mgmt.searchdata.config.SearchWeightProperties;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import com.ynet.mgmt.searchdata.metrics.SearchLatencyRecorder;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import com.ynet.mgmt.sensitiveWord.service.SensitiveWordCheckService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 多空间搜索查询计划测试
+ * 验证查询分析只执行一次，且所有索引的搜索合并为一个 _msearch 请求
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("多空间搜索查询计划测试")
+class ElasticsearchDataServiceQueryPlanTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private ElasticsearchIndicesClient indicesClient;
+    private ElasticsearchIndicesAsyncClient asyncIndicesClient;
+    private EmbeddingService embeddingService;
+    private QueryUnderstandingService queryUnderstandingService;
+    private SearchSpaceService searchSpaceService;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchLatencyRecorder latencyRecorder;
+    private ExecutorService searchExecutor;
+    private ElasticsearchDataService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        elasticsearchClient = mock(ElasticsearchClient.class);
+        indicesClient = mock(ElasticsearchIndicesClient.class);
+        ElasticsearchAsyncClient asyncClient = mock(ElasticsearchAsyncClient.class);
+        asyncIndicesClient = mock(ElasticsearchIndicesAsyncClient.class);
+        embeddingService = mock(EmbeddingService.class);
+        queryUnderstandingService = mock(QueryUnderstandingService.class);
+        searchSpaceService = mock(SearchSpaceService.class);
+        searchExecutor = Executors.newFixedThreadPool(2);
+
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(asyncClient.indices()).thenReturn(asyncIndicesClient);
+        when(embeddingService.isServiceAvailable()).thenReturn(true);
+        when(embeddingService.getTextEmbedding(anyString())).thenReturn(List.of(0.1f, 0.2f, 0.3f));
+
+        QueryContext context = new QueryContext("信用卡");
+        context.setNormalizedQuery("信用卡办理");
+        when(queryUnderstandingService.understandQuery("信用卡")).thenReturn(context);
+
+        when(searchSpaceService.getSearchSpace(1L)).thenReturn(space("index_a"));
+        when(searchSpaceService.getSearchSpace(2L)).thenReturn(space("index_b"));
+        when(searchSpaceService.getSearchSpace(3L)).thenReturn(space("index_c"));
+
+        TypeMapping mapping = TypeMapping.of(m -> m
+                .properties("title", Property.of(p -> p.text(t -> t)))
+                .properties("title_vector", Property.of(p -> p.denseVector(d -> d.dims(3)))));
+        GetMappingResponse mappingResponse = GetMappingResponse.of(r -> r
+                .result("index_a", IndexMappingRecord.of(i -> i.mappings(mapping)))
+                .result("index_b", IndexMappingRecord.of(i -> i.mappings(mapping)))
+                .result("index_c", IndexMappingRecord.of(i -> i.mappings(mapping))));
+        when(indicesClient.getMapping(any(GetMappingRequest.class))).thenReturn(mappingResponse);
+        when(asyncIndicesClient.getMapping(any(GetMappingRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(mappingResponse));
+
+        MsearchResponse<Map> msearchResponse = MsearchResponse.of(r -> r
+                .took(12)
+                .responses(resultItem("index_a", "a1", 7))
+                .responses(resultItem("index_b", "b1", 9))
+                .responses(MultiSearchResponseItem.of(i -> i.failure(ErrorResponse.of(e -> e
+                        .status(404)
+                        .error(c -> c.type("index_not_found_exception").reason("no such index")))))));
+        when(elasticsearchClient.msearch(any(MsearchRequest.class), eq(Map.class))).thenReturn(msearchResponse);
+
+        // 慢查询阈值为0，每次搜索都会保留阶段明细
+        meterRegistry = new SimpleMeterRegistry();
+        latencyRecorder = new SearchLatencyRecorder(meterRegistry, Duration.ZERO, 10);
+
+        service = new ElasticsearchDataService(elasticsearchClient, embeddingService,
+                mock(SensitiveWordCheckService.class), searchSpaceService, mock(RerankService.class),
+                new SearchWeightProperties(), new AsyncSearchClient(asyncClient, searchExecutor), queryUnderstandingService,
+                mock(RerankSessionCache.class), new SearchProfileProperties(), mock(SearchResultCache.class),
+                latencyRecorder, mock(SearchCacheInvalidator.class));
+        ReflectionTestUtils.setField(service, "semanticEnabled", true);
+        ReflectionTestUtils.setField(service, "semanticWeight", 0.3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("查询理解、向量生成和映射解析只执行一次，所有索引合并为一个_msearch")
+    void testSearchMultipleSpaces_AnalyzesOnceAndSendsSingleMsearch() throws Exception {
+        SearchDataResponse response = service.searchMultipleSpaces(request(), null);
+
+        verify(queryUnderstandingService, times(1)).understandQuery("信用卡");
+        verify(embeddingService, times(1)).getTextEmbedding("信用卡办理");
+        verify(asyncIndicesClient, times(1)).getMapping(any(GetMappingRequest.class));
+        verify(indicesClient, never()).getMapping(any(GetMappingRequest.class));
+        verify(elasticsearchClient, never()).search(any(co.elastic.clients.elasticsearch.core.SearchRequest.class), eq(Map.class));
+
+        ArgumentCaptor<MsearchRequest> captor = ArgumentCaptor.forClass(MsearchRequest.class);
+        verify(elasticsearchClient, times(1)).msearch(captor.capture(), eq(Map.class));
+        MsearchRequest msearch = captor.getValue();
+        assertEquals(3, msearch.searches().size());
+        assertEquals(List.of("index_a"), msearch.searches().get(0).header().index());
+        assertEquals(List.of("index_c"), msearch.searches().get(2).header().index());
+        assertEquals(3, msearch.searches().get(0).body().size());
+
+        assertEquals(2, response.getData().size(), "失败的索引不应影响其他索引的结果");
+    }
+
+    @Test
+    @DisplayName("别名的映射按实际索引名返回时，遍历响应条目归属到请求的别名")
+    void testSearchMultipleSpaces_ResolvesAliasMappingFromConcreteIndex() throws Exception {
+        when(searchSpaceService.getSearchSpace(3L)).thenReturn(space("index_c_alias"));
+        TypeMapping mapping = TypeMapping.of(m -> m.properties("title", Property.of(p -> p.text(t -> t))));
+        TypeMapping aliasMapping = TypeMapping.of(m -> m.properties("alias_title", Property.of(p -> p.text(t -> t))));
+        GetMappingResponse mappingResponse = GetMappingResponse.of(r -> r
+                .result("index_a", IndexMappingRecord.of(i -> i.mappings(mapping)))
+                .result("index_b", IndexMappingRecord.of(i -> i.mappings(mapping)))
+                .result("index_c_v2", IndexMappingRecord.of(i -> i.mappings(aliasMapping))));
+        when(asyncIndicesClient.getMapping(any(GetMappingRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(mappingResponse));
+
+        service.searchMultipleSpaces(request(), null);
+
+        verify(indicesClient, never()).getMapping(any(GetMappingRequest.class));
+        ArgumentCaptor<MsearchRequest> captor = ArgumentCaptor.forClass(MsearchRequest.class);
+        verify(elasticsearchClient).msearch(captor.capture(), eq(Map.class));
+        MsearchRequest msearch = captor.getValue();
+        assertEquals(List.of("index_c_alias"), msearch.searches().get(2).header().index());
+        assertTrue(msearch.searches().get(2).body().toString().contains("alias_title"));
+        assertFalse(msearch.searches().get(0).body().toString().contains("alias_title"));
+    }
+
+    @Test
+    @DisplayName("响应元数据应包含各索引耗时")
+    void testSearchMultipleSpaces_ReportsPerIndexLatencies() {
+        SearchDataResponse response = service.searchMultipleSpaces(request(), null);
+
+        SearchDataResponse.SearchMetadata metadata = response.getSearchMetadata();
+        assertNotNull(metadata);
+        assertEquals("hybrid", metadata.getActualQueryType());
+        assertEquals(Map.of("index_a", 7L, "index_b", 9L), metadata.getIndexLatencies());
+    }
+
+    @Test
+    @DisplayName("分阶段耗时写入指标，ES took 写入响应元数据和慢查询记录")
+    void testSearchMultipleSpaces_RecordsStageTimings() {
+        SearchDataResponse response = service.searchMultipleSpaces(request(), null);
+
+        SearchDataResponse.SearchMetadata metadata = response.getSearchMetadata();
+        assertEquals(12L, metadata.getElasticsearchTook());
+        assertTrue(metadata.getStageTimings().keySet().containsAll(
+                List.of("sensitive_check", "plan", "embedding", "query_build", "es_took", "es_network",
+                        "result_convert", "sort")));
+
+        assertEquals(1, meterRegistry.find("search.request.latency")
+                .tags("type", "multi", "outcome", "success", "cache", "miss").timer().count());
+        assertEquals(1, meterRegistry.find("search.stage.latency").tags("stage", "es_took").timer().count());
+
+        List<SearchLatencyRecorder.SlowSearchRecord> slow = service.getSlowSearches(10);
+        assertEquals(1, slow.size());
+        assertEquals(List.of("index_a", "index_b", "index_c"), slow.get(0).getIndices());
+        assertEquals(12L, slow.get(0).getElasticsearchTookMs());
+        assertEquals(metadata.getStageTimings().keySet(), slow.get(0).getStageTimings().keySet());
+    }
+
+    private SearchDataRequest request() {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setSearchSpaceIds(List.of("1", "2", "3"));
+        request.setQuery("信用卡");
+        request.setPage(1);
+        request.setSize(10);
+        request.setEnableQueryUnderstanding(true);
+        return request;
+    }
+
+    private static SearchSpaceDTO space(String code) {
+        SearchSpaceDTO space = new SearchSpaceDTO();
+        space.setCode(code);
+        return space;
+    }
+
+    private static MultiSearchResponseItem<Map> resultItem(String index, String id, long took) {
+        MultiSearchItem<Map> item = MultiSearchItem.of(r -> r
+                .took(took)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h
+                        .total(t -> t.value(1).relation(TotalHitsRelation.Eq))
+                        .hits(Hit.of(hit -> hit.index(index).id(id).score(1.0).source(Map.of("title", id))))));
+        return MultiSearchResponseItem.of(i -> i.result(item));
+    }
+}
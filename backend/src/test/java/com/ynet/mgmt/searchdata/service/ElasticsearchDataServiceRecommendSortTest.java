@@ -0,0 +1,146 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultisearchBody;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 推荐文档排序测试
+ * 验证推荐优先由ES排序完成（跨分页一致），服务端不再解析_source重新排序
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("推荐文档排序测试")
+class ElasticsearchDataServiceRecommendSortTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private ElasticsearchDataService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ElasticsearchDataServiceFixture fixture = new ElasticsearchDataServiceFixture();
+        elasticsearchClient = fixture.elasticsearchClient;
+        service = fixture.service;
+    }
+
+    @Test
+    @DisplayName("单空间搜索：ES按推荐值、指定字段、分数排序，结果保持ES顺序")
+    @SuppressWarnings("unchecked")
+    void testSearchData_SortsByRecommendInElasticsearch() throws IOException {
+        SearchResponse<Map> response = SearchResponse.of(r -> r
+                .took(3)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h
+                        .total(t -> t.value(2).relation(TotalHitsRelation.Eq))
+                        .hits(hit("1", 0.5, 1), hit("2", 9.0, 0))));
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(Map.class))).thenReturn(response);
+
+        SearchDataRequest request = new SearchDataRequest();
+        request.setQuery("信用卡");
+        request.setPage(3);
+        SearchDataRequest.SortConfig sort = new SearchDataRequest.SortConfig();
+        sort.setField("updateTime");
+        sort.setOrder("desc");
+        request.setSort(sort);
+        SearchSpaceDTO space = new SearchSpaceDTO();
+        space.setCode("index_a");
+
+        SearchDataResponse result = service.searchData(request, space, null);
+
+        assertEquals(List.of("1", "2"), result.getData().stream().map(SearchDataResponse.DocumentData::get_id).toList());
+        assertTrue(result.getData().get(0).isRecommended());
+        assertFalse(result.getData().get(1).isRecommended());
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(elasticsearchClient).search(captor.capture(), eq(Map.class));
+        assertRecommendSort(captor.getValue().sort(), "updateTime");
+        assertEquals(Boolean.TRUE, captor.getValue().trackScores());
+    }
+
+    @Test
+    @DisplayName("多空间搜索：每个索引的请求都按推荐值排序")
+    void testBuildPlannedSearchItem_SortsByRecommend() {
+        SearchQueryPlan plan = SearchQueryPlan.builder()
+                .originalQuery("信用卡")
+                .processedQuery("信用卡")
+                .pinyinEnabled(false)
+                .perIndexSize(20)
+                .searchableFields(Map.of("index_a", List.of("title^3.0")))
+                .build();
+
+        MultisearchBody body = service.buildPlannedSearchItem(plan, "index_a").body();
+
+        assertRecommendSort(body.sort(), null);
+        assertEquals(Boolean.TRUE, body.trackScores());
+    }
+
+    @Test
+    @DisplayName("多索引合并：推荐文档在前，其余按分数降序")
+    void testMergeByRecommendAndScore() {
+        List<SearchDataResponse.DocumentData> documents = new ArrayList<>(List.of(
+                document("a", 3.0, false), document("b", 1.0, true), document("c", 5.0, false), document("d", 2.0, true)));
+
+        ElasticsearchDataService.mergeByRecommendAndScore(documents);
+
+        assertEquals(List.of("d", "b", "c", "a"), documents.stream().map(SearchDataResponse.DocumentData::get_id).toList());
+    }
+
+    @Test
+    @DisplayName("重排序后推荐文档移回最前，同组内保持重排序顺序")
+    void testKeepRecommendedFirst() {
+        List<SearchDataResponse.DocumentData> reranked = List.of(
+                document("a", 0.9, false), document("b", 0.8, true), document("c", 0.7, false), document("d", 0.95, true));
+
+        List<SearchDataResponse.DocumentData> ordered = ElasticsearchDataService.keepRecommendedFirst(reranked);
+
+        assertEquals(List.of("b", "d", "a", "c"), ordered.stream().map(SearchDataResponse.DocumentData::get_id).toList());
+    }
+
+    private static void assertRecommendSort(List<SortOptions> sort, String userSortField) {
+        assertEquals(userSortField != null ? 3 : 2, sort.size());
+        assertEquals("recommend", sort.get(0).field().field());
+        assertEquals(SortOrder.Desc, sort.get(0).field().order());
+        assertEquals(0L, sort.get(0).field().missing().longValue());
+        assertEquals(FieldType.Integer, sort.get(0).field().unmappedType());
+        if (userSortField != null) {
+            assertEquals(userSortField, sort.get(1).field().field());
+        }
+        assertTrue(sort.get(sort.size() - 1).isScore());
+    }
+
+    private static Hit<Map> hit(String id, double score, long recommend) {
+        return Hit.of(h -> h.index("index_a").id(id).score(score)
+                .source(Map.of("title", "信用卡" + id))
+                .sort(FieldValue.of(recommend), FieldValue.of(score)));
+    }
+
+    private static SearchDataResponse.DocumentData document(String id, double score, boolean recommended) {
+        return SearchDataResponse.DocumentData.builder()._id(id)._score(score).recommended(recommended).build();
+    }
+}
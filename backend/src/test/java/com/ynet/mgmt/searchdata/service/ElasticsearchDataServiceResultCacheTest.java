@@ -0,0 +1,105 @@
+package com.ynet.mgmt.searchdata.service;
+
+import com.ynet.mgmt.searchdata.cache.SearchResultCache;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.sensitiveWord.exception.SensitiveWordDetectedException;
+import com.ynet.mgmt.sensitiveWord.service.SensitiveWordCheckService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索结果缓存接入测试
+ * 验证敏感词检测先于缓存读取，缓存命中的响应标记为缓存并使用本次请求的耗时
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索结果缓存接入测试")
+class ElasticsearchDataServiceResultCacheTest {
+
+    private SearchResultCache searchResultCache;
+    private SensitiveWordCheckService sensitiveWordCheckService;
+    private ElasticsearchDataService service;
+    private SearchSpaceDTO searchSpace;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ElasticsearchDataServiceFixture fixture = new ElasticsearchDataServiceFixture();
+        searchResultCache = fixture.searchResultCache;
+        sensitiveWordCheckService = fixture.sensitiveWordCheckService;
+        service = fixture.service;
+
+        searchSpace = new SearchSpaceDTO();
+        searchSpace.setCode("test_index");
+        when(searchResultCache.isEnabled()).thenReturn(true);
+        when(searchResultCache.buildKey(any(), any(), any())).thenReturn("key");
+    }
+
+    @Test
+    @DisplayName("查询包含新增敏感词时即使已缓存也拒绝")
+    void testSearchData_SensitiveCheckBeforeCache() {
+        when(searchResultCache.get("key")).thenReturn(cachedResponse());
+        doThrow(new SensitiveWordDetectedException("查询包含敏感词", "信用卡", List.of("信用卡")))
+                .when(sensitiveWordCheckService).checkAndThrow(anyString());
+
+        assertThrows(SensitiveWordDetectedException.class,
+                () -> service.searchData(request("信用卡"), searchSpace, null));
+        verify(searchResultCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("缓存命中时标记为缓存并清除首次搜索的ES耗时")
+    void testSearchData_CacheHitRefreshesMetadata() {
+        when(searchResultCache.get("key")).thenReturn(cachedResponse());
+
+        SearchDataResponse response = service.searchData(request("信用卡"), searchSpace, null);
+
+        SearchDataResponse.SearchMetadata metadata = response.getSearchMetadata();
+        assertEquals(Boolean.TRUE, metadata.getCached());
+        assertNull(metadata.getElasticsearchTook());
+        assertNull(metadata.getElasticsearchTime());
+        assertFalse(metadata.getStageTimings().containsKey("es_took"));
+        assertTrue(metadata.getStageTimings().containsKey("sensitive_check"));
+        assertNotNull(metadata.getTotalTime());
+        verify(sensitiveWordCheckService).checkAndThrow(eq("信用卡"));
+    }
+
+    private static SearchDataRequest request(String query) {
+        SearchDataRequest request = new SearchDataRequest();
+        request.setQuery(query);
+        request.setPage(1);
+        request.setSize(10);
+        return request;
+    }
+
+    private static SearchDataResponse cachedResponse() {
+        List<SearchDataResponse.DocumentData> data = new ArrayList<>();
+        data.add(SearchDataResponse.DocumentData.builder()._id("1").build());
+        return SearchDataResponse.builder()
+                .data(data)
+                .total(1L)
+                .page(1)
+                .size(10)
+                .searchMetadata(SearchDataResponse.SearchMetadata.builder()
+                        .elasticsearchTime(150L)
+                        .elasticsearchTook(120L)
+                        .stageTimings(Map.of("es_took", 120L, "es_network", 30L))
+                        .totalTime(185L)
+                        .build())
+                .build();
+    }
+}
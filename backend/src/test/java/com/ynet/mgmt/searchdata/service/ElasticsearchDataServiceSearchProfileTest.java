@@ -0,0 +1,136 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultisearchBody;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.ynet.mgmt.searchdata.config.SearchProfileProperties;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索档位测试
+ * 验证fast档位的总数阈值、有限高亮片段，以及默认的full档位保持原有行为
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索档位测试")
+class ElasticsearchDataServiceSearchProfileTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private ElasticsearchDataService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ElasticsearchDataServiceFixture fixture = new ElasticsearchDataServiceFixture();
+        elasticsearchClient = fixture.elasticsearchClient;
+        service = fixture.service;
+    }
+
+    @Test
+    @DisplayName("fast档位：总数统计到阈值，高亮限制片段并跳过keyword子字段")
+    void testBuildPlannedSearchItem_FastProfile() {
+        MultisearchBody body = buildItem(true).body();
+
+        assertEquals(10000, body.trackTotalHits().count());
+        assertEquals(150, body.highlight().fragmentSize());
+        assertEquals(3, body.highlight().numberOfFragments());
+        assertEquals(Boolean.TRUE, body.highlight().requireFieldMatch());
+        assertEquals(100000, body.highlight().maxAnalyzedOffset());
+        assertEquals(List.of("title"), List.copyOf(body.highlight().fields().keySet()));
+    }
+
+    @Test
+    @DisplayName("full档位：精确总数和完整字段高亮")
+    void testBuildPlannedSearchItem_FullProfile() {
+        MultisearchBody body = buildItem(false).body();
+
+        assertEquals(Boolean.TRUE, body.trackTotalHits().enabled());
+        assertEquals(0, body.highlight().fragmentSize());
+        assertEquals(0, body.highlight().numberOfFragments());
+        assertTrue(body.highlight().fields().containsKey("title.keyword"));
+    }
+
+    @Test
+    @DisplayName("单空间搜索超过阈值时返回下界总数")
+    @SuppressWarnings("unchecked")
+    void testSearchData_ReportsLowerBoundTotal() throws IOException {
+        SearchResponse<Map> response = SearchResponse.of(r -> r
+                .took(5)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h
+                        .total(t -> t.value(10000).relation(TotalHitsRelation.Gte))
+                        .hits(Hit.of(hit -> hit.index("index_a").id("1").score(1.0).source(Map.of("title", "信用卡"))))));
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(Map.class))).thenReturn(response);
+
+        SearchDataRequest request = new SearchDataRequest();
+        request.setQuery("信用卡");
+        request.setPage(2);
+        request.setProfile(SearchProfileProperties.FAST);
+        SearchSpaceDTO space = new SearchSpaceDTO();
+        space.setCode("index_a");
+
+        SearchDataResponse result = service.searchData(request, space, null);
+
+        assertEquals(10000L, result.getTotal());
+        assertEquals("gte", result.getTotalRelation());
+        assertEquals("10,000+", result.getTotalDisplay());
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(elasticsearchClient).search(captor.capture(), eq(Map.class));
+        assertEquals(10000, captor.getValue().trackTotalHits().count());
+    }
+
+    @Test
+    @DisplayName("未指定档位时默认full，只有显式fast才启用fast档位")
+    void testProfileDefaultsToFull() {
+        SearchProfileProperties properties = new SearchProfileProperties();
+
+        assertFalse(properties.isFast(null));
+        assertFalse(properties.isFast(" "));
+        assertFalse(properties.isFast("unknown"));
+        assertTrue(properties.isFast("FAST"));
+
+        properties.setDefaultProfile(SearchProfileProperties.FAST);
+        assertTrue(properties.isFast(null));
+        assertFalse(properties.isFast(SearchProfileProperties.FULL));
+    }
+
+    @Test
+    @DisplayName("总数展示文本")
+    void testFormatTotalDisplay() {
+        assertEquals("856", ElasticsearchDataService.formatTotalDisplay(856, false));
+        assertEquals("10,000+", ElasticsearchDataService.formatTotalDisplay(10000, true));
+    }
+
+    private RequestItem buildItem(boolean fastProfile) {
+        SearchQueryPlan plan = SearchQueryPlan.builder()
+                .originalQuery("信用卡")
+                .processedQuery("信用卡")
+                .pinyinEnabled(false)
+                .perIndexSize(20)
+                .fastProfile(fastProfile)
+                .searchableFields(Map.of("index_a", List.of("title^3.0", "title.keyword^1.0")))
+                .build();
+        return service.buildPlannedSearchItem(plan, "index_a");
+    }
+}
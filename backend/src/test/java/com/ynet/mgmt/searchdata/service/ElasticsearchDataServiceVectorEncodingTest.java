@@ -0,0 +1,129 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Result;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.IndexResponse;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.ynet.mgmt.jsonimport.model.IndexMappingConfig;
+import com.ynet.mgmt.jsonimport.util.DenseVectorMappings;
+import com.ynet.mgmt.searchdata.dto.UpdateDocumentRequest;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文档更新向量编码测试
+ * 验证编辑文档时自动生成的向量按向量字段的存储档位编码，与导入时一致
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("文档更新向量编码测试")
+class ElasticsearchDataServiceVectorEncodingTest {
+
+    private ElasticsearchDataServiceFixture fixture;
+    private ElasticsearchClient elasticsearchClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fixture = new ElasticsearchDataServiceFixture();
+        elasticsearchClient = fixture.elasticsearchClient;
+        ReflectionTestUtils.setField(fixture.service, "semanticEnabled", true);
+        when(fixture.embeddingService.isServiceAvailable()).thenReturn(true);
+        when(fixture.embeddingService.getTextEmbedding(anyString())).thenReturn(List.of(3.0f, -4.0f, 0.0f));
+        when(elasticsearchClient.index(any(IndexRequest.class))).thenReturn(IndexResponse.of(r -> r
+                .index("index_a").id("1").version(2).result(Result.Updated).seqNo(1).primaryTerm(1)
+                .shards(s -> s.total(1).successful(1).failed(0))));
+    }
+
+    @Test
+    @DisplayName("BYTE档位：新文档的向量归一化量化后写入")
+    @SuppressWarnings("unchecked")
+    void testUpdateDocument_ByteProfileQuantizesVector() throws IOException {
+        stubMapping(VectorStorageProfile.BYTE);
+        when(elasticsearchClient.get(any(GetRequest.class), eq(Map.class))).thenThrow(new IOException("not found"));
+
+        fixture.service.updateDocument("1", request(Map.of("title", "信用卡办理")));
+
+        assertArrayEquals(new int[]{76, -102, 0}, (int[]) indexedSource().get("title_vector"));
+    }
+
+    @Test
+    @DisplayName("BYTE档位：标题变化时重新生成的向量同样量化")
+    @SuppressWarnings("unchecked")
+    void testUpdateDocument_ByteProfileChangedField() throws IOException {
+        stubMapping(VectorStorageProfile.BYTE);
+        GetResponse<Map> current = GetResponse.of(r -> r.index("index_a").id("1").found(true)
+                .version(1L).seqNo(0L).primaryTerm(1L).source(Map.of("title", "旧标题")));
+        when(elasticsearchClient.get(any(GetRequest.class), eq(Map.class))).thenReturn(current);
+
+        fixture.service.updateDocument("1", request(Map.of("title", "信用卡办理")));
+
+        assertArrayEquals(new int[]{76, -102, 0}, (int[]) indexedSource().get("title_vector"));
+    }
+
+    @Test
+    @DisplayName("FLOAT档位：保持浮点向量")
+    void testUpdateDocument_FloatProfileKeepsFloats() throws IOException {
+        stubMapping(VectorStorageProfile.FLOAT);
+        when(elasticsearchClient.get(any(GetRequest.class), eq(Map.class))).thenThrow(new IOException("not found"));
+
+        fixture.service.updateDocument("1", request(Map.of("title", "信用卡办理")));
+
+        assertArrayEquals(new double[]{3.0, -4.0, 0.0}, (double[]) indexedSource().get("title_vector"));
+    }
+
+    /**
+     * 按档位生成向量字段映射，经JSON往返后与从ES读回的映射一致
+     */
+    private void stubMapping(VectorStorageProfile profile) throws IOException {
+        Property vectorProperty = DenseVectorMappings.toProperty(IndexMappingConfig.VectorFieldConfig.builder()
+                .dims(3).similarity("cosine").index(true).indexType(profile.getIndexOptionsType())
+                .m(16).efConstruction(100).storageProfile(profile).build());
+        JacksonJsonpMapper mapper = new JacksonJsonpMapper();
+        JsonParser parser = mapper.jsonProvider().createParser(
+                new StringReader(JsonpUtils.toJsonString(vectorProperty, mapper)));
+        Property readBack = Property._DESERIALIZER.deserialize(parser, mapper);
+
+        GetMappingResponse mapping = GetMappingResponse.of(r -> r.result("index_a", m -> m.mappings(tm -> tm
+                .properties("title", p -> p.text(t -> t))
+                .properties("title_vector", readBack))));
+        doReturn(mapping).when(fixture.indicesClient).getMapping(any(GetMappingRequest.class));
+    }
+
+    private UpdateDocumentRequest request(Map<String, Object> source) {
+        UpdateDocumentRequest request = new UpdateDocumentRequest();
+        request.setIndex("index_a");
+        request.setSource(source);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> indexedSource() throws IOException {
+        ArgumentCaptor<IndexRequest<Map<String, Object>>> captor = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(elasticsearchClient).index(captor.capture());
+        return captor.getValue().document();
+    }
+}
@@ -0,0 +1,218 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.ClosePointInTimeRequest;
+import co.elastic.clients.elasticsearch.core.ClosePointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeRequest;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.searchdata.dto.SearchExportRequest;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 流式导出服务测试
+ * 验证PIT分批读取、NDJSON/CSV输出、检查点游标及续传
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("流式导出服务测试")
+class SearchExportServiceTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private SearchExportService service;
+    private SearchSpaceDTO searchSpace;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ElasticsearchDataServiceFixture fixture = new ElasticsearchDataServiceFixture();
+        elasticsearchClient = fixture.elasticsearchClient;
+        when(elasticsearchClient.openPointInTime(any(OpenPointInTimeRequest.class)))
+                .thenReturn(OpenPointInTimeResponse.of(r -> r.id("pit-1")));
+        when(elasticsearchClient.closePointInTime(any(ClosePointInTimeRequest.class)))
+                .thenReturn(ClosePointInTimeResponse.of(r -> r.succeeded(true).numFreed(1)));
+
+        service = new SearchExportService(elasticsearchClient, new ObjectMapper(), fixture.service);
+        ReflectionTestUtils.setField(service, "defaultBatchSize", 2);
+        ReflectionTestUtils.setField(service, "keepAlive", "1m");
+
+        searchSpace = new SearchSpaceDTO();
+        searchSpace.setCode("docs");
+    }
+
+    @Test
+    @DisplayName("NDJSON导出：逐批写出文档，每批后输出检查点，完成后关闭PIT")
+    @SuppressWarnings("unchecked")
+    void testWrite_NdjsonWithCheckpoints() throws IOException {
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(SearchExportService.ExportDocument.class)))
+                .thenReturn(response(hit("1", 1L, Map.of("title", "信用卡")), hit("2", 2L, Map.of("title", "储蓄卡"))))
+                .thenReturn(response(hit("3", 3L, Map.of("title", "借记卡"))));
+
+        SearchExportRequest request = request("ndjson");
+        String output = export(service.prepare(request, searchSpace, null));
+
+        String[] lines = output.split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("{\"_id\":\"1\",\"title\":\"信用卡\"}", lines[0]);
+        assertTrue(lines[2].startsWith("{\"_cursor\":\""));
+        assertTrue(lines[2].endsWith("\"_exported\":2}"));
+        assertEquals("{\"_id\":\"3\",\"title\":\"借记卡\"}", lines[3]);
+        assertEquals("{\"_cursor\":null,\"_exported\":3,\"_completed\":true}", lines[5]);
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(elasticsearchClient, times(2)).search(captor.capture(), eq(SearchExportService.ExportDocument.class));
+        SearchRequest second = captor.getAllValues().get(1);
+        assertEquals("pit-1", second.pit().id());
+        assertEquals(2L, second.searchAfter().get(0).longValue());
+        assertTrue(second.index().isEmpty());
+        verify(elasticsearchClient).closePointInTime(any(ClosePointInTimeRequest.class));
+    }
+
+    @Test
+    @DisplayName("CSV导出：按字段投影，特殊字符加引号，嵌套字段按路径取值")
+    @SuppressWarnings("unchecked")
+    void testWrite_CsvProjectionAndEscaping() throws IOException {
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(SearchExportService.ExportDocument.class)))
+                .thenReturn(response(hit("1", 1L, Map.of(
+                        "title", "卡片,\"金卡\"",
+                        "author", Map.of("name", "张三"),
+                        "tags", List.of("a", "b")))));
+
+        SearchExportRequest request = request("csv");
+        request.setFields(List.of("title", "author.name", "tags"));
+        request.setIncludeCursor(false);
+        SearchExportService.ExportPlan plan = service.prepare(request, searchSpace, null);
+        String output = export(plan);
+
+        assertTrue(plan.isCsv());
+        assertTrue(plan.getFileName().startsWith("docs-") && plan.getFileName().endsWith(".csv"));
+        assertEquals("\uFEFF_id,title,author.name,tags\r\n1,\"卡片,\"\"金卡\"\"\",张三,a|b\r\n", output);
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(elasticsearchClient).search(captor.capture(), eq(SearchExportService.ExportDocument.class));
+        assertEquals(List.of("title", "author.name", "tags"), captor.getValue().source().filter().includes());
+        assertEquals(List.of("*_vector"), captor.getValue().source().filter().excludes());
+    }
+
+    @Test
+    @DisplayName("续传：复用游标中的PIT和排序值，不重复输出表头")
+    @SuppressWarnings("unchecked")
+    void testWrite_ResumeFromCursor() throws IOException {
+        when(elasticsearchClient.search(any(SearchRequest.class), eq(SearchExportService.ExportDocument.class)))
+                .thenReturn(response(hit("6", 8L, Map.of("title", "续传"))));
+
+        SearchExportRequest request = request("csv");
+        request.setFields(List.of("title"));
+        request.setLimit(10L);
+        request.setCursor(service.encodeCursor(new SearchExportService.ExportCursor("pit-old", List.of(7), 5)));
+        String output = export(service.prepare(request, searchSpace, null));
+
+        assertFalse(output.contains("_id,title"));
+        assertTrue(output.startsWith("6,续传\r\n"));
+        assertTrue(output.endsWith("# completed exported=6\n"));
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(elasticsearchClient).search(captor.capture(), eq(SearchExportService.ExportDocument.class));
+        assertEquals("pit-old", captor.getValue().pit().id());
+        assertEquals(7L, captor.getValue().searchAfter().get(0).longValue());
+        assertEquals(2, captor.getValue().size());
+        verify(elasticsearchClient, never()).openPointInTime(any(OpenPointInTimeRequest.class));
+    }
+
+    @Test
+    @DisplayName("游标编码往返一致，无效游标在写出前被拒绝")
+    void testCursorRoundTripAndInvalidCursor() throws IOException {
+        String token = service.encodeCursor(new SearchExportService.ExportCursor("pit-1", List.of(3L, "x"), 42));
+        SearchExportService.ExportCursor cursor = service.decodeCursor(token);
+
+        assertEquals("pit-1", cursor.getPit());
+        assertEquals(List.of(3, "x"), cursor.getAfter());
+        assertEquals(42, cursor.getExported());
+
+        SearchExportRequest request = request("ndjson");
+        request.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () -> service.prepare(request, searchSpace, null));
+    }
+
+    @Test
+    @DisplayName("导出查询复用搜索接口的关键词查询，不按查询字符串语法解析")
+    void testPrepare_ReusesSearchKeywordQuery() throws IOException {
+        SearchExportRequest request = request("ndjson");
+        request.setQuery("信用卡*");
+        request.setChannel("mobile");
+
+        Query query = service.buildExportQuery(request, "docs", "USER");
+
+        String json = JsonpUtils.toJsonString(query, new JacksonJsonpMapper());
+        assertFalse(json.contains("query_string"), json);
+        assertTrue(json.contains("multi_match") || json.contains("\"match\""), json);
+        assertTrue(json.contains("request_role_white_list"), json);
+    }
+
+    @Test
+    @DisplayName("CSV转义：公式开头的内容加单引号，数字保持原样")
+    void testEscapeCsv_FormulaInjection() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", SearchExportService.escapeCsv("=HYPERLINK(\"http://x\")"));
+        assertEquals("'+cmd", SearchExportService.escapeCsv("+cmd"));
+        assertEquals("'-1+cmd|' /C calc'!A0", SearchExportService.escapeCsv("-1+cmd|' /C calc'!A0"));
+        assertEquals("'@SUM(A1)", SearchExportService.escapeCsv("@SUM(A1)"));
+        assertEquals("\"'=1,2\"", SearchExportService.escapeCsv("=1,2"));
+        assertEquals("\"#注释\"", SearchExportService.escapeCsv("#注释"));
+        assertEquals("-12.5", SearchExportService.escapeCsv("-12.5"));
+        assertEquals("+86", SearchExportService.escapeCsv("+86"));
+    }
+
+    private String export(SearchExportService.ExportPlan plan) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.write(plan, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static SearchExportRequest request(String format) {
+        SearchExportRequest request = new SearchExportRequest();
+        request.setSearchSpaceId("1");
+        request.setFormat(format);
+        return request;
+    }
+
+    private static Hit<SearchExportService.ExportDocument> hit(String id, long sort, Map<String, Object> source) {
+        SearchExportService.ExportDocument document = new SearchExportService.ExportDocument();
+        document.putAll(source);
+        return Hit.of(h -> h.index("docs").id(id).source(document).sort(FieldValue.of(sort)));
+    }
+
+    @SafeVarargs
+    private static SearchResponse<SearchExportService.ExportDocument> response(Hit<SearchExportService.ExportDocument>... hits) {
+        List<Hit<SearchExportService.ExportDocument>> hitList = new ArrayList<>(List.of(hits));
+        return SearchResponse.of(r -> r
+                .took(1)
+                .timedOut(false)
+                .pitId("pit-1")
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hitList)));
+    }
+}
@@ -0,0 +1,190 @@
+package com.ynet.mgmt.searchdata.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.DenseVectorProperty;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch.core.CountRequest;
+import co.elastic.clients.elasticsearch.core.CountResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import co.elastic.clients.util.ObjectBuilder;
+import com.ynet.mgmt.searchdata.dto.VectorProfileComparisonReport;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.entity.VectorStorageProfile;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 向量存储档位对比服务测试
+ * 验证以当前索引的精确检索为标准答案计算召回率，影子索引按候选档位编码查询向量
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("向量存储档位对比服务测试")
+class VectorProfileComparisonServiceTest {
+
+    private ElasticsearchClient elasticsearchClient;
+    private ElasticsearchIndicesClient indicesClient;
+    private SearchLogRepository searchLogRepository;
+    private EmbeddingService embeddingService;
+    private VectorProfileComparisonService service;
+    private final List<SearchRequest> searchRequests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        elasticsearchClient = mock(ElasticsearchClient.class);
+        indicesClient = mock(ElasticsearchIndicesClient.class);
+        searchLogRepository = mock(SearchLogRepository.class);
+        embeddingService = mock(EmbeddingService.class);
+        SearchSpaceService searchSpaceService = mock(SearchSpaceService.class);
+
+        SearchSpaceDTO space = new SearchSpaceDTO();
+        space.setId(1L);
+        space.setCode("index_a");
+        when(searchSpaceService.getSearchSpace(1L)).thenReturn(space);
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(indicesClient.getMapping(ArgumentMatchers.<Function<GetMappingRequest.Builder, ObjectBuilder<GetMappingRequest>>>any()))
+                .thenReturn(GetMappingResponse.of(r -> r.result("index_a", m -> m.mappings(tm -> tm
+                        .properties("title", p -> p.text(t -> t))
+                        .properties("title_vector", p -> p.denseVector(dv -> dv
+                                .dims(2).similarity("cosine").index(true)
+                                .indexOptions(o -> o.type("hnsw").m(16).efConstruction(100))))))));
+        when(elasticsearchClient.count(ArgumentMatchers.<Function<CountRequest.Builder, ObjectBuilder<CountRequest>>>any()))
+                .thenReturn(CountResponse.of(c -> c.count(3).shards(s -> s.total(1).successful(1).failed(0))));
+        when(searchLogRepository.findTopSuccessfulQueriesBySearchSpace(eq(1L), any(), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{"信用卡", 8L}));
+        when(embeddingService.isServiceAvailable()).thenReturn(true);
+        when(embeddingService.getBatchTextEmbeddings(List.of("信用卡"))).thenReturn(Map.of("信用卡", List.of(0.6f, 0.8f)));
+        when(elasticsearchClient.search(ArgumentMatchers.<Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>>any(),
+                eq(Void.class))).thenAnswer(invocation -> {
+                    Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>> fn = invocation.getArgument(0);
+                    SearchRequest request = fn.apply(new SearchRequest.Builder()).build();
+                    searchRequests.add(request);
+                    boolean shadow = request.index().get(0).endsWith("_vp_byte");
+                    return response(shadow ? List.of("1", "3") : List.of("1", "2"));
+                });
+
+        service = new VectorProfileComparisonService(elasticsearchClient, searchSpaceService, searchLogRepository,
+                embeddingService);
+    }
+
+    @Test
+    @DisplayName("以当前索引精确检索为标准答案计算召回率，影子索引使用量化后的查询向量")
+    void testCompare_ExactRecallAgainstBaseline() throws IOException {
+        shadowExists(true);
+
+        VectorProfileComparisonReport report = service.compare(1L, VectorStorageProfile.BYTE, null,
+                VectorProfileComparisonService.Method.EXACT, 20, 2);
+
+        assertEquals("title_vector", report.getField());
+        assertEquals(1, report.getSampledQueries());
+        assertEquals(0, report.getSkippedQueries());
+        assertEquals(1.0, report.getBaseline().getMeanRecall());
+        assertEquals(0.5, report.getCandidate().getMeanRecall());
+        assertEquals(VectorStorageProfile.FLOAT, report.getBaseline().getProfile());
+        assertEquals("index_a_vp_byte", report.getCandidate().getIndex());
+        assertEquals(3L, report.getCandidate().getDocuments());
+
+        // 精确检索时基准查询即标准答案，不重复执行
+        assertEquals(2, searchRequests.size());
+        String shadowQuery = JsonpUtils.toJsonString(searchRequests.get(1), new JacksonJsonpMapper());
+        assertTrue(shadowQuery.contains("\"query_vector\":[76,102]"), shadowQuery);
+    }
+
+    @Test
+    @DisplayName("kNN方式下两侧都按kNN检索，再与精确结果比较")
+    void testCompare_KnnRunsBothSides() throws IOException {
+        shadowExists(true);
+
+        VectorProfileComparisonReport report = service.compare(1L, VectorStorageProfile.BYTE, "title_vector",
+                VectorProfileComparisonService.Method.KNN, 20, 2);
+
+        assertEquals("KNN", report.getMethod());
+        assertEquals(3, searchRequests.size());
+        assertTrue(searchRequests.get(0).knn().isEmpty());
+        assertEquals(List.of(76.0f, 102.0f), searchRequests.get(2).knn().get(0).queryVector());
+    }
+
+    @Test
+    @DisplayName("影子索引不存在或字段不存在时拒绝对比")
+    void testCompare_Rejected() throws IOException {
+        shadowExists(false);
+        assertThrows(IllegalStateException.class, () -> service.compare(1L, VectorStorageProfile.BYTE, null,
+                VectorProfileComparisonService.Method.EXACT, 20, 10));
+
+        shadowExists(true);
+        assertThrows(IllegalArgumentException.class, () -> service.compare(1L, VectorStorageProfile.BYTE, "title",
+                VectorProfileComparisonService.Method.EXACT, 20, 10));
+        verify(elasticsearchClient, never()).search(
+                ArgumentMatchers.<Function<SearchRequest.Builder, ObjectBuilder<SearchRequest>>>any(), eq(Void.class));
+    }
+
+    @Test
+    @DisplayName("影子字段沿用维度和HNSW参数，按候选档位生成映射")
+    void testShadowProperty() {
+        DenseVectorProperty base = DenseVectorProperty.of(dv -> dv.dims(768).similarity("cosine")
+                .indexOptions(o -> o.type("hnsw").m(32).efConstruction(200)));
+
+        Property property = VectorProfileComparisonService.shadowProperty(base, VectorStorageProfile.BYTE);
+
+        String json = JsonpUtils.toJsonString(property, new JacksonJsonpMapper());
+        assertTrue(json.contains("\"element_type\":\"byte\""), json);
+        assertTrue(json.contains("\"dims\":768"), json);
+        assertTrue(json.contains("\"m\":32"), json);
+        assertTrue(json.contains("\"ef_construction\":200"), json);
+    }
+
+    @Test
+    @DisplayName("召回率和百分位计算")
+    void testRecallAndPercentile() {
+        assertEquals(0.5, VectorProfileComparisonService.recall(List.of("1", "2"), List.of("2", "3")));
+        assertEquals(1.0, VectorProfileComparisonService.recall(List.of(), List.of("1")));
+        List<Double> latencies = List.of(5.0, 1.0, 3.0, 2.0, 4.0);
+        assertEquals(3.0, VectorProfileComparisonService.percentile(latencies, 0.50));
+        assertEquals(5.0, VectorProfileComparisonService.percentile(latencies, 0.95));
+        assertEquals(0.0, VectorProfileComparisonService.percentile(List.of(), 0.95));
+    }
+
+    private void shadowExists(boolean exists) throws IOException {
+        when(indicesClient.exists(ArgumentMatchers.<Function<ExistsRequest.Builder, ObjectBuilder<ExistsRequest>>>any()))
+                .thenReturn(new BooleanResponse(exists));
+    }
+
+    private static SearchResponse<Void> response(List<String> ids) {
+        List<Hit<Void>> hits = new ArrayList<>();
+        for (String id : ids) {
+            hits.add(Hit.of(h -> h.index("index_a").id(id).score(1.0)));
+        }
+        return SearchResponse.of(r -> r
+                .took(2)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.total(t -> t.value(ids.size()).relation(TotalHitsRelation.Eq)).hits(hits)));
+    }
+}
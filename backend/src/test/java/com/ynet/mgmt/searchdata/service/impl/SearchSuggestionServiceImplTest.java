@@ -0,0 +1,135 @@
+package com.ynet.mgmt.searchdata.service.impl;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesAsyncClient;
+import co.elastic.clients.elasticsearch.indices.GetMappingRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import com.ynet.mgmt.hotTopic.entity.HotTopic;
+import com.ynet.mgmt.hotTopic.service.VisibleHotTopicCache;
+import com.ynet.mgmt.searchdata.dto.SearchSuggestionDTO;
+import com.ynet.mgmt.searchdata.dto.SearchSuggestionRequest;
+import com.ynet.mgmt.searchdata.service.AsyncSearchClient;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索建议服务测试
+ * 验证各数据源以 future 组合：ES请求走异步客户端，超时的数据源不影响其余结果
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索建议服务测试")
+class SearchSuggestionServiceImplTest {
+
+    private ElasticsearchAsyncClient asyncClient;
+    private ExecutorService searchExecutor;
+    private SearchSuggestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        asyncClient = mock(ElasticsearchAsyncClient.class);
+        ElasticsearchIndicesAsyncClient indicesClient = mock(ElasticsearchIndicesAsyncClient.class);
+        when(asyncClient.indices()).thenReturn(indicesClient);
+        // 索引中没有 completion 字段，只发出拼音匹配查询
+        when(indicesClient.getMapping(any(GetMappingRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(GetMappingResponse.of(r -> r)));
+
+        SearchLogRepository searchLogRepository = mock(SearchLogRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        when(searchLogRepository.findMinimalByUserIdAndSearchSpaceIdAndQueryAndCreatedAtAfter(
+            eq(7L), eq(1L), anyString(), any(), any()))
+            .thenReturn(List.<Object[]>of(new Object[]{"信用卡办理", now}));
+        when(searchLogRepository.findMinimalBySearchSpaceIdAndQueryAndCreatedAtAfter(
+            eq(1L), anyString(), any(), any()))
+            .thenReturn(Collections.emptyList());
+
+        VisibleHotTopicCache visibleHotTopicCache = mock(VisibleHotTopicCache.class);
+        when(visibleHotTopicCache.getVisibleTopics()).thenReturn(List.of(new HotTopic("信用卡积分", 100, true)));
+
+        SearchSpaceService searchSpaceService = mock(SearchSpaceService.class);
+        SearchSpaceDTO space = new SearchSpaceDTO();
+        space.setCode("index_a");
+        when(searchSpaceService.getSearchSpace(1L)).thenReturn(space);
+
+        searchExecutor = Executors.newFixedThreadPool(2);
+        service = new SearchSuggestionServiceImpl();
+        ReflectionTestUtils.setField(service, "searchLogRepository", searchLogRepository);
+        ReflectionTestUtils.setField(service, "visibleHotTopicCache", visibleHotTopicCache);
+        ReflectionTestUtils.setField(service, "searchSpaceService", searchSpaceService);
+        ReflectionTestUtils.setField(service, "asyncSearchClient", new AsyncSearchClient(asyncClient, searchExecutor));
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("ES异步响应与搜索历史、热门话题合并")
+    void testGetSuggestionsAsync_MergesAllSources() throws Exception {
+        SearchResponse<Map> response = SearchResponse.of(r -> r
+            .took(1)
+            .timedOut(false)
+            .shards(s -> s.total(1).successful(1).failed(0))
+            .hits(h -> h
+                .total(t -> t.value(1).relation(TotalHitsRelation.Eq))
+                .hits(Hit.of(hit -> hit.index("index_a").id("1").score(2.0).source(Map.of("name", "信用卡还款"))))));
+        when(asyncClient.search(any(SearchRequest.class), eq(Map.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+
+        List<SearchSuggestionDTO> suggestions = service.getSuggestionsAsync(request()).get(5, TimeUnit.SECONDS);
+
+        List<String> texts = suggestions.stream().map(SearchSuggestionDTO::getText).toList();
+        assertTrue(texts.containsAll(List.of("信用卡办理", "信用卡积分", "信用卡还款")), "实际结果: " + texts);
+        assertEquals("信用卡还款", texts.get(0), "ES得分最高的建议排在最前");
+    }
+
+    @Test
+    @DisplayName("ES响应超时时返回其余数据源的部分结果")
+    void testGetSuggestionsAsync_EsTimeoutReturnsPartialResults() throws Exception {
+        when(asyncClient.search(any(SearchRequest.class), eq(Map.class))).thenReturn(new CompletableFuture<>());
+
+        long start = System.nanoTime();
+        List<SearchSuggestionDTO> suggestions = service.getSuggestionsAsync(request()).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<String> texts = suggestions.stream().map(SearchSuggestionDTO::getText).toList();
+        assertEquals(List.of("信用卡积分", "信用卡办理"), texts);
+        assertTrue(elapsedMillis < 2000, "应在数据源超时后返回，实际耗时: " + elapsedMillis + "ms");
+    }
+
+    private static SearchSuggestionRequest request() {
+        SearchSuggestionRequest request = new SearchSuggestionRequest("信用卡");
+        request.setUserId(7L);
+        request.setSearchSpaceId(1L);
+        return request;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ynet.mgmt.searchdata.warmup;
+
+import com.ynet.mgmt.queryunderstanding.context.QueryContext;
+import com.ynet.mgmt.queryunderstanding.service.QueryUnderstandingService;
+import com.ynet.mgmt.searchdata.dto.SearchDataRequest;
+import com.ynet.mgmt.searchdata.dto.SearchDataResponse;
+import com.ynet.mgmt.searchdata.service.ElasticsearchDataService;
+import com.ynet.mgmt.searchdata.service.EmbeddingService;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import com.ynet.mgmt.searchspace.dto.SearchSpaceDTO;
+import com.ynet.mgmt.searchspace.service.SearchSpaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索预热服务测试
+ * 验证按搜索日志中的热门查询执行查询理解、批量向量生成和预热搜索，并在结束后才报告就绪
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索预热服务测试")
+class SearchWarmupServiceTest {
+
+    private SearchLogRepository searchLogRepository;
+    private SearchSpaceService searchSpaceService;
+    private QueryUnderstandingService queryUnderstandingService;
+    private EmbeddingService embeddingService;
+    private ElasticsearchDataService elasticsearchDataService;
+    private SearchSpaceDTO space;
+
+    @BeforeEach
+    void setUp() {
+        searchLogRepository = mock(SearchLogRepository.class);
+        searchSpaceService = mock(SearchSpaceService.class);
+        queryUnderstandingService = mock(QueryUnderstandingService.class);
+        embeddingService = mock(EmbeddingService.class);
+        elasticsearchDataService = mock(ElasticsearchDataService.class);
+
+        space = new SearchSpaceDTO();
+        space.setId(1L);
+        space.setCode("index_a");
+        when(searchLogRepository.findTopSearchSpacesByPeriod(any(), any(), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}, new Object[]{2L, 5L}));
+        when(searchSpaceService.getSearchSpace(1L)).thenReturn(space);
+        when(searchSpaceService.getSearchSpace(2L)).thenThrow(new RuntimeException("搜索空间不存在"));
+        when(searchLogRepository.findTopSuccessfulQueriesBySearchSpace(eq(1L), any(), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{"信用卡 ", 8L}, new Object[]{"房贷", 2L}));
+
+        QueryContext creditCard = new QueryContext("信用卡");
+        creditCard.setNormalizedQuery("信用卡办理");
+        when(queryUnderstandingService.understandQuery("信用卡")).thenReturn(creditCard);
+        when(queryUnderstandingService.understandQuery("房贷")).thenReturn(new QueryContext("房贷"));
+        when(embeddingService.isServiceAvailable()).thenReturn(true);
+        when(embeddingService.getBatchTextEmbeddings(any())).thenReturn(Map.of("信用卡", List.of(0.1f)));
+        when(elasticsearchDataService.searchData(any(), eq(space), isNull())).thenReturn(new SearchDataResponse());
+    }
+
+    @Test
+    @DisplayName("按热门查询依次预热查询理解、向量和搜索，完成后报告就绪")
+    void testWarmUp_WarmsAllCachesFromTopQueries() {
+        SearchWarmupService service = service(true);
+        SearchWarmupHealthIndicator healthIndicator = new SearchWarmupHealthIndicator(service);
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        service.warmUp();
+
+        verify(queryUnderstandingService).understandQuery("信用卡");
+        verify(queryUnderstandingService).understandQuery("房贷");
+        verify(embeddingService).getBatchTextEmbeddings(List.of("信用卡", "房贷"));
+        verify(embeddingService).getBatchTextEmbeddings(List.of("信用卡办理"));
+        verify(elasticsearchDataService).searchData(argThat(queryIs("信用卡")), eq(space), isNull());
+        verify(elasticsearchDataService).searchData(argThat(queryIs("房贷")), eq(space), isNull());
+
+        SearchWarmupProgress progress = service.getProgress();
+        assertEquals(SearchWarmupProgress.Phase.COMPLETED, progress.getPhase());
+        assertEquals(2, progress.getSearchesDone());
+        assertEquals(0, progress.getFailures());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        assertEquals("2/2", healthIndicator.health().getDetails().get("searches"));
+    }
+
+    @Test
+    @DisplayName("单个预热任务失败只计数，不影响其余任务和就绪")
+    void testWarmUp_TaskFailureDoesNotAbort() {
+        when(elasticsearchDataService.searchData(argThat(queryIs("房贷")), eq(space), isNull()))
+                .thenThrow(new RuntimeException("ES不可用"));
+        SearchWarmupService service = service(true);
+
+        service.warmUp();
+
+        SearchWarmupProgress progress = service.getProgress();
+        assertEquals(SearchWarmupProgress.Phase.COMPLETED, progress.getPhase());
+        assertEquals(1, progress.getSearchesDone());
+        assertEquals(1, progress.getFailures());
+    }
+
+    @Test
+    @DisplayName("关闭预热时直接报告就绪")
+    void testOnApplicationReady_Disabled() {
+        SearchWarmupService service = service(false);
+
+        service.onApplicationReady();
+
+        assertEquals(SearchWarmupProgress.Phase.DISABLED, service.getProgress().getPhase());
+        assertEquals(Status.UP, new SearchWarmupHealthIndicator(service).health().getStatus());
+        verifyNoInteractions(searchLogRepository, elasticsearchDataService);
+    }
+
+    private SearchWarmupService service(boolean enabled) {
+        return new SearchWarmupService(searchLogRepository, searchSpaceService, queryUnderstandingService,
+                embeddingService, elasticsearchDataService, enabled, Duration.ofDays(7), 20, 50, 2, 2,
+                Duration.ofSeconds(30));
+    }
+
+    private static org.mockito.ArgumentMatcher<SearchDataRequest> queryIs(String query) {
+        return request -> request != null && query.equals(request.getQuery());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -233,4 +234,43 @@ class ChineseSegmentationServiceTest {
             Thread.sleep(100); // 等待线程执行完成
         });
     }
+
+    @Test
+    @DisplayName("Should serve repeated text from cache with shared token instances")
+    void shouldServeRepeatedTextFromCache() {
+        // Given
+        ChineseSegmentationServiceImpl service = (ChineseSegmentationServiceImpl) segmentationService;
+
+        // When
+        List<String> first = segmentationService.segmentText("中文分词测试");
+        List<String> second = segmentationService.segmentText("  中文分词测试\t");
+        List<String> other = segmentationService.segmentText("分词 结果");
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(service.getMetricsSummary().getSegmentedTexts()).isEqualTo(2);
+        assertThat(service.getMetricsSummary().getCacheHitRate()).isGreaterThan(0.0);
+        String sharedToken = first.stream().filter("分词"::equals).findFirst().orElseThrow();
+        assertThat(other).anyMatch(token -> token == sharedToken);
+    }
+
+    @Test
+    @DisplayName("Should segment large batches in parallel preserving input order")
+    void shouldSegmentLargeBatchesInParallelPreservingOrder() {
+        // Given
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            texts.add(i % 2 == 0 ? "中文分词测试" + i : "hello world " + i);
+        }
+
+        // When
+        List<List<String>> results = segmentationService.segmentTexts(texts);
+
+        // Then
+        assertThat(results).hasSize(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            assertThat(results.get(i)).isEqualTo(segmentationService.segmentText(texts.get(i)));
+            assertThat(results.get(i)).contains(String.valueOf(i));
+        }
+    }
 }
\ No newline at end of file
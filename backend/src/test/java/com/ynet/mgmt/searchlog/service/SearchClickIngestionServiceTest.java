@@ -0,0 +1,226 @@
+package com.ynet.mgmt.searchlog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ynet.mgmt.searchlog.dto.SearchClickRequest;
+import com.ynet.mgmt.searchlog.repository.SearchClickLogRepository;
+import com.ynet.mgmt.searchlog.repository.SearchLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索点击批量写入测试
+ * 使用内存H2验证插入语句、点击顺序分配、丢弃计数
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索点击批量写入测试")
+class SearchClickIngestionServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private SearchLogRepository searchLogRepository;
+    private SearchClickLogRepository searchClickLogRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchClickIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:click_ingest_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE search_click_logs (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, search_log_id BIGINT NOT NULL, " +
+                "document_id VARCHAR(200) NOT NULL, document_index VARCHAR(100), document_title CLOB, " +
+                "click_position INT NOT NULL, click_score DECIMAL(10,6), click_sequence INT NOT NULL, " +
+                "click_time TIMESTAMP NOT NULL, user_id BIGINT, session_id VARCHAR(64), ip_address VARCHAR(45), " +
+                "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, created_by VARCHAR(50), updated_by VARCHAR(50))");
+
+        searchLogRepository = mock(SearchLogRepository.class);
+        searchClickLogRepository = mock(SearchClickLogRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = newService(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        service.shutdown();
+    }
+
+    private SearchClickIngestionService newService(int bufferCapacity) {
+        // 定时刷新间隔设为1小时，由测试显式调用 flush
+        return new SearchClickIngestionService(jdbcTemplate, transactionManager, searchLogRepository, searchClickLogRepository,
+                meterRegistry, bufferCapacity, 50, Duration.ofHours(1), 1000, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("同一搜索日志只查询一次数据库，点击顺序在已有点击数之后递增")
+    void testIngest_SequenceAssignedInMemory() {
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+        when(searchClickLogRepository.countBySearchLogId(1L)).thenReturn(2L);
+
+        for (int i = 1; i <= 3; i++) {
+            assertThat(service.ingest(click(1L, "doc-" + i, i))).isTrue();
+        }
+        assertThat(service.pendingCount()).isEqualTo(3);
+        assertThat(service.flush()).isEqualTo(3);
+
+        List<Integer> sequences = jdbcTemplate.queryForList(
+                "SELECT click_sequence FROM search_click_logs WHERE search_log_id = 1 ORDER BY click_sequence", Integer.class);
+        assertThat(sequences).containsExactly(3, 4, 5);
+        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM search_click_logs WHERE document_id = 'doc-1'", Long.class);
+        assertThat(userId).isEqualTo(7L);
+
+        verify(searchLogRepository, times(1)).existsById(1L);
+        verify(searchClickLogRepository, times(1)).countBySearchLogId(1L);
+        assertThat(meterRegistry.get("search.click.ingest.written").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("search.click.ingest.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("审计字段记录请求线程中的当前用户，未登录时记为system")
+    void testIngest_RecordsCurrentUserAsAuditor() {
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        service.ingest(click(1L, "doc-user", 1));
+        SecurityContextHolder.clearContext();
+        service.ingest(click(1L, "doc-anonymous", 2));
+        service.flush();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT created_by FROM search_click_logs ORDER BY click_sequence", String.class))
+                .containsExactly("alice", "system");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT updated_by FROM search_click_logs ORDER BY click_sequence", String.class))
+                .containsExactly("alice", "system");
+    }
+
+    @Test
+    @DisplayName("搜索日志不存在时抛出异常且不缓存结果")
+    void testIngest_UnknownSearchLog() {
+        when(searchLogRepository.existsById(9L)).thenReturn(false, true);
+
+        assertThatThrownBy(() -> service.ingest(click(9L, "doc", 1)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("搜索日志不存在");
+        assertThat(service.ingest(click(9L, "doc", 1))).isTrue();
+        verify(searchLogRepository, times(2)).existsById(9L);
+    }
+
+    @Test
+    @DisplayName("缺少文档ID时直接拒绝，不进入缓冲区")
+    void testIngest_RejectsBlankDocumentId() {
+        assertThatThrownBy(() -> service.ingest(click(1L, " ", 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.pendingCount()).isZero();
+        verifyNoInteractions(searchLogRepository);
+    }
+
+    @Test
+    @DisplayName("缓冲区满时拒绝并计数")
+    void testIngest_DropsWhenBufferFull() {
+        service.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        service = newService(2);
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(service.ingest(click(1L, "a", 1))).isTrue();
+        assertThat(service.ingest(click(1L, "b", 2))).isTrue();
+        assertThat(service.ingest(click(1L, "c", 3))).isFalse();
+
+        assertThat(meterRegistry.get("search.click.ingest.dropped").tag("reason", "buffer_full").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("search.click.ingest.pending").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("被拒绝的点击不占用点击顺序")
+    void testIngest_RejectedClickLeavesNoSequenceGap() {
+        service.shutdown();
+        service = newService(2);
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+
+        service.ingest(click(1L, "a", 1));
+        service.ingest(click(1L, "b", 2));
+        assertThat(service.ingest(click(1L, "rejected", 3))).isFalse();
+        service.flush();
+        service.ingest(click(1L, "c", 3));
+        service.flush();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT click_sequence FROM search_click_logs ORDER BY click_sequence", Integer.class))
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("顺序计数被淘汰后按已写入的点击数重新加载，不产生重复顺序")
+    void testFlush_ReloadsSequenceAfterEviction() {
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+        when(searchClickLogRepository.countBySearchLogId(1L)).thenAnswer(invocation -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM search_click_logs WHERE search_log_id = 1", Long.class));
+
+        service.ingest(click(1L, "a", 1));
+        service.ingest(click(1L, "b", 2));
+        service.flush();
+        service.ingest(click(1L, "c", 3));
+        Cache<?, ?> sequences = (Cache<?, ?>) ReflectionTestUtils.getField(service, "clickSequences");
+        sequences.invalidateAll();
+        service.flush();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT click_sequence FROM search_click_logs ORDER BY click_sequence", Integer.class))
+                .containsExactly(1, 2, 3);
+        verify(searchClickLogRepository, times(2)).countBySearchLogId(1L);
+    }
+
+    @Test
+    @DisplayName("批量写入失败时逐条写入，只丢弃失败的点击")
+    void testFlush_IsolatesFailedRows() {
+        when(searchLogRepository.existsById(1L)).thenReturn(true);
+
+        service.ingest(click(1L, "ok-1", 1));
+        SearchClickRequest bad = click(1L, "bad", 2);
+        bad.setUserIp("x".repeat(100));
+        service.ingest(bad);
+        service.ingest(click(1L, "ok-2", 3));
+
+        assertThat(service.flush()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT document_id FROM search_click_logs ORDER BY id", String.class))
+                .containsExactly("ok-1", "ok-2");
+        assertThat(meterRegistry.get("search.click.ingest.dropped").tag("reason", "write_failed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private SearchClickRequest click(Long searchLogId, String documentId, int position) {
+        SearchClickRequest request = new SearchClickRequest();
+        request.setSearchLogId(searchLogId);
+        request.setDocumentId(documentId);
+        request.setDocumentTitle("标题" + documentId);
+        request.setClickPosition(position);
+        request.setUserId("7");
+        request.setUserIp("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ynet.mgmt.searchlog.service;
+
+import com.ynet.mgmt.searchlog.service.SearchLogPartitionManager.Granularity;
+import com.ynet.mgmt.searchlog.service.SearchLogPartitionManager.PartitionInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchLogPartitionManager 分区规划测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("搜索日志分区规划测试")
+class SearchLogPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    @DisplayName("首次分区从当前周期开始预建")
+    void testPlanNewPartitions_Initial() {
+        List<LocalDate> periods = SearchLogPartitionManager.planNewPartitions(List.of(), TODAY, 3, Granularity.DAILY);
+
+        assertThat(periods).containsExactly(
+                LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 20),
+                LocalDate.of(2026, 10, 21), LocalDate.of(2026, 10, 22));
+        assertThat(Granularity.DAILY.partitionName(periods.get(0))).isEqualTo("p20261019");
+    }
+
+    @Test
+    @DisplayName("已有分区时只补齐最后一个分区之后的周期")
+    void testPlanNewPartitions_ContinuesAfterLastBound() {
+        List<PartitionInfo> existing = List.of(
+                new PartitionInfo("p_history", LocalDateTime.of(2026, 10, 18, 0, 0), 100),
+                new PartitionInfo("p20261018", LocalDateTime.of(2026, 10, 19, 0, 0), 10),
+                new PartitionInfo("p20261019", LocalDateTime.of(2026, 10, 20, 0, 0), 5),
+                new PartitionInfo("p_future", null, 0));
+
+        List<LocalDate> periods = SearchLogPartitionManager.planNewPartitions(existing, TODAY, 2, Granularity.DAILY);
+        assertThat(periods).containsExactly(LocalDate.of(2026, 10, 20), LocalDate.of(2026, 10, 21));
+
+        List<LocalDate> none = SearchLogPartitionManager.planNewPartitions(existing, TODAY, 0, Granularity.DAILY);
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    @DisplayName("按月分区以月初为边界")
+    void testPlanNewPartitions_Monthly() {
+        List<LocalDate> periods = SearchLogPartitionManager.planNewPartitions(List.of(), TODAY, 2, Granularity.MONTHLY);
+
+        assertThat(periods).containsExactly(
+                LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1));
+        assertThat(Granularity.MONTHLY.partitionName(periods.get(2))).isEqualTo("p202612");
+    }
+
+    @Test
+    @DisplayName("分区转换时保留期内的数据按周期分区，只有更早的数据进入历史分区")
+    void testPlanConversionPartitions_FromRetainFrom() {
+        List<LocalDate> periods = SearchLogPartitionManager.planConversionPartitions(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 10, 16), TODAY, 2, Granularity.DAILY);
+
+        assertThat(periods).containsExactly(
+                LocalDate.of(2026, 10, 16), LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 18),
+                LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 20), LocalDate.of(2026, 10, 21));
+    }
+
+    @Test
+    @DisplayName("数据晚于保留起点或为空表时从最早数据或今天开始分区")
+    void testPlanConversionPartitions_FromEarliestData() {
+        List<LocalDate> fromData = SearchLogPartitionManager.planConversionPartitions(
+                LocalDate.of(2026, 10, 18), LocalDate.of(2026, 9, 19), TODAY, 1, Granularity.MONTHLY);
+        assertThat(fromData).containsExactly(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+
+        List<LocalDate> empty = SearchLogPartitionManager.planConversionPartitions(
+                null, LocalDate.of(2026, 10, 20), TODAY, 1, Granularity.DAILY);
+        assertThat(empty).containsExactly(LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 20));
+    }
+
+    @Test
+    @DisplayName("只删除上界不晚于截止时间的分区，MAXVALUE分区永不删除")
+    void testSelectExpiredPartitions() {
+        List<PartitionInfo> partitions = List.of(
+                new PartitionInfo("p_history", LocalDateTime.of(2026, 9, 18, 0, 0), 100),
+                new PartitionInfo("p20260918", LocalDateTime.of(2026, 9, 19, 0, 0), 10),
+                new PartitionInfo("p20260919", LocalDateTime.of(2026, 9, 20, 0, 0), 10),
+                new PartitionInfo("p_future", null, 0));
+
+        List<PartitionInfo> expired = SearchLogPartitionManager.selectExpiredPartitions(
+                partitions, LocalDateTime.of(2026, 9, 19, 2, 0));
+
+        assertThat(expired).extracting(PartitionInfo::getName).containsExactly("p_history", "p20260918");
+    }
+
+    @Test
+    @DisplayName("解析information_schema中的分区上界")
+    void testParseUpperBound() {
+        assertThat(SearchLogPartitionManager.parseUpperBound("'2026-10-20 00:00:00'"))
+                .isEqualTo(LocalDateTime.of(2026, 10, 20, 0, 0));
+        assertThat(SearchLogPartitionManager.parseUpperBound("'2026-10-20'"))
+                .isEqualTo(LocalDateTime.of(2026, 10, 20, 0, 0));
+        assertThat(SearchLogPartitionManager.parseUpperBound("MAXVALUE")).isNull();
+    }
+}
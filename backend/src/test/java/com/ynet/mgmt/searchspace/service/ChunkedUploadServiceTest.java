@@ -0,0 +1,128 @@
+package com.ynet.mgmt.searchspace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ynet.mgmt.searchspace.dto.ChunkedUploadStatus;
+import com.ynet.mgmt.searchspace.exception.UploadOffsetMismatchException;
+import com.ynet.mgmt.searchspace.service.impl.ChunkedUploadServiceImpl;
+import com.ynet.mgmt.searchspace.service.impl.FileStorageServiceImpl;
+import com.ynet.mgmt.searchspace.service.impl.FileValidationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunkedUploadService测试类
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("分片上传服务测试")
+class ChunkedUploadServiceTest {
+
+    private static final String CONTENT = "[{\"id\":1,\"name\":\"第一条\"},{\"id\":2,\"name\":\"第二条\"}]";
+
+    @TempDir
+    Path tempDir;
+
+    private ChunkedUploadService chunkedUploadService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageServiceImpl fileStorageService = new FileStorageServiceImpl();
+        ReflectionTestUtils.setField(fileStorageService, "tempDirectory", tempDir.toString());
+        fileStorageService.initializeTemporaryDirectory();
+
+        FileValidationServiceImpl fileValidationService = new FileValidationServiceImpl();
+        ReflectionTestUtils.setField(fileValidationService, "allowedExtensions", List.of("json"));
+
+        chunkedUploadService = new ChunkedUploadServiceImpl(fileStorageService, fileValidationService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("分片上传 - 中断后从已接收位置续传")
+    void testResumeAfterInterruptedChunk() throws IOException {
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        ChunkedUploadStatus status = chunkedUploadService.initUpload(1L, "data.json", bytes.length);
+        String uploadId = status.getUploadId();
+
+        chunkedUploadService.appendChunk(1L, uploadId, 0, new ByteArrayInputStream(bytes, 0, 10));
+
+        // 第二个分片传输到一半连接断开
+        InputStream broken = new InputStream() {
+            private int position = 10;
+
+            @Override
+            public int read() throws IOException {
+                if (position >= 20) {
+                    throw new IOException("connection reset");
+                }
+                return bytes[position++] & 0xff;
+            }
+        };
+        assertThrows(IOException.class, () -> chunkedUploadService.appendChunk(1L, uploadId, 10, broken));
+
+        long received = chunkedUploadService.getStatus(1L, uploadId).getReceivedSize();
+        assertTrue(received >= 10 && received <= 20, "已写入的部分应保留");
+
+        ChunkedUploadStatus done = chunkedUploadService.appendChunk(1L, uploadId, received,
+                new ByteArrayInputStream(bytes, (int) received, bytes.length - (int) received));
+        assertTrue(done.isComplete());
+
+        Path file = chunkedUploadService.completeUpload(1L, uploadId);
+        assertEquals(CONTENT, Files.readString(file, StandardCharsets.UTF_8));
+        assertThrows(RuntimeException.class, () -> chunkedUploadService.getStatus(1L, uploadId),
+                "完成后上传记录应失效");
+    }
+
+    @Test
+    @DisplayName("分片上传 - 偏移量不一致")
+    void testOffsetMismatch() throws IOException {
+        ChunkedUploadStatus status = chunkedUploadService.initUpload(1L, "data.json", 10);
+        chunkedUploadService.appendChunk(1L, status.getUploadId(), 0, new ByteArrayInputStream(new byte[4]));
+
+        UploadOffsetMismatchException ex = assertThrows(UploadOffsetMismatchException.class,
+                () -> chunkedUploadService.appendChunk(1L, status.getUploadId(), 8, new ByteArrayInputStream(new byte[2])));
+        assertEquals(4L, ex.getUploadStatus().getReceivedSize());
+    }
+
+    @Test
+    @DisplayName("分片上传 - 超出总大小的分片被整体丢弃")
+    void testChunkExceedingTotalSize() throws IOException {
+        ChunkedUploadStatus status = chunkedUploadService.initUpload(1L, "data.json", 10);
+        String uploadId = status.getUploadId();
+        chunkedUploadService.appendChunk(1L, uploadId, 0, new ByteArrayInputStream(new byte[6]));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> chunkedUploadService.appendChunk(1L, uploadId, 6, new ByteArrayInputStream(new byte[5])));
+        assertEquals(6L, chunkedUploadService.getStatus(1L, uploadId).getReceivedSize());
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.completeUpload(1L, uploadId),
+                "未上传完成时不能完成上传");
+    }
+
+    @Test
+    @DisplayName("分片上传 - 参数与归属校验")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.initUpload(1L, "data.csv", 10));
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.initUpload(1L, "data.json", 0));
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.getStatus(1L, "../../etc/passwd"));
+
+        ChunkedUploadStatus status = chunkedUploadService.initUpload(1L, "data.json", 10);
+        assertThrows(RuntimeException.class, () -> chunkedUploadService.getStatus(2L, status.getUploadId()),
+                "其他搜索空间不能访问该上传");
+        assertFalse(chunkedUploadService.abortUpload(2L, status.getUploadId()));
+        assertTrue(chunkedUploadService.abortUpload(1L, status.getUploadId()));
+        assertFalse(chunkedUploadService.abortUpload(1L, status.getUploadId()));
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -326,4 +327,32 @@ class FileStorageServiceTest {
         assertTrue(Files.exists(tempDir), "临时目录应该存在");
         assertTrue(Files.isDirectory(tempDir), "路径应该是目录");
     }
+
+    @Test
+    @DisplayName("流式保存上传文件到指定临时文件")
+    void testSaveToTemporaryFile() throws IOException {
+        String content = "[{\"id\":1,\"name\":\"测试\"}]";
+        MultipartFile file = new MockMultipartFile(
+                "file", "test.json", "application/json", content.getBytes(StandardCharsets.UTF_8));
+
+        Path savedPath = fileStorageService.saveToTemporaryFile(file, "upload-test.json");
+
+        assertEquals(tempDir.resolve("upload-test.json"), savedPath);
+        assertEquals(content, Files.readString(savedPath, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("从指定位置写入文件并截断后续内容")
+    void testWriteToFile_AtPosition() throws IOException {
+        Path target = tempDir.resolve("chunks.part");
+        Files.writeString(target, "0123456789");
+
+        long written = fileStorageService.writeToFile(
+                new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)), target, 4);
+
+        assertEquals(3, written);
+        assertEquals("0123abc", Files.readString(target));
+        assertThrows(IOException.class, () -> fileStorageService.writeToFile(
+                new ByteArrayInputStream(new byte[1]), target, 100));
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -16,6 +17,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -376,4 +379,63 @@ class FileValidationServiceTest {
         // 验证结果
         assertFalse(result, "null MIME类型验证应该失败");
     }
+
+    @Test
+    @DisplayName("流式扫描JSON数组 - 统计嵌套对象")
+    void testScanJsonArray_NestedObjects() throws Exception {
+        String jsonContent = "[{\"id\":1,\"tags\":[\"a\",\"b\"],\"meta\":{\"k\":[1,2]}},{\"id\":2}]";
+
+        Integer count = fileValidationService.scanJsonArray(
+                new ByteArrayInputStream(jsonContent.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, count, "只统计顶层数组元素");
+    }
+
+    @Test
+    @DisplayName("流式扫描JSON数组 - 根节点不是数组")
+    void testScanJsonArray_NotArray() throws Exception {
+        Integer count = fileValidationService.scanJsonArray(
+                new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(count, "根节点不是数组时返回null");
+    }
+
+    @Test
+    @DisplayName("验证JSON文件 - 数组元素不是对象")
+    void testValidateJsonFile_NonObjectElement() {
+        MultipartFile file = new MockMultipartFile(
+                "file", "test.json", "application/json", "[{\"id\":1}, 2]".getBytes(StandardCharsets.UTF_8));
+
+        FileValidationResult result = fileValidationService.validateJsonFile(file);
+
+        assertFalse(result.isValid(), "数组元素不是对象时验证应该失败");
+        assertTrue(result.getErrorMessage().contains("JSON格式不正确"), "错误消息应该包含JSON格式错误信息");
+    }
+
+    @Test
+    @DisplayName("验证JSON文件 - 数组后存在多余内容")
+    void testValidateJsonFile_TrailingContent() {
+        MultipartFile file = new MockMultipartFile(
+                "file", "test.json", "application/json", "[{\"id\":1}] {}".getBytes(StandardCharsets.UTF_8));
+
+        FileValidationResult result = fileValidationService.validateJsonFile(file);
+
+        assertFalse(result.isValid(), "数组后存在多余内容时验证应该失败");
+    }
+
+    @Test
+    @DisplayName("验证已落盘JSON文件")
+    void testValidateStoredJsonFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("upload.part");
+        Files.writeString(file, "[{\"id\":1},{\"id\":2},{\"id\":3}]");
+
+        FileValidationResult result = fileValidationService.validateStoredJsonFile(file);
+
+        assertTrue(result.isValid(), "文件验证应该通过");
+        assertEquals(3, result.getRecordCount(), "记录数量应该为3");
+        assertEquals(Files.size(file), result.getFileSize(), "文件大小应该匹配");
+
+        Files.writeString(file, "");
+        assertFalse(fileValidationService.validateStoredJsonFile(file).isValid(), "空文件验证应该失败");
+    }
 }
\ No newline at end of file
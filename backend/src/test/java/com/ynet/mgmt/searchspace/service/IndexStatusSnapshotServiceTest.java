@@ -0,0 +1,125 @@
+package com.ynet.mgmt.searchspace.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.cat.AliasesResponse;
+import co.elastic.clients.elasticsearch.cat.ElasticsearchCatClient;
+import co.elastic.clients.elasticsearch.cat.IndicesResponse;
+import co.elastic.clients.elasticsearch.cat.aliases.AliasesRecord;
+import co.elastic.clients.elasticsearch.cat.indices.IndicesRecord;
+import com.ynet.mgmt.config.ElasticsearchProperties;
+import com.ynet.mgmt.searchspace.model.IndexStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 索引状态快照服务测试
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("索引状态快照服务测试")
+class IndexStatusSnapshotServiceTest {
+
+    private ElasticsearchCatClient catClient;
+    private IndexStatusSnapshotService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        ElasticsearchClient client = mock(ElasticsearchClient.class);
+        catClient = mock(ElasticsearchCatClient.class);
+        when(client.cat()).thenReturn(catClient);
+
+        IndicesResponse indices = IndicesResponse.of(r -> r
+                .valueBody(record("space_a", "green", "120", "2048"))
+                .valueBody(record("space_b_v2", "yellow", "30", "512")));
+        when(catClient.indices(any(Function.class))).thenReturn(indices);
+        when(catClient.aliases()).thenReturn(AliasesResponse.of(r -> r
+                .valueBody(AliasesRecord.of(a -> a.alias("space_b").index("space_b_v2")))));
+
+        ElasticsearchProperties properties = new ElasticsearchProperties();
+        properties.getIndexStatusCache().setTtl(Duration.ofMinutes(5));
+        properties.getIndexStatusCache().setRefreshInterval(Duration.ZERO);
+        service = new IndexStatusSnapshotService(client, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("多个索引的状态查询只触发一次_cat请求")
+    @SuppressWarnings("unchecked")
+    void testGetIndexStatus_SingleCatCallServesAllLookups() throws IOException {
+        IndexStatus a = service.getIndexStatus("space_a");
+        IndexStatus b = service.getIndexStatus("space_b");
+        IndexStatus missing = service.getIndexStatus("space_c");
+
+        assertTrue(a.isExists());
+        assertEquals("green", a.getHealth());
+        assertEquals(120L, a.getDocsCount());
+        assertEquals("2.0kb", a.getStoreSize());
+        assertEquals(Integer.valueOf(1), a.getPrimaryShards());
+
+        assertTrue(b.isExists(), "别名应解析到实际索引");
+        assertEquals("space_b_v2", b.getName());
+
+        assertFalse(missing.isExists());
+        assertEquals("not_exists", missing.getHealth());
+
+        verify(catClient, times(1)).indices(any(Function.class));
+        verify(catClient, times(1)).aliases();
+    }
+
+    @Test
+    @DisplayName("汇总统计文档数、存储大小和非绿色索引")
+    void testSummarize() {
+        IndexStatusSnapshotService.Summary summary = service.summarize(List.of("space_a", "space_b", "space_c"));
+
+        assertEquals(150L, summary.getTotalDocuments());
+        assertEquals(2560L, summary.getTotalStoreBytes());
+        assertEquals(1, summary.getUnhealthyIndices());
+        assertEquals(1, summary.getMissingIndices());
+    }
+
+    @Test
+    @DisplayName("失效后下次读取重新加载快照")
+    @SuppressWarnings("unchecked")
+    void testInvalidate_ReloadsOnNextRead() throws IOException {
+        service.getIndexStatus("space_a");
+        service.invalidate();
+        service.getIndexStatus("space_a");
+
+        verify(catClient, times(2)).indices(any(Function.class));
+    }
+
+    @Test
+    @DisplayName("ES不可用时返回error状态")
+    @SuppressWarnings("unchecked")
+    void testGetIndexStatus_ErrorWhenClusterUnavailable() throws IOException {
+        when(catClient.indices(any(Function.class))).thenThrow(new IOException("connection refused"));
+
+        IndexStatus status = service.getIndexStatus("space_a");
+
+        assertFalse(status.isExists());
+        assertEquals("error", status.getHealth());
+        assertEquals("connection refused", status.getError());
+    }
+
+    private static IndicesRecord record(String index, String health, String docs, String bytes) {
+        return IndicesRecord.of(r -> r.index(index).health(health).docsCount(docs)
+                .storeSize(bytes).pri("1").rep("0"));
+    }
+}
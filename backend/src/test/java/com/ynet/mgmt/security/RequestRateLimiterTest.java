@@ -0,0 +1,168 @@
+package com.ynet.mgmt.security;
+
+import com.ynet.mgmt.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 接口限流测试
+ * 验证令牌桶的突发容量与补充、本地令牌桶数量上限、Redis模式及其降级
+ *
+ * @author system
+ * @since 1.0.0
+ */
+@DisplayName("接口限流测试")
+class RequestRateLimiterTest {
+
+    private RateLimitProperties properties;
+    private RedisTemplate<String, String> stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRequestsPerMinute(60);
+        properties.setBurstCapacity(5);
+        stringRedisTemplate = mock(RedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("令牌桶按容量放行突发请求并随时间补充")
+    void testTokenBucket_BurstAndRefill() {
+        long start = 1_000L;
+        TokenBucket bucket = new TokenBucket(60, 3, start);
+
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+        assertEquals(0, bucket.availableTokens(start));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.nanosUntilAvailable(start));
+
+        // 每分钟60个令牌，1秒补充一个
+        long oneSecondLater = start + TimeUnit.SECONDS.toNanos(1);
+        assertTrue(bucket.tryAcquire(oneSecondLater));
+        assertFalse(bucket.tryAcquire(oneSecondLater));
+
+        // 长时间空闲后最多恢复到桶容量
+        long muchLater = start + TimeUnit.MINUTES.toNanos(10);
+        assertEquals(3, bucket.availableTokens(muchLater));
+    }
+
+    @Test
+    @DisplayName("并发获取令牌不超过桶容量")
+    void testTokenBucket_ConcurrentAcquire() throws Exception {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(1, 100, now);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    ready.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryAcquire(now)) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            ready.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    @DisplayName("本地模式按策略和客户端隔离并记录拒绝指标")
+    void testLocalMode_IsolationAndMetrics() {
+        RequestRateLimiter limiter = new RequestRateLimiter(properties, stringRedisTemplate, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("hotword", "user:a"));
+        }
+        assertFalse(limiter.tryAcquire("hotword", "user:a"));
+        assertTrue(limiter.tryAcquire("hotword", "user:b"));
+        assertTrue(limiter.tryAcquire("search", "user:a"));
+
+        assertEquals(1.0, meterRegistry.get(RequestRateLimiter.METRIC_REQUESTS)
+            .tags("policy", "hotword", "decision", "throttled", "source", "local").counter().count());
+        assertEquals(6.0, meterRegistry.get(RequestRateLimiter.METRIC_REQUESTS)
+            .tags("policy", "hotword", "decision", "allowed", "source", "local").counter().count());
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("策略可单独配置速率")
+    void testPolicyOverride() {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setBurstCapacity(2);
+        properties.getPolicies().put("suggestion", policy);
+        RequestRateLimiter limiter = new RequestRateLimiter(properties, stringRedisTemplate, meterRegistry);
+
+        assertTrue(limiter.tryAcquire("suggestion", "ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("suggestion", "ip:10.0.0.1"));
+        assertFalse(limiter.tryAcquire("suggestion", "ip:10.0.0.1"));
+        assertEquals(1, limiter.retryAfterSeconds("suggestion"));
+    }
+
+    @Test
+    @DisplayName("本地令牌桶数量有上限")
+    void testLocalMode_BoundedKeyspace() {
+        properties.setMaxKeys(100);
+        RequestRateLimiter limiter = new RequestRateLimiter(properties, stringRedisTemplate, meterRegistry);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("hotword", "ip:10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        // Caffeine异步淘汰，允许少量超出
+        assertTrue(limiter.localBucketCount() <= 200, "bucket count: " + limiter.localBucketCount());
+    }
+
+    @Test
+    @DisplayName("Redis模式由脚本判定，Redis不可用时退回本地令牌桶")
+    @SuppressWarnings("unchecked")
+    void testRedisMode_WithFallback() {
+        properties.setMode(RateLimitProperties.Mode.REDIS);
+        RequestRateLimiter limiter = new RequestRateLimiter(properties, stringRedisTemplate, meterRegistry);
+
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+            .thenReturn(1L, 0L)
+            .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(limiter.tryAcquire("search", "user:a"));
+        assertFalse(limiter.tryAcquire("search", "user:a"));
+        assertTrue(limiter.tryAcquire("search", "user:a"));
+
+        assertEquals(1.0, meterRegistry.get(RequestRateLimiter.METRIC_REQUESTS)
+            .tags("policy", "search", "decision", "throttled", "source", "redis").counter().count());
+        assertEquals(1.0, meterRegistry.get(RequestRateLimiter.METRIC_REQUESTS)
+            .tags("policy", "search", "source", "local_fallback").counter().count());
+        verify(stringRedisTemplate, times(3)).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+    }
+}
@@ -22,7 +22,8 @@ export interface BatchConversionRequest {
 export interface ImageRecognitionResult {
   id: string
   imagePath: string
-  thumbnailBase64: string
+  thumbnailBase64?: string
+  thumbnailUrl?: string
   recognizedText: string
   name?: string
   descript?: string
@@ -48,6 +49,18 @@ export interface BatchConversionResponse {
   results: ImageRecognitionResult[]
 }
 
+/**
+ * 获取缩略图的完整访问地址
+ * @param result 单张图片识别结果
+ * @returns 可用于 img 标签的地址
+ */
+export function resolveThumbnailSrc(result: ImageRecognitionResult): string | undefined {
+  if (result.thumbnailUrl) {
+    return `${import.meta.env.VITE_API_BASE_URL || '/api'}${result.thumbnailUrl}`
+  }
+  return result.thumbnailBase64 || undefined
+}
+
 /**
  * 批量识别数据库中的图片
  * @param request 批量转换请求参数